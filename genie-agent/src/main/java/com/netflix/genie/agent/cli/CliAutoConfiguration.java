@@ -20,6 +20,7 @@ package com.netflix.genie.agent.cli;
 import com.netflix.genie.agent.AgentMetadata;
 import com.netflix.genie.agent.cli.logging.AgentLogManager;
 import com.netflix.genie.agent.cli.logging.AgentLogManagerLog4j2Impl;
+import com.netflix.genie.agent.cli.logging.InProcessJobLogs;
 import com.netflix.genie.agent.execution.services.AgentHeartBeatService;
 import com.netflix.genie.agent.execution.services.AgentJobService;
 import com.netflix.genie.agent.execution.services.DownloadService;
@@ -29,14 +30,17 @@ import com.netflix.genie.agent.properties.AgentProperties;
 import com.netflix.genie.common.internal.tracing.brave.BraveTracingComponents;
 import com.netflix.genie.proto.PingServiceGrpc;
 import org.apache.logging.log4j.LogManager;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.core.env.Environment;
+import org.springframework.util.ClassUtils;
 
 import jakarta.validation.Validator;
 
@@ -147,6 +151,7 @@ public class CliAutoConfiguration {
      * @param commandFactory    The command factory to use
      * @param tracingComponents The {@link BraveTracingComponents} to use
      * @param environment       The spring environment
+     * @param agentProperties   The agent properties
      * @return An instance of {@link GenieAgentRunner} if one hasn't already been provided
      */
     @Bean
@@ -154,9 +159,10 @@ public class CliAutoConfiguration {
         final ArgumentParser argumentParser,
         final CommandFactory commandFactory,
         final BraveTracingComponents tracingComponents,
-        final Environment environment
+        final Environment environment,
+        final AgentProperties agentProperties
     ) {
-        return new GenieAgentRunner(argumentParser, commandFactory, tracingComponents, environment);
+        return new GenieAgentRunner(argumentParser, commandFactory, tracingComponents, environment, agentProperties);
     }
 
     /**
@@ -188,6 +194,54 @@ public class CliAutoConfiguration {
         return new HeartBeatCommand(heartBeatCommandArguments, agentHeartBeatService);
     }
 
+    /**
+     * Provide a bean for {@link com.netflix.genie.agent.cli.DaemonCommand.DaemonCommandArguments}.
+     *
+     * @return An instance of {@link com.netflix.genie.agent.cli.DaemonCommand.DaemonCommandArguments}
+     */
+    @Bean
+    public DaemonCommand.DaemonCommandArguments daemonCommandArguments() {
+        return new DaemonCommand.DaemonCommandArguments();
+    }
+
+    /**
+     * Provide a lazy bean definition for a {@link DaemonCommand}.
+     * <p>
+     * Jobs are run with application contexts created from the same sources as this one, i.e. the beans annotated with
+     * {@link EnableAutoConfiguration}.
+     *
+     * @param daemonCommandArguments The daemon command arguments to use
+     * @param applicationContext     The application context of the daemon
+     * @param agentProperties        The agent properties
+     * @return An instance of {@link DaemonCommand}
+     */
+    @Bean
+    @Lazy
+    public DaemonCommand daemonCommand(
+        final DaemonCommand.DaemonCommandArguments daemonCommandArguments,
+        final ApplicationContext applicationContext,
+        final AgentProperties agentProperties
+    ) {
+        final Class<?>[] sources = applicationContext
+            .getBeansWithAnnotation(EnableAutoConfiguration.class)
+            .values()
+            .stream()
+            .map(ClassUtils::getUserClass)
+            .toArray(Class<?>[]::new);
+        if (sources.length == 0) {
+            throw new IllegalStateException("Could not determine the sources of the agent application");
+        }
+        return new DaemonCommand(
+            daemonCommandArguments,
+            new DaemonJobLauncher(
+                sources,
+                daemonCommandArguments.getMaxConcurrentJobs(),
+                new InProcessJobLogs((org.apache.logging.log4j.core.LoggerContext) LogManager.getContext(false))
+            ),
+            agentProperties
+        );
+    }
+
     /**
      * Provide an bean of {@link com.netflix.genie.agent.cli.HelpCommand.HelpCommandArguments}.
      *
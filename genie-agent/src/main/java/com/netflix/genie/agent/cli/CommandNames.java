@@ -49,6 +49,8 @@ final class CommandNames {
 
     static final String HEARTBEAT = "heartbeat";
 
+    static final String DAEMON = "daemon";
+
     private static final Set<Field> COMMAND_NAMES_FIELDS;
 
     static {
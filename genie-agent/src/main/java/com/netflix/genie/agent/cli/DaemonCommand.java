@@ -0,0 +1,381 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.cli;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import com.beust.jcommander.validators.PositiveInteger;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.annotations.VisibleForTesting;
+import com.netflix.genie.agent.cli.logging.ConsoleLog;
+import com.netflix.genie.agent.properties.AgentProperties;
+import com.netflix.genie.agent.properties.ShutdownProperties;
+import com.netflix.genie.common.external.util.GenieObjectMapper;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.logging.LoggingSystem;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command to run a long-lived agent daemon, which runs jobs on behalf of a local Genie server within its own process.
+ * <p>
+ * The daemon listens on a UNIX domain socket. A launch request is a single line containing a JSON object with the
+ * {@code exec} command arguments of the job and the environment variables it is launched with, the daemon answers with
+ * a single line containing a JSON object telling whether the job was accepted. Requests not received within a few
+ * seconds are dropped, so a stalled client doesn't hold up the others. Accepted jobs run concurrently, each with its
+ * own execution context and state machine, see {@link DaemonJobLauncher}.
+ * <p>
+ * Whoever can connect to the socket can run jobs as the daemon user, so the socket is only accessible to that user.
+ * It is bound in a directory accessible to the owner only and moved in place once its permissions are restricted.
+ * Its directory is created accessible to the owner only if it doesn't exist yet.
+ *
+ * @since 4.4.0
+ */
+@Slf4j
+class DaemonCommand implements AgentCommand {
+
+    /**
+     * Field of the launch request holding the agent arguments of the job.
+     */
+    static final String ARGUMENTS_FIELD = "arguments";
+
+    /**
+     * Field of the launch request holding the environment variables the job is launched with.
+     */
+    static final String ENVIRONMENT_FIELD = "environment";
+
+    /**
+     * Field of the launch response telling whether the job was accepted.
+     */
+    static final String ACCEPTED_FIELD = "accepted";
+
+    /**
+     * Field of the launch response explaining why a job was rejected.
+     */
+    static final String MESSAGE_FIELD = "message";
+
+    private static final Set<PosixFilePermission> SOCKET_DIRECTORY_PERMISSIONS
+        = PosixFilePermissions.fromString("rwx------");
+    private static final Set<PosixFilePermission> SOCKET_PERMISSIONS = PosixFilePermissions.fromString("rw-------");
+    private static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(10L);
+    private static final int MAX_REQUEST_SIZE = 1024 * 1024;
+    private static final byte NEW_LINE = '\n';
+
+    private final DaemonCommandArguments daemonCommandArguments;
+    private final DaemonJobLauncher jobLauncher;
+    private final ShutdownProperties shutdownProperties;
+    private final ThreadFactory threadFactory;
+    private final Duration requestTimeout;
+    private volatile ServerSocketChannel serverChannel;
+
+    DaemonCommand(
+        final DaemonCommandArguments daemonCommandArguments,
+        final DaemonJobLauncher jobLauncher,
+        final AgentProperties agentProperties
+    ) {
+        this(daemonCommandArguments, jobLauncher, agentProperties, Thread::new, DEFAULT_REQUEST_TIMEOUT);
+    }
+
+    @VisibleForTesting
+    DaemonCommand(
+        final DaemonCommandArguments daemonCommandArguments,
+        final DaemonJobLauncher jobLauncher,
+        final AgentProperties agentProperties,
+        final ThreadFactory threadFactory, // For testing shutdown hooks
+        final Duration requestTimeout
+    ) {
+        this.daemonCommandArguments = daemonCommandArguments;
+        this.jobLauncher = jobLauncher;
+        this.shutdownProperties = agentProperties.getShutdown();
+        this.threadFactory = threadFactory;
+        this.requestTimeout = requestTimeout;
+    }
+
+    @Override
+    public ExitCode run() {
+        final Path socketPath = Paths.get(this.daemonCommandArguments.getSocketPath());
+
+        // Jobs share the logging of the daemon, their application contexts must not initialize it again
+        System.setProperty(LoggingSystem.SYSTEM_PROPERTY, LoggingSystem.NONE);
+
+        try (ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            final Path socketDirectory = socketPath.toAbsolutePath().getParent();
+            if (socketDirectory != null && !Files.isDirectory(socketDirectory)) {
+                Files.createDirectories(
+                    socketDirectory,
+                    PosixFilePermissions.asFileAttribute(SOCKET_DIRECTORY_PERMISSIONS)
+                );
+            }
+            // Left behind by a previous daemon which didn't shut down cleanly
+            Files.deleteIfExists(socketPath);
+            bindPrivately(channel, socketPath);
+            this.serverChannel = channel;
+
+            Runtime.getRuntime().addShutdownHook(this.threadFactory.newThread(this::handleSystemSignal));
+
+            ConsoleLog.getLogger().info("Agent daemon accepting jobs on: {}", socketPath);
+            while (channel.isOpen()) {
+                try (SocketChannel clientChannel = channel.accept()) {
+                    this.handleLaunchRequest(clientChannel);
+                } catch (final IOException e) {
+                    if (channel.isOpen()) {
+                        log.warn("Failed to handle launch request: {}", e.getMessage(), e);
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            throw new RuntimeException("Failed to listen for launch requests on " + socketPath, e);
+        } finally {
+            try {
+                Files.deleteIfExists(socketPath);
+            } catch (final IOException e) {
+                log.warn("Failed to delete socket file {}", socketPath, e);
+            }
+        }
+
+        ConsoleLog.getLogger().info("Agent daemon waiting for {} jobs to complete", this.jobLauncher.getRunningJobs());
+        if (!this.jobLauncher.awaitCompletion(this.shutdownProperties.getExecutionCompletionLeeway())) {
+            log.error("Jobs did not complete in the allocated time");
+        }
+        return ExitCode.SUCCESS;
+    }
+
+    /**
+     * Bind the socket in a new directory accessible to the owner only, restrict the permissions of the socket and move
+     * it in place. Nobody else can connect in between, whatever the umask and the permissions of the directory of the
+     * socket are.
+     */
+    private static void bindPrivately(final ServerSocketChannel channel, final Path socketPath) throws IOException {
+        // Short names as socket paths are limited to about a hundred characters
+        final Path privateDirectory = Files.createTempDirectory(
+            socketPath.toAbsolutePath().getParent(),
+            ".",
+            PosixFilePermissions.asFileAttribute(SOCKET_DIRECTORY_PERMISSIONS)
+        );
+        final Path privateSocketPath = privateDirectory.resolve("socket");
+        try {
+            channel.bind(UnixDomainSocketAddress.of(privateSocketPath));
+            Files.setPosixFilePermissions(privateSocketPath, SOCKET_PERMISSIONS);
+            Files.move(privateSocketPath, socketPath, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(privateSocketPath);
+            Files.delete(privateDirectory);
+        }
+    }
+
+    @VisibleForTesting
+    void handleLaunchRequest(final SocketChannel clientChannel) throws IOException {
+        final ObjectNode response = GenieObjectMapper.getMapper().createObjectNode();
+
+        final String[] args;
+        final Map<String, String> environment;
+        try {
+            final JsonNode request = parseRequest(this.readRequest(clientChannel));
+            args = parseArguments(request);
+            environment = parseEnvironment(request);
+        } catch (final IllegalArgumentException e) {
+            log.warn("Rejecting invalid launch request: {}", e.getMessage());
+            this.writeResponse(clientChannel, response.put(ACCEPTED_FIELD, false).put(MESSAGE_FIELD, e.getMessage()));
+            return;
+        }
+
+        if (this.jobLauncher.tryLaunch(args, environment)) {
+            log.info("Accepted job with arguments: {}", String.join(" ", args));
+            response.put(ACCEPTED_FIELD, true);
+        } else {
+            log.warn("Rejecting job, the daemon is running the maximum number of jobs");
+            response.put(ACCEPTED_FIELD, false).put(MESSAGE_FIELD, "Maximum number of concurrent jobs reached");
+        }
+        this.writeResponse(clientChannel, response);
+    }
+
+    private void writeResponse(final SocketChannel clientChannel, final ObjectNode response) throws IOException {
+        final OutputStream outputStream = Channels.newOutputStream(clientChannel);
+        outputStream.write(
+            (GenieObjectMapper.getMapper().writeValueAsString(response) + "\n").getBytes(StandardCharsets.UTF_8)
+        );
+        outputStream.flush();
+    }
+
+    /**
+     * Read the request line, within the request timeout. The channel is read without blocking so a client which
+     * doesn't send a complete request can't hold up the accept loop.
+     *
+     * @return The request line, null if the client sent nothing
+     * @throws IllegalArgumentException If the client sent an incomplete or oversized request
+     * @throws IOException              If the request wasn't received in time
+     */
+    private String readRequest(final SocketChannel clientChannel) throws IOException {
+        final long deadline = System.nanoTime() + this.requestTimeout.toNanos();
+        final ByteArrayOutputStream request = new ByteArrayOutputStream();
+        final ByteBuffer buffer = ByteBuffer.allocate(1024);
+        clientChannel.configureBlocking(false);
+        try (Selector selector = Selector.open()) {
+            clientChannel.register(selector, SelectionKey.OP_READ);
+            while (true) {
+                final int read = clientChannel.read(buffer);
+                if (read < 0) {
+                    if (request.size() == 0) {
+                        return null;
+                    }
+                    throw new IllegalArgumentException("Incomplete request");
+                }
+                if (read == 0) {
+                    final long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                    if (remainingMillis <= 0) {
+                        throw new SocketTimeoutException("No launch request received within " + this.requestTimeout);
+                    }
+                    selector.select(remainingMillis);
+                    selector.selectedKeys().clear();
+                    continue;
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    final byte b = buffer.get();
+                    if (b == NEW_LINE) {
+                        return request.toString(StandardCharsets.UTF_8);
+                    }
+                    request.write(b);
+                }
+                buffer.clear();
+                if (request.size() > MAX_REQUEST_SIZE) {
+                    throw new IllegalArgumentException("Request larger than " + MAX_REQUEST_SIZE + " bytes");
+                }
+            }
+        } finally {
+            // Closing the selector deregistered the channel, the response is written blocking
+            clientChannel.configureBlocking(true);
+        }
+    }
+
+    private static JsonNode parseRequest(final String request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Empty request");
+        }
+        try {
+            return GenieObjectMapper.getMapper().readTree(request);
+        } catch (final IOException e) {
+            throw new IllegalArgumentException("Malformed request: " + e.getMessage(), e);
+        }
+    }
+
+    private static Map<String, String> parseEnvironment(final JsonNode request) {
+        final JsonNode environmentNode = request.path(ENVIRONMENT_FIELD);
+        if (environmentNode.isMissingNode() || environmentNode.isNull()) {
+            return Map.of();
+        }
+        if (!environmentNode.isObject()) {
+            throw new IllegalArgumentException("Request environment is not an object");
+        }
+        final Map<String, String> environment = new HashMap<>();
+        environmentNode.fields().forEachRemaining(field -> environment.put(field.getKey(), field.getValue().asText()));
+        return environment;
+    }
+
+    private static String[] parseArguments(final JsonNode request) {
+        final JsonNode arguments = request.path(ARGUMENTS_FIELD);
+        if (!arguments.isArray() || arguments.isEmpty()) {
+            throw new IllegalArgumentException("Request without arguments");
+        }
+        final String[] args = new String[arguments.size()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = arguments.get(i).asText();
+        }
+        // Only jobs, a daemon doesn't run other commands on behalf of clients
+        if (!CommandNames.EXEC.equals(args[0])) {
+            throw new IllegalArgumentException("Unsupported command: " + args[0]);
+        }
+        return args;
+    }
+
+    /**
+     * This code runs when the JVM is about to shut down.
+     * Stop accepting jobs and kill the running ones, as a signal would for jobs running in their own process. Then
+     * keep the process alive until they had a chance to shut down cleanly.
+     */
+    private void handleSystemSignal() {
+        final ServerSocketChannel channel = this.serverChannel;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (final IOException e) {
+                log.warn("Failed to close socket", e);
+            }
+        }
+
+        final int runningJobs = this.jobLauncher.getRunningJobs();
+        if (runningJobs > 0) {
+            ConsoleLog.getLogger().info("Aborting execution of {} jobs", runningJobs);
+            this.jobLauncher.killAll();
+        }
+
+        if (!this.jobLauncher.awaitCompletion(this.shutdownProperties.getExecutionCompletionLeeway())) {
+            log.error("Jobs did not complete in the allocated time");
+        }
+    }
+
+    @Parameters(commandNames = CommandNames.DAEMON, commandDescription = "Run jobs launched by a local Genie server")
+    @Getter
+    static class DaemonCommandArguments implements AgentCommandArguments {
+
+        @Parameter(
+            names = {"--socket-path"},
+            description = "Path of the UNIX domain socket to accept launch requests on",
+            validateWith = ArgumentValidators.StringValidator.class
+        )
+        private String socketPath = Paths.get(System.getProperty("user.home"), ".genie", "agent-daemon.sock").toString();
+
+        @Parameter(
+            names = {"--max-concurrent-jobs"},
+            description = "Maximum number of jobs running at once, further launch requests are rejected",
+            validateWith = PositiveInteger.class
+        )
+        private int maxConcurrentJobs = 10;
+
+        @Override
+        public Class<? extends AgentCommand> getConsumerClass() {
+            return DaemonCommand.class;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.cli;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.netflix.genie.agent.cli.logging.InProcessJobLogs;
+import com.netflix.genie.agent.execution.services.KillService;
+import com.netflix.genie.agent.properties.AgentProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Runs jobs within the daemon agent process.
+ * <p>
+ * Each job runs in its own application context, created from the same sources as the daemon's, so it gets its own
+ * execution context, state machine and services exactly as if it was run by a separate agent process. What is saved
+ * is the JVM startup, class loading and warm up. Each job gets its own agent log file, see
+ * {@link InProcessJobLogs}, and the environment it was launched with through
+ * {@link AgentProperties#getLaunchEnvironment()}.
+ *
+ * @since 4.4.0
+ */
+@Slf4j
+class DaemonJobLauncher {
+
+    private static final String IN_PROCESS_PROPERTY = AgentProperties.PREFIX + ".in-process";
+    private static final String LAUNCH_ENVIRONMENT_PROPERTY = AgentProperties.PREFIX + ".launch-environment";
+
+    private final Supplier<SpringApplication> applicationFactory;
+    private final Semaphore jobSlots;
+    private final ExecutorService executorService;
+    private final InProcessJobLogs jobLogs;
+    private final Set<ConfigurableApplicationContext> jobContexts = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor.
+     *
+     * @param sources           The sources of the application contexts to run jobs with
+     * @param maxConcurrentJobs The maximum number of jobs running at once
+     * @param jobLogs           The {@link InProcessJobLogs} giving jobs their own log file
+     */
+    DaemonJobLauncher(final Class<?>[] sources, final int maxConcurrentJobs, final InProcessJobLogs jobLogs) {
+        this(() -> createApplication(sources), maxConcurrentJobs, jobLogs);
+    }
+
+    @VisibleForTesting
+    DaemonJobLauncher(
+        final Supplier<SpringApplication> applicationFactory,
+        final int maxConcurrentJobs,
+        final InProcessJobLogs jobLogs
+    ) {
+        this.applicationFactory = applicationFactory;
+        this.jobLogs = jobLogs;
+        this.jobSlots = new Semaphore(maxConcurrentJobs);
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("genie-agent-daemon-job-");
+        threadFactory.setDaemon(false);
+        this.executorService = Executors.newCachedThreadPool(threadFactory);
+    }
+
+    /**
+     * Start running a job unless the maximum number of concurrent jobs is reached.
+     *
+     * @param args        The agent arguments of the job
+     * @param environment The environment variables the job was launched with
+     * @return true if the job was started, false if it was rejected
+     */
+    boolean tryLaunch(final String[] args, final Map<String, String> environment) {
+        if (!this.jobSlots.tryAcquire()) {
+            return false;
+        }
+        try {
+            this.executorService.execute(
+                () -> {
+                    try {
+                        this.runJob(args, environment);
+                    } finally {
+                        this.jobSlots.release();
+                    }
+                }
+            );
+            return true;
+        } catch (final RejectedExecutionException e) {
+            this.jobSlots.release();
+            return false;
+        }
+    }
+
+    /**
+     * Get the number of jobs currently running.
+     *
+     * @return The number of jobs running
+     */
+    int getRunningJobs() {
+        return this.jobContexts.size();
+    }
+
+    /**
+     * Kill all running jobs, as a signal would for a job running in its own agent process.
+     */
+    void killAll() {
+        for (final ConfigurableApplicationContext jobContext : this.jobContexts) {
+            try {
+                jobContext.getBean(KillService.class).kill(KillService.KillSource.SYSTEM_SIGNAL);
+            } catch (final Exception e) {
+                log.warn("Failed to kill job running in context {}: {}", jobContext.getId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stop accepting jobs and wait for the running ones to complete.
+     *
+     * @param timeout The maximum time to wait for
+     * @return true if all jobs completed, false if some are still running
+     */
+    boolean awaitCompletion(final Duration timeout) {
+        this.executorService.shutdown();
+        try {
+            return this.executorService.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void runJob(final String[] args, final Map<String, String> environment) {
+        final AtomicReference<ConfigurableApplicationContext> contextRef = new AtomicReference<>();
+        final String jobLogId = UUID.randomUUID().toString();
+        this.jobLogs.start(jobLogId);
+        try {
+            final ApplicationContextInitializer<ConfigurableApplicationContext> contextTracker = context -> {
+                contextRef.set(context);
+                this.jobContexts.add(context);
+            };
+            final Map<String, Object> properties = new HashMap<>();
+            properties.put(IN_PROCESS_PROPERTY, "true");
+            // Brackets keep the variable names as they are
+            environment.forEach((name, value) -> properties.put(LAUNCH_ENVIRONMENT_PROPERTY + "[" + name + "]", value));
+            final SpringApplication application = this.applicationFactory.get();
+            application.setDefaultProperties(properties);
+            application.addInitializers(contextTracker);
+            final int exitCode = SpringApplication.exit(application.run(Util.mangleBareDoubleDash(args)));
+            log.info("Job with arguments {} completed with exit code {}", Arrays.toString(args), exitCode);
+        } catch (final Exception e) {
+            log.error("Job with arguments {} failed: {}", Arrays.toString(args), e.getMessage(), e);
+        } finally {
+            final ConfigurableApplicationContext jobContext = contextRef.get();
+            if (jobContext != null) {
+                this.jobContexts.remove(jobContext);
+            }
+            this.jobLogs.stop(jobLogId);
+        }
+    }
+
+    private static SpringApplication createApplication(final Class<?>[] sources) {
+        final SpringApplication application = new SpringApplication(sources);
+        // Same as the agent application: arguments are parsed by the agent, not turned into properties
+        application.setAddCommandLineProperties(false);
+        // The daemon handles signals and its own shutdown
+        application.setRegisterShutdownHook(false);
+        application.setBannerMode(Banner.Mode.OFF);
+        return application;
+    }
+}
@@ -51,6 +51,7 @@ class ExecCommand implements AgentCommand {
     private final KillService killService;
     private final ThreadFactory threadFactory;
     private final ShutdownProperties shutdownProperties;
+    private final boolean inProcess;
     private final ReentrantLock isRunningLock = new ReentrantLock();
     private final Condition isRunningCondition = this.isRunningLock.newCondition();
     private boolean isRunning;
@@ -82,6 +83,7 @@ class ExecCommand implements AgentCommand {
         this.stateMachine = stateMachine;
         this.killService = killService;
         this.shutdownProperties = agentProperties.getShutdown();
+        this.inProcess = agentProperties.isInProcess();
         this.threadFactory = threadFactory;
     }
 
@@ -91,9 +93,11 @@ class ExecCommand implements AgentCommand {
         // Lock-free since the only other thread accessing this has not been registered yet
         this.isRunning = true;
 
-        // Before execution starts, add shutdown hooks
-        Runtime.getRuntime().addShutdownHook(this.threadFactory.newThread(this::waitForCleanShutdown));
-        Runtime.getRuntime().addShutdownHook(this.threadFactory.newThread(this::handleSystemSignal));
+        // Before execution starts, add shutdown hooks. Within a daemon the daemon handles signals for all its jobs.
+        if (!this.inProcess) {
+            Runtime.getRuntime().addShutdownHook(this.threadFactory.newThread(this::waitForCleanShutdown));
+            Runtime.getRuntime().addShutdownHook(this.threadFactory.newThread(this::handleSystemSignal));
+        }
 
         log.info("Starting job execution");
         try {
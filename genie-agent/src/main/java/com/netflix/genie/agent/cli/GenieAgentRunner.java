@@ -23,6 +23,7 @@ import brave.Tracer;
 import brave.propagation.TraceContext;
 import com.beust.jcommander.ParameterException;
 import com.netflix.genie.agent.cli.logging.ConsoleLog;
+import com.netflix.genie.agent.properties.AgentProperties;
 import com.netflix.genie.common.internal.tracing.TracingConstants;
 import com.netflix.genie.common.internal.tracing.brave.BraveTagAdapter;
 import com.netflix.genie.common.internal.tracing.brave.BraveTracePropagator;
@@ -34,6 +35,8 @@ import org.springframework.boot.ExitCodeGenerator;
 import org.springframework.core.env.Environment;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -55,13 +58,15 @@ public class GenieAgentRunner implements CommandLineRunner, ExitCodeGenerator {
     private final BraveTracingCleanup tracingCleanup;
     private final Tracer tracer;
     private final BraveTagAdapter tagAdapter;
+    private final AgentProperties agentProperties;
     private ExitCode exitCode = ExitCode.INIT_FAIL;
 
     GenieAgentRunner(
         final ArgumentParser argumentParser,
         final CommandFactory commandFactory,
         final BraveTracingComponents tracingComponents,
-        final Environment environment
+        final Environment environment,
+        final AgentProperties agentProperties
     ) {
         this.argumentParser = argumentParser;
         this.commandFactory = commandFactory;
@@ -70,6 +75,7 @@ public class GenieAgentRunner implements CommandLineRunner, ExitCodeGenerator {
         this.tracer = tracingComponents.getTracer();
         this.tagAdapter = tracingComponents.getTagAdapter();
         this.environment = environment;
+        this.agentProperties = agentProperties;
     }
 
     @Override
@@ -143,8 +149,10 @@ public class GenieAgentRunner implements CommandLineRunner, ExitCodeGenerator {
     }
 
     private ScopedSpan initializeTracing() {
-        // Attempt to extract any existing trace information from the environment
-        final Optional<TraceContext> existingTraceContext = this.tracePropagator.extract(System.getenv());
+        // Attempt to extract any existing trace information from the environment the agent was launched with
+        final Map<String, String> launchEnvironment = new HashMap<>(System.getenv());
+        launchEnvironment.putAll(this.agentProperties.getLaunchEnvironment());
+        final Optional<TraceContext> existingTraceContext = this.tracePropagator.extract(launchEnvironment);
         final ScopedSpan runSpan = existingTraceContext.isPresent()
             ? this.tracer.startScopedSpanWithParent(RUN_SPAN_NAME, existingTraceContext.get())
             : this.tracer.startScopedSpan(RUN_SPAN_NAME);
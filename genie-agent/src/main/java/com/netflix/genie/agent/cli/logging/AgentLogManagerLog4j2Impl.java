@@ -41,7 +41,7 @@ public final class AgentLogManagerLog4j2Impl implements AgentLogManager {
     /**
      * This name must match with the appender declaration in log4j2 configuration file.
      */
-    private static final String AGENT_LOG_FILE_APPENDER_NAME = "AgentLogFile";
+    static final String AGENT_LOG_FILE_APPENDER_NAME = "AgentLogFile";
     private final AtomicReference<Path> logFilePath = new AtomicReference<>();
 
     /**
@@ -50,7 +50,11 @@ public final class AgentLogManagerLog4j2Impl implements AgentLogManager {
      * @param context the log4j2 logger context
      */
     public AgentLogManagerLog4j2Impl(final LoggerContext context) {
-        final FileAppender logFileAppender = context.getConfiguration().getAppender(AGENT_LOG_FILE_APPENDER_NAME);
+        // Jobs run by a daemon have a log file of their own
+        final String appenderName = InProcessJobLogs
+            .getCurrentJobLogFileAppenderName()
+            .orElse(AGENT_LOG_FILE_APPENDER_NAME);
+        final FileAppender logFileAppender = context.getConfiguration().getAppender(appenderName);
         final String filename = logFileAppender.getFileName();
         if (StringUtils.isBlank(filename)) {
             throw new IllegalStateException("Could not determine location of agent log file");
@@ -0,0 +1,157 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.cli.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.FileAppender;
+import org.apache.logging.log4j.core.config.AbstractConfiguration;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.filter.AbstractFilter;
+
+import jakarta.annotation.Nullable;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Gives each job run by a daemon its own agent log file, next to the daemon's one, as an agent process running a
+ * single job has. The file is then relocated into the job directory like any agent log file.
+ * <p>
+ * Log events are attributed to a job by a key in the log4j2 thread context of the thread running it, which the
+ * threads it starts inherit (see {@code log4j2.component.properties}). The log file of the daemon doesn't get the
+ * events of jobs.
+ *
+ * @since 4.4.0
+ */
+@Slf4j
+public class InProcessJobLogs {
+
+    private static final String JOB_LOG_KEY = "genieAgentJobLog";
+    private static final String LOG_FILE_EXTENSION = ".log";
+
+    private final LoggerContext context;
+    private final FileAppender daemonLogFileAppender;
+
+    /**
+     * Constructor.
+     *
+     * @param context the log4j2 logger context of the daemon
+     */
+    public InProcessJobLogs(final LoggerContext context) {
+        this.context = context;
+        this.daemonLogFileAppender = context
+            .getConfiguration()
+            .getAppender(AgentLogManagerLog4j2Impl.AGENT_LOG_FILE_APPENDER_NAME);
+        if (this.daemonLogFileAppender == null) {
+            throw new IllegalStateException("Could not find the agent log file appender");
+        }
+        this.daemonLogFileAppender.addFilter(new JobLogFilter(null));
+    }
+
+    /**
+     * Log the events of the job run by the current thread, and by the threads it starts, to a log file of its own.
+     * Events keep going to the log file of the daemon if that file can't be created.
+     *
+     * @param jobLogId A unique id for the log of the job
+     */
+    public void start(final String jobLogId) {
+        final Path daemonLogFile = Paths.get(this.daemonLogFileAppender.getFileName());
+        final Path jobLogFile = daemonLogFile.resolveSibling(
+            StringUtils.removeEnd(daemonLogFile.getFileName().toString(), LOG_FILE_EXTENSION)
+                + "-"
+                + jobLogId
+                + LOG_FILE_EXTENSION
+        );
+        final Configuration configuration = this.context.getConfiguration();
+        final FileAppender appender = FileAppender.newBuilder()
+            .setName(getAppenderName(jobLogId))
+            .withFileName(jobLogFile.toString())
+            .setLayout(this.daemonLogFileAppender.getLayout())
+            .setFilter(new JobLogFilter(jobLogId))
+            .setConfiguration(configuration)
+            .build();
+        if (appender == null) {
+            log.warn("Failed to create log file {}, job logs to the daemon log file", jobLogFile);
+            return;
+        }
+        appender.start();
+        configuration.addAppender(appender);
+        configuration.getRootLogger().addAppender(appender, null, null);
+        this.context.updateLoggers();
+        ThreadContext.put(JOB_LOG_KEY, jobLogId);
+    }
+
+    /**
+     * Stop logging to the log file of a job, once it completed.
+     *
+     * @param jobLogId The id of the log of the job
+     */
+    public void stop(final String jobLogId) {
+        ThreadContext.remove(JOB_LOG_KEY);
+        final String appenderName = getAppenderName(jobLogId);
+        final Configuration configuration = this.context.getConfiguration();
+        final Appender appender = configuration.getAppender(appenderName);
+        if (appender == null) {
+            return;
+        }
+        configuration.getRootLogger().removeAppender(appenderName);
+        if (configuration instanceof AbstractConfiguration) {
+            ((AbstractConfiguration) configuration).removeAppender(appenderName);
+        }
+        this.context.updateLoggers();
+        appender.stop();
+    }
+
+    /**
+     * Get the name of the appender of the log file of the job run by the current thread, if it runs one.
+     *
+     * @return The appender name, if any
+     */
+    static Optional<String> getCurrentJobLogFileAppenderName() {
+        return Optional.ofNullable(ThreadContext.get(JOB_LOG_KEY)).map(InProcessJobLogs::getAppenderName);
+    }
+
+    private static String getAppenderName(final String jobLogId) {
+        return AgentLogManagerLog4j2Impl.AGENT_LOG_FILE_APPENDER_NAME + "-" + jobLogId;
+    }
+
+    /**
+     * Accepts the events of a given job, or of no job.
+     */
+    private static final class JobLogFilter extends AbstractFilter {
+
+        private final String jobLogId;
+
+        JobLogFilter(@Nullable final String jobLogId) {
+            super(Result.NEUTRAL, Result.DENY);
+            this.jobLogId = jobLogId;
+        }
+
+        @Override
+        public Result filter(final LogEvent event) {
+            final Object eventJobLogId = event.getContextData().getValue(JOB_LOG_KEY);
+            return Objects.equals(eventJobLogId, this.jobLogId) ? this.onMatch : this.onMismatch;
+        }
+    }
+}
@@ -27,6 +27,7 @@ import com.netflix.genie.agent.execution.services.AgentFileStreamService;
 import com.netflix.genie.agent.execution.services.AgentHeartBeatService;
 import com.netflix.genie.agent.execution.services.AgentJobKillService;
 import com.netflix.genie.agent.execution.services.AgentJobService;
+import com.netflix.genie.agent.execution.services.BackgroundArchiveService;
 import com.netflix.genie.agent.execution.services.JobMonitorService;
 import com.netflix.genie.agent.execution.services.JobSetupService;
 import com.netflix.genie.agent.execution.statemachine.ExecutionContext;
@@ -435,8 +436,9 @@ public class ExecutionAutoConfiguration {
     /**
      * Create a {@link WaitJobCompletionStage} bean if one is not already defined.
      *
-     * @param jobProcessManager the job process manager
-     * @param jobMonitorService the job monitor service
+     * @param jobProcessManager        the job process manager
+     * @param jobMonitorService        the job monitor service
+     * @param backgroundArchiveService the background archive service
      */
     @Bean
     @Lazy
@@ -444,9 +446,10 @@ public class ExecutionAutoConfiguration {
     @ConditionalOnMissingBean(WaitJobCompletionStage.class)
     WaitJobCompletionStage waitJobCompletionStage(
         final JobProcessManager jobProcessManager,
-        final JobMonitorService jobMonitorService
+        final JobMonitorService jobMonitorService,
+        final BackgroundArchiveService backgroundArchiveService
     ) {
-        return new WaitJobCompletionStage(jobProcessManager, jobMonitorService);
+        return new WaitJobCompletionStage(jobProcessManager, jobMonitorService, backgroundArchiveService);
     }
 
     /**
@@ -513,8 +516,9 @@ public class ExecutionAutoConfiguration {
     /**
      * Create a {@link ArchiveJobOutputsStage} bean if one is not already defined.
      *
-     * @param jobArchiveService the job archive service
-     * @param agentJobService   the agent job service
+     * @param jobArchiveService        the job archive service
+     * @param agentJobService          the agent job service
+     * @param backgroundArchiveService the background archive service
      */
     @Bean
     @Lazy
@@ -522,9 +526,10 @@ public class ExecutionAutoConfiguration {
     @ConditionalOnMissingBean(ArchiveJobOutputsStage.class)
     ArchiveJobOutputsStage archiveJobOutputsStage(
         final JobArchiveService jobArchiveService,
-        final AgentJobService agentJobService
+        final AgentJobService agentJobService,
+        final BackgroundArchiveService backgroundArchiveService
     ) {
-        return new ArchiveJobOutputsStage(jobArchiveService, agentJobService);
+        return new ArchiveJobOutputsStage(jobArchiveService, agentJobService, backgroundArchiveService);
     }
 
     /**
@@ -24,6 +24,7 @@ import com.netflix.genie.agent.execution.exceptions.JobLaunchException;
 import com.netflix.genie.agent.execution.process.JobProcessManager;
 import com.netflix.genie.agent.execution.process.JobProcessResult;
 import com.netflix.genie.agent.execution.services.KillService;
+import com.netflix.genie.agent.properties.AgentProperties;
 import com.netflix.genie.agent.utils.PathUtils;
 import com.netflix.genie.common.dto.JobStatusMessages;
 import com.netflix.genie.common.internal.dtos.JobStatus;
@@ -66,6 +67,7 @@ public class JobProcessManagerImpl implements JobProcessManager {
     private final TaskScheduler taskScheduler;
     private final Tracer tracer;
     private final BraveTracePropagator tracePropagator;
+    private final AgentProperties agentProperties;
     private boolean isInteractiveMode;
 
     /**
@@ -73,11 +75,17 @@ public class JobProcessManagerImpl implements JobProcessManager {
      *
      * @param taskScheduler     The {@link TaskScheduler} instance to use to run scheduled asynchronous tasks
      * @param tracingComponents The {@link BraveTracingComponents} instance to use for propagating trace information
+     * @param agentProperties   The {@link AgentProperties} holding the environment the job was launched with
      */
-    public JobProcessManagerImpl(final TaskScheduler taskScheduler, final BraveTracingComponents tracingComponents) {
+    public JobProcessManagerImpl(
+        final TaskScheduler taskScheduler,
+        final BraveTracingComponents tracingComponents,
+        final AgentProperties agentProperties
+    ) {
         this.taskScheduler = taskScheduler;
         this.tracer = tracingComponents.getTracer();
         this.tracePropagator = tracingComponents.getTracePropagator();
+        this.agentProperties = agentProperties;
     }
 
     /**
@@ -137,6 +145,9 @@ public class JobProcessManagerImpl implements JobProcessManager {
             processBuilder.redirectOutput(PathUtils.jobStdOutPath(jobDirectory).toFile());
         }
 
+        // Set for jobs run by a daemon, other jobs inherit it with the environment of the agent process
+        processBuilder.environment().putAll(this.agentProperties.getLaunchEnvironment());
+
         final Span currentSpan = this.tracer.currentSpan();
         if (currentSpan != null) {
             processBuilder.environment().putAll(this.tracePropagator.injectForJob(currentSpan.context()));
@@ -0,0 +1,56 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.execution.services;
+
+import com.netflix.genie.common.internal.dtos.DirectoryManifest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * Service that archives the files of the job directory which are no longer being written to while the job is still
+ * running, so that the final archival only needs to upload what changed since.
+ *
+ * @since 4.4.0
+ */
+public interface BackgroundArchiveService {
+
+    /**
+     * Starts the service. Does nothing if background archival is disabled.
+     *
+     * @param jobDirectory    the job directory
+     * @param target          the root archive location of the job
+     * @param dependencyPaths the paths, relative to the job directory, of the downloaded dependencies the final
+     *                        archival may record as references to their download location rather than upload
+     */
+    void start(Path jobDirectory, URI target, Set<String> dependencyPaths);
+
+    /**
+     * Stop the service. Waits for an archival in progress to complete.
+     */
+    void stop();
+
+    /**
+     * Whether the file of the given manifest entry was archived by this service and has not changed since.
+     *
+     * @param entry the manifest entry of the file
+     * @return {@code true} if the archived file is identical to the one the entry describes
+     */
+    boolean isArchived(DirectoryManifest.ManifestEntry entry);
+}
@@ -23,8 +23,9 @@ import com.netflix.genie.common.internal.dtos.JobSpecification;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.URI;
 import java.nio.file.Path;
-import java.util.Set;
+import java.util.Map;
 
 /**
  * Service that sets up a directory for a job to execute in.
@@ -56,10 +57,10 @@ public interface JobSetupService {
      *
      * @param jobSpecification the job specification
      * @param jobDirectory     the job folder
-     * @return the list of setup files staged
+     * @return the files staged, mapped to the location each was downloaded from
      * @throws SetUpJobException TODO
      */
-    Set<File> downloadJobResources(
+    Map<File, URI> downloadJobResources(
         JobSpecification jobSpecification,
         File jobDirectory
     ) throws SetUpJobException;
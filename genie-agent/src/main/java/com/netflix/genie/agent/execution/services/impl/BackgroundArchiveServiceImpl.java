@@ -0,0 +1,196 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.execution.services.impl;
+
+import com.netflix.genie.agent.execution.services.BackgroundArchiveService;
+import com.netflix.genie.agent.properties.AgentProperties;
+import com.netflix.genie.agent.properties.BackgroundArchiveServiceProperties;
+import com.netflix.genie.common.internal.dtos.DirectoryManifest;
+import com.netflix.genie.common.internal.exceptions.checked.JobArchiveException;
+import com.netflix.genie.common.internal.properties.JobArchiveProperties;
+import com.netflix.genie.common.internal.services.JobArchiveService;
+import com.netflix.genie.common.internal.services.JobDirectoryManifestCreatorService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of {@link BackgroundArchiveService} that periodically looks for closed files using the manifest
+ * creator. A file is considered closed once it has not been modified for the configured quiet period. Archived files
+ * are recorded in a journal with the size and modification time they had, a file that changes afterwards no longer
+ * matches its journal entry and is archived again, either by a later scan or by the final archival.
+ * <p>
+ * When dependencies are archived as references, the downloaded dependencies are left to the final archival, which
+ * only uploads those the job modified.
+ *
+ * @since 4.4.0
+ */
+@Slf4j
+class BackgroundArchiveServiceImpl implements BackgroundArchiveService {
+    private final JobArchiveService jobArchiveService;
+    private final JobDirectoryManifestCreatorService manifestCreatorService;
+    private final TaskScheduler taskScheduler;
+    private final BackgroundArchiveServiceProperties properties;
+    private final JobArchiveProperties jobArchiveProperties;
+    private final Map<String, JournalEntry> journal = new ConcurrentHashMap<>();
+    private final Lock scanLock = new ReentrantLock();
+    private ScheduledFuture<?> scheduledScan;
+    private boolean stopped;
+
+    BackgroundArchiveServiceImpl(
+        final JobArchiveService jobArchiveService,
+        final JobDirectoryManifestCreatorService manifestCreatorService,
+        final TaskScheduler taskScheduler,
+        final AgentProperties agentProperties,
+        final JobArchiveProperties jobArchiveProperties
+    ) {
+        this.jobArchiveService = jobArchiveService;
+        this.manifestCreatorService = manifestCreatorService;
+        this.taskScheduler = taskScheduler;
+        this.properties = agentProperties.getBackgroundArchiveService();
+        this.jobArchiveProperties = jobArchiveProperties;
+    }
+
+    @Override
+    public void start(final Path jobDirectory, final URI target, final Set<String> dependencyPaths) {
+        if (!this.properties.isEnabled()) {
+            log.debug("Background archival disabled");
+            return;
+        }
+        this.stopped = false;
+        this.journal.clear();
+        final Set<String> skippedPaths = this.jobArchiveProperties.getDependencies().isArchiveAsReferences()
+            ? dependencyPaths
+            : Set.of();
+        this.scheduledScan = this.taskScheduler.scheduleWithFixedDelay(
+            () -> this.scan(jobDirectory, target, skippedPaths),
+            this.properties.getScanInterval()
+        );
+    }
+
+    @Override
+    public void stop() {
+        if (this.scheduledScan != null) {
+            this.scheduledScan.cancel(false);
+            this.scheduledScan = null;
+        }
+        // Wait for a scan in progress, so the journal is final once this returns
+        this.scanLock.lock();
+        try {
+            this.stopped = true;
+        } finally {
+            this.scanLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isArchived(final DirectoryManifest.ManifestEntry entry) {
+        final JournalEntry journalEntry = this.journal.get(entry.getPath());
+        return journalEntry != null
+            && journalEntry.getSize() == entry.getSize()
+            && journalEntry.getLastModifiedTime().equals(entry.getLastModifiedTime());
+    }
+
+    private void scan(final Path jobDirectory, final URI target, final Set<String> skippedPaths) {
+        this.scanLock.lock();
+        try {
+            if (this.stopped) {
+                return;
+            }
+            this.archiveClosedFiles(jobDirectory, target, skippedPaths);
+        } finally {
+            this.scanLock.unlock();
+        }
+    }
+
+    private void archiveClosedFiles(final Path jobDirectory, final URI target, final Set<String> skippedPaths) {
+        final DirectoryManifest manifest;
+        try {
+            manifest = this.manifestCreatorService.getDirectoryManifest(jobDirectory);
+        } catch (IOException e) {
+            log.warn("Failed to obtain manifest: {}", e.getMessage());
+            return;
+        }
+
+        final Instant closedBefore = Instant.now().minus(this.properties.getQuietPeriod());
+        final long minFileSize = this.properties.getMinFileSize().toBytes();
+        final List<DirectoryManifest.ManifestEntry> closedFiles = manifest.getFiles()
+            .stream()
+            .filter(entry -> entry.getSize() >= minFileSize)
+            .filter(entry -> !skippedPaths.contains(entry.getPath()))
+            .filter(entry -> entry.getLastModifiedTime().isBefore(closedBefore))
+            .filter(entry -> !this.isArchived(entry))
+            .collect(Collectors.toList());
+
+        if (closedFiles.isEmpty()) {
+            log.debug("No new closed files to archive");
+            return;
+        }
+
+        try {
+            this.jobArchiveService.archiveFiles(
+                jobDirectory,
+                closedFiles.stream().map(entry -> Paths.get(entry.getPath())).collect(Collectors.toList()),
+                target
+            );
+        } catch (JobArchiveException e) {
+            // Not critical, the files are archived at the end of the job
+            log.warn("Failed to archive {} closed files: {}", closedFiles.size(), e.getMessage());
+            return;
+        }
+
+        closedFiles.forEach(
+            entry -> this.journal.put(entry.getPath(), new JournalEntry(entry.getSize(), entry.getLastModifiedTime()))
+        );
+        log.info("Archived {} closed files ahead of job completion", closedFiles.size());
+    }
+
+    /**
+     * The state of a file when it was archived.
+     */
+    private static final class JournalEntry {
+        private final long size;
+        private final Instant lastModifiedTime;
+
+        private JournalEntry(final long size, final Instant lastModifiedTime) {
+            this.size = size;
+            this.lastModifiedTime = lastModifiedTime;
+        }
+
+        private long getSize() {
+            return this.size;
+        }
+
+        private Instant getLastModifiedTime() {
+            return this.lastModifiedTime;
+        }
+    }
+}
@@ -20,6 +20,7 @@ package com.netflix.genie.agent.execution.services.impl;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.netflix.genie.agent.execution.CleanupStrategy;
 import com.netflix.genie.agent.execution.exceptions.DownloadException;
 import com.netflix.genie.agent.execution.exceptions.SetUpJobException;
@@ -50,7 +51,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -142,7 +143,7 @@ class JobSetupServiceImpl implements JobSetupService {
      * @return
      */
     @Override
-    public Set<File> downloadJobResources(
+    public Map<File, URI> downloadJobResources(
         final JobSpecification jobSpecification,
         final File jobDirectory
     ) throws SetUpJobException {
@@ -158,7 +159,11 @@ class JobSetupServiceImpl implements JobSetupService {
             throw new SetUpJobException("Failed to download job dependencies", e);
         }
 
-        return jobDownloadsManifest.getTargetFiles();
+        final Map<File, URI> downloadedFiles = Maps.newHashMap();
+        for (final Pair<URI, File> entry : jobDownloadsManifest.getEntries()) {
+            downloadedFiles.put(entry.getRight(), entry.getLeft());
+        }
+        return downloadedFiles;
     }
 
     /**
@@ -70,7 +70,10 @@ class KillServiceImpl implements KillService {
         if (this.killed.compareAndSet(false, true)) {
             ConsoleLog.getLogger().info("Job kill requested (source: {})", killSource.name());
             this.executionContext.getStateMachine().kill(killSource);
-            this.threadFactory.newThread(this::emergencyStop).start();
+            // Within a daemon the JVM is shared with other jobs, it must not be shut down
+            if (!this.agentProperties.isInProcess()) {
+                this.threadFactory.newThread(this::emergencyStop).start();
+            }
         }
     }
 
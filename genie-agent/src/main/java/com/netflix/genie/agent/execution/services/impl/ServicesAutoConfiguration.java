@@ -19,6 +19,7 @@ package com.netflix.genie.agent.execution.services.impl;
 
 import com.netflix.genie.agent.cli.ArgumentDelegates;
 import com.netflix.genie.agent.execution.services.AgentJobService;
+import com.netflix.genie.agent.execution.services.BackgroundArchiveService;
 import com.netflix.genie.agent.execution.services.DownloadService;
 import com.netflix.genie.agent.execution.services.FetchingCacheService;
 import com.netflix.genie.agent.execution.services.JobMonitorService;
@@ -28,6 +29,8 @@ import com.netflix.genie.agent.execution.statemachine.ExecutionContext;
 import com.netflix.genie.agent.properties.AgentProperties;
 import com.netflix.genie.agent.utils.locks.impl.FileLockFactory;
 import com.netflix.genie.common.internal.configs.AwsAutoConfiguration;
+import com.netflix.genie.common.internal.properties.JobArchiveProperties;
+import com.netflix.genie.common.internal.services.JobArchiveService;
 import com.netflix.genie.common.internal.services.JobDirectoryManifestCreatorService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -161,4 +164,33 @@ public class ServicesAutoConfiguration {
             agentProperties
         );
     }
+
+    /**
+     * Provide a lazy {@link BackgroundArchiveService} bean if one hasn't already been defined.
+     *
+     * @param jobArchiveService      the job archive service
+     * @param manifestCreatorService the manifest creator service
+     * @param taskScheduler          the task scheduler
+     * @param agentProperties        the agent properties
+     * @param jobArchiveProperties   the job archive properties
+     * @return A {@link BackgroundArchiveServiceImpl} instance
+     */
+    @Bean
+    @Lazy
+    @ConditionalOnMissingBean(BackgroundArchiveService.class)
+    public BackgroundArchiveServiceImpl backgroundArchiveService(
+        final JobArchiveService jobArchiveService,
+        final JobDirectoryManifestCreatorService manifestCreatorService,
+        @Qualifier("sharedAgentTaskScheduler") final TaskScheduler taskScheduler,
+        final AgentProperties agentProperties,
+        final JobArchiveProperties jobArchiveProperties
+    ) {
+        return new BackgroundArchiveServiceImpl(
+            jobArchiveService,
+            manifestCreatorService,
+            taskScheduler,
+            agentProperties,
+            jobArchiveProperties
+        );
+    }
 }
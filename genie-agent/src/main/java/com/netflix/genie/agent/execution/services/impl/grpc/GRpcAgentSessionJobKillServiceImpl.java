@@ -0,0 +1,59 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.execution.services.impl.grpc;
+
+import com.netflix.genie.agent.execution.services.AgentJobKillService;
+import jakarta.validation.constraints.NotBlank;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of the {@link AgentJobKillService} for agents using the session stream, over which kill
+ * notifications are delivered along with heartbeats.
+ * <p>
+ * Nothing is sent to the server here: the server registers the session for kill notifications as soon as it
+ * receives its first heartbeat. This service only toggles whether the {@link GRpcAgentSessionServiceImpl} acts upon
+ * them.
+ *
+ * @since 4.4.0
+ */
+@Slf4j
+class GRpcAgentSessionJobKillServiceImpl implements AgentJobKillService {
+
+    private final GRpcAgentSessionServiceImpl agentSessionService;
+
+    GRpcAgentSessionJobKillServiceImpl(final GRpcAgentSessionServiceImpl agentSessionService) {
+        this.agentSessionService = agentSessionService;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void start(@NotBlank(message = "Job id cannot be blank") final String jobId) {
+        log.info("Listening for kill notifications of job: {} over the session stream", jobId);
+        this.agentSessionService.enableKillNotifications();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void stop() {
+        this.agentSessionService.disableKillNotifications();
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.execution.services.impl.grpc;
+
+import com.netflix.genie.agent.execution.services.AgentHeartBeatService;
+import com.netflix.genie.agent.execution.services.KillService;
+import com.netflix.genie.agent.properties.HeartBeatServiceProperties;
+import com.netflix.genie.proto.AgentHeartBeat;
+import com.netflix.genie.proto.AgentSessionMessage;
+import com.netflix.genie.proto.AgentSessionServiceGrpc;
+import com.netflix.genie.proto.ServerSessionMessage;
+import io.grpc.ManagedChannel;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.constraints.NotBlank;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * gRPC implementation of AgentHeartBeatService over a single bi-directional session stream, which also carries kill
+ * notifications from the server.
+ * Kill notifications are acted upon once enabled by the {@link GRpcAgentSessionJobKillServiceImpl}, a notification
+ * received before that is remembered and acted upon when enabled.
+ * Transparently handles disconnections and stream errors by establishing a new stream.
+ * When the server asks the agent to reconnect, the channel is moved to idle so the next stream is established over a
+ * new connection, possibly to a different server.
+ *
+ * @since 4.4.0
+ */
+@Slf4j
+@Validated
+class GRpcAgentSessionServiceImpl implements AgentHeartBeatService {
+
+    private final AgentSessionServiceGrpc.AgentSessionServiceStub client;
+    private final TaskScheduler taskScheduler;
+    private final HeartBeatServiceProperties properties;
+    private final KillService killService;
+    private final ManagedChannel channel;
+
+    private boolean isConnected;
+    private StreamObserver<AgentSessionMessage> requestObserver;
+    private ScheduledFuture<?> heartbeatFuture;
+    private String claimedJobId;
+    private AgentSessionMessage heartBeatMessage;
+    private boolean killNotificationsEnabled;
+    private boolean killReceived;
+
+    GRpcAgentSessionServiceImpl(
+        final AgentSessionServiceGrpc.AgentSessionServiceStub client,
+        final TaskScheduler taskScheduler,
+        final HeartBeatServiceProperties properties,
+        final KillService killService,
+        final ManagedChannel channel
+    ) {
+        this.client = client;
+        this.taskScheduler = taskScheduler;
+        this.properties = properties;
+        this.killService = killService;
+        this.channel = channel;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void start(@NotBlank final String jobId) {
+        if (StringUtils.isNotBlank(this.claimedJobId)) {
+            throw new IllegalStateException("Previously started with a different job id");
+        }
+
+        this.claimedJobId = jobId;
+        this.heartBeatMessage = AgentSessionMessage.newBuilder()
+            .setHeartbeat(AgentHeartBeat.newBuilder().setClaimedJobId(jobId).build())
+            .build();
+
+        this.heartbeatFuture = this.taskScheduler.scheduleAtFixedRate(
+            this::sendHeartBeatTask,
+            this.properties.getInterval()
+        );
+
+        this.requestObserver = this.client.session(new ResponseObserver(this));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void stop() {
+        if (this.heartbeatFuture != null) {
+            this.heartbeatFuture.cancel(false);
+            this.heartbeatFuture = null;
+        }
+
+        if (this.requestObserver != null) {
+            this.requestObserver.onCompleted();
+            this.requestObserver = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized boolean isConnected() {
+        return this.isConnected;
+    }
+
+    /**
+     * Start acting upon kill notifications received over the session, including one received earlier.
+     */
+    void enableKillNotifications() {
+        final boolean kill;
+        synchronized (this) {
+            this.killNotificationsEnabled = true;
+            kill = this.killReceived;
+            this.killReceived = false;
+        }
+        if (kill) {
+            this.kill();
+        }
+    }
+
+    /**
+     * Stop acting upon kill notifications received over the session.
+     */
+    synchronized void disableKillNotifications() {
+        this.killNotificationsEnabled = false;
+    }
+
+    private synchronized void setConnected() {
+        this.isConnected = true;
+    }
+
+    private synchronized void setDisconnected() {
+        this.isConnected = false;
+
+        // Schedule a stream reset
+        this.taskScheduler.schedule(
+            this::resetStreamTask,
+            Instant.now().plus(this.properties.getErrorRetryDelay())
+        );
+    }
+
+    private void handleKillNotification() {
+        final boolean kill;
+        synchronized (this) {
+            kill = this.killNotificationsEnabled;
+            this.killReceived = !kill;
+        }
+        // Killing stops services, don't hold the lock while doing so
+        if (kill) {
+            this.kill();
+        } else {
+            log.info("Received kill notification before listening for it, deferring");
+        }
+    }
+
+    private void kill() {
+        log.info("Received kill signal from server for job: {}", this.claimedJobId);
+        this.killService.kill(KillService.KillSource.API_KILL_REQUEST);
+    }
+
+    private void reconnect() {
+        log.info("Server requested to reconnect, dropping the current connection");
+        // Streams still open complete over the current connection, new ones use a new connection
+        this.channel.enterIdle();
+    }
+
+    /**
+     * Regularly scheduled to send heart beats.
+     */
+    private synchronized void sendHeartBeatTask() {
+        if (this.requestObserver != null) {
+            this.requestObserver.onNext(this.heartBeatMessage);
+        }
+    }
+
+    /**
+     * Scheduled once after a disconnection or error.
+     */
+    private synchronized void resetStreamTask() {
+        if (!this.isConnected && this.heartbeatFuture != null) {
+            this.requestObserver = this.client.session(new ResponseObserver(this));
+        }
+    }
+
+    private static class ResponseObserver implements StreamObserver<ServerSessionMessage> {
+        private final GRpcAgentSessionServiceImpl grpcAgentSessionService;
+
+        ResponseObserver(final GRpcAgentSessionServiceImpl grpcAgentSessionService) {
+            this.grpcAgentSessionService = grpcAgentSessionService;
+        }
+
+        @Override
+        public void onNext(final ServerSessionMessage value) {
+            this.grpcAgentSessionService.setConnected();
+            switch (value.getMessageCase()) {
+                case HEARTBEAT:
+                    log.debug("Received server heartbeat");
+                    if (value.getHeartbeat().getReconnect()) {
+                        this.grpcAgentSessionService.reconnect();
+                    }
+                    break;
+                case KILL:
+                    this.grpcAgentSessionService.handleKillNotification();
+                    break;
+                case MESSAGE_NOT_SET:
+                default:
+                    log.warn("Ignoring unknown message from server");
+            }
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            log.info("Stream error");
+            this.grpcAgentSessionService.setDisconnected();
+        }
+
+        @Override
+        public void onCompleted() {
+            log.info("Stream completed");
+            this.grpcAgentSessionService.setDisconnected();
+        }
+    }
+}
@@ -26,12 +26,15 @@ import com.netflix.genie.agent.properties.AgentProperties;
 import com.netflix.genie.common.internal.dtos.converters.JobDirectoryManifestProtoConverter;
 import com.netflix.genie.common.internal.dtos.converters.JobServiceProtoConverter;
 import com.netflix.genie.common.internal.services.JobDirectoryManifestCreatorService;
+import com.netflix.genie.proto.AgentSessionServiceGrpc;
 import com.netflix.genie.proto.FileStreamServiceGrpc;
 import com.netflix.genie.proto.HeartBeatServiceGrpc;
 import com.netflix.genie.proto.JobKillServiceGrpc;
 import com.netflix.genie.proto.JobServiceGrpc;
+import io.grpc.ManagedChannel;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -52,26 +55,32 @@ import org.springframework.scheduling.TaskScheduler;
 )
 public class GRpcServicesAutoConfiguration {
 
+    private static final String SESSION_ENABLED_PROPERTY = AgentProperties.PREFIX + ".session-enabled";
+
     /**
      * Provide a lazy gRPC agent heart beat service if one isn't already defined.
      *
      * @param heartBeatServiceStub The heart beat service stub to use
      * @param taskScheduler        The task scheduler to use
      * @param agentProperties      The agent properties
+     * @param channel              The channel to the server, dropped when the server asks to reconnect
      * @return A {@link GrpcAgentHeartBeatServiceImpl} instance
      */
     @Bean
     @Lazy
     @ConditionalOnMissingBean(AgentHeartBeatService.class)
+    @ConditionalOnProperty(name = SESSION_ENABLED_PROPERTY, havingValue = "false", matchIfMissing = true)
     public GrpcAgentHeartBeatServiceImpl agentHeartBeatService(
         final HeartBeatServiceGrpc.HeartBeatServiceStub heartBeatServiceStub,
         @Qualifier("heartBeatServiceTaskScheduler") final TaskScheduler taskScheduler,
-        final AgentProperties agentProperties
+        final AgentProperties agentProperties,
+        final ManagedChannel channel
     ) {
         return new GrpcAgentHeartBeatServiceImpl(
             heartBeatServiceStub,
             taskScheduler,
-            agentProperties.getHeartBeatService()
+            agentProperties.getHeartBeatService(),
+            channel
         );
     }
 
@@ -87,6 +96,7 @@ public class GRpcServicesAutoConfiguration {
     @Bean
     @Lazy
     @ConditionalOnMissingBean(AgentJobKillService.class)
+    @ConditionalOnProperty(name = SESSION_ENABLED_PROPERTY, havingValue = "false", matchIfMissing = true)
     public GRpcAgentJobKillServiceImpl agentJobKillService(
         final JobKillServiceGrpc.JobKillServiceFutureStub jobKillServiceFutureStub,
         final KillService killService,
@@ -101,6 +111,54 @@ public class GRpcServicesAutoConfiguration {
         );
     }
 
+    /**
+     * Provide a lazy gRPC agent session service, sending heartbeats and receiving kill notifications over a single
+     * stream, if one isn't already defined and sessions are enabled.
+     *
+     * @param agentSessionServiceStub The session service stub to use
+     * @param taskScheduler           The task scheduler to use
+     * @param agentProperties         The agent properties
+     * @param killService             The kill service to use to terminate this agent gracefully
+     * @param channel                 The channel to the server, dropped when the server asks to reconnect
+     * @return A {@link GRpcAgentSessionServiceImpl} instance
+     */
+    @Bean
+    @Lazy
+    @ConditionalOnMissingBean(AgentHeartBeatService.class)
+    @ConditionalOnProperty(name = SESSION_ENABLED_PROPERTY, havingValue = "true")
+    public GRpcAgentSessionServiceImpl agentSessionService(
+        final AgentSessionServiceGrpc.AgentSessionServiceStub agentSessionServiceStub,
+        @Qualifier("heartBeatServiceTaskScheduler") final TaskScheduler taskScheduler,
+        final AgentProperties agentProperties,
+        final KillService killService,
+        final ManagedChannel channel
+    ) {
+        return new GRpcAgentSessionServiceImpl(
+            agentSessionServiceStub,
+            taskScheduler,
+            agentProperties.getHeartBeatService(),
+            killService,
+            channel
+        );
+    }
+
+    /**
+     * Provide a lazy agent job kill service bean acting upon the kill notifications received by the session service,
+     * if one isn't already defined and sessions are enabled.
+     *
+     * @param agentSessionService The session service receiving kill notifications
+     * @return A {@link GRpcAgentSessionJobKillServiceImpl} instance
+     */
+    @Bean
+    @Lazy
+    @ConditionalOnMissingBean(AgentJobKillService.class)
+    @ConditionalOnProperty(name = SESSION_ENABLED_PROPERTY, havingValue = "true")
+    public GRpcAgentSessionJobKillServiceImpl agentSessionJobKillService(
+        final GRpcAgentSessionServiceImpl agentSessionService
+    ) {
+        return new GRpcAgentSessionJobKillServiceImpl(agentSessionService);
+    }
+
     /**
      * Provide a lazy gRPC agent job service bean if one isn't already defined.
      *
@@ -22,6 +22,7 @@ import com.netflix.genie.agent.properties.HeartBeatServiceProperties;
 import com.netflix.genie.proto.AgentHeartBeat;
 import com.netflix.genie.proto.HeartBeatServiceGrpc;
 import com.netflix.genie.proto.ServerHeartBeat;
+import io.grpc.ManagedChannel;
 import io.grpc.stub.StreamObserver;
 import jakarta.validation.constraints.NotBlank;
 import lombok.extern.slf4j.Slf4j;
@@ -37,6 +38,8 @@ import java.util.concurrent.ScheduledFuture;
  * gRPC implementation of AgentHeartBeatService.
  * Sends heartbeats to the server.
  * Transparently handles disconnections and stream errors by establishing a new stream.
+ * When the server asks the agent to reconnect, the channel is moved to idle so the next stream is established over a
+ * new connection, possibly to a different server.
  *
  * @author mprimi
  * @since 4.0.0
@@ -48,6 +51,7 @@ class GrpcAgentHeartBeatServiceImpl implements AgentHeartBeatService {
     private final HeartBeatServiceGrpc.HeartBeatServiceStub client;
     private final TaskScheduler taskScheduler;
     private final HeartBeatServiceProperties properties;
+    private final ManagedChannel channel;
 
     private boolean isConnected;
     private StreamObserver<AgentHeartBeat> requestObserver;
@@ -58,11 +62,13 @@ class GrpcAgentHeartBeatServiceImpl implements AgentHeartBeatService {
     GrpcAgentHeartBeatServiceImpl(
         final HeartBeatServiceGrpc.HeartBeatServiceStub client,
         @Qualifier("heartBeatServiceTaskExecutor") final TaskScheduler taskScheduler,
-        final HeartBeatServiceProperties properties
+        final HeartBeatServiceProperties properties,
+        final ManagedChannel channel
     ) {
         this.client = client;
         this.taskScheduler = taskScheduler;
         this.properties = properties;
+        this.channel = channel;
     }
 
     /**
@@ -125,6 +131,12 @@ class GrpcAgentHeartBeatServiceImpl implements AgentHeartBeatService {
         );
     }
 
+    private void reconnect() {
+        log.info("Server requested to reconnect, dropping the current connection");
+        // Streams still open complete over the current connection, new ones use a new connection
+        this.channel.enterIdle();
+    }
+
     /**
      * Regularly scheduled to send heart beats.
      */
@@ -154,6 +166,9 @@ class GrpcAgentHeartBeatServiceImpl implements AgentHeartBeatService {
         public void onNext(final ServerHeartBeat value) {
             log.debug("Received server heartbeat");
             grpcAgentHeartBeatService.setConnected();
+            if (value.getReconnect()) {
+                grpcAgentHeartBeatService.reconnect();
+            }
         }
 
         @Override
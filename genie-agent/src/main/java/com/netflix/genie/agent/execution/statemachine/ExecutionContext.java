@@ -18,6 +18,7 @@
 package com.netflix.genie.agent.execution.statemachine;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.netflix.genie.agent.execution.CleanupStrategy;
 import com.netflix.genie.agent.execution.process.JobProcessResult;
@@ -25,6 +26,7 @@ import com.netflix.genie.agent.execution.statemachine.stages.ClaimJobStage;
 import com.netflix.genie.agent.execution.statemachine.stages.ConfigureExecutionStage;
 import com.netflix.genie.agent.execution.statemachine.stages.CreateJobDirectoryStage;
 import com.netflix.genie.agent.execution.statemachine.stages.CreateJobScriptStage;
+import com.netflix.genie.agent.execution.statemachine.stages.DownloadDependenciesStage;
 import com.netflix.genie.agent.execution.statemachine.stages.InitializeAgentStage;
 import com.netflix.genie.agent.execution.statemachine.stages.LaunchJobStage;
 import com.netflix.genie.agent.execution.statemachine.stages.ObtainJobSpecificationStage;
@@ -42,7 +44,10 @@ import lombok.Setter;
 import lombok.Synchronized;
 
 import java.io.File;
+import java.net.URI;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -119,6 +124,18 @@ public class ExecutionContext {
      * Present if {@link CreateJobDirectoryStage} ran successfully.
      */
     private File jobDirectory;
+    /**
+     * The files downloaded into the job directory as job dependencies, mapped to the location each was downloaded from.
+     * Populated if {@link DownloadDependenciesStage} ran successfully.
+     */
+    @NotNull
+    private Map<File, URI> downloadedDependencies = ImmutableMap.of();
+    /**
+     * The time the download of the job dependencies completed, dependencies modified after it have been altered by the
+     * job.
+     * Present if {@link DownloadDependenciesStage} ran successfully.
+     */
+    private Instant dependenciesDownloadTime;
     /**
      * The local job script file.
      * Present if {@link CreateJobScriptStage} ran successfully.
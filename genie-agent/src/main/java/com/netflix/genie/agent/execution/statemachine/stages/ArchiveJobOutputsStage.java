@@ -20,12 +20,14 @@ package com.netflix.genie.agent.execution.statemachine.stages;
 import com.netflix.genie.agent.cli.logging.ConsoleLog;
 import com.netflix.genie.agent.execution.exceptions.ChangeJobArchiveStatusException;
 import com.netflix.genie.agent.execution.services.AgentJobService;
+import com.netflix.genie.agent.execution.services.BackgroundArchiveService;
 import com.netflix.genie.agent.execution.statemachine.ExecutionContext;
 import com.netflix.genie.agent.execution.statemachine.ExecutionStage;
 import com.netflix.genie.agent.execution.statemachine.FatalJobExecutionException;
 import com.netflix.genie.agent.execution.statemachine.RetryableJobExecutionException;
 import com.netflix.genie.agent.execution.statemachine.States;
 import com.netflix.genie.common.internal.dtos.ArchiveStatus;
+import com.netflix.genie.common.internal.dtos.ExecutionEnvironment;
 import com.netflix.genie.common.internal.dtos.JobSpecification;
 import com.netflix.genie.common.internal.exceptions.checked.JobArchiveException;
 import com.netflix.genie.common.internal.services.JobArchiveService;
@@ -35,6 +37,12 @@ import org.apache.commons.lang3.StringUtils;
 import java.io.File;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Archive job output files and logs, if the job reached a state where it is appropriate to do so.
@@ -46,17 +54,24 @@ import java.net.URISyntaxException;
 public class ArchiveJobOutputsStage extends ExecutionStage {
     private final JobArchiveService jobArchiveService;
     private final AgentJobService agentJobService;
+    private final BackgroundArchiveService backgroundArchiveService;
 
     /**
      * Constructor.
      *
-     * @param jobArchiveService job archive service
-     * @param agentJobService   agent job service
+     * @param jobArchiveService        job archive service
+     * @param agentJobService          agent job service
+     * @param backgroundArchiveService background archive service, files it already archived are skipped
      */
-    public ArchiveJobOutputsStage(final JobArchiveService jobArchiveService, final AgentJobService agentJobService) {
+    public ArchiveJobOutputsStage(
+        final JobArchiveService jobArchiveService,
+        final AgentJobService agentJobService,
+        final BackgroundArchiveService backgroundArchiveService
+    ) {
         super(States.ARCHIVE);
         this.jobArchiveService = jobArchiveService;
         this.agentJobService = agentJobService;
+        this.backgroundArchiveService = backgroundArchiveService;
     }
 
     @Override
@@ -74,9 +89,12 @@ public class ArchiveJobOutputsStage extends ExecutionStage {
                 boolean success = false;
                 try {
                     log.info("Archive job folder to: " + archiveLocation);
+                    final Path jobDirectoryPath = jobDirectory.toPath();
                     this.jobArchiveService.archiveDirectory(
-                        jobDirectory.toPath(),
-                        new URI(archiveLocation)
+                        jobDirectoryPath,
+                        new URI(archiveLocation),
+                        this.backgroundArchiveService::isArchived,
+                        getUnmodifiedDependencySources(executionContext, jobSpecification, jobDirectoryPath)
                     );
                     success = true;
                 } catch (JobArchiveException | URISyntaxException e) {
@@ -99,5 +117,54 @@ public class ArchiveJobOutputsStage extends ExecutionStage {
             }
         }
     }
-}
 
+    /**
+     * Get the location each dependency the job did not modify was downloaded from, by path relative to the job
+     * directory. A dependency last modified after the download completed was altered by the job and must be archived.
+     */
+    private static Map<String, URI> getUnmodifiedDependencySources(
+        final ExecutionContext executionContext,
+        final JobSpecification jobSpecification,
+        final Path jobDirectory
+    ) {
+        final Instant downloadTime = executionContext.getDependenciesDownloadTime();
+        final Map<String, URI> sources = new HashMap<>();
+        if (downloadTime == null) {
+            return sources;
+        }
+        getDependencySources(executionContext, jobSpecification).forEach(
+            (file, source) -> {
+                if (file.isFile() && file.lastModified() <= downloadTime.toEpochMilli()) {
+                    sources.put(jobDirectory.relativize(file.toPath()).toString(), source);
+                }
+            }
+        );
+        return sources;
+    }
+
+    /**
+     * Get the downloaded dependencies which may be archived as references to the location they were downloaded from.
+     * Dependencies of the job itself are always archived, the server only serves references to the locations of the
+     * cluster, command and applications.
+     *
+     * @param executionContext the execution context
+     * @param jobSpecification the job specification
+     * @return the location each of these dependencies was downloaded from, by downloaded file
+     */
+    static Map<File, URI> getDependencySources(
+        final ExecutionContext executionContext,
+        final JobSpecification jobSpecification
+    ) {
+        final ExecutionEnvironment jobEnvironment = jobSpecification.getJob().getExecutionEnvironment();
+        final Set<String> jobDependencies = new HashSet<>(jobEnvironment.getConfigs());
+        jobDependencies.addAll(jobEnvironment.getDependencies());
+        jobEnvironment.getSetupFile().ifPresent(jobDependencies::add);
+        final Map<File, URI> sources = new HashMap<>();
+        for (final Map.Entry<File, URI> dependency : executionContext.getDownloadedDependencies().entrySet()) {
+            if (!jobDependencies.contains(dependency.getValue().toString())) {
+                sources.put(dependency.getKey(), dependency.getValue());
+            }
+        }
+        return sources;
+    }
+}
@@ -29,7 +29,9 @@ import com.netflix.genie.common.internal.dtos.JobSpecification;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
-import java.util.Set;
+import java.net.URI;
+import java.time.Instant;
+import java.util.Map;
 
 /**
  * Download dependencies such as binaries and configurations attached to the job and its dependent entities.
@@ -63,12 +65,14 @@ public class DownloadDependenciesStage extends ExecutionStage {
         assert jobDirectory != null;
 
         log.info("Downloading job dependencies");
-        final Set<File> downloaded;
+        final Map<File, URI> downloaded;
         try {
             downloaded = this.jobSetupService.downloadJobResources(jobSpecification, jobDirectory);
         } catch (SetUpJobException e) {
             throw createFatalException(e);
         }
+        executionContext.setDownloadedDependencies(downloaded);
+        executionContext.setDependenciesDownloadTime(Instant.now());
 
         ConsoleLog.getLogger().info("Downloaded dependencies ({} files)", downloaded.size());
 
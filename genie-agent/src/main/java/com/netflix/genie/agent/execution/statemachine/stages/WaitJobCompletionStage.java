@@ -20,14 +20,23 @@ package com.netflix.genie.agent.execution.statemachine.stages;
 import com.netflix.genie.agent.cli.logging.ConsoleLog;
 import com.netflix.genie.agent.execution.process.JobProcessManager;
 import com.netflix.genie.agent.execution.process.JobProcessResult;
+import com.netflix.genie.agent.execution.services.BackgroundArchiveService;
 import com.netflix.genie.agent.execution.services.JobMonitorService;
 import com.netflix.genie.agent.execution.statemachine.ExecutionContext;
 import com.netflix.genie.agent.execution.statemachine.ExecutionStage;
 import com.netflix.genie.agent.execution.statemachine.FatalJobExecutionException;
 import com.netflix.genie.agent.execution.statemachine.RetryableJobExecutionException;
 import com.netflix.genie.agent.execution.statemachine.States;
+import com.netflix.genie.common.internal.dtos.JobSpecification;
 import com.netflix.genie.common.internal.dtos.JobStatus;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 
 /**
@@ -40,20 +49,24 @@ import lombok.extern.slf4j.Slf4j;
 public class WaitJobCompletionStage extends ExecutionStage {
     private final JobProcessManager jobProcessManager;
     private final JobMonitorService jobMonitorService;
+    private final BackgroundArchiveService backgroundArchiveService;
 
     /**
      * Constructor.
      *
-     * @param jobProcessManager the job process manager
-     * @param jobMonitorService the job monitor service
+     * @param jobProcessManager        the job process manager
+     * @param jobMonitorService        the job monitor service
+     * @param backgroundArchiveService the background archive service
      */
     public WaitJobCompletionStage(
         final JobProcessManager jobProcessManager,
-        final JobMonitorService jobMonitorService
+        final JobMonitorService jobMonitorService,
+        final BackgroundArchiveService backgroundArchiveService
     ) {
         super(States.WAIT_JOB_COMPLETION);
         this.jobProcessManager = jobProcessManager;
         this.jobMonitorService = jobMonitorService;
+        this.backgroundArchiveService = backgroundArchiveService;
     }
 
     @Override
@@ -68,6 +81,7 @@ public class WaitJobCompletionStage extends ExecutionStage {
                 executionContext.getClaimedJobId(),
                 executionContext.getJobDirectory().toPath()
             );
+            this.startBackgroundArchival(executionContext);
             final JobProcessResult jobProcessResult;
             try {
                 jobProcessResult = this.jobProcessManager.waitFor();
@@ -75,6 +89,7 @@ public class WaitJobCompletionStage extends ExecutionStage {
                 throw createFatalException(e);
             } finally {
                 this.jobMonitorService.stop();
+                this.backgroundArchiveService.stop();
             }
 
             executionContext.setJobProcessResult(jobProcessResult);
@@ -85,4 +100,26 @@ public class WaitJobCompletionStage extends ExecutionStage {
             log.debug("Job not launched, skipping");
         }
     }
+
+    private void startBackgroundArchival(final ExecutionContext executionContext) {
+        final JobSpecification jobSpecification = executionContext.getJobSpecification();
+        final String archiveLocation = jobSpecification == null
+            ? null
+            : jobSpecification.getArchiveLocation().orElse(null);
+        if (StringUtils.isBlank(archiveLocation)) {
+            return;
+        }
+        final Path jobDirectory = executionContext.getJobDirectory().toPath();
+        final Set<String> dependencyPaths = ArchiveJobOutputsStage.getDependencySources(executionContext, jobSpecification)
+            .keySet()
+            .stream()
+            .map(file -> jobDirectory.relativize(file.toPath()).toString())
+            .collect(Collectors.toSet());
+        try {
+            this.backgroundArchiveService.start(jobDirectory, new URI(archiveLocation), dependencyPaths);
+        } catch (final URISyntaxException e) {
+            // Swallow the error, the final archival reports it
+            log.warn("Invalid archive location {}, not archiving in the background", archiveLocation);
+        }
+    }
 }
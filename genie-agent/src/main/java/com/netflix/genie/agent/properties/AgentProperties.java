@@ -25,6 +25,8 @@ import org.springframework.validation.annotation.Validated;
 
 import jakarta.validation.Valid;
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Root properties class for agent.
@@ -54,6 +56,30 @@ public class AgentProperties {
     @DurationMin(seconds = 1)
     private Duration forceManifestRefreshTimeout = Duration.ofSeconds(5);
 
+    /**
+     * Whether to send heartbeats and receive kill notifications over a single session stream rather than over the
+     * heartbeat stream and a parked kill notification request.
+     */
+    private boolean sessionEnabled;
+
+    /**
+     * Whether the agent runs its job inside a daemon agent process shared with other jobs rather than in its own
+     * process. Set by the daemon for the jobs it runs.
+     */
+    private boolean inProcess;
+
+    /**
+     * Environment variables the job was launched with, on top of the environment of the agent process. Set by the
+     * daemon for the jobs it runs, as they don't get an environment of their own.
+     */
+    private Map<String, String> launchEnvironment = new HashMap<>();
+
+    /**
+     * BackgroundArchiveService properties.
+     */
+    @Valid
+    private BackgroundArchiveServiceProperties backgroundArchiveService = new BackgroundArchiveServiceProperties();
+
     /**
      * FileStreamService properties.
      */
@@ -0,0 +1,61 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.properties;
+
+import com.netflix.genie.agent.execution.services.BackgroundArchiveService;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.validator.constraints.time.DurationMin;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+
+/**
+ * Properties of {@link BackgroundArchiveService}.
+ *
+ * @since 4.4.0
+ */
+@Getter
+@Setter
+@Validated
+public class BackgroundArchiveServiceProperties {
+    /**
+     * Whether files are archived while the job is still running.
+     */
+    private boolean enabled;
+
+    /**
+     * Interval between scans of the job directory for files to archive.
+     */
+    @DurationMin(seconds = 1)
+    private Duration scanInterval = Duration.ofMinutes(1);
+
+    /**
+     * How long a file must have gone unmodified before it is considered closed and archived.
+     */
+    @DurationMin(seconds = 1)
+    private Duration quietPeriod = Duration.ofMinutes(2);
+
+    /**
+     * Files smaller than this are left to the final archival, where they can be bundled.
+     */
+    @NotNull
+    private DataSize minFileSize = DataSize.ofMegabytes(1);
+}
@@ -20,6 +20,7 @@ package com.netflix.genie.agent.rpc;
 import brave.Tracing;
 import brave.grpc.GrpcTracing;
 import com.netflix.genie.agent.cli.ArgumentDelegates;
+import com.netflix.genie.proto.AgentSessionServiceGrpc;
 import com.netflix.genie.proto.FileStreamServiceGrpc;
 import com.netflix.genie.proto.HeartBeatServiceGrpc;
 import com.netflix.genie.proto.JobKillServiceGrpc;
@@ -110,6 +111,19 @@ public class GRpcAutoConfiguration {
         return HeartBeatServiceGrpc.newStub(channel);
     }
 
+    /**
+     * Provide a prototype bean definition for a
+     * {@link com.netflix.genie.proto.AgentSessionServiceGrpc.AgentSessionServiceStub}.
+     *
+     * @param channel The managed channel to use to connect to the Genie server
+     * @return A {@link com.netflix.genie.proto.AgentSessionServiceGrpc.AgentSessionServiceStub} instance per use
+     */
+    @Bean
+    @Scope("prototype")
+    public AgentSessionServiceGrpc.AgentSessionServiceStub agentSessionClient(final ManagedChannel channel) {
+        return AgentSessionServiceGrpc.newStub(channel);
+    }
+
     /**
      * Provide a prototype bean definition for a
      * {@link com.netflix.genie.proto.JobKillServiceGrpc.JobKillServiceFutureStub}.
@@ -19,6 +19,7 @@ package com.netflix.genie.agent.spring.autoconfigure;
 
 import com.netflix.genie.agent.execution.process.JobProcessManager;
 import com.netflix.genie.agent.execution.process.impl.JobProcessManagerImpl;
+import com.netflix.genie.agent.properties.AgentProperties;
 import com.netflix.genie.common.internal.tracing.brave.BraveTracingComponents;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -41,6 +42,7 @@ public class ProcessAutoConfiguration {
      *
      * @param taskScheduler     The {@link TaskScheduler} instance to use
      * @param tracingComponents The {@link BraveTracingComponents} instance to use
+     * @param agentProperties   The {@link AgentProperties} instance to use
      * @return A {@link JobProcessManagerImpl} instance
      */
     @Bean
@@ -48,8 +50,9 @@ public class ProcessAutoConfiguration {
     @ConditionalOnMissingBean(JobProcessManager.class)
     public JobProcessManagerImpl jobProcessManager(
         @Qualifier("sharedAgentTaskScheduler") final TaskScheduler taskScheduler,
-        final BraveTracingComponents tracingComponents
+        final BraveTracingComponents tracingComponents,
+        final AgentProperties agentProperties
     ) {
-        return new JobProcessManagerImpl(taskScheduler, tracingComponents);
+        return new JobProcessManagerImpl(taskScheduler, tracingComponents, agentProperties);
     }
 }
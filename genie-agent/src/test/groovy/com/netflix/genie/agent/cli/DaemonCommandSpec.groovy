@@ -0,0 +1,127 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.cli
+
+import com.fasterxml.jackson.databind.JsonNode
+import com.netflix.genie.agent.properties.AgentProperties
+import com.netflix.genie.common.external.util.GenieObjectMapper
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.util.concurrent.PollingConditions
+
+import java.net.UnixDomainSocketAddress
+import java.nio.channels.Channels
+import java.nio.channels.SocketChannel
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.attribute.PosixFilePermissions
+import java.time.Duration
+import java.util.concurrent.ThreadFactory
+
+class DaemonCommandSpec extends Specification {
+
+    @TempDir
+    Path temporaryFolder
+
+    Path socketPath
+    DaemonCommand.DaemonCommandArguments args
+    DaemonJobLauncher jobLauncher
+    AgentProperties agentProperties
+    Thread hookThread
+    Runnable hook
+    ThreadFactory threadFactory
+
+    void setup() {
+        this.socketPath = this.temporaryFolder.resolve("daemon").resolve("daemon.sock")
+        this.args = Mock(DaemonCommand.DaemonCommandArguments) {
+            getSocketPath() >> this.socketPath.toString()
+        }
+        this.jobLauncher = Mock(DaemonJobLauncher)
+        this.agentProperties = new AgentProperties()
+        this.hookThread = Mock(Thread)
+        this.threadFactory = { r -> this.hook = r; this.hookThread } as ThreadFactory
+    }
+
+    def "Accept jobs until shutdown"() {
+        def daemonCommand = new DaemonCommand(
+            this.args,
+            this.jobLauncher,
+            this.agentProperties,
+            this.threadFactory,
+            Duration.ofMillis(500L)
+        )
+        ExitCode exitCode = null
+        Map<String, String> launchEnvironment = null
+
+        when:
+        def daemon = Thread.start { exitCode = daemonCommand.run() }
+        new PollingConditions(timeout: 10).eventually {
+            assert Files.exists(this.socketPath)
+            assert this.hook != null
+        }
+        def socketPermissions = PosixFilePermissions.toString(Files.getPosixFilePermissions(this.socketPath))
+        def directoryPermissions = PosixFilePermissions.toString(
+            Files.getPosixFilePermissions(this.socketPath.getParent())
+        )
+        def stalledClient = SocketChannel.open(UnixDomainSocketAddress.of(this.socketPath))
+        Channels.newOutputStream(stalledClient).write("{\"arguments\":".getBytes(StandardCharsets.UTF_8))
+        def acceptedResponse = this.send(
+            "{\"arguments\":[\"exec\",\"--job-id\",\"foo\"],\"environment\":{\"FOO\":\"bar\"}}"
+        )
+        stalledClient.close()
+        def fullResponse = this.send("{\"arguments\":[\"exec\",\"--job-id\",\"bar\"]}")
+        def unsupportedResponse = this.send("{\"arguments\":[\"daemon\"]}")
+        def malformedResponse = this.send("foo")
+        this.hook.run()
+        daemon.join(10_000L)
+
+        then:
+        1 * this.jobLauncher.tryLaunch(_ as String[], _ as Map) >> { args ->
+            launchEnvironment = args[1] as Map<String, String>
+            true
+        }
+        1 * this.jobLauncher.tryLaunch(_ as String[], [:]) >> false
+        _ * this.jobLauncher.getRunningJobs() >> 1
+        1 * this.jobLauncher.killAll()
+        2 * this.jobLauncher.awaitCompletion(this.agentProperties.getShutdown().getExecutionCompletionLeeway()) >> true
+        acceptedResponse.get(DaemonCommand.ACCEPTED_FIELD).asBoolean()
+        launchEnvironment == [FOO: "bar"]
+        !fullResponse.get(DaemonCommand.ACCEPTED_FIELD).asBoolean()
+        fullResponse.has(DaemonCommand.MESSAGE_FIELD)
+        !unsupportedResponse.get(DaemonCommand.ACCEPTED_FIELD).asBoolean()
+        unsupportedResponse.get(DaemonCommand.MESSAGE_FIELD).asText() == "Unsupported command: daemon"
+        !malformedResponse.get(DaemonCommand.ACCEPTED_FIELD).asBoolean()
+        socketPermissions == "rw-------"
+        directoryPermissions == "rwx------"
+        exitCode == ExitCode.SUCCESS
+        !Files.exists(this.socketPath)
+    }
+
+    private JsonNode send(final String request) {
+        return SocketChannel.open(UnixDomainSocketAddress.of(this.socketPath)).withCloseable { channel ->
+            def outputStream = Channels.newOutputStream(channel)
+            outputStream.write((request + "\n").getBytes(StandardCharsets.UTF_8))
+            outputStream.flush()
+            def response = new BufferedReader(
+                new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8)
+            ).readLine()
+            return GenieObjectMapper.getMapper().readTree(response)
+        }
+    }
+}
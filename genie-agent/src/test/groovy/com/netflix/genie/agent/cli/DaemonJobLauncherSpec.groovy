@@ -0,0 +1,111 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.cli
+
+import com.netflix.genie.agent.cli.logging.InProcessJobLogs
+import com.netflix.genie.agent.execution.services.KillService
+import org.springframework.boot.ExitCodeGenerator
+import org.springframework.boot.SpringApplication
+import org.springframework.context.ApplicationContextInitializer
+import org.springframework.context.ConfigurableApplicationContext
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.function.Supplier
+
+class DaemonJobLauncherSpec extends Specification {
+
+    SpringApplication application
+    ConfigurableApplicationContext jobContext
+    KillService killService
+    InProcessJobLogs jobLogs
+    DaemonJobLauncher jobLauncher
+
+    void setup() {
+        this.application = Mock(SpringApplication)
+        this.jobContext = Mock(ConfigurableApplicationContext)
+        this.killService = Mock(KillService)
+        this.jobLogs = Mock(InProcessJobLogs)
+        this.jobLauncher = new DaemonJobLauncher({ this.application } as Supplier<SpringApplication>, 1, this.jobLogs)
+    }
+
+    def "Run jobs up to the maximum and kill them on shutdown"() {
+        ApplicationContextInitializer<ConfigurableApplicationContext> initializer = null
+        def started = new CountDownLatch(1)
+        def killed = new CountDownLatch(1)
+        String[] jobArgs = ["exec", "--job-id", "foo"]
+        String jobLogId = null
+
+        when:
+        def accepted = this.jobLauncher.tryLaunch(jobArgs, [FOO: "bar"])
+        def jobStarted = started.await(10, TimeUnit.SECONDS)
+        def acceptedBeyondMaximum = this.jobLauncher.tryLaunch(jobArgs, [:])
+        def runningJobs = this.jobLauncher.getRunningJobs()
+        this.jobLauncher.killAll()
+        def completed = this.jobLauncher.awaitCompletion(Duration.ofSeconds(10))
+        def acceptedAfterShutdown = this.jobLauncher.tryLaunch(jobArgs, [:])
+
+        then:
+        1 * this.jobLogs.start(_ as String) >> { args -> jobLogId = args[0] }
+        1 * this.application.setDefaultProperties(
+            [
+                "genie.agent.runtime.in-process"             : "true",
+                "genie.agent.runtime.launch-environment[FOO]": "bar"
+            ]
+        )
+        1 * this.application.addInitializers(_) >> { args -> initializer = args[0][0] }
+        1 * this.application.run(_) >> {
+            initializer.initialize(this.jobContext)
+            started.countDown()
+            killed.await(10, TimeUnit.SECONDS)
+            this.jobContext
+        }
+        1 * this.jobContext.getBean(KillService) >> this.killService
+        1 * this.killService.kill(KillService.KillSource.SYSTEM_SIGNAL) >> { killed.countDown() }
+        _ * this.jobContext.getBeansOfType(ExitCodeGenerator) >> [:]
+        1 * this.jobContext.close()
+        1 * this.jobLogs.stop({ it == jobLogId })
+        accepted
+        jobStarted
+        !acceptedBeyondMaximum
+        runningJobs == 1
+        completed
+        !acceptedAfterShutdown
+        this.jobLauncher.getRunningJobs() == 0
+    }
+
+    def "A job failing to start leaves no running job"() {
+        def failed = new CountDownLatch(1)
+        String[] jobArgs = ["exec", "--job-id", "foo"]
+
+        when:
+        def accepted = this.jobLauncher.tryLaunch(jobArgs, [:])
+        def completed = this.jobLauncher.awaitCompletion(Duration.ofSeconds(10))
+
+        then:
+        1 * this.jobLogs.start(_ as String)
+        1 * this.application.run(_) >> { failed.countDown(); throw new IllegalStateException("test") }
+        1 * this.jobLogs.stop(_ as String)
+        accepted
+        completed
+        failed.getCount() == 0
+        this.jobLauncher.getRunningJobs() == 0
+    }
+}
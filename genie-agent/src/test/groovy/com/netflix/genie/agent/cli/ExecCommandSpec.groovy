@@ -70,6 +70,23 @@ class ExecCommandSpec extends Specification {
         noExceptionThrown()
     }
 
+    def "Run within a daemon"() {
+        setup:
+        def threadFactory = Mock(ThreadFactory)
+        this.agentProperties.setInProcess(true)
+        def execCommand = new ExecCommand(args, stateMachine, killService, agentProperties, threadFactory)
+
+        when:
+        ExitCode exitCode = execCommand.run()
+
+        then:
+        0 * threadFactory.newThread(_)
+        1 * stateMachine.run()
+        1 * stateMachine.getExecutionContext() >> execContext
+        1 * execContext.getCurrentJobStatus() >> JobStatus.SUCCEEDED
+        exitCode == ExitCode.SUCCESS
+    }
+
     def "Run with no final job status"() {
         setup:
         def execCommand = new ExecCommand(args, stateMachine, killService, agentProperties, threadFactory)
@@ -21,6 +21,7 @@ import brave.ScopedSpan
 import brave.Tracer
 import brave.propagation.TraceContext
 import com.beust.jcommander.ParameterException
+import com.netflix.genie.agent.properties.AgentProperties
 import com.netflix.genie.common.internal.tracing.TracingConstants
 import com.netflix.genie.common.internal.tracing.brave.BraveTagAdapter
 import com.netflix.genie.common.internal.tracing.brave.BraveTracePropagator
@@ -59,7 +60,8 @@ class GenieAgentRunnerSpec extends Specification {
             this.argsParser,
             this.cmdFactory,
             new BraveTracingComponents(this.tracer, this.tracePropagator, this.traceCleaner, this.tagAdapter),
-            this.environment
+            this.environment,
+            new AgentProperties()
         )
 
         this.initContext = TraceContext.newBuilder()
@@ -24,6 +24,7 @@ import com.netflix.genie.agent.execution.exceptions.JobLaunchException
 import com.netflix.genie.agent.execution.process.JobProcessManager
 import com.netflix.genie.agent.execution.process.JobProcessResult
 import com.netflix.genie.agent.execution.services.KillService
+import com.netflix.genie.agent.properties.AgentProperties
 import com.netflix.genie.agent.utils.PathUtils
 import com.netflix.genie.common.dto.JobStatusMessages
 import com.netflix.genie.common.internal.dtos.JobStatus
@@ -60,6 +61,7 @@ class JobProcessManagerImplSpec extends Specification {
     BraveTracePropagator tracePropagator
     Span span
     TraceContext traceContext
+    AgentProperties agentProperties
 
     def setup() {
         this.stdOut = PathUtils.jobStdOutPath(temporaryFolder.toFile()).toFile()
@@ -77,6 +79,7 @@ class JobProcessManagerImplSpec extends Specification {
             .sampled(true)
             .build()
         this.span = Mock(Span)
+        this.agentProperties = new AgentProperties()
         this.manager = new JobProcessManagerImpl(
             this.scheduler,
             new BraveTracingComponents(
@@ -84,7 +87,8 @@ class JobProcessManagerImplSpec extends Specification {
                 this.tracePropagator,
                 Mock(BraveTracingCleanup),
                 Mock(BraveTagAdapter)
-            )
+            ),
+            this.agentProperties
         )
     }
 
@@ -100,7 +104,9 @@ class JobProcessManagerImplSpec extends Specification {
         jobScript.append("echo Hello stdout;\n")
         jobScript.append("echo Hello stderr 1>&2;\n")
         jobScript.append("touch " + expectedFile + ";\n")
+        jobScript.append("echo Launched with \$GENIE_LAUNCH_VARIABLE;\n")
         jobScript.setExecutable(true)
+        this.agentProperties.setLaunchEnvironment([GENIE_LAUNCH_VARIABLE: "foo"])
 
         when:
         this.manager.launchProcess(
@@ -130,6 +136,7 @@ class JobProcessManagerImplSpec extends Specification {
         this.stdOut.exists() == !interactive
         if (!interactive) {
             assert this.stdOut.getText(StandardCharsets.UTF_8.toString()).contains("Hello stdout")
+            assert this.stdOut.getText(StandardCharsets.UTF_8.toString()).contains("Launched with foo")
             assert this.stdErr.getText(StandardCharsets.UTF_8.toString()).contains("Hello stderr")
         }
 
@@ -630,7 +637,8 @@ class JobProcessManagerImplSpec extends Specification {
                 this.tracePropagator,
                 Mock(BraveTracingCleanup),
                 Mock(BraveTagAdapter)
-            )
+            ),
+            this.agentProperties
         )
 
         when:
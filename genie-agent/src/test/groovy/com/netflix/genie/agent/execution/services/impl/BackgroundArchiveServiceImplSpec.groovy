@@ -0,0 +1,219 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.execution.services.impl
+
+import com.netflix.genie.agent.properties.AgentProperties
+import com.netflix.genie.common.internal.dtos.DirectoryManifest
+import com.netflix.genie.common.internal.exceptions.checked.JobArchiveException
+import com.netflix.genie.common.internal.properties.JobArchiveProperties
+import com.netflix.genie.common.internal.services.JobArchiveService
+import com.netflix.genie.common.internal.services.JobDirectoryManifestCreatorService
+import org.springframework.scheduling.TaskScheduler
+import spock.lang.Specification
+
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.time.Duration
+import java.time.Instant
+import java.util.concurrent.ScheduledFuture
+
+class BackgroundArchiveServiceImplSpec extends Specification {
+
+    JobArchiveService jobArchiveService
+    JobDirectoryManifestCreatorService manifestCreatorService
+    TaskScheduler taskScheduler
+    AgentProperties agentProperties
+    JobArchiveProperties jobArchiveProperties
+    ScheduledFuture scheduledFuture
+    BackgroundArchiveServiceImpl service
+    Path jobDirectory
+    URI target
+
+    void setup() {
+        this.jobArchiveService = Mock(JobArchiveService)
+        this.manifestCreatorService = Mock(JobDirectoryManifestCreatorService)
+        this.taskScheduler = Mock(TaskScheduler)
+        this.agentProperties = new AgentProperties()
+        this.agentProperties.getBackgroundArchiveService().setEnabled(true)
+        this.jobArchiveProperties = new JobArchiveProperties()
+        this.scheduledFuture = Mock(ScheduledFuture)
+        this.jobDirectory = Paths.get("/tmp/genie/jobs/123")
+        this.target = new URI("s3://genie-logs/123")
+        this.service = new BackgroundArchiveServiceImpl(
+            jobArchiveService,
+            manifestCreatorService,
+            taskScheduler,
+            agentProperties,
+            jobArchiveProperties
+        )
+    }
+
+    def "Disabled"() {
+        this.agentProperties.getBackgroundArchiveService().setEnabled(false)
+
+        when:
+        service.start(jobDirectory, target, [] as Set)
+        service.stop()
+
+        then:
+        0 * taskScheduler._
+    }
+
+    def "Archive closed files once"() {
+        def closed = Instant.now().minus(Duration.ofHours(1))
+        def closedEntry = entry("closed", closed, 10_000_000)
+        def openEntry = entry("open", Instant.now(), 10_000_000)
+        def smallEntry = entry("small", closed, 100)
+        def manifest = Mock(DirectoryManifest) {
+            getFiles() >> ([closedEntry, openEntry, smallEntry] as Set)
+        }
+        Runnable task
+
+        when:
+        service.start(jobDirectory, target, [] as Set)
+
+        then:
+        1 * taskScheduler.scheduleWithFixedDelay(_ as Runnable, agentProperties.getBackgroundArchiveService().getScanInterval()) >> {
+            Runnable r, Duration d ->
+                task = r
+                return scheduledFuture
+        }
+
+        when:
+        task.run()
+
+        then:
+        1 * manifestCreatorService.getDirectoryManifest(jobDirectory) >> manifest
+        1 * jobArchiveService.archiveFiles(jobDirectory, [Paths.get("closed")], target)
+        service.isArchived(closedEntry)
+        !service.isArchived(openEntry)
+        !service.isArchived(smallEntry)
+        !service.isArchived(entry("closed", closed, 20_000_000))
+
+        when: "Already archived files are not archived again"
+        task.run()
+
+        then:
+        1 * manifestCreatorService.getDirectoryManifest(jobDirectory) >> manifest
+        0 * jobArchiveService.archiveFiles(_, _, _)
+
+        when:
+        service.stop()
+        task.run()
+
+        then:
+        1 * scheduledFuture.cancel(false)
+        0 * manifestCreatorService.getDirectoryManifest(_)
+    }
+
+    def "Failures are retried at the next scan"() {
+        def closedEntry = entry("closed", Instant.now().minus(Duration.ofHours(1)), 10_000_000)
+        def manifest = Mock(DirectoryManifest) {
+            getFiles() >> ([closedEntry] as Set)
+        }
+        Runnable task
+
+        when:
+        service.start(jobDirectory, target, [] as Set)
+        task.run()
+
+        then:
+        1 * taskScheduler.scheduleWithFixedDelay(_ as Runnable, _ as Duration) >> {
+            Runnable r, Duration d ->
+                task = r
+                return scheduledFuture
+        }
+        1 * manifestCreatorService.getDirectoryManifest(jobDirectory) >> manifest
+        1 * jobArchiveService.archiveFiles(jobDirectory, [Paths.get("closed")], target) >> {
+            throw new JobArchiveException("...")
+        }
+        !service.isArchived(closedEntry)
+
+        when:
+        task.run()
+
+        then:
+        1 * manifestCreatorService.getDirectoryManifest(jobDirectory) >> { throw new IOException("...") }
+        0 * jobArchiveService.archiveFiles(_, _, _)
+
+        when:
+        task.run()
+
+        then:
+        1 * manifestCreatorService.getDirectoryManifest(jobDirectory) >> manifest
+        1 * jobArchiveService.archiveFiles(jobDirectory, [Paths.get("closed")], target)
+        service.isArchived(closedEntry)
+    }
+
+    def "Dependencies are left to the final archival when archived as references"() {
+        def closed = Instant.now().minus(Duration.ofHours(1))
+        def outputEntry = entry("output", closed, 10_000_000)
+        def dependencyEntry = entry("genie/command/spark/dependencies/spark.tgz", closed, 10_000_000)
+        def manifest = Mock(DirectoryManifest) {
+            getFiles() >> ([outputEntry, dependencyEntry] as Set)
+        }
+        Runnable task
+
+        when:
+        service.start(jobDirectory, target, [dependencyEntry.getPath()] as Set)
+        task.run()
+
+        then:
+        1 * taskScheduler.scheduleWithFixedDelay(_ as Runnable, _ as Duration) >> {
+            Runnable r, Duration d ->
+                task = r
+                return scheduledFuture
+        }
+        1 * manifestCreatorService.getDirectoryManifest(jobDirectory) >> manifest
+        1 * jobArchiveService.archiveFiles(jobDirectory, _ as List, target) >> {
+            Path directory, List<Path> files, URI uri ->
+                assert files as Set == [Paths.get("output"), Paths.get(dependencyEntry.getPath())] as Set
+        }
+
+        when: "Dependencies are archived as references"
+        jobArchiveProperties.getDependencies().setArchiveAsReferences(true)
+        service.start(jobDirectory, target, [dependencyEntry.getPath()] as Set)
+        task.run()
+
+        then:
+        1 * taskScheduler.scheduleWithFixedDelay(_ as Runnable, _ as Duration) >> {
+            Runnable r, Duration d ->
+                task = r
+                return scheduledFuture
+        }
+        1 * manifestCreatorService.getDirectoryManifest(jobDirectory) >> manifest
+        1 * jobArchiveService.archiveFiles(jobDirectory, [Paths.get("output")], target)
+        !service.isArchived(dependencyEntry)
+    }
+
+    private static DirectoryManifest.ManifestEntry entry(final String path, final Instant lastModified, final long size) {
+        return new DirectoryManifest.ManifestEntry(
+            path,
+            path,
+            lastModified,
+            lastModified,
+            lastModified,
+            false,
+            size,
+            null,
+            null,
+            null,
+            [] as Set
+        )
+    }
+}
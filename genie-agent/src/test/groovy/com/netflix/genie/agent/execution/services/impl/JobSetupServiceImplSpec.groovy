@@ -30,6 +30,7 @@ import com.netflix.genie.agent.utils.PathUtils
 import com.netflix.genie.common.internal.dtos.ExecutionEnvironment
 import com.netflix.genie.common.internal.dtos.JobSpecification
 import com.netflix.genie.common.internal.jobs.JobConstants
+import org.apache.commons.lang3.tuple.ImmutablePair
 import org.springframework.core.io.ClassPathResource
 import spock.lang.Specification
 import spock.lang.TempDir
@@ -334,7 +335,7 @@ class JobSetupServiceImplSpec extends Specification {
 
         when:
         File jobDirectory = service.createJobDirectory(spec)
-        service.downloadJobResources(spec, jobDirectory)
+        Map<File, URI> downloaded = service.downloadJobResources(spec, jobDirectory)
         File jobScript = service.createJobScript(spec, jobDirectory)
 
         then:
@@ -357,11 +358,12 @@ class JobSetupServiceImplSpec extends Specification {
         1 * manifestBuilder.addFileWithTargetDirectory(configUri, new File(clusterDir, JobConstants.CONFIG_FILE_PATH_PREFIX))
         1 * manifestBuilder.build() >> manifest
         1 * downloadService.download(manifest)
-        1 * manifest.getTargetFiles()
+        1 * manifest.getEntries() >> Sets.newHashSet(ImmutablePair.of(dependencyUri, new File(jobDir, "dep.jar")))
         1 * spec.getExecutableArgs() >> ["presto", "-v"]
         1 * spec.getJobArgs() >> ["--exec", "'select * from table limit 1'"]
 
         expect:
+        downloaded == [(new File(jobDir, "dep.jar")): dependencyUri]
         jobDir.exists()
         app1Dir.exists()
         app2Dir.exists()
@@ -399,7 +401,7 @@ class JobSetupServiceImplSpec extends Specification {
         0 * manifestBuilder.addFileWithTargetDirectory(_, _)
         1 * manifestBuilder.build() >> manifest
         1 * downloadService.download(manifest)
-        1 * manifest.getTargetFiles()
+        1 * manifest.getEntries() >> Sets.newHashSet()
         1 * spec.getExecutableArgs() >> ["presto", "-v"]
         1 * spec.getJobArgs() >> ["--exec", "'select * from table limit 10'"]
 
@@ -450,7 +452,7 @@ class JobSetupServiceImplSpec extends Specification {
         0 * manifestBuilder.addFileWithTargetDirectory(_, _)
         1 * manifestBuilder.build() >> manifest
         1 * downloadService.download(manifest)
-        1 * manifest.getTargetFiles()
+        1 * manifest.getEntries() >> Sets.newHashSet()
         1 * spec.getExecutableArgs() >> ["presto", "-v"]
         1 * spec.getJobArgs() >> ["--exec", "'select * from table limit 10'"]
 
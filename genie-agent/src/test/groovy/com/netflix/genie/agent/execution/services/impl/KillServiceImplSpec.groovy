@@ -59,4 +59,16 @@ class KillServiceImplSpec extends Specification {
         KillService.KillSource.FILES_LIMIT           | _
         KillService.KillSource.REMOTE_STATUS_MONITOR | _
     }
+
+    def "Don't shut down the JVM within a daemon"() {
+        agentProperties.setInProcess(true)
+
+        when:
+        service.kill(KillService.KillSource.API_KILL_REQUEST)
+
+        then:
+        1 * executionContext.getStateMachine() >> stateMachine
+        1 * stateMachine.kill(KillService.KillSource.API_KILL_REQUEST)
+        0 * threadFactory.newThread(_)
+    }
 }
@@ -0,0 +1,233 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.execution.services.impl.grpc
+
+import com.google.common.collect.Lists
+import com.netflix.genie.agent.execution.services.KillService
+import com.netflix.genie.agent.properties.HeartBeatServiceProperties
+import com.netflix.genie.proto.AgentSessionMessage
+import com.netflix.genie.proto.AgentSessionServiceGrpc
+import com.netflix.genie.proto.JobKillRegistrationResponse
+import com.netflix.genie.proto.ServerHeartBeat
+import com.netflix.genie.proto.ServerSessionMessage
+import io.grpc.ManagedChannel
+import io.grpc.stub.StreamObserver
+import io.grpc.testing.GrpcServerRule
+import org.junit.Rule
+import org.springframework.scheduling.TaskScheduler
+import spock.lang.Specification
+
+import java.time.Instant
+import java.util.concurrent.ScheduledFuture
+
+/**
+ * Specifications for {@link GRpcAgentSessionServiceImpl} and {@link GRpcAgentSessionJobKillServiceImpl}.
+ */
+class GRpcAgentSessionServiceImplSpec extends Specification {
+
+    static final ServerSessionMessage KILL_MESSAGE = ServerSessionMessage.newBuilder()
+        .setKill(JobKillRegistrationResponse.getDefaultInstance())
+        .build()
+
+    @Rule
+    GrpcServerRule grpcServerRule = new GrpcServerRule().directExecutor()
+    String jobId
+    TaskScheduler taskScheduler
+    ScheduledFuture heartBeatFuture
+    KillService killService
+    ManagedChannel channel
+    GRpcAgentSessionServiceImpl service
+    GRpcAgentSessionJobKillServiceImpl jobKillService
+    HeartBeatServiceProperties serviceProperties = new HeartBeatServiceProperties()
+    Runnable sendHeartBeatsRunnable
+
+    StreamObserver<ServerSessionMessage> currentResponseObserver
+    List<AgentSessionMessage> messagesReceived = Lists.newArrayList()
+
+    void setup() {
+        this.jobId = UUID.randomUUID().toString()
+        this.heartBeatFuture = Mock(ScheduledFuture)
+        this.taskScheduler = Mock(TaskScheduler) {
+            scheduleAtFixedRate(_ as Runnable, serviceProperties.getInterval()) >> {
+                args ->
+                    this.sendHeartBeatsRunnable = args[0] as Runnable
+                    return this.heartBeatFuture
+            }
+        }
+        this.killService = Mock(KillService)
+        this.channel = Mock(ManagedChannel)
+        this.grpcServerRule.getServiceRegistry().addService(new TestService())
+        this.service = new GRpcAgentSessionServiceImpl(
+            AgentSessionServiceGrpc.newStub(grpcServerRule.getChannel()),
+            taskScheduler,
+            serviceProperties,
+            killService,
+            channel
+        )
+        this.jobKillService = new GRpcAgentSessionJobKillServiceImpl(this.service)
+        this.messagesReceived.clear()
+    }
+
+    void cleanup() {
+        this.jobKillService.stop()
+        this.service.stop()
+    }
+
+    def "Send heartbeats and reset stream after error"() {
+        Runnable resetRunnable
+
+        when:
+        service.start(jobId)
+        sendHeartBeatsRunnable.run()
+
+        then:
+        messagesReceived.size() == 1
+        messagesReceived.get(0).getHeartbeat().getClaimedJobId() == jobId
+        service.isConnected()
+
+        when:
+        messagesReceived.clear()
+        currentResponseObserver.onError(new RuntimeException())
+
+        then:
+        1 * taskScheduler.schedule(_ as Runnable, _ as Instant) >> {
+            args ->
+                resetRunnable = args[0] as Runnable
+                return null
+        }
+        resetRunnable != null
+        !service.isConnected()
+
+        when:
+        resetRunnable.run()
+        sendHeartBeatsRunnable.run()
+
+        then:
+        !messagesReceived.isEmpty()
+        service.isConnected()
+    }
+
+    def "Kill when notified while listening"() {
+        when:
+        service.start(jobId)
+        jobKillService.start(jobId)
+        sendHeartBeatsRunnable.run()
+        currentResponseObserver.onNext(KILL_MESSAGE)
+
+        then:
+        1 * killService.kill(KillService.KillSource.API_KILL_REQUEST)
+
+        when:
+        jobKillService.stop()
+        currentResponseObserver.onNext(KILL_MESSAGE)
+
+        then:
+        0 * killService.kill(_)
+    }
+
+    def "Kill notification received before listening is deferred"() {
+        when:
+        service.start(jobId)
+        sendHeartBeatsRunnable.run()
+        currentResponseObserver.onNext(KILL_MESSAGE)
+
+        then:
+        0 * killService.kill(_)
+
+        when:
+        jobKillService.start(jobId)
+
+        then:
+        1 * killService.kill(KillService.KillSource.API_KILL_REQUEST)
+
+        when:
+        jobKillService.stop()
+        jobKillService.start(jobId)
+
+        then:
+        0 * killService.kill(_)
+    }
+
+    def "Drop the connection when the server asks to reconnect"() {
+        when:
+        service.start(jobId)
+        sendHeartBeatsRunnable.run()
+
+        then:
+        0 * channel.enterIdle()
+        service.isConnected()
+
+        when:
+        currentResponseObserver.onNext(
+            ServerSessionMessage.newBuilder()
+                .setHeartbeat(ServerHeartBeat.newBuilder().setReconnect(true).build())
+                .build()
+        )
+        currentResponseObserver.onCompleted()
+
+        then:
+        1 * channel.enterIdle()
+        1 * taskScheduler.schedule(_ as Runnable, _ as Instant)
+        0 * killService.kill(_)
+        !service.isConnected()
+    }
+
+    def "Double start"() {
+        when:
+        service.start(jobId)
+
+        then:
+        noExceptionThrown()
+
+        when:
+        service.start(jobId)
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    class TestService extends AgentSessionServiceGrpc.AgentSessionServiceImplBase {
+
+        @Override
+        StreamObserver<AgentSessionMessage> session(final StreamObserver<ServerSessionMessage> responseObserver) {
+            currentResponseObserver = responseObserver
+            return new StreamObserver<AgentSessionMessage>() {
+
+                @Override
+                void onNext(final AgentSessionMessage value) {
+                    synchronized (messagesReceived) {
+                        messagesReceived.add(value)
+                    }
+
+                    responseObserver.onNext(
+                        ServerSessionMessage.newBuilder().setHeartbeat(ServerHeartBeat.getDefaultInstance()).build()
+                    )
+                }
+
+                @Override
+                void onError(final Throwable t) {
+                }
+
+                @Override
+                void onCompleted() {
+                    responseObserver.onCompleted()
+                }
+            }
+        }
+    }
+}
@@ -22,6 +22,7 @@ import com.netflix.genie.agent.properties.HeartBeatServiceProperties
 import com.netflix.genie.proto.AgentHeartBeat
 import com.netflix.genie.proto.HeartBeatServiceGrpc
 import com.netflix.genie.proto.ServerHeartBeat
+import io.grpc.ManagedChannel
 import io.grpc.stub.StreamObserver
 import io.grpc.testing.GrpcServerRule
 import org.junit.Rule
@@ -39,6 +40,7 @@ class GrpcAgentHeartBeatServiceImplSpec extends Specification {
     HeartBeatServiceGrpc.HeartBeatServiceStub client
     TaskScheduler taskScheduler
     ScheduledFuture heartBeatFuture
+    ManagedChannel channel
     GrpcAgentHeartBeatServiceImpl service
     HeartBeatServiceProperties serviceProperties = new HeartBeatServiceProperties()
 
@@ -50,9 +52,10 @@ class GrpcAgentHeartBeatServiceImplSpec extends Specification {
         this.jobId = UUID.randomUUID().toString()
         this.taskScheduler = Mock(TaskScheduler)
         this.heartBeatFuture = Mock(ScheduledFuture)
+        this.channel = Mock(ManagedChannel)
         this.grpcServerRule.getServiceRegistry().addService(new TestService())
         this.client = HeartBeatServiceGrpc.newStub(grpcServerRule.getChannel())
-        this.service = new GrpcAgentHeartBeatServiceImpl(client, taskScheduler, serviceProperties)
+        this.service = new GrpcAgentHeartBeatServiceImpl(client, taskScheduler, serviceProperties, channel)
         this.heartbeatsReceived.clear()
     }
 
@@ -118,6 +121,39 @@ class GrpcAgentHeartBeatServiceImplSpec extends Specification {
         service.isConnected()
     }
 
+    def "Drop the connection when the server asks to reconnect"() {
+        Runnable resetRunnable
+
+        when:
+        service.start(jobId)
+        currentResponseObserver.onNext(ServerHeartBeat.getDefaultInstance())
+
+        then:
+        0 * channel.enterIdle()
+        service.isConnected()
+
+        when:
+        currentResponseObserver.onNext(ServerHeartBeat.newBuilder().setReconnect(true).build())
+        currentResponseObserver.onCompleted()
+
+        then:
+        1 * channel.enterIdle()
+        1 * taskScheduler.schedule(_ as Runnable, _ as Instant) >> {
+            args ->
+                resetRunnable = args[0] as Runnable
+                return null
+        }
+        !service.isConnected()
+
+        when:
+        resetRunnable.run()
+        currentResponseObserver.onNext(ServerHeartBeat.getDefaultInstance())
+
+        then:
+        0 * channel.enterIdle()
+        service.isConnected()
+    }
+
     def "Double start"() {
         when:
         service.start(jobId)
@@ -27,6 +27,8 @@ import com.netflix.genie.common.internal.dtos.JobSpecification
 import com.netflix.genie.common.internal.dtos.JobStatus
 import spock.lang.Specification
 
+import java.time.Instant
+
 class ExecutionContextSpec extends Specification {
 
     def "Get and set all"() {
@@ -38,6 +40,8 @@ class ExecutionContextSpec extends Specification {
         JobSpecification jobSpecification = Mock(JobSpecification)
         File jobDirectory = Mock(File)
         File jobScript = Mock(File)
+        Map<File, URI> downloadedDependencies = [(Mock(File)): URI.create("s3://bucket/dependency.jar")]
+        Instant dependenciesDownloadTime = Instant.now()
         JobProcessResult jobProcessResult = Mock(JobProcessResult)
         Exception retryableException = new RetryableJobExecutionException("...", null)
         Exception fatalException = new FatalJobExecutionException(States.CREATE_JOB_DIRECTORY, "...", new IOException())
@@ -54,6 +58,8 @@ class ExecutionContextSpec extends Specification {
         executionContext.getAgentJobRequest() == null
         executionContext.getJobSpecification() == null
         executionContext.getJobDirectory() == null
+        executionContext.getDownloadedDependencies().isEmpty()
+        executionContext.getDependenciesDownloadTime() == null
         executionContext.getJobScript() == null
         executionContext.getJobProcessResult() == null
         executionContext.getTransitionExceptionRecords() != null
@@ -81,6 +87,8 @@ class ExecutionContextSpec extends Specification {
         executionContext.setAgentJobRequest(agentJobRequest)
         executionContext.setJobSpecification(jobSpecification)
         executionContext.setJobDirectory(jobDirectory)
+        executionContext.setDownloadedDependencies(downloadedDependencies)
+        executionContext.setDependenciesDownloadTime(dependenciesDownloadTime)
         executionContext.setJobScript(jobScript)
         executionContext.setJobProcessResult(jobProcessResult)
         executionContext.recordTransitionException(States.HANDSHAKE, retryableException)
@@ -106,6 +114,8 @@ class ExecutionContextSpec extends Specification {
         executionContext.getAgentJobRequest() == agentJobRequest
         executionContext.getJobSpecification() == jobSpecification
         executionContext.getJobDirectory() == jobDirectory
+        executionContext.getDownloadedDependencies() == downloadedDependencies
+        executionContext.getDependenciesDownloadTime() == dependenciesDownloadTime
         executionContext.getJobScript() == jobScript
         executionContext.getJobProcessResult() == jobProcessResult
         executionContext.getTransitionExceptionRecords().size() == 2
@@ -19,21 +19,32 @@ package com.netflix.genie.agent.execution.statemachine.stages
 
 import com.netflix.genie.agent.execution.exceptions.ChangeJobArchiveStatusException
 import com.netflix.genie.agent.execution.services.AgentJobService
+import com.netflix.genie.agent.execution.services.BackgroundArchiveService
 import com.netflix.genie.agent.execution.statemachine.ExecutionContext
 import com.netflix.genie.agent.execution.statemachine.ExecutionStage
 import com.netflix.genie.common.internal.dtos.ArchiveStatus
+import com.netflix.genie.common.internal.dtos.DirectoryManifest
+import com.netflix.genie.common.internal.dtos.ExecutionEnvironment
 import com.netflix.genie.common.internal.dtos.JobSpecification
 import com.netflix.genie.common.internal.exceptions.checked.JobArchiveException
 import com.netflix.genie.common.internal.services.JobArchiveService
 import spock.lang.Specification
+import spock.lang.TempDir
 
+import java.nio.file.Files
 import java.nio.file.Path
+import java.time.Instant
+import java.util.function.Predicate
 
 class ArchiveJobOutputsStageSpec extends Specification {
+    @TempDir
+    Path temporaryFolder
+
     ExecutionStage stage
     ExecutionContext executionContext
     JobArchiveService jobArchiveService
     AgentJobService agentJobService
+    BackgroundArchiveService backgroundArchiveService
     JobSpecification jobSpec
     File jobDir
     String archiveLocation
@@ -44,12 +55,13 @@ class ArchiveJobOutputsStageSpec extends Specification {
         this.executionContext = Mock(ExecutionContext)
         this.jobArchiveService = Mock(JobArchiveService)
         this.agentJobService = Mock(AgentJobService)
+        this.backgroundArchiveService = Mock(BackgroundArchiveService)
         this.jobSpec = Mock(JobSpecification)
         this.jobDir = Mock(File)
         this.archiveLocation = "s3://genie-logs/foo/bar"
         this.jobDirPath = Mock(Path)
         this.jobId = UUID.randomUUID().toString()
-        this.stage = new ArchiveJobOutputsStage(jobArchiveService, agentJobService)
+        this.stage = new ArchiveJobOutputsStage(jobArchiveService, agentJobService, backgroundArchiveService)
     }
 
     def "AttemptTransition - success"() {
@@ -62,7 +74,67 @@ class ArchiveJobOutputsStageSpec extends Specification {
         1 * executionContext.getClaimedJobId() >> jobId
         1 * jobSpec.getArchiveLocation() >> Optional.of(archiveLocation)
         1 * jobDir.toPath() >> jobDirPath
-        1 * jobArchiveService.archiveDirectory(jobDirPath, _ as URI)
+        1 * jobArchiveService.archiveDirectory(jobDirPath, _ as URI, _, [:])
+        1 * agentJobService.changeJobArchiveStatus(jobId, ArchiveStatus.ARCHIVED)
+    }
+
+    def "AttemptTransition - files archived in the background are skipped"() {
+        def entry = Mock(DirectoryManifest.ManifestEntry)
+
+        when:
+        stage.attemptStageAction(executionContext)
+
+        then:
+        1 * executionContext.getJobSpecification() >> jobSpec
+        1 * executionContext.getJobDirectory() >> jobDir
+        1 * executionContext.getClaimedJobId() >> jobId
+        1 * jobSpec.getArchiveLocation() >> Optional.of(archiveLocation)
+        1 * jobDir.toPath() >> jobDirPath
+        1 * jobArchiveService.archiveDirectory(jobDirPath, new URI(archiveLocation), _, [:]) >> {
+            Path path, URI target, Predicate<DirectoryManifest.ManifestEntry> alreadyArchived, Map<String, URI> sources ->
+                assert alreadyArchived.test(entry)
+        }
+        1 * backgroundArchiveService.isArchived(entry) >> true
+        1 * agentJobService.changeJobArchiveStatus(jobId, ArchiveStatus.ARCHIVED)
+    }
+
+    def "AttemptTransition - unmodified dependencies are passed with their source"() {
+        def jobDirectory = Files.createDirectory(this.temporaryFolder.resolve("job")).toFile()
+        def unmodified = new File(jobDirectory, "unmodified.jar")
+        def modified = new File(jobDirectory, "modified.xml")
+        def deleted = new File(jobDirectory, "deleted.sh")
+        def jobDependency = new File(jobDirectory, "job.jar")
+        unmodified.text = "unmodified"
+        modified.text = "modified"
+        jobDependency.text = "job"
+        def downloadTime = Instant.now()
+        unmodified.setLastModified(downloadTime.minusSeconds(10).toEpochMilli())
+        jobDependency.setLastModified(downloadTime.minusSeconds(10).toEpochMilli())
+        modified.setLastModified(downloadTime.plusSeconds(10).toEpochMilli())
+        def unmodifiedUri = URI.create("s3://bucket/unmodified.jar")
+        def dependencies = [
+            (unmodified)   : unmodifiedUri,
+            (modified)     : URI.create("s3://bucket/modified.xml"),
+            (deleted)      : URI.create("s3://bucket/deleted.sh"),
+            (jobDependency): URI.create("s3://user-bucket/job.jar")
+        ]
+        def jobResource = new JobSpecification.ExecutionResource(
+            jobId,
+            new ExecutionEnvironment(null, ["s3://user-bucket/job.jar"] as Set, null)
+        )
+
+        when:
+        stage.attemptStageAction(executionContext)
+
+        then:
+        1 * executionContext.getJobSpecification() >> jobSpec
+        1 * executionContext.getJobDirectory() >> jobDirectory
+        1 * executionContext.getClaimedJobId() >> jobId
+        1 * executionContext.getDependenciesDownloadTime() >> downloadTime
+        1 * executionContext.getDownloadedDependencies() >> dependencies
+        1 * jobSpec.getArchiveLocation() >> Optional.of(archiveLocation)
+        1 * jobSpec.getJob() >> jobResource
+        1 * jobArchiveService.archiveDirectory(jobDirectory.toPath(), new URI(archiveLocation), _, ["unmodified.jar": unmodifiedUri])
         1 * agentJobService.changeJobArchiveStatus(jobId, ArchiveStatus.ARCHIVED)
     }
 
@@ -95,7 +167,7 @@ class ArchiveJobOutputsStageSpec extends Specification {
         1 * executionContext.getClaimedJobId() >> jobId
         1 * jobSpec.getArchiveLocation() >> Optional.of(archiveLocation)
         1 * jobDir.toPath() >> jobDirPath
-        1 * jobArchiveService.archiveDirectory(jobDirPath, _ as URI) >> { throw new JobArchiveException() }
+        1 * jobArchiveService.archiveDirectory(jobDirPath, _ as URI, _, [:]) >> { throw new JobArchiveException() }
         1 * agentJobService.changeJobArchiveStatus(jobId, ArchiveStatus.FAILED)
         noExceptionThrown()
     }
@@ -110,7 +182,7 @@ class ArchiveJobOutputsStageSpec extends Specification {
         1 * executionContext.getClaimedJobId() >> jobId
         1 * jobSpec.getArchiveLocation() >> Optional.of(archiveLocation)
         1 * jobDir.toPath() >> jobDirPath
-        1 * jobArchiveService.archiveDirectory(jobDirPath, _ as URI)
+        1 * jobArchiveService.archiveDirectory(jobDirPath, _ as URI, _, [:])
         1 * agentJobService.changeJobArchiveStatus(jobId, ArchiveStatus.ARCHIVED) >> { throw new ChangeJobArchiveStatusException("...") }
         noExceptionThrown()
     }
@@ -23,7 +23,6 @@ import com.netflix.genie.agent.execution.statemachine.ExecutionContext
 import com.netflix.genie.agent.execution.statemachine.ExecutionStage
 import com.netflix.genie.agent.execution.statemachine.FatalJobExecutionException
 import com.netflix.genie.common.internal.dtos.JobSpecification
-import org.assertj.core.util.Sets
 import spock.lang.Specification
 
 class DownloadDependenciesStageSpec extends Specification {
@@ -44,7 +43,7 @@ class DownloadDependenciesStageSpec extends Specification {
 
     def "AttemptTransition -- success"() {
         setup:
-        Set<File> files = Sets.newHashSet()
+        Map<File, URI> files = [(Mock(File)): URI.create("s3://bucket/dependency.jar")]
 
         when:
         stage.attemptStageAction(executionContext)
@@ -53,6 +52,8 @@ class DownloadDependenciesStageSpec extends Specification {
         1 * executionContext.getJobSpecification() >> jobSpec
         1 * executionContext.getJobDirectory() >> jobDir
         1 * jobSetupService.downloadJobResources(jobSpec, jobDir) >> files
+        1 * executionContext.setDownloadedDependencies(files)
+        1 * executionContext.setDependenciesDownloadTime({ it != null })
     }
 
     def "AttemptTransition -- error"() {
@@ -66,6 +67,7 @@ class DownloadDependenciesStageSpec extends Specification {
         1 * executionContext.getJobSpecification() >> jobSpec
         1 * executionContext.getJobDirectory() >> jobDir
         1 * jobSetupService.downloadJobResources(jobSpec, jobDir) >> { throw setupException }
+        0 * executionContext.setDownloadedDependencies(_)
         def e = thrown(FatalJobExecutionException)
         e.getCause() == setupException
     }
@@ -19,14 +19,18 @@ package com.netflix.genie.agent.execution.statemachine.stages
 
 import com.netflix.genie.agent.execution.process.JobProcessManager
 import com.netflix.genie.agent.execution.process.JobProcessResult
+import com.netflix.genie.agent.execution.services.BackgroundArchiveService
 import com.netflix.genie.agent.execution.services.JobMonitorService
 import com.netflix.genie.agent.execution.statemachine.ExecutionContext
 import com.netflix.genie.agent.execution.statemachine.ExecutionStage
 import com.netflix.genie.agent.execution.statemachine.FatalJobExecutionException
+import com.netflix.genie.common.internal.dtos.ExecutionEnvironment
+import com.netflix.genie.common.internal.dtos.JobSpecification
 import com.netflix.genie.common.internal.dtos.JobStatus
 import spock.lang.Specification
 
 import java.nio.file.Path
+import java.nio.file.Paths
 
 class WaitJobCompletionStageSpec extends Specification {
     ExecutionStage stage
@@ -34,6 +38,7 @@ class WaitJobCompletionStageSpec extends Specification {
     JobProcessManager jobProcessManager
     JobProcessResult jobProcessResult
     JobMonitorService jobMonitorService
+    BackgroundArchiveService backgroundArchiveService
     File jobDirectory
     Path jobDirectoryPath
     String jobId
@@ -43,10 +48,11 @@ class WaitJobCompletionStageSpec extends Specification {
         this.jobProcessManager = Mock(JobProcessManager)
         this.executionContext = Mock(ExecutionContext)
         this.jobMonitorService = Mock(JobMonitorService)
+        this.backgroundArchiveService = Mock(BackgroundArchiveService)
         this.jobDirectory = Mock(File)
         this.jobDirectoryPath = Mock(Path)
         this.jobId = UUID.randomUUID().toString()
-        this.stage = new WaitJobCompletionStage(jobProcessManager, jobMonitorService)
+        this.stage = new WaitJobCompletionStage(jobProcessManager, jobMonitorService, backgroundArchiveService)
     }
 
     def "AttemptTransition -- not launched"() {
@@ -60,6 +66,8 @@ class WaitJobCompletionStageSpec extends Specification {
         0 * executionContext.getJobDirectory()
         0 * jobMonitorService.start(_, _)
         0 * jobMonitorService.stop()
+        0 * backgroundArchiveService.start(_, _, _)
+        0 * backgroundArchiveService.stop()
     }
 
     def "AttemptTransition -- success"() {
@@ -74,10 +82,52 @@ class WaitJobCompletionStageSpec extends Specification {
         1 * jobMonitorService.start(jobId, jobDirectoryPath)
         1 * jobProcessManager.waitFor() >> jobProcessResult
         1 * jobMonitorService.stop()
+        0 * backgroundArchiveService.start(_, _, _)
+        1 * backgroundArchiveService.stop()
         1 * executionContext.setJobProcessResult(jobProcessResult)
         1 * jobProcessResult.getFinalStatus() >> JobStatus.KILLED
     }
 
+    def "AttemptTransition -- archive in the background"() {
+        def jobSpecification = Mock(JobSpecification)
+        def directoryPath = Paths.get("/tmp/genie/jobs", jobId)
+        def dependency = directoryPath.resolve("genie/command/spark/dependencies/spark.tgz").toFile()
+        def jobDependency = directoryPath.resolve("genie/job/job.jar").toFile()
+        def jobResource = new JobSpecification.ExecutionResource(
+            jobId,
+            new ExecutionEnvironment(null, ["s3://user-bucket/job.jar"] as Set, null)
+        )
+
+        when:
+        stage.attemptStageAction(executionContext)
+
+        then:
+        1 * executionContext.isJobLaunched() >> true
+        2 * executionContext.getJobDirectory() >> jobDirectory
+        1 * executionContext.getClaimedJobId() >> jobId
+        2 * jobDirectory.toPath() >> directoryPath
+        1 * executionContext.getJobSpecification() >> jobSpecification
+        1 * jobSpecification.getArchiveLocation() >> Optional.of("s3://genie-logs/foo/bar")
+        1 * jobSpecification.getJob() >> jobResource
+        1 * executionContext.getDownloadedDependencies() >> [
+            (dependency)   : URI.create("s3://bucket/spark.tgz"),
+            (jobDependency): URI.create("s3://user-bucket/job.jar")
+        ]
+        1 * jobMonitorService.start(jobId, directoryPath)
+        1 * backgroundArchiveService.start(
+            directoryPath,
+            new URI("s3://genie-logs/foo/bar"),
+            ["genie/command/spark/dependencies/spark.tgz"] as Set
+        )
+        1 * jobProcessManager.waitFor() >> jobProcessResult
+
+        then:
+        1 * jobMonitorService.stop()
+        1 * backgroundArchiveService.stop()
+        1 * executionContext.setJobProcessResult(jobProcessResult)
+        1 * jobProcessResult.getFinalStatus() >> JobStatus.SUCCEEDED
+    }
+
     def "AttemptTransition -- error"() {
         setup:
         InterruptedException interruptedException = Mock(InterruptedException)
@@ -93,6 +143,7 @@ class WaitJobCompletionStageSpec extends Specification {
         1 * jobMonitorService.start(jobId, jobDirectoryPath)
         1 * jobProcessManager.waitFor() >> { throw interruptedException }
         1 * jobMonitorService.stop()
+        1 * backgroundArchiveService.stop()
         def e = thrown(FatalJobExecutionException)
         e.getCause() == interruptedException
         0 * executionContext.setJobProcessResult(jobProcessResult)
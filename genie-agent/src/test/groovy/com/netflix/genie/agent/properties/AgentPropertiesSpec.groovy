@@ -33,6 +33,8 @@ class AgentPropertiesSpec extends Specification {
         expect:
         agentProperties.getEmergencyShutdownDelay() == Duration.ofMinutes(5)
         agentProperties.getForceManifestRefreshTimeout() == Duration.ofSeconds(5)
+        !agentProperties.isSessionEnabled()
+        agentProperties.getBackgroundArchiveService() != null
         agentProperties.getFileStreamService() != null
         agentProperties.getHeartBeatService() != null
         agentProperties.getJobKillService() != null
@@ -41,6 +43,7 @@ class AgentPropertiesSpec extends Specification {
         agentProperties.getJobSetupService() != null
 
         when:
+        def backgroundArchiveServiceProps = Mock(BackgroundArchiveServiceProperties)
         def fileStreamServiceProps = Mock(FileStreamServiceProperties)
         def heartBeatServiceProps = Mock(HeartBeatServiceProperties)
         def jobKillServiceProps = Mock(JobKillServiceProperties)
@@ -50,6 +53,8 @@ class AgentPropertiesSpec extends Specification {
 
         agentProperties.setEmergencyShutdownDelay(Duration.ofMinutes(10))
         agentProperties.setForceManifestRefreshTimeout(Duration.ofSeconds(10))
+        agentProperties.setSessionEnabled(true)
+        agentProperties.setBackgroundArchiveService(backgroundArchiveServiceProps)
         agentProperties.setFileStreamService(fileStreamServiceProps)
         agentProperties.setHeartBeatService(heartBeatServiceProps)
         agentProperties.setJobKillService(jobKillServiceProps)
@@ -60,6 +65,8 @@ class AgentPropertiesSpec extends Specification {
         then:
         agentProperties.getEmergencyShutdownDelay() == Duration.ofMinutes(10)
         agentProperties.getForceManifestRefreshTimeout() == Duration.ofSeconds(10)
+        agentProperties.isSessionEnabled()
+        agentProperties.getBackgroundArchiveService() == backgroundArchiveServiceProps
         agentProperties.getFileStreamService() == fileStreamServiceProps
         agentProperties.getHeartBeatService() == heartBeatServiceProps
         agentProperties.getJobKillService() == jobKillServiceProps
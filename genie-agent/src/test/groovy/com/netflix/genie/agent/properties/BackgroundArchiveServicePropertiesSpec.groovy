@@ -0,0 +1,49 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.properties
+
+import org.springframework.util.unit.DataSize
+import spock.lang.Specification
+
+import java.time.Duration
+
+class BackgroundArchiveServicePropertiesSpec extends Specification {
+
+    def "Defaults, getters, setters"() {
+        when:
+        BackgroundArchiveServiceProperties p = new BackgroundArchiveServiceProperties()
+
+        then:
+        !p.isEnabled()
+        p.getScanInterval() == Duration.ofMinutes(1)
+        p.getQuietPeriod() == Duration.ofMinutes(2)
+        p.getMinFileSize() == DataSize.ofMegabytes(1)
+
+        when:
+        p.setEnabled(true)
+        p.setScanInterval(Duration.ofSeconds(30))
+        p.setQuietPeriod(Duration.ofMinutes(5))
+        p.setMinFileSize(DataSize.ofKilobytes(512))
+
+        then:
+        p.isEnabled()
+        p.getScanInterval() == Duration.ofSeconds(30)
+        p.getQuietPeriod() == Duration.ofMinutes(5)
+        p.getMinFileSize() == DataSize.ofKilobytes(512)
+    }
+}
@@ -60,6 +60,8 @@ class CliAutoConfigurationTest {
             context -> {
                 Assertions.assertThat(context).hasSingleBean(AgentProperties.class);
                 Assertions.assertThat(context).hasSingleBean(ArgumentDelegates.CacheArguments.class);
+                Assertions.assertThat(context).hasSingleBean(DaemonCommand.DaemonCommandArguments.class);
+                Assertions.assertThat(context).hasSingleBean(DaemonCommand.class);
                 Assertions.assertThat(context).hasSingleBean(DownloadCommand.DownloadCommandArguments.class);
                 Assertions.assertThat(context).hasSingleBean(ExecCommand.ExecCommandArguments.class);
                 Assertions.assertThat(context).hasSingleBean(ExecCommand.class);
@@ -19,6 +19,7 @@ package com.netflix.genie.agent.execution.services.impl;
 
 import com.netflix.genie.agent.cli.ArgumentDelegates;
 import com.netflix.genie.agent.execution.services.AgentJobService;
+import com.netflix.genie.agent.execution.services.BackgroundArchiveService;
 import com.netflix.genie.agent.execution.services.DownloadService;
 import com.netflix.genie.agent.execution.services.FetchingCacheService;
 import com.netflix.genie.agent.execution.services.JobMonitorService;
@@ -27,6 +28,8 @@ import com.netflix.genie.agent.execution.services.KillService;
 import com.netflix.genie.agent.execution.statemachine.ExecutionContext;
 import com.netflix.genie.agent.properties.AgentProperties;
 import com.netflix.genie.agent.utils.locks.impl.FileLockFactory;
+import com.netflix.genie.common.internal.properties.JobArchiveProperties;
+import com.netflix.genie.common.internal.services.JobArchiveService;
 import com.netflix.genie.common.internal.services.JobDirectoryManifestCreatorService;
 import org.assertj.core.api.Assertions;
 import org.assertj.core.util.Files;
@@ -64,6 +67,7 @@ class ServicesAutoConfigurationTest {
                 Assertions.assertThat(context).hasSingleBean(KillService.class);
                 Assertions.assertThat(context).hasSingleBean(JobSetupService.class);
                 Assertions.assertThat(context).hasSingleBean(JobMonitorService.class);
+                Assertions.assertThat(context).hasSingleBean(BackgroundArchiveService.class);
 
                 // All beans are lazy, so above assertions will trivially pass.
                 // Validate by forcing instantiation
@@ -72,6 +76,7 @@ class ServicesAutoConfigurationTest {
                 Assertions.assertThat(context).getBean(KillService.class).isNotNull();
                 Assertions.assertThat(context).getBean(JobSetupService.class).isNotNull();
                 Assertions.assertThat(context).getBean(JobMonitorService.class).isNotNull();
+                Assertions.assertThat(context).getBean(BackgroundArchiveService.class).isNotNull();
             }
         );
     }
@@ -103,6 +108,16 @@ class ServicesAutoConfigurationTest {
             return Mockito.mock(JobDirectoryManifestCreatorService.class);
         }
 
+        @Bean
+        JobArchiveService jobArchiveService() {
+            return Mockito.mock(JobArchiveService.class);
+        }
+
+        @Bean
+        JobArchiveProperties jobArchiveProperties() {
+            return new JobArchiveProperties();
+        }
+
         @Bean
         AgentJobService agentJobService() {
             return Mockito.mock(AgentJobService.class);
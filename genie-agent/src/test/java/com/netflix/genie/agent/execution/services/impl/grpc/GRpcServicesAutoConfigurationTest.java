@@ -60,9 +60,28 @@ class GRpcServicesAutoConfigurationTest {
                 .hasSingleBean(AgentJobKillService.class)
                 .hasSingleBean(AgentJobService.class)
                 .hasSingleBean(AgentFileStreamService.class)
+                .hasSingleBean(GrpcAgentHeartBeatServiceImpl.class)
+                .hasSingleBean(GRpcAgentJobKillServiceImpl.class)
         );
     }
 
+    @Test
+    void expectedBeansExistWithSessionEnabled() {
+        this.contextRunner
+            .withPropertyValues(AgentProperties.PREFIX + ".session-enabled=true")
+            .run(
+                context -> Assertions
+                    .assertThat(context)
+                    .hasSingleBean(AgentProperties.class)
+                    .hasSingleBean(AgentHeartBeatService.class)
+                    .hasSingleBean(AgentJobKillService.class)
+                    .hasSingleBean(AgentJobService.class)
+                    .hasSingleBean(AgentFileStreamService.class)
+                    .hasSingleBean(GRpcAgentSessionServiceImpl.class)
+                    .hasSingleBean(GRpcAgentSessionJobKillServiceImpl.class)
+            );
+    }
+
     private static class ExternalBeans {
         @Bean
         ArgumentDelegates.ServerArguments serverArguments() {
@@ -19,6 +19,7 @@ package com.netflix.genie.agent.rpc;
 
 import brave.Tracing;
 import com.netflix.genie.agent.cli.ArgumentDelegates;
+import com.netflix.genie.proto.AgentSessionServiceGrpc;
 import com.netflix.genie.proto.FileStreamServiceGrpc;
 import com.netflix.genie.proto.HeartBeatServiceGrpc;
 import com.netflix.genie.proto.JobKillServiceGrpc;
@@ -54,6 +55,7 @@ class GRpcAutoConfigurationTest {
                 .hasSingleBean(PingServiceGrpc.PingServiceFutureStub.class)
                 .hasSingleBean(JobServiceGrpc.JobServiceFutureStub.class)
                 .hasSingleBean(HeartBeatServiceGrpc.HeartBeatServiceStub.class)
+                .hasSingleBean(AgentSessionServiceGrpc.AgentSessionServiceStub.class)
                 .hasSingleBean(JobKillServiceGrpc.JobKillServiceFutureStub.class)
                 .hasSingleBean(FileStreamServiceGrpc.FileStreamServiceStub.class)
                 .hasBean("genieGrpcTracingClientInterceptor")
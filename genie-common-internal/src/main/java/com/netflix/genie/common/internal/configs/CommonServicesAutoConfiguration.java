@@ -20,6 +20,7 @@ package com.netflix.genie.common.internal.configs;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.netflix.genie.common.internal.dtos.DirectoryManifest;
+import com.netflix.genie.common.internal.properties.JobArchiveProperties;
 import com.netflix.genie.common.internal.properties.RegexDirectoryManifestProperties;
 import com.netflix.genie.common.internal.services.JobArchiveService;
 import com.netflix.genie.common.internal.services.JobArchiver;
@@ -51,7 +52,8 @@ import java.util.concurrent.TimeUnit;
 @Configuration
 @EnableConfigurationProperties(
     {
-        RegexDirectoryManifestProperties.class
+        RegexDirectoryManifestProperties.class,
+        JobArchiveProperties.class
     }
 )
 public class CommonServicesAutoConfiguration {
@@ -79,15 +81,17 @@ public class CommonServicesAutoConfiguration {
      *
      * @param jobArchivers             The ordered available {@link JobArchiver} implementations in the system
      * @param directoryManifestFactory the job directory manifest factory
+     * @param jobArchiveProperties     the archive properties
      * @return A {@link JobArchiveServiceImpl} instance
      */
     @Bean
     @ConditionalOnMissingBean(JobArchiveService.class)
     public JobArchiveService jobArchiveService(
         final List<JobArchiver> jobArchivers,
-        final DirectoryManifest.Factory directoryManifestFactory
+        final DirectoryManifest.Factory directoryManifestFactory,
+        final JobArchiveProperties jobArchiveProperties
     ) {
-        return new JobArchiveServiceImpl(jobArchivers, directoryManifestFactory);
+        return new JobArchiveServiceImpl(jobArchivers, directoryManifestFactory, jobArchiveProperties);
     }
 
     /**
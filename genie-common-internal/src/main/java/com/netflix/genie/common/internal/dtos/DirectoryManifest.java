@@ -20,6 +20,7 @@ package com.netflix.genie.common.internal.dtos;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -502,6 +503,53 @@ public class DirectoryManifest {
         private final String mimeType;
         private final String parent;
         private final Set<String> children;
+        private final BundleLocation bundleLocation;
+        private final String sourceUri;
+
+        /**
+         * Constructor for an entry archived as an object of its own.
+         *
+         * @param path             The relative path to the entry from the root of the job directory
+         * @param name             The name of the entry
+         * @param lastModifiedTime The time the entry was last modified
+         * @param lastAccessTime   The time the entry was last accessed
+         * @param creationTime     The time the entry was created
+         * @param directory        Whether this entry is a directory or not
+         * @param size             The current size of the entry within the storage system in bytes. Min 0
+         * @param md5              The md5 hex of the file contents if it's not a directory
+         * @param mimeType         The mime type of the file. Null if its a directory
+         * @param parent           Optional entry for the path of this entries parent relative to root
+         * @param children         The set of paths, from the root, representing children of this entry if any
+         */
+        public ManifestEntry(
+            final String path,
+            final String name,
+            final Instant lastModifiedTime,
+            final Instant lastAccessTime,
+            final Instant creationTime,
+            final boolean directory,
+            final long size,
+            @Nullable final String md5,
+            @Nullable final String mimeType,
+            @Nullable final String parent,
+            final Set<String> children
+        ) {
+            this(
+                path,
+                name,
+                lastModifiedTime,
+                lastAccessTime,
+                creationTime,
+                directory,
+                size,
+                md5,
+                mimeType,
+                parent,
+                children,
+                null,
+                null
+            );
+        }
 
         /**
          * Constructor.
@@ -517,6 +565,8 @@ public class DirectoryManifest {
          * @param mimeType         The mime type of the file. Null if its a directory
          * @param parent           Optional entry for the path of this entries parent relative to root
          * @param children         The set of paths, from the root, representing children of this entry if any
+         * @param bundleLocation   Where the contents of the file are stored if it was archived inside a bundle
+         * @param sourceUri        The location the file was downloaded from if it was archived as a reference to it
          */
         @JsonCreator
         public ManifestEntry(
@@ -530,7 +580,9 @@ public class DirectoryManifest {
             @JsonProperty(value = "md5") @Nullable final String md5,
             @JsonProperty(value = "mimeType") @Nullable final String mimeType,
             @JsonProperty(value = "parent") @Nullable final String parent,
-            @JsonProperty(value = "children", required = true) final Set<String> children
+            @JsonProperty(value = "children", required = true) final Set<String> children,
+            @JsonProperty(value = "bundleLocation") @Nullable final BundleLocation bundleLocation,
+            @JsonProperty(value = "sourceUri") @Nullable final String sourceUri
         ) {
             this.path = path;
             this.name = name;
@@ -543,6 +595,8 @@ public class DirectoryManifest {
             this.mimeType = mimeType;
             this.parent = parent;
             this.children = ImmutableSet.copyOf(children);
+            this.bundleLocation = bundleLocation;
+            this.sourceUri = sourceUri;
         }
 
         /**
@@ -572,5 +626,105 @@ public class DirectoryManifest {
         public Optional<String> getParent() {
             return Optional.ofNullable(this.parent);
         }
+
+        /**
+         * Get the location of the contents of this file within an archive bundle, if the file was packed into one
+         * rather than archived as an object of its own.
+         *
+         * @return The location within the bundle wrapped in an {@link Optional}
+         */
+        @JsonInclude(JsonInclude.Include.NON_ABSENT)
+        public Optional<BundleLocation> getBundleLocation() {
+            return Optional.ofNullable(this.bundleLocation);
+        }
+
+        /**
+         * Create a copy of this entry whose contents are stored at the given location within an archive bundle.
+         *
+         * @param location The location of the contents within the bundle
+         * @return A new entry identical to this one except for its bundle location
+         */
+        public ManifestEntry withBundleLocation(final BundleLocation location) {
+            return new ManifestEntry(
+                this.path,
+                this.name,
+                this.lastModifiedTime,
+                this.lastAccessTime,
+                this.creationTime,
+                this.directory,
+                this.size,
+                this.md5,
+                this.mimeType,
+                this.parent,
+                this.children,
+                location,
+                this.sourceUri
+            );
+        }
+
+        /**
+         * Get the location this file was downloaded from, if it is a job dependency which was archived as a reference
+         * to that location rather than uploaded.
+         *
+         * @return The source URI wrapped in an {@link Optional}
+         */
+        @JsonInclude(JsonInclude.Include.NON_ABSENT)
+        public Optional<String> getSourceUri() {
+            return Optional.ofNullable(this.sourceUri);
+        }
+
+        /**
+         * Create a copy of this entry archived as a reference to the location it was downloaded from.
+         *
+         * @param uri The location the file was downloaded from
+         * @return A new entry identical to this one except for its source URI
+         */
+        public ManifestEntry withSourceUri(final String uri) {
+            return new ManifestEntry(
+                this.path,
+                this.name,
+                this.lastModifiedTime,
+                this.lastAccessTime,
+                this.creationTime,
+                this.directory,
+                this.size,
+                this.md5,
+                this.mimeType,
+                this.parent,
+                this.children,
+                this.bundleLocation,
+                uri
+            );
+        }
+    }
+
+    /**
+     * The location of a file packed into an archive bundle. A bundle is a single archived object holding the
+     * concatenated contents of many small files, the entry size gives the length of the file within it.
+     *
+     * @since 4.4.0
+     */
+    @Getter
+    @ToString(doNotUseGetters = true)
+    @EqualsAndHashCode(doNotUseGetters = true)
+    public static class BundleLocation {
+        private final String bundle;
+        @Min(value = 0L, message = "A bundle offset can't be negative")
+        private final long offset;
+
+        /**
+         * Constructor.
+         *
+         * @param bundle The relative path to the bundle from the root of the job directory
+         * @param offset The offset, in bytes, of the first byte of the file within the bundle
+         */
+        @JsonCreator
+        public BundleLocation(
+            @JsonProperty(value = "bundle", required = true) final String bundle,
+            @JsonProperty(value = "offset", required = true) final long offset
+        ) {
+            this.bundle = bundle;
+            this.offset = offset;
+        }
     }
 }
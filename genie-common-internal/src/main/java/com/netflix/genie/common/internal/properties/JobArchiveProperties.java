@@ -0,0 +1,89 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.common.internal.properties;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Properties for {@link com.netflix.genie.common.internal.services.impl.JobArchiveServiceImpl}.
+ *
+ * @since 4.4.0
+ */
+@ConfigurationProperties(prefix = JobArchiveProperties.PROPERTY_PREFIX)
+@Getter
+@Setter
+@Validated
+public class JobArchiveProperties {
+    /**
+     * Properties prefix.
+     */
+    public static final String PROPERTY_PREFIX = "genie.jobs.files.archive";
+
+    @Valid
+    @NotNull
+    private Bundle bundle = new Bundle();
+
+    @Valid
+    @NotNull
+    private Dependencies dependencies = new Dependencies();
+
+    /**
+     * Properties controlling how small files are packed into bundles when the job directory is archived.
+     */
+    @Getter
+    @Setter
+    @Validated
+    public static class Bundle {
+        /**
+         * Whether small files are packed into bundle objects rather than archived one object per file.
+         */
+        private boolean enabled;
+
+        /**
+         * Files up to this size are packed into bundles, larger files are archived as objects of their own.
+         */
+        @NotNull
+        private DataSize fileSizeThreshold = DataSize.ofKilobytes(128);
+
+        /**
+         * Once a bundle reaches this size a new one is started. A bundle can exceed it by at most one file.
+         */
+        @NotNull
+        private DataSize maxBundleSize = DataSize.ofMegabytes(64);
+    }
+
+    /**
+     * Properties controlling how the dependencies downloaded into the job directory are archived.
+     */
+    @Getter
+    @Setter
+    @Validated
+    public static class Dependencies {
+        /**
+         * Whether unmodified dependencies are recorded in the manifest as references to the location they were
+         * downloaded from rather than uploaded along with the rest of the job directory.
+         */
+        private boolean archiveAsReferences;
+    }
+}
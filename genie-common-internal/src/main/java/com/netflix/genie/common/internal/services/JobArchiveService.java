@@ -17,10 +17,14 @@
  */
 package com.netflix.genie.common.internal.services;
 
+import com.netflix.genie.common.internal.dtos.DirectoryManifest;
 import com.netflix.genie.common.internal.exceptions.checked.JobArchiveException;
 
 import java.net.URI;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * A service which is responsible for taking the files related to running a Genie job and backing them up to a different
@@ -52,4 +56,50 @@ public interface JobArchiveService {
      * @throws JobArchiveException if archival fails
      */
     void archiveDirectory(Path directory, URI targetURI) throws JobArchiveException;
+
+    /**
+     * Backup the contents of the given directory to the target location, skipping the files that were already
+     * archived to it with {@link #archiveFiles(Path, List, URI)} and have not changed since. The manifest still lists
+     * every file of the directory.
+     *
+     * @param directory       {@link Path} to the directory to archive
+     * @param targetURI       target {@link URI} for the root archive location
+     * @param alreadyArchived Tests whether the file of a manifest entry is already archived in its current state
+     * @throws JobArchiveException if archival fails
+     */
+    void archiveDirectory(
+        Path directory,
+        URI targetURI,
+        Predicate<DirectoryManifest.ManifestEntry> alreadyArchived
+    ) throws JobArchiveException;
+
+    /**
+     * Backup the contents of the given directory to the target location like
+     * {@link #archiveDirectory(Path, URI, Predicate)}. The given job dependencies may be recorded in the manifest as
+     * references to the location they were downloaded from instead of being archived again.
+     *
+     * @param directory         {@link Path} to the directory to archive
+     * @param targetURI         target {@link URI} for the root archive location
+     * @param alreadyArchived   Tests whether the file of a manifest entry is already archived in its current state
+     * @param dependencySources The location each unmodified dependency was downloaded from, by path relative to the
+     *                          directory
+     * @throws JobArchiveException if archival fails
+     */
+    void archiveDirectory(
+        Path directory,
+        URI targetURI,
+        Predicate<DirectoryManifest.ManifestEntry> alreadyArchived,
+        Map<String, URI> dependencySources
+    ) throws JobArchiveException;
+
+    /**
+     * Backup some files of the given directory to the target location, ahead of the archival of the whole
+     * directory. No manifest is written.
+     *
+     * @param directory {@link Path} to the directory the files belong to
+     * @param files     The files to archive
+     * @param targetURI target {@link URI} for the root archive location
+     * @throws JobArchiveException if archival fails or no implementation supports the target
+     */
+    void archiveFiles(Path directory, List<Path> files, URI targetURI) throws JobArchiveException;
 }
@@ -18,25 +18,46 @@
 package com.netflix.genie.common.internal.services.impl;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteStreams;
 import com.netflix.genie.common.external.util.GenieObjectMapper;
 import com.netflix.genie.common.internal.dtos.DirectoryManifest;
 import com.netflix.genie.common.internal.exceptions.checked.JobArchiveException;
+import com.netflix.genie.common.internal.properties.JobArchiveProperties;
 import com.netflix.genie.common.internal.services.JobArchiveService;
 import com.netflix.genie.common.internal.services.JobArchiver;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
  * Default implementation of the {@link JobArchiveService}.
+ * <p>
+ * When bundling is enabled, files no larger than the configured threshold are concatenated into one or more bundle
+ * files placed next to the manifest and archived in their place. The manifest records the bundle and offset of each
+ * packed file so it can later be served with a ranged read of the bundle. This turns the many small files some jobs
+ * produce into a handful of uploads.
+ * <p>
+ * When archiving dependencies as references is enabled, the dependencies downloaded into the job directory are not
+ * uploaded again: the manifest records where each was downloaded from, along with its size and checksum, and the
+ * file is served from that location.
  *
  * @author tgianos
  * @since 4.0.0
@@ -44,8 +65,16 @@ import java.util.stream.Collectors;
 @Slf4j
 public class JobArchiveServiceImpl implements JobArchiveService {
 
+    /**
+     * The subdirectory of the manifest directory where bundles are placed.
+     */
+    static final String BUNDLE_DIRECTORY = "bundles";
+    private static final String BUNDLE_PREFIX = "bundle-";
+    private static final String LOCAL_FILE_SCHEME = "file";
+
     private final ImmutableList<JobArchiver> jobArchivers;
     private final DirectoryManifest.Factory directoryManifestFactory;
+    private final JobArchiveProperties properties;
 
     /**
      * Constructor.
@@ -56,9 +85,25 @@ public class JobArchiveServiceImpl implements JobArchiveService {
     public JobArchiveServiceImpl(
         final List<JobArchiver> jobArchivers,
         final DirectoryManifest.Factory directoryManifestFactory
+    ) {
+        this(jobArchivers, directoryManifestFactory, new JobArchiveProperties());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param jobArchivers             The ordered list of {@link JobArchiver} implementations to use. Not empty.
+     * @param directoryManifestFactory The job directory manifest factory
+     * @param properties               The archive properties
+     */
+    public JobArchiveServiceImpl(
+        final List<JobArchiver> jobArchivers,
+        final DirectoryManifest.Factory directoryManifestFactory,
+        final JobArchiveProperties properties
     ) {
         this.jobArchivers = ImmutableList.copyOf(jobArchivers);
         this.directoryManifestFactory = directoryManifestFactory;
+        this.properties = properties;
     }
 
     /**
@@ -66,10 +111,36 @@ public class JobArchiveServiceImpl implements JobArchiveService {
      */
     @Override
     public void archiveDirectory(final Path directory, final URI target) throws JobArchiveException {
+        this.archiveDirectory(directory, target, entry -> false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void archiveDirectory(
+        final Path directory,
+        final URI target,
+        final Predicate<DirectoryManifest.ManifestEntry> alreadyArchived
+    ) throws JobArchiveException {
+        this.archiveDirectory(directory, target, alreadyArchived, ImmutableMap.of());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void archiveDirectory(
+        final Path directory,
+        final URI target,
+        final Predicate<DirectoryManifest.ManifestEntry> alreadyArchived,
+        final Map<String, URI> dependencySources
+    ) throws JobArchiveException {
         // TODO: This relies highly on convention. Might be nicer to better abstract with database
         //       record that points directly to where the manifest is or other solution?
-        final DirectoryManifest manifest;
+        DirectoryManifest manifest;
         final Path manifestPath;
+        final List<Path> bundles = new ArrayList<>();
         try {
             manifest = directoryManifestFactory.getDirectoryManifest(directory, true);
             final Path manifestDirectoryPath = StringUtils.isBlank(JobArchiveService.MANIFEST_DIRECTORY)
@@ -82,6 +153,12 @@ public class JobArchiveServiceImpl implements JobArchiveService {
                     manifestDirectoryPath + " is not a directory. Unable to create job manifest. Unable to archive"
                 );
             }
+            if (this.properties.getDependencies().isArchiveAsReferences() && !dependencySources.isEmpty()) {
+                manifest = this.referenceDependencies(directory, manifest, dependencySources);
+            }
+            if (this.properties.getBundle().isEnabled()) {
+                manifest = this.bundleSmallFiles(directory, manifestDirectoryPath, manifest, alreadyArchived, bundles);
+            }
             manifestPath = manifestDirectoryPath.resolve(JobArchiveService.MANIFEST_NAME);
             Files.write(manifestPath, GenieObjectMapper.getMapper().writeValueAsBytes(manifest));
             log.debug("Wrote job directory manifest to {}", manifestPath);
@@ -93,9 +170,13 @@ public class JobArchiveServiceImpl implements JobArchiveService {
         final String uriString = target.toString();
         final List<File> filesList = ImmutableList.<File>builder()
             .add(manifestPath.toFile())
+            .addAll(bundles.stream().map(Path::toFile).collect(Collectors.toList()))
             .addAll(
                 manifest.getFiles()
                     .stream()
+                    .filter(fileEntry -> !fileEntry.getBundleLocation().isPresent())
+                    .filter(fileEntry -> !fileEntry.getSourceUri().isPresent())
+                    .filter(fileEntry -> !alreadyArchived.test(fileEntry))
                     .map(fileEntry -> Paths.get(fileEntry.getPath()))
                     .map(directory::resolve)
                     .map(Path::toAbsolutePath)
@@ -126,4 +207,146 @@ public class JobArchiveServiceImpl implements JobArchiveService {
             uriString
         );
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void archiveFiles(
+        final Path directory,
+        final List<Path> files,
+        final URI target
+    ) throws JobArchiveException {
+        final List<File> filesList = files
+            .stream()
+            .map(directory::resolve)
+            .map(Path::toAbsolutePath)
+            .map(Path::toFile)
+            .collect(Collectors.toList());
+        for (final JobArchiver archiver : this.jobArchivers) {
+            if (archiver.archiveDirectory(directory, filesList, target)) {
+                log.debug(
+                    "Archived {} files of {} to {} using {}",
+                    filesList.size(),
+                    directory,
+                    target,
+                    archiver.getClass().getSimpleName()
+                );
+                return;
+            }
+        }
+        throw new JobArchiveException("No archiver available for " + target);
+    }
+
+    /**
+     * Record the dependencies of the manifest as references to the location they were downloaded from. Only remote
+     * locations are referenced as the files of the agent host won't be reachable once the job is archived.
+     *
+     * @param directory         The job directory
+     * @param manifest          The manifest of the job directory
+     * @param dependencySources The location each dependency was downloaded from by path relative to the directory
+     * @return The manifest with the source URI of each referenced dependency
+     */
+    private DirectoryManifest referenceDependencies(
+        final Path directory,
+        final DirectoryManifest manifest,
+        final Map<String, URI> dependencySources
+    ) {
+        final Set<DirectoryManifest.ManifestEntry> entries = new HashSet<>(manifest.getDirectories());
+        int referenced = 0;
+        for (final DirectoryManifest.ManifestEntry entry : manifest.getFiles()) {
+            final URI source = dependencySources.get(entry.getPath());
+            if (source != null && source.getScheme() != null && !LOCAL_FILE_SCHEME.equals(source.getScheme())) {
+                entries.add(entry.withSourceUri(source.toString()));
+                referenced++;
+            } else {
+                entries.add(entry);
+            }
+        }
+        log.debug("Archiving {} dependencies of {} as references", referenced, directory);
+        return new DirectoryManifest(entries);
+    }
+
+    /**
+     * Pack the small files of the manifest into bundles.
+     *
+     * @param directory             The job directory
+     * @param manifestDirectoryPath The directory the manifest is written to
+     * @param manifest              The manifest of the job directory
+     * @param alreadyArchived       Tests whether a file is already archived, such files are not bundled
+     * @param bundles               The list the paths of the bundles created are added to
+     * @return The manifest with the bundle location of each packed file
+     * @throws IOException If a bundle can't be written
+     */
+    private DirectoryManifest bundleSmallFiles(
+        final Path directory,
+        final Path manifestDirectoryPath,
+        final DirectoryManifest manifest,
+        final Predicate<DirectoryManifest.ManifestEntry> alreadyArchived,
+        final List<Path> bundles
+    ) throws IOException {
+        final long fileSizeThreshold = this.properties.getBundle().getFileSizeThreshold().toBytes();
+        final long maxBundleSize = this.properties.getBundle().getMaxBundleSize().toBytes();
+        final List<DirectoryManifest.ManifestEntry> candidates = manifest.getFiles()
+            .stream()
+            .filter(entry -> entry.getSize() <= fileSizeThreshold)
+            .filter(entry -> !entry.getSourceUri().isPresent())
+            .filter(entry -> !alreadyArchived.test(entry))
+            .sorted(Comparator.comparing(DirectoryManifest.ManifestEntry::getPath))
+            .collect(Collectors.toList());
+        if (candidates.size() < 2) {
+            // Bundling a single file only adds the cost of copying it
+            return manifest;
+        }
+
+        final Path bundleDirectory = manifestDirectoryPath.resolve(BUNDLE_DIRECTORY);
+        Files.createDirectories(bundleDirectory);
+        final Set<DirectoryManifest.ManifestEntry> entries = new HashSet<>(manifest.getDirectories());
+        final Set<DirectoryManifest.ManifestEntry> unbundled = new HashSet<>(manifest.getFiles());
+        OutputStream bundle = null;
+        String bundleName = null;
+        long offset = 0L;
+        try {
+            for (final DirectoryManifest.ManifestEntry entry : candidates) {
+                final Path file = directory.resolve(entry.getPath());
+                if (!Files.isRegularFile(file)) {
+                    continue;
+                }
+                if (bundle == null || offset >= maxBundleSize) {
+                    if (bundle != null) {
+                        bundle.close();
+                    }
+                    final Path bundlePath = bundleDirectory.resolve(BUNDLE_PREFIX + bundles.size());
+                    bundle = new BufferedOutputStream(Files.newOutputStream(bundlePath));
+                    bundleName = directory.relativize(bundlePath).toString();
+                    bundles.add(bundlePath);
+                    offset = 0L;
+                }
+                // Only the bytes accounted for by the manifest are packed in case the file changed since
+                final long copied;
+                try (InputStream data = Files.newInputStream(file)) {
+                    copied = ByteStreams.copy(ByteStreams.limit(data, entry.getSize()), bundle);
+                }
+                if (copied == entry.getSize()) {
+                    unbundled.remove(entry);
+                    entries.add(entry.withBundleLocation(new DirectoryManifest.BundleLocation(bundleName, offset)));
+                } else {
+                    log.warn("{} shrank since the manifest was created, archiving it on its own", file);
+                }
+                offset += copied;
+            }
+        } finally {
+            if (bundle != null) {
+                bundle.close();
+            }
+        }
+        entries.addAll(unbundled);
+        log.debug(
+            "Packed {} files of {} into {} bundles",
+            manifest.getNumFiles() - unbundled.size(),
+            directory,
+            bundles.size()
+        );
+        return new DirectoryManifest(entries);
+    }
 }
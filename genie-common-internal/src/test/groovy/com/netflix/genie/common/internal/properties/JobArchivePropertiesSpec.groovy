@@ -0,0 +1,54 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.common.internal.properties
+
+import org.springframework.util.unit.DataSize
+import spock.lang.Specification
+
+class JobArchivePropertiesSpec extends Specification {
+
+    JobArchiveProperties properties
+
+    def setup() {
+        this.properties = new JobArchiveProperties()
+    }
+
+    def "Defaults, setters, getters"() {
+        expect:
+        !properties.getBundle().isEnabled()
+        properties.getBundle().getFileSizeThreshold() == DataSize.ofKilobytes(128)
+        properties.getBundle().getMaxBundleSize() == DataSize.ofMegabytes(64)
+        !properties.getDependencies().isArchiveAsReferences()
+
+        when:
+        def bundle = new JobArchiveProperties.Bundle()
+        bundle.setEnabled(true)
+        bundle.setFileSizeThreshold(DataSize.ofKilobytes(16))
+        bundle.setMaxBundleSize(DataSize.ofMegabytes(8))
+        properties.setBundle(bundle)
+        def dependencies = new JobArchiveProperties.Dependencies()
+        dependencies.setArchiveAsReferences(true)
+        properties.setDependencies(dependencies)
+
+        then:
+        properties.getBundle().isEnabled()
+        properties.getBundle().getFileSizeThreshold() == DataSize.ofKilobytes(16)
+        properties.getBundle().getMaxBundleSize() == DataSize.ofMegabytes(8)
+        properties.getDependencies().isArchiveAsReferences()
+    }
+}
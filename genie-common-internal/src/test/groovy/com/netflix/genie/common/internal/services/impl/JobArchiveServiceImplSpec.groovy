@@ -19,9 +19,12 @@ package com.netflix.genie.common.internal.services.impl
 
 import com.netflix.genie.common.external.util.GenieObjectMapper
 import com.netflix.genie.common.internal.dtos.DirectoryManifest
+import com.netflix.genie.common.internal.exceptions.checked.JobArchiveException
+import com.netflix.genie.common.internal.properties.JobArchiveProperties
 import com.netflix.genie.common.internal.services.JobArchiveService
 import com.netflix.genie.common.internal.services.JobArchiver
 import org.apache.commons.lang3.StringUtils
+import org.springframework.util.unit.DataSize
 import spock.lang.Specification
 import spock.lang.TempDir
 
@@ -74,4 +77,154 @@ class JobArchiveServiceImplSpec extends Specification {
         manifest.getNumFiles() == 1
         manifest == originalManifest
     }
+
+    def "Small files are packed into bundles and the manifest records where"() {
+        def archiver = Mock(JobArchiver)
+        def properties = new JobArchiveProperties()
+        properties.getBundle().setEnabled(true)
+        properties.getBundle().setFileSizeThreshold(DataSize.ofBytes(10))
+        properties.getBundle().setMaxBundleSize(DataSize.ofBytes(12))
+        def service = new JobArchiveServiceImpl([archiver], new DirectoryManifest.Factory(), properties)
+        def jobDirectory = Files.createDirectory(this.temporaryFolder.resolve(UUID.randomUUID().toString()))
+        Files.createDirectory(jobDirectory.resolve("subDir"))
+        def smallFiles = [
+            "a": "aaaaaa",
+            "b": "bbbbbbb",
+            "subDir/c": "cc",
+        ]
+        smallFiles.each { path, contents ->
+            Files.write(jobDirectory.resolve(path), contents.getBytes(StandardCharsets.UTF_8))
+        }
+        def largeFilePath = jobDirectory.resolve("large")
+        Files.write(largeFilePath, "0123456789ABCDEF".getBytes(StandardCharsets.UTF_8))
+        def target = Files.createDirectory(this.temporaryFolder.resolve(UUID.randomUUID().toString())).toUri()
+        def manifestDirectoryPath = jobDirectory.resolve(JobArchiveService.MANIFEST_DIRECTORY)
+        def manifestPath = manifestDirectoryPath.resolve(JobArchiveService.MANIFEST_NAME)
+        def bundleDirectory = manifestDirectoryPath.resolve(JobArchiveServiceImpl.BUNDLE_DIRECTORY)
+        List<File> filesList = null
+
+        when:
+        service.archiveDirectory(jobDirectory, target)
+
+        then:
+        1 * archiver.archiveDirectory(jobDirectory, _ as List<File>, target) >> { args ->
+            filesList = args[1] as List<File>
+            return true
+        }
+        filesList as Set == [
+            manifestPath.toFile(),
+            bundleDirectory.resolve("bundle-0").toFile(),
+            bundleDirectory.resolve("bundle-1").toFile(),
+            largeFilePath.toFile(),
+        ] as Set
+
+        when:
+        def manifest = GenieObjectMapper.getMapper().readValue(manifestPath.toFile(), DirectoryManifest)
+
+        then:
+        manifest.getNumFiles() == 4
+        !manifest.getEntry("large").get().getBundleLocation().isPresent()
+        smallFiles.every { path, contents ->
+            def entry = manifest.getEntry(path).get()
+            def location = entry.getBundleLocation().get()
+            def bundle = Files.readAllBytes(jobDirectory.resolve(location.getBundle()))
+            def packed = Arrays.copyOfRange(bundle, (int) location.getOffset(), (int) (location.getOffset() + entry.getSize()))
+            new String(packed, StandardCharsets.UTF_8) == contents
+        }
+        manifest.getEntry("a").get().getBundleLocation().get() == new DirectoryManifest.BundleLocation("genie/bundles/bundle-0", 0)
+        manifest.getEntry("b").get().getBundleLocation().get() == new DirectoryManifest.BundleLocation("genie/bundles/bundle-0", 6)
+        manifest.getEntry("subDir/c").get().getBundleLocation().get() == new DirectoryManifest.BundleLocation("genie/bundles/bundle-1", 0)
+    }
+
+    def "Files already archived are skipped but kept in the manifest"() {
+        def archiver = Mock(JobArchiver)
+        def service = new JobArchiveServiceImpl([archiver], new DirectoryManifest.Factory())
+        def jobDirectory = Files.createDirectory(this.temporaryFolder.resolve(UUID.randomUUID().toString()))
+        def archivedFilePath = jobDirectory.resolve("archived")
+        def newFilePath = jobDirectory.resolve("new")
+        Files.write(archivedFilePath, "archived".getBytes(StandardCharsets.UTF_8))
+        Files.write(newFilePath, "new".getBytes(StandardCharsets.UTF_8))
+        def target = Files.createDirectory(this.temporaryFolder.resolve(UUID.randomUUID().toString())).toUri()
+        def manifestPath = jobDirectory
+            .resolve(JobArchiveService.MANIFEST_DIRECTORY)
+            .resolve(JobArchiveService.MANIFEST_NAME)
+
+        when:
+        service.archiveFiles(jobDirectory, [jobDirectory.relativize(archivedFilePath)], target)
+
+        then:
+        1 * archiver.archiveDirectory(jobDirectory, [archivedFilePath.toFile()], target) >> true
+
+        when:
+        service.archiveDirectory(jobDirectory, target, { entry -> entry.getPath() == "archived" })
+
+        then:
+        1 * archiver.archiveDirectory(jobDirectory, [manifestPath.toFile(), newFilePath.toFile()], target) >> true
+
+        when:
+        def manifest = GenieObjectMapper.getMapper().readValue(manifestPath.toFile(), DirectoryManifest)
+
+        then:
+        manifest.hasEntry("archived")
+        manifest.hasEntry("new")
+    }
+
+    def "Remote dependencies are archived as references to their source when enabled"() {
+        def archiver = Mock(JobArchiver)
+        def properties = new JobArchiveProperties()
+        properties.getDependencies().setArchiveAsReferences(enabled)
+        def service = new JobArchiveServiceImpl([archiver], new DirectoryManifest.Factory(), properties)
+        def jobDirectory = Files.createDirectory(this.temporaryFolder.resolve(UUID.randomUUID().toString()))
+        def remotePath = jobDirectory.resolve("remote.jar")
+        def localPath = jobDirectory.resolve("local.sh")
+        def outputPath = jobDirectory.resolve("stdout")
+        [remotePath, localPath, outputPath].each { Files.write(it, it.toString().getBytes(StandardCharsets.UTF_8)) }
+        def remoteUri = new URI("s3://dependencies/remote.jar")
+        def sources = [
+            "remote.jar": remoteUri,
+            "local.sh"  : new URI("file:///opt/scripts/local.sh"),
+        ]
+        def target = Files.createDirectory(this.temporaryFolder.resolve(UUID.randomUUID().toString())).toUri()
+        def manifestPath = jobDirectory
+            .resolve(JobArchiveService.MANIFEST_DIRECTORY)
+            .resolve(JobArchiveService.MANIFEST_NAME)
+        List<File> filesList = null
+
+        when:
+        service.archiveDirectory(jobDirectory, target, { entry -> false }, sources)
+
+        then:
+        1 * archiver.archiveDirectory(jobDirectory, _ as List<File>, target) >> { args ->
+            filesList = args[1] as List<File>
+            return true
+        }
+        filesList.contains(remotePath.toFile()) == !enabled
+        filesList.containsAll([manifestPath.toFile(), localPath.toFile(), outputPath.toFile()])
+
+        when:
+        def manifest = GenieObjectMapper.getMapper().readValue(manifestPath.toFile(), DirectoryManifest)
+
+        then:
+        manifest.getEntry("remote.jar").get().getSourceUri() == (enabled ? Optional.of(remoteUri.toString()) : Optional.empty())
+        manifest.getEntry("remote.jar").get().getMd5().isPresent()
+        !manifest.getEntry("local.sh").get().getSourceUri().isPresent()
+        !manifest.getEntry("stdout").get().getSourceUri().isPresent()
+
+        where:
+        enabled << [true, false]
+    }
+
+    def "Archiving files fails if no archiver supports the target"() {
+        def archiver = Mock(JobArchiver)
+        def service = new JobArchiveServiceImpl([archiver], new DirectoryManifest.Factory())
+        def jobDirectory = this.temporaryFolder
+        def target = new URI("unknown://bucket/prefix")
+
+        when:
+        service.archiveFiles(jobDirectory, [jobDirectory.resolve("file")], target)
+
+        then:
+        1 * archiver.archiveDirectory(jobDirectory, _ as List<File>, target) >> false
+        thrown(JobArchiveException)
+    }
 }
@@ -19,6 +19,7 @@ package com.netflix.genie.common.internal.configs;
 
 import com.netflix.genie.common.internal.aws.s3.S3TransferManagerFactory;
 import com.netflix.genie.common.internal.dtos.DirectoryManifest;
+import com.netflix.genie.common.internal.properties.JobArchiveProperties;
 import com.netflix.genie.common.internal.services.JobArchiveService;
 import com.netflix.genie.common.internal.services.JobArchiver;
 import com.netflix.genie.common.internal.services.JobDirectoryManifestCreatorService;
@@ -62,6 +63,7 @@ class CommonServicesAutoConfigurationTest {
                 Assertions.assertThat(context).hasSingleBean(JobArchiver.class);
                 Assertions.assertThat(context).hasSingleBean(JobArchiveService.class);
                 Assertions.assertThat(context).hasSingleBean(PropertiesMapCache.Factory.class);
+                Assertions.assertThat(context).hasSingleBean(JobArchiveProperties.class);
             }
         );
     }
@@ -33,6 +33,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.restdocs.payload.PayloadDocumentation;
@@ -539,6 +540,58 @@ class ApplicationRestControllerIntegrationTest extends RestControllerIntegration
         Assertions.assertThat(this.applicationRepository.count()).isEqualTo(1L);
     }
 
+    @Test
+    void canAnswerUnchangedApplicationWithNotModified() throws Exception {
+        final String id = this.createConfigResource(
+            new Application.Builder(NAME, USER, VERSION, ApplicationStatus.ACTIVE).withId(ID).build(),
+            null
+        );
+        final String applicationResource = APPLICATIONS_API + "/{id}";
+        final String entityTag = RestAssured
+            .given(this.getRequestSpecification())
+            .when()
+            .port(this.port)
+            .get(applicationResource, id)
+            .then()
+            .statusCode(Matchers.is(HttpStatus.OK.value()))
+            .header(HttpHeaders.ETAG, Matchers.notNullValue())
+            .extract()
+            .header(HttpHeaders.ETAG);
+
+        RestAssured
+            .given(this.getRequestSpecification())
+            .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+            .when()
+            .port(this.port)
+            .get(applicationResource, id)
+            .then()
+            .statusCode(Matchers.is(HttpStatus.NOT_MODIFIED.value()));
+
+        final String patchString = "[{ \"op\": \"replace\", \"path\": \"/user\", \"value\": \"someoneElse\" }]";
+        RestAssured
+            .given(this.getRequestSpecification())
+            .contentType(MediaType.APPLICATION_JSON_VALUE)
+            .body(GenieObjectMapper.getMapper().writeValueAsBytes(
+                JsonPatch.fromJson(GenieObjectMapper.getMapper().readTree(patchString))
+            ))
+            .when()
+            .port(this.port)
+            .patch(applicationResource, id)
+            .then()
+            .statusCode(Matchers.is(HttpStatus.NO_CONTENT.value()));
+
+        RestAssured
+            .given(this.getRequestSpecification())
+            .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+            .when()
+            .port(this.port)
+            .get(applicationResource, id)
+            .then()
+            .statusCode(Matchers.is(HttpStatus.OK.value()))
+            .header(HttpHeaders.ETAG, Matchers.not(entityTag))
+            .body(USER_PATH, Matchers.is("someoneElse"));
+    }
+
     @Test
     void canDeleteAllApplications() throws Exception {
         this.createConfigResource(
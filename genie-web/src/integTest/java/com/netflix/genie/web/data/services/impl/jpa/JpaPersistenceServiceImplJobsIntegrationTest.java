@@ -1112,18 +1112,22 @@ class JpaPersistenceServiceImplJobsIntegrationTest extends JpaPersistenceService
         Assertions.assertThat(aInfo.getNumberOfActiveJobs()).isEqualTo(1L);
         Assertions.assertThat(aInfo.getTotalMemoryAllocated()).isEqualTo(2048L);
         Assertions.assertThat(aInfo.getTotalMemoryUsed()).isEqualTo(2048L);
+        Assertions.assertThat(aInfo.getTotalCpuUsed()).isEqualTo(2L);
         final JobInfoAggregate bInfo = this.service.getHostJobInformation("b.netflix.com");
         Assertions.assertThat(bInfo.getNumberOfActiveJobs()).isEqualTo(1L);
         Assertions.assertThat(bInfo.getTotalMemoryAllocated()).isEqualTo(2048L);
         Assertions.assertThat(bInfo.getTotalMemoryUsed()).isEqualTo(2048L);
+        Assertions.assertThat(bInfo.getTotalCpuUsed()).isEqualTo(1L);
         final JobInfoAggregate agentInfo = this.service.getHostJobInformation("agent.netflix.com");
         Assertions.assertThat(agentInfo.getNumberOfActiveJobs()).isEqualTo(2L);
         Assertions.assertThat(agentInfo.getTotalMemoryAllocated()).isEqualTo(4096L);
         Assertions.assertThat(agentInfo.getTotalMemoryUsed()).isEqualTo(4096L);
+        Assertions.assertThat(agentInfo.getTotalCpuUsed()).isEqualTo(3L);
         final JobInfoAggregate randomInfo = this.service.getHostJobInformation(UUID.randomUUID().toString());
         Assertions.assertThat(randomInfo.getNumberOfActiveJobs()).isEqualTo(0L);
         Assertions.assertThat(randomInfo.getTotalMemoryAllocated()).isEqualTo(0L);
         Assertions.assertThat(randomInfo.getTotalMemoryUsed()).isEqualTo(0L);
+        Assertions.assertThat(randomInfo.getTotalCpuUsed()).isEqualTo(0L);
     }
 
     @Test
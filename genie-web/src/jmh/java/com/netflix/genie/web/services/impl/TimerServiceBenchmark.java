@@ -0,0 +1,127 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services.impl;
+
+import com.netflix.genie.web.properties.TasksTimerProperties;
+import com.netflix.genie.web.services.TimerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Random;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link HashedWheelTimerServiceImpl} with the {@link ThreadPoolTaskScheduler} it replaced for per-job
+ * and per-transfer timeouts, which are mostly cancelled or superseded before they are due. Each invocation schedules
+ * the given number of timers due within the next minute, then cancels all of them.
+ * <p>
+ * Run with {@code ./gradlew :genie-web:jmh}.
+ *
+ * @since 4.4.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TimerServiceBenchmark {
+
+    private static final Runnable NO_OP = () -> {
+    };
+
+    @Param("100000")
+    protected int timersCount;
+
+    private Duration[] delays;
+    private HashedWheelTimerServiceImpl timerService;
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    /**
+     * Create the timers and the delays of the timers to schedule.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        final Random random = new Random(42);
+        this.delays = new Duration[this.timersCount];
+        for (int i = 0; i < this.timersCount; i++) {
+            this.delays[i] = Duration.ofMillis(1_000 + random.nextInt(59_000));
+        }
+
+        this.timerService = new HashedWheelTimerServiceImpl(new TasksTimerProperties(), Runnable::run);
+
+        this.taskScheduler = new ThreadPoolTaskScheduler();
+        this.taskScheduler.setPoolSize(2);
+        // Otherwise cancelled tasks pile up in the queue across invocations until they are due
+        this.taskScheduler.setRemoveOnCancelPolicy(true);
+        this.taskScheduler.initialize();
+    }
+
+    /**
+     * Stop the timers.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.timerService.close();
+        this.taskScheduler.shutdown();
+    }
+
+    /**
+     * Schedule and cancel timers on the timer wheel.
+     */
+    @Benchmark
+    public void timerWheel() {
+        final TimerService.Timeout[] timeouts = new TimerService.Timeout[this.timersCount];
+        for (int i = 0; i < this.timersCount; i++) {
+            timeouts[i] = this.timerService.schedule(NO_OP, this.delays[i]);
+        }
+        for (final TimerService.Timeout timeout : timeouts) {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * Schedule and cancel timers on the scheduled thread pool.
+     */
+    @Benchmark
+    public void scheduledThreadPool() {
+        final ScheduledFuture<?>[] futures = new ScheduledFuture<?>[this.timersCount];
+        final Instant now = Instant.now();
+        for (int i = 0; i < this.timersCount; i++) {
+            futures[i] = this.taskScheduler.schedule(NO_OP, now.plus(this.delays[i]));
+        }
+        for (final ScheduledFuture<?> future : futures) {
+            future.cancel(false);
+        }
+    }
+}
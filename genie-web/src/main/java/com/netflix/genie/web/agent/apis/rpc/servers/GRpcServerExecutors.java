@@ -0,0 +1,175 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.agent.apis.rpc.servers;
+
+import com.google.common.collect.ImmutableMap;
+import com.netflix.genie.web.properties.GRpcServerProperties;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallExecutorSupplier;
+import io.grpc.netty.NettyServerBuilder;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import jakarta.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The threads of the gRPC server: the event loops handling connections and the executors running the calls.
+ * <p>
+ * Calls run on a bounded executor shared by all services, or on the gRPC default executor if not configured, unless
+ * their service has a dedicated executor, so that a busy service (e.g. file streaming) doesn't starve the others.
+ * Everything is shut down when closed, after the server.
+ *
+ * @since 4.4.0
+ */
+@Slf4j
+public class GRpcServerExecutors implements ServerCallExecutorSupplier, AutoCloseable {
+
+    private static final long TERMINATION_TIMEOUT_SECONDS = 30L;
+
+    private final GRpcServerProperties.Transport transportProperties;
+    @Nullable
+    private final ExecutorService defaultExecutor;
+    private final Map<String, ExecutorService> serviceExecutors;
+    @Nullable
+    private EventLoopGroup bossEventLoopGroup;
+    @Nullable
+    private EventLoopGroup workerEventLoopGroup;
+
+    /**
+     * Constructor.
+     *
+     * @param serverProperties The gRPC server properties
+     */
+    public GRpcServerExecutors(final GRpcServerProperties serverProperties) {
+        this.transportProperties = serverProperties.getTransport();
+        final GRpcServerProperties.CallExecutor callExecutorProperties = serverProperties.getCallExecutor();
+
+        this.defaultExecutor = callExecutorProperties.getThreads() > 0
+            ? Executors.newFixedThreadPool(
+                callExecutorProperties.getThreads(),
+                new CustomizableThreadFactory("genie-grpc-call-")
+            )
+            : null;
+
+        final ImmutableMap.Builder<String, ExecutorService> serviceExecutorsBuilder = ImmutableMap.builder();
+        callExecutorProperties.getServiceThreads().forEach(
+            (serviceName, threads) -> serviceExecutorsBuilder.put(
+                serviceName,
+                Executors.newFixedThreadPool(
+                    threads,
+                    new CustomizableThreadFactory("genie-grpc-" + serviceName.substring(serviceName.lastIndexOf('.') + 1) + "-")
+                )
+            )
+        );
+        this.serviceExecutors = serviceExecutorsBuilder.build();
+    }
+
+    /**
+     * Set up the threads of a server being built.
+     *
+     * @param builder The server builder
+     */
+    public void configure(final NettyServerBuilder builder) {
+        if (this.defaultExecutor != null) {
+            builder.executor(this.defaultExecutor);
+        }
+        if (!this.serviceExecutors.isEmpty()) {
+            builder.callExecutor(this);
+        }
+
+        final int eventLoopThreads = this.transportProperties.getEventLoopThreads();
+        if (this.transportProperties.isEpollEnabled() && Epoll.isAvailable()) {
+            log.info("Using the epoll transport for the gRPC server");
+            this.bossEventLoopGroup = new EpollEventLoopGroup(1, new DefaultThreadFactory("genie-grpc-boss", true));
+            this.workerEventLoopGroup = new EpollEventLoopGroup(
+                eventLoopThreads,
+                new DefaultThreadFactory("genie-grpc-worker", true)
+            );
+            builder.channelType(EpollServerSocketChannel.class);
+        } else {
+            if (this.transportProperties.isEpollEnabled()) {
+                log.warn("The epoll transport is not available, using NIO: {}", Epoll.unavailabilityCause().getMessage());
+            }
+            if (eventLoopThreads == 0) {
+                // Netty defaults, shared with other servers and clients
+                return;
+            }
+            this.bossEventLoopGroup = new NioEventLoopGroup(1, new DefaultThreadFactory("genie-grpc-boss", true));
+            this.workerEventLoopGroup = new NioEventLoopGroup(
+                eventLoopThreads,
+                new DefaultThreadFactory("genie-grpc-worker", true)
+            );
+            builder.channelType(NioServerSocketChannel.class);
+        }
+        builder
+            .bossEventLoopGroup(this.bossEventLoopGroup)
+            .workerEventLoopGroup(this.workerEventLoopGroup);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nullable
+    public <ReqT, RespT> Executor getExecutor(final ServerCall<ReqT, RespT> call, final Metadata metadata) {
+        // Null falls back to the default executor
+        return this.serviceExecutors.get(call.getMethodDescriptor().getServiceName());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        if (this.defaultExecutor != null) {
+            this.defaultExecutor.shutdownNow();
+        }
+        this.serviceExecutors.values().forEach(ExecutorService::shutdownNow);
+        if (this.bossEventLoopGroup != null) {
+            this.bossEventLoopGroup.shutdownGracefully();
+        }
+        if (this.workerEventLoopGroup != null) {
+            this.workerEventLoopGroup.shutdownGracefully();
+        }
+
+        try {
+            if (this.defaultExecutor != null) {
+                this.defaultExecutor.awaitTermination(TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+            for (final ExecutorService serviceExecutor : this.serviceExecutors.values()) {
+                serviceExecutor.awaitTermination(TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+        } catch (final InterruptedException ie) {
+            log.error("Interrupted while waiting for the gRPC call executors to shut down", ie);
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -33,15 +33,19 @@ import com.netflix.genie.proto.ServerControlMessage;
 import com.netflix.genie.proto.ServerFileRequestMessage;
 import com.netflix.genie.web.agent.resources.AgentFileResourceImpl;
 import com.netflix.genie.web.agent.services.AgentFileStreamService;
+import com.netflix.genie.web.events.AgentReconnectRequestedEvent;
 import com.netflix.genie.web.exceptions.checked.NotFoundException;
 import com.netflix.genie.web.properties.AgentFileStreamProperties;
+import com.netflix.genie.web.services.TimerService;
 import com.netflix.genie.web.util.StreamBuffer;
+import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationListener;
 import org.springframework.http.HttpRange;
 import org.springframework.scheduling.TaskScheduler;
 
@@ -50,6 +54,7 @@ import javax.naming.LimitExceededException;
 import java.io.InputStream;
 import java.net.URI;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
 import java.util.Map;
@@ -58,7 +63,6 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * {@link AgentFileStreamService} gRPC implementation.
@@ -76,6 +80,12 @@ import java.util.concurrent.atomic.AtomicInteger;
  * <p>
  * This service returns a resource immediately, but maintains a handle on a buffer where data is written as it is
  * received.
+ * <p>
+ * Upon an {@link AgentReconnectRequestedEvent} the control stream of the job is closed, the agent opens a new one over
+ * its new connection when it next pushes a manifest. Transfers in progress complete over the previous connection.
+ * <p>
+ * Timeouts of transfers and transfer streams, as well as write retries, are scheduled on the shared
+ * {@link TimerService}, each transfer checking for lack of progress at its own deadline.
  *
  * @author mprimi
  * @since 4.0.0
@@ -83,7 +93,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 @Slf4j
 public class GRpcAgentFileStreamServiceImpl
     extends FileStreamServiceGrpc.FileStreamServiceImplBase
-    implements AgentFileStreamService {
+    implements AgentFileStreamService, ApplicationListener<AgentReconnectRequestedEvent> {
 
     private static final String METRICS_PREFIX = "genie.agents.fileTransfers";
     private static final String TRANSFER_COUNTER = METRICS_PREFIX + ".requested.counter";
@@ -103,18 +113,26 @@ public class GRpcAgentFileStreamServiceImpl
      *
      * @param converter     The {@link JobDirectoryManifestProtoConverter} instance to use
      * @param taskScheduler A {@link TaskScheduler} instance to use
+     * @param timerService  The {@link TimerService} instance to use to schedule timeouts and retries
      * @param properties    The service properties
      * @param registry      The meter registry
      */
     public GRpcAgentFileStreamServiceImpl(
         final JobDirectoryManifestProtoConverter converter,
         final TaskScheduler taskScheduler,
+        final TimerService timerService,
         final AgentFileStreamProperties properties,
         final MeterRegistry registry
     ) {
         this.fileTransferLimitExceededCounter = registry.counter(TRANSFER_LIMIT_EXCEEDED_COUNTER);
         this.controlStreamsManager = new ControlStreamManager(converter, properties, registry);
-        this.transferManager = new TransferManager(controlStreamsManager, taskScheduler, properties, registry);
+        this.transferManager = new TransferManager(
+            controlStreamsManager,
+            taskScheduler,
+            timerService,
+            properties,
+            registry
+        );
     }
 
     /**
@@ -194,6 +212,24 @@ public class GRpcAgentFileStreamServiceImpl
         return Optional.ofNullable(this.controlStreamsManager.getManifest(jobId));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getActiveTransfersCount() {
+        return this.transferManager.getActiveTransfersCount();
+    }
+
+    /**
+     * Close the control stream of the job whose agent is asked to reconnect.
+     *
+     * @param event The event naming the job whose agent should reconnect
+     */
+    @Override
+    public void onApplicationEvent(final AgentReconnectRequestedEvent event) {
+        this.controlStreamsManager.closeControlStream(event.getJobId());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -306,6 +342,17 @@ public class GRpcAgentFileStreamServiceImpl
             this.registry.gauge(CONTROL_STREAMS_GAUGE, this.controlStreamMap.size());
         }
 
+        private synchronized void closeControlStream(final String jobId) {
+            final ControlStreamObserver controlStreamObserver = this.controlStreamMap.remove(jobId);
+            if (controlStreamObserver != null) {
+                log.debug("Closing control stream of job {} for the agent to reconnect", jobId);
+                controlStreamObserver.closeStreamWithError(
+                    Status.UNAVAILABLE.withDescription("Agent asked to reconnect").asRuntimeException()
+                );
+                this.registry.gauge(CONTROL_STREAMS_GAUGE, this.controlStreamMap.size());
+            }
+        }
+
         private synchronized void removeControlStream(
             final ControlStreamObserver controlStreamObserver,
             @Nullable final Throwable t
@@ -390,63 +437,60 @@ public class GRpcAgentFileStreamServiceImpl
         private final Class<? extends HttpRange> suffixRangeClass = HttpRange.createSuffixRange(1).getClass();
         private final ControlStreamManager controlStreamsManager;
         private final TaskScheduler taskScheduler;
+        private final TimerService timerService;
         private final AgentFileStreamProperties properties;
         private final Counter transferTimeOutCounter;
         private final DistributionSummary transferSizeDistribution;
-        private final MeterRegistry registry;
 
         private TransferManager(
             final ControlStreamManager controlStreamsManager,
             final TaskScheduler taskScheduler,
+            final TimerService timerService,
             final AgentFileStreamProperties properties,
             final MeterRegistry registry
         ) {
             this.controlStreamsManager = controlStreamsManager;
             this.taskScheduler = taskScheduler;
+            this.timerService = timerService;
             this.properties = properties;
-            this.registry = registry;
             this.transferTimeOutCounter = registry.counter(TRANSFER_TIMEOUT_COUNTER);
             this.transferSizeDistribution = registry.summary(TRANSFER_SIZE_DISTRIBUTION);
+            registry.gauge(ACTIVE_TRANSFER_GAUGE, this, TransferManager::getActiveTransfersCount);
+        }
 
-            this.taskScheduler.scheduleAtFixedRate(
-                this::reapStalledTransfers,
-                this.properties.getStalledTransferCheckInterval()
-            );
+        private void scheduleStalledTransferCheck(final FileTransfer fileTransfer, final Duration delay) {
+            this.timerService.schedule(() -> this.reapTransferIfStalled(fileTransfer), delay);
         }
 
-        private synchronized void reapStalledTransfers() {
-            final AtomicInteger stalledTrasfersCounter = new AtomicInteger();
+        private synchronized void reapTransferIfStalled(final FileTransfer fileTransfer) {
+            final String transferId = fileTransfer.getTransferId();
+            if (this.activeTransfers.get(transferId) != fileTransfer) {
+                // Transfer already completed or failed
+                return;
+            }
             final Instant now = Instant.now();
-            // Iterate active transfers, shut down and remove the ones that are not making progress
-            this.activeTransfers.entrySet().removeIf(
-                entry -> {
-                    final String transferId = entry.getKey();
-                    final FileTransfer transfer = entry.getValue();
-                    final Instant deadline =
-                        transfer.lastAckTimestamp.plus(this.properties.getStalledTransferTimeout());
-                    if (now.isAfter(deadline)) {
-                        stalledTrasfersCounter.incrementAndGet();
-                        log.warn("Transfer {} is stalled of job {}, shutting it down", transferId,
-                            entry.getValue().jobId);
-                        final TimeoutException exception = new TimeoutException("Transfer not making progress");
-                        // Shut down stream, if one was associated to this transfer
-                        final AgentFileChunkObserver observer = transfer.getAgentFileChunkObserver();
-                        if (observer != null) {
-                            observer.getResponseObserver().onError(exception);
-                        }
-                        // Close the buffer
-                        transfer.closeWithError(exception);
-                        // Remove from active transfers
-                        return true;
-                    } else {
-                        // Do not remove from active, made progress recently enough.
-                        return false;
-                    }
+            final Instant deadline = fileTransfer.lastAckTimestamp.plus(this.properties.getStalledTransferTimeout());
+            if (now.isAfter(deadline)) {
+                log.warn("Transfer {} is stalled of job {}, shutting it down", transferId, fileTransfer.jobId);
+                final TimeoutException exception = new TimeoutException("Transfer not making progress");
+                // Shut down stream, if one was associated to this transfer
+                final AgentFileChunkObserver observer = fileTransfer.getAgentFileChunkObserver();
+                if (observer != null) {
+                    observer.getResponseObserver().onError(exception);
                 }
-            );
+                // Close the buffer
+                fileTransfer.closeWithError(exception);
+                // Remove from active transfers
+                this.activeTransfers.remove(transferId, fileTransfer);
+                this.transferTimeOutCounter.increment();
+            } else {
+                // Made progress recently enough, check again at the new deadline
+                this.scheduleStalledTransferCheck(fileTransfer, Duration.between(now, deadline));
+            }
+        }
 
-            this.transferTimeOutCounter.increment(stalledTrasfersCounter.get());
-            this.registry.gauge(ACTIVE_TRANSFER_GAUGE, this.activeTransfers.size());
+        private synchronized int getActiveTransfersCount() {
+            return this.activeTransfers.size();
         }
 
         private synchronized FileTransfer startFileTransfer(
@@ -515,6 +559,7 @@ public class GRpcAgentFileStreamServiceImpl
                 log.debug("Tracking new transfer {} of job: {}", fileTransferId, jobId);
                 // Expecting some data. Track this stream and its buffer so incoming chunks can be appended.
                 this.activeTransfers.put(fileTransferId, fileTransfer);
+                this.scheduleStalledTransferCheck(fileTransfer, this.properties.getStalledTransferTimeout());
 
                 log.debug("Requesting start of transfer {} of job: {}", fileTransferId, jobId);
                 // Request file over control channel
@@ -554,9 +599,9 @@ public class GRpcAgentFileStreamServiceImpl
             this.unclaimedTransferStreams.add(agentFileChunkObserver);
 
             // Schedule a timeout for this stream to get associated with a pending transfer
-            taskScheduler.schedule(
+            this.timerService.schedule(
                 () -> this.handleUnclaimedStreamTimeout(agentFileChunkObserver),
-                Instant.now().plus(properties.getUnclaimedStreamStartTimeout())
+                this.properties.getUnclaimedStreamStartTimeout()
             );
 
             return agentFileChunkObserver;
@@ -645,9 +690,9 @@ public class GRpcAgentFileStreamServiceImpl
                     fileTransfer.sendAck();
                 } else {
                     // Try again in a little bit
-                    this.taskScheduler.schedule(
+                    this.timerService.schedule(
                         () -> this.writeDataAndAck(fileTransfer, data),
-                        Instant.now().plus(this.properties.getWriteRetryDelay())
+                        this.properties.getWriteRetryDelay()
                     );
                 }
             } catch (IllegalStateException e) {
@@ -666,7 +711,7 @@ public class GRpcAgentFileStreamServiceImpl
         @Getter
         private AgentFileChunkObserver agentFileChunkObserver;
         private State state = State.NEW;
-        private Instant lastAckTimestamp;
+        private volatile Instant lastAckTimestamp;
 
         private FileTransfer(
             final String transferId,
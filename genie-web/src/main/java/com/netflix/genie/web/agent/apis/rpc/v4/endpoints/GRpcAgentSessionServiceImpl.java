@@ -0,0 +1,316 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.agent.apis.rpc.v4.endpoints;
+
+import com.google.common.collect.Sets;
+import com.netflix.genie.proto.AgentHeartBeat;
+import com.netflix.genie.proto.AgentSessionMessage;
+import com.netflix.genie.proto.AgentSessionServiceGrpc;
+import com.netflix.genie.proto.JobKillRegistrationRequest;
+import com.netflix.genie.proto.JobKillRegistrationResponse;
+import com.netflix.genie.proto.JobKillServiceGrpc;
+import com.netflix.genie.proto.ServerHeartBeat;
+import com.netflix.genie.proto.ServerSessionMessage;
+import com.netflix.genie.web.agent.services.AgentConnectionTrackingService;
+import com.netflix.genie.web.events.AgentReconnectRequestedEvent;
+import com.netflix.genie.web.properties.HeartBeatProperties;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationListener;
+import org.springframework.scheduling.TaskScheduler;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * An edge gRPC service that multiplexes over a single bi-directional stream per job what agents otherwise do over the
+ * heartbeat stream and the parked kill notification request.
+ * <p>
+ * Heartbeats are handled like the {@link GRpcHeartBeatServiceImpl} does. The first heartbeat of a session registers it
+ * with the job kill service, so kill notifications for the job are sent over the same stream.
+ * Upon an {@link AgentReconnectRequestedEvent} the sessions of the job are closed after asking the agent to reconnect.
+ *
+ * @since 4.4.0
+ */
+@Slf4j
+public class GRpcAgentSessionServiceImpl
+    extends AgentSessionServiceGrpc.AgentSessionServiceImplBase
+    implements ApplicationListener<AgentReconnectRequestedEvent> {
+
+    private static final String SESSIONS_GAUGE_NAME = "genie.agents.sessions.gauge";
+    private static final ServerSessionMessage SERVER_HEARTBEAT = ServerSessionMessage.newBuilder()
+        .setHeartbeat(ServerHeartBeat.getDefaultInstance())
+        .build();
+    private static final ServerSessionMessage SERVER_RECONNECT_HEARTBEAT = ServerSessionMessage.newBuilder()
+        .setHeartbeat(ServerHeartBeat.newBuilder().setReconnect(true).build())
+        .build();
+    private final AgentConnectionTrackingService agentConnectionTrackingService;
+    private final JobKillServiceGrpc.JobKillServiceImplBase jobKillService;
+    private final Map<String, AgentSessionRecord> activeSessionsMap = new ConcurrentHashMap<>();
+    private final ScheduledFuture<?> sendHeartbeatsFuture;
+
+    /**
+     * Constructor.
+     *
+     * @param agentConnectionTrackingService The {@link AgentConnectionTrackingService} implementation to use
+     * @param jobKillService                 The job kill service to register sessions with for kill notifications
+     * @param properties                     The heartbeat properties
+     * @param taskScheduler                  The {@link TaskScheduler} instance to use
+     * @param registry                       The meter registry
+     */
+    public GRpcAgentSessionServiceImpl(
+        final AgentConnectionTrackingService agentConnectionTrackingService,
+        final JobKillServiceGrpc.JobKillServiceImplBase jobKillService,
+        final HeartBeatProperties properties,
+        final TaskScheduler taskScheduler,
+        final MeterRegistry registry
+    ) {
+        this.agentConnectionTrackingService = agentConnectionTrackingService;
+        this.jobKillService = jobKillService;
+        this.sendHeartbeatsFuture = taskScheduler.scheduleWithFixedDelay(
+            this::sendHeartbeats,
+            properties.getSendInterval()
+        );
+        registry.gaugeMapSize(SESSIONS_GAUGE_NAME, Sets.newHashSet(), this.activeSessionsMap);
+    }
+
+    /**
+     * Shutdown this service.
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (this.sendHeartbeatsFuture != null) {
+            this.sendHeartbeatsFuture.cancel(false);
+        }
+
+        for (final String streamId : this.activeSessionsMap.keySet()) {
+            final AgentSessionRecord agentSessionRecord = this.activeSessionsMap.remove(streamId);
+            if (agentSessionRecord != null) {
+                if (agentSessionRecord.hasJobId()) {
+                    log.debug("Unregistering session of job: {} (stream id: {})", agentSessionRecord.getJobId(), streamId);
+                    this.agentConnectionTrackingService.notifyDisconnected(streamId, agentSessionRecord.getJobId());
+                }
+                agentSessionRecord.complete();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StreamObserver<AgentSessionMessage> session(final StreamObserver<ServerSessionMessage> responseObserver) {
+        // Handle new stream / client connection
+        final String streamId = UUID.randomUUID().toString();
+        this.activeSessionsMap.put(streamId, new AgentSessionRecord(responseObserver));
+        return new RequestObserver(this, streamId);
+    }
+
+    /**
+     * Regularly scheduled to send heartbeat to the client.
+     * Using the connection ensures server-side eventually detects a broken connection.
+     */
+    private void sendHeartbeats() {
+        for (final Map.Entry<String, AgentSessionRecord> entry : this.activeSessionsMap.entrySet()) {
+            final String streamId = entry.getKey();
+            final AgentSessionRecord agentSessionRecord = entry.getValue();
+            try {
+                agentSessionRecord.send(SERVER_HEARTBEAT);
+            } catch (StatusRuntimeException | IllegalStateException e) {
+                log.warn("Session {} of job {} is broken", streamId, agentSessionRecord.getJobId());
+                log.debug("Error probing job {} session {}", agentSessionRecord.getJobId(), streamId, e);
+                if (this.activeSessionsMap.remove(streamId, agentSessionRecord) && agentSessionRecord.hasJobId()) {
+                    this.agentConnectionTrackingService.notifyDisconnected(streamId, agentSessionRecord.getJobId());
+                }
+            }
+        }
+    }
+
+    /**
+     * Ask the agent of the job to reconnect and close its sessions.
+     *
+     * @param event The event naming the job whose agent should reconnect
+     */
+    @Override
+    public void onApplicationEvent(final AgentReconnectRequestedEvent event) {
+        final String jobId = event.getJobId();
+        for (final Map.Entry<String, AgentSessionRecord> entry : this.activeSessionsMap.entrySet()) {
+            final String streamId = entry.getKey();
+            final AgentSessionRecord agentSessionRecord = entry.getValue();
+            if (jobId.equals(agentSessionRecord.getJobId()) && this.activeSessionsMap.remove(streamId, agentSessionRecord)) {
+                log.info("Asking agent of job {} to reconnect (stream id: {})", jobId, streamId);
+                this.agentConnectionTrackingService.notifyDisconnected(streamId, jobId);
+                try {
+                    agentSessionRecord.send(SERVER_RECONNECT_HEARTBEAT);
+                    agentSessionRecord.complete();
+                } catch (StatusRuntimeException | IllegalStateException e) {
+                    log.debug("Error asking job {} session {} to reconnect", jobId, streamId, e);
+                }
+            }
+        }
+    }
+
+    private void handleAgentMessage(final String streamId, final AgentSessionMessage agentSessionMessage) {
+        switch (agentSessionMessage.getMessageCase()) {
+            case HEARTBEAT:
+                this.handleAgentHeartBeat(streamId, agentSessionMessage.getHeartbeat());
+                break;
+            case MESSAGE_NOT_SET:
+            default:
+                log.warn("Ignoring unknown message from session {}", streamId);
+        }
+    }
+
+    private void handleAgentHeartBeat(final String streamId, final AgentHeartBeat agentHeartBeat) {
+        final AgentSessionRecord agentSessionRecord = this.activeSessionsMap.get(streamId);
+        final String claimedJobId = agentHeartBeat.getClaimedJobId();
+        if (agentSessionRecord == null) {
+            log.warn("Received heartbeat from an unknown session");
+        } else if (StringUtils.isBlank(claimedJobId)) {
+            log.warn("Ignoring heartbeat lacking job id");
+        } else {
+            log.debug("Received heartbeat from job: {} (stream id: {})", claimedJobId, streamId);
+            if (agentSessionRecord.updateRecord(claimedJobId)) {
+                log.info("Received first heartbeat from job: {}", claimedJobId);
+                // Register before the connection is tracked, so a kill routed here finds the session
+                this.jobKillService.registerForKillNotification(
+                    JobKillRegistrationRequest.newBuilder().setJobId(claimedJobId).build(),
+                    new KillNotificationObserver(agentSessionRecord)
+                );
+            }
+            this.agentConnectionTrackingService.notifyHeartbeat(streamId, claimedJobId);
+        }
+    }
+
+    private void handleSessionCompletion(final String streamId) {
+        final AgentSessionRecord agentSessionRecord = this.activeSessionsMap.remove(streamId);
+        if (agentSessionRecord == null) {
+            log.warn("Received completion from an unknown session");
+        } else {
+            log.debug("Received completion from session {}", streamId);
+            if (agentSessionRecord.hasJobId()) {
+                this.agentConnectionTrackingService.notifyDisconnected(streamId, agentSessionRecord.getJobId());
+            }
+            agentSessionRecord.complete();
+        }
+    }
+
+    private void handleSessionError(final String streamId, final Throwable t) {
+        final AgentSessionRecord agentSessionRecord = this.activeSessionsMap.remove(streamId);
+        if (agentSessionRecord == null) {
+            log.warn("Received error from an unknown session");
+        } else {
+            log.debug("Received error from session {}", streamId, t);
+            if (agentSessionRecord.hasJobId()) {
+                this.agentConnectionTrackingService.notifyDisconnected(streamId, agentSessionRecord.getJobId());
+            }
+        }
+    }
+
+    private static class AgentSessionRecord {
+        private final StreamObserver<ServerSessionMessage> responseObserver;
+        private volatile String claimedJobId;
+
+        AgentSessionRecord(final StreamObserver<ServerSessionMessage> responseObserver) {
+            this.responseObserver = responseObserver;
+        }
+
+        synchronized boolean updateRecord(final String jobId) {
+            if (hasJobId() || StringUtils.isBlank(jobId)) {
+                return false;
+            } else {
+                this.claimedJobId = jobId;
+                return true;
+            }
+        }
+
+        String getJobId() {
+            return this.claimedJobId;
+        }
+
+        boolean hasJobId() {
+            return !StringUtils.isBlank(this.claimedJobId);
+        }
+
+        // Heartbeats and kill notifications are sent from different threads, stream observers aren't thread safe
+        synchronized void send(final ServerSessionMessage message) {
+            this.responseObserver.onNext(message);
+        }
+
+        synchronized void complete() {
+            this.responseObserver.onCompleted();
+        }
+    }
+
+    /**
+     * Parked with the job kill service in place of the response observer of a kill notification request.
+     */
+    private static class KillNotificationObserver implements StreamObserver<JobKillRegistrationResponse> {
+        private final AgentSessionRecord agentSessionRecord;
+
+        KillNotificationObserver(final AgentSessionRecord agentSessionRecord) {
+            this.agentSessionRecord = agentSessionRecord;
+        }
+
+        @Override
+        public void onNext(final JobKillRegistrationResponse value) {
+            this.agentSessionRecord.send(ServerSessionMessage.newBuilder().setKill(value).build());
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            log.debug("Kill notification of job {} failed", this.agentSessionRecord.getJobId(), t);
+        }
+
+        @Override
+        public void onCompleted() {
+            // The session outlives the kill notification, it is completed by the agent
+        }
+    }
+
+    private static class RequestObserver implements StreamObserver<AgentSessionMessage> {
+        private final GRpcAgentSessionServiceImpl grpcAgentSessionService;
+        private final String streamId;
+
+        RequestObserver(final GRpcAgentSessionServiceImpl grpcAgentSessionService, final String streamId) {
+            this.grpcAgentSessionService = grpcAgentSessionService;
+            this.streamId = streamId;
+        }
+
+        @Override
+        public void onNext(final AgentSessionMessage agentSessionMessage) {
+            this.grpcAgentSessionService.handleAgentMessage(this.streamId, agentSessionMessage);
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            this.grpcAgentSessionService.handleSessionError(this.streamId, t);
+        }
+
+        @Override
+        public void onCompleted() {
+            this.grpcAgentSessionService.handleSessionCompletion(this.streamId);
+        }
+    }
+}
@@ -17,42 +17,49 @@
  */
 package com.netflix.genie.web.agent.apis.rpc.v4.endpoints;
 
-import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.netflix.genie.proto.AgentHeartBeat;
 import com.netflix.genie.proto.HeartBeatServiceGrpc;
 import com.netflix.genie.proto.ServerHeartBeat;
 import com.netflix.genie.web.agent.services.AgentConnectionTrackingService;
 import com.netflix.genie.web.agent.services.AgentRoutingService;
+import com.netflix.genie.web.events.AgentReconnectRequestedEvent;
 import com.netflix.genie.web.properties.HeartBeatProperties;
 import io.grpc.StatusRuntimeException;
 import io.grpc.stub.StreamObserver;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationListener;
 import org.springframework.scheduling.TaskScheduler;
 
 import jakarta.annotation.PreDestroy;
 import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 
 /**
  * An edge gRPC service that uses bi-directional streaming.
  * This is useful to reliably track which connection is handled by which server and to detect disconnections on both
  * ends.
+ * Upon an {@link AgentReconnectRequestedEvent} the streams of the job are closed after asking the agent to reconnect.
+ * Streams are tracked in a concurrent map and each stream guards its own response observer, so heartbeats from
+ * different agents are handled without contending with each other or with the periodic heartbeat fan-out.
  *
  * @author mprimi
  * @since 4.0.0
  */
 @Slf4j
-public class GRpcHeartBeatServiceImpl extends HeartBeatServiceGrpc.HeartBeatServiceImplBase {
+public class GRpcHeartBeatServiceImpl
+    extends HeartBeatServiceGrpc.HeartBeatServiceImplBase
+    implements ApplicationListener<AgentReconnectRequestedEvent> {
 
     private static final String HEARTBEATING_GAUGE_NAME = "genie.agents.heartbeating.gauge";
+    private static final ServerHeartBeat RECONNECT_HEARTBEAT = ServerHeartBeat.newBuilder().setReconnect(true).build();
     private final AgentConnectionTrackingService agentConnectionTrackingService;
     private final HeartBeatProperties properties;
-    private final Map<String, AgentStreamRecord> activeStreamsMap = Maps.newHashMap();
+    private final Map<String, AgentStreamRecord> activeStreamsMap = new ConcurrentHashMap<>();
     private final ScheduledFuture<?> sendHeartbeatsFuture;
     private final MeterRegistry registry;
 
@@ -89,20 +96,16 @@ public class GRpcHeartBeatServiceImpl extends HeartBeatServiceGrpc.HeartBeatServ
             sendHeartbeatsFuture.cancel(false);
         }
 
-        synchronized (activeStreamsMap) {
-            for (final Map.Entry<String, AgentStreamRecord> agentStreamRecordEntry : activeStreamsMap.entrySet()) {
-                final String streamId = agentStreamRecordEntry.getKey();
-                final AgentStreamRecord agentStreamRecord = agentStreamRecordEntry.getValue();
+        for (final String streamId : this.activeStreamsMap.keySet()) {
+            final AgentStreamRecord agentStreamRecord = this.activeStreamsMap.remove(streamId);
+            if (agentStreamRecord != null) {
                 if (agentStreamRecord.hasJobId()) {
                     final String jobId = agentStreamRecord.getJobId();
                     log.debug("Unregistering stream of job: {} (stream id: {})", jobId, streamId);
                     this.agentConnectionTrackingService.notifyDisconnected(streamId, jobId);
                 }
+                agentStreamRecord.complete();
             }
-            for (final AgentStreamRecord agentStreamRecord : activeStreamsMap.values()) {
-                agentStreamRecord.responseObserver.onCompleted();
-            }
-            activeStreamsMap.clear();
         }
     }
 
@@ -111,26 +114,16 @@ public class GRpcHeartBeatServiceImpl extends HeartBeatServiceGrpc.HeartBeatServ
      * Using the connection ensures server-side eventually detects a broken connection.
      */
     private void sendHeartbeats() {
-        final Set<String> brokenStreams = Sets.newHashSet();
-        synchronized (activeStreamsMap) {
-            for (final Map.Entry<String, AgentStreamRecord> entry : this.activeStreamsMap.entrySet()) {
-                final String streamId = entry.getKey();
-                final AgentStreamRecord agentStreamRecord = entry.getValue();
-
-                try {
-                    agentStreamRecord.responseObserver.onNext(ServerHeartBeat.getDefaultInstance());
-                } catch (StatusRuntimeException | IllegalStateException e) {
-                    log.warn("Stream {} of job {} is broken", streamId, agentStreamRecord.getJobId());
-                    log.debug("Error probing job {} stream {}", agentStreamRecord.getJobId(), streamId, e);
-                    brokenStreams.add(streamId);
-                }
-            }
-        }
+        for (final Map.Entry<String, AgentStreamRecord> entry : this.activeStreamsMap.entrySet()) {
+            final String streamId = entry.getKey();
+            final AgentStreamRecord agentStreamRecord = entry.getValue();
 
-        for (final String streamId : brokenStreams) {
-            synchronized (activeStreamsMap) {
-                final AgentStreamRecord agentStreamRecord = this.activeStreamsMap.remove(streamId);
-                if (agentStreamRecord != null) {
+            try {
+                agentStreamRecord.send(ServerHeartBeat.getDefaultInstance());
+            } catch (StatusRuntimeException | IllegalStateException e) {
+                log.warn("Stream {} of job {} is broken", streamId, agentStreamRecord.getJobId());
+                log.debug("Error probing job {} stream {}", agentStreamRecord.getJobId(), streamId, e);
+                if (this.activeStreamsMap.remove(streamId, agentStreamRecord)) {
                     log.debug("Removed broken stream {} of job {}", streamId, agentStreamRecord.getJobId());
                     if (agentStreamRecord.hasJobId()) {
                         this.agentConnectionTrackingService.notifyDisconnected(streamId, agentStreamRecord.getJobId());
@@ -150,23 +143,42 @@ public class GRpcHeartBeatServiceImpl extends HeartBeatServiceGrpc.HeartBeatServ
         // Handle new stream / client connection
         final String streamId = UUID.randomUUID().toString();
         final RequestObserver requestObserver = new RequestObserver(this, streamId);
-        synchronized (activeStreamsMap) {
 
-            // Create a record for this connection
-            activeStreamsMap.put(streamId, new AgentStreamRecord(responseObserver));
-        }
+        // Create a record for this connection
+        this.activeStreamsMap.put(streamId, new AgentStreamRecord(responseObserver));
         return requestObserver;
     }
 
+    /**
+     * Ask the agent of the job to reconnect and close its streams.
+     *
+     * @param event The event naming the job whose agent should reconnect
+     */
+    @Override
+    public void onApplicationEvent(final AgentReconnectRequestedEvent event) {
+        final String jobId = event.getJobId();
+        for (final Map.Entry<String, AgentStreamRecord> entry : this.activeStreamsMap.entrySet()) {
+            final String streamId = entry.getKey();
+            final AgentStreamRecord agentStreamRecord = entry.getValue();
+            if (jobId.equals(agentStreamRecord.getJobId()) && this.activeStreamsMap.remove(streamId, agentStreamRecord)) {
+                log.info("Asking agent of job {} to reconnect (stream id: {})", jobId, streamId);
+                this.agentConnectionTrackingService.notifyDisconnected(streamId, jobId);
+                try {
+                    agentStreamRecord.send(RECONNECT_HEARTBEAT);
+                    agentStreamRecord.complete();
+                } catch (StatusRuntimeException | IllegalStateException e) {
+                    log.debug("Error asking job {} stream {} to reconnect", jobId, streamId, e);
+                }
+            }
+        }
+    }
+
     private void handleAgentHeartBeat(
         final String streamId,
         final AgentHeartBeat agentHeartBeat
     ) {
         // Pull the record, if one exists
-        final AgentStreamRecord agentStreamRecord;
-        synchronized (activeStreamsMap) {
-            agentStreamRecord = activeStreamsMap.get(streamId);
-        }
+        final AgentStreamRecord agentStreamRecord = this.activeStreamsMap.get(streamId);
 
         final String claimedJobId = agentHeartBeat.getClaimedJobId();
         if (agentStreamRecord == null) {
@@ -185,10 +197,7 @@ public class GRpcHeartBeatServiceImpl extends HeartBeatServiceGrpc.HeartBeatServ
 
     private void handleStreamCompletion(final String streamId) {
         // Pull the record, if one exists
-        final AgentStreamRecord agentStreamRecord;
-        synchronized (activeStreamsMap) {
-            agentStreamRecord = activeStreamsMap.remove(streamId);
-        }
+        final AgentStreamRecord agentStreamRecord = this.activeStreamsMap.remove(streamId);
 
         if (agentStreamRecord == null) {
             log.warn("Received completion from an unknown stream");
@@ -197,16 +206,13 @@ public class GRpcHeartBeatServiceImpl extends HeartBeatServiceGrpc.HeartBeatServ
             if (agentStreamRecord.hasJobId()) {
                 this.agentConnectionTrackingService.notifyDisconnected(streamId, agentStreamRecord.getJobId());
             }
-            agentStreamRecord.responseObserver.onCompleted();
+            agentStreamRecord.complete();
         }
     }
 
     private void handleStreamError(final String streamId, final Throwable t) {
         // Pull the record, if one exists
-        final AgentStreamRecord agentStreamRecord;
-        synchronized (activeStreamsMap) {
-            agentStreamRecord = activeStreamsMap.remove(streamId);
-        }
+        final AgentStreamRecord agentStreamRecord = this.activeStreamsMap.remove(streamId);
 
         if (agentStreamRecord == null) {
             log.warn("Received error from an unknown stream");
@@ -220,7 +226,7 @@ public class GRpcHeartBeatServiceImpl extends HeartBeatServiceGrpc.HeartBeatServ
 
     private static class AgentStreamRecord {
         private final StreamObserver<ServerHeartBeat> responseObserver;
-        private String claimedJobId;
+        private volatile String claimedJobId;
 
         AgentStreamRecord(
             final StreamObserver<ServerHeartBeat> responseObserver
@@ -244,6 +250,15 @@ public class GRpcHeartBeatServiceImpl extends HeartBeatServiceGrpc.HeartBeatServ
         boolean hasJobId() {
             return !StringUtils.isBlank(claimedJobId);
         }
+
+        // Heartbeats are sent from a different thread than completions, stream observers aren't thread safe
+        synchronized void send(final ServerHeartBeat heartBeat) {
+            this.responseObserver.onNext(heartBeat);
+        }
+
+        synchronized void complete() {
+            this.responseObserver.onCompleted();
+        }
     }
 
     private static class RequestObserver implements StreamObserver<AgentHeartBeat> {
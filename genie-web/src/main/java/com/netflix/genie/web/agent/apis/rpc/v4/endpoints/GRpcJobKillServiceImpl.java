@@ -28,32 +28,44 @@ import com.netflix.genie.proto.JobKillServiceGrpc;
 import com.netflix.genie.web.agent.services.AgentRoutingService;
 import com.netflix.genie.web.data.services.DataServices;
 import com.netflix.genie.web.data.services.PersistenceService;
+import com.netflix.genie.web.events.AgentReconnectRequestedEvent;
 import com.netflix.genie.web.exceptions.checked.NotFoundException;
 import com.netflix.genie.web.services.JobKillService;
 import com.netflix.genie.web.services.RequestForwardingService;
+import com.netflix.genie.web.services.TimerService;
+import io.grpc.Status;
 import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationListener;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
-import org.springframework.scheduling.annotation.Scheduled;
 
 import jakarta.annotation.Nullable;
 import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Implementation of {@link JobKillService} which uses parked gRPC requests to tell the agent to
  * shutdown via a user kill request if the job is in an active state.
+ * Upon an {@link AgentReconnectRequestedEvent} the parked request of the job is failed, so the agent registers again
+ * over its new connection.
+ * <p>
+ * Each parked request is checked for being orphaned by its own timer rather than by a periodic sweep of all of them.
  *
  * @author tgianos
  * @since 4.0.0
  */
 @Slf4j
-public class GRpcJobKillServiceImpl extends JobKillServiceGrpc.JobKillServiceImplBase implements JobKillService {
+public class GRpcJobKillServiceImpl
+    extends JobKillServiceGrpc.JobKillServiceImplBase
+    implements JobKillService, ApplicationListener<AgentReconnectRequestedEvent> {
+
+    private static final Duration ORPHAN_CHECK_INTERVAL = Duration.ofSeconds(30);
 
     @VisibleForTesting
     @Getter(AccessLevel.PACKAGE)
@@ -61,6 +73,7 @@ public class GRpcJobKillServiceImpl extends JobKillServiceGrpc.JobKillServiceImp
     private final PersistenceService persistenceService;
     private final AgentRoutingService agentRoutingService;
     private final RequestForwardingService requestForwardingService;
+    private final TimerService timerService;
 
     /**
      * Constructor.
@@ -69,16 +82,19 @@ public class GRpcJobKillServiceImpl extends JobKillServiceGrpc.JobKillServiceImp
      * @param agentRoutingService      The {@link AgentRoutingService} instance to use to find where agents are
      *                                 connected
      * @param requestForwardingService The service to use to forward requests to other Genie nodes
+     * @param timerService             The {@link TimerService} instance to use to check for orphaned requests
      */
     public GRpcJobKillServiceImpl(
         final DataServices dataServices,
         final AgentRoutingService agentRoutingService,
-        final RequestForwardingService requestForwardingService
+        final RequestForwardingService requestForwardingService,
+        final TimerService timerService
     ) {
         this.persistenceService = dataServices.getPersistenceService();
         this.parkedJobKillResponseObservers = new ConcurrentHashMap<>();
         this.agentRoutingService = agentRoutingService;
         this.requestForwardingService = requestForwardingService;
+        this.timerService = timerService;
     }
 
     /**
@@ -101,6 +117,8 @@ public class GRpcJobKillServiceImpl extends JobKillServiceGrpc.JobKillServiceImp
         if (existingObserver != null) {
             existingObserver.onCompleted();
         }
+
+        this.scheduleOrphanCheck(request.getJobId(), responseObserver);
     }
 
     /**
@@ -218,44 +236,78 @@ public class GRpcJobKillServiceImpl extends JobKillServiceGrpc.JobKillServiceImp
     }
 
     /**
-     * Remove orphaned kill observers from local map.
+     * Fail the parked request of the job whose agent is asked to reconnect. A failure, unlike a response, isn't taken
+     * as a kill notification by the agent, which registers again.
+     *
+     * @param event The event naming the job whose agent should reconnect
+     */
+    @Override
+    public void onApplicationEvent(final AgentReconnectRequestedEvent event) {
+        final StreamObserver<JobKillRegistrationResponse> observer = this.parkedJobKillResponseObservers.remove(
+            event.getJobId()
+        );
+        if (observer != null && !isStreamObserverCancelled(observer)) {
+            try {
+                observer.onError(
+                    Status.UNAVAILABLE.withDescription("Agent asked to reconnect").asRuntimeException()
+                );
+            } catch (final Exception observerException) {
+                log.debug("Error releasing kill notification request of job {}", event.getJobId(), observerException);
+            }
+        }
+    }
+
+    /**
+     * Remove the kill observer of a job from the local map if it is orphaned.
      * <p>
      * The logic as currently implemented is to have the Agent, once handshake is complete, open a connection to
      * the server which results in parking a response observer in the map stored in this implementation. Upon receiving
      * a kill request for the correct job this class will use the observer to send the "response" to the agent which
      * will begin shut down process. The issue is that if the agent disconnects from this server the server will never
-     * realize it's gone and these observers will build up in the map in memory forever. This method will periodically
-     * go through the map and determine if the observers are still valid and remove any that aren't.
+     * realize it's gone and these observers will build up in the map in memory forever. This method is called by a
+     * timer of each parked observer to determine if it is still valid, and either removes it or checks it again later.
+     * The timer of an observer which was replaced or removed in the meantime finds nothing to do.
      *
+     * @param jobId    The id of the job the observer was parked for
+     * @param observer The parked observer
      * @see "GRpcAgentJobKillServiceImpl"
      */
-    @Scheduled(fixedDelay = 30_000L, initialDelay = 30_000L)
-    public void cleanupOrphanedObservers() {
-        for (final String jobId : this.parkedJobKillResponseObservers.keySet()) {
-            try {
-                if (!this.agentRoutingService.isAgentConnectionLocal(jobId)) {
-                    final StreamObserver<JobKillRegistrationResponse> observer = this.parkedJobKillResponseObservers
-                        .remove(jobId);
-
-                    cancelObserverIfNecessary(observer);
-                }
-            } catch (final Exception unexpectedException) {
-                log.error("Got unexpected exception while trying to cleanup jobID {}. Moving on. "
-                    + "Exception: {}", jobId, unexpectedException);
+    private void checkOrphanedObserver(final String jobId, final StreamObserver<JobKillRegistrationResponse> observer) {
+        if (this.parkedJobKillResponseObservers.get(jobId) != observer) {
+            return;
+        }
+        try {
+            if (this.agentRoutingService.isAgentConnectionLocal(jobId)) {
+                this.scheduleOrphanCheck(jobId, observer);
+            } else if (this.parkedJobKillResponseObservers.remove(jobId, observer)) {
+                cancelObserverIfNecessary(observer);
             }
+        } catch (final Exception unexpectedException) {
+            log.error("Got unexpected exception while trying to cleanup jobID {}. Checking again later. "
+                + "Exception: {}", jobId, unexpectedException);
+            this.scheduleOrphanCheck(jobId, observer);
         }
     }
 
     /**
      * Converts StreamObserver into ServerCallStreamObserver in order to tell
-     * whether the observer is cancelled or not.
+     * whether the observer is cancelled or not. Observers parked by agent sessions aren't server call observers and
+     * are never considered cancelled here.
      *
      * @param observer Observer for which we would check the status
      * @return Boolean value: true if observer has status CANCELLED
      */
     @VisibleForTesting
     protected boolean isStreamObserverCancelled(final StreamObserver<JobKillRegistrationResponse> observer) {
-        return ((ServerCallStreamObserver<JobKillRegistrationResponse>) observer).isCancelled();
+        return observer instanceof ServerCallStreamObserver
+            && ((ServerCallStreamObserver<JobKillRegistrationResponse>) observer).isCancelled();
+    }
+
+    private void scheduleOrphanCheck(
+        final String jobId,
+        final StreamObserver<JobKillRegistrationResponse> observer
+    ) {
+        this.timerService.schedule(() -> this.checkOrphanedObserver(jobId, observer), ORPHAN_CHECK_INTERVAL);
     }
 
     /**
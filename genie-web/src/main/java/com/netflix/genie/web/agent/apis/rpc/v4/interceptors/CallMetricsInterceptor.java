@@ -0,0 +1,135 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.agent.apis.rpc.v4.interceptors;
+
+import com.netflix.genie.web.util.MetricsConstants;
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server interceptor that records the latency and the number of calls in flight of each gRPC method.
+ * <p>
+ * A call is timed from the moment it starts until it is closed by the server or cancelled by the agent, so streaming
+ * calls are timed over their whole lifetime.
+ *
+ * @since 4.4.0
+ */
+public class CallMetricsInterceptor implements ServerInterceptor {
+
+    static final String CALL_TIMER_NAME = "genie.rpc.server.calls.timer";
+    static final String IN_FLIGHT_GAUGE_NAME = "genie.rpc.server.calls.inFlight.gauge";
+    static final String SERVICE_TAG = "service";
+    static final String METHOD_TAG = "method";
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, AtomicInteger> inFlightCalls = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param registry The metrics registry to record to
+     */
+    public CallMetricsInterceptor(final MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+        final ServerCall<ReqT, RespT> call,
+        final Metadata headers,
+        final ServerCallHandler<ReqT, RespT> next
+    ) {
+        final MethodDescriptor<ReqT, RespT> method = call.getMethodDescriptor();
+        final Tags methodTags = Tags.of(
+            SERVICE_TAG, String.valueOf(method.getServiceName()),
+            METHOD_TAG, String.valueOf(method.getBareMethodName())
+        );
+        final AtomicInteger inFlight = this.inFlightCalls.computeIfAbsent(
+            method.getFullMethodName(),
+            fullMethodName -> this.registry.gauge(IN_FLIGHT_GAUGE_NAME, methodTags, new AtomicInteger())
+        );
+        final CallRecorder recorder = new CallRecorder(methodTags, inFlight);
+
+        final ServerCall.Listener<ReqT> listener;
+        try {
+            listener = next.startCall(
+                new ForwardingServerCall.SimpleForwardingServerCall<ReqT, RespT>(call) {
+                    @Override
+                    public void close(final Status status, final Metadata trailers) {
+                        recorder.record(status.getCode());
+                        super.close(status, trailers);
+                    }
+                },
+                headers
+            );
+        } catch (final RuntimeException e) {
+            recorder.record(Status.Code.UNKNOWN);
+            throw e;
+        }
+
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<ReqT>(listener) {
+            @Override
+            public void onCancel() {
+                recorder.record(Status.Code.CANCELLED);
+                super.onCancel();
+            }
+        };
+    }
+
+    /**
+     * Records a call exactly once, whichever of close or cancel comes first.
+     */
+    private final class CallRecorder {
+        private final Tags methodTags;
+        private final AtomicInteger inFlight;
+        private final AtomicBoolean recorded = new AtomicBoolean(false);
+        private final long startNanos = System.nanoTime();
+
+        private CallRecorder(final Tags methodTags, final AtomicInteger inFlight) {
+            this.methodTags = methodTags;
+            this.inFlight = inFlight;
+            this.inFlight.incrementAndGet();
+        }
+
+        private void record(final Status.Code code) {
+            if (this.recorded.compareAndSet(false, true)) {
+                this.inFlight.decrementAndGet();
+                CallMetricsInterceptor.this.registry
+                    .timer(CALL_TIMER_NAME, this.methodTags.and(MetricsConstants.TagKeys.STATUS, code.name()))
+                    .record(System.nanoTime() - this.startNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.agent.launchers.impl;
+
+import com.netflix.genie.common.internal.dtos.JobStatus;
+import com.netflix.genie.web.data.services.PersistenceService;
+import com.netflix.genie.web.data.services.impl.jpa.queries.aggregates.JobInfoAggregate;
+import com.netflix.genie.web.exceptions.checked.NotFoundException;
+import com.netflix.genie.web.properties.LocalAgentLauncherProperties;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+import jakarta.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * In-memory ledger of the capacity used by the jobs running on this host, used to admit agent launches without
+ * querying the database or serializing launches.
+ * <p>
+ * The usage is the sum of the reservations of the jobs launched through this ledger and of a baseline accounting for
+ * all the other jobs running on the host, as last read from the database. A launch is admitted by atomically adding
+ * its reservation to the usage if that doesn't exceed any of the limits. A reservation is released as soon as this
+ * node observes its job finished. As jobs may finish while their agent is connected to another node, the ledger is
+ * periodically reconciled with the database, which drops the reservations of finished jobs and recomputes the
+ * baseline.
+ *
+ * @since 4.4.0
+ */
+@Slf4j
+@ThreadSafe
+class HostCapacityLedger {
+
+    // The statuses of jobs counted by the host job information, as their agent hostname is set when claimed
+    private static final Set<JobStatus> CLAIMED_STATUSES = EnumSet.of(
+        JobStatus.CLAIMED,
+        JobStatus.INIT,
+        JobStatus.RUNNING
+    );
+
+    private final PersistenceService persistenceService;
+    private final LocalAgentLauncherProperties launcherProperties;
+    private final AtomicReference<Usage> usage = new AtomicReference<>(Usage.NONE);
+    private final ConcurrentMap<String, Usage> reservations = new ConcurrentHashMap<>();
+
+    // Only updated while reconciling
+    private Usage baseline = Usage.NONE;
+
+    /**
+     * Constructor.
+     *
+     * @param persistenceService The {@link PersistenceService} to look up the status of reserved jobs with
+     * @param launcherProperties The properties holding the limits of the host
+     */
+    HostCapacityLedger(
+        final PersistenceService persistenceService,
+        final LocalAgentLauncherProperties launcherProperties
+    ) {
+        this.persistenceService = persistenceService;
+        this.launcherProperties = launcherProperties;
+    }
+
+    /**
+     * Reserve capacity for a job if that doesn't exceed any of the limits of the host.
+     *
+     * @param jobId  The id of the job
+     * @param memory The memory of the job in MB
+     * @param cpu    The number of CPUs of the job
+     * @return {@link Optional#empty()} if the capacity was reserved, else the usage which prevented it
+     */
+    Optional<Usage> tryReserve(final String jobId, final long memory, final int cpu) {
+        final Usage reservation = new Usage(memory, cpu, 1L);
+        Usage current;
+        do {
+            current = this.usage.get();
+            if (this.exceedsLimits(current.plus(reservation))) {
+                return Optional.of(current);
+            }
+        } while (!this.usage.compareAndSet(current, current.plus(reservation)));
+
+        if (this.reservations.putIfAbsent(jobId, reservation) != null) {
+            // Capacity was already reserved by an earlier attempt to launch the same job
+            this.usage.accumulateAndGet(reservation, Usage::minus);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Release the capacity reserved for a job, if any.
+     *
+     * @param jobId The id of the job
+     */
+    void release(final String jobId) {
+        final Usage reservation = this.reservations.remove(jobId);
+        if (reservation != null) {
+            this.usage.accumulateAndGet(reservation, Usage::minus);
+        }
+    }
+
+    /**
+     * Reconcile the ledger with the database.
+     *
+     * @param hostJobInformationSupplier Supplier reading the job information of this host from the database
+     * @return The host job information read, which may be null
+     */
+    @Nullable
+    synchronized JobInfoAggregate reconcile(final Supplier<JobInfoAggregate> hostJobInformationSupplier) {
+        // Statuses only move forward, so a job claimed both before and after the host information was read is
+        // certain to be counted by it. The reservations of other jobs are kept on top of the baseline, which
+        // can only over count the jobs claimed in between until the next reconciliation.
+        final Set<String> claimedBefore = this.checkReservations(new ArrayList<>(this.reservations.keySet()));
+        final JobInfoAggregate hostJobInformation = hostJobInformationSupplier.get();
+        if (hostJobInformation == null) {
+            return null;
+        }
+        final Set<String> claimed = this.checkReservations(claimedBefore);
+
+        Usage newBaseline = new Usage(
+            hostJobInformation.getTotalMemoryUsed(),
+            hostJobInformation.getTotalCpuUsed(),
+            hostJobInformation.getNumberOfActiveJobs()
+        );
+        for (final String jobId : claimed) {
+            final Usage reservation = this.reservations.get(jobId);
+            if (reservation != null) {
+                newBaseline = newBaseline.minus(reservation);
+            }
+        }
+        newBaseline = newBaseline.atLeastNone();
+
+        final Usage delta = newBaseline.minus(this.baseline);
+        this.baseline = newBaseline;
+        final Usage reconciled = this.usage.accumulateAndGet(delta, Usage::plus);
+        log.debug("Reconciled capacity used on host: {} ({} reservations)", reconciled, this.reservations.size());
+        return hostJobInformation;
+    }
+
+    /**
+     * Get the capacity currently used on the host.
+     *
+     * @return The usage
+     */
+    Usage getUsage() {
+        return this.usage.get();
+    }
+
+    /**
+     * Look up the status of reserved jobs, releasing the reservations of the jobs which finished.
+     *
+     * @param jobIds The ids of the jobs to check
+     * @return The ids of the jobs which are claimed and still running
+     */
+    private Set<String> checkReservations(final Collection<String> jobIds) {
+        final Set<String> claimed = new HashSet<>();
+        for (final String jobId : jobIds) {
+            JobStatus status;
+            try {
+                status = this.persistenceService.getJobStatus(jobId);
+            } catch (final NotFoundException e) {
+                status = null;
+            }
+            if (status == null || status.isFinished()) {
+                log.debug("Releasing capacity reserved for job {} in status {}", jobId, status);
+                this.release(jobId);
+            } else if (CLAIMED_STATUSES.contains(status)) {
+                claimed.add(jobId);
+            }
+        }
+        return claimed;
+    }
+
+    private boolean exceedsLimits(final Usage candidate) {
+        final int maxTotalJobCpu = this.launcherProperties.getMaxTotalJobCpu();
+        final int maxActiveJobs = this.launcherProperties.getMaxActiveJobs();
+        return candidate.getMemory() > this.launcherProperties.getMaxTotalJobMemory()
+            || (maxTotalJobCpu > 0 && candidate.getCpu() > maxTotalJobCpu)
+            || (maxActiveJobs > 0 && candidate.getJobs() > maxActiveJobs);
+    }
+
+    /**
+     * The capacity used by jobs.
+     */
+    @Getter
+    @EqualsAndHashCode(doNotUseGetters = true)
+    @ToString(doNotUseGetters = true)
+    static final class Usage {
+
+        static final Usage NONE = new Usage(0L, 0L, 0L);
+
+        private final long memory;
+        private final long cpu;
+        private final long jobs;
+
+        /**
+         * Constructor.
+         *
+         * @param memory The memory in MB
+         * @param cpu    The number of CPUs
+         * @param jobs   The number of jobs
+         */
+        Usage(final long memory, final long cpu, final long jobs) {
+            this.memory = memory;
+            this.cpu = cpu;
+            this.jobs = jobs;
+        }
+
+        Usage plus(final Usage other) {
+            return new Usage(this.memory + other.memory, this.cpu + other.cpu, this.jobs + other.jobs);
+        }
+
+        Usage minus(final Usage other) {
+            return new Usage(this.memory - other.memory, this.cpu - other.cpu, this.jobs - other.jobs);
+        }
+
+        Usage atLeastNone() {
+            return new Usage(Math.max(0L, this.memory), Math.max(0L, this.cpu), Math.max(0L, this.jobs));
+        }
+    }
+}
@@ -20,7 +20,9 @@ package com.netflix.genie.web.agent.launchers.impl;
 import brave.Span;
 import brave.Tracer;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.annotations.VisibleForTesting;
@@ -28,6 +30,8 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.netflix.genie.common.external.util.GenieObjectMapper;
+import com.netflix.genie.common.internal.dtos.ComputeResources;
 import com.netflix.genie.common.internal.dtos.JobMetadata;
 import com.netflix.genie.common.internal.tracing.brave.BraveTracePropagator;
 import com.netflix.genie.common.internal.tracing.brave.BraveTracingComponents;
@@ -36,6 +40,7 @@ import com.netflix.genie.web.data.services.DataServices;
 import com.netflix.genie.web.data.services.PersistenceService;
 import com.netflix.genie.web.data.services.impl.jpa.queries.aggregates.JobInfoAggregate;
 import com.netflix.genie.web.dtos.ResolvedJob;
+import com.netflix.genie.web.events.JobStateChangeEvent;
 import com.netflix.genie.web.exceptions.checked.AgentLaunchException;
 import com.netflix.genie.web.introspection.GenieWebHostInfo;
 import com.netflix.genie.web.introspection.GenieWebRpcInfo;
@@ -51,14 +56,26 @@ import org.apache.commons.exec.DefaultExecuteResultHandler;
 import org.apache.commons.exec.ExecuteException;
 import org.apache.commons.exec.Executor;
 import org.apache.commons.exec.PumpStreamHandler;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.SystemUtils;
 import org.springframework.boot.actuate.health.Health;
+import org.springframework.context.ApplicationListener;
 
 import jakarta.annotation.Nullable;
 import jakarta.validation.Valid;
+import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -69,12 +86,16 @@ import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Implementation of {@link AgentLauncher} which launched Agent instances on the local Genie hardware.
+ * <p>
+ * Launches are admitted against the capacity of the host tracked in memory by a {@link HostCapacityLedger}. The
+ * capacity of a job is released when this node observes it finished and the ledger is reconciled with the database
+ * whenever the host job information is refreshed.
  *
  * @author tgianos
  * @since 4.0.0
  */
 @Slf4j
-public class LocalAgentLauncherImpl implements AgentLauncher {
+public class LocalAgentLauncherImpl implements AgentLauncher, ApplicationListener<JobStateChangeEvent> {
 
     private static final String NUMBER_ACTIVE_JOBS_KEY = "numActiveJobs";
     private static final String ALLOCATED_MEMORY_KEY = "allocatedMemory";
@@ -88,10 +109,15 @@ public class LocalAgentLauncherImpl implements AgentLauncher {
 
     private static final String RUN_USER_PLACEHOLDER = "<GENIE_USER>";
     private static final String SETS_ID = "setsid";
-    private static final Object MEMORY_CHECK_LOCK = new Object();
     private static final String THIS_CLASS = LocalAgentLauncherImpl.class.getCanonicalName();
     private static final Tag CLASS_TAG = Tag.of(LAUNCHER_CLASS_KEY, THIS_CLASS);
     private static final long DEFAULT_JOB_MEMORY = 1_536L;
+    private static final int DEFAULT_JOB_CPU = 1;
+    private static final String DAEMON_ARGUMENTS_FIELD = "arguments";
+    private static final String DAEMON_ENVIRONMENT_FIELD = "environment";
+    private static final String DAEMON_ACCEPTED_FIELD = "accepted";
+    private static final String DAEMON_MESSAGE_FIELD = "message";
+    private static final byte NEW_LINE = '\n';
 
     private final String hostname;
     private final PersistenceService persistenceService;
@@ -101,6 +127,7 @@ public class LocalAgentLauncherImpl implements AgentLauncher {
     private final Executor sharedExecutor;
     private final int rpcPort;
     private final LoadingCache<String, JobInfoAggregate> jobInfoCache;
+    private final HostCapacityLedger capacityLedger;
     private final JsonNode launcherExt;
 
     private final AtomicLong numActiveJobs;
@@ -137,6 +164,7 @@ public class LocalAgentLauncherImpl implements AgentLauncher {
         this.executorFactory = executorFactory;
         this.registry = registry;
         this.sharedExecutor = this.executorFactory.newInstance(false);
+        this.capacityLedger = new HostCapacityLedger(this.persistenceService, this.launcherProperties);
 
         this.numActiveJobs = new AtomicLong(0L);
         this.usedMemory = new AtomicLong(0L);
@@ -161,7 +189,7 @@ public class LocalAgentLauncherImpl implements AgentLauncher {
         // Leverage a loading cache to handle the timed async fetching for us rather than creating a thread
         // on a scheduler etc. This also provides atomicity.
         // Note that this is not intended to be used for exact calculations and more for metrics and health checks
-        // as the data could be somewhat stale
+        // as the data could be somewhat stale. Each fetch also reconciles the capacity ledger admitting launches.
         this.jobInfoCache = Caffeine
             .newBuilder()
             // The refresh fails silently this will protect from stale data
@@ -170,7 +198,9 @@ public class LocalAgentLauncherImpl implements AgentLauncher {
             .initialCapacity(1)
             .build(
                 host -> {
-                    final JobInfoAggregate info = this.persistenceService.getHostJobInformation(host);
+                    final JobInfoAggregate info = this.capacityLedger.reconcile(
+                        () -> this.persistenceService.getHostJobInformation(host)
+                    );
 
                     // this should always be the case but just in case
                     if (info != null) {
@@ -223,11 +253,9 @@ public class LocalAgentLauncherImpl implements AgentLauncher {
             }
 
             // Check error conditions
-            final long jobMemory = resolvedJob
-                .getJobEnvironment()
-                .getComputeResources()
-                .getMemoryMb()
-                .orElse(DEFAULT_JOB_MEMORY);
+            final ComputeResources computeResources = resolvedJob.getJobEnvironment().getComputeResources();
+            final long jobMemory = computeResources.getMemoryMb().orElse(DEFAULT_JOB_MEMORY);
+            final int jobCpu = computeResources.getCpu().orElse(DEFAULT_JOB_CPU);
             final String jobId = resolvedJob.getJobSpecification().getJob().getId();
 
             // Job was resolved with more memory allocated than the system was configured to allow
@@ -241,72 +269,52 @@ public class LocalAgentLauncherImpl implements AgentLauncher {
                 );
             }
 
-            final CommandLine commandLine = this.createCommandLine(
-                ImmutableMap.of(
-                    LocalAgentLauncherProperties.SERVER_HOST_PLACEHOLDER, this.launcherProperties.getServerHostname(),
-                    LocalAgentLauncherProperties.SERVER_PORT_PLACEHOLDER, Integer.toString(this.rpcPort),
-                    LocalAgentLauncherProperties.JOB_ID_PLACEHOLDER, jobId,
-                    RUN_USER_PLACEHOLDER, user,
-                    LocalAgentLauncherProperties.AGENT_JAR_PLACEHOLDER, this.launcherProperties.getAgentJarPath()
-                )
+            final Map<String, String> argumentValueReplacements = ImmutableMap.of(
+                LocalAgentLauncherProperties.SERVER_HOST_PLACEHOLDER, this.launcherProperties.getServerHostname(),
+                LocalAgentLauncherProperties.SERVER_PORT_PLACEHOLDER, Integer.toString(this.rpcPort),
+                LocalAgentLauncherProperties.JOB_ID_PLACEHOLDER, jobId,
+                RUN_USER_PLACEHOLDER, user,
+                LocalAgentLauncherProperties.AGENT_JAR_PLACEHOLDER, this.launcherProperties.getAgentJarPath()
             );
-
-            // One at a time to ensure we don't overflow configured max
-            synchronized (MEMORY_CHECK_LOCK) {
-                final long usedMemoryOnHost = this.persistenceService.getUsedMemoryOnHost(this.hostname);
-                final long expectedUsedMemoryOnHost = usedMemoryOnHost + jobMemory;
-                if (expectedUsedMemoryOnHost > this.launcherProperties.getMaxTotalJobMemory()) {
-                    throw new AgentLaunchException(
-                        "Running job "
-                            + jobId
-                            + " with "
-                            + jobMemory
-                            + "MB of memory would cause there to be more memory used than the configured amount of "
-                            + this.launcherProperties.getMaxTotalJobMemory()
-                            + "MB. "
-                            + usedMemoryOnHost
-                            + "MB worth of jobs are currently running on this node."
-                    );
-                }
-            }
-
-            // Inherit server environment
-            final Map<String, String> environment = Maps.newHashMap(System.getenv());
-            // Add extra environment from configuration, if any
-            environment.putAll(this.launcherProperties.getAdditionalEnvironment());
-            // Add tracing context so agent continues trace
-            final Span currentSpan = this.tracer.currentSpan();
-            if (currentSpan != null) {
-                environment.putAll(this.tracePropagator.injectForAgent(currentSpan.context()));
-            }
-            log.debug("Launching agent: {}, env: {}", commandLine, environment);
-
-            // TODO: What happens if the server crashes? Does the process live on? Make sure this is totally detached
-            final Executor executor = this.executorFactory.newInstance(true);
-
-            if (this.launcherProperties.isProcessOutputCaptureEnabled()) {
-                final String debugOutputPath =
-                    System.getProperty(SystemUtils.JAVA_IO_TMPDIR, "/tmp") + "/agent-job-" + jobId + ".txt";
-                try {
-                    final FileOutputStream fileOutput = new FileOutputStream(debugOutputPath, false);
-                    executor.setStreamHandler(new PumpStreamHandler(fileOutput));
-                } catch (final FileNotFoundException e) {
-                    log.error("Failed to create agent process output file", e);
-                    throw new AgentLaunchException(e);
-                }
+            final CommandLine commandLine = this.createCommandLine(argumentValueReplacements);
+
+            // Refresh the host job information, and so reconcile the capacity ledger, if it's stale
+            this.refreshHostJobInformation();
+            final Optional<HostCapacityLedger.Usage> usageOnHost = this.capacityLedger.tryReserve(
+                jobId,
+                jobMemory,
+                jobCpu
+            );
+            if (usageOnHost.isPresent()) {
+                throw new AgentLaunchException(
+                    "Running job "
+                        + jobId
+                        + " with "
+                        + jobMemory
+                        + "MB of memory and "
+                        + jobCpu
+                        + " CPUs would exceed the capacity configured for this node of "
+                        + this.launcherProperties.getMaxTotalJobMemory()
+                        + "MB of memory, "
+                        + this.launcherProperties.getMaxTotalJobCpu()
+                        + " CPUs and "
+                        + this.launcherProperties.getMaxActiveJobs()
+                        + " jobs (0 for no limit). "
+                        + usageOnHost.get().getJobs()
+                        + " jobs using "
+                        + usageOnHost.get().getMemory()
+                        + "MB of memory and "
+                        + usageOnHost.get().getCpu()
+                        + " CPUs are currently running on this node."
+                );
             }
 
-            log.info("Launching agent for job {}", jobId);
-
-            final AgentResultHandler resultHandler = new AgentResultHandler(jobId);
-
             try {
-                executor.execute(commandLine, environment, resultHandler);
-            } catch (final IOException ioe) {
-                throw new AgentLaunchException(
-                    "Unable to launch agent using command: " + commandLine.toString(),
-                    ioe
-                );
+                this.startAgent(jobId, commandLine, argumentValueReplacements);
+            } catch (final AgentLaunchException | RuntimeException e) {
+                // The job won't be claimed so don't hold its capacity until the next reconciliation
+                this.capacityLedger.release(jobId);
+                throw e;
             }
 
             MetricsUtils.addSuccessTags(tags);
@@ -368,6 +376,237 @@ public class LocalAgentLauncherImpl implements AgentLauncher {
             .build();
     }
 
+    /**
+     * Release the capacity reserved for jobs launched by this node once they finished.
+     *
+     * @param event The {@link JobStateChangeEvent} of a job
+     */
+    @Override
+    public void onApplicationEvent(final JobStateChangeEvent event) {
+        if (event.getNewStatus().isFinished()) {
+            this.capacityLedger.release(event.getJobId());
+        }
+    }
+
+    /**
+     * Read the host job information, which refreshes it in the background if stale and so reconciles the capacity
+     * ledger. Errors are only logged as launches can still be admitted against the capacity ledger.
+     */
+    private void refreshHostJobInformation() {
+        try {
+            this.jobInfoCache.get(this.hostname);
+        } catch (final Exception e) {
+            log.warn("Unable to refresh job information of host {}: {}", this.hostname, e.getMessage());
+        }
+    }
+
+    /**
+     * Hand the job over to the agent daemon if configured, else launch an agent process for it.
+     *
+     * @param jobId                     The id of the job
+     * @param commandLine               The command line of the agent process
+     * @param argumentValueReplacements The values of the placeholders of the daemon arguments template
+     * @throws AgentLaunchException If the agent process couldn't be launched
+     */
+    private void startAgent(
+        final String jobId,
+        final CommandLine commandLine,
+        final Map<String, String> argumentValueReplacements
+    ) throws AgentLaunchException {
+        // Extra environment from configuration, if any
+        final Map<String, String> agentEnvironment = Maps.newHashMap(this.launcherProperties.getAdditionalEnvironment());
+        // Add tracing context so agent continues trace
+        final Span currentSpan = this.tracer.currentSpan();
+        if (currentSpan != null) {
+            agentEnvironment.putAll(this.tracePropagator.injectForAgent(currentSpan.context()));
+        }
+
+        // Jobs run within the daemon share its user, only hand jobs over when agents don't run as the job user
+        if (StringUtils.isNotBlank(this.launcherProperties.getDaemonSocketPath())
+            && !this.launcherProperties.isRunAsUserEnabled()
+            && this.launchInDaemon(jobId, argumentValueReplacements, agentEnvironment)) {
+            return;
+        }
+
+        // Inherit server environment
+        final Map<String, String> environment = Maps.newHashMap(System.getenv());
+        environment.putAll(agentEnvironment);
+        log.debug("Launching agent: {}, env: {}", commandLine, environment);
+
+        // TODO: What happens if the server crashes? Does the process live on? Make sure this is totally detached
+        final Executor executor = this.executorFactory.newInstance(true);
+
+        if (this.launcherProperties.isProcessOutputCaptureEnabled()) {
+            final String debugOutputPath =
+                System.getProperty(SystemUtils.JAVA_IO_TMPDIR, "/tmp") + "/agent-job-" + jobId + ".txt";
+            try {
+                final FileOutputStream fileOutput = new FileOutputStream(debugOutputPath, false);
+                executor.setStreamHandler(new PumpStreamHandler(fileOutput));
+            } catch (final FileNotFoundException e) {
+                log.error("Failed to create agent process output file", e);
+                throw new AgentLaunchException(e);
+            }
+        }
+
+        log.info("Launching agent for job {}", jobId);
+
+        final AgentResultHandler resultHandler = new AgentResultHandler(jobId, this.capacityLedger);
+
+        try {
+            executor.execute(commandLine, environment, resultHandler);
+        } catch (final IOException ioe) {
+            throw new AgentLaunchException(
+                "Unable to launch agent using command: " + commandLine.toString(),
+                ioe
+            );
+        }
+    }
+
+    /**
+     * Hand a job over to the local agent daemon.
+     * <p>
+     * Once the request was sent the daemon may have accepted the job even if no answer is received, so launching an
+     * agent process then could run the job twice. The launch fails instead.
+     *
+     * @param jobId                     The id of the job
+     * @param argumentValueReplacements The values of the placeholders of the daemon arguments template
+     * @param agentEnvironment          The environment the agent of the job runs with, on top of the daemon's
+     * @return true if the daemon accepted the job, false if an agent process should be launched instead
+     * @throws AgentLaunchException If it is unknown whether the daemon accepted the job
+     */
+    private boolean launchInDaemon(
+        final String jobId,
+        final Map<String, String> argumentValueReplacements,
+        final Map<String, String> agentEnvironment
+    ) throws AgentLaunchException {
+        final String socketPath = this.launcherProperties.getDaemonSocketPath();
+        final ObjectNode request = GenieObjectMapper.getMapper().createObjectNode();
+        final ArrayNode arguments = request.putArray(DAEMON_ARGUMENTS_FIELD);
+        for (final String argument : this.launcherProperties.getDaemonArgumentsTemplate()) {
+            arguments.add(argumentValueReplacements.getOrDefault(argument, argument));
+        }
+        final ObjectNode environment = request.putObject(DAEMON_ENVIRONMENT_FIELD);
+        agentEnvironment.forEach(environment::put);
+
+        final JsonNode response;
+        try {
+            final String responseLine = exchangeLine(
+                UnixDomainSocketAddress.of(socketPath),
+                GenieObjectMapper.getMapper().writeValueAsString(request),
+                this.launcherProperties.getDaemonHandoffTimeout()
+            );
+            response = GenieObjectMapper.getMapper().readTree(responseLine);
+        } catch (final RequestNotSentException e) {
+            log.warn(
+                "Unable to hand job {} over to agent daemon listening on {}, launching an agent process: {}",
+                jobId,
+                socketPath,
+                e.getMessage()
+            );
+            return false;
+        } catch (final IOException e) {
+            throw new AgentLaunchException(
+                "Unable to tell whether agent daemon listening on "
+                    + socketPath
+                    + " accepted job "
+                    + jobId
+                    + ", not launching another agent for it",
+                e
+            );
+        }
+
+        if (response.path(DAEMON_ACCEPTED_FIELD).asBoolean(false)) {
+            log.info("Job {} handed over to agent daemon listening on {}", jobId, socketPath);
+            return true;
+        }
+        log.warn(
+            "Agent daemon rejected job {} ({}), launching an agent process",
+            jobId,
+            response.path(DAEMON_MESSAGE_FIELD).asText()
+        );
+        return false;
+    }
+
+    /**
+     * Send a line to the given socket and read the line sent back, within the given timeout. The channel is
+     * non-blocking so a daemon which doesn't accept, read or answer can't stall the launch.
+     *
+     * @throws RequestNotSentException If the request couldn't be sent, i.e. the daemon can't have received it
+     * @throws IOException             If no response was read after sending the request or part of it
+     */
+    private static String exchangeLine(
+        final UnixDomainSocketAddress address,
+        final String request,
+        final Duration timeout
+    ) throws IOException {
+        final long deadline = System.nanoTime() + timeout.toNanos();
+        try (
+            SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+            Selector selector = Selector.open()
+        ) {
+            channel.configureBlocking(false);
+            final ByteBuffer requestBuffer = ByteBuffer.wrap((request + "\n").getBytes(StandardCharsets.UTF_8));
+            try {
+                if (!channel.connect(address)) {
+                    while (!channel.finishConnect()) {
+                        awaitReady(selector, channel, SelectionKey.OP_CONNECT, deadline);
+                    }
+                }
+                // Nothing reached the daemon as long as not a single byte was written
+                while (requestBuffer.position() == 0) {
+                    if (channel.write(requestBuffer) == 0) {
+                        awaitReady(selector, channel, SelectionKey.OP_WRITE, deadline);
+                    }
+                }
+            } catch (final IOException e) {
+                throw new RequestNotSentException(e);
+            }
+
+            while (requestBuffer.hasRemaining()) {
+                if (channel.write(requestBuffer) == 0) {
+                    awaitReady(selector, channel, SelectionKey.OP_WRITE, deadline);
+                }
+            }
+
+            final ByteArrayOutputStream response = new ByteArrayOutputStream();
+            final ByteBuffer responseBuffer = ByteBuffer.allocate(1024);
+            while (true) {
+                final int read = channel.read(responseBuffer);
+                if (read < 0) {
+                    throw new IOException("Connection closed without response");
+                }
+                if (read == 0) {
+                    awaitReady(selector, channel, SelectionKey.OP_READ, deadline);
+                    continue;
+                }
+                responseBuffer.flip();
+                while (responseBuffer.hasRemaining()) {
+                    final byte b = responseBuffer.get();
+                    if (b == NEW_LINE) {
+                        return response.toString(StandardCharsets.UTF_8);
+                    }
+                    response.write(b);
+                }
+                responseBuffer.clear();
+            }
+        }
+    }
+
+    private static void awaitReady(
+        final Selector selector,
+        final SocketChannel channel,
+        final int operation,
+        final long deadline
+    ) throws IOException {
+        final long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remainingMillis <= 0) {
+            throw new SocketTimeoutException("No response within the handoff timeout");
+        }
+        channel.register(selector, operation);
+        selector.select(remainingMillis);
+        selector.selectedKeys().clear();
+    }
+
     private CommandLine createCommandLine(
         final Map<String, String> argumentValueReplacements
     ) {
@@ -399,7 +638,20 @@ public class LocalAgentLauncherImpl implements AgentLauncher {
     }
 
     /**
-     * Simple {@link org.apache.commons.exec.ExecuteResultHandler} implementation that logs completion.
+     * Failure to send a launch request to the agent daemon, before any of it was written.
+     */
+    private static final class RequestNotSentException extends IOException {
+
+        private static final long serialVersionUID = 3370526931453372094L;
+
+        RequestNotSentException(final IOException cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Simple {@link org.apache.commons.exec.ExecuteResultHandler} implementation that logs completion and releases the
+     * capacity reserved for the job.
      *
      * @author tgianos
      * @since 4.0.0
@@ -409,14 +661,17 @@ public class LocalAgentLauncherImpl implements AgentLauncher {
     static class AgentResultHandler extends DefaultExecuteResultHandler {
 
         private final String jobId;
+        private final HostCapacityLedger capacityLedger;
 
         /**
          * Constructor.
          *
-         * @param jobId The id of the job the agent this handler is attached to is running
+         * @param jobId          The id of the job the agent this handler is attached to is running
+         * @param capacityLedger The {@link HostCapacityLedger} holding the capacity reserved for the job
          */
-        AgentResultHandler(final String jobId) {
+        AgentResultHandler(final String jobId, final HostCapacityLedger capacityLedger) {
             this.jobId = jobId;
+            this.capacityLedger = capacityLedger;
         }
 
         /**
@@ -426,6 +681,7 @@ public class LocalAgentLauncherImpl implements AgentLauncher {
         public void onProcessComplete(final int exitValue) {
             super.onProcessComplete(exitValue);
             log.info("Agent process for job {} completed with exit value {}", this.jobId, exitValue);
+            this.capacityLedger.release(this.jobId);
         }
 
         /**
@@ -435,6 +691,7 @@ public class LocalAgentLauncherImpl implements AgentLauncher {
         public void onProcessFailed(final ExecuteException e) {
             super.onProcessFailed(e);
             log.error("Agent process failed for job {} due to {}", this.jobId, e.getMessage(), e);
+            this.capacityLedger.release(this.jobId);
         }
     }
 }
@@ -59,6 +59,7 @@ import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
 import jakarta.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -67,12 +68,19 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 /**
  * Agent launcher that spawns a job in a dedicated container through Titus.
+ * <p>
+ * When the creation pool is enabled (see {@link TitusAgentLauncherProperties.CreationPool}) the job creation requests
+ * of concurrent launches are queued and sent by a {@link TitusJobCreationPool} with bounded concurrency, instead of
+ * each launching thread calling Titus directly.
  *
  * @author mprimi
  * @see <a href="https://netflix.github.io/titus/">Titus OSS Project</a>
@@ -124,6 +132,8 @@ public class TitusAgentLauncherImpl implements AgentLauncher {
     private final MeterRegistry registry;
     private final Tracer tracer;
     private final BraveTracePropagator tracePropagator;
+    @Nullable
+    private final TitusJobCreationPool creationPool;
 
     /**
      * Constructor.
@@ -169,6 +179,15 @@ public class TitusAgentLauncherImpl implements AgentLauncher {
         }
         this.binder = Binder.get(this.environment);
         this.registry = registry;
+        if (titusAgentLauncherProperties.getCreationPool().isEnabled()) {
+            this.creationPool = new TitusJobCreationPool(
+                this::postJobRequest,
+                titusAgentLauncherProperties.getCreationPool(),
+                registry
+            );
+        } else {
+            this.creationPool = null;
+        }
     }
 
     /**
@@ -189,13 +208,7 @@ public class TitusAgentLauncherImpl implements AgentLauncher {
 
         try {
             final TitusBatchJobRequest titusJobRequest = this.createJobRequest(resolvedJob);
-            final TitusBatchJobResponse titusResponse = this.retryTemplate.execute(
-                (RetryCallback<TitusBatchJobResponse, Throwable>) context -> restTemplate.postForObject(
-                    titusAgentLauncherProperties.getEndpoint().toString() + TITUS_API_JOB_PATH,
-                    titusJobRequest,
-                    TitusBatchJobResponse.class
-                )
-            );
+            final TitusBatchJobResponse titusResponse = this.requestTitusJob(titusJobRequest);
 
             if (titusResponse == null) {
                 throw new AgentLaunchException("Failed to request creation of Titus job for job " + jobId);
@@ -234,6 +247,16 @@ public class TitusAgentLauncherImpl implements AgentLauncher {
         }
     }
 
+    /**
+     * Stop the job creation pool, if enabled. Requests not sent to Titus yet fail.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (this.creationPool != null) {
+            this.creationPool.shutdown();
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -244,6 +267,48 @@ public class TitusAgentLauncherImpl implements AgentLauncher {
             .build();
     }
 
+    @Nullable
+    private TitusBatchJobResponse requestTitusJob(final TitusBatchJobRequest titusJobRequest) throws Throwable {
+        if (this.creationPool == null) {
+            return this.postJobRequest(titusJobRequest);
+        }
+        final TitusJobCreationPool.PendingCreation pending = this.creationPool.submit(titusJobRequest);
+        final CompletableFuture<TitusBatchJobResponse> response = pending.getFuture();
+        final long timeoutMillis = this.titusAgentLauncherProperties.getCreationPool().getTimeout().toMillis();
+        try {
+            try {
+                return response.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (final TimeoutException e) {
+                // Give up right away only if the request wasn't sent. Once sent the Titus job may exist, and giving
+                // up would leave it running without a Genie job to claim, so wait as long again for the response
+                if (pending.cancelIfNotSent()) {
+                    throw e;
+                }
+                LOG.warn("Titus job creation request sent but not answered in time, waiting for the response");
+                return response.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            }
+        } catch (final InterruptedException e) {
+            // Being shut down. Don't send the request if it's still queued, a Titus job created regardless won't be
+            // able to claim the failed Genie job
+            pending.cancelIfNotSent();
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (final ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Nullable
+    private TitusBatchJobResponse postJobRequest(final TitusBatchJobRequest titusJobRequest) throws Throwable {
+        return this.retryTemplate.execute(
+            (RetryCallback<TitusBatchJobResponse, Throwable>) context -> restTemplate.postForObject(
+                titusAgentLauncherProperties.getEndpoint().toString() + TITUS_API_JOB_PATH,
+                titusJobRequest,
+                TitusBatchJobResponse.class
+            )
+        );
+    }
+
     private TitusBatchJobRequest createJobRequest(final ResolvedJob resolvedJob) throws AgentLaunchException {
         final String jobId = resolvedJob.getJobSpecification().getJob().getId();
 
@@ -0,0 +1,221 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.agent.launchers.impl;
+
+import com.netflix.genie.web.agent.launchers.dtos.TitusBatchJobRequest;
+import com.netflix.genie.web.agent.launchers.dtos.TitusBatchJobResponse;
+import com.netflix.genie.web.properties.TitusAgentLauncherProperties;
+import com.netflix.genie.web.util.MetricsUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import jakarta.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sends the job creation requests of concurrent launches to Titus from a fixed pool of threads, which bounds the
+ * number of requests in flight to Titus no matter how many jobs are being launched at once.
+ * <p>
+ * A request waiting for a free sender can be withdrawn, see {@link PendingCreation#cancelIfNotSent()}. Once sent it
+ * can't: the Titus job may be created regardless of the launch giving up, so the caller must wait for the response.
+ *
+ * @since 4.4.0
+ */
+@Slf4j
+class TitusJobCreationPool {
+
+    static final String REQUEST_TIMER = "genie.agents.launchers.titus.creationPool.request.timer";
+    static final String QUEUE_WAIT_TIMER = "genie.agents.launchers.titus.creationPool.queueWait.timer";
+    static final String QUEUE_SIZE_GAUGE = "genie.agents.launchers.titus.creationPool.queueSize.gauge";
+
+    private final TitusJobCreator creator;
+    private final MeterRegistry registry;
+    private final ThreadPoolExecutor senders;
+
+    /**
+     * Constructor.
+     *
+     * @param creator    The function making the actual call to the Titus API
+     * @param properties The creation pool properties
+     * @param registry   The metrics registry to use
+     */
+    TitusJobCreationPool(
+        final TitusJobCreator creator,
+        final TitusAgentLauncherProperties.CreationPool properties,
+        final MeterRegistry registry
+    ) {
+        this.creator = creator;
+        this.registry = registry;
+        final CustomizableThreadFactory senderThreadFactory = new CustomizableThreadFactory("genie-titus-launch-");
+        senderThreadFactory.setDaemon(true);
+        final BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
+        this.senders = new ThreadPoolExecutor(
+            properties.getMaxConcurrentRequests(),
+            properties.getMaxConcurrentRequests(),
+            0L,
+            TimeUnit.MILLISECONDS,
+            queue,
+            senderThreadFactory
+        );
+        registry.gaugeCollectionSize(QUEUE_SIZE_GAUGE, Tags.empty(), queue);
+    }
+
+    /**
+     * Queue a job creation request.
+     *
+     * @param request The request to send to Titus
+     * @return The pending request, whose future is completed with the Titus response once the request was sent, or
+     * exceptionally if it failed
+     */
+    PendingCreation submit(final TitusBatchJobRequest request) {
+        final PendingCreation pending = new PendingCreation(request);
+        try {
+            this.senders.execute(() -> this.create(pending));
+        } catch (final RejectedExecutionException e) {
+            pending.getFuture().completeExceptionally(new IllegalStateException("Titus launcher is shut down", e));
+        }
+        return pending;
+    }
+
+    /**
+     * Stop sending. Requests not sent yet are failed, those in flight complete.
+     */
+    void shutdown() {
+        this.senders.shutdown();
+        final List<Runnable> remaining = new ArrayList<>();
+        this.senders.getQueue().drainTo(remaining);
+        log.debug("Failing {} Titus job creation requests not sent at shutdown", remaining.size());
+        // Pending requests are only reachable through their task, which fails them when run
+        remaining.forEach(Runnable::run);
+    }
+
+    private void create(final PendingCreation pending) {
+        final long start = System.nanoTime();
+        Timer
+            .builder(QUEUE_WAIT_TIMER)
+            .register(this.registry)
+            .record(start - pending.getEnqueuedAt(), TimeUnit.NANOSECONDS);
+        if (!pending.markSent()) {
+            // Withdrawn while waiting for a sender
+            return;
+        }
+        if (this.senders.isShutdown()) {
+            pending.getFuture().completeExceptionally(new IllegalStateException("Titus launcher shut down"));
+            return;
+        }
+        final Set<Tag> tags = MetricsUtils.newSuccessTagsSet();
+        TitusBatchJobResponse response = null;
+        Throwable failure = null;
+        try {
+            response = this.creator.create(pending.getRequest());
+        } catch (final Throwable t) {
+            failure = t;
+            tags.clear();
+            MetricsUtils.addFailureTagsWithException(tags, t);
+        }
+        Timer
+            .builder(REQUEST_TIMER)
+            .tags(tags)
+            .publishPercentileHistogram()
+            .register(this.registry)
+            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        // Only complete once the request is recorded so the caller observes consistent metrics
+        if (failure == null) {
+            pending.getFuture().complete(response);
+        } else {
+            pending.getFuture().completeExceptionally(failure);
+        }
+    }
+
+    /**
+     * Makes the call creating a job in Titus.
+     */
+    @FunctionalInterface
+    interface TitusJobCreator {
+        /**
+         * Create the Titus job described by the request.
+         *
+         * @param request The job creation request
+         * @return The Titus response
+         * @throws Throwable On any failure
+         */
+        @Nullable
+        TitusBatchJobResponse create(TitusBatchJobRequest request) throws Throwable;
+    }
+
+    /**
+     * A queued job creation request.
+     */
+    static final class PendingCreation {
+        private final TitusBatchJobRequest request;
+        private final CompletableFuture<TitusBatchJobResponse> future = new CompletableFuture<>();
+        private final AtomicBoolean sentOrCancelled = new AtomicBoolean(false);
+        private final long enqueuedAt = System.nanoTime();
+
+        private PendingCreation(final TitusBatchJobRequest request) {
+            this.request = request;
+        }
+
+        /**
+         * Get the future completed with the Titus response.
+         *
+         * @return The future of the response
+         */
+        CompletableFuture<TitusBatchJobResponse> getFuture() {
+            return this.future;
+        }
+
+        /**
+         * Withdraw the request if it wasn't handed to Titus yet.
+         *
+         * @return true if the request won't be sent, false if it was already sent and its response must be awaited
+         */
+        boolean cancelIfNotSent() {
+            if (this.sentOrCancelled.compareAndSet(false, true)) {
+                this.future.cancel(false);
+                return true;
+            }
+            return false;
+        }
+
+        private boolean markSent() {
+            return this.sentOrCancelled.compareAndSet(false, true);
+        }
+
+        private TitusBatchJobRequest getRequest() {
+            return this.request;
+        }
+
+        private long getEnqueuedAt() {
+            return this.enqueuedAt;
+        }
+    }
+}
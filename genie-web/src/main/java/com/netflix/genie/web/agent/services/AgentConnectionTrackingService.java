@@ -17,6 +17,9 @@
  */
 package com.netflix.genie.web.agent.services;
 
+import java.time.Instant;
+import java.util.Map;
+
 /**
  * Tracks active connections and heartbeats coming from agents actively executing a job.
  *
@@ -47,4 +50,11 @@ public interface AgentConnectionTrackingService {
      * @return the number of agents connected.
      */
     long getConnectedAgentsCount();
+
+    /**
+     * Get the locally connected agents along with the time each of them connected to this node.
+     *
+     * @return the time each agent connected, by job id
+     */
+    Map<String, Instant> getConnectedAgents();
 }
@@ -66,6 +66,13 @@ public interface AgentFileStreamService {
      */
     Optional<DirectoryManifest> getManifest(String jobId);
 
+    /**
+     * Get the number of file transfers from agents connected to this node currently in progress.
+     *
+     * @return the number of active transfers
+     */
+    int getActiveTransfersCount();
+
     /**
      * A {@link Resource} for files local to a remote agent.
      *
@@ -21,6 +21,7 @@ import org.springframework.validation.annotation.Validated;
 
 import jakarta.validation.constraints.NotBlank;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service that tracks agent connections on the local Genie node and provides routing information for
@@ -69,4 +70,11 @@ public interface AgentRoutingService {
      * @return true if an agent running the job is connected
      */
     boolean isAgentConnected(String jobId);
+
+    /**
+     * Get a snapshot of the jobs whose agent is currently connected, to this node or any other node.
+     *
+     * @return the ids of the jobs whose agent is connected, empty if the connections could not be listed
+     */
+    Optional<Set<String>> getConnectedAgentJobIds();
 }
@@ -19,26 +19,33 @@ package com.netflix.genie.web.agent.services.impl;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 import com.netflix.genie.web.agent.services.AgentConnectionTrackingService;
 import com.netflix.genie.web.agent.services.AgentRoutingService;
 import com.netflix.genie.web.properties.AgentConnectionTrackingServiceProperties;
+import com.netflix.genie.web.services.TimerService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.actuate.info.Info;
 import org.springframework.boot.actuate.info.InfoContributor;
-import org.springframework.scheduling.TaskScheduler;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Supplier;
 
 /**
  * This service keeps track of agent connections and heartbeats. It notifies the downstream {@link AgentRoutingService}
  * of connected/disconnected agents while hiding details of connections, disconnections, missed heartbeats.
+ * <p>
+ * Records are kept in a concurrent map and each job's record is only modified while holding that job's entry, so
+ * heartbeats of different agents don't contend with each other. Rather than scanning every record periodically, each
+ * job has a timer set for when its oldest stream expires unless it heartbeats again. A job whose streams are still
+ * alive when its timer fires sets it again for its new oldest heartbeat, so a heartbeat itself doesn't touch the
+ * timer.
  *
  * @author mprimi
  * @since 4.0.0
@@ -47,8 +54,8 @@ import java.util.function.Supplier;
 public class AgentConnectionTrackingServiceImpl implements AgentConnectionTrackingService, InfoContributor {
 
     private final AgentRoutingService agentRoutingService;
-    private final TaskScheduler taskScheduler;
-    private final HashMap<String, JobStreamsRecord> jobStreamRecordsMap = Maps.newHashMap();
+    private final TimerService timerService;
+    private final ConcurrentMap<String, JobStreamsRecord> jobStreamRecordsMap = new ConcurrentHashMap<>();
     private final AgentConnectionTrackingServiceProperties serviceProperties;
     private final Supplier<Instant> timeSupplier;
 
@@ -56,126 +63,142 @@ public class AgentConnectionTrackingServiceImpl implements AgentConnectionTracki
      * Constructor.
      *
      * @param agentRoutingService the agent routing service
-     * @param taskScheduler       the task scheduler
+     * @param timerService        the timer service
      * @param serviceProperties   the service properties
      */
     public AgentConnectionTrackingServiceImpl(
         final AgentRoutingService agentRoutingService,
-        final TaskScheduler taskScheduler,
+        final TimerService timerService,
         final AgentConnectionTrackingServiceProperties serviceProperties
     ) {
-        this(agentRoutingService, taskScheduler, serviceProperties, Instant::now);
+        this(agentRoutingService, timerService, serviceProperties, Instant::now);
     }
 
     @VisibleForTesting
     AgentConnectionTrackingServiceImpl(
         final AgentRoutingService agentRoutingService,
-        final TaskScheduler taskScheduler,
+        final TimerService timerService,
         final AgentConnectionTrackingServiceProperties serviceProperties,
         final Supplier<Instant> timeSupplier
     ) {
         this.agentRoutingService = agentRoutingService;
-        this.taskScheduler = taskScheduler;
+        this.timerService = timerService;
         this.serviceProperties = serviceProperties;
         this.timeSupplier = timeSupplier;
-
-        this.taskScheduler.scheduleAtFixedRate(this::cleanupTask, this.serviceProperties.getCleanupInterval());
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public synchronized void notifyHeartbeat(final String streamId, final String claimedJobId) {
-
-        boolean isNew = false;
-        final JobStreamsRecord record;
-
-        if (this.jobStreamRecordsMap.containsKey(claimedJobId)) {
-            record = this.jobStreamRecordsMap.get(claimedJobId);
-        } else {
-            record = new JobStreamsRecord(claimedJobId);
-            this.jobStreamRecordsMap.put(claimedJobId, record);
-            isNew = true;
-        }
+    public void notifyHeartbeat(final String streamId, final String claimedJobId) {
+        final Instant currentTime = this.timeSupplier.get();
 
-        // Update TTL for this stream
-        record.updateActiveStream(streamId, timeSupplier.get());
-
-        log.debug(
-            "Received heartbeat for {} job {} using stream {}",
-            isNew ? "new" : "existing",
+        // The routing service is notified while holding the entry, so it sees connections and disconnections of a
+        // job in order
+        this.jobStreamRecordsMap.compute(
             claimedJobId,
-            streamId
+            (jobId, existingRecord) -> {
+                final boolean isNew = existingRecord == null;
+                final JobStreamsRecord record = isNew ? new JobStreamsRecord(jobId, currentTime) : existingRecord;
+
+                // Update TTL for this stream
+                record.updateActiveStream(streamId, currentTime);
+
+                log.debug(
+                    "Received heartbeat for {} job {} using stream {}",
+                    isNew ? "new" : "existing",
+                    jobId,
+                    streamId
+                );
+
+                // If this job record is new, wake up observer
+                if (isNew) {
+                    log.debug("Notify new agent connection for job {}", jobId);
+                    this.agentRoutingService.handleClientConnected(jobId);
+                    this.scheduleExpiration(record, this.serviceProperties.getConnectionExpirationPeriod());
+                }
+                return record;
+            }
         );
-
-        // If this job record is new, wake up observer
-        if (isNew) {
-            log.debug("Notify new agent connection for job {}", claimedJobId);
-            this.agentRoutingService.handleClientConnected(claimedJobId);
-        }
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public synchronized void notifyDisconnected(final String streamId, final String claimedJobId) {
-        // Retrieve entry
-        final JobStreamsRecord jobStreamsRecord = this.jobStreamRecordsMap.get(claimedJobId);
-
-        log.debug(
-            "Received disconnection for {} job {} using stream {}",
-            jobStreamsRecord == null ? "unknown" : "existing",
+    public void notifyDisconnected(final String streamId, final String claimedJobId) {
+        this.jobStreamRecordsMap.computeIfPresent(
             claimedJobId,
-            streamId
-        );
+            (jobId, jobStreamsRecord) -> {
+                log.debug("Received disconnection for existing job {} using stream {}", jobId, streamId);
 
-        // If record exist, expunge the stream
-        if (jobStreamsRecord != null) {
-            jobStreamsRecord.removeActiveStream(streamId);
+                // Expunge the stream
+                jobStreamsRecord.removeActiveStream(streamId);
 
-            if (!jobStreamsRecord.hasActiveStreams()) {
-                log.debug("Job {} last stream disconnected, notifying routing service", claimedJobId);
-                this.jobStreamRecordsMap.remove(claimedJobId);
-                this.agentRoutingService.handleClientDisconnected(claimedJobId);
+                if (!jobStreamsRecord.hasActiveStreams()) {
+                    log.debug("Job {} last stream disconnected, notifying routing service", jobId);
+                    this.agentRoutingService.handleClientDisconnected(jobId);
+                    jobStreamsRecord.expirationTimeout.cancel();
+                    return null;
+                }
+                return jobStreamsRecord;
             }
-        }
+        );
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public synchronized long getConnectedAgentsCount() {
+    public long getConnectedAgentsCount() {
         return this.jobStreamRecordsMap.size();
     }
 
-    private synchronized void cleanupTask() {
-        final Instant cutoff = this.timeSupplier.get().minus(serviceProperties.getConnectionExpirationPeriod());
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Instant> getConnectedAgents() {
+        final ImmutableMap.Builder<String, Instant> connectedAgents = ImmutableMap.builder();
+        this.jobStreamRecordsMap.forEach((jobId, record) -> connectedAgents.put(jobId, record.connectedSince));
+        return connectedAgents.build();
+    }
 
-        // Drop all streams that didn't heartbeat recently
-        this.jobStreamRecordsMap.forEach(
-            (jobId, record) -> record.expungeExpiredStreams(cutoff)
-        );
+    private void expireStreams(final JobStreamsRecord expiringRecord) {
+        final Instant currentTime = this.timeSupplier.get();
+        final Duration expirationPeriod = this.serviceProperties.getConnectionExpirationPeriod();
+        final Instant cutoff = currentTime.minus(expirationPeriod);
+
+        this.jobStreamRecordsMap.computeIfPresent(
+            expiringRecord.jobId,
+            (jobId, record) -> {
+                if (record != expiringRecord) {
+                    // The job disconnected and connected again since, the new record has its own timer
+                    return record;
+                }
+
+                // Drop all streams that didn't heartbeat recently
+                record.expungeExpiredStreams(cutoff);
 
-        // Remove all records that have no active streams
-        final Set<String> removedJobIds = Sets.newHashSet();
-        this.jobStreamRecordsMap.entrySet().removeIf(
-            entry -> {
-                if (!entry.getValue().hasActiveStreams()) {
-                    removedJobIds.add(entry.getKey());
-                    return true;
+                // Remove the record if it has no active streams and notify routing service
+                if (!record.hasActiveStreams()) {
+                    log.debug("Job {} last stream expired, notifying routing service", jobId);
+                    this.agentRoutingService.handleClientDisconnected(jobId);
+                    return null;
                 }
-                return false;
+                this.scheduleExpiration(
+                    record,
+                    Duration.between(currentTime, record.getOldestHeartbeat().plus(expirationPeriod))
+                );
+                return record;
             }
         );
+    }
 
-        // Notify routing service
-        for (final String jobId : removedJobIds) {
-            log.debug("Job {} last stream expired, notifying routing service", jobId);
-            this.agentRoutingService.handleClientDisconnected(jobId);
-        }
+    // Only called while holding the job's entry in the records map
+    private void scheduleExpiration(final JobStreamsRecord record, final Duration delay) {
+        record.expirationTimeout = this.timerService.schedule(() -> this.expireStreams(record), delay);
     }
 
     /**
@@ -187,16 +210,20 @@ public class AgentConnectionTrackingServiceImpl implements AgentConnectionTracki
         builder.withDetail("connectedAgents", jobIds);
     }
 
-    private synchronized List<String> getConnectedAgentsIds() {
+    private List<String> getConnectedAgentsIds() {
         return ImmutableList.copyOf(this.jobStreamRecordsMap.keySet());
     }
 
+    // Only accessed while holding the job's entry in the records map
     private static final class JobStreamsRecord {
         private final String jobId;
+        private final Instant connectedSince;
         private final Map<String, Instant> streamsLastHeartbeatMap = Maps.newHashMap();
+        private TimerService.Timeout expirationTimeout;
 
-        private JobStreamsRecord(final String jobId) {
+        private JobStreamsRecord(final String jobId, final Instant connectedSince) {
             this.jobId = jobId;
+            this.connectedSince = connectedSince;
         }
 
         private void updateActiveStream(final String streamId, final Instant currentTime) {
@@ -222,9 +249,13 @@ public class AgentConnectionTrackingServiceImpl implements AgentConnectionTracki
             return !this.streamsLastHeartbeatMap.isEmpty();
         }
 
+        private Instant getOldestHeartbeat() {
+            return this.streamsLastHeartbeatMap.values().stream().min(Instant::compareTo).orElse(this.connectedSince);
+        }
+
         private void expungeExpiredStreams(final Instant cutoff) {
             final boolean removed = this.streamsLastHeartbeatMap.entrySet().removeIf(
-                entry -> entry.getValue().isBefore(cutoff)
+                entry -> !entry.getValue().isAfter(cutoff)
             );
 
             if (removed) {
@@ -25,6 +25,7 @@ import com.google.common.collect.Sets;
 import com.netflix.genie.common.internal.util.GenieHostInfo;
 import com.netflix.genie.web.agent.services.AgentRoutingService;
 import com.netflix.genie.web.properties.AgentRoutingServiceProperties;
+import com.netflix.genie.web.properties.ZookeeperProperties;
 import com.netflix.genie.web.util.MetricsUtils;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
@@ -32,18 +33,30 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.api.transaction.CuratorOp;
 import org.apache.curator.framework.listen.Listenable;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.curator.framework.recipes.cache.CuratorCache;
+import org.apache.curator.framework.recipes.cache.CuratorCacheListener;
 import org.apache.curator.framework.state.ConnectionState;
 import org.apache.curator.framework.state.ConnectionStateListener;
+import org.apache.curator.utils.ZKPaths;
 import org.apache.curator.x.discovery.ServiceDiscovery;
 import org.apache.curator.x.discovery.ServiceInstance;
 import org.apache.curator.x.discovery.ServiceType;
+import org.apache.curator.x.discovery.details.InstanceSerializer;
+import org.apache.curator.x.discovery.details.JsonInstanceSerializer;
 import org.apache.zookeeper.KeeperException;
 import org.springframework.scheduling.TaskScheduler;
 
+import jakarta.annotation.Nullable;
 import jakarta.validation.constraints.NotBlank;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.PriorityBlockingQueue;
@@ -51,11 +64,21 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of {@link AgentRoutingService} that relies on Curator's Discovery extension.
  * Rather than the traditional use of this recipe (register a service for the node itself, this class registers one
  * service instance for each agent locally connected.
+ * <p>
+ * If given a {@link CuratorCache} over the registrations, lookups of agents connected to other nodes are answered from
+ * a local route table kept up to date by the cache watch rather than by reading from Zookeeper. The table is trusted
+ * once the cache is initialized and for up to the configured maximum staleness after the connection to Zookeeper is
+ * suspended or lost, past which lookups go to Zookeeper again.
+ * <p>
+ * Registrations are applied by one or more worker threads, each owning the mutations of a subset of the jobs so the
+ * mutations of a given job are applied in order. Refreshes are coalesced so each job has at most one refresh pending,
+ * and refreshes backed up in a worker queue are applied together in a single Zookeeper transaction.
  *
  * @author mprimi
  * @since 4.0.0
@@ -63,7 +86,10 @@ import java.util.concurrent.atomic.AtomicReference;
 @Slf4j
 public class AgentRoutingServiceCuratorDiscoveryImpl implements AgentRoutingService {
 
-    private static final String SERVICE_NAME = "agent_connections";
+    /**
+     * The name of the service under which agent connections are registered.
+     */
+    public static final String SERVICE_NAME = "agent_connections";
     private static final String METRICS_PREFIX = "genie.agents.connections.";
     private static final String CONNECTED_AGENTS_GAUGE_NAME = METRICS_PREFIX + "connected.gauge";
     private static final String REGISTERED_AGENTS_GAUGE_NAME = METRICS_PREFIX + "registered.gauge";
@@ -71,9 +97,19 @@ public class AgentRoutingServiceCuratorDiscoveryImpl implements AgentRoutingServ
     private static final String AGENT_REGISTERED_TIMER_NAME = METRICS_PREFIX + "registered.timer";
     private static final String AGENT_UNREGISTERED_TIMER_NAME = METRICS_PREFIX + "unregistered.timer";
     private static final String AGENT_REFRESH_TIMER_NAME = METRICS_PREFIX + "refreshed.timer";
+    private static final String AGENT_REFRESH_BATCH_TIMER_NAME = METRICS_PREFIX + "refreshedBatch.timer";
+    private static final String PENDING_REGISTRATIONS_GAUGE_NAME = METRICS_PREFIX + "pendingRegistrations.gauge";
+    private static final String REGISTRATION_LAG_GAUGE_NAME = METRICS_PREFIX + "registrationLag.gauge";
     private static final String AGENT_CONNECTED_COUNTER_NAME = METRICS_PREFIX + "connected.counter";
     private static final String AGENT_DISCONNECTED_COUNTER_NAME = METRICS_PREFIX + "disconnected.counter";
     private static final String AGENT_LOOKUP_TIMER_NAME = METRICS_PREFIX + "lookup.timer";
+    private static final String AGENT_LIST_TIMER_NAME = METRICS_PREFIX + "list.timer";
+    private static final String ROUTE_CACHE_LOOKUP_COUNTER_NAME = METRICS_PREFIX + "routeCache.lookup.counter";
+    private static final String ROUTE_CACHE_SIZE_GAUGE_NAME = METRICS_PREFIX + "routeCache.size.gauge";
+    private static final String ROUTE_CACHE_RESULT_TAG_NAME = "result";
+    private static final String ROUTE_CACHE_HIT = "hit";
+    private static final String ROUTE_CACHE_MISS = "miss";
+    private static final String ROUTE_CACHE_BYPASSED = "bypassed";
     private static final String ZK_CONNECTION_STATE_TAG_NAME = "connectionState";
     private static final String ROUTE_FOUND_TAG_NAME = "found";
     private static final Set<Tag> EMPTY_TAG_SET = ImmutableSet.of();
@@ -84,9 +120,21 @@ public class AgentRoutingServiceCuratorDiscoveryImpl implements AgentRoutingServ
     private final AgentRoutingServiceProperties properties;
     private final Set<String> connectedAgentsSet;
     private final Map<String, ServiceInstance<Agent>> registeredAgentsMap;
-    private final PriorityBlockingQueue<RegisterMutation> registrationQueue;
-    private final AtomicReference<Thread> registrationTaskThread;
+    private final List<PriorityBlockingQueue<RegisterMutation>> registrationQueues;
+    private final Set<String> pendingRefreshSet;
+    private final Set<String> scheduledRefreshSet;
+    private final AtomicReference<List<Thread>> registrationTaskThreads;
     private final ThreadFactory threadFactory;
+    private final CuratorFramework client;
+    private final String servicePath;
+    private final int refreshBatchSize;
+    private final Map<String, String> cachedRoutesMap;
+    private final InstanceSerializer<Agent> instanceSerializer;
+    private final long routeCacheMaxStalenessNanos;
+    private final boolean routeCacheEnabled;
+    private volatile boolean routeCacheInitialized;
+    private volatile boolean routeCacheConnected = true;
+    private volatile long routeCacheDisconnectedSince;
 
     /**
      * Constructor.
@@ -105,6 +153,46 @@ public class AgentRoutingServiceCuratorDiscoveryImpl implements AgentRoutingServ
         final Listenable<ConnectionStateListener> listenableCuratorConnectionState,
         final MeterRegistry registry,
         final AgentRoutingServiceProperties properties
+    ) {
+        this(
+            genieHostInfo,
+            serviceDiscovery,
+            taskScheduler,
+            listenableCuratorConnectionState,
+            registry,
+            properties,
+            null,
+            null,
+            null
+        );
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param genieHostInfo                    The genie local host information
+     * @param serviceDiscovery                 The service discovery client
+     * @param taskScheduler                    The task scheduler
+     * @param listenableCuratorConnectionState The listenable curator client connection status
+     * @param registry                         The metrics registry
+     * @param properties                       The service properties
+     * @param client                           The curator client used to refresh registrations in batches, or null
+     *                                         to refresh them one by one through the service discovery
+     * @param zookeeperProperties              The Zookeeper properties locating the registrations, or null if no client
+     * @param routeCache                       The cache over the path of the agent connections registrations, not
+     *                                         started yet, or null to look routes up in Zookeeper every time
+     * @since 4.4.0
+     */
+    public AgentRoutingServiceCuratorDiscoveryImpl(
+        final GenieHostInfo genieHostInfo,
+        final ServiceDiscovery<Agent> serviceDiscovery,
+        final TaskScheduler taskScheduler,
+        final Listenable<ConnectionStateListener> listenableCuratorConnectionState,
+        final MeterRegistry registry,
+        final AgentRoutingServiceProperties properties,
+        @Nullable final CuratorFramework client,
+        @Nullable final ZookeeperProperties zookeeperProperties,
+        @Nullable final CuratorCache routeCache
     ) {
         this(
             genieHostInfo,
@@ -123,7 +211,12 @@ public class AgentRoutingServiceCuratorDiscoveryImpl implements AgentRoutingServ
                         this.getClass().getSimpleName() + "-registration-" + threadCounter.incrementAndGet()
                     );
                 }
-            }
+            },
+            client,
+            zookeeperProperties == null
+                ? null
+                : ZKPaths.makePath(zookeeperProperties.getDiscoveryPath(), SERVICE_NAME),
+            routeCache
         );
     }
 
@@ -136,6 +229,33 @@ public class AgentRoutingServiceCuratorDiscoveryImpl implements AgentRoutingServ
         final MeterRegistry registry,
         final AgentRoutingServiceProperties properties,
         final ThreadFactory threadFactory
+    ) {
+        this(
+            genieHostInfo,
+            serviceDiscovery,
+            taskScheduler,
+            listenableCuratorConnectionState,
+            registry,
+            properties,
+            threadFactory,
+            null,
+            null,
+            null
+        );
+    }
+
+    @VisibleForTesting
+    AgentRoutingServiceCuratorDiscoveryImpl(
+        final GenieHostInfo genieHostInfo,
+        final ServiceDiscovery<Agent> serviceDiscovery,
+        final TaskScheduler taskScheduler,
+        final Listenable<ConnectionStateListener> listenableCuratorConnectionState,
+        final MeterRegistry registry,
+        final AgentRoutingServiceProperties properties,
+        final ThreadFactory threadFactory,
+        @Nullable final CuratorFramework client,
+        @Nullable final String servicePath,
+        @Nullable final CuratorCache routeCache
     ) {
         this.localHostname = genieHostInfo.getHostname();
         this.serviceDiscovery = serviceDiscovery;
@@ -145,43 +265,88 @@ public class AgentRoutingServiceCuratorDiscoveryImpl implements AgentRoutingServ
         this.properties = properties;
         this.registeredAgentsMap = Maps.newConcurrentMap();
         this.connectedAgentsSet = Sets.newConcurrentHashSet();
-        this.registrationQueue = new PriorityBlockingQueue<>();
-        this.registrationTaskThread = new AtomicReference<>();
+        final int registrationWorkers = Math.max(1, properties.getRegistrationWorkers());
+        final List<PriorityBlockingQueue<RegisterMutation>> queues = new ArrayList<>(registrationWorkers);
+        for (int i = 0; i < registrationWorkers; i++) {
+            queues.add(new PriorityBlockingQueue<>());
+        }
+        this.registrationQueues = Collections.unmodifiableList(queues);
+        this.pendingRefreshSet = Sets.newConcurrentHashSet();
+        this.scheduledRefreshSet = Sets.newConcurrentHashSet();
+        this.registrationTaskThreads = new AtomicReference<>();
+        this.client = client;
+        this.servicePath = servicePath;
+        this.refreshBatchSize = client != null && servicePath != null ? properties.getRefreshBatchSize() : 1;
+        this.cachedRoutesMap = Maps.newConcurrentMap();
+        this.instanceSerializer = new JsonInstanceSerializer<>(Agent.class);
+        this.routeCacheMaxStalenessNanos = properties.getRouteCache().getMaxStaleness().toNanos();
+        this.routeCacheEnabled = routeCache != null;
 
         // Create gauge metric for agents connected and registered
         registry.gauge(CONNECTED_AGENTS_GAUGE_NAME, EMPTY_TAG_SET, this.connectedAgentsSet, Set::size);
         registry.gaugeMapSize(REGISTERED_AGENTS_GAUGE_NAME, EMPTY_TAG_SET, this.registeredAgentsMap);
 
+        // Create gauge metrics for the backlog of registrations
+        registry.gauge(
+            PENDING_REGISTRATIONS_GAUGE_NAME,
+            EMPTY_TAG_SET,
+            this.registrationQueues,
+            AgentRoutingServiceCuratorDiscoveryImpl::getPendingRegistrationsCount
+        );
+        registry.gauge(
+            REGISTRATION_LAG_GAUGE_NAME,
+            EMPTY_TAG_SET,
+            this.registrationQueues,
+            AgentRoutingServiceCuratorDiscoveryImpl::getRegistrationLagMillis
+        );
+
         // Listen for Curator session state changes
         listenableCuratorConnectionState.addListener(this::handleConnectionStateChange);
 
+        if (routeCache != null) {
+            registry.gaugeMapSize(ROUTE_CACHE_SIZE_GAUGE_NAME, EMPTY_TAG_SET, this.cachedRoutesMap);
+            routeCache.listenable().addListener(
+                CuratorCacheListener.builder()
+                    .forCreates(this::handleRouteCreated)
+                    .forChanges(this::handleRouteChanged)
+                    .forDeletes(this::handleRouteDeleted)
+                    .forInitialized(this::handleRouteCacheInitialized)
+                    .build()
+            );
+            routeCache.start();
+        }
+
         // The curator client is passed already connected.
         // See: org.springframework.cloud.zookeeper.ZookeeperAutoConfiguration
         this.startRegistrationThread();
     }
 
     private void startRegistrationThread() {
-        final Thread newThread = this.threadFactory.newThread(this::registrationTask);
-        final Thread oldThread = this.registrationTaskThread.getAndSet(newThread);
-        if (oldThread != null) {
-            oldThread.interrupt();
+        final List<Thread> newThreads = new ArrayList<>(this.registrationQueues.size());
+        for (int i = 0; i < this.registrationQueues.size(); i++) {
+            final int worker = i;
+            newThreads.add(this.threadFactory.newThread(() -> this.registrationTask(worker)));
+        }
+        final List<Thread> oldThreads = this.registrationTaskThreads.getAndSet(newThreads);
+        if (oldThreads != null) {
+            oldThreads.forEach(Thread::interrupt);
         }
-        newThread.start();
+        newThreads.forEach(Thread::start);
     }
 
     private void stopRegistrationThread() {
-        final Thread thread = this.registrationTaskThread.getAndSet(null);
-        if (thread != null) {
-            thread.interrupt();
+        final List<Thread> threads = this.registrationTaskThreads.getAndSet(null);
+        if (threads != null) {
+            threads.forEach(Thread::interrupt);
         }
     }
 
     // Thread task that consumes registration queue items and applies the corresponding mutation with Curator client.
     // This thread is stopped with an interrupt if the client is disconnected.
-    private void registrationTask() {
+    private void registrationTask(final int worker) {
         while (true) {
             try {
-                processNextRegistrationMutation();
+                processNextRegistrationMutation(worker);
             } catch (InterruptedException e) {
                 break;
             }
@@ -190,12 +355,41 @@ public class AgentRoutingServiceCuratorDiscoveryImpl implements AgentRoutingServ
         log.debug("Registration thread terminating");
     }
 
-    private void processNextRegistrationMutation() throws InterruptedException {
-        RegisterMutation mutation = null;
-        try {
-            // Blocking
-            mutation = this.registrationQueue.take();
+    private void processNextRegistrationMutation(final int worker) throws InterruptedException {
+        final PriorityBlockingQueue<RegisterMutation> queue = this.registrationQueues.get(worker);
+
+        // Blocking
+        final RegisterMutation mutation = queue.take();
+        if (!mutation.isRefresh()) {
+            this.processRegistrationMutation(mutation);
+            return;
+        }
+        this.pendingRefreshSet.remove(mutation.getJobId());
+
+        // Updates are ordered first, so whatever else is queued behind a refresh is refreshes backed up
+        final List<RegisterMutation> refreshes = new ArrayList<>();
+        refreshes.add(mutation);
+        while (refreshes.size() < this.refreshBatchSize) {
+            final RegisterMutation next = queue.poll();
+            if (next == null) {
+                break;
+            } else if (!next.isRefresh()) {
+                queue.add(next);
+                break;
+            }
+            this.pendingRefreshSet.remove(next.getJobId());
+            refreshes.add(next);
+        }
+
+        if (refreshes.size() == 1) {
+            this.processRegistrationMutation(mutation);
+        } else {
+            this.processRefreshBatch(refreshes);
+        }
+    }
 
+    private void processRegistrationMutation(final RegisterMutation mutation) throws InterruptedException {
+        try {
             final String jobId = mutation.getJobId();
             // Check if agent is still connected by the time this mutation is taken from the queue to
             // be processed.
@@ -210,10 +404,7 @@ public class AgentRoutingServiceCuratorDiscoveryImpl implements AgentRoutingServ
                 }
 
                 // Schedule a future refresh for this agent connection
-                this.taskScheduler.schedule(
-                    () -> this.registrationQueue.add(RegisterMutation.refresh(jobId)),
-                    Instant.now().plus(this.properties.getRefreshInterval())
-                );
+                this.scheduleRefresh(jobId);
 
             } else {
                 // Unregister agent connection
@@ -222,12 +413,105 @@ public class AgentRoutingServiceCuratorDiscoveryImpl implements AgentRoutingServ
 
         } catch (InterruptedException e) {
             log.warn("Registration task interrupted", e);
-            if (mutation != null) {
-                // Re-enqueue mutation that was in-progress when interrupted
-                this.registrationQueue.add(mutation);
+            // Re-enqueue mutation that was in-progress when interrupted
+            this.enqueue(mutation);
+            throw e;
+        }
+    }
+
+    // Refresh the registrations of connected agents in a single transaction. Refreshes which can't be part of it, and
+    // all of them if the transaction fails (e.g. because one of the registrations is gone), are applied one by one.
+    private void processRefreshBatch(final List<RegisterMutation> refreshes) throws InterruptedException {
+        final List<RegisterMutation> batched = new ArrayList<>(refreshes.size());
+        final List<RegisterMutation> remaining = new ArrayList<>();
+        final List<CuratorOp> operations = new ArrayList<>(refreshes.size());
+
+        Set<Tag> tags = MetricsUtils.newSuccessTagsSet();
+        final long start = System.nanoTime();
+        try {
+            for (final RegisterMutation refresh : refreshes) {
+                final ServiceInstance<Agent> serviceInstance = this.registeredAgentsMap.get(refresh.getJobId());
+                if (serviceInstance == null || !this.connectedAgentsSet.contains(refresh.getJobId())) {
+                    remaining.add(refresh);
+                } else {
+                    batched.add(refresh);
+                    operations.add(
+                        this.client.transactionOp().setData().forPath(
+                            ZKPaths.makePath(this.servicePath, refresh.getJobId()),
+                            this.instanceSerializer.serialize(serviceInstance)
+                        )
+                    );
+                }
             }
+            if (!operations.isEmpty()) {
+                log.debug("Refreshing {} routes in a single transaction", operations.size());
+                this.client.transaction().forOperations(operations);
+                batched.forEach(refresh -> this.scheduleRefresh(refresh.getJobId()));
+            }
+        } catch (InterruptedException e) {
+            log.debug("Interrupted while refreshing {} routes", operations.size());
+            tags = MetricsUtils.newFailureTagsSetForException(e);
+            refreshes.forEach(this::enqueue);
             throw e;
+        } catch (Exception e) {
+            log.warn("Failed to refresh {} routes in a single transaction, refreshing them one by one", refreshes.size(), e);
+            tags = MetricsUtils.newFailureTagsSetForException(e);
+            remaining.clear();
+            remaining.addAll(refreshes);
+        } finally {
+            this.registry.timer(
+                AGENT_REFRESH_BATCH_TIMER_NAME,
+                tags
+            ).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        for (int i = 0; i < remaining.size(); i++) {
+            try {
+                this.processRegistrationMutation(remaining.get(i));
+            } catch (InterruptedException e) {
+                remaining.subList(i + 1, remaining.size()).forEach(this::enqueue);
+                throw e;
+            }
+        }
+    }
+
+    // Schedule the refresh of a registration unless one is already scheduled, which happens if an agent reconnects
+    private void scheduleRefresh(final String jobId) {
+        if (this.scheduledRefreshSet.add(jobId)) {
+            this.taskScheduler.schedule(
+                () -> {
+                    this.scheduledRefreshSet.remove(jobId);
+                    this.enqueue(RegisterMutation.refresh(jobId));
+                },
+                Instant.now().plus(this.properties.getRefreshInterval())
+            );
+        }
+    }
+
+    // Queue a mutation in the queue of the worker owning the job. A refresh is dropped if one is already pending.
+    private void enqueue(final RegisterMutation mutation) {
+        if (mutation.isRefresh() && !this.pendingRefreshSet.add(mutation.getJobId())) {
+            return;
         }
+        this.registrationQueues
+            .get(Math.floorMod(mutation.getJobId().hashCode(), this.registrationQueues.size()))
+            .add(mutation);
+    }
+
+    private static double getPendingRegistrationsCount(final List<PriorityBlockingQueue<RegisterMutation>> queues) {
+        return queues.stream().mapToInt(PriorityBlockingQueue::size).sum();
+    }
+
+    private static double getRegistrationLagMillis(final List<PriorityBlockingQueue<RegisterMutation>> queues) {
+        final long now = System.nanoTime();
+        long lag = 0;
+        for (final PriorityBlockingQueue<RegisterMutation> queue : queues) {
+            final RegisterMutation head = queue.peek();
+            if (head != null) {
+                lag = Math.max(lag, now - head.getTimestamp());
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(lag);
     }
 
     private void registerAgentConnection(final String jobId) throws InterruptedException {
@@ -344,11 +628,16 @@ public class AgentRoutingServiceCuratorDiscoveryImpl implements AgentRoutingServ
         switch (newState) {
             case CONNECTED:
             case RECONNECTED:
+                this.routeCacheConnected = true;
                 startRegistrationThread();
                 break;
 
             case LOST:
             case SUSPENDED:
+                if (this.routeCacheConnected) {
+                    this.routeCacheDisconnectedSince = System.nanoTime();
+                    this.routeCacheConnected = false;
+                }
                 stopRegistrationThread();
                 break;
 
@@ -367,6 +656,14 @@ public class AgentRoutingServiceCuratorDiscoveryImpl implements AgentRoutingServ
             return Optional.of(localHostname);
         }
 
+        if (this.isRouteCacheTrusted()) {
+            final String address = this.cachedRoutesMap.get(jobId);
+            this.countRouteCacheLookup(address != null ? ROUTE_CACHE_HIT : ROUTE_CACHE_MISS);
+            return Optional.ofNullable(address);
+        } else if (this.routeCacheEnabled) {
+            this.countRouteCacheLookup(ROUTE_CACHE_BYPASSED);
+        }
+
         final long start = System.nanoTime();
         final Set<Tag> tags = Sets.newHashSet();
         String address = null;
@@ -407,7 +704,7 @@ public class AgentRoutingServiceCuratorDiscoveryImpl implements AgentRoutingServ
         log.debug("Adding to routing table (pending registration): {}", jobId);
 
         final boolean isNew = this.connectedAgentsSet.add(jobId);
-        this.registrationQueue.add(RegisterMutation.update(jobId));
+        this.enqueue(RegisterMutation.update(jobId));
 
         if (isNew) {
             this.registry.counter(AGENT_CONNECTED_COUNTER_NAME).increment();
@@ -419,7 +716,7 @@ public class AgentRoutingServiceCuratorDiscoveryImpl implements AgentRoutingServ
         log.debug("Removing from routing table (pending un-registration): {}", jobId);
 
         final boolean removed = this.connectedAgentsSet.remove(jobId);
-        this.registrationQueue.add(RegisterMutation.update(jobId));
+        this.enqueue(RegisterMutation.update(jobId));
 
         if (removed) {
             this.registry.counter(AGENT_DISCONNECTED_COUNTER_NAME).increment();
@@ -434,6 +731,117 @@ public class AgentRoutingServiceCuratorDiscoveryImpl implements AgentRoutingServ
         return this.getHostnameForAgentConnection(jobId).isPresent();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Set<String>> getConnectedAgentJobIds() {
+        if (this.isRouteCacheTrusted()) {
+            final Set<String> jobIds = Sets.newHashSet(this.cachedRoutesMap.keySet());
+            jobIds.addAll(this.connectedAgentsSet);
+            return Optional.of(jobIds);
+        }
+
+        final long start = System.nanoTime();
+        final Set<Tag> tags = Sets.newHashSet();
+        try {
+            final Set<String> jobIds = this.serviceDiscovery
+                .queryForInstances(SERVICE_NAME)
+                .stream()
+                .map(ServiceInstance::getId)
+                .collect(Collectors.toSet());
+            // Include local connections whose registration is still pending
+            jobIds.addAll(this.connectedAgentsSet);
+            MetricsUtils.addSuccessTags(tags);
+            return Optional.of(jobIds);
+        } catch (Exception e) {
+            log.error("Error listing agent connections", e);
+            MetricsUtils.addFailureTagsWithException(tags, e);
+            return Optional.empty();
+        } finally {
+            this.registry.timer(
+                AGENT_LIST_TIMER_NAME,
+                tags
+            ).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean isRouteCacheTrusted() {
+        if (!this.routeCacheEnabled || !this.routeCacheInitialized) {
+            return false;
+        }
+        // Read the timestamp first, it is written before the flag is cleared
+        final long disconnectedSince = this.routeCacheDisconnectedSince;
+        return this.routeCacheConnected
+            || System.nanoTime() - disconnectedSince < this.routeCacheMaxStalenessNanos;
+    }
+
+    private void countRouteCacheLookup(final String result) {
+        this.registry.counter(
+            ROUTE_CACHE_LOOKUP_COUNTER_NAME,
+            ROUTE_CACHE_RESULT_TAG_NAME,
+            result
+        ).increment();
+    }
+
+    private void handleRouteCreated(final ChildData node) {
+        final String jobId = this.getRouteJobId(node);
+        // Creates are also replayed for the registrations already cached, so there is no need to parse the data again
+        if (jobId == null || this.cachedRoutesMap.containsKey(jobId)) {
+            return;
+        }
+        this.updateRoute(jobId, node);
+    }
+
+    private void handleRouteChanged(final ChildData oldNode, final ChildData node) {
+        final String jobId = this.getRouteJobId(node);
+        // The registration of a job can be overwritten by another node the agent reconnected to before the previous
+        // one expired, in which case the data changes in place without a delete
+        if (jobId != null) {
+            this.updateRoute(jobId, node);
+        }
+    }
+
+    private void updateRoute(final String jobId, final ChildData node) {
+        if (node.getData() == null) {
+            return;
+        }
+        try {
+            final ServiceInstance<Agent> instance = this.instanceSerializer.deserialize(node.getData());
+            final String address = instance.getAddress();
+            if (address != null) {
+                final String previousAddress = this.cachedRoutesMap.put(jobId, address);
+                if (previousAddress != null && !previousAddress.equals(address)) {
+                    log.debug("Agent connection for job {} moved from {} to {}", jobId, previousAddress, address);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to parse registration of agent connection for job {}", jobId, e);
+        }
+    }
+
+    private void handleRouteDeleted(final ChildData oldNode) {
+        final String jobId = this.getRouteJobId(oldNode);
+        if (jobId != null) {
+            this.cachedRoutesMap.remove(jobId);
+        }
+    }
+
+    private void handleRouteCacheInitialized() {
+        log.info("Agent route cache initialized with {} routes", this.cachedRoutesMap.size());
+        this.routeCacheInitialized = true;
+    }
+
+    // The cache also reports the service node itself, whose children are the registrations named by job id
+    @Nullable
+    private String getRouteJobId(final ChildData node) {
+        final ZKPaths.PathAndNode pathAndNode = ZKPaths.getPathAndNode(node.getPath());
+        if (!Objects.equals(SERVICE_NAME, ZKPaths.getNodeFromPath(pathAndNode.getPath()))) {
+            return null;
+        }
+        return pathAndNode.getNode();
+    }
+
     /**
      * Payload for typed {@link ServiceDiscovery}.
      */
@@ -489,7 +897,7 @@ public class AgentRoutingServiceCuratorDiscoveryImpl implements AgentRoutingServ
                 if (timestampDifference == 0) {
                     return this.getJobId().compareTo(other.getJobId());
                 } else {
-                    return timestamp > 0 ? 1 : -1;
+                    return timestampDifference > 0 ? 1 : -1;
                 }
             } else {
                 return this.isRefresh() ? 1 : -1;
@@ -17,6 +17,7 @@
  */
 package com.netflix.genie.web.agent.services.impl;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import com.netflix.genie.common.internal.util.GenieHostInfo;
 import com.netflix.genie.web.agent.services.AgentRoutingService;
@@ -90,4 +91,12 @@ public class AgentRoutingServiceSingleNodeImpl implements AgentRoutingService {
     public boolean isAgentConnected(final String jobId) {
         return this.connectedAgents.contains(jobId);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Set<String>> getConnectedAgentJobIds() {
+        return Optional.of(ImmutableSet.copyOf(this.connectedAgents));
+    }
 }
@@ -38,6 +38,7 @@ import com.netflix.genie.web.data.services.PersistenceService;
 import com.netflix.genie.web.exceptions.checked.IdAlreadyExistsException;
 import com.netflix.genie.web.exceptions.checked.NotFoundException;
 import com.netflix.genie.web.exceptions.checked.PreconditionFailedException;
+import com.netflix.genie.web.properties.ResourceCacheProperties;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -66,6 +67,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import jakarta.annotation.Nullable;
@@ -90,21 +92,25 @@ public class ApplicationRestController {
     private final PersistenceService persistenceService;
     private final ApplicationModelAssembler applicationModelAssembler;
     private final CommandModelAssembler commandModelAssembler;
+    private final ResourceCache<Application> applicationCache;
 
     /**
      * Constructor.
      *
-     * @param dataServices          The {@link DataServices} encapsulation instance to use
-     * @param entityModelAssemblers The encapsulation of all the available V3 resource assemblers
+     * @param dataServices            The {@link DataServices} encapsulation instance to use
+     * @param entityModelAssemblers   The encapsulation of all the available V3 resource assemblers
+     * @param resourceCacheProperties The properties of the cache of applications served
      */
     @Autowired
     public ApplicationRestController(
         final DataServices dataServices,
-        final EntityModelAssemblers entityModelAssemblers
+        final EntityModelAssemblers entityModelAssemblers,
+        final ResourceCacheProperties resourceCacheProperties
     ) {
         this.persistenceService = dataServices.getPersistenceService();
         this.applicationModelAssembler = entityModelAssemblers.getApplicationModelAssembler();
         this.commandModelAssembler = entityModelAssemblers.getCommandModelAssembler();
+        this.applicationCache = new ResourceCache<>(resourceCacheProperties);
     }
 
     /**
@@ -140,6 +146,7 @@ public class ApplicationRestController {
     public void deleteAllApplications() throws PreconditionFailedException {
         log.warn("Called to delete all Applications");
         this.persistenceService.deleteAllApplications();
+        this.applicationCache.evictAll();
     }
 
     /**
@@ -250,17 +257,29 @@ public class ApplicationRestController {
     /**
      * Get Application for given id.
      *
-     * @param id unique id for application configuration
+     * @param id         unique id for application configuration
+     * @param webRequest The current request, used to answer with a 304 if the client has the current version
      * @return The application configuration
      * @throws NotFoundException If no application exists with the given id
      */
     @GetMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
-    @ResponseStatus(HttpStatus.OK)
-    public EntityModel<Application> getApplication(@PathVariable("id") final String id) throws NotFoundException {
+    @Nullable
+    public EntityModel<Application> getApplication(
+        @PathVariable("id") final String id,
+        @Nullable final WebRequest webRequest
+    ) throws NotFoundException {
         log.info("Called to get Application for id {}", id);
-        return this.applicationModelAssembler.toModel(
-            DtoConverters.toV3Application(this.persistenceService.getApplication(id))
+        final ResourceCache.TaggedResource<Application> application = this.applicationCache.get(
+            id,
+            () -> DtoConverters.toV3Application(this.persistenceService.getApplication(id))
         );
+        // No @ResponseStatus on this method as it would replace the 304 status set here
+        if (webRequest != null
+            && application.getEntityTag() != null
+            && webRequest.checkNotModified(application.getEntityTag())) {
+            return null;
+        }
+        return this.applicationModelAssembler.toModel(application.getResource());
     }
 
     /**
@@ -279,6 +298,7 @@ public class ApplicationRestController {
     ) throws NotFoundException, PreconditionFailedException {
         log.info("called to update application {} with info {}", id, updateApp);
         this.persistenceService.updateApplication(id, DtoConverters.toV4Application(updateApp));
+        this.applicationCache.evict(id);
     }
 
     /**
@@ -310,6 +330,7 @@ public class ApplicationRestController {
             log.error("Unable to patch application {} with patch {} due to exception.", id, patch, e);
             throw new GenieServerException(e.getLocalizedMessage(), e);
         }
+        this.applicationCache.evict(id);
     }
 
     /**
@@ -323,6 +344,7 @@ public class ApplicationRestController {
     public void deleteApplication(@PathVariable("id") final String id) throws PreconditionFailedException {
         log.info("Delete an application with id {}", id);
         this.persistenceService.deleteApplication(id);
+        this.applicationCache.evict(id);
     }
 
     /**
@@ -345,6 +367,7 @@ public class ApplicationRestController {
             configs,
             com.netflix.genie.common.internal.dtos.Application.class
         );
+        this.applicationCache.evict(id);
     }
 
     /**
@@ -386,6 +409,7 @@ public class ApplicationRestController {
             configs,
             com.netflix.genie.common.internal.dtos.Application.class
         );
+        this.applicationCache.evict(id);
     }
 
     /**
@@ -403,6 +427,7 @@ public class ApplicationRestController {
             id,
             com.netflix.genie.common.internal.dtos.Application.class
         );
+        this.applicationCache.evict(id);
     }
 
     /**
@@ -425,6 +450,7 @@ public class ApplicationRestController {
             dependencies,
             com.netflix.genie.common.internal.dtos.Application.class
         );
+        this.applicationCache.evict(id);
     }
 
     /**
@@ -466,6 +492,7 @@ public class ApplicationRestController {
             dependencies,
             com.netflix.genie.common.internal.dtos.Application.class
         );
+        this.applicationCache.evict(id);
     }
 
     /**
@@ -483,6 +510,7 @@ public class ApplicationRestController {
             id,
             com.netflix.genie.common.internal.dtos.Application.class
         );
+        this.applicationCache.evict(id);
     }
 
     /**
@@ -505,6 +533,7 @@ public class ApplicationRestController {
             tags,
             com.netflix.genie.common.internal.dtos.Application.class
         );
+        this.applicationCache.evict(id);
     }
 
     /**
@@ -544,6 +573,7 @@ public class ApplicationRestController {
             tags,
             com.netflix.genie.common.internal.dtos.Application.class
         );
+        this.applicationCache.evict(id);
     }
 
     /**
@@ -561,6 +591,7 @@ public class ApplicationRestController {
             id,
             com.netflix.genie.common.internal.dtos.Application.class
         );
+        this.applicationCache.evict(id);
     }
 
     /**
@@ -583,6 +614,7 @@ public class ApplicationRestController {
             tag,
             com.netflix.genie.common.internal.dtos.Application.class
         );
+        this.applicationCache.evict(id);
     }
 
     /**
@@ -35,6 +35,7 @@ import com.netflix.genie.web.data.services.PersistenceService;
 import com.netflix.genie.web.exceptions.checked.IdAlreadyExistsException;
 import com.netflix.genie.web.exceptions.checked.NotFoundException;
 import com.netflix.genie.web.exceptions.checked.PreconditionFailedException;
+import com.netflix.genie.web.properties.ResourceCacheProperties;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -63,6 +64,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import jakarta.annotation.Nullable;
@@ -91,17 +93,24 @@ public class ClusterRestController {
 
     private final PersistenceService persistenceService;
     private final ClusterModelAssembler clusterModelAssembler;
+    private final ResourceCache<Cluster> clusterCache;
 
     /**
      * Constructor.
      *
-     * @param dataServices          The {@link DataServices} encapsulation instance to use.
-     * @param entityModelAssemblers The encapsulation of all available V3 resource assemblers
+     * @param dataServices            The {@link DataServices} encapsulation instance to use.
+     * @param entityModelAssemblers   The encapsulation of all available V3 resource assemblers
+     * @param resourceCacheProperties The properties of the cache of clusters served
      */
     @Autowired
-    public ClusterRestController(final DataServices dataServices, final EntityModelAssemblers entityModelAssemblers) {
+    public ClusterRestController(
+        final DataServices dataServices,
+        final EntityModelAssemblers entityModelAssemblers,
+        final ResourceCacheProperties resourceCacheProperties
+    ) {
         this.persistenceService = dataServices.getPersistenceService();
         this.clusterModelAssembler = entityModelAssemblers.getClusterModelAssembler();
+        this.clusterCache = new ResourceCache<>(resourceCacheProperties);
     }
 
     /**
@@ -132,17 +141,29 @@ public class ClusterRestController {
     /**
      * Get cluster configuration from unique id.
      *
-     * @param id id for the cluster
+     * @param id         id for the cluster
+     * @param webRequest The current request, used to answer with a 304 if the client has the current version
      * @return the cluster
      * @throws NotFoundException If no cluster with {@literal id} exists
      */
     @GetMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
-    @ResponseStatus(HttpStatus.OK)
-    public EntityModel<Cluster> getCluster(@PathVariable("id") final String id) throws NotFoundException {
+    @Nullable
+    public EntityModel<Cluster> getCluster(
+        @PathVariable("id") final String id,
+        @Nullable final WebRequest webRequest
+    ) throws NotFoundException {
         log.info("[getCluster] Called with id: {}", id);
-        return this.clusterModelAssembler.toModel(
-            DtoConverters.toV3Cluster(this.persistenceService.getCluster(id))
+        final ResourceCache.TaggedResource<Cluster> cluster = this.clusterCache.get(
+            id,
+            () -> DtoConverters.toV3Cluster(this.persistenceService.getCluster(id))
         );
+        // No @ResponseStatus on this method as it would replace the 304 status set here
+        if (webRequest != null
+            && cluster.getEntityTag() != null
+            && webRequest.checkNotModified(cluster.getEntityTag())) {
+            return null;
+        }
+        return this.clusterModelAssembler.toModel(cluster.getResource());
     }
 
     /**
@@ -292,6 +313,7 @@ public class ClusterRestController {
     ) throws NotFoundException, PreconditionFailedException {
         log.info("[updateCluster] Called with id {} update fields {}", id, updateCluster);
         this.persistenceService.updateCluster(id, DtoConverters.toV4Cluster(updateCluster));
+        this.clusterCache.evict(id);
     }
 
     /**
@@ -324,6 +346,7 @@ public class ClusterRestController {
             log.error("Unable to patch cluster {} with patch {} due to exception.", id, patch, e);
             throw new GenieServerException(e.getLocalizedMessage(), e);
         }
+        this.clusterCache.evict(id);
     }
 
     /**
@@ -337,6 +360,7 @@ public class ClusterRestController {
     public void deleteCluster(@PathVariable("id") final String id) throws PreconditionFailedException {
         log.info("[deleteCluster] Called for id: {}", id);
         this.persistenceService.deleteCluster(id);
+        this.clusterCache.evict(id);
     }
 
     /**
@@ -349,6 +373,7 @@ public class ClusterRestController {
     public void deleteAllClusters() throws PreconditionFailedException {
         log.warn("[deleteAllClusters] Called");
         this.persistenceService.deleteAllClusters();
+        this.clusterCache.evictAll();
     }
 
     /**
@@ -370,6 +395,7 @@ public class ClusterRestController {
             configs,
             com.netflix.genie.common.internal.dtos.Cluster.class
         );
+        this.clusterCache.evict(id);
     }
 
     /**
@@ -408,6 +434,7 @@ public class ClusterRestController {
             configs,
             com.netflix.genie.common.internal.dtos.Cluster.class
         );
+        this.clusterCache.evict(id);
     }
 
     /**
@@ -424,6 +451,7 @@ public class ClusterRestController {
             id,
             com.netflix.genie.common.internal.dtos.Cluster.class
         );
+        this.clusterCache.evict(id);
     }
 
     /**
@@ -445,6 +473,7 @@ public class ClusterRestController {
             dependencies,
             com.netflix.genie.common.internal.dtos.Cluster.class
         );
+        this.clusterCache.evict(id);
     }
 
     /**
@@ -483,6 +512,7 @@ public class ClusterRestController {
             dependencies,
             com.netflix.genie.common.internal.dtos.Cluster.class
         );
+        this.clusterCache.evict(id);
     }
 
     /**
@@ -499,6 +529,7 @@ public class ClusterRestController {
             id,
             com.netflix.genie.common.internal.dtos.Cluster.class
         );
+        this.clusterCache.evict(id);
     }
 
     /**
@@ -516,6 +547,7 @@ public class ClusterRestController {
     ) throws NotFoundException {
         log.info("[addTagsForCluster] Called with id {} and tags {}", id, tags);
         this.persistenceService.addTagsToResource(id, tags, com.netflix.genie.common.internal.dtos.Cluster.class);
+        this.clusterCache.evict(id);
     }
 
     /**
@@ -552,6 +584,7 @@ public class ClusterRestController {
             tags,
             com.netflix.genie.common.internal.dtos.Cluster.class
         );
+        this.clusterCache.evict(id);
     }
 
     /**
@@ -565,6 +598,7 @@ public class ClusterRestController {
     public void removeAllTagsForCluster(@PathVariable("id") final String id) throws NotFoundException {
         log.info("[removeAllTagsForCluster] Called with id {}", id);
         this.persistenceService.removeAllTagsForResource(id, com.netflix.genie.common.internal.dtos.Cluster.class);
+        this.clusterCache.evict(id);
     }
 
     /**
@@ -582,6 +616,7 @@ public class ClusterRestController {
     ) throws NotFoundException {
         log.info("[removeTagForCluster] Called with id {} and tag {}", id, tag);
         this.persistenceService.removeTagForResource(id, tag, com.netflix.genie.common.internal.dtos.Cluster.class);
+        this.clusterCache.evict(id);
     }
 
     /**
@@ -42,6 +42,7 @@ import com.netflix.genie.web.data.services.PersistenceService;
 import com.netflix.genie.web.exceptions.checked.IdAlreadyExistsException;
 import com.netflix.genie.web.exceptions.checked.NotFoundException;
 import com.netflix.genie.web.exceptions.checked.PreconditionFailedException;
+import com.netflix.genie.web.properties.ResourceCacheProperties;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -70,6 +71,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import jakarta.annotation.Nullable;
@@ -98,19 +100,26 @@ public class CommandRestController {
     private final CommandModelAssembler commandModelAssembler;
     private final ApplicationModelAssembler applicationModelAssembler;
     private final ClusterModelAssembler clusterModelAssembler;
+    private final ResourceCache<Command> commandCache;
 
     /**
      * Constructor.
      *
-     * @param dataServices          The {@link DataServices} encapsulation instance to use
-     * @param entityModelAssemblers The encapsulation of all available V3 resource assemblers
+     * @param dataServices            The {@link DataServices} encapsulation instance to use
+     * @param entityModelAssemblers   The encapsulation of all available V3 resource assemblers
+     * @param resourceCacheProperties The properties of the cache of commands served
      */
     @Autowired
-    public CommandRestController(final DataServices dataServices, final EntityModelAssemblers entityModelAssemblers) {
+    public CommandRestController(
+        final DataServices dataServices,
+        final EntityModelAssemblers entityModelAssemblers,
+        final ResourceCacheProperties resourceCacheProperties
+    ) {
         this.persistenceService = dataServices.getPersistenceService();
         this.commandModelAssembler = entityModelAssemblers.getCommandModelAssembler();
         this.applicationModelAssembler = entityModelAssemblers.getApplicationModelAssembler();
         this.clusterModelAssembler = entityModelAssemblers.getClusterModelAssembler();
+        this.commandCache = new ResourceCache<>(resourceCacheProperties);
     }
 
     /**
@@ -141,17 +150,29 @@ public class CommandRestController {
     /**
      * Get Command configuration for given id.
      *
-     * @param id unique id for command configuration
+     * @param id         unique id for command configuration
+     * @param webRequest The current request, used to answer with a 304 if the client has the current version
      * @return The command configuration
      * @throws NotFoundException When no {@link Command} with the given {@literal id} exists
      */
     @GetMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
-    @ResponseStatus(HttpStatus.OK)
-    public EntityModel<Command> getCommand(@PathVariable("id") final String id) throws NotFoundException {
+    @Nullable
+    public EntityModel<Command> getCommand(
+        @PathVariable("id") final String id,
+        @Nullable final WebRequest webRequest
+    ) throws NotFoundException {
         log.info("Called to get command with id {}", id);
-        return this.commandModelAssembler.toModel(
-            DtoConverters.toV3Command(this.persistenceService.getCommand(id))
+        final ResourceCache.TaggedResource<Command> command = this.commandCache.get(
+            id,
+            () -> DtoConverters.toV3Command(this.persistenceService.getCommand(id))
         );
+        // No @ResponseStatus on this method as it would replace the 304 status set here
+        if (webRequest != null
+            && command.getEntityTag() != null
+            && webRequest.checkNotModified(command.getEntityTag())) {
+            return null;
+        }
+        return this.commandModelAssembler.toModel(command.getResource());
     }
 
     /**
@@ -296,6 +317,7 @@ public class CommandRestController {
     ) throws NotFoundException, PreconditionFailedException {
         log.debug("Called to update command {}", updateCommand);
         this.persistenceService.updateCommand(id, DtoConverters.toV4Command(updateCommand));
+        this.commandCache.evict(id);
     }
 
     /**
@@ -328,6 +350,7 @@ public class CommandRestController {
             log.error("Unable to patch command {} with patch {} due to exception.", id, patch, e);
             throw new GenieServerException(e.getLocalizedMessage(), e);
         }
+        this.commandCache.evict(id);
     }
 
     /**
@@ -340,6 +363,7 @@ public class CommandRestController {
     public void deleteAllCommands() throws PreconditionFailedException {
         log.warn("Called to delete all commands.");
         this.persistenceService.deleteAllCommands();
+        this.commandCache.evictAll();
     }
 
     /**
@@ -353,6 +377,7 @@ public class CommandRestController {
     public void deleteCommand(@PathVariable("id") final String id) throws NotFoundException {
         log.info("Called to delete command with id {}", id);
         this.persistenceService.deleteCommand(id);
+        this.commandCache.evict(id);
     }
 
     /**
@@ -374,6 +399,7 @@ public class CommandRestController {
             configs,
             com.netflix.genie.common.internal.dtos.Command.class
         );
+        this.commandCache.evict(id);
     }
 
     /**
@@ -412,6 +438,7 @@ public class CommandRestController {
             configs,
             com.netflix.genie.common.internal.dtos.Command.class
         );
+        this.commandCache.evict(id);
     }
 
     /**
@@ -428,6 +455,7 @@ public class CommandRestController {
             id,
             com.netflix.genie.common.internal.dtos.Command.class
         );
+        this.commandCache.evict(id);
     }
 
     /**
@@ -449,6 +477,7 @@ public class CommandRestController {
             dependencies,
             com.netflix.genie.common.internal.dtos.Command.class
         );
+        this.commandCache.evict(id);
     }
 
     /**
@@ -487,6 +516,7 @@ public class CommandRestController {
             dependencies,
             com.netflix.genie.common.internal.dtos.Command.class
         );
+        this.commandCache.evict(id);
     }
 
     /**
@@ -503,6 +533,7 @@ public class CommandRestController {
             id,
             com.netflix.genie.common.internal.dtos.Command.class
         );
+        this.commandCache.evict(id);
     }
 
     /**
@@ -524,6 +555,7 @@ public class CommandRestController {
             tags,
             com.netflix.genie.common.internal.dtos.Command.class
         );
+        this.commandCache.evict(id);
     }
 
     /**
@@ -560,6 +592,7 @@ public class CommandRestController {
             tags,
             com.netflix.genie.common.internal.dtos.Command.class
         );
+        this.commandCache.evict(id);
     }
 
     /**
@@ -573,6 +606,7 @@ public class CommandRestController {
     public void removeAllTagsForCommand(@PathVariable("id") final String id) throws NotFoundException {
         log.info("Called with id {}", id);
         this.persistenceService.removeAllTagsForResource(id, com.netflix.genie.common.internal.dtos.Command.class);
+        this.commandCache.evict(id);
     }
 
     /**
@@ -594,6 +628,7 @@ public class CommandRestController {
             tag,
             com.netflix.genie.common.internal.dtos.Command.class
         );
+        this.commandCache.evict(id);
     }
 
     /**
@@ -613,6 +648,7 @@ public class CommandRestController {
     ) throws NotFoundException, PreconditionFailedException {
         log.info("Called with id {} and application {}", id, applicationIds);
         this.persistenceService.addApplicationsForCommand(id, applicationIds);
+        this.commandCache.evict(id);
     }
 
     /**
@@ -651,6 +687,7 @@ public class CommandRestController {
     ) throws NotFoundException, PreconditionFailedException {
         log.info("Called with id {} and application {}", id, applicationIds);
         this.persistenceService.setApplicationsForCommand(id, applicationIds);
+        this.commandCache.evict(id);
     }
 
     /**
@@ -667,6 +704,7 @@ public class CommandRestController {
     ) throws NotFoundException, PreconditionFailedException {
         log.info("Called with id '{}'", id);
         this.persistenceService.removeApplicationsForCommand(id);
+        this.commandCache.evict(id);
     }
 
     /**
@@ -684,6 +722,7 @@ public class CommandRestController {
     ) throws NotFoundException {
         log.info("Called with id '{}' and app id {}", id, appId);
         this.persistenceService.removeApplicationForCommand(id, appId);
+        this.commandCache.evict(id);
     }
 
     /**
@@ -749,6 +788,7 @@ public class CommandRestController {
     ) throws NotFoundException {
         log.info("Called for command {}", id);
         this.persistenceService.removeAllClusterCriteriaForCommand(id);
+        this.commandCache.evict(id);
     }
 
     /**
@@ -766,6 +806,7 @@ public class CommandRestController {
     ) throws NotFoundException {
         log.info("Called to add {} as the lowest priority cluster criterion for command {}", criterion, id);
         this.persistenceService.addClusterCriterionForCommand(id, criterion);
+        this.commandCache.evict(id);
     }
 
     /**
@@ -783,6 +824,7 @@ public class CommandRestController {
     ) throws NotFoundException {
         log.info("Called to set {} as the cluster criteria for command {}", clusterCriteria, id);
         this.persistenceService.setClusterCriteriaForCommand(id, clusterCriteria);
+        this.commandCache.evict(id);
     }
 
     /**
@@ -802,6 +844,7 @@ public class CommandRestController {
     ) throws NotFoundException {
         log.info("Called to insert new criterion {} for command {} with priority {}", criterion, id, priority);
         this.persistenceService.addClusterCriterionForCommand(id, criterion, priority);
+        this.commandCache.evict(id);
     }
 
     /**
@@ -819,6 +862,7 @@ public class CommandRestController {
     ) throws NotFoundException {
         log.info("Called to remove the criterion from command {} with priority {}", id, priority);
         this.persistenceService.removeClusterCriterionForCommand(id, priority);
+        this.commandCache.evict(id);
     }
 
     /**
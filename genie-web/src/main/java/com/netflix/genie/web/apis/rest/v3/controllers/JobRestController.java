@@ -20,7 +20,9 @@ package com.netflix.genie.web.apis.rest.v3.controllers;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
 import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingInputStream;
 import com.netflix.genie.common.dto.Application;
 import com.netflix.genie.common.dto.Cluster;
 import com.netflix.genie.common.dto.Command;
@@ -31,11 +33,13 @@ import com.netflix.genie.common.dto.JobRequest;
 import com.netflix.genie.common.dto.JobStatus;
 import com.netflix.genie.common.dto.JobStatusMessages;
 import com.netflix.genie.common.dto.search.JobSearchResult;
+import com.netflix.genie.common.exceptions.GenieBadRequestException;
 import com.netflix.genie.common.exceptions.GenieException;
 import com.netflix.genie.common.exceptions.GenieNotFoundException;
 import com.netflix.genie.common.exceptions.GenieServerException;
 import com.netflix.genie.common.exceptions.GenieServerUnavailableException;
 import com.netflix.genie.common.exceptions.GenieUserLimitExceededException;
+import com.netflix.genie.common.external.util.GenieObjectMapper;
 import com.netflix.genie.common.internal.dtos.ApiClientMetadata;
 import com.netflix.genie.common.internal.dtos.ArchiveStatus;
 import com.netflix.genie.common.internal.dtos.JobRequestMetadata;
@@ -68,6 +72,11 @@ import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.tomcat.util.http.fileupload.FileItemIterator;
+import org.apache.tomcat.util.http.fileupload.FileItemStream;
+import org.apache.tomcat.util.http.fileupload.FileUploadException;
+import org.apache.tomcat.util.http.fileupload.servlet.ServletFileUpload;
+import org.apache.tomcat.util.http.fileupload.servlet.ServletRequestContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.env.Environment;
@@ -109,8 +118,14 @@ import jakarta.annotation.Nullable;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
+import java.net.URI;
 import java.net.URL;
 import java.time.Instant;
 import java.util.Arrays;
@@ -133,6 +148,15 @@ import java.util.stream.Collectors;
 @RequestMapping(value = "/api/v3/jobs")
 @Slf4j
 public class JobRestController {
+    /**
+     * The path of the endpoint which accepts job submissions with streamed attachments.
+     */
+    public static final String STREAMING_SUBMISSION_PATH = "/api/v3/jobs/stream";
+
+    private static final String REQUEST_PART_NAME = "request";
+    private static final String ATTACHMENT_PART_NAME = "attachment";
+    // Upper bound on the parts of a streamed submission so a client can't keep the request thread busy indefinitely
+    private static final long MAX_STREAMED_PART_COUNT = 100L;
     private static final String TRANSFER_ENCODING_HEADER = "Transfer-Encoding";
     private static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
     private static final String NAME_HEADER_COOKIE = "cookie";
@@ -160,11 +184,13 @@ public class JobRestController {
     private final Environment environment;
     private final AttachmentService attachmentService;
     private final JobKillService jobKillService;
+    private final Validator validator;
 
     // Metrics
     private final MeterRegistry registry;
     private final Counter submitJobWithoutAttachmentsRate;
     private final Counter submitJobWithAttachmentsRate;
+    private final Counter submitJobWithStreamedAttachmentsRate;
 
     /**
      * Constructor.
@@ -181,6 +207,7 @@ public class JobRestController {
      * @param environment               The application environment to pull dynamic properties from
      * @param attachmentService         The attachment service to use to save attachments.
      * @param jobKillService            The service to kill running jobs
+     * @param validator                 The bean validator of job requests of streamed submissions
      */
     @Autowired
     @SuppressWarnings("checkstyle:parameternumber")
@@ -196,7 +223,8 @@ public class JobRestController {
         final AgentRoutingService agentRoutingService,
         final Environment environment,
         final AttachmentService attachmentService,
-        final JobKillService jobKillService
+        final JobKillService jobKillService,
+        final Validator validator
     ) {
         this.jobLaunchService = jobLaunchService;
         this.applicationModelAssembler = entityModelAssemblers.getApplicationModelAssembler();
@@ -216,11 +244,15 @@ public class JobRestController {
         this.environment = environment;
         this.attachmentService = attachmentService;
         this.jobKillService = jobKillService;
+        this.validator = validator;
         this.registry = registry;
 
         // Set up the metrics
         this.submitJobWithoutAttachmentsRate = registry.counter("genie.api.v3.jobs.submitJobWithoutAttachments.rate");
         this.submitJobWithAttachmentsRate = registry.counter("genie.api.v3.jobs.submitJobWithAttachments.rate");
+        this.submitJobWithStreamedAttachmentsRate = registry.counter(
+            "genie.api.v3.jobs.submitJobWithStreamedAttachments.rate"
+        );
     }
 
     /**
@@ -262,8 +294,8 @@ public class JobRestController {
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @ResponseStatus(HttpStatus.ACCEPTED)
     public ResponseEntity<Void> submitJob(
-        @Valid @RequestPart("request") final JobRequest jobRequest,
-        @RequestPart(value = "attachment", required = false) @Nullable final MultipartFile[] attachments,
+        @Valid @RequestPart(REQUEST_PART_NAME) final JobRequest jobRequest,
+        @RequestPart(value = ATTACHMENT_PART_NAME, required = false) @Nullable final MultipartFile[] attachments,
         @RequestHeader(value = FORWARDED_FOR_HEADER, required = false) @Nullable final String clientHost,
         @RequestHeader(value = HttpHeaders.USER_AGENT, required = false) @Nullable final String userAgent,
         final HttpServletRequest httpServletRequest
@@ -277,6 +309,105 @@ public class JobRestController {
         return this.handleSubmitJob(jobRequest, attachments, clientHost, userAgent, httpServletRequest);
     }
 
+    /**
+     * Submit a new job with attachments, streaming each attachment to the {@link AttachmentService} as it is received
+     * instead of having the whole request buffered or spooled to disk first.
+     * <p>
+     * The body is the same multipart form as for {@link #submitJob(JobRequest, MultipartFile[], String, String,
+     * HttpServletRequest)}, except that the {@literal request} part must come before any {@literal attachment} part.
+     * The job request is validated like for the other submission endpoints before any attachment is read.
+     *
+     * @param clientHost         client host sending the request
+     * @param userAgent          The user agent string
+     * @param httpServletRequest The http servlet request
+     * @return The submitted job
+     * @throws GenieException        For any error
+     * @throws GenieCheckedException For V4 Agent Execution errors
+     */
+    @PostMapping(value = "/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ResponseEntity<Void> submitJobStreaming(
+        @RequestHeader(value = FORWARDED_FOR_HEADER, required = false) @Nullable final String clientHost,
+        @RequestHeader(value = HttpHeaders.USER_AGENT, required = false) @Nullable final String userAgent,
+        final HttpServletRequest httpServletRequest
+    ) throws GenieException, GenieCheckedException {
+        log.info("[submitJobStreaming] Called multipart method to submit job with streamed attachments");
+        this.submitJobWithStreamedAttachmentsRate.increment();
+
+        JobRequest jobRequest = null;
+        final Set<URI> attachmentURIs = Sets.newHashSet();
+        long totalSizeOfAttachments = 0L;
+        try {
+            final ServletFileUpload upload = new ServletFileUpload();
+            upload.setFileCountMax(MAX_STREAMED_PART_COUNT);
+            final FileItemIterator items = upload.getItemIterator(new ServletRequestContext(httpServletRequest));
+            int partCount = 0;
+            while (items.hasNext()) {
+                // Only parseRequest checks the file count max, the streaming iterator leaves counting to the caller
+                if (++partCount > MAX_STREAMED_PART_COUNT) {
+                    throw new GenieBadRequestException(
+                        "Too many parts in job submission. Limit is " + MAX_STREAMED_PART_COUNT
+                    );
+                }
+                final FileItemStream item = items.next();
+                if (REQUEST_PART_NAME.equals(item.getFieldName())) {
+                    if (jobRequest != null) {
+                        throw new GenieBadRequestException("Only one job request part is allowed");
+                    }
+                    try (InputStream inputStream = item.openStream()) {
+                        jobRequest = GenieObjectMapper.getMapper().readValue(inputStream, JobRequest.class);
+                    }
+                    log.info("[submitJobStreaming] Received job request: {}", jobRequest);
+                    // Same constraints as the @Valid job request of the other submission endpoints
+                    final Set<ConstraintViolation<JobRequest>> violations = this.validator.validate(jobRequest);
+                    if (!violations.isEmpty()) {
+                        throw new ConstraintViolationException(violations);
+                    }
+                    // Reject before receiving any attachment
+                    this.checkRejectJob(jobRequest);
+                } else if (ATTACHMENT_PART_NAME.equals(item.getFieldName())) {
+                    if (jobRequest == null) {
+                        throw new GenieBadRequestException("The job request part must precede any attachment");
+                    }
+                    if (StringUtils.isBlank(item.getName())) {
+                        throw new GenieBadRequestException("Attachment filename is missing");
+                    }
+                    try (CountingInputStream inputStream = new CountingInputStream(item.openStream())) {
+                        attachmentURIs.add(
+                            this.attachmentService.saveAttachment(
+                                jobRequest.getId().orElse(null),
+                                item.getName(),
+                                inputStream,
+                                totalSizeOfAttachments
+                            )
+                        );
+                        totalSizeOfAttachments += inputStream.getCount();
+                    }
+                } else {
+                    log.debug("[submitJobStreaming] Ignoring unknown part {}", item.getFieldName());
+                }
+            }
+        } catch (final FileUploadException e) {
+            throw new GenieBadRequestException("Malformed multipart request: " + e.getMessage(), e);
+        } catch (final IOException e) {
+            throw new GenieBadRequestException("Failed to read job submission: " + e.getMessage(), e);
+        }
+
+        if (jobRequest == null) {
+            throw new GenieBadRequestException("Missing job request part");
+        }
+
+        return this.launchJob(
+            jobRequest,
+            attachmentURIs.size(),
+            totalSizeOfAttachments,
+            attachmentURIs,
+            clientHost,
+            userAgent,
+            httpServletRequest
+        );
+    }
+
     private ResponseEntity<Void> handleSubmitJob(
         final JobRequest jobRequest,
         @Nullable final MultipartFile[] attachments,
@@ -288,22 +419,50 @@ public class JobRestController {
         // This node may reject this job
         this.checkRejectJob(jobRequest);
 
-        // get client's host from the context
-        final String localClientHost;
-        if (StringUtils.isNotBlank(clientHost)) {
-            localClientHost = clientHost.split(COMMA)[0];
-        } else {
-            localClientHost = httpServletRequest.getRemoteAddr();
-        }
-
         // Get attachments metadata
         int numAttachments = 0;
         long totalSizeOfAttachments = 0L;
+        Set<URI> attachmentURIs = null;
         if (attachments != null) {
             numAttachments = attachments.length;
             for (final MultipartFile attachment : attachments) {
                 totalSizeOfAttachments += attachment.getSize();
             }
+            attachmentURIs = this.attachmentService.saveAttachments(
+                jobRequest.getId().orElse(null),
+                Arrays
+                    .stream(attachments)
+                    .map(MultipartFile::getResource)
+                    .collect(Collectors.toSet())
+            );
+        }
+
+        return this.launchJob(
+            jobRequest,
+            numAttachments,
+            totalSizeOfAttachments,
+            attachmentURIs,
+            clientHost,
+            userAgent,
+            httpServletRequest
+        );
+    }
+
+    private ResponseEntity<Void> launchJob(
+        final JobRequest jobRequest,
+        final int numAttachments,
+        final long totalSizeOfAttachments,
+        @Nullable final Set<URI> attachmentURIs,
+        @Nullable final String clientHost,
+        @Nullable final String userAgent,
+        final HttpServletRequest httpServletRequest
+    ) throws GenieException, GenieCheckedException {
+        // get client's host from the context
+        final String localClientHost;
+        if (StringUtils.isNotBlank(clientHost)) {
+            localClientHost = clientHost.split(COMMA)[0];
+        } else {
+            localClientHost = httpServletRequest.getRemoteAddr();
         }
 
         final JobRequestMetadata metadata = new JobRequestMetadata(
@@ -314,30 +473,20 @@ public class JobRestController {
             this.getGenieHeaders(httpServletRequest)
         );
 
-        final JobSubmission.Builder jobSubmissionBuilder = new JobSubmission.Builder(
+        final JobSubmission jobSubmission = new JobSubmission.Builder(
             DtoConverters.toV4JobRequest(jobRequest),
             metadata
-        );
-
-        if (attachments != null) {
-            jobSubmissionBuilder.withAttachments(
-                this.attachmentService.saveAttachments(
-                    jobRequest.getId().orElse(null),
-                    Arrays
-                        .stream(attachments)
-                        .map(MultipartFile::getResource)
-                        .collect(Collectors.toSet())
-                )
-            );
-        }
+        )
+            .withAttachments(attachmentURIs)
+            .build();
 
-        final String jobId = this.jobLaunchService.launchJob(jobSubmissionBuilder.build());
+        final String jobId = this.jobLaunchService.launchJob(jobSubmission);
 
         final HttpHeaders httpHeaders = new HttpHeaders();
         httpHeaders.setLocation(
             ServletUriComponentsBuilder
-                .fromCurrentRequest()
-                .path("/{id}")
+                .fromCurrentContextPath()
+                .path(JOB_API_BASE_PATH + "{id}")
                 .buildAndExpand(jobId)
                 .toUri()
         );
@@ -0,0 +1,175 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.apis.rest.v3.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.netflix.genie.common.dto.CommonDTO;
+import com.netflix.genie.common.external.util.GenieObjectMapper;
+import com.netflix.genie.web.exceptions.checked.NotFoundException;
+import com.netflix.genie.web.properties.ResourceCacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.DigestUtils;
+
+import jakarta.annotation.Nullable;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Caches the resources served by a V3 REST controller along with their entity tag.
+ * <p>
+ * The entity tag is a hash of the serialized resource, so it changes whenever anything a client can see changes. A
+ * client polling a resource it already has sends the tag back in {@code If-None-Match} and, while the resource is
+ * cached, is answered without reading the database or rendering the resource. The controller evicts a resource
+ * whenever it modifies it, while changes made through other nodes are picked up once the entry expires.
+ *
+ * @param <T> The type of resource cached
+ * @since 4.4.0
+ */
+@Slf4j
+class ResourceCache<T extends CommonDTO> {
+
+    @Nullable
+    private final Cache<String, TaggedResource<T>> cache;
+
+    /**
+     * Constructor.
+     *
+     * @param properties The cache properties
+     */
+    ResourceCache(final ResourceCacheProperties properties) {
+        if (properties.isEnabled()) {
+            this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .build();
+        } else {
+            this.cache = null;
+        }
+    }
+
+    /**
+     * Get a resource, loading it if it isn't cached.
+     *
+     * @param id     The id of the resource
+     * @param loader Loads the resource from the database
+     * @return The resource and its entity tag
+     * @throws NotFoundException If no resource exists with the given id
+     */
+    TaggedResource<T> get(final String id, final ResourceLoader<T> loader) throws NotFoundException {
+        if (this.cache == null) {
+            return tag(loader.load());
+        }
+        try {
+            // The load is atomic with respect to eviction, a resource loaded while it is modified isn't kept
+            return this.cache.get(
+                id,
+                key -> {
+                    try {
+                        return tag(loader.load());
+                    } catch (final NotFoundException e) {
+                        throw new CompletionException(e);
+                    }
+                }
+            );
+        } catch (final CompletionException e) {
+            throw (NotFoundException) e.getCause();
+        }
+    }
+
+    /**
+     * Evict a resource, to be called whenever it is modified.
+     *
+     * @param id The id of the resource
+     */
+    void evict(final String id) {
+        if (this.cache != null) {
+            this.cache.invalidate(id);
+        }
+    }
+
+    /**
+     * Evict all resources.
+     */
+    void evictAll() {
+        if (this.cache != null) {
+            this.cache.invalidateAll();
+        }
+    }
+
+    private static <T extends CommonDTO> TaggedResource<T> tag(final T resource) {
+        String entityTag = null;
+        try {
+            final byte[] serialized = GenieObjectMapper.getMapper().writeValueAsBytes(resource);
+            entityTag = "\"" + DigestUtils.md5DigestAsHex(serialized) + "\"";
+        } catch (final JsonProcessingException e) {
+            log.warn("Unable to compute the entity tag of resource {}", resource.getId().orElse(null), e);
+        }
+        return new TaggedResource<>(resource, entityTag);
+    }
+
+    /**
+     * Loads a resource from the database.
+     *
+     * @param <T> The type of resource
+     */
+    @FunctionalInterface
+    interface ResourceLoader<T> {
+        /**
+         * Load the resource.
+         *
+         * @return The resource
+         * @throws NotFoundException If the resource doesn't exist
+         */
+        T load() throws NotFoundException;
+    }
+
+    /**
+     * A resource along with its entity tag.
+     *
+     * @param <T> The type of resource
+     */
+    static final class TaggedResource<T> {
+        private final T resource;
+        private final String entityTag;
+
+        private TaggedResource(final T resource, @Nullable final String entityTag) {
+            this.resource = resource;
+            this.entityTag = entityTag;
+        }
+
+        /**
+         * Get the resource.
+         *
+         * @return The resource
+         */
+        T getResource() {
+            return this.resource;
+        }
+
+        /**
+         * Get the quoted strong entity tag of the resource.
+         *
+         * @return The entity tag or null if it couldn't be computed
+         */
+        @Nullable
+        String getEntityTag() {
+            return this.entityTag;
+        }
+    }
+}
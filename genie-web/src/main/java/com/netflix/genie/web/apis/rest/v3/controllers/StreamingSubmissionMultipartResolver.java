@@ -0,0 +1,48 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.apis.rest.v3.controllers;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.web.multipart.support.StandardServletMultipartResolver;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * A {@link StandardServletMultipartResolver} which leaves requests to the streaming job submission endpoint alone.
+ * <p>
+ * Resolving a multipart request makes the servlet container parse all of its parts, spooling large ones to disk,
+ * before the handler is invoked. For {@link JobRestController#STREAMING_SUBMISSION_PATH} the handler reads the parts
+ * from the raw request body itself, so the request must reach it unparsed.
+ *
+ * @since 4.4.0
+ */
+public class StreamingSubmissionMultipartResolver extends StandardServletMultipartResolver {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMultipart(final HttpServletRequest request) {
+        return !isStreamingSubmission(request) && super.isMultipart(request);
+    }
+
+    private static boolean isStreamingSubmission(final HttpServletRequest request) {
+        final String path = StringUtils.removeStart(request.getRequestURI(), request.getContextPath());
+        return JobRestController.STREAMING_SUBMISSION_PATH.equals(StringUtils.removeEnd(path, "/"));
+    }
+}
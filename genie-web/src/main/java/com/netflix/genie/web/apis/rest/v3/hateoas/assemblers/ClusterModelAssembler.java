@@ -50,7 +50,7 @@ public class ClusterModelAssembler implements RepresentationModelAssembler<Clust
                 WebMvcLinkBuilder.linkTo(
                     WebMvcLinkBuilder
                         .methodOn(ClusterRestController.class)
-                        .getCluster(id)
+                        .getCluster(id, null)
                 ).withSelfRel()
             );
 
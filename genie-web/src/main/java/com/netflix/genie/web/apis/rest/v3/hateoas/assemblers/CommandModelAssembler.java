@@ -52,7 +52,7 @@ public class CommandModelAssembler implements RepresentationModelAssembler<Comma
                 WebMvcLinkBuilder.linkTo(
                     WebMvcLinkBuilder
                         .methodOn(CommandRestController.class)
-                        .getCommand(id)
+                        .getCommand(id, null)
                 ).withSelfRel()
             );
 
@@ -714,6 +714,23 @@ public interface PersistenceService {
         @NotNull(message = "Status cannot be null.") ArchiveStatus archiveStatus
     ) throws NotFoundException;
 
+    /**
+     * Mark the jobs identified by {@code ids} as {@link JobStatus#FAILED} with the given status message, skipping any
+     * job which doesn't exist or is no longer active. Failed jobs whose archive status is still
+     * {@link ArchiveStatus#PENDING} get {@code pendingArchiveStatus} instead. All the jobs are updated in a single
+     * transaction.
+     *
+     * @param ids                  The ids of the jobs to fail
+     * @param newStatusMessage     The status message to associate with the change
+     * @param pendingArchiveStatus The archive status replacing a {@link ArchiveStatus#PENDING} archive status
+     * @return The ids of the jobs which were marked failed
+     */
+    Set<String> failActiveJobs(
+        @NotNull Set<@NotBlank String> ids,
+        @NotBlank String newStatusMessage,
+        @NotNull ArchiveStatus pendingArchiveStatus
+    );
+
     /**
      * Get the status for a job with the given {@code id}.
      *
@@ -804,6 +821,16 @@ public interface PersistenceService {
      */
     Map<String, UserResourcesSummary> getUserResourcesSummaries(Set<JobStatus> statuses, boolean api);
 
+    /**
+     * Get a map of summaries of resources usage for each user owning at least one of the given jobs, regardless of
+     * the current status of those jobs.
+     *
+     * @param ids The unique ids of the jobs to summarize. Ids of jobs which don't exist are ignored
+     * @param api Whether the job was submitted via the api ({@literal true}) or the agent cli ({@literal false})
+     * @return a map of user resources summaries, keyed on user name
+     */
+    Map<String, UserResourcesSummary> getUserResourcesSummariesForJobs(@NotNull Set<@NotBlank String> ids, boolean api);
+
     /**
      * Get the amount of memory currently used on the given host by Genie jobs in any of the following states.
      * <p>
@@ -830,6 +857,24 @@ public interface PersistenceService {
      */
     Set<String> getUnclaimedJobs();
 
+    /**
+     * Get which of the given jobs were created before {@code created}.
+     *
+     * @param ids     The unique ids of the jobs to check. Ids of jobs which don't exist are ignored
+     * @param created The threshold the creation time of a job must be before
+     * @return The subset of the ids for jobs which were created before the threshold
+     */
+    Set<String> getJobsCreatedBefore(@NotNull Set<@NotBlank String> ids, @NotNull Instant created);
+
+    /**
+     * Get which of the given jobs are finished and were marked finished before {@code finished}.
+     *
+     * @param ids      The unique ids of the jobs to check. Ids of jobs which don't exist are ignored
+     * @param finished The threshold the finish time of a job must be before
+     * @return The subset of the ids for jobs which finished before the threshold
+     */
+    Set<String> getJobsFinishedBefore(@NotNull Set<@NotBlank String> ids, @NotNull Instant finished);
+
     /**
      * Get all the aggregate metadata information about jobs running on a given hostname.
      *
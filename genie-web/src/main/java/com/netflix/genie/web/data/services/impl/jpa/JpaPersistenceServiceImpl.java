@@ -24,6 +24,7 @@ import com.fasterxml.jackson.databind.node.NullNode;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.netflix.genie.common.dto.Job;
 import com.netflix.genie.common.dto.JobExecution;
@@ -187,6 +188,16 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
         .map(Enum::name)
         .collect(Collectors.toSet());
 
+    /**
+     * The set of finished statuses as their names.
+     */
+    @VisibleForTesting
+    static final Set<String> FINISHED_STATUS_SET = JobStatus
+        .getFinishedStatuses()
+        .stream()
+        .map(Enum::name)
+        .collect(Collectors.toSet());
+
     /**
      * The set of job statuses which are considered to be using memory on a Genie node.
      */
@@ -1869,6 +1880,48 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
         );
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<String> failActiveJobs(
+        @NotNull final Set<@NotBlank String> ids,
+        @NotBlank final String newStatusMessage,
+        @NotNull final ArchiveStatus pendingArchiveStatus
+    ) {
+        log.debug("[failActiveJobs] Requested to fail {} jobs with message {}", ids.size(), newStatusMessage);
+        if (ids.isEmpty()) {
+            return Sets.newHashSet();
+        }
+
+        final Set<String> failedJobIds = Sets.newHashSet();
+        for (final JobEntity jobEntity : this.jobRepository.findByUniqueIdIn(ids)) {
+            final String id = jobEntity.getUniqueId();
+            final JobStatus currentStatus = DtoConverters.toV4JobStatus(jobEntity.getStatus());
+            if (!currentStatus.isActive()) {
+                log.debug(
+                    "[failActiveJobs] Job status for {} is already terminal state {}. Skipping update.",
+                    id,
+                    currentStatus
+                );
+                continue;
+            }
+
+            if (jobEntity.getArchiveStatus().filter(ArchiveStatus.PENDING.name()::equals).isPresent()) {
+                jobEntity.setArchiveStatus(pendingArchiveStatus.name());
+            }
+            jobEntity.setStatus(JobStatus.FAILED.name());
+            jobEntity.setStatusMsg(StringUtils.truncate(newStatusMessage, MAX_STATUS_MESSAGE_LENGTH));
+            if (jobEntity.getStarted().isPresent()) {
+                jobEntity.setFinished(Instant.now());
+            }
+            failedJobIds.add(id);
+        }
+
+        log.debug("[failActiveJobs] Failed {} of {} jobs", failedJobIds.size(), ids.size());
+        return failedJobIds;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -2015,6 +2068,26 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
             .collect(Collectors.toMap(UserResourcesSummary::getUser, userResourcesSummary -> userResourcesSummary));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, UserResourcesSummary> getUserResourcesSummariesForJobs(
+        @NotNull final Set<@NotBlank String> ids,
+        final boolean api
+    ) {
+        log.debug("[getUserResourcesSummariesForJobs] Called for {} jobs and api {}", ids.size(), api);
+        if (ids.isEmpty()) {
+            return Maps.newHashMap();
+        }
+        return this.jobRepository
+            .getUserJobResourcesAggregatesForJobs(ids, api)
+            .stream()
+            .map(EntityV3DtoConverters::toUserResourceSummaryDto)
+            .collect(Collectors.toMap(UserResourcesSummary::getUser, userResourcesSummary -> userResourcesSummary));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -2042,6 +2115,38 @@ public class JpaPersistenceServiceImpl implements PersistenceService {
         return this.jobRepository.getJobIdsWithStatusIn(UNCLAIMED_STATUS_SET);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Set<String> getJobsCreatedBefore(
+        @NotNull final Set<@NotBlank String> ids,
+        @NotNull final Instant created
+    ) {
+        log.debug("[getJobsCreatedBefore] Called for {} jobs created before {}", ids.size(), created);
+        if (ids.isEmpty()) {
+            return Sets.newHashSet();
+        }
+        return this.jobRepository.getJobIdsCreatedBefore(ids, created);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Set<String> getJobsFinishedBefore(
+        @NotNull final Set<@NotBlank String> ids,
+        @NotNull final Instant finished
+    ) {
+        log.debug("[getJobsFinishedBefore] Called for {} jobs finished before {}", ids.size(), finished);
+        if (ids.isEmpty()) {
+            return Sets.newHashSet();
+        }
+        return this.jobRepository.getJobIdsWithStatusInAndFinishedBefore(ids, FINISHED_STATUS_SET, finished);
+    }
+
     /**
      * {@inheritDoc}
      */
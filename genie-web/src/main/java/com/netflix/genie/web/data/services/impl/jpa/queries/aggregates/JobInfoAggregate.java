@@ -39,6 +39,14 @@ public interface JobInfoAggregate {
      */
     long getTotalMemoryUsed();
 
+    /**
+     * Get the total number of CPUs that are actively in use by jobs on this host.
+     *
+     * @return The total number of CPUs used
+     * @since 4.4.0
+     */
+    long getTotalCpuUsed();
+
     /**
      * Get the number of jobs in any of the active states on this host.
      *
@@ -72,8 +72,8 @@ public interface JpaJobRepository extends JpaBaseRepository<JobEntity> {
     );
 
     /**
-     * In a single query get aggregate information for the amount of memory used and count of active jobs on a given
-     * host.
+     * In a single query get aggregate information for the amount of memory and CPUs used and count of active jobs on a
+     * given host.
      *
      * @param agentHostname  The hostname where the agent is running the job
      * @param activeStatuses The set of statuses to use in order to consider a job "active"
@@ -93,6 +93,11 @@ public interface JpaJobRepository extends JpaBaseRepository<JobEntity> {
             + " WHERE j.agent_hostname = :agentHostname and j.status IN (:usedStatuses)"
             + ") as totalMemoryUsed,"
             + " ("
+            + "SELECT COALESCE(SUM(COALESCE(j.cpu_used, 1)), 0)"
+            + " FROM jobs j"
+            + " WHERE j.agent_hostname = :agentHostname and j.status IN (:usedStatuses)"
+            + ") as totalCpuUsed,"
+            + " ("
             + "SELECT COUNT(*)"
             + " FROM jobs j"
             + " WHERE j.agent_hostname = :agentHostname and j.status IN (:activeStatuses)"
@@ -148,6 +153,32 @@ public interface JpaJobRepository extends JpaBaseRepository<JobEntity> {
         @Param("isApi") boolean api
     );
 
+    /**
+     * Returns resources usage for each user owning at least one of the given jobs, regardless of their status.
+     *
+     * @param uniqueIds The unique ids of the jobs to consider
+     * @param api       Whether the job was submitted through the api ({@literal true}) or agent cli ({@literal false})
+     * @return The user resource aggregates
+     */
+    @Query(
+        "SELECT j.user AS user, COUNT(j) as runningJobsCount, COALESCE(SUM(j.memoryUsed), 0) as usedMemory"
+            + " FROM JobEntity j"
+            + " WHERE j.uniqueId IN (:uniqueIds) AND j.api = :isApi"
+            + " GROUP BY j.user"
+    )
+    Set<UserJobResourcesAggregate> getUserJobResourcesAggregatesForJobs(
+        @Param("uniqueIds") @NotEmpty Set<String> uniqueIds,
+        @Param("isApi") boolean api
+    );
+
+    /**
+     * Find the jobs with the given unique ids.
+     *
+     * @param uniqueIds The unique ids of the jobs
+     * @return The jobs which exist
+     */
+    Set<JobEntity> findByUniqueIdIn(@NotEmpty Set<String> uniqueIds);
+
     /**
      * Find agent jobs in the given set of states.
      *
@@ -157,6 +188,40 @@ public interface JpaJobRepository extends JpaBaseRepository<JobEntity> {
     @Query("SELECT j.uniqueId FROM JobEntity j WHERE j.status IN (:statuses)")
     Set<String> getJobIdsWithStatusIn(@Param("statuses") @NotEmpty Set<String> statuses);
 
+    /**
+     * Find which of the given jobs were created before a given threshold.
+     *
+     * @param uniqueIds        the unique ids of the jobs to consider
+     * @param createdThreshold select jobs created before this threshold
+     * @return a set of job ids
+     */
+    @Query("SELECT j.uniqueId FROM JobEntity j WHERE j.uniqueId IN (:uniqueIds) AND j.created < :createdThreshold")
+    Set<String> getJobIdsCreatedBefore(
+        @Param("uniqueIds") @NotEmpty Set<String> uniqueIds,
+        @Param("createdThreshold") Instant createdThreshold
+    );
+
+    /**
+     * Find which of the given jobs are in the given set of states and were marked finished before a given threshold.
+     *
+     * @param uniqueIds         the unique ids of the jobs to consider
+     * @param statuses          the job statuses filter
+     * @param finishedThreshold select jobs finished before this threshold
+     * @return a set of job ids
+     */
+    @Query(
+        "SELECT j.uniqueId"
+            + " FROM JobEntity j"
+            + " WHERE j.uniqueId IN (:uniqueIds)"
+            + " AND j.status IN (:statuses)"
+            + " AND j.finished < :finishedThreshold"
+    )
+    Set<String> getJobIdsWithStatusInAndFinishedBefore(
+        @Param("uniqueIds") @NotEmpty Set<String> uniqueIds,
+        @Param("statuses") @NotEmpty Set<String> statuses,
+        @Param("finishedThreshold") Instant finishedThreshold
+    );
+
     /**
      * Find agent jobs in the given set of job and archive states that were marked finished before a given threshold.
      *
@@ -0,0 +1,47 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.events;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event requesting the agent running a job, connected to this node, to reconnect, possibly to a different node.
+ * <p>
+ * Services holding streams opened by the agent close them on this event, so the agent opens them again over its new
+ * connection. The heartbeat streams are closed after asking the agent to reconnect.
+ *
+ * @since 4.4.0
+ */
+@Getter
+@ToString
+public class AgentReconnectRequestedEvent extends ApplicationEvent {
+    private final String jobId;
+
+    /**
+     * Constructor.
+     *
+     * @param jobId  the id of the job whose agent should reconnect
+     * @param source the event source
+     */
+    public AgentReconnectRequestedEvent(final String jobId, final Object source) {
+        super(source);
+        this.jobId = jobId;
+    }
+}
@@ -22,6 +22,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.BeanClassLoaderAware;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ApplicationEventMulticaster;
@@ -42,7 +43,8 @@ public class GenieEventBusImpl implements
     GenieEventBus,
     ApplicationEventMulticaster,
     BeanClassLoaderAware,
-    BeanFactoryAware {
+    BeanFactoryAware,
+    DisposableBean {
 
     private final SimpleApplicationEventMulticaster syncMulticaster;
     private final SimpleApplicationEventMulticaster asyncMulticaster;
@@ -188,4 +190,19 @@ public class GenieEventBusImpl implements
         this.syncMulticaster.setBeanFactory(beanFactory);
         this.asyncMulticaster.setBeanFactory(beanFactory);
     }
+
+    /**
+     * Release any resources (e.g. listener threads) held by the underlying multicasters.
+     *
+     * @throws Exception on error destroying a multicaster
+     */
+    @Override
+    public void destroy() throws Exception {
+        if (this.syncMulticaster instanceof DisposableBean) {
+            ((DisposableBean) this.syncMulticaster).destroy();
+        }
+        if (this.asyncMulticaster instanceof DisposableBean) {
+            ((DisposableBean) this.asyncMulticaster).destroy();
+        }
+    }
 }
@@ -0,0 +1,335 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.events;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.netflix.genie.web.properties.EventListenerDispatchProperties;
+import com.netflix.genie.web.util.MetricsConstants;
+import com.netflix.genie.web.util.MetricsUtils;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.context.event.SmartApplicationListener;
+import org.springframework.core.ResolvableType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import jakarta.annotation.Nullable;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * An event multicaster which delivers each event to each listener through a bounded queue and worker threads
+ * dedicated to that listener. A slow or stuck listener therefore only backs up its own queue instead of the shared
+ * task executor, and what happens once that queue is full is governed by the configured
+ * {@link EventListenerDispatchProperties.OverflowPolicy}.
+ * <p>
+ * Queue depth, time spent queued, listener invocation latency and dropped events are all published as metrics
+ * tagged by listener and event type.
+ *
+ * @since 4.4.0
+ */
+@Slf4j
+public class ListenerDispatchingEventMulticaster extends SimpleApplicationEventMulticaster implements DisposableBean {
+
+    @VisibleForTesting
+    static final String INVOCATION_TIMER_NAME = "genie.events.listener.invocation.timer";
+    @VisibleForTesting
+    static final String QUEUE_WAIT_TIMER_NAME = "genie.events.listener.queue-wait.timer";
+    @VisibleForTesting
+    static final String DROPPED_EVENTS_COUNTER_NAME = "genie.events.listener.dropped.counter";
+    @VisibleForTesting
+    static final String QUEUE_DEPTH_GAUGE_NAME = "genie.events.listener.queue-depth.gauge";
+
+    private final EventListenerDispatchProperties properties;
+    private final MeterRegistry registry;
+    private final CustomizableThreadFactory threadFactory;
+    private final Map<ApplicationListener<?>, ListenerDispatcher> dispatchers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param properties The dispatch properties
+     * @param registry   The metrics registry to use
+     */
+    public ListenerDispatchingEventMulticaster(
+        final EventListenerDispatchProperties properties,
+        final MeterRegistry registry
+    ) {
+        this.properties = properties;
+        this.registry = registry;
+        this.threadFactory = new CustomizableThreadFactory(properties.getThreadNamePrefix());
+        this.threadFactory.setDaemon(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void multicastEvent(final ApplicationEvent event) {
+        this.multicastEvent(event, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void multicastEvent(final ApplicationEvent event, @Nullable final ResolvableType eventType) {
+        final ResolvableType type = eventType != null ? eventType : ResolvableType.forInstance(event);
+        final String eventTypeName = event.getClass().getSimpleName();
+        for (final ApplicationListener<?> listener : this.getApplicationListeners(event, type)) {
+            final ListenerDispatcher dispatcher = this.dispatchers.computeIfAbsent(listener, this::createDispatcher);
+            try {
+                dispatcher.getExecutor().execute(new ListenerInvocation(dispatcher, listener, event, eventTypeName));
+            } catch (final RejectedExecutionException e) {
+                // Only happens once the dispatcher was shut down, overflow is handled by the rejection handler
+                log.warn("Dropping event {} for listener {} which is shut down", eventTypeName, dispatcher.getName());
+                this.incrementDropped(dispatcher.getName(), eventTypeName);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeApplicationListener(final ApplicationListener<?> listener) {
+        super.removeApplicationListener(listener);
+        this.shutdownDispatcher(listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeApplicationListeners(final Predicate<ApplicationListener<?>> predicate) {
+        super.removeApplicationListeners(predicate);
+        this.dispatchers.keySet().stream().filter(predicate).forEach(this::shutdownDispatcher);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeAllListeners() {
+        super.removeAllListeners();
+        this.dispatchers.keySet().forEach(this::shutdownDispatcher);
+    }
+
+    /**
+     * Stop all listener threads. Events still queued are not delivered.
+     */
+    @Override
+    public void destroy() {
+        this.dispatchers.keySet().forEach(this::shutdownDispatcher);
+    }
+
+    /**
+     * Get the number of events currently queued for the given listener.
+     *
+     * @param listener The listener
+     * @return The queue depth, or zero if no event was ever dispatched to this listener
+     */
+    @VisibleForTesting
+    int getQueueDepth(final ApplicationListener<?> listener) {
+        final ListenerDispatcher dispatcher = this.dispatchers.get(listener);
+        return dispatcher == null ? 0 : dispatcher.getExecutor().getQueue().size();
+    }
+
+    private ListenerDispatcher createDispatcher(final ApplicationListener<?> listener) {
+        final String name = getListenerName(listener);
+        final int threads = this.properties.getThreadsPerListener();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(this.properties.getQueueCapacity()),
+            this.threadFactory,
+            new OverflowHandler(this.properties.getOverflowPolicy())
+        );
+        Gauge
+            .builder(QUEUE_DEPTH_GAUGE_NAME, executor, e -> e.getQueue().size())
+            .tag(MetricsConstants.TagKeys.LISTENER, name)
+            .register(this.registry);
+        log.debug("Created dispatcher for listener {} with {} threads", name, threads);
+        return new ListenerDispatcher(name, executor);
+    }
+
+    private void shutdownDispatcher(final ApplicationListener<?> listener) {
+        final ListenerDispatcher dispatcher = this.dispatchers.remove(listener);
+        if (dispatcher != null) {
+            log.debug("Shutting down dispatcher for listener {}", dispatcher.getName());
+            dispatcher.getExecutor().shutdownNow();
+        }
+    }
+
+    private void incrementDropped(final String listenerName, final String eventTypeName) {
+        this.registry.counter(
+            DROPPED_EVENTS_COUNTER_NAME,
+            MetricsConstants.TagKeys.LISTENER,
+            listenerName,
+            MetricsConstants.TagKeys.EVENT_TYPE,
+            eventTypeName
+        ).increment();
+    }
+
+    private static String getListenerName(final ApplicationListener<?> listener) {
+        if (listener instanceof SmartApplicationListener) {
+            // Method based listeners (@EventListener) all share an adapter class so prefer their identifier
+            final String listenerId = ((SmartApplicationListener) listener).getListenerId();
+            if (!listenerId.isEmpty()) {
+                return listenerId;
+            }
+        }
+        return listener.getClass().getSimpleName();
+    }
+
+    /**
+     * The executor and metric name associated with a single listener.
+     */
+    private static final class ListenerDispatcher {
+        private final String name;
+        private final ThreadPoolExecutor executor;
+
+        private ListenerDispatcher(final String name, final ThreadPoolExecutor executor) {
+            this.name = name;
+            this.executor = executor;
+        }
+
+        private String getName() {
+            return this.name;
+        }
+
+        private ThreadPoolExecutor getExecutor() {
+            return this.executor;
+        }
+    }
+
+    /**
+     * A single delivery of an event to a listener.
+     */
+    private final class ListenerInvocation implements Runnable {
+        private final ListenerDispatcher dispatcher;
+        private final ApplicationListener<?> listener;
+        private final ApplicationEvent event;
+        private final String eventTypeName;
+        private final long enqueuedAt;
+
+        private ListenerInvocation(
+            final ListenerDispatcher dispatcher,
+            final ApplicationListener<?> listener,
+            final ApplicationEvent event,
+            final String eventTypeName
+        ) {
+            this.dispatcher = dispatcher;
+            this.listener = listener;
+            this.event = event;
+            this.eventTypeName = eventTypeName;
+            this.enqueuedAt = System.nanoTime();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void run() {
+            final long start = System.nanoTime();
+            final Tags baseTags = Tags.of(
+                MetricsConstants.TagKeys.LISTENER, this.dispatcher.getName(),
+                MetricsConstants.TagKeys.EVENT_TYPE, this.eventTypeName
+            );
+            registry.timer(QUEUE_WAIT_TIMER_NAME, baseTags).record(start - this.enqueuedAt, TimeUnit.NANOSECONDS);
+            final Set<Tag> tags = MetricsUtils.newSuccessTagsSet();
+            try {
+                invokeListener(this.listener, this.event);
+            } catch (final Throwable t) {
+                log.error("Listener {} failed to handle event {}", this.dispatcher.getName(), this.event, t);
+                tags.clear();
+                MetricsUtils.addFailureTagsWithException(tags, t);
+            } finally {
+                registry
+                    .timer(INVOCATION_TIMER_NAME, baseTags.and(tags))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void drop() {
+            log.warn("Listener {} queue is full, dropping event {}", this.dispatcher.getName(), this.event);
+            incrementDropped(this.dispatcher.getName(), this.eventTypeName);
+        }
+    }
+
+    /**
+     * Applies the configured overflow policy when a listener queue is full.
+     */
+    private static final class OverflowHandler implements RejectedExecutionHandler {
+        private final EventListenerDispatchProperties.OverflowPolicy policy;
+
+        private OverflowHandler(final EventListenerDispatchProperties.OverflowPolicy policy) {
+            this.policy = policy;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void rejectedExecution(final Runnable runnable, final ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Listener dispatcher is shut down");
+            }
+            switch (this.policy) {
+                case CALLER_RUNS:
+                    runnable.run();
+                    break;
+                case DROP_OLDEST:
+                    // Make room in the queue directly, going through the executor again could land back here
+                    final BlockingQueue<Runnable> queue = executor.getQueue();
+                    while (!queue.offer(runnable)) {
+                        final Runnable oldest = queue.poll();
+                        if (oldest instanceof ListenerInvocation) {
+                            ((ListenerInvocation) oldest).drop();
+                        }
+                    }
+                    if (executor.isShutdown() && queue.remove(runnable)) {
+                        throw new RejectedExecutionException("Listener dispatcher is shut down");
+                    }
+                    break;
+                case DROP_NEWEST:
+                default:
+                    if (runnable instanceof ListenerInvocation) {
+                        ((ListenerInvocation) runnable).drop();
+                    }
+                    break;
+            }
+        }
+    }
+}
@@ -22,6 +22,7 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.constraints.Min;
 import java.time.Duration;
 
 /**
@@ -53,4 +54,7 @@ public class AgentCleanupProperties {
     private Duration reconnectTimeLimit = Duration.ofMinutes(2);
 
     private Duration launchTimeLimit = Duration.ofMinutes(4);
+
+    @Min(1)
+    private int batchSize = 100;
 }
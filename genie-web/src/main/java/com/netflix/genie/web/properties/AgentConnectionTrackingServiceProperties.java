@@ -21,6 +21,7 @@ import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.validator.constraints.time.DurationMin;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.DeprecatedConfigurationProperty;
 import org.springframework.validation.annotation.Validated;
 
 import jakarta.validation.constraints.NotNull;
@@ -42,6 +43,12 @@ public class AgentConnectionTrackingServiceProperties {
      */
     static final String PREFIX = "genie.agent.connection-tracking";
 
+    /**
+     * No longer used, the streams of each agent are checked for expiration at their own deadline.
+     *
+     * @deprecated No longer used
+     */
+    @Deprecated
     @NotNull
     @DurationMin(seconds = 1)
     private Duration cleanupInterval = Duration.ofSeconds(2);
@@ -49,4 +56,18 @@ public class AgentConnectionTrackingServiceProperties {
     @NotNull
     @DurationMin(seconds = 1)
     private Duration connectionExpirationPeriod = Duration.ofSeconds(10);
+
+    /**
+     * Get the interval between checks for expired agent connections.
+     *
+     * @return The cleanup interval
+     * @deprecated No longer used, the streams of each agent are checked for expiration at their own deadline
+     */
+    @Deprecated
+    @DeprecatedConfigurationProperty(
+        reason = "No longer used, the streams of each agent are checked for expiration at their own deadline"
+    )
+    public Duration getCleanupInterval() {
+        return this.cleanupInterval;
+    }
 }
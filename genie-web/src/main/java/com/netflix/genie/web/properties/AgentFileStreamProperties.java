@@ -20,6 +20,7 @@ package com.netflix.genie.web.properties;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.DeprecatedConfigurationProperty;
 import org.springframework.validation.annotation.Validated;
 
 import java.time.Duration;
@@ -57,8 +58,12 @@ public class AgentFileStreamProperties {
     private Duration stalledTransferTimeout = Duration.ofSeconds(20);
 
     /**
-     * How often to check on transfer in progress (and terminate the ones that did not make progress).
+     * No longer used, each transfer in progress is checked (and terminated if it did not make progress) at its own
+     * deadline.
+     *
+     * @deprecated No longer used
      */
+    @Deprecated
     private Duration stalledTransferCheckInterval = Duration.ofSeconds(5);
 
     /**
@@ -71,4 +76,17 @@ public class AgentFileStreamProperties {
      */
     private Duration manifestCacheExpiration = Duration.ofSeconds(30);
 
+    /**
+     * Get the interval between checks for stalled transfers.
+     *
+     * @return The stalled transfer check interval
+     * @deprecated No longer used, each transfer in progress is checked for being stalled at its own deadline
+     */
+    @Deprecated
+    @DeprecatedConfigurationProperty(
+        reason = "No longer used, each transfer in progress is checked for being stalled at its own deadline"
+    )
+    public Duration getStalledTransferCheckInterval() {
+        return this.stalledTransferCheckInterval;
+    }
 }
@@ -0,0 +1,99 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.validator.constraints.time.DurationMin;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+
+/**
+ * Properties related to spreading the agents connected to the cluster evenly across its nodes.
+ *
+ * @since 4.4.0
+ */
+@ConfigurationProperties(prefix = AgentRebalancingProperties.PROPERTY_PREFIX)
+@Validated
+@Getter
+@Setter
+public class AgentRebalancingProperties {
+
+    /**
+     * The property prefix for this group.
+     */
+    public static final String PROPERTY_PREFIX = "genie.agent.rebalancing";
+
+    /**
+     * The property key for whether this feature is enabled or not.
+     */
+    public static final String ENABLED_PROPERTY = PROPERTY_PREFIX + ".enabled";
+
+    /**
+     * Whether nodes holding more than their share of the agent load ask some of their agents to reconnect. Requires
+     * Zookeeper, where nodes publish their load, and a load balancer in front of the nodes for reconnecting agents to
+     * land on a different node.
+     */
+    private boolean enabled;
+
+    /**
+     * How often this node publishes its load and compares it to the cluster average.
+     */
+    @NotNull
+    @DurationMin(seconds = 1)
+    private Duration interval = Duration.ofSeconds(30);
+
+    /**
+     * How far above the cluster average, as a fraction of it, the load of this node may be before agents are asked
+     * to reconnect.
+     */
+    @DecimalMin("0.0")
+    private double overloadTolerance = 0.2;
+
+    /**
+     * The smallest load above the cluster average worth moving agents for, so small clusters with little load don't
+     * shuffle agents around.
+     */
+    @Min(1)
+    private int minimumExcessLoad = 5;
+
+    /**
+     * The maximum number of agents asked to reconnect by this node per interval.
+     */
+    @Min(1)
+    private int maxAgentsPerInterval = 10;
+
+    /**
+     * How long an agent must have been connected to this node before it may be asked to reconnect, so agents that
+     * just moved aren't moved again before the load of every node reflects the move.
+     */
+    @NotNull
+    @DurationMin(seconds = 0)
+    private Duration minimumConnectionAge = Duration.ofMinutes(5);
+
+    /**
+     * How much an active file transfer weighs in the load of a node, relative to a connected agent.
+     */
+    @DecimalMin("0.0")
+    private double transferWeight = 1.0;
+}
@@ -38,5 +38,42 @@ public class AgentRoutingServiceProperties {
      */
     static final String PREFIX = "genie.agent.routing";
 
+    /**
+     * Property enabling the local cache of agent routes.
+     */
+    public static final String ROUTE_CACHE_ENABLED_PROPERTY = PREFIX + ".route-cache.enabled";
+
     private Duration refreshInterval = Duration.ofSeconds(3);
+
+    /**
+     * Number of threads applying registrations to Zookeeper, each one owning the registrations of a subset of jobs.
+     */
+    private int registrationWorkers = 1;
+
+    /**
+     * Maximum number of backed up registration refreshes applied in a single Zookeeper transaction.
+     */
+    private int refreshBatchSize = 50;
+
+    private RouteCache routeCache = new RouteCache();
+
+    /**
+     * Properties of the local cache of the routes to agents connected to other nodes.
+     *
+     * @since 4.4.0
+     */
+    @Getter
+    @Setter
+    public static class RouteCache {
+        /**
+         * Whether lookups are answered from a local copy of the routes, kept up to date by a Zookeeper watch.
+         */
+        private boolean enabled;
+
+        /**
+         * How long the cached routes keep being trusted after the connection to Zookeeper is suspended or lost.
+         * Past this, lookups go to Zookeeper until the connection is restored.
+         */
+        private Duration maxStaleness = Duration.ofSeconds(30);
+    }
 }
@@ -56,4 +56,10 @@ public class AttachmentServiceProperties {
     @NotNull(message = "Maximum attachments total size is required")
     private DataSize maxTotalSize = DataSize.ofMegabytes(150);
 
+    /**
+     * Whether attachments are stored under a path derived from the hash of their content, so that identical
+     * attachments submitted with different jobs are stored once and share the same URI.
+     */
+    private boolean contentAddressed;
+
 }
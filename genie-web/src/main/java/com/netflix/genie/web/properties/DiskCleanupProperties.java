@@ -22,6 +22,8 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.constraints.Min;
+
 /**
  * Properties controlling the behavior of the database cleanup leadership task.
  *
@@ -47,4 +49,10 @@ public class DiskCleanupProperties {
     private boolean enabled;
     private String expression = "0 0 0 * * *";
     private int retention = 3;
+    @Min(1)
+    private int queryBatchSize = 500;
+    @Min(1)
+    private int deleteParallelism = 4;
+    @Min(1)
+    private int deleteBatchSize = 100;
 }
@@ -0,0 +1,93 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Properties controlling how asynchronous events are dispatched to listeners by the Genie event bus.
+ *
+ * @since 4.4.0
+ */
+@ConfigurationProperties(prefix = EventListenerDispatchProperties.PROPERTY_PREFIX)
+@Validated
+@Getter
+@Setter
+public class EventListenerDispatchProperties {
+
+    /**
+     * The property prefix for this group.
+     */
+    public static final String PROPERTY_PREFIX = "genie.events.listener-dispatch";
+
+    /**
+     * Whether each listener gets its own bounded queue and worker threads rather than sharing the task executor.
+     */
+    private boolean enabled;
+
+    /**
+     * The maximum number of events waiting to be delivered to a single listener.
+     */
+    @Min(1)
+    private int queueCapacity = 1_000;
+
+    /**
+     * The number of threads delivering events to a single listener.
+     */
+    @Min(1)
+    private int threadsPerListener = 1;
+
+    /**
+     * What to do with an event when the queue of the listener it is destined for is full.
+     */
+    @NotNull
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+
+    /**
+     * The name prefix to apply to listener dispatch threads.
+     */
+    @NotBlank(message = "A thread prefix name is required")
+    private String threadNamePrefix = "genie-event-listener-";
+
+    /**
+     * Policies applied when a listener queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Discard the event being published.
+         */
+        DROP_NEWEST,
+
+        /**
+         * Discard the oldest event waiting in the queue and enqueue the new one.
+         */
+        DROP_OLDEST,
+
+        /**
+         * Deliver the event on the publishing thread.
+         */
+        CALLER_RUNS
+    }
+}
@@ -17,11 +17,20 @@
  */
 package com.netflix.genie.web.properties;
 
+import com.google.common.collect.Maps;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.annotation.Nullable;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import java.util.Map;
+
 /**
  * Properties related to Genie's gRPC server functionality.
  *
@@ -45,4 +54,122 @@ public class GRpcServerProperties {
     public static final String ENABLED_PROPERTY = PROPERTY_PREFIX + ".enabled";
 
     private boolean enabled;
+
+    @Valid
+    @NotNull
+    private Transport transport = new Transport();
+
+    @Valid
+    @NotNull
+    private CallExecutor callExecutor = new CallExecutor();
+
+    /**
+     * Transport related properties of the gRPC server. Unset values keep the gRPC defaults.
+     *
+     * @since 4.4.0
+     */
+    @Validated
+    @Getter
+    @Setter
+    public static class Transport {
+
+        /**
+         * Whether to use the native epoll transport, when available on the host, rather than the NIO one.
+         */
+        private boolean epollEnabled;
+
+        /**
+         * The number of event loop threads handling connections. 0 for the Netty default.
+         */
+        @Min(0)
+        private int eventLoopThreads;
+
+        /**
+         * The HTTP/2 flow control window of each stream. When unset the window is tuned automatically based on the
+         * measured bandwidth-delay product. Streaming large files to agents benefits from a larger window.
+         */
+        @Nullable
+        private DataSize flowControlWindow;
+
+        /**
+         * The maximum size of a message received from an agent.
+         */
+        @NotNull
+        private DataSize maxInboundMessageSize = DataSize.ofMegabytes(4L);
+
+        /**
+         * The maximum number of calls in flight on a single connection. 0 for no limit.
+         */
+        @Min(0)
+        private int maxConcurrentCallsPerConnection;
+
+        /**
+         * The interval after which the server pings an agent whose connection saw no activity.
+         */
+        @Nullable
+        private Duration keepAliveTime;
+
+        /**
+         * The time after which a connection is closed when a keep alive ping isn't acknowledged.
+         */
+        @Nullable
+        private Duration keepAliveTimeout;
+
+        /**
+         * The most aggressive keep alive interval agents are allowed to use, connections of agents pinging more
+         * often are closed.
+         */
+        @NotNull
+        private Duration permitKeepAliveTime = Duration.ofMinutes(5L);
+
+        /**
+         * Whether agents are allowed to send keep alive pings while they have no call in flight.
+         */
+        private boolean permitKeepAliveWithoutCalls;
+
+        /**
+         * The time after which a connection without any call in flight is closed.
+         */
+        @Nullable
+        private Duration maxConnectionIdle;
+
+        /**
+         * The maximum age of a connection, after which agents are asked to reconnect. As agents reconnect through the
+         * load balancer this spreads them across the servers again, e.g. after a deployment.
+         */
+        @Nullable
+        private Duration maxConnectionAge;
+
+        /**
+         * The time calls in flight are given to complete once a connection reached its maximum age.
+         */
+        @Nullable
+        private Duration maxConnectionAgeGrace;
+    }
+
+    /**
+     * Properties of the executors running the gRPC calls.
+     *
+     * @since 4.4.0
+     */
+    @Validated
+    @Getter
+    @Setter
+    public static class CallExecutor {
+
+        /**
+         * The number of threads running calls of the services without a dedicated executor. 0 for the gRPC default
+         * unbounded thread pool.
+         */
+        @Min(0)
+        private int threads;
+
+        /**
+         * The number of threads of the executor dedicated to a service, by fully qualified service name
+         * (e.g. {@code com.netflix.genie.proto.FileStreamService}). A dedicated executor keeps a busy service from
+         * starving the others.
+         */
+        @NotNull
+        private Map<String, @Min(1) Integer> serviceThreads = Maps.newHashMap();
+    }
 }
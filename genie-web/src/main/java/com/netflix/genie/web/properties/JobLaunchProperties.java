@@ -0,0 +1,74 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Properties for the {@link com.netflix.genie.web.services.JobLaunchService}.
+ *
+ * @since 4.4.0
+ */
+@ConfigurationProperties(prefix = JobLaunchProperties.PROPERTY_PREFIX)
+@Getter
+@Setter
+@Validated
+public class JobLaunchProperties {
+
+    /**
+     * The property prefix for job launch.
+     */
+    public static final String PROPERTY_PREFIX = "genie.jobs.launch";
+
+    /**
+     * Whether a submission is acknowledged as soon as it is saved, with resolution and agent launch happening in the
+     * background.
+     */
+    private boolean async;
+
+    /**
+     * The number of threads resolving jobs when launching asynchronously.
+     */
+    @Min(1)
+    private int resolutionThreads = 4;
+
+    /**
+     * The number of threads launching agents when launching asynchronously.
+     */
+    @Min(1)
+    private int launchThreads = 8;
+
+    /**
+     * The maximum number of jobs waiting in each stage of the asynchronous launch pipeline. Once reached, the thread
+     * handing a job to that stage performs the stage's work itself.
+     */
+    @Min(1)
+    private int queueCapacity = 500;
+
+    /**
+     * The name prefix to apply to the asynchronous launch pipeline threads.
+     */
+    @NotBlank(message = "A thread prefix name is required")
+    private String threadNamePrefix = "genie-job-launch-";
+}
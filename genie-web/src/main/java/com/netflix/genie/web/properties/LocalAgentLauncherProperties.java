@@ -93,6 +93,31 @@ public class LocalAgentLauncherProperties {
         "--job-id", JOB_ID_PLACEHOLDER
     );
 
+    /**
+     * Path of the UNIX domain socket of a local agent daemon to hand jobs over to, rather than launching an agent
+     * process for each job. Agent processes are launched if blank, if agents run as the job user or if the daemon
+     * doesn't accept a job.
+     */
+    private String daemonSocketPath;
+
+    /**
+     * The agent arguments of a job handed over to the agent daemon.
+     */
+    @NotEmpty(message = "The daemon arguments template cannot be empty")
+    private List<@NotBlank String> daemonArgumentsTemplate = Lists.newArrayList(
+        "exec",
+        "--server-host", SERVER_HOST_PLACEHOLDER,
+        "--server-port", SERVER_PORT_PLACEHOLDER,
+        "--api-job",
+        "--job-id", JOB_ID_PLACEHOLDER
+    );
+
+    /**
+     * How long to wait for the agent daemon to answer a launch request. An agent process is launched instead if the
+     * request couldn't be sent in time, the launch fails if it was sent but not answered as the daemon may run the job.
+     */
+    private Duration daemonHandoffTimeout = Duration.ofSeconds(5L);
+
     /**
      * The path to the agent jar.
      */
@@ -121,6 +146,18 @@ public class LocalAgentLauncherProperties {
     @Min(value = 1L, message = "The minimum value is 1MB but the value should likely be set much higher")
     private long maxTotalJobMemory = 30_720L;
 
+    /**
+     * The total number of CPUs of the jobs running on the host at once. 0 for no limit.
+     */
+    @Min(value = 0, message = "The minimum value is 0 (no limit)")
+    private int maxTotalJobCpu;
+
+    /**
+     * The maximum number of jobs running on the host at once. 0 for no limit.
+     */
+    @Min(value = 0, message = "The minimum value is 0 (no limit)")
+    private int maxActiveJobs;
+
     /**
      * Launch agent as the user in the job request (launches as the server user if false).
      */
@@ -0,0 +1,65 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.validator.constraints.time.DurationMin;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+
+/**
+ * Properties for the cache of application, cluster and command resources served by the V3 REST API.
+ *
+ * @since 4.4.0
+ */
+@ConfigurationProperties(prefix = ResourceCacheProperties.PROPERTY_PREFIX)
+@Validated
+@Getter
+@Setter
+public class ResourceCacheProperties {
+
+    /**
+     * The property prefix for this group.
+     */
+    public static final String PROPERTY_PREFIX = "genie.api.resource-cache";
+
+    /**
+     * Whether resources are cached between requests. Without the cache every request loads the resource from the
+     * database, though an unchanged resource is still answered with a 304 when the client sends its entity tag.
+     */
+    private boolean enabled;
+
+    /**
+     * The maximum number of resources of each type to keep.
+     */
+    @Min(1)
+    private long maxSize = 10_000L;
+
+    /**
+     * How long a resource is cached. Updates made through this node evict the resource immediately, this bounds how
+     * long updates made through other nodes go unnoticed.
+     */
+    @NotNull
+    @DurationMin(millis = 1)
+    private Duration timeToLive = Duration.ofSeconds(10);
+}
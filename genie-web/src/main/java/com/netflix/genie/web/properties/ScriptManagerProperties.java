@@ -34,4 +34,9 @@ public class ScriptManagerProperties {
      */
     public static final String PREFIX = "genie.scripts-manager";
     private long refreshInterval = 300_000L;
+    /**
+     * Whether Groovy scripts declaring a class are loaded as typed scripts, invoked directly rather than evaluated as
+     * JSR-223 scripts.
+     */
+    private boolean typedScriptsEnabled;
 }
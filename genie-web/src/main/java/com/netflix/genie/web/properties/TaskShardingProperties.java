@@ -0,0 +1,60 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+
+/**
+ * Properties related to spreading the work of shardable leader tasks across all the nodes of the cluster.
+ *
+ * @since 4.4.0
+ */
+@ConfigurationProperties(prefix = TaskShardingProperties.PROPERTY_PREFIX)
+@Validated
+@Getter
+@Setter
+public class TaskShardingProperties {
+
+    /**
+     * The property prefix for this group.
+     */
+    public static final String PROPERTY_PREFIX = "genie.tasks.sharding";
+
+    /**
+     * The property key for whether this feature is enabled or not.
+     */
+    public static final String ENABLED_PROPERTY = PROPERTY_PREFIX + ".enabled";
+
+    /**
+     * Whether shardable leader tasks run on every node, each node processing only the shards it owns. Requires
+     * Zookeeper, without it all leader tasks keep running on the leader only.
+     */
+    private boolean enabled;
+
+    /**
+     * The number of shards jobs are hashed into. Shards are the unit of work handed over between nodes when nodes
+     * join or leave the cluster, so this should be well above the expected number of nodes.
+     */
+    @Min(1)
+    private int shardCount = 64;
+}
@@ -0,0 +1,73 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+
+/**
+ * Properties related to the timer wheel shared by the services scheduling one-shot timers.
+ *
+ * @since 4.4.0
+ */
+@ConfigurationProperties(prefix = TasksTimerProperties.PROPERTY_PREFIX)
+@Validated
+@Getter
+@Setter
+public class TasksTimerProperties {
+
+    /**
+     * The property prefix for this group.
+     */
+    public static final String PROPERTY_PREFIX = "genie.tasks.timer";
+
+    /**
+     * The duration of a tick of the wheel. Timers fire on the first tick after they are due, so this bounds how late
+     * they may fire.
+     */
+    @NotNull
+    private Duration tickDuration = Duration.ofMillis(100);
+
+    /**
+     * The number of ticks in one round of the wheel. Timers due further out than one round are visited once per round
+     * until they are due.
+     */
+    @Min(1)
+    private int ticksPerWheel = 512;
+
+    /**
+     * The name of the thread advancing the wheel. Expired timers run on the threads of the timer executor, named after
+     * this one.
+     */
+    @NotBlank(message = "A thread name is required")
+    private String threadName = "genie-timer";
+
+    /**
+     * The number of threads running the expired timers. They are dedicated to the wheel so that a backlog of other
+     * asynchronous tasks doesn't delay timeouts.
+     */
+    @Min(1)
+    private int executorThreads = 4;
+}
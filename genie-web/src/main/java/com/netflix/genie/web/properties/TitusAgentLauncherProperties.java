@@ -25,6 +25,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
@@ -384,4 +385,39 @@ public class TitusAgentLauncherProperties {
      * The key within the images block that corresponds to the image housing the Genie agent binary.
      */
     private String agentImageKey = "genieAgent";
+
+    /**
+     * How concurrent job creation requests are sent to Titus.
+     */
+    @Valid
+    @NotNull
+    private CreationPool creationPool = new CreationPool();
+
+    /**
+     * Properties controlling the pool sending concurrent Titus job creation requests.
+     *
+     * @since 4.4.0
+     */
+    @Validated
+    @Getter
+    @Setter
+    public static class CreationPool {
+        /**
+         * Whether launch requests are queued and sent to Titus by a bounded pool rather than by the launching thread.
+         */
+        private boolean enabled;
+
+        /**
+         * The maximum number of requests to Titus in flight at once.
+         */
+        @Min(1)
+        private int maxConcurrentRequests = 8;
+
+        /**
+         * How long a launch waits for its request to be sent and answered before giving up. A request already sent
+         * when the timeout expires is waited for as long again, as the Titus job may be created regardless.
+         */
+        @DurationMin(seconds = 1)
+        private Duration timeout = Duration.ofMinutes(1);
+    }
 }
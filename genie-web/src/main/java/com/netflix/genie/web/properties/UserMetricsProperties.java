@@ -47,4 +47,6 @@ public class UserMetricsProperties {
     private boolean enabled = true;
 
     private long refreshInterval = 30_000;
+
+    private long reconciliationInterval = 30_000;
 }
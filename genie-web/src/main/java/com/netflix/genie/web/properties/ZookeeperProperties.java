@@ -48,4 +48,14 @@ public class ZookeeperProperties {
      * The base Zookeeper node path for discovery.
      */
     private String discoveryPath = "/genie/agents/";
+
+    /**
+     * The base Zookeeper node path for the membership of nodes sharing the work of shardable leader tasks.
+     */
+    private String shardingPath = "/genie/sharding/";
+
+    /**
+     * The base Zookeeper node path for the membership of nodes publishing their agent load for rebalancing.
+     */
+    private String agentLoadPath = "/genie/agentLoad/";
 }
@@ -0,0 +1,115 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.resources;
+
+import com.google.common.io.ByteStreams;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A {@link Resource} for a single file packed into an archive bundle, presenting the region of the bundle holding
+ * the file as if it were the file itself.
+ * <p>
+ * The bundle resource should already be restricted to the region requested (e.g. a ranged S3 read) so that reading
+ * this resource does not fetch the rest of the bundle. Skipping to the start of the file then costs nothing.
+ *
+ * @since 4.4.0
+ */
+public class BundledEntryResource extends AbstractResource {
+
+    private final Resource bundle;
+    private final String filename;
+    private final long offset;
+    private final long length;
+
+    /**
+     * Constructor.
+     *
+     * @param bundle   The bundle the file was packed into
+     * @param filename The name of the file
+     * @param offset   The offset of the first byte of the file within the bundle
+     * @param length   The length of the file in bytes
+     */
+    public BundledEntryResource(final Resource bundle, final String filename, final long offset, final long length) {
+        this.bundle = bundle;
+        this.filename = filename;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean exists() {
+        return this.bundle.exists();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long contentLength() {
+        return this.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long lastModified() throws IOException {
+        return this.bundle.lastModified();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getFilename() {
+        return this.filename;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getDescription() {
+        return "Bundled file " + this.filename + " at offset " + this.offset + " of " + this.bundle.getDescription();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream getInputStream() throws IOException {
+        if (this.length == 0) {
+            return InputStream.nullInputStream();
+        }
+        final InputStream data = this.bundle.getInputStream();
+        try {
+            ByteStreams.skipFully(data, this.offset);
+        } catch (final IOException e) {
+            data.close();
+            throw e;
+        }
+        return ByteStreams.limit(data, this.length);
+    }
+}
@@ -26,6 +26,7 @@ import com.netflix.genie.web.selectors.ClusterSelector;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -91,4 +92,16 @@ public class ClusterSelectorManagedScript extends ResourceSelectorScript<Cluster
         // TODO: Remove once internal scripts migrate to use context directly
         parameters.put(CLUSTERS_BINDING, context.getClusters());
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void addDecisionKeyFields(
+        final List<Object> decisionKey,
+        final ClusterSelectionContext context
+    ) {
+        super.addDecisionKeyFields(decisionKey, context);
+        decisionKey.add(context.getCommand().orElse(null));
+    }
 }
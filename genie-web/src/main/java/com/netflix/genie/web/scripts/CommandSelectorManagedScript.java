@@ -25,6 +25,7 @@ import com.netflix.genie.web.selectors.CommandSelectionContext;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -85,4 +86,16 @@ public class CommandSelectorManagedScript extends ResourceSelectorScript<Command
         // TODO: Remove once internal scripts migrate to use context directly
         parameters.put(COMMANDS_BINDING, context.getResources());
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void addDecisionKeyFields(
+        final List<Object> decisionKey,
+        final CommandSelectionContext context
+    ) {
+        super.addDecisionKeyFields(decisionKey, context);
+        decisionKey.add(context.getCommandToClusters());
+    }
 }
@@ -20,14 +20,17 @@ package com.netflix.genie.web.scripts;
 import com.google.common.annotations.VisibleForTesting;
 import com.netflix.genie.web.exceptions.checked.ScriptExecutionException;
 import com.netflix.genie.web.exceptions.checked.ScriptNotConfiguredException;
+import com.netflix.genie.web.util.MetricsConstants;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import jakarta.annotation.Nullable;
 import javax.script.Bindings;
 import javax.script.SimpleBindings;
 import java.net.URI;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Abstract script class for components that rely on an external script to be loaded and invoked at runtime.
@@ -38,10 +41,15 @@ import java.util.Map;
  */
 @Slf4j
 public abstract class ManagedScript {
+    @VisibleForTesting
+    static final String CIRCUIT_OPEN_COUNTER_NAME = "genie.scripts.circuit-open.counter";
+
     private final ScriptManager scriptManager;
     @Getter
     private final ManagedScriptBaseProperties properties;
     private final MeterRegistry registry;
+    @Nullable
+    private final ScriptCircuitBreaker circuitBreaker;
 
     protected ManagedScript(
         final ScriptManager scriptManager,
@@ -51,6 +59,9 @@ public abstract class ManagedScript {
         this.scriptManager = scriptManager;
         this.properties = properties;
         this.registry = registry;
+        this.circuitBreaker = properties.getCircuitBreaker().isEnabled()
+            ? new ScriptCircuitBreaker(this.getClass().getSimpleName(), properties.getCircuitBreaker())
+            : null;
     }
 
     /**
@@ -80,7 +91,71 @@ public abstract class ManagedScript {
         final Bindings bindings = new SimpleBindings();
         bindings.putAll(scriptParameters);
 
-        return this.scriptManager.evaluateScript(scriptUri, bindings, this.properties.getTimeout());
+        return this.evaluateWithCircuitBreaker(
+            scriptUri,
+            () -> this.scriptManager.evaluateScript(scriptUri, bindings, this.properties.getTimeout())
+        );
+    }
+
+    protected Object evaluateScript(
+        final Supplier<Map<String, Object>> scriptParametersSupplier,
+        final ScriptManager.TypedScriptEvaluator typedScriptEvaluator
+    ) throws ScriptExecutionException, ScriptNotConfiguredException {
+
+        final URI scriptUri = this.properties.getSource();
+
+        if (scriptUri == null) {
+            throw new ScriptNotConfiguredException("Script source URI not set");
+        }
+
+        // The parameters are only needed, and therefore only built, if the script wasn't loaded as a typed script
+        return this.evaluateWithCircuitBreaker(
+            scriptUri,
+            () -> this.scriptManager.evaluateScript(
+                scriptUri,
+                () -> {
+                    final Bindings bindings = new SimpleBindings();
+                    bindings.putAll(scriptParametersSupplier.get());
+                    return bindings;
+                },
+                typedScriptEvaluator,
+                this.properties.getTimeout()
+            )
+        );
+    }
+
+    private Object evaluateWithCircuitBreaker(
+        final URI scriptUri,
+        final Evaluation evaluation
+    ) throws ScriptExecutionException, ScriptNotConfiguredException {
+        if (this.circuitBreaker == null) {
+            return evaluation.evaluate();
+        }
+        if (!this.circuitBreaker.tryAcquire()) {
+            this.registry.counter(
+                CIRCUIT_OPEN_COUNTER_NAME,
+                MetricsConstants.TagKeys.SCRIPT_URI,
+                scriptUri.toString()
+            ).increment();
+            throw new ScriptExecutionException("Circuit open, not evaluating script: " + scriptUri);
+        }
+        try {
+            final Object result = evaluation.evaluate();
+            this.circuitBreaker.recordSuccess();
+            return result;
+        } catch (final ScriptExecutionException e) {
+            this.circuitBreaker.recordFailure();
+            throw e;
+        } finally {
+            // Not loaded yet or unexpected errors say nothing about the health of the script
+            this.circuitBreaker.release();
+        }
+    }
+
+    @VisibleForTesting
+    @Nullable
+    ScriptCircuitBreaker getCircuitBreaker() {
+        return this.circuitBreaker;
     }
 
     @VisibleForTesting
@@ -88,4 +163,19 @@ public abstract class ManagedScript {
         final URI scriptUri = this.properties.getSource();
         return scriptUri != null && this.scriptManager.isLoaded(scriptUri);
     }
+
+    /**
+     * An evaluation of the script through the script manager.
+     */
+    @FunctionalInterface
+    private interface Evaluation {
+        /**
+         * Evaluate the script.
+         *
+         * @return the result of the evaluation
+         * @throws ScriptExecutionException     if the script evaluation produces an error
+         * @throws ScriptNotConfiguredException if the script is not loaded
+         */
+        Object evaluate() throws ScriptExecutionException, ScriptNotConfiguredException;
+    }
 }
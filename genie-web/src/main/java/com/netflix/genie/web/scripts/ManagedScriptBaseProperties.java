@@ -19,9 +19,13 @@ package com.netflix.genie.web.scripts;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.validator.constraints.time.DurationMin;
 import org.springframework.validation.annotation.Validated;
 
 import jakarta.annotation.Nullable;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.time.Duration;
 
@@ -42,4 +46,67 @@ public abstract class ManagedScriptBaseProperties {
     private long timeout = 5_000L;
     private boolean autoLoadEnabled = true;
     private Duration propertiesRefreshInterval = Duration.ofMinutes(5);
+    @Valid
+    @NotNull
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    @Valid
+    @NotNull
+    private DecisionCache decisionCache = new DecisionCache();
+
+    /**
+     * Properties of the circuit breaker which stops evaluating a script that keeps failing or timing out.
+     *
+     * @since 4.4.0
+     */
+    @Getter
+    @Setter
+    @Validated
+    public static class CircuitBreaker {
+        /**
+         * Whether evaluations are rejected without running the script once it failed too many times in a row.
+         */
+        private boolean enabled;
+
+        /**
+         * The number of consecutive failed evaluations after which the circuit opens.
+         */
+        @Min(1)
+        private int failureThreshold = 5;
+
+        /**
+         * How long the circuit stays open before a single evaluation is let through to probe the script.
+         */
+        @NotNull
+        @DurationMin(millis = 1)
+        private Duration openDuration = Duration.ofSeconds(30);
+    }
+
+    /**
+     * Properties of the short lived cache of selection decisions made by a selector script.
+     *
+     * @since 4.4.0
+     */
+    @Getter
+    @Setter
+    @Validated
+    public static class DecisionCache {
+        /**
+         * Whether the decision of the script is reused for selections with the same candidates and the same job
+         * request, all but its id. Only for scripts which don't base their decision on the job id.
+         */
+        private boolean enabled;
+
+        /**
+         * How long a decision is reused.
+         */
+        @NotNull
+        @DurationMin(millis = 1)
+        private Duration timeToLive = Duration.ofSeconds(10);
+
+        /**
+         * The maximum number of decisions kept.
+         */
+        @Min(1)
+        private long maxSize = 1_000L;
+    }
 }
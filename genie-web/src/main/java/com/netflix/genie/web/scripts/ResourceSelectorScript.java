@@ -17,6 +17,9 @@
  */
 package com.netflix.genie.web.scripts;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.netflix.genie.common.internal.dtos.JobRequest;
 import com.netflix.genie.common.internal.util.PropertiesMapCache;
@@ -27,6 +30,8 @@ import com.netflix.genie.web.selectors.ResourceSelectionContext;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
+import jakarta.annotation.Nullable;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -44,6 +49,8 @@ public class ResourceSelectorScript<R, C extends ResourceSelectionContext<R>> ex
     static final String CONTEXT_BINDING = "contextParameter";
     static final String PROPERTIES_MAP_BINDING = "propertiesMap";
     private final PropertiesMapCache propertiesCache;
+    @Nullable
+    private final Cache<List<Object>, ResourceSelectorScriptResult<R>> decisionCache;
 
     /**
      * Constructor.
@@ -61,6 +68,16 @@ public class ResourceSelectorScript<R, C extends ResourceSelectionContext<R>> ex
     ) {
         super(scriptManager, properties, registry);
         this.propertiesCache = propertyMapCache;
+        final ManagedScriptBaseProperties.DecisionCache decisionCacheProperties = properties.getDecisionCache();
+        if (decisionCacheProperties.isEnabled()) {
+            this.decisionCache = Caffeine
+                .newBuilder()
+                .expireAfterWrite(decisionCacheProperties.getTimeToLive())
+                .maximumSize(decisionCacheProperties.getMaxSize())
+                .build();
+        } else {
+            this.decisionCache = null;
+        }
     }
 
     /**
@@ -74,24 +91,19 @@ public class ResourceSelectorScript<R, C extends ResourceSelectionContext<R>> ex
      */
     public ResourceSelectorScriptResult<R> selectResource(final C context) throws ResourceSelectionException {
         try {
-            final Map<String, Object> parameters = Maps.newHashMap();
-            parameters.put(PROPERTIES_MAP_BINDING, this.propertiesCache.get());
-            this.addParametersForScript(parameters, context);
-            final Object evaluationResult = this.evaluateScript(parameters);
-            if (!(evaluationResult instanceof ResourceSelectorScriptResult)) {
-                throw new ResourceSelectionException(
-                    "Selector evaluation returned invalid type: " + evaluationResult.getClass().getName()
-                        + " expected " + ResourceSelectorScriptResult.class.getName()
-                );
+            final Map<String, String> properties = this.propertiesCache.get();
+            if (this.decisionCache == null) {
+                return this.evaluateSelection(context, properties);
             }
-            @SuppressWarnings("unchecked") final ResourceSelectorScriptResult<R> result
-                = (ResourceSelectorScriptResult<R>) evaluationResult;
 
-            // Validate that the selected resource is actually in the original set
-            if (result.getResource().isPresent() && !context.getResources().contains(result.getResource().get())) {
-                throw new ResourceSelectionException(result.getResource().get() + " is not in original set");
+            final List<Object> decisionKey = this.getDecisionKey(context, properties);
+            final ResourceSelectorScriptResult<R> cachedResult = this.decisionCache.getIfPresent(decisionKey);
+            if (cachedResult != null) {
+                log.debug("Reusing decision of the script for job {}", context.getJobId());
+                return cachedResult;
             }
-
+            final ResourceSelectorScriptResult<R> result = this.evaluateSelection(context, properties);
+            this.decisionCache.put(decisionKey, result);
             return result;
         } catch (
             final ScriptExecutionException
@@ -102,6 +114,82 @@ public class ResourceSelectorScript<R, C extends ResourceSelectionContext<R>> ex
         }
     }
 
+    /**
+     * Add any implementation specific fields of the selection context which the decision of the script depends on to
+     * the key under which decisions are cached. By default the key is made of the candidate resources, the whole job
+     * request but its requested id (criteria, metadata including tags and grouping, command arguments, resources,
+     * requested environment and agent configuration), whether it is an API job and the properties given to the script.
+     * Decisions based on the job id, or on anything outside of the selection context, can't be cached.
+     *
+     * @param decisionKey The existing fields of the key for implementations to add to
+     * @param context     The selection context
+     */
+    protected void addDecisionKeyFields(final List<Object> decisionKey, final C context) {
+        // Nothing beyond the default fields
+    }
+
+    private ResourceSelectorScriptResult<R> evaluateSelection(
+        final C context,
+        final Map<String, String> properties
+    ) throws ResourceSelectionException, ScriptExecutionException, ScriptNotConfiguredException {
+        final Object evaluationResult = this.evaluateScript(
+            () -> {
+                final Map<String, Object> parameters = Maps.newHashMap();
+                parameters.put(PROPERTIES_MAP_BINDING, properties);
+                this.addParametersForScript(parameters, context);
+                return parameters;
+            },
+            script -> this.evaluateTypedScript(script, context, properties)
+        );
+        if (!(evaluationResult instanceof ResourceSelectorScriptResult)) {
+            throw new ResourceSelectionException(
+                "Selector evaluation returned invalid type: " + evaluationResult.getClass().getName()
+                    + " expected " + ResourceSelectorScriptResult.class.getName()
+            );
+        }
+        @SuppressWarnings("unchecked") final ResourceSelectorScriptResult<R> result
+            = (ResourceSelectorScriptResult<R>) evaluationResult;
+
+        // Validate that the selected resource is actually in the original set
+        if (result.getResource().isPresent() && !context.getResources().contains(result.getResource().get())) {
+            throw new ResourceSelectionException(result.getResource().get() + " is not in original set");
+        }
+
+        return result;
+    }
+
+    private List<Object> getDecisionKey(final C context, final Map<String, String> properties) {
+        final JobRequest jobRequest = context.getJobRequest();
+        // All the script is given about the job but its ids, which would make every key unique
+        final List<Object> decisionKey = Lists.newArrayList(
+            context.getResources(),
+            jobRequest.getCriteria(),
+            jobRequest.getMetadata(),
+            jobRequest.getCommandArgs(),
+            jobRequest.getResources(),
+            jobRequest.getRequestedJobEnvironment(),
+            jobRequest.getRequestedAgentConfig(),
+            context.isApiJob(),
+            properties
+        );
+        this.addDecisionKeyFields(decisionKey, context);
+        return decisionKey;
+    }
+
+    @SuppressWarnings("unchecked") // The type parameters of the script class can't be checked at runtime
+    private Object evaluateTypedScript(
+        final Object script,
+        final C context,
+        final Map<String, String> properties
+    ) throws Exception {
+        if (!(script instanceof TypedResourceSelectorScript)) {
+            throw new IllegalArgumentException(
+                script.getClass().getName() + " does not implement " + TypedResourceSelectorScript.class.getName()
+            );
+        }
+        return ((TypedResourceSelectorScript<R, C>) script).selectResource(context, properties);
+    }
+
     /**
      * Add any implementation specific parameters to the map of parameters to send to the script.
      *
@@ -0,0 +1,148 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.scripts;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker guarding the evaluation of a script.
+ * <p>
+ * The circuit opens once the configured number of consecutive evaluations failed. While open, evaluations are
+ * rejected so callers don't each wait for the script to time out. Once the open duration elapsed a single evaluation
+ * is let through as a probe: the circuit closes if it succeeds and opens again if it fails.
+ *
+ * @since 4.4.0
+ */
+@Slf4j
+@ThreadSafe
+class ScriptCircuitBreaker {
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final LongSupplier nanoTime;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openUntilNanos;
+    private boolean probeInFlight;
+
+    /**
+     * Constructor.
+     *
+     * @param name       The name of what is guarded, for logging
+     * @param properties The circuit breaker properties
+     */
+    ScriptCircuitBreaker(final String name, final ManagedScriptBaseProperties.CircuitBreaker properties) {
+        this(name, properties, System::nanoTime);
+    }
+
+    ScriptCircuitBreaker(
+        final String name,
+        final ManagedScriptBaseProperties.CircuitBreaker properties,
+        final LongSupplier nanoTime
+    ) {
+        this.name = name;
+        this.failureThreshold = properties.getFailureThreshold();
+        this.openDurationNanos = properties.getOpenDuration().toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Ask whether an evaluation may proceed. Every permitted evaluation must be followed by a call to
+     * {@link #recordSuccess()}, {@link #recordFailure()} or {@link #release()}.
+     *
+     * @return true if the evaluation may proceed, false if it should be rejected
+     */
+    synchronized boolean tryAcquire() {
+        switch (this.state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (this.nanoTime.getAsLong() - this.openUntilNanos < 0) {
+                    return false;
+                }
+                log.info("Probing {} after circuit was open", this.name);
+                this.state = State.HALF_OPEN;
+                this.probeInFlight = true;
+                return true;
+            case HALF_OPEN:
+            default:
+                if (this.probeInFlight) {
+                    return false;
+                }
+                this.probeInFlight = true;
+                return true;
+        }
+    }
+
+    /**
+     * Record a successful evaluation.
+     */
+    synchronized void recordSuccess() {
+        if (this.state != State.CLOSED) {
+            log.info("Closing circuit of {}", this.name);
+        }
+        this.state = State.CLOSED;
+        this.consecutiveFailures = 0;
+        this.probeInFlight = false;
+    }
+
+    /**
+     * Record a failed evaluation.
+     */
+    synchronized void recordFailure() {
+        this.probeInFlight = false;
+        if (this.state == State.HALF_OPEN) {
+            log.warn("Probe of {} failed, opening circuit again", this.name);
+            this.open();
+        } else if (++this.consecutiveFailures >= this.failureThreshold) {
+            log.warn("Opening circuit of {} after {} consecutive failures", this.name, this.consecutiveFailures);
+            this.open();
+        }
+    }
+
+    /**
+     * Release a permitted evaluation which neither succeeded nor failed, so it doesn't hold the probe.
+     */
+    synchronized void release() {
+        this.probeInFlight = false;
+    }
+
+    synchronized State getState() {
+        return this.state;
+    }
+
+    private void open() {
+        this.state = State.OPEN;
+        this.openUntilNanos = this.nanoTime.getAsLong() + this.openDurationNanos;
+        this.consecutiveFailures = 0;
+    }
+
+    /**
+     * The states of the circuit.
+     */
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+}
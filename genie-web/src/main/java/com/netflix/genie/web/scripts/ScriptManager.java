@@ -25,14 +25,22 @@ import com.netflix.genie.web.exceptions.checked.ScriptNotConfiguredException;
 import com.netflix.genie.web.properties.ScriptManagerProperties;
 import com.netflix.genie.web.util.MetricsConstants;
 import com.netflix.genie.web.util.MetricsUtils;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.Script;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.jsr223.GroovyCompiledScript;
+import org.codehaus.groovy.jsr223.GroovyScriptEngineImpl;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.scheduling.TaskScheduler;
+import org.springframework.util.StreamUtils;
 
+import jakarta.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 import javax.script.Bindings;
 import javax.script.Compilable;
@@ -58,6 +66,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 /**
  * Utility to load, reload and execute scripts (in whichever format/language supported by {@link ScriptEngine}) via URI
@@ -67,6 +76,11 @@ import java.util.concurrent.atomic.AtomicReference;
  * <p>
  * N.B.: If a compilation or access error is encountered while reloading a previously compiled script, the latest
  * compiled version is retained, until it can be replaced with a newer one.
+ * <p>
+ * When typed scripts are enabled, a Groovy source declaring a class (as opposed to a plain script) is compiled into
+ * that class and a single instance of it is kept instead of a {@link CompiledScript}. Such scripts are evaluated
+ * through a {@link TypedScriptEvaluator} supplied by the caller, which saves building the script context and the
+ * bindings. Like other scripts they run on the executor and are interrupted if they exceed their timeout.
  *
  * @author mprimi
  * @since 4.0.0
@@ -74,10 +88,15 @@ import java.util.concurrent.atomic.AtomicReference;
 @Slf4j
 @ThreadSafe
 public class ScriptManager {
+    /**
+     * The name of the timer recording script evaluations.
+     */
+    public static final String SCRIPT_EVALUATE_TIMER_NAME = "genie.scripts.evaluate.timer";
     private static final String SCRIPT_LOAD_TIMER_NAME = "genie.scripts.load.timer";
-    private static final String SCRIPT_EVALUATE_TIMER_NAME = "genie.scripts.evaluate.timer";
+    private static final String GROOVY_EXTENSION = "groovy";
 
-    private final ConcurrentMap<URI, AtomicReference<CompiledScript>> scriptsMap = Maps.newConcurrentMap();
+    // Holds either a CompiledScript or, for typed scripts, an instance of the class declared by the script
+    private final ConcurrentMap<URI, AtomicReference<Object>> scriptsMap = Maps.newConcurrentMap();
     private final ScriptManagerProperties properties;
     private final TaskScheduler taskScheduler;
     private final ExecutorService executorService;
@@ -120,7 +139,7 @@ public class ScriptManager {
      */
     public void manageScript(final URI scriptUri) {
         final AtomicBoolean newKey = new AtomicBoolean(false);
-        final AtomicReference<CompiledScript> compiledScriptReference = this.scriptsMap.computeIfAbsent(
+        final AtomicReference<Object> compiledScriptReference = this.scriptsMap.computeIfAbsent(
             scriptUri,
             (key) -> {
                 newKey.set(true);
@@ -134,7 +153,8 @@ public class ScriptManager {
                     compiledScriptReference,
                     this.scriptEngineManager,
                     this.resourceLoader,
-                    this.meterRegistry
+                    this.meterRegistry,
+                    this.properties.isTypedScriptsEnabled()
                 ),
                 Instant.now(),
                 Duration.ofMillis(this.properties.getRefreshInterval())
@@ -158,16 +178,36 @@ public class ScriptManager {
         final Bindings bindings,
         final long timeout
     ) throws ScriptNotConfiguredException, ScriptExecutionException {
+        return this.evaluateScript(scriptUri, () -> bindings, null, timeout);
+    }
+
+    /**
+     * Evaluate a given script, which may have been loaded as a typed script.
+     *
+     * @param scriptUri            the script URI
+     * @param bindingsSupplier     supplies the input parameter bindings if the script is evaluated through its engine
+     * @param typedScriptEvaluator evaluates the script if it was loaded as a typed script
+     * @param timeout              the timeout in milliseconds
+     * @return the result of the evaluation
+     * @throws ScriptNotConfiguredException if the script is not loaded (due to invalid URI or compilation errors).
+     * @throws ScriptExecutionException     if the script evaluation produces an error
+     */
+    protected Object evaluateScript(
+        final URI scriptUri,
+        final Supplier<Bindings> bindingsSupplier,
+        @Nullable final TypedScriptEvaluator typedScriptEvaluator,
+        final long timeout
+    ) throws ScriptNotConfiguredException, ScriptExecutionException {
 
         final Set<Tag> tags = Sets.newHashSet();
         tags.add(Tag.of(MetricsConstants.TagKeys.SCRIPT_URI, scriptUri.toString()));
 
         final long start = System.nanoTime();
 
-        final CompiledScript compiledScript;
+        final Object script;
 
         try {
-            compiledScript = this.getCompiledScript(scriptUri);
+            script = this.getCompiledScript(scriptUri);
         } catch (ScriptNotConfiguredException e) {
             final long durationNano = System.nanoTime() - start;
             MetricsUtils.addFailureTagsWithException(tags, e);
@@ -178,18 +218,13 @@ public class ScriptManager {
             throw e;
         }
 
-        final ScriptContext scriptContext = new SimpleScriptContext();
-        scriptContext.setBindings(bindings, ScriptContext.ENGINE_SCOPE);
-        final Future<Object> taskFuture = this.executorService.submit(() -> compiledScript.eval(scriptContext));
-
         try {
-            final Object evaluationResult = taskFuture.get(timeout, TimeUnit.MILLISECONDS);
+            final Object evaluationResult = script instanceof CompiledScript
+                ? this.evaluateCompiledScript((CompiledScript) script, bindingsSupplier.get(), timeout)
+                : this.evaluateTypedScript(script, typedScriptEvaluator, timeout);
             MetricsUtils.addSuccessTags(tags);
             return evaluationResult;
-
-        } catch (TimeoutException | InterruptedException | ExecutionException e) {
-            // On timeout, stop evaluation. In other cases doesn't hurt
-            taskFuture.cancel(true);
+        } catch (final Exception e) {
             MetricsUtils.addFailureTagsWithException(tags, e);
             throw new ScriptExecutionException(
                 "Script evaluation failed: " + scriptUri + ": " + e.getClass().getSimpleName() + ": " + e.getMessage(),
@@ -204,14 +239,52 @@ public class ScriptManager {
         }
     }
 
-    private CompiledScript getCompiledScript(final URI scriptUri) throws ScriptNotConfiguredException {
-        final AtomicReference<CompiledScript> compiledScriptReference = this.scriptsMap.get(scriptUri);
+    private Object evaluateCompiledScript(
+        final CompiledScript compiledScript,
+        final Bindings bindings,
+        final long timeout
+    ) throws TimeoutException, InterruptedException, ExecutionException {
+        final ScriptContext scriptContext = new SimpleScriptContext();
+        scriptContext.setBindings(bindings, ScriptContext.ENGINE_SCOPE);
+        final Future<Object> taskFuture = this.executorService.submit(() -> compiledScript.eval(scriptContext));
+        return this.awaitEvaluation(taskFuture, timeout);
+    }
+
+    private Object evaluateTypedScript(
+        final Object script,
+        @Nullable final TypedScriptEvaluator typedScriptEvaluator,
+        final long timeout
+    ) throws TimeoutException, InterruptedException, ExecutionException {
+        if (typedScriptEvaluator == null) {
+            throw new IllegalStateException(
+                script.getClass().getName() + " is a typed script and can't be evaluated with bindings"
+            );
+        }
+        final Future<Object> taskFuture = this.executorService.submit(() -> typedScriptEvaluator.evaluate(script));
+        return this.awaitEvaluation(taskFuture, timeout);
+    }
+
+    private Object awaitEvaluation(
+        final Future<Object> taskFuture,
+        final long timeout
+    ) throws TimeoutException, InterruptedException, ExecutionException {
+        try {
+            return taskFuture.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | InterruptedException | ExecutionException e) {
+            // On timeout, stop evaluation. In other cases doesn't hurt
+            taskFuture.cancel(true);
+            throw e;
+        }
+    }
+
+    private Object getCompiledScript(final URI scriptUri) throws ScriptNotConfiguredException {
+        final AtomicReference<Object> compiledScriptReference = this.scriptsMap.get(scriptUri);
 
         if (compiledScriptReference == null) {
             throw new ScriptNotConfiguredException("Unknown script: " + scriptUri);
         }
 
-        final CompiledScript compiledScript = compiledScriptReference.get();
+        final Object compiledScript = compiledScriptReference.get();
 
         if (compiledScript == null) {
             throw new ScriptNotConfiguredException("Script not loaded/compiled: " + scriptUri);
@@ -232,28 +305,31 @@ public class ScriptManager {
     @Slf4j
     private static class LoadScriptTask implements Runnable {
         private final URI scriptUri;
-        private final AtomicReference<CompiledScript> compiledScriptReference;
+        private final AtomicReference<Object> compiledScriptReference;
         private final ScriptEngineManager scriptEngineManager;
         private final ResourceLoader resourceLoader;
         private final MeterRegistry registry;
+        private final boolean typedScriptsEnabled;
 
         LoadScriptTask(
             final URI scriptUri,
-            final AtomicReference<CompiledScript> compiledScriptReference,
+            final AtomicReference<Object> compiledScriptReference,
             final ScriptEngineManager scriptEngineManager,
             final ResourceLoader resourceLoader,
-            final MeterRegistry registry
+            final MeterRegistry registry,
+            final boolean typedScriptsEnabled
         ) {
             this.scriptUri = scriptUri;
             this.compiledScriptReference = compiledScriptReference;
             this.scriptEngineManager = scriptEngineManager;
             this.resourceLoader = resourceLoader;
             this.registry = registry;
+            this.typedScriptsEnabled = typedScriptsEnabled;
         }
 
         /**
-         * Attempt to load and compile the given script. If successful, stores the resulting {@link CompiledScript} into
-         * the provided reference.
+         * Attempt to load and compile the given script. If successful, stores the resulting {@link CompiledScript}, or
+         * typed script instance, into the provided reference.
          * Also records metrics.
          */
         @Override
@@ -264,7 +340,7 @@ public class ScriptManager {
             final long start = System.nanoTime();
 
             try {
-                final CompiledScript compiledScript = this.loadScript();
+                final Object compiledScript = this.loadScript();
                 this.compiledScriptReference.set(compiledScript);
                 MetricsUtils.addSuccessTags(tags);
             } catch (ScriptLoadingException e) {
@@ -282,7 +358,7 @@ public class ScriptManager {
             }
         }
 
-        private CompiledScript loadScript() throws ScriptLoadingException {
+        private Object loadScript() throws ScriptLoadingException {
 
             final String scriptUriString = this.scriptUri.toString();
 
@@ -313,6 +389,12 @@ public class ScriptManager {
 
             final Compilable compilable = (Compilable) engine;
 
+            if (this.typedScriptsEnabled
+                && GROOVY_EXTENSION.equalsIgnoreCase(scriptExtension)
+                && engine instanceof GroovyScriptEngineImpl) {
+                return this.loadGroovyScript(scriptResource, (GroovyScriptEngineImpl) engine);
+            }
+
             final InputStream scriptInputStream;
             try {
                 scriptInputStream = scriptResource.getInputStream();
@@ -331,5 +413,60 @@ public class ScriptManager {
             log.debug("Successfully compiled: " + scriptUriString);
             return compiledScript;
         }
+
+        @SuppressFBWarnings("DP_CREATE_CLASSLOADER_INSIDE_DO_PRIVILEGED") // No security manager to satisfy
+        private Object loadGroovyScript(
+            final Resource scriptResource,
+            final GroovyScriptEngineImpl engine
+        ) throws ScriptLoadingException {
+            final String scriptUriString = this.scriptUri.toString();
+
+            final String scriptSource;
+            try (InputStream scriptInputStream = scriptResource.getInputStream()) {
+                scriptSource = StreamUtils.copyToString(scriptInputStream, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new ScriptLoadingException("Failed to read script", e);
+            }
+
+            final Class<?> scriptClass;
+            try {
+                // A new class loader per load so the classes of replaced versions can be collected
+                scriptClass = new GroovyClassLoader(ScriptManager.class.getClassLoader()).parseClass(
+                    scriptSource,
+                    StringUtils.substringAfterLast(this.scriptUri.getPath(), "/")
+                );
+            } catch (final CompilationFailedException e) {
+                throw new ScriptLoadingException("Failed to compile script: " + scriptUriString, e);
+            }
+
+            if (Script.class.isAssignableFrom(scriptClass)) {
+                // Plain script, keep evaluating it through its engine using the class just compiled
+                log.debug("Successfully compiled: " + scriptUriString);
+                return new GroovyCompiledScript(engine, scriptClass);
+            }
+
+            try {
+                final Object typedScript = scriptClass.getDeclaredConstructor().newInstance();
+                log.debug("Successfully compiled typed script {}: {}", scriptClass.getName(), scriptUriString);
+                return typedScript;
+            } catch (final ReflectiveOperationException e) {
+                throw new ScriptLoadingException("Failed to instantiate script class: " + scriptUriString, e);
+            }
+        }
+    }
+
+    /**
+     * Evaluates a script loaded as a typed script, by invoking it directly.
+     */
+    @FunctionalInterface
+    public interface TypedScriptEvaluator {
+        /**
+         * Evaluate the script.
+         *
+         * @param script The instance of the class declared by the script
+         * @return the result of the evaluation
+         * @throws Exception On any evaluation error
+         */
+        Object evaluate(Object script) throws Exception;
     }
 }
@@ -0,0 +1,49 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.scripts;
+
+import com.netflix.genie.web.selectors.ResourceSelectionContext;
+
+import java.util.Map;
+
+/**
+ * Contract for selector scripts written as a Groovy class rather than a plain script.
+ * <p>
+ * When typed scripts are enabled for the {@link ScriptManager}, a Groovy script source declaring a class which
+ * implements this interface is compiled once into that class and a single instance of it is invoked directly for
+ * every selection, without going through a JSR-223 script context or bindings. Since the instance is shared by all
+ * concurrent selections, implementations must be thread safe.
+ *
+ * @param <R> The type of resource the script is selecting from
+ * @param <C> The context for resource selection which must extend {@link ResourceSelectionContext}
+ * @since 4.4.0
+ */
+@FunctionalInterface
+public interface TypedResourceSelectorScript<R, C extends ResourceSelectionContext<R>> {
+
+    /**
+     * Select a resource for the job described by the context.
+     *
+     * @param context    The {@link ResourceSelectionContext} instance containing information about the context for
+     *                   this selection
+     * @param properties The current properties made available to the script
+     * @return A {@link ResourceSelectorScriptResult} instance
+     * @throws Exception On any error during selection
+     */
+    ResourceSelectorScriptResult<R> selectResource(C context, Map<String, String> properties) throws Exception;
+}
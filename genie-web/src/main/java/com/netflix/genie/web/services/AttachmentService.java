@@ -22,6 +22,7 @@ import org.springframework.core.io.Resource;
 import org.springframework.validation.annotation.Validated;
 
 import jakarta.annotation.Nullable;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.Set;
 
@@ -45,4 +46,24 @@ public interface AttachmentService {
      */
     Set<URI> saveAttachments(@Nullable String jobId, Set<Resource> attachments) throws SaveAttachmentException;
 
+    /**
+     * Save a single attachment by consuming its content as it is received, without requiring it to be buffered or
+     * spooled to disk first. Size limits are enforced while the content is read.
+     *
+     * @param jobId             The id of the job this attachment is for, if one was present in the job request
+     *                          This is strictly for debugging and logging.
+     * @param filename          The name of the attachment file
+     * @param content           The content of the attachment. It is read until the end but not closed.
+     * @param bytesAlreadySaved The combined size of the attachments already saved as part of the same submission, used
+     *                          to enforce the limit on the total size of attachments
+     * @return The {@link URI} which can be used to retrieve the attachment
+     * @throws SaveAttachmentException if an error is encountered while saving, including the attachment exceeding the
+     *                                 size limits
+     */
+    URI saveAttachment(
+        @Nullable String jobId,
+        String filename,
+        InputStream content,
+        long bytesAlreadySaved
+    ) throws SaveAttachmentException;
 }
@@ -48,7 +48,8 @@ public interface JobLaunchService {
      *
      * @param jobSubmission The payload of metadata and resources making up all the information needed to launch
      *                      a job
-     * @return The id of the job. Upon return the job will at least be in {@link JobStatus#ACCEPTED} state
+     * @return The id of the job. Upon return the job will at least be in {@link JobStatus#ACCEPTED} state, or in
+     * {@link JobStatus#RESERVED} state if the implementation resolves and launches jobs asynchronously
      * @throws AgentLaunchException        If the system was unable to launch an agent to handle job execution
      * @throws GenieJobResolutionException If the job, based on user input and current system state, can't be
      *                                     successfully resolved for whatever reason
@@ -0,0 +1,38 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services;
+
+import java.util.function.Predicate;
+
+/**
+ * Service interface for splitting the work of shardable leader tasks between the nodes of a Genie cluster.
+ * <p>
+ * Jobs are hashed into a fixed number of shards and every shard is owned by exactly one of the live nodes, so each
+ * node only processes the jobs of the shards it owns.
+ *
+ * @since 4.4.0
+ */
+public interface TaskShardingService {
+
+    /**
+     * Get a snapshot of the shards currently owned by this node.
+     *
+     * @return A predicate which is true for the ids of the jobs belonging to a shard owned by this node
+     */
+    Predicate<String> getOwnershipFilter();
+}
@@ -0,0 +1,55 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services;
+
+import java.time.Duration;
+
+/**
+ * Service interface for scheduling one-shot timers, such as per-job or per-transfer timeouts.
+ * <p>
+ * Implementations are meant to hold a large number of mostly cancelled or rescheduled timers, so scheduling and
+ * cancelling a timer should be cheap regardless of how many are pending. In exchange, timers may fire somewhat later
+ * than requested and should not be used where precise timing matters.
+ *
+ * @since 4.4.0
+ */
+public interface TimerService {
+
+    /**
+     * Schedule a task to run once after the given delay.
+     *
+     * @param task  The task to run
+     * @param delay The delay after which the task should run, a non-positive delay runs the task as soon as possible
+     * @return A handle to cancel the task before it runs
+     */
+    Timeout schedule(Runnable task, Duration delay);
+
+    /**
+     * Handle of a scheduled task.
+     */
+    @FunctionalInterface
+    interface Timeout {
+
+        /**
+         * Cancel the task if it didn't run yet.
+         *
+         * @return true if the task was cancelled, false if it already ran or was already cancelled
+         */
+        boolean cancel();
+    }
+}
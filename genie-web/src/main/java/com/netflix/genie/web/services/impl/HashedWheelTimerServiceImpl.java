@@ -0,0 +1,166 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services.impl;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.netflix.genie.web.properties.TasksTimerProperties;
+import com.netflix.genie.web.services.TimerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.netty.util.HashedWheelTimer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import jakarta.annotation.Nullable;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of {@link TimerService} based on a hashed timer wheel.
+ * <p>
+ * Timers are hashed into the slots of a wheel advanced by a single thread one tick at a time, so scheduling and
+ * cancelling a timer take constant time no matter how many are pending, unlike a scheduled executor which keeps them
+ * in a heap and leaves cancelled ones in it until they are due. The wheel thread only hands expired timers over to
+ * a fixed pool of its own, so a slow task doesn't delay the other timers and other asynchronous work doesn't delay
+ * the timers either. The number of expired timers waiting for a thread of the pool is published as a gauge.
+ *
+ * @since 4.4.0
+ */
+@Slf4j
+public class HashedWheelTimerServiceImpl implements TimerService, AutoCloseable {
+
+    static final String EXECUTOR_QUEUE_SIZE_GAUGE = "genie.tasks.timer.executorQueueSize.gauge";
+
+    private final HashedWheelTimer timer;
+    private final Executor executor;
+    @Nullable
+    private final ExecutorService ownedExecutor;
+
+    /**
+     * Constructor.
+     *
+     * @param properties The timer properties
+     * @param registry   The metrics registry to publish the size of the queue of expired tasks to
+     */
+    public HashedWheelTimerServiceImpl(final TasksTimerProperties properties, final MeterRegistry registry) {
+        this(properties, newExecutor(properties, registry), true);
+    }
+
+    /**
+     * Constructor running the expired tasks on the given executor, which is left running when closed.
+     *
+     * @param properties The timer properties
+     * @param executor   The executor running the expired tasks
+     */
+    @VisibleForTesting
+    HashedWheelTimerServiceImpl(final TasksTimerProperties properties, final Executor executor) {
+        this(properties, executor, false);
+    }
+
+    private HashedWheelTimerServiceImpl(
+        final TasksTimerProperties properties,
+        final Executor executor,
+        final boolean ownsExecutor
+    ) {
+        this.executor = executor;
+        this.ownedExecutor = ownsExecutor ? (ExecutorService) executor : null;
+        this.timer = new HashedWheelTimer(
+            runnable -> {
+                final Thread thread = new Thread(runnable, properties.getThreadName());
+                thread.setDaemon(true);
+                return thread;
+            },
+            Math.max(1, properties.getTickDuration().toMillis()),
+            TimeUnit.MILLISECONDS,
+            properties.getTicksPerWheel(),
+            false
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Timeout schedule(final Runnable task, final Duration delay) {
+        final io.netty.util.Timeout timeout = this.timer.newTimeout(
+            expiredTimeout -> this.dispatch(task),
+            Math.max(0, delay.toMillis()),
+            TimeUnit.MILLISECONDS
+        );
+        return timeout::cancel;
+    }
+
+    /**
+     * Get the number of timers scheduled and not yet expired or cancelled.
+     *
+     * @return The number of pending timers
+     */
+    public long getPendingTimersCount() {
+        return this.timer.pendingTimeouts();
+    }
+
+    /**
+     * Stop the wheel. Pending timers are dropped, expired ones already handed over to the executor still run.
+     */
+    @Override
+    public void close() {
+        final int droppedTimersCount = this.timer.stop().size();
+        log.info("Timer wheel stopped, dropped {} pending timers", droppedTimersCount);
+        if (this.ownedExecutor != null) {
+            this.ownedExecutor.shutdown();
+        }
+    }
+
+    private static ThreadPoolExecutor newExecutor(final TasksTimerProperties properties, final MeterRegistry registry) {
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(properties.getThreadName() + "-");
+        threadFactory.setDaemon(true);
+        // Unbounded, expired timers are not dropped while the threads are busy. The gauge shows when they fall behind.
+        final BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
+        registry.gaugeCollectionSize(EXECUTOR_QUEUE_SIZE_GAUGE, Tags.empty(), queue);
+        return new ThreadPoolExecutor(
+            properties.getExecutorThreads(),
+            properties.getExecutorThreads(),
+            0L,
+            TimeUnit.MILLISECONDS,
+            queue,
+            threadFactory
+        );
+    }
+
+    private void dispatch(final Runnable task) {
+        try {
+            this.executor.execute(
+                () -> {
+                    try {
+                        task.run();
+                    } catch (final RuntimeException e) {
+                        log.error("Timer task failed", e);
+                    }
+                }
+            );
+        } catch (final RejectedExecutionException e) {
+            log.warn("Timer task rejected by executor: {}", e.getMessage());
+        }
+    }
+}
@@ -17,6 +17,8 @@
  */
 package com.netflix.genie.web.services.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
@@ -28,6 +30,7 @@ import com.netflix.genie.common.exceptions.GenieServerUnavailableException;
 import com.netflix.genie.common.external.util.GenieObjectMapper;
 import com.netflix.genie.common.internal.dtos.ArchiveStatus;
 import com.netflix.genie.common.internal.dtos.DirectoryManifest;
+import com.netflix.genie.common.internal.dtos.JobSpecification;
 import com.netflix.genie.web.agent.resources.AgentFileProtocolResolver;
 import com.netflix.genie.web.agent.services.AgentFileStreamService;
 import com.netflix.genie.web.agent.services.AgentRoutingService;
@@ -38,6 +41,7 @@ import com.netflix.genie.web.exceptions.checked.JobDirectoryManifestNotFoundExce
 import com.netflix.genie.web.exceptions.checked.JobNotArchivedException;
 import com.netflix.genie.web.exceptions.checked.JobNotFoundException;
 import com.netflix.genie.web.exceptions.checked.NotFoundException;
+import com.netflix.genie.web.resources.BundledEntryResource;
 import com.netflix.genie.web.resources.writers.DefaultDirectoryWriter;
 import com.netflix.genie.web.services.ArchivedJobService;
 import com.netflix.genie.web.services.JobDirectoryServerService;
@@ -49,6 +53,7 @@ import org.apache.http.client.utils.URIBuilder;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.ResourceHttpMessageConverter;
 import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
@@ -62,10 +67,15 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Default implementation of {@link JobDirectoryServerService}.
@@ -79,6 +89,9 @@ public class JobDirectoryServerServiceImpl implements JobDirectoryServerService
     private static final String SLASH = "/";
     private static final String SERVE_RESOURCE_TIMER = "genie.files.serve.timer";
     private static final String ARCHIVE_STATUS_TAG = "archiveStatus";
+    private static final String LOCAL_FILE_SCHEME = "file";
+    private static final long DEPENDENCY_LOCATIONS_CACHE_SIZE = 1_000L;
+    private static final Duration DEPENDENCY_LOCATIONS_CACHE_EXPIRATION = Duration.ofMinutes(10);
 
     private final ResourceLoader resourceLoader;
     private final PersistenceService persistenceService;
@@ -87,6 +100,9 @@ public class JobDirectoryServerServiceImpl implements JobDirectoryServerService
     private final GenieResourceHandler.Factory genieResourceHandlerFactory;
     private final ArchivedJobService archivedJobService;
     private final AgentRoutingService agentRoutingService;
+    // The dependency locations of a job don't change once it is resolved, so they are looked up once per job rather
+    // than for every file of the job served as a reference
+    private final Cache<String, Set<URI>> dependencyLocationsCache;
 
     /**
      * Constructor.
@@ -138,6 +154,10 @@ public class JobDirectoryServerServiceImpl implements JobDirectoryServerService
         this.genieResourceHandlerFactory = genieResourceHandlerFactory;
         this.archivedJobService = archivedJobService;
         this.agentRoutingService = agentRoutingService;
+        this.dependencyLocationsCache = Caffeine.newBuilder()
+            .maximumSize(DEPENDENCY_LOCATIONS_CACHE_SIZE)
+            .expireAfterAccess(DEPENDENCY_LOCATIONS_CACHE_EXPIRATION)
+            .build();
     }
 
     /**
@@ -218,7 +238,7 @@ public class JobDirectoryServerServiceImpl implements JobDirectoryServerService
             );
 
             // Common handling of archived, locally running v3 job or locally connected v4 job
-            this.handleRequest(baseUri, relativePath, request, response, manifest, jobDirRoot);
+            this.handleRequest(id, baseUri, relativePath, request, response, manifest, jobDirRoot);
             MetricsUtils.addSuccessTags(tags);
 
         } catch (NotFoundException e) {
@@ -246,6 +266,7 @@ public class JobDirectoryServerServiceImpl implements JobDirectoryServerService
     }
 
     private void handleRequest(
+        final String id,
         final URI baseUri,
         final String relativePath,
         final HttpServletRequest request,
@@ -316,11 +337,17 @@ public class JobDirectoryServerServiceImpl implements JobDirectoryServerService
                 GenieObjectMapper.getMapper().writeValue(response.getOutputStream(), directory);
             }
         } else {
-            final URI location = jobDirectoryRoot.resolve(entry.getPath());
-            final String locationString = location.toString()
-                + (jobDirectoryRoot.getFragment() != null ? ("#" + jobDirectoryRoot.getFragment()) : "");
-            log.debug("Get resource: {}", locationString);
-            final Resource jobResource = this.resourceLoader.getResource(locationString);
+            final Optional<DirectoryManifest.BundleLocation> bundleLocation = entry.getBundleLocation();
+            final Resource jobResource;
+            if (bundleLocation.isPresent()) {
+                jobResource = this.getBundledResource(entry, bundleLocation.get(), jobDirectoryRoot);
+            } else {
+                final String location = this.getFileLocation(id, entry, jobDirectoryRoot);
+                final String locationString = location
+                    + (jobDirectoryRoot.getFragment() != null ? ("#" + jobDirectoryRoot.getFragment()) : "");
+                log.debug("Get resource: {}", locationString);
+                jobResource = this.resourceLoader.getResource(locationString);
+            }
             // Every file really should have a media type but if not use text/plain
             final String mediaType = entry.getMimeType().orElse(MediaType.TEXT_PLAIN_VALUE);
             final ResourceHttpRequestHandler handler = this.genieResourceHandlerFactory.get(mediaType, jobResource);
@@ -332,6 +359,131 @@ public class JobDirectoryServerServiceImpl implements JobDirectoryServerService
         }
     }
 
+    private String getFileLocation(
+        final String id,
+        final DirectoryManifest.ManifestEntry entry,
+        final URI jobDirectoryRoot
+    ) {
+        // Dependencies archived as references are served from the location they were downloaded from. The manifest
+        // is written by the agent, so that location is only trusted if it is one the job was actually set up with
+        final Optional<String> sourceUri = entry.getSourceUri();
+        if (sourceUri.isPresent()) {
+            if (this.isTrustedSource(id, sourceUri.get(), jobDirectoryRoot)) {
+                return sourceUri.get();
+            }
+            log.warn(
+                "Ignoring source {} of file {} for job {}: not a dependency location of the job",
+                sourceUri.get(),
+                entry.getPath(),
+                id
+            );
+        }
+        return jobDirectoryRoot.resolve(entry.getPath()).toString();
+    }
+
+    private boolean isTrustedSource(final String id, final String sourceUri, final URI jobDirectoryRoot) {
+        final URI source;
+        try {
+            source = new URI(sourceUri).normalize();
+        } catch (final URISyntaxException e) {
+            return false;
+        }
+        if (source.getScheme() == null
+            || source.isOpaque()
+            || LOCAL_FILE_SCHEME.equalsIgnoreCase(source.getScheme())
+            || source.getRawPath() == null
+            || source.getRawPath().contains("..")) {
+            return false;
+        }
+
+        // Files under the job's own archive location
+        final String rootPath = jobDirectoryRoot.getRawPath();
+        if (source.getScheme().equalsIgnoreCase(jobDirectoryRoot.getScheme())
+            && Objects.equals(source.getRawAuthority(), jobDirectoryRoot.getRawAuthority())
+            && rootPath != null
+            && source.getRawPath().startsWith(rootPath.endsWith(SLASH) ? rootPath : rootPath + SLASH)) {
+            return true;
+        }
+
+        return this.dependencyLocationsCache.get(id, this::loadDependencyLocations).contains(source);
+    }
+
+    /**
+     * Get the configs, dependencies and setup files of the cluster, command and applications the job was resolved to.
+     * Those of the job itself come from the user and are archived with the job directory instead.
+     */
+    private Set<URI> loadDependencyLocations(final String id) {
+        final Optional<JobSpecification> jobSpecification;
+        try {
+            jobSpecification = this.persistenceService.getJobSpecification(id);
+        } catch (final NotFoundException e) {
+            return Sets.newHashSet();
+        }
+        return jobSpecification
+            .map(this::getDependencyLocations)
+            .orElseGet(Stream::empty)
+            .map(location -> {
+                try {
+                    return new URI(location).normalize();
+                } catch (final URISyntaxException e) {
+                    return null;
+                }
+            })
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+    }
+
+    private Stream<String> getDependencyLocations(final JobSpecification jobSpecification) {
+        return Stream
+            .concat(
+                Stream.of(jobSpecification.getCluster(), jobSpecification.getCommand()),
+                jobSpecification.getApplications().stream()
+            )
+            .filter(Objects::nonNull)
+            .map(JobSpecification.ExecutionResource::getExecutionEnvironment)
+            .filter(Objects::nonNull)
+            .flatMap(
+                environment -> Stream.concat(
+                    Stream.concat(environment.getConfigs().stream(), environment.getDependencies().stream()),
+                    environment.getSetupFile().map(Stream::of).orElseGet(Stream::empty)
+                )
+            );
+    }
+
+    private Resource getBundledResource(
+        final DirectoryManifest.ManifestEntry entry,
+        final DirectoryManifest.BundleLocation bundleLocation,
+        final URI jobDirectoryRoot
+    ) {
+        final long size = entry.getSize();
+        final long offset = bundleLocation.getOffset();
+        // Translate the range requested within the file to a range of the bundle, so only that region is fetched
+        long start = offset;
+        long end = offset + size - 1;
+        final String rangeHeader = jobDirectoryRoot.getFragment();
+        if (rangeHeader != null && size > 0) {
+            try {
+                final List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                if (ranges.size() == 1) {
+                    start = offset + ranges.get(0).getRangeStart(size);
+                    end = offset + ranges.get(0).getRangeEnd(size);
+                }
+            } catch (final IllegalArgumentException iae) {
+                // Let the resource handler reject the range, the whole file region is requested meanwhile
+                log.debug("Unable to translate range {} for bundled file {}", rangeHeader, entry.getPath());
+            }
+        }
+        final String locationString = jobDirectoryRoot.resolve(bundleLocation.getBundle()).toString()
+            + (size > 0 ? ("#bytes=" + start + "-" + end) : "");
+        log.debug("Get bundled resource: {} ({})", locationString, entry.getPath());
+        return new BundledEntryResource(
+            this.resourceLoader.getResource(locationString),
+            entry.getName(),
+            offset,
+            size
+        );
+    }
+
     private DefaultDirectoryWriter.Entry createEntry(
         final DirectoryManifest.ManifestEntry manifestEntry,
         final URI baseUri
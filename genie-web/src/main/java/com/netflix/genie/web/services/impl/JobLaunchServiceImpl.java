@@ -36,24 +36,39 @@ import com.netflix.genie.web.exceptions.checked.AgentLaunchException;
 import com.netflix.genie.web.exceptions.checked.IdAlreadyExistsException;
 import com.netflix.genie.web.exceptions.checked.NotFoundException;
 import com.netflix.genie.web.exceptions.checked.ResourceSelectionException;
+import com.netflix.genie.web.properties.JobLaunchProperties;
 import com.netflix.genie.web.selectors.AgentLauncherSelectionContext;
 import com.netflix.genie.web.selectors.AgentLauncherSelector;
 import com.netflix.genie.web.services.JobLaunchService;
 import com.netflix.genie.web.services.JobResolverService;
 import com.netflix.genie.web.util.MetricsUtils;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
 import jakarta.validation.Valid;
 import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Default implementation of the {@link JobLaunchService}.
+ * <p>
+ * When {@link JobLaunchProperties#isAsync()} is set, {@link #launchJob(JobSubmission)} only saves the submission before
+ * returning. Resolution and agent launch are then carried out by a pipeline of two stages, each with its own bounded
+ * queue and worker pool, so the time a submission takes no longer depends on how long launchers take to respond.
  *
  * @author tgianos
  * @since 4.0.0
@@ -67,21 +82,42 @@ public class JobLaunchServiceImpl implements JobLaunchService {
     static final String LAUNCHED_AGENT_ANNOTATION = "Launched Agent";
     static final String SAVED_LAUNCHER_EXT_ANNOTATION = "Saved Launcher Ext Data";
     static final String END_LAUNCH_JOB_ANNOTATION = "Completed Launching Job";
+    static final String QUEUED_JOB_LAUNCH_ANNOTATION = "Queued Job Launch";
+    static final String RESOLUTION_STAGE = "resolution";
+    static final String LAUNCH_STAGE = "launch";
+    static final String SHUTDOWN_MESSAGE = "The job was not launched before the server shut down";
 
     private static final String LAUNCH_JOB_TIMER = "genie.services.jobLaunch.launchJob.timer";
     private static final String AGENT_LAUNCHER_SELECTOR_TIMER = "genie.services.jobLaunch.selectLauncher.timer";
+    private static final String PIPELINE_STAGE_TIMER = "genie.services.jobLaunch.pipeline.stage.timer";
+    private static final String PIPELINE_QUEUE_WAIT_TIMER = "genie.services.jobLaunch.pipeline.queueWait.timer";
+    private static final String PIPELINE_QUEUE_SIZE_GAUGE = "genie.services.jobLaunch.pipeline.queueSize.gauge";
+    private static final String PIPELINE_OVERFLOW_COUNTER = "genie.services.jobLaunch.pipeline.overflow.counter";
+    private static final String ASYNC_TAG = "async";
+    private static final String STAGE_TAG = "stage";
     private static final String AVAILABLE_LAUNCHERS_TAG = "numAvailableLaunchers";
     private static final String SELECTOR_CLASS_TAG = "agentLauncherSelectorClass";
     private static final String LAUNCHER_CLASS_TAG = "agentLauncherSelectedClass";
     private static final int MAX_STATUS_UPDATE_ATTEMPTS = 5;
     private static final int INITIAL_ATTEMPT = 0;
     private static final String ACCEPTED_MESSAGE = "The job has been accepted by the system for execution";
+    private static final Set<JobStatus> UNLAUNCHED_STATUSES = EnumSet.of(
+        JobStatus.RESERVED,
+        JobStatus.RESOLVED,
+        JobStatus.ACCEPTED
+    );
+    private static final long SHUTDOWN_GRACE_PERIOD_SECONDS = 5L;
 
     private final PersistenceService persistenceService;
     private final JobResolverService jobResolverService;
     private final AgentLauncherSelector agentLauncherSelector;
     private final Tracer tracer;
     private final MeterRegistry registry;
+    private final boolean asyncLaunch;
+    @Nullable
+    private final LaunchStage resolutionStage;
+    @Nullable
+    private final LaunchStage launchStage;
 
     /**
      * Constructor.
@@ -98,16 +134,65 @@ public class JobLaunchServiceImpl implements JobLaunchService {
         final AgentLauncherSelector agentLauncherSelector,
         final BraveTracingComponents tracingComponents,
         final MeterRegistry registry
+    ) {
+        this(
+            dataServices,
+            jobResolverService,
+            agentLauncherSelector,
+            tracingComponents,
+            registry,
+            new JobLaunchProperties()
+        );
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param dataServices          The {@link DataServices} instance to use
+     * @param jobResolverService    {@link JobResolverService} implementation used to resolve job details
+     * @param agentLauncherSelector {@link AgentLauncher} implementation to launch agents
+     * @param tracingComponents     {@link BraveTracingComponents} instance to use to get access to instrumentation
+     * @param registry              {@link MeterRegistry} metrics repository
+     * @param properties            The {@link JobLaunchProperties} to use
+     */
+    public JobLaunchServiceImpl(
+        final DataServices dataServices,
+        final JobResolverService jobResolverService,
+        final AgentLauncherSelector agentLauncherSelector,
+        final BraveTracingComponents tracingComponents,
+        final MeterRegistry registry,
+        final JobLaunchProperties properties
     ) {
         this.persistenceService = dataServices.getPersistenceService();
         this.jobResolverService = jobResolverService;
         this.agentLauncherSelector = agentLauncherSelector;
         this.tracer = tracingComponents.getTracer();
         this.registry = registry;
+        this.asyncLaunch = properties.isAsync();
+        if (this.asyncLaunch) {
+            this.resolutionStage = new LaunchStage(
+                RESOLUTION_STAGE,
+                properties.getResolutionThreads(),
+                properties,
+                this::resolveQueuedJob
+            );
+            this.launchStage = new LaunchStage(
+                LAUNCH_STAGE,
+                properties.getLaunchThreads(),
+                properties,
+                this::launchQueuedJob
+            );
+        } else {
+            this.resolutionStage = null;
+            this.launchStage = null;
+        }
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * When launching asynchronously this returns as soon as the job submission is saved and the job is queued for
+     * resolution. Any later failure is reflected in the job status rather than thrown.
      */
     @Override
     @Nonnull
@@ -121,7 +206,7 @@ public class JobLaunchServiceImpl implements JobLaunchService {
         final long start = System.nanoTime();
         final SpanCustomizer span = this.tracer.currentSpanCustomizer();
         span.annotate(BEGIN_LAUNCH_JOB_ANNOTATION);
-        final Set<Tag> tags = Sets.newHashSet();
+        final Set<Tag> tags = Sets.newHashSet(Tag.of(ASYNC_TAG, String.valueOf(this.asyncLaunch)));
         try {
             /*
              * Steps:
@@ -131,82 +216,29 @@ public class JobLaunchServiceImpl implements JobLaunchService {
              * 3. Mark the job as accepted
              * 4. Launch the agent process given the implementation configured for this Genie instance
              * 5. If the agent launch fails mark the job failed else return
+             *
+             * When launching asynchronously steps 2 to 5 are handed to the launch pipeline after step 1
              */
             final String jobId = this.persistenceService.saveJobSubmission(jobSubmission);
             span.annotate(SAVED_JOB_SUBMISSION_ANNOTATION);
 
-            final ResolvedJob resolvedJob;
-            try {
-                resolvedJob = this.jobResolverService.resolveJob(jobId);
-            } catch (final Throwable t) {
-                final String message;
-                if (t instanceof GenieJobResolutionException) {
-                    message = JobStatusMessages.FAILED_TO_RESOLVE_JOB;
-                } else {
-                    message = JobStatusMessages.RESOLUTION_RUNTIME_ERROR;
-                }
-
-                MetricsUtils.addFailureTagsWithException(tags, t);
-                this.persistenceService.updateJobArchiveStatus(jobId, ArchiveStatus.NO_FILES);
-                if (
-                    this.updateJobStatus(jobId, JobStatus.RESERVED, JobStatus.FAILED, message, INITIAL_ATTEMPT)
-                        != JobStatus.FAILED
-                ) {
-                    log.error("Updating status to failed didn't succeed");
-                }
-                throw t; // Caught below for metrics gathering
+            if (this.resolutionStage != null) {
+                this.resolutionStage.enqueue(new LaunchTask(jobId, jobSubmission, null, start));
+                span.annotate(QUEUED_JOB_LAUNCH_ANNOTATION);
+                MetricsUtils.addSuccessTags(tags);
+                return jobId;
             }
+
+            final ResolvedJob resolvedJob = this.resolveJob(jobId, tags);
             span.annotate(RESOLVED_JOB_ANNOTATION);
 
-            // Job state should be RESOLVED now. Mark it ACCEPTED to avoid race condition with agent starting up
-            // before we get return from launchAgent and trying to set it to CLAIMED
-            try {
-                final JobStatus updatedStatus = this.updateJobStatus(
-                    jobId,
-                    JobStatus.RESOLVED,
-                    JobStatus.ACCEPTED,
-                    ACCEPTED_MESSAGE,
-                    INITIAL_ATTEMPT
-                );
-                if (updatedStatus != JobStatus.ACCEPTED) {
-                    throw new AgentLaunchException("Unable to mark job accepted. Job state " + updatedStatus);
-                }
-            } catch (final Exception e) {
-                this.persistenceService.updateJobArchiveStatus(jobId, ArchiveStatus.NO_FILES);
-                // TODO: Failed to update the status to accepted. Try to set it to failed or rely on other cleanup
-                //       mechanism? For now rely on janitor mechanisms
-                throw e;
-            }
+            this.markJobAccepted(jobId);
             span.annotate(MARKED_JOB_ACCEPTED_ANNOTATION);
 
-            // TODO: at the moment this is not populated, it's going to be a null node (not null)
-            final JsonNode requestedLauncherExt = this.persistenceService.getRequestedLauncherExt(jobId);
-
-            final Optional<JsonNode> launcherExt;
-            try {
-                final AgentLauncher launcher = this.selectLauncher(jobId, jobSubmission, resolvedJob);
-                tags.add(Tag.of(LAUNCHER_CLASS_TAG, launcher.getClass().getCanonicalName()));
-                launcherExt = launcher.launchAgent(resolvedJob, requestedLauncherExt);
-            } catch (final AgentLaunchException e) {
-                this.persistenceService.updateJobArchiveStatus(jobId, ArchiveStatus.NO_FILES);
-                this.updateJobStatus(jobId, JobStatus.ACCEPTED, JobStatus.FAILED, e.getMessage(), INITIAL_ATTEMPT);
-                // TODO: How will we get the ID back to the user? Should we add it to an exception? We don't get
-                //       We don't get the ID until after saveJobSubmission so if that fails we'd still return nothing
-                //       Probably need multiple exceptions to be thrown from this API (if we go with checked)
-                throw e;
-            }
+            final Optional<JsonNode> launcherExt = this.launchAgent(jobId, jobSubmission, resolvedJob, tags);
             span.annotate(LAUNCHED_AGENT_ANNOTATION);
 
-            if (launcherExt.isPresent()) {
-                try {
-                    this.persistenceService.updateLauncherExt(jobId, launcherExt.get());
-                } catch (final Exception e) {
-                    // Being unable to update the launcher ext is not optimal however
-                    // it's not worth returning an error to the user at this point as
-                    // the agent has launched and we have all the other pieces in place
-                    log.error("Unable to update the launcher ext for job {}", jobId, e);
-                }
-            }
+            launcherExt.ifPresent(ext -> this.saveLauncherExt(jobId, ext));
             span.annotate(SAVED_LAUNCHER_EXT_ANNOTATION);
 
             MetricsUtils.addSuccessTags(tags);
@@ -222,6 +254,163 @@ public class JobLaunchServiceImpl implements JobLaunchService {
         }
     }
 
+    /**
+     * Stop the asynchronous launch pipeline, if any. Jobs which were not launched yet, whether still queued or
+     * interrupted while in flight, are marked failed.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (this.resolutionStage != null) {
+            this.resolutionStage.shutdown();
+        }
+        if (this.launchStage != null) {
+            this.launchStage.shutdown();
+        }
+    }
+
+    private ResolvedJob resolveJob(
+        final String jobId,
+        final Set<Tag> tags
+    ) throws GenieJobResolutionException, NotFoundException {
+        try {
+            return this.jobResolverService.resolveJob(jobId);
+        } catch (final Throwable t) {
+            final String message;
+            if (t instanceof GenieJobResolutionException) {
+                message = JobStatusMessages.FAILED_TO_RESOLVE_JOB;
+            } else {
+                message = JobStatusMessages.RESOLUTION_RUNTIME_ERROR;
+            }
+
+            MetricsUtils.addFailureTagsWithException(tags, t);
+            this.persistenceService.updateJobArchiveStatus(jobId, ArchiveStatus.NO_FILES);
+            if (
+                this.updateJobStatus(jobId, JobStatus.RESERVED, JobStatus.FAILED, message, INITIAL_ATTEMPT)
+                    != JobStatus.FAILED
+            ) {
+                log.error("Updating status to failed didn't succeed");
+            }
+            throw t; // Caught by the caller for metrics gathering
+        }
+    }
+
+    private void markJobAccepted(final String jobId) throws AgentLaunchException, NotFoundException {
+        // Job state should be RESOLVED now. Mark it ACCEPTED to avoid race condition with agent starting up
+        // before we get return from launchAgent and trying to set it to CLAIMED
+        try {
+            final JobStatus updatedStatus = this.updateJobStatus(
+                jobId,
+                JobStatus.RESOLVED,
+                JobStatus.ACCEPTED,
+                ACCEPTED_MESSAGE,
+                INITIAL_ATTEMPT
+            );
+            if (updatedStatus != JobStatus.ACCEPTED) {
+                throw new AgentLaunchException("Unable to mark job accepted. Job state " + updatedStatus);
+            }
+        } catch (final Exception e) {
+            this.persistenceService.updateJobArchiveStatus(jobId, ArchiveStatus.NO_FILES);
+            // TODO: Failed to update the status to accepted. Try to set it to failed or rely on other cleanup
+            //       mechanism? For now rely on janitor mechanisms
+            throw e;
+        }
+    }
+
+    private Optional<JsonNode> launchAgent(
+        final String jobId,
+        final JobSubmission jobSubmission,
+        final ResolvedJob resolvedJob,
+        final Set<Tag> tags
+    ) throws AgentLaunchException, NotFoundException {
+        // TODO: at the moment this is not populated, it's going to be a null node (not null)
+        final JsonNode requestedLauncherExt = this.persistenceService.getRequestedLauncherExt(jobId);
+
+        try {
+            final AgentLauncher launcher = this.selectLauncher(jobId, jobSubmission, resolvedJob);
+            tags.add(Tag.of(LAUNCHER_CLASS_TAG, launcher.getClass().getCanonicalName()));
+            return launcher.launchAgent(resolvedJob, requestedLauncherExt);
+        } catch (final AgentLaunchException e) {
+            this.persistenceService.updateJobArchiveStatus(jobId, ArchiveStatus.NO_FILES);
+            this.updateJobStatus(jobId, JobStatus.ACCEPTED, JobStatus.FAILED, e.getMessage(), INITIAL_ATTEMPT);
+            // TODO: How will we get the ID back to the user? Should we add it to an exception? We don't get
+            //       We don't get the ID until after saveJobSubmission so if that fails we'd still return nothing
+            //       Probably need multiple exceptions to be thrown from this API (if we go with checked)
+            throw e;
+        }
+    }
+
+    private void saveLauncherExt(final String jobId, final JsonNode launcherExt) {
+        try {
+            this.persistenceService.updateLauncherExt(jobId, launcherExt);
+        } catch (final Exception e) {
+            // Being unable to update the launcher ext is not optimal however
+            // it's not worth returning an error to the user at this point as
+            // the agent has launched and we have all the other pieces in place
+            log.error("Unable to update the launcher ext for job {}", jobId, e);
+        }
+    }
+
+    /*
+     * Resolution stage of the asynchronous pipeline. Once the job is accepted it moves on to the launch stage.
+     */
+    private void resolveQueuedJob(final LaunchTask task, final Set<Tag> tags) throws Exception {
+        final ResolvedJob resolvedJob = this.resolveJob(task.getJobId(), tags);
+        this.markJobAccepted(task.getJobId());
+        if (this.launchStage != null) {
+            this.launchStage.enqueue(
+                new LaunchTask(task.getJobId(), task.getJobSubmission(), resolvedJob, task.getSubmittedAt())
+            );
+        }
+    }
+
+    /*
+     * Launch stage of the asynchronous pipeline.
+     */
+    private void launchQueuedJob(final LaunchTask task, final Set<Tag> tags) throws Exception {
+        final ResolvedJob resolvedJob = task.getResolvedJob();
+        if (resolvedJob == null) {
+            throw new IllegalStateException("Job " + task.getJobId() + " reached the launch stage unresolved");
+        }
+        this.launchAgent(task.getJobId(), task.getJobSubmission(), resolvedJob, tags)
+            .ifPresent(ext -> this.saveLauncherExt(task.getJobId(), ext));
+    }
+
+    private void failUnlaunchedJob(final LaunchTask task) {
+        final JobStatus expectedStatus = task.getResolvedJob() == null ? JobStatus.RESERVED : JobStatus.ACCEPTED;
+        try {
+            this.persistenceService.updateJobArchiveStatus(task.getJobId(), ArchiveStatus.NO_FILES);
+            this.updateJobStatus(
+                task.getJobId(),
+                expectedStatus,
+                JobStatus.FAILED,
+                SHUTDOWN_MESSAGE,
+                INITIAL_ATTEMPT
+            );
+        } catch (final Exception e) {
+            log.error("Unable to mark job {} failed after it was dropped from the launch pipeline", task.getJobId(), e);
+        }
+    }
+
+    private void failInterruptedJob(final LaunchTask task) {
+        final String jobId = task.getJobId();
+        try {
+            // The job may be anywhere between reserved and accepted, or already launched or failed by the stage
+            final JobStatus currentStatus = this.persistenceService.getJobStatus(jobId);
+            if (!UNLAUNCHED_STATUSES.contains(currentStatus)) {
+                return;
+            }
+            this.persistenceService.updateJobArchiveStatus(jobId, ArchiveStatus.NO_FILES);
+            if (
+                this.persistenceService.updateJobStatus(jobId, currentStatus, JobStatus.FAILED, SHUTDOWN_MESSAGE)
+                    != JobStatus.FAILED
+            ) {
+                log.warn("Job {} changed status while its launch was interrupted, not marking it failed", jobId);
+            }
+        } catch (final Exception e) {
+            log.error("Unable to mark job {} failed after its launch was interrupted", jobId, e);
+        }
+    }
+
     private AgentLauncher selectLauncher(
         final String jobId,
         final JobSubmission jobSubmission,
@@ -333,4 +522,197 @@ public class JobLaunchServiceImpl implements JobLaunchService {
             }
         }
     }
+
+    /**
+     * A job making its way through the asynchronous launch pipeline.
+     */
+    private static final class LaunchTask {
+        private final String jobId;
+        private final JobSubmission jobSubmission;
+        @Nullable
+        private final ResolvedJob resolvedJob;
+        private final long submittedAt;
+
+        private LaunchTask(
+            final String jobId,
+            final JobSubmission jobSubmission,
+            @Nullable final ResolvedJob resolvedJob,
+            final long submittedAt
+        ) {
+            this.jobId = jobId;
+            this.jobSubmission = jobSubmission;
+            this.resolvedJob = resolvedJob;
+            this.submittedAt = submittedAt;
+        }
+
+        private String getJobId() {
+            return this.jobId;
+        }
+
+        private JobSubmission getJobSubmission() {
+            return this.jobSubmission;
+        }
+
+        @Nullable
+        private ResolvedJob getResolvedJob() {
+            return this.resolvedJob;
+        }
+
+        private long getSubmittedAt() {
+            return this.submittedAt;
+        }
+    }
+
+    /**
+     * The work performed by a stage of the asynchronous launch pipeline.
+     */
+    @FunctionalInterface
+    private interface StageAction {
+        void run(LaunchTask task, Set<Tag> tags) throws Exception;
+    }
+
+    /**
+     * A stage of the asynchronous launch pipeline: a bounded queue ordered by submission time, drained by a dedicated
+     * pool of workers.
+     */
+    private final class LaunchStage {
+        private final String name;
+        private final StageAction action;
+        private final int queueCapacity;
+        private final ThreadPoolExecutor executor;
+        private final Set<LaunchTask> inFlight = ConcurrentHashMap.newKeySet();
+
+        private LaunchStage(
+            final String name,
+            final int threads,
+            final JobLaunchProperties properties,
+            final StageAction action
+        ) {
+            this.name = name;
+            this.action = action;
+            this.queueCapacity = properties.getQueueCapacity();
+            final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+                properties.getThreadNamePrefix() + name + "-"
+            );
+            threadFactory.setDaemon(true);
+            this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(),
+                threadFactory
+            );
+            Gauge
+                .builder(PIPELINE_QUEUE_SIZE_GAUGE, this.executor, e -> e.getQueue().size())
+                .tag(STAGE_TAG, name)
+                .register(registry);
+        }
+
+        private void enqueue(final LaunchTask task) {
+            final QueuedTask queuedTask = new QueuedTask(this, task);
+            if (this.executor.getQueue().size() >= this.queueCapacity) {
+                // Apply back pressure on whoever is feeding this stage rather than letting the queue grow
+                log.debug("Launch pipeline stage {} is full, running job {} on the caller", this.name, task.getJobId());
+                registry.counter(PIPELINE_OVERFLOW_COUNTER, STAGE_TAG, this.name).increment();
+                queuedTask.run();
+                return;
+            }
+            try {
+                this.executor.execute(queuedTask);
+            } catch (final RejectedExecutionException e) {
+                log.error("Launch pipeline stage {} is shut down, dropping job {}", this.name, task.getJobId());
+                failUnlaunchedJob(task);
+            }
+        }
+
+        private void run(final LaunchTask task, final long enqueuedAt) {
+            final long start = System.nanoTime();
+            registry
+                .timer(PIPELINE_QUEUE_WAIT_TIMER, STAGE_TAG, this.name)
+                .record(start - enqueuedAt, TimeUnit.NANOSECONDS);
+            final Set<Tag> tags = Sets.newHashSet(Tag.of(STAGE_TAG, this.name));
+            this.inFlight.add(task);
+            try {
+                this.action.run(task, tags);
+                MetricsUtils.addSuccessTags(tags);
+            } catch (final Throwable t) {
+                // The job status was already updated as far as possible by the stage itself
+                log.error("Launch pipeline stage {} failed for job {}", this.name, task.getJobId(), t);
+                MetricsUtils.addFailureTagsWithException(tags, t);
+                if (this.executor.isShutdown()) {
+                    // Most likely interrupted by the shutdown, which may have left the job half way
+                    failInterruptedJob(task);
+                }
+            } finally {
+                this.inFlight.remove(task);
+                registry
+                    .timer(PIPELINE_STAGE_TIMER, tags)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void shutdown() {
+            final List<Runnable> pending = this.executor.shutdownNow();
+            if (!pending.isEmpty()) {
+                log.warn("Launch pipeline stage {} shut down with {} jobs pending", this.name, pending.size());
+            }
+            for (final Runnable runnable : pending) {
+                if (runnable instanceof QueuedTask) {
+                    failUnlaunchedJob(((QueuedTask) runnable).getTask());
+                }
+            }
+            // Jobs being worked on were interrupted. Give them a moment to wind down, then fail those left behind.
+            try {
+                if (!this.executor.awaitTermination(SHUTDOWN_GRACE_PERIOD_SECONDS, TimeUnit.SECONDS)) {
+                    log.warn(
+                        "Launch pipeline stage {} shut down with {} jobs in flight",
+                        this.name,
+                        this.inFlight.size()
+                    );
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (final LaunchTask task : this.inFlight) {
+                failInterruptedJob(task);
+            }
+        }
+    }
+
+    /**
+     * A {@link LaunchTask} waiting in the queue of a stage. Jobs submitted earlier are served first, so a job does not
+     * overtake older ones as it moves from stage to stage.
+     */
+    private static final class QueuedTask implements Runnable, Comparable<QueuedTask> {
+        private final LaunchStage stage;
+        private final LaunchTask task;
+        private final long enqueuedAt;
+
+        private QueuedTask(final LaunchStage stage, final LaunchTask task) {
+            this.stage = stage;
+            this.task = task;
+            this.enqueuedAt = System.nanoTime();
+        }
+
+        private LaunchTask getTask() {
+            return this.task;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void run() {
+            this.stage.run(this.task, this.enqueuedAt);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int compareTo(final QueuedTask other) {
+            return Long.compare(this.task.getSubmittedAt(), other.task.getSubmittedAt());
+        }
+    }
 }
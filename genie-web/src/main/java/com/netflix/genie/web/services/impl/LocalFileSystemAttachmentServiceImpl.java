@@ -19,6 +19,8 @@ package com.netflix.genie.web.services.impl;
 
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.netflix.genie.web.exceptions.checked.IllegalAttachmentFileNameException;
 import com.netflix.genie.web.exceptions.checked.AttachmentTooLargeException;
 import com.netflix.genie.web.exceptions.checked.SaveAttachmentException;
@@ -30,10 +32,12 @@ import jakarta.annotation.Nullable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Set;
 import java.util.UUID;
 
@@ -42,11 +46,15 @@ import java.util.UUID;
  * <p>
  * N.B.: This implementation is currently used for integration tests and lacks some aspects that would make it usable in
  * production environments (e.g., garbage collection of old files, metrics, etc.).
+ * <p>
+ * When {@link AttachmentServiceProperties#isContentAddressed()} is enabled, attachments are saved under a directory
+ * named after the SHA-256 of their content, and an attachment already present is reused rather than copied again.
  *
  * @author mprimi
  * @since 4.0.0
  */
 public class LocalFileSystemAttachmentServiceImpl implements AttachmentService {
+    private static final int BUFFER_SIZE = 8 * 1024;
     private final Path attachmentsDirectoryPath;
     private final AttachmentServiceProperties attachmentServiceProperties;
 
@@ -79,11 +87,14 @@ public class LocalFileSystemAttachmentServiceImpl implements AttachmentService {
             return Sets.newHashSet();
         }
 
+        final boolean contentAddressed = this.attachmentServiceProperties.isContentAddressed();
         final Path attachmentsBasePath = this.attachmentsDirectoryPath.resolve(UUID.randomUUID().toString());
-        try {
-            Files.createDirectories(attachmentsBasePath);
-        } catch (IOException e) {
-            throw new SaveAttachmentException("Failed to create directory for attachments: " + e.getMessage(), e);
+        if (!contentAddressed) {
+            try {
+                Files.createDirectories(attachmentsBasePath);
+            } catch (IOException e) {
+                throw new SaveAttachmentException("Failed to create directory for attachments: " + e.getMessage(), e);
+            }
         }
 
         long totalSize = 0;
@@ -96,26 +107,10 @@ public class LocalFileSystemAttachmentServiceImpl implements AttachmentService {
                 final String filename = attachment.getFilename();
 
                 if (filename != null) {
-                    if ((filename.contains("/") || filename.contains("\\")
-                        || filename.equals(".") || filename.contains(".."))) {
-                        throw new IllegalAttachmentFileNameException("Attachment filename " + filename + " is illegal. "
-                            + "Filenames should not be ., or contain .., /, \\.");
-                    }
-
-                    final String attachmentCanonicalPath =
-                        createTempFile(String.valueOf(attachmentsBasePath), filename).getCanonicalPath();
-
-                    final String baseCanonicalPath =
-                        new File(String.valueOf(attachmentsBasePath)).getCanonicalPath();
-
-                    if (!attachmentCanonicalPath.startsWith(baseCanonicalPath)
-                        || attachmentCanonicalPath.equals(baseCanonicalPath)) {
-                        throw new IllegalAttachmentFileNameException("Attachment filename " + filename + " is illegal. "
-                            + "Filenames should not be a relative path.");
-                    }
+                    this.checkFilename(filename, attachmentsBasePath);
                 }
 
-                if (attachmentSize > this.attachmentServiceProperties.getMaxSize().toBytes()) {
+                if (attachmentSize > singleSizeLimit) {
                     throw new AttachmentTooLargeException("Attachment is too large: " + filename);
                 }
 
@@ -125,11 +120,19 @@ public class LocalFileSystemAttachmentServiceImpl implements AttachmentService {
                     throw new AttachmentTooLargeException("Attachments total size is too large");
                 }
 
-                final Path attachmentPath = attachmentsBasePath.resolve(
-                    filename != null ? filename : UUID.randomUUID().toString()
-                );
-
-                Files.copy(inputStream, attachmentPath);
+                final String attachmentFilename = filename != null ? filename : UUID.randomUUID().toString();
+                final Path attachmentPath;
+                if (contentAddressed) {
+                    attachmentPath = this.saveFromStream(
+                        inputStream,
+                        attachmentFilename,
+                        null,
+                        totalSize - attachmentSize
+                    );
+                } else {
+                    attachmentPath = attachmentsBasePath.resolve(attachmentFilename);
+                    Files.copy(inputStream, attachmentPath);
+                }
 
                 setBuilder.add(attachmentPath.toUri());
 
@@ -141,6 +144,100 @@ public class LocalFileSystemAttachmentServiceImpl implements AttachmentService {
         return setBuilder.build();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public URI saveAttachment(
+        @Nullable final String jobId,
+        final String filename,
+        final InputStream content,
+        final long bytesAlreadySaved
+    ) throws SaveAttachmentException {
+        final Path attachmentsBasePath = this.attachmentsDirectoryPath.resolve(UUID.randomUUID().toString());
+        try {
+            this.checkFilename(filename, attachmentsBasePath);
+            return this.saveFromStream(
+                content,
+                filename,
+                this.attachmentServiceProperties.isContentAddressed() ? null : attachmentsBasePath,
+                bytesAlreadySaved
+            ).toUri();
+        } catch (IOException e) {
+            throw new SaveAttachmentException("Failed to save attachment: " + e.getMessage(), e);
+        }
+    }
+
+    private void checkFilename(
+        final String filename,
+        final Path attachmentsBasePath
+    ) throws IOException, IllegalAttachmentFileNameException {
+        if ((filename.contains("/") || filename.contains("\\")
+            || filename.equals(".") || filename.contains(".."))) {
+            throw new IllegalAttachmentFileNameException("Attachment filename " + filename + " is illegal. "
+                + "Filenames should not be ., or contain .., /, \\.");
+        }
+
+        final String attachmentCanonicalPath =
+            createTempFile(String.valueOf(attachmentsBasePath), filename).getCanonicalPath();
+
+        final String baseCanonicalPath =
+            new File(String.valueOf(attachmentsBasePath)).getCanonicalPath();
+
+        if (!attachmentCanonicalPath.startsWith(baseCanonicalPath)
+            || attachmentCanonicalPath.equals(baseCanonicalPath)) {
+            throw new IllegalAttachmentFileNameException("Attachment filename " + filename + " is illegal. "
+                + "Filenames should not be a relative path.");
+        }
+    }
+
+    /*
+     * Copy the content to a temporary file enforcing the size limits on the way, then move it in place. When no
+     * directory is given the attachment is content addressed: it goes in a directory named after its hash, unless an
+     * identical attachment is already there.
+     */
+    private Path saveFromStream(
+        final InputStream inputStream,
+        final String filename,
+        @Nullable final Path directory,
+        final long bytesAlreadySaved
+    ) throws IOException, AttachmentTooLargeException {
+        final Path tempFile = Files.createTempFile(this.attachmentsDirectoryPath, "attachment-", ".tmp");
+        try {
+            final long singleSizeLimit = this.attachmentServiceProperties.getMaxSize().toBytes();
+            final long totalSizeLimit = this.attachmentServiceProperties.getMaxTotalSize().toBytes();
+            final Hasher hasher = Hashing.sha256().newHasher();
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            long attachmentSize = 0;
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                int bytesRead = inputStream.read(buffer);
+                while (bytesRead != -1) {
+                    attachmentSize += bytesRead;
+                    if (attachmentSize > singleSizeLimit) {
+                        throw new AttachmentTooLargeException("Attachment is too large: " + filename);
+                    }
+                    if (bytesAlreadySaved + attachmentSize > totalSizeLimit) {
+                        throw new AttachmentTooLargeException("Attachments total size is too large");
+                    }
+                    hasher.putBytes(buffer, 0, bytesRead);
+                    outputStream.write(buffer, 0, bytesRead);
+                    bytesRead = inputStream.read(buffer);
+                }
+            }
+            final Path attachmentDirectory = directory != null
+                ? directory
+                : this.attachmentsDirectoryPath.resolve(hasher.hash().toString());
+            Files.createDirectories(attachmentDirectory);
+            final Path attachmentPath = attachmentDirectory.resolve(filename);
+            if (!Files.exists(attachmentPath)) {
+                Files.move(tempFile, attachmentPath, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return attachmentPath;
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
     /* for testing purposes */
     File createTempFile(final String attachmentsBasePath, final String filename) {
         return new File(attachmentsBasePath, filename);
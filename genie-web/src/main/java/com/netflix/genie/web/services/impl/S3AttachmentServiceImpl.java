@@ -18,7 +18,11 @@
 package com.netflix.genie.web.services.impl;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingInputStream;
+import com.google.common.io.ByteStreams;
 import com.netflix.genie.common.internal.aws.s3.S3ClientFactory;
 import com.netflix.genie.web.exceptions.checked.AttachmentTooLargeException;
 import com.netflix.genie.web.exceptions.checked.SaveAttachmentException;
@@ -30,23 +34,47 @@ import io.micrometer.core.instrument.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.S3Uri;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 
 import jakarta.annotation.Nullable;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Implementation of the AttachmentService interface which saves attachments to AWS S3.
+ * <p>
+ * When {@link AttachmentServiceProperties#isContentAddressed()} is enabled attachments are stored under a key derived
+ * from the SHA-256 of their content rather than a random per-request prefix. An attachment whose object already exists
+ * is not uploaded again, and since the returned URI (and the object's last modified time) is the same for every job
+ * submitting it, agents can serve it from their download cache.
+ * <p>
+ * Attachments saved via {@link #saveAttachment(String, String, InputStream, long)} are read in parts of
+ * {@link #STREAMING_PART_SIZE} bytes. An attachment which fits in a single part is uploaded with a single PUT, larger
+ * ones with an S3 multipart upload, so at most one part per attachment being received is ever held in memory. Since
+ * the content hash of a multipart upload is only known once it is complete, those are never content addressed.
  *
  * @author mprimi
  * @since 4.0.0
@@ -59,6 +87,11 @@ public class S3AttachmentServiceImpl implements AttachmentService {
     private static final String LARGEST_SIZE_DISTRIBUTION = METRICS_PREFIX + ".largest.distribution";
     private static final String TOTAL_SIZE_DISTRIBUTION = METRICS_PREFIX + ".totalSize.distribution";
     private static final String SAVE_TIMER = METRICS_PREFIX + ".upload.timer";
+    private static final String REUSED_COUNTER = METRICS_PREFIX + ".reused.counter";
+    private static final String UPLOADED_COUNTER = METRICS_PREFIX + ".uploaded.counter";
+    private static final String STREAM_UPLOAD_TIMER = METRICS_PREFIX + ".stream-upload.timer";
+    private static final String STREAM_SIZE_DISTRIBUTION = METRICS_PREFIX + ".stream-size.distribution";
+    private static final int STREAMING_PART_SIZE = (int) DataSize.ofMegabytes(5).toBytes();
     private static final Set<URI> EMPTY_SET = ImmutableSet.of();
     private static final String SLASH = "/";
     private static final String S3 = "s3";
@@ -124,6 +157,39 @@ public class S3AttachmentServiceImpl implements AttachmentService {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public URI saveAttachment(
+        @Nullable final String jobId,
+        final String filename,
+        final InputStream content,
+        final long bytesAlreadySaved
+    ) throws SaveAttachmentException {
+        if (StringUtils.isBlank(filename)) {
+            throw new SaveAttachmentException("Attachment filename is missing");
+        }
+
+        log.debug("Streaming attachment {} for job request with id: {}", filename, jobId);
+
+        final long start = System.nanoTime();
+        final Set<Tag> tags = Sets.newHashSet();
+        try {
+            final URI attachmentURI = this.streamAttachment(filename, content, bytesAlreadySaved);
+            MetricsUtils.addSuccessTags(tags);
+            return attachmentURI;
+        } catch (SaveAttachmentException e) {
+            log.error("Failed to save attachment {} (requested job id: {}): {}", filename, jobId, e.getMessage(), e);
+            MetricsUtils.addFailureTagsWithException(tags, e);
+            throw e;
+        } finally {
+            this.meterRegistry
+                .timer(STREAM_UPLOAD_TIMER, tags)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
     private void checkLimits(final Set<Resource> attachments) throws SaveAttachmentException {
 
         final long singleSizeLimit = this.properties.getMaxSize().toBytes();
@@ -193,13 +259,33 @@ public class S3AttachmentServiceImpl implements AttachmentService {
                 throw new SaveAttachmentException("Attachment filename is missing");
             }
             final String objectBucket = this.s3BaseURI.bucket().get();
-            final String objectKey = commonPrefix + filename;
+            final String objectKey;
+            if (this.properties.isContentAddressed()) {
+                objectKey = this.s3BaseURI.key().orElse("")
+                    + SLASH + this.getContentHash(attachment)
+                    + SLASH + filename;
+            } else {
+                objectKey = commonPrefix + filename;
+            }
 
             URI attachmentURI = null;
 
-            try (InputStream inputStream = attachment.getInputStream()) {
-                // Prepare object
+            try {
                 attachmentURI = new URI(S3, objectBucket, SLASH + objectKey, null);
+                if (this.properties.isContentAddressed() && this.objectExists(s3Client, objectBucket, objectKey)) {
+                    log.debug("Attachment {} already exists, skipping upload", attachmentURI);
+                    this.meterRegistry.counter(REUSED_COUNTER).increment();
+                    attachmentURIs.add(attachmentURI);
+                    continue;
+                }
+            } catch (SdkClientException | URISyntaxException e) {
+                throw new SaveAttachmentException(
+                    "Failed to upload attachment: " + attachmentURI + " - " + e.getMessage(),
+                    e
+                );
+            }
+
+            try (InputStream inputStream = attachment.getInputStream()) {
                 // Upload
                 s3Client.putObject(
                     PutObjectRequest.builder()
@@ -212,8 +298,11 @@ public class S3AttachmentServiceImpl implements AttachmentService {
 
                 // Add attachment URI to the set
                 attachmentURIs.add(attachmentURI);
+                if (this.properties.isContentAddressed()) {
+                    this.meterRegistry.counter(UPLOADED_COUNTER).increment();
+                }
 
-            } catch (IOException | SdkClientException | URISyntaxException e) {
+            } catch (IOException | SdkClientException e) {
                 throw new SaveAttachmentException(
                     "Failed to upload attachment: " + attachmentURI + " - " + e.getMessage(),
                     e
@@ -223,4 +312,154 @@ public class S3AttachmentServiceImpl implements AttachmentService {
 
         return attachmentURIs;
     }
+
+    private String getContentHash(final Resource attachment) throws SaveAttachmentException {
+        try (
+            HashingInputStream inputStream = new HashingInputStream(Hashing.sha256(), attachment.getInputStream())
+        ) {
+            ByteStreams.exhaust(inputStream);
+            return inputStream.hash().toString();
+        } catch (IOException e) {
+            throw new SaveAttachmentException(
+                "Failed to compute hash of attachment: " + attachment.getFilename() + " - " + e.getMessage(),
+                e
+            );
+        }
+    }
+
+    private boolean objectExists(final S3Client s3Client, final String bucket, final String key) {
+        try {
+            s3Client.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build());
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (S3Exception e) {
+            // Without s3:ListBucket permission a missing key is reported as forbidden rather than not found
+            if (e.statusCode() == HttpStatus.NOT_FOUND.value() || e.statusCode() == HttpStatus.FORBIDDEN.value()) {
+                log.debug("Unable to find attachment {} in bucket {}, uploading it: {}", key, bucket, e.getMessage());
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    private URI streamAttachment(
+        final String filename,
+        final InputStream content,
+        final long bytesAlreadySaved
+    ) throws SaveAttachmentException {
+        final S3Client s3Client = this.s3ClientFactory.getClient(this.s3BaseURI);
+        final String objectBucket = this.s3BaseURI.bucket().get();
+        final String keyPrefix = this.s3BaseURI.key().orElse("") + SLASH;
+        final byte[] buffer = new byte[STREAMING_PART_SIZE];
+
+        URI attachmentURI = null;
+        try {
+            int bytesRead = ByteStreams.read(content, buffer, 0, buffer.length);
+            long attachmentSize = bytesRead;
+            this.checkStreamingLimits(attachmentSize, bytesAlreadySaved);
+
+            if (bytesRead < buffer.length) {
+                // The whole attachment fits in a single part
+                final boolean contentAddressed = this.properties.isContentAddressed();
+                final String directory = contentAddressed
+                    ? Hashing.sha256().hashBytes(buffer, 0, bytesRead).toString()
+                    : UUID.randomUUID().toString();
+                final String objectKey = keyPrefix + directory + SLASH + filename;
+                attachmentURI = new URI(S3, objectBucket, SLASH + objectKey, null);
+                if (contentAddressed && this.objectExists(s3Client, objectBucket, objectKey)) {
+                    log.debug("Attachment {} already exists, skipping upload", attachmentURI);
+                    this.meterRegistry.counter(REUSED_COUNTER).increment();
+                } else {
+                    s3Client.putObject(
+                        PutObjectRequest.builder()
+                            .bucket(objectBucket)
+                            .key(objectKey)
+                            .contentLength((long) bytesRead)
+                            .build(),
+                        RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, bytesRead), bytesRead)
+                    );
+                    if (contentAddressed) {
+                        this.meterRegistry.counter(UPLOADED_COUNTER).increment();
+                    }
+                }
+            } else {
+                final String objectKey = keyPrefix + UUID.randomUUID() + SLASH + filename;
+                attachmentURI = new URI(S3, objectBucket, SLASH + objectKey, null);
+                final String uploadId = s3Client.createMultipartUpload(
+                    CreateMultipartUploadRequest.builder().bucket(objectBucket).key(objectKey).build()
+                ).uploadId();
+                try {
+                    final List<CompletedPart> parts = Lists.newArrayList();
+                    while (bytesRead > 0) {
+                        final int partNumber = parts.size() + 1;
+                        final String eTag = s3Client.uploadPart(
+                            UploadPartRequest.builder()
+                                .bucket(objectBucket)
+                                .key(objectKey)
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .contentLength((long) bytesRead)
+                                .build(),
+                            RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, bytesRead), bytesRead)
+                        ).eTag();
+                        parts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+
+                        bytesRead = ByteStreams.read(content, buffer, 0, buffer.length);
+                        attachmentSize += bytesRead;
+                        this.checkStreamingLimits(attachmentSize, bytesAlreadySaved);
+                    }
+                    s3Client.completeMultipartUpload(
+                        CompleteMultipartUploadRequest.builder()
+                            .bucket(objectBucket)
+                            .key(objectKey)
+                            .uploadId(uploadId)
+                            .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                            .build()
+                    );
+                } catch (IOException | SdkException | SaveAttachmentException e) {
+                    // Parts of an upload which is neither completed nor aborted are kept, and billed, indefinitely
+                    try {
+                        s3Client.abortMultipartUpload(
+                            AbortMultipartUploadRequest.builder()
+                                .bucket(objectBucket)
+                                .key(objectKey)
+                                .uploadId(uploadId)
+                                .build()
+                        );
+                    } catch (final SdkException abortException) {
+                        log.warn("Failed to abort multipart upload {} of {}", uploadId, attachmentURI, abortException);
+                        e.addSuppressed(abortException);
+                    }
+                    throw e;
+                }
+            }
+
+            this.meterRegistry.summary(STREAM_SIZE_DISTRIBUTION).record(attachmentSize);
+            return attachmentURI;
+        } catch (IOException | SdkException | URISyntaxException e) {
+            throw new SaveAttachmentException(
+                "Failed to upload attachment: " + attachmentURI + " - " + e.getMessage(),
+                e
+            );
+        }
+    }
+
+    private void checkStreamingLimits(
+        final long attachmentSize,
+        final long bytesAlreadySaved
+    ) throws AttachmentTooLargeException {
+        final long singleSizeLimit = this.properties.getMaxSize().toBytes();
+        final long totalSizeLimit = this.properties.getMaxTotalSize().toBytes();
+        if (attachmentSize > singleSizeLimit) {
+            throw new AttachmentTooLargeException(
+                "Size of attachment exceeds the maximum allowed (" + singleSizeLimit + ")"
+            );
+        }
+        if (bytesAlreadySaved + attachmentSize > totalSizeLimit) {
+            throw new AttachmentTooLargeException(
+                "Total size of attachments exceeds the maximum allowed (" + totalSizeLimit + ")"
+            );
+        }
+    }
 }
@@ -0,0 +1,119 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services.impl;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.netflix.genie.web.services.TaskShardingService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.curator.framework.recipes.nodes.GroupMember;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/**
+ * Implementation of {@link TaskShardingService} based on a Zookeeper/Curator group membership.
+ * <p>
+ * Every node holds an ephemeral membership node, which acts as the lease on its shards: if a node dies its session
+ * expires and its shards are picked up by the remaining nodes. Shards are assigned to members by rendezvous hashing,
+ * so a node joining or leaving the cluster only moves the shards it gains or loses and every other node keeps
+ * processing the same shards, along with any state it accumulated for them.
+ *
+ * @since 4.4.0
+ */
+@Slf4j
+public class TaskShardingServiceCuratorImpl implements TaskShardingService {
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_32();
+
+    private final GroupMember groupMember;
+    private final String memberId;
+    private final int shardCount;
+    private final AtomicReference<Set<Integer>> ownedShards;
+
+    /**
+     * Constructor.
+     *
+     * @param groupMember The started Curator group membership of this node
+     * @param memberId    The id this node joined the group with
+     * @param shardCount  The number of shards jobs are hashed into
+     */
+    public TaskShardingServiceCuratorImpl(final GroupMember groupMember, final String memberId, final int shardCount) {
+        this.groupMember = groupMember;
+        this.memberId = memberId;
+        this.shardCount = shardCount;
+        this.ownedShards = new AtomicReference<>(ImmutableSet.of());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Predicate<String> getOwnershipFilter() {
+        final Set<String> members = this.groupMember.getCurrentMembers().keySet();
+        final Set<Integer> shards = getOwnedShards(this.memberId, members, this.shardCount);
+        if (!shards.equals(this.ownedShards.getAndSet(shards))) {
+            log.info(
+                "Node {} now owns {} of {} task shards, shared with {} member(s)",
+                this.memberId,
+                shards.size(),
+                this.shardCount,
+                members.size()
+            );
+        }
+        return jobId -> shards.contains(getShard(jobId, this.shardCount));
+    }
+
+    @VisibleForTesting
+    static int getShard(final String jobId, final int shardCount) {
+        return Math.floorMod(HASH_FUNCTION.hashString(jobId, StandardCharsets.UTF_8).asInt(), shardCount);
+    }
+
+    @VisibleForTesting
+    static Set<Integer> getOwnedShards(final String memberId, final Collection<String> members, final int shardCount) {
+        if (!members.contains(memberId)) {
+            // Not (or no longer) registered, any shard this node would claim may already be processed elsewhere
+            return ImmutableSet.of();
+        }
+        final ImmutableSet.Builder<Integer> shards = ImmutableSet.builder();
+        for (int shard = 0; shard < shardCount; shard++) {
+            String owner = null;
+            int ownerWeight = 0;
+            for (final String member : members) {
+                final int weight = getWeight(member, shard);
+                if (owner == null || weight > ownerWeight || (weight == ownerWeight && member.compareTo(owner) < 0)) {
+                    owner = member;
+                    ownerWeight = weight;
+                }
+            }
+            if (memberId.equals(owner)) {
+                shards.add(shard);
+            }
+        }
+        return shards.build();
+    }
+
+    private static int getWeight(final String member, final int shard) {
+        return HASH_FUNCTION.newHasher().putString(member, StandardCharsets.UTF_8).putInt(shard).hash().asInt();
+    }
+}
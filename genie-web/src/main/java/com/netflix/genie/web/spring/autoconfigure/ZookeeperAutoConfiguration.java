@@ -17,16 +17,24 @@
  */
 package com.netflix.genie.web.spring.autoconfigure;
 
+import com.netflix.genie.common.internal.util.GenieHostInfo;
 import com.netflix.genie.web.agent.services.impl.AgentRoutingServiceCuratorDiscoveryImpl;
+import com.netflix.genie.web.properties.AgentRoutingServiceProperties;
+import com.netflix.genie.web.properties.TaskShardingProperties;
 import com.netflix.genie.web.properties.ZookeeperProperties;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.listen.Listenable;
+import org.apache.curator.framework.recipes.cache.CuratorCache;
+import org.apache.curator.framework.recipes.cache.CuratorCacheStorage;
+import org.apache.curator.framework.recipes.nodes.GroupMember;
 import org.apache.curator.framework.state.ConnectionStateListener;
+import org.apache.curator.utils.ZKPaths;
 import org.apache.curator.x.discovery.ServiceDiscovery;
 import org.apache.curator.x.discovery.ServiceDiscoveryBuilder;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -103,6 +111,57 @@ public class ZookeeperAutoConfiguration {
             .build();
     }
 
+    /**
+     * The cache of the agent connections registered through service discovery, if routes to agents are to be cached
+     * locally. Only the registrations' metadata is retained by the cache itself, the routing service keeps the
+     * routes it needs.
+     *
+     * @param client              The curator framework client to use
+     * @param zookeeperProperties The Zookeeper properties to use
+     * @return The {@link CuratorCache}, started by the routing service once it listens to it
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(value = AgentRoutingServiceProperties.ROUTE_CACHE_ENABLED_PROPERTY, havingValue = "true")
+    @ConditionalOnMissingBean(name = "agentRoutesCache")
+    public CuratorCache agentRoutesCache(
+        final CuratorFramework client,
+        final ZookeeperProperties zookeeperProperties
+    ) {
+        return CuratorCache
+            .builder(
+                client,
+                ZKPaths.makePath(zookeeperProperties.getDiscoveryPath(), AgentRoutingServiceCuratorDiscoveryImpl.SERVICE_NAME)
+            )
+            .withStorage(CuratorCacheStorage.dataNotCached())
+            .build();
+    }
+
+    /**
+     * The membership of this node in the group of nodes sharing the work of shardable leader tasks, if task sharding
+     * is enabled.
+     *
+     * @param client              The curator framework client to use
+     * @param zookeeperProperties The Zookeeper properties to use
+     * @param genieHostInfo       The information about this host, whose name is its id within the group
+     * @return The {@link GroupMember}, started once the bean is initialized
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(value = TaskShardingProperties.ENABLED_PROPERTY, havingValue = "true")
+    @ConditionalOnMissingBean(GroupMember.class)
+    public GroupMember taskShardingGroupMember(
+        final CuratorFramework client,
+        final ZookeeperProperties zookeeperProperties,
+        final GenieHostInfo genieHostInfo
+    ) {
+        // Remove trailing slash if present
+        String shardingPath = zookeeperProperties.getShardingPath();
+        if (shardingPath.endsWith("/")) {
+            shardingPath = shardingPath.substring(0, shardingPath.length() - 1);
+        }
+
+        return new GroupMember(client, shardingPath, genieHostInfo.getHostname());
+    }
+
     /**
      * The Curator-client connection state listenable.
      *
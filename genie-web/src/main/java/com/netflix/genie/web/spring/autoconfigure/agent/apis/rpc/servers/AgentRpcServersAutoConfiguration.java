@@ -19,6 +19,7 @@ package com.netflix.genie.web.spring.autoconfigure.agent.apis.rpc.servers;
 
 import brave.Tracing;
 import brave.grpc.GrpcTracing;
+import com.netflix.genie.web.agent.apis.rpc.servers.GRpcServerExecutors;
 import com.netflix.genie.web.agent.apis.rpc.servers.GRpcServerManager;
 import com.netflix.genie.web.properties.GRpcServerProperties;
 import io.grpc.BindableService;
@@ -33,10 +34,13 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Controls whether a gRPC server is configured and started for this Genie node or not.
@@ -58,6 +62,18 @@ import java.util.Set;
 @Slf4j
 public class AgentRpcServersAutoConfiguration {
 
+    /**
+     * Create the {@link GRpcServerExecutors} running the gRPC server if one isn't already present in the context.
+     *
+     * @param serverProperties The gRPC server properties
+     * @return A {@link GRpcServerExecutors} instance
+     */
+    @Bean
+    @ConditionalOnMissingBean(GRpcServerExecutors.class)
+    public GRpcServerExecutors gRpcServerExecutors(final GRpcServerProperties serverProperties) {
+        return new GRpcServerExecutors(serverProperties);
+    }
+
     /**
      * Create a {@link Server} if one isn't already present in the context.
      *
@@ -65,6 +81,8 @@ public class AgentRpcServersAutoConfiguration {
      * @param services           The gRPC services this server should serve
      * @param serverInterceptors The {@link ServerInterceptor} implementations that should be applied to all services
      * @param tracing            The Brave {@link Tracing} instance to use
+     * @param serverProperties   The gRPC server properties
+     * @param serverExecutors    The threads running the server
      * @return A Netty server instance based on the provided information
      */
     @Bean
@@ -73,9 +91,13 @@ public class AgentRpcServersAutoConfiguration {
         @Value("${grpc.server.port:0}") final int port,  // TODO: finalize how to get configure this property
         final Set<BindableService> services,
         final List<ServerInterceptor> serverInterceptors,
-        final Tracing tracing
+        final Tracing tracing,
+        final GRpcServerProperties serverProperties,
+        final GRpcServerExecutors serverExecutors
     ) {
         final NettyServerBuilder builder = NettyServerBuilder.forPort(port);
+        configureTransport(builder, serverProperties.getTransport());
+        serverExecutors.configure(builder);
 
         final List<ServerInterceptor> finalServerInterceptors = new ArrayList<>(serverInterceptors);
         finalServerInterceptors.add(GrpcTracing.create(tracing).newServerInterceptor());
@@ -102,4 +124,40 @@ public class AgentRpcServersAutoConfiguration {
     public GRpcServerManager gRpcServerManager(final Server server) {
         return new GRpcServerManager(server);
     }
+
+    private static void configureTransport(
+        final NettyServerBuilder builder,
+        final GRpcServerProperties.Transport transport
+    ) {
+        final DataSize flowControlWindow = transport.getFlowControlWindow();
+        if (flowControlWindow != null) {
+            builder.flowControlWindow(Math.toIntExact(flowControlWindow.toBytes()));
+        }
+        builder.maxInboundMessageSize(Math.toIntExact(transport.getMaxInboundMessageSize().toBytes()));
+        if (transport.getMaxConcurrentCallsPerConnection() > 0) {
+            builder.maxConcurrentCallsPerConnection(transport.getMaxConcurrentCallsPerConnection());
+        }
+        final Duration keepAliveTime = transport.getKeepAliveTime();
+        if (keepAliveTime != null) {
+            builder.keepAliveTime(keepAliveTime.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        final Duration keepAliveTimeout = transport.getKeepAliveTimeout();
+        if (keepAliveTimeout != null) {
+            builder.keepAliveTimeout(keepAliveTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        builder.permitKeepAliveTime(transport.getPermitKeepAliveTime().toNanos(), TimeUnit.NANOSECONDS);
+        builder.permitKeepAliveWithoutCalls(transport.isPermitKeepAliveWithoutCalls());
+        final Duration maxConnectionIdle = transport.getMaxConnectionIdle();
+        if (maxConnectionIdle != null) {
+            builder.maxConnectionIdle(maxConnectionIdle.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        final Duration maxConnectionAge = transport.getMaxConnectionAge();
+        if (maxConnectionAge != null) {
+            builder.maxConnectionAge(maxConnectionAge.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        final Duration maxConnectionAgeGrace = transport.getMaxConnectionAgeGrace();
+        if (maxConnectionAgeGrace != null) {
+            builder.maxConnectionAgeGrace(maxConnectionAgeGrace.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
 }
@@ -20,12 +20,14 @@ package com.netflix.genie.web.spring.autoconfigure.agent.apis.rpc.v4.endpoints;
 import com.netflix.genie.common.internal.dtos.converters.JobDirectoryManifestProtoConverter;
 import com.netflix.genie.common.internal.dtos.converters.JobServiceProtoConverter;
 import com.netflix.genie.common.internal.util.GenieHostInfo;
+import com.netflix.genie.proto.AgentSessionServiceGrpc;
 import com.netflix.genie.proto.FileStreamServiceGrpc;
 import com.netflix.genie.proto.HeartBeatServiceGrpc;
 import com.netflix.genie.proto.JobKillServiceGrpc;
 import com.netflix.genie.proto.JobServiceGrpc;
 import com.netflix.genie.proto.PingServiceGrpc;
 import com.netflix.genie.web.agent.apis.rpc.v4.endpoints.GRpcAgentFileStreamServiceImpl;
+import com.netflix.genie.web.agent.apis.rpc.v4.endpoints.GRpcAgentSessionServiceImpl;
 import com.netflix.genie.web.agent.apis.rpc.v4.endpoints.GRpcHeartBeatServiceImpl;
 import com.netflix.genie.web.agent.apis.rpc.v4.endpoints.GRpcJobKillServiceImpl;
 import com.netflix.genie.web.agent.apis.rpc.v4.endpoints.GRpcJobServiceImpl;
@@ -38,6 +40,7 @@ import com.netflix.genie.web.data.services.DataServices;
 import com.netflix.genie.web.properties.AgentFileStreamProperties;
 import com.netflix.genie.web.properties.HeartBeatProperties;
 import com.netflix.genie.web.services.RequestForwardingService;
+import com.netflix.genie.web.services.TimerService;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -96,6 +99,7 @@ public class AgentRpcEndpointsAutoConfiguration {
      *
      * @param converter     The {@link JobDirectoryManifestProtoConverter} instance to use
      * @param taskScheduler The {@link TaskScheduler} to use to schedule tasks
+     * @param timerService  The {@link TimerService} to use to schedule timeouts and retries
      * @param properties    The service properties
      * @param registry      The meter registry
      * @return An instance of {@link GRpcAgentFileStreamServiceImpl}
@@ -105,10 +109,11 @@ public class AgentRpcEndpointsAutoConfiguration {
     public GRpcAgentFileStreamServiceImpl gRpcAgentFileStreamService(
         final JobDirectoryManifestProtoConverter converter,
         @Qualifier("genieTaskScheduler") final TaskScheduler taskScheduler,
+        final TimerService timerService,
         final AgentFileStreamProperties properties,
         final MeterRegistry registry
     ) {
-        return new GRpcAgentFileStreamServiceImpl(converter, taskScheduler, properties, registry);
+        return new GRpcAgentFileStreamServiceImpl(converter, taskScheduler, timerService, properties, registry);
     }
 
     /**
@@ -141,6 +146,7 @@ public class AgentRpcEndpointsAutoConfiguration {
      *                                 connected
      * @param requestForwardingService The {@link RequestForwardingService} implementation to use to forward requests to
      *                                 other Genie nodes
+     * @param timerService             The {@link TimerService} to use to check for orphaned kill requests
      * @return A {@link GRpcJobKillServiceImpl} instance
      */
     @Bean
@@ -148,9 +154,39 @@ public class AgentRpcEndpointsAutoConfiguration {
     public GRpcJobKillServiceImpl gRpcJobKillService(
         final DataServices dataServices,
         final AgentRoutingService agentRoutingService,
-        final RequestForwardingService requestForwardingService
+        final RequestForwardingService requestForwardingService,
+        final TimerService timerService
     ) {
-        return new GRpcJobKillServiceImpl(dataServices, agentRoutingService, requestForwardingService);
+        return new GRpcJobKillServiceImpl(dataServices, agentRoutingService, requestForwardingService, timerService);
+    }
+
+    /**
+     * Provide an implementation of {@link com.netflix.genie.proto.AgentSessionServiceGrpc.AgentSessionServiceImplBase}
+     * if no other is provided.
+     *
+     * @param agentConnectionTrackingService The {@link AgentConnectionTrackingService} implementation to use
+     * @param jobKillService                 The job kill service sessions register with for kill notifications
+     * @param properties                     The heartbeat properties
+     * @param taskScheduler                  The {@link TaskScheduler} instance to use
+     * @param registry                       The meter registry
+     * @return A {@link GRpcAgentSessionServiceImpl} instance
+     */
+    @Bean
+    @ConditionalOnMissingBean(AgentSessionServiceGrpc.AgentSessionServiceImplBase.class)
+    public GRpcAgentSessionServiceImpl gRpcAgentSessionService(
+        final AgentConnectionTrackingService agentConnectionTrackingService,
+        final JobKillServiceGrpc.JobKillServiceImplBase jobKillService,
+        final HeartBeatProperties properties,
+        @Qualifier("heartBeatServiceTaskScheduler") final TaskScheduler taskScheduler,
+        final MeterRegistry registry
+    ) {
+        return new GRpcAgentSessionServiceImpl(
+            agentConnectionTrackingService,
+            jobKillService,
+            properties,
+            taskScheduler,
+            registry
+        );
     }
 
     /**
@@ -17,7 +17,9 @@
  */
 package com.netflix.genie.web.spring.autoconfigure.agent.apis.rpc.v4.interceptors;
 
+import com.netflix.genie.web.agent.apis.rpc.v4.interceptors.CallMetricsInterceptor;
 import com.netflix.genie.web.agent.apis.rpc.v4.interceptors.SimpleLoggingInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -43,4 +45,17 @@ public class AgentRpcInterceptorsAutoConfiguration {
     public SimpleLoggingInterceptor simpleLoggingInterceptor() {
         return new SimpleLoggingInterceptor();
     }
+
+    /**
+     * An interceptor which records the latency and the number of calls in flight of each method.
+     *
+     * @param registry The metrics registry
+     * @return Instance of {@link CallMetricsInterceptor}
+     */
+    @Bean
+    @ConditionalOnMissingBean(CallMetricsInterceptor.class)
+    @Order // Defaults to lowest precedence when stored in a list
+    public CallMetricsInterceptor callMetricsInterceptor(final MeterRegistry registry) {
+        return new CallMetricsInterceptor(registry);
+    }
 }
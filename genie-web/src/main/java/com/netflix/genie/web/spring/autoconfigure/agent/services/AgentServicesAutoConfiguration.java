@@ -35,9 +35,13 @@ import com.netflix.genie.web.data.services.DataServices;
 import com.netflix.genie.web.properties.AgentConfigurationProperties;
 import com.netflix.genie.web.properties.AgentConnectionTrackingServiceProperties;
 import com.netflix.genie.web.properties.AgentRoutingServiceProperties;
+import com.netflix.genie.web.properties.ZookeeperProperties;
 import com.netflix.genie.web.services.JobResolverService;
+import com.netflix.genie.web.services.TimerService;
 import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.listen.Listenable;
+import org.apache.curator.framework.recipes.cache.CuratorCache;
 import org.apache.curator.framework.state.ConnectionStateListener;
 import org.apache.curator.x.discovery.ServiceDiscovery;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -49,6 +53,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.TaskScheduler;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Auto configuration for services needed in the {@literal agent} module.
@@ -97,7 +102,7 @@ public class AgentServicesAutoConfiguration {
      * Get an implementation of {@link AgentConnectionTrackingService} if one hasn't already been defined.
      *
      * @param agentRoutingService the agent routing service
-     * @param taskScheduler       the task scheduler
+     * @param timerService        the timer service
      * @param serviceProperties   the service properties
      * @return A {@link AgentConnectionTrackingServiceImpl} instance
      */
@@ -105,12 +110,12 @@ public class AgentServicesAutoConfiguration {
     @ConditionalOnMissingBean(AgentConnectionTrackingService.class)
     public AgentConnectionTrackingService agentConnectionTrackingService(
         final AgentRoutingService agentRoutingService,
-        @Qualifier("genieTaskScheduler") final TaskScheduler taskScheduler,
+        final TimerService timerService,
         final AgentConnectionTrackingServiceProperties serviceProperties
     ) {
         return new AgentConnectionTrackingServiceImpl(
             agentRoutingService,
-            taskScheduler,
+            timerService,
             serviceProperties
         );
     }
@@ -145,6 +150,9 @@ public class AgentServicesAutoConfiguration {
      * @param listenableCuratorConnectionState the connection state listenable
      * @param registry                         The metrics registry
      * @param properties                       The service properties
+     * @param client                           The curator client
+     * @param zookeeperProperties              The Zookeeper properties
+     * @param agentRoutesCache                 The cache of the agent connections registrations, if enabled
      * @return A {@link AgentRoutingServiceCuratorDiscoveryImpl} instance
      */
     @Bean
@@ -156,7 +164,10 @@ public class AgentServicesAutoConfiguration {
         @Qualifier("genieTaskScheduler") final TaskScheduler taskScheduler,
         final Listenable<ConnectionStateListener> listenableCuratorConnectionState,
         final MeterRegistry registry,
-        final AgentRoutingServiceProperties properties
+        final AgentRoutingServiceProperties properties,
+        final CuratorFramework client,
+        final ZookeeperProperties zookeeperProperties,
+        final Optional<CuratorCache> agentRoutesCache
     ) {
         return new AgentRoutingServiceCuratorDiscoveryImpl(
             genieHostInfo,
@@ -164,7 +175,10 @@ public class AgentServicesAutoConfiguration {
             taskScheduler,
             listenableCuratorConnectionState,
             registry,
-            properties
+            properties,
+            client,
+            zookeeperProperties,
+            agentRoutesCache.orElse(null)
         );
     }
 
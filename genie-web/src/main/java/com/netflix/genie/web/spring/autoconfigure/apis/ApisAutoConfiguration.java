@@ -18,13 +18,19 @@
 package com.netflix.genie.web.spring.autoconfigure.apis;
 
 import com.netflix.genie.common.external.util.GenieObjectMapper;
+import com.netflix.genie.web.apis.rest.v3.controllers.StreamingSubmissionMultipartResolver;
 import com.netflix.genie.web.properties.HttpProperties;
 import com.netflix.genie.web.properties.JobsProperties;
+import com.netflix.genie.web.properties.ResourceCacheProperties;
 import com.netflix.genie.web.properties.RetryProperties;
 import com.netflix.genie.web.resources.writers.DefaultDirectoryWriter;
 import com.netflix.genie.web.resources.writers.DirectoryWriter;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
@@ -37,6 +43,8 @@ import org.springframework.retry.policy.SimpleRetryPolicy;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.filter.CharacterEncodingFilter;
+import org.springframework.web.multipart.MultipartResolver;
+import org.springframework.web.servlet.DispatcherServlet;
 
 import java.io.File;
 import java.io.IOException;
@@ -52,10 +60,13 @@ import java.util.Collections;
  * @since 3.0.0
  */
 @Configuration
+@AutoConfigureBefore(MultipartAutoConfiguration.class)
 @EnableConfigurationProperties(
     {
         HttpProperties.class,
-        RetryProperties.class
+        RetryProperties.class,
+        MultipartProperties.class,
+        ResourceCacheProperties.class
     }
 )
 public class ApisAutoConfiguration {
@@ -113,6 +124,22 @@ public class ApisAutoConfiguration {
         return retryTemplate;
     }
 
+    /**
+     * Multipart resolver which behaves like the Spring Boot default except that it leaves requests to the streaming
+     * job submission endpoint unparsed so attachments can be read directly from the request body.
+     *
+     * @param multipartProperties The Spring Boot multipart properties
+     * @return A {@link StreamingSubmissionMultipartResolver}
+     */
+    @Bean(name = DispatcherServlet.MULTIPART_RESOLVER_BEAN_NAME)
+    @ConditionalOnMissingBean(MultipartResolver.class)
+    @ConditionalOnProperty(prefix = "spring.servlet.multipart", name = "enabled", matchIfMissing = true)
+    public StreamingSubmissionMultipartResolver multipartResolver(final MultipartProperties multipartProperties) {
+        final StreamingSubmissionMultipartResolver multipartResolver = new StreamingSubmissionMultipartResolver();
+        multipartResolver.setResolveLazily(multipartProperties.isResolveLazily());
+        return multipartResolver;
+    }
+
     /**
      * Get the directory writer to use.
      *
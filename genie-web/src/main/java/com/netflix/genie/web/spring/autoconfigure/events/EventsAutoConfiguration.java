@@ -19,8 +19,12 @@ package com.netflix.genie.web.spring.autoconfigure.events;
 
 import com.netflix.genie.web.events.GenieEventBus;
 import com.netflix.genie.web.events.GenieEventBusImpl;
+import com.netflix.genie.web.events.ListenerDispatchingEventMulticaster;
+import com.netflix.genie.web.properties.EventListenerDispatchProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.SimpleApplicationEventMulticaster;
@@ -34,26 +38,40 @@ import org.springframework.core.task.SyncTaskExecutor;
  * @since 3.1.2
  */
 @Configuration
+@EnableConfigurationProperties(
+    {
+        EventListenerDispatchProperties.class,
+    }
+)
 public class EventsAutoConfiguration {
 
     /**
      * A multicast event publisher to replace the default one used by Spring via the ApplicationContext.
      *
-     * @param syncTaskExecutor  The synchronous task executor to use
-     * @param asyncTaskExecutor The asynchronous task executor to use
+     * @param syncTaskExecutor   The synchronous task executor to use
+     * @param asyncTaskExecutor  The asynchronous task executor to use
+     * @param dispatchProperties The properties controlling per-listener dispatch of asynchronous events
+     * @param registry           The metrics registry to use
      * @return The application event multicaster to use
      */
     @Bean
     @ConditionalOnMissingBean(GenieEventBus.class)
     public GenieEventBusImpl applicationEventMulticaster(
         @Qualifier("genieSyncTaskExecutor") final SyncTaskExecutor syncTaskExecutor,
-        @Qualifier("genieAsyncTaskExecutor") final AsyncTaskExecutor asyncTaskExecutor
+        @Qualifier("genieAsyncTaskExecutor") final AsyncTaskExecutor asyncTaskExecutor,
+        final EventListenerDispatchProperties dispatchProperties,
+        final MeterRegistry registry
     ) {
         final SimpleApplicationEventMulticaster syncMulticaster = new SimpleApplicationEventMulticaster();
         syncMulticaster.setTaskExecutor(syncTaskExecutor);
 
-        final SimpleApplicationEventMulticaster asyncMulticaster = new SimpleApplicationEventMulticaster();
-        asyncMulticaster.setTaskExecutor(asyncTaskExecutor);
+        final SimpleApplicationEventMulticaster asyncMulticaster;
+        if (dispatchProperties.isEnabled()) {
+            asyncMulticaster = new ListenerDispatchingEventMulticaster(dispatchProperties, registry);
+        } else {
+            asyncMulticaster = new SimpleApplicationEventMulticaster();
+            asyncMulticaster.setTaskExecutor(asyncTaskExecutor);
+        }
         return new GenieEventBusImpl(syncMulticaster, asyncMulticaster);
     }
 }
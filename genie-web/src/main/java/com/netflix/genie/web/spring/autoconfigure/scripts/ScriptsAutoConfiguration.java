@@ -27,7 +27,10 @@ import com.netflix.genie.web.scripts.ClusterSelectorManagedScript;
 import com.netflix.genie.web.scripts.CommandSelectorManagedScript;
 import com.netflix.genie.web.scripts.ManagedScript;
 import com.netflix.genie.web.scripts.ScriptManager;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -86,6 +89,32 @@ public class ScriptsAutoConfiguration {
         );
     }
 
+    /**
+     * Publish percentiles of the script evaluation latency, per script, so the cost selector scripts add to job
+     * resolution can be tracked.
+     *
+     * @return A {@link MeterFilter} configuring the script evaluation timer
+     */
+    @Bean
+    public MeterFilter scriptEvaluationMeterFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(
+                final Meter.Id id,
+                final DistributionStatisticConfig config
+            ) {
+                if (ScriptManager.SCRIPT_EVALUATE_TIMER_NAME.equals(id.getName())) {
+                    return DistributionStatisticConfig
+                        .builder()
+                        .percentiles(0.5, 0.95, 0.99)
+                        .build()
+                        .merge(config);
+                }
+                return config;
+            }
+        };
+    }
+
     /**
      * Create a {@link SmartInitializingSingleton} that "warms" known scripts so they're ready for execution on first
      * invocation.
@@ -24,6 +24,7 @@ import com.netflix.genie.web.agent.services.AgentFileStreamService;
 import com.netflix.genie.web.agent.services.AgentRoutingService;
 import com.netflix.genie.web.data.services.DataServices;
 import com.netflix.genie.web.properties.AttachmentServiceProperties;
+import com.netflix.genie.web.properties.JobLaunchProperties;
 import com.netflix.genie.web.properties.JobResolutionProperties;
 import com.netflix.genie.web.properties.JobsActiveLimitProperties;
 import com.netflix.genie.web.properties.JobsForwardingProperties;
@@ -77,7 +78,8 @@ import java.util.List;
         JobsMemoryProperties.class,
         JobsUsersProperties.class,
         JobsActiveLimitProperties.class,
-        AttachmentServiceProperties.class
+        AttachmentServiceProperties.class,
+        JobLaunchProperties.class
     }
 )
 public class ServicesAutoConfiguration {
@@ -224,6 +226,7 @@ public class ServicesAutoConfiguration {
      * @param agentLauncherSelector The {@link AgentLauncherSelector} implementation to use
      * @param tracingComponents     The {@link BraveTracingComponents} instance to use
      * @param registry              The metrics registry to use
+     * @param jobLaunchProperties   The {@link JobLaunchProperties} to use
      * @return A {@link JobLaunchServiceImpl} instance
      */
     @Bean
@@ -233,14 +236,16 @@ public class ServicesAutoConfiguration {
         final JobResolverService jobResolverService,
         final AgentLauncherSelector agentLauncherSelector,
         final BraveTracingComponents tracingComponents,
-        final MeterRegistry registry
+        final MeterRegistry registry,
+        final JobLaunchProperties jobLaunchProperties
     ) {
         return new JobLaunchServiceImpl(
             dataServices,
             jobResolverService,
             agentLauncherSelector,
             tracingComponents,
-            registry
+            registry,
+            jobLaunchProperties
         );
     }
 
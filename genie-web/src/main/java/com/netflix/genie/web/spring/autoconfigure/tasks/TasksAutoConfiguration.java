@@ -19,6 +19,10 @@ package com.netflix.genie.web.spring.autoconfigure.tasks;
 
 import com.netflix.genie.web.properties.TasksExecutorPoolProperties;
 import com.netflix.genie.web.properties.TasksSchedulerPoolProperties;
+import com.netflix.genie.web.properties.TasksTimerProperties;
+import com.netflix.genie.web.services.TimerService;
+import com.netflix.genie.web.services.impl.HashedWheelTimerServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.commons.exec.DefaultExecutor;
 import org.apache.commons.exec.Executor;
 import org.apache.commons.exec.PumpStreamHandler;
@@ -44,6 +48,7 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
     {
         TasksExecutorPoolProperties.class,
         TasksSchedulerPoolProperties.class,
+        TasksTimerProperties.class,
     }
 )
 public class TasksAutoConfiguration {
@@ -104,4 +109,20 @@ public class TasksAutoConfiguration {
     public SyncTaskExecutor genieSyncTaskExecutor() {
         return new SyncTaskExecutor();
     }
+
+    /**
+     * Get the timer service shared by the services scheduling one-shot timers such as per-job timeouts.
+     *
+     * @param tasksTimerProperties The properties of the timer wheel
+     * @param registry             The metrics registry
+     * @return The {@link TimerService} instance
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(TimerService.class)
+    public HashedWheelTimerServiceImpl genieTimerService(
+        final TasksTimerProperties tasksTimerProperties,
+        final MeterRegistry registry
+    ) {
+        return new HashedWheelTimerServiceImpl(tasksTimerProperties, registry);
+    }
 }
@@ -17,6 +17,7 @@
  */
 package com.netflix.genie.web.spring.autoconfigure.tasks.leader;
 
+import com.netflix.genie.common.internal.util.GenieHostInfo;
 import com.netflix.genie.web.agent.services.AgentRoutingService;
 import com.netflix.genie.web.data.services.DataServices;
 import com.netflix.genie.web.events.GenieEventBus;
@@ -24,10 +25,13 @@ import com.netflix.genie.web.properties.AgentCleanupProperties;
 import com.netflix.genie.web.properties.ArchiveStatusCleanupProperties;
 import com.netflix.genie.web.properties.DatabaseCleanupProperties;
 import com.netflix.genie.web.properties.LeadershipProperties;
+import com.netflix.genie.web.properties.TaskShardingProperties;
 import com.netflix.genie.web.properties.UserMetricsProperties;
 import com.netflix.genie.web.services.ClusterLeaderService;
+import com.netflix.genie.web.services.TaskShardingService;
 import com.netflix.genie.web.services.impl.ClusterLeaderServiceCuratorImpl;
 import com.netflix.genie.web.services.impl.ClusterLeaderServiceLocalLeaderImpl;
+import com.netflix.genie.web.services.impl.TaskShardingServiceCuratorImpl;
 import com.netflix.genie.web.spring.actuators.LeaderElectionActuator;
 import com.netflix.genie.web.spring.autoconfigure.ZookeeperAutoConfiguration;
 import com.netflix.genie.web.spring.autoconfigure.tasks.TasksAutoConfiguration;
@@ -39,6 +43,7 @@ import com.netflix.genie.web.tasks.leader.LeaderTasksCoordinator;
 import com.netflix.genie.web.tasks.leader.LocalLeader;
 import com.netflix.genie.web.tasks.leader.UserMetricsTask;
 import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.curator.framework.recipes.nodes.GroupMember;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
@@ -51,6 +56,7 @@ import org.springframework.core.env.Environment;
 import org.springframework.integration.zookeeper.leader.LeaderInitiator;
 import org.springframework.scheduling.TaskScheduler;
 
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -66,6 +72,7 @@ import java.util.Set;
         ArchiveStatusCleanupProperties.class,
         DatabaseCleanupProperties.class,
         LeadershipProperties.class,
+        TaskShardingProperties.class,
         UserMetricsProperties.class,
     }
 )
@@ -81,17 +88,43 @@ public class LeaderAutoConfiguration {
      * Create the LeadershipTasksCoordination bean used to start and stop all leadership related tasks based on
      * whether leadership is granted or revoked.
      *
-     * @param taskScheduler The task scheduler to use for scheduling leadership tasks
-     * @param tasks         The leadership tasks to schedule
+     * @param taskScheduler       The task scheduler to use for scheduling leadership tasks
+     * @param tasks               The leadership tasks to schedule
+     * @param taskShardingService The service splitting shardable tasks between nodes, if sharding is enabled
      * @return The leader coordinator
      */
     @Bean
     @ConditionalOnMissingBean(LeaderTasksCoordinator.class)
     public LeaderTasksCoordinator leaderTasksCoordinator(
         @Qualifier("genieTaskScheduler") final TaskScheduler taskScheduler,
-        final Set<LeaderTask> tasks
+        final Set<LeaderTask> tasks,
+        final Optional<TaskShardingService> taskShardingService
     ) {
-        return new LeaderTasksCoordinator(taskScheduler, tasks);
+        return new LeaderTasksCoordinator(taskScheduler, tasks, taskShardingService.orElse(null));
+    }
+
+    /**
+     * Create a {@link TaskShardingService} based on Zookeeper/Curator group membership if task sharding is enabled
+     * and the membership of this node is available.
+     *
+     * @param groupMember            The Curator group membership of this node
+     * @param genieHostInfo          The information about this host, whose name is its id within the group
+     * @param taskShardingProperties The task sharding properties
+     * @return a {@link TaskShardingService}
+     */
+    @Bean
+    @ConditionalOnBean(GroupMember.class)
+    @ConditionalOnMissingBean(TaskShardingService.class)
+    public TaskShardingService curatorTaskShardingService(
+        final GroupMember groupMember,
+        final GenieHostInfo genieHostInfo,
+        final TaskShardingProperties taskShardingProperties
+    ) {
+        return new TaskShardingServiceCuratorImpl(
+            groupMember,
+            genieHostInfo.getHostname(),
+            taskShardingProperties.getShardCount()
+        );
     }
 
     /**
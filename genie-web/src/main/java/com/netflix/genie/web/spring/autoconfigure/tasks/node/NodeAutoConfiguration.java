@@ -17,13 +17,25 @@
  */
 package com.netflix.genie.web.spring.autoconfigure.tasks.node;
 
+import com.netflix.genie.common.internal.util.GenieHostInfo;
+import com.netflix.genie.web.agent.services.AgentConnectionTrackingService;
+import com.netflix.genie.web.agent.services.AgentFileStreamService;
 import com.netflix.genie.web.data.services.DataServices;
+import com.netflix.genie.web.events.GenieEventBus;
+import com.netflix.genie.web.properties.AgentRebalancingProperties;
 import com.netflix.genie.web.properties.DiskCleanupProperties;
 import com.netflix.genie.web.properties.JobsProperties;
+import com.netflix.genie.web.properties.ZookeeperProperties;
+import com.netflix.genie.web.spring.autoconfigure.ZookeeperAutoConfiguration;
+import com.netflix.genie.web.tasks.node.AgentRebalancingTask;
 import com.netflix.genie.web.tasks.node.DiskCleanupTask;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.commons.exec.Executor;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.recipes.nodes.GroupMember;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -43,9 +55,11 @@ import java.io.IOException;
 @Configuration
 @EnableConfigurationProperties(
     {
+        AgentRebalancingProperties.class,
         DiskCleanupProperties.class,
     }
 )
+@AutoConfigureAfter(ZookeeperAutoConfiguration.class)
 public class NodeAutoConfiguration {
 
     /**
@@ -83,4 +97,52 @@ public class NodeAutoConfiguration {
             registry
         );
     }
+
+    /**
+     * If required get a {@link AgentRebalancingTask} instance for use. The task joins a Zookeeper group of its own,
+     * distinct from the one of task sharding, to publish the agent load of this node.
+     *
+     * @param properties                     The agent rebalancing properties
+     * @param client                         The curator framework client to use
+     * @param zookeeperProperties            The Zookeeper properties to use
+     * @param genieHostInfo                  The information about this host, whose name is its id within the group
+     * @param agentConnectionTrackingService The service tracking the agents connected to this node
+     * @param agentFileStreamService         The service streaming files from the agents connected to this node
+     * @param genieEventBus                  The event bus to request agents to reconnect through
+     * @param scheduler                      The scheduler to run the task with
+     * @param registry                       The metrics registry
+     * @return The {@link AgentRebalancingTask} instance
+     */
+    @Bean
+    @ConditionalOnProperty(value = AgentRebalancingProperties.ENABLED_PROPERTY, havingValue = "true")
+    @ConditionalOnBean(CuratorFramework.class)
+    @ConditionalOnMissingBean(AgentRebalancingTask.class)
+    public AgentRebalancingTask agentRebalancingTask(
+        final AgentRebalancingProperties properties,
+        final CuratorFramework client,
+        final ZookeeperProperties zookeeperProperties,
+        final GenieHostInfo genieHostInfo,
+        final AgentConnectionTrackingService agentConnectionTrackingService,
+        final AgentFileStreamService agentFileStreamService,
+        final GenieEventBus genieEventBus,
+        @Qualifier("genieTaskScheduler") final TaskScheduler scheduler,
+        final MeterRegistry registry
+    ) {
+        // Remove trailing slash if present
+        String agentLoadPath = zookeeperProperties.getAgentLoadPath();
+        if (agentLoadPath.endsWith("/")) {
+            agentLoadPath = agentLoadPath.substring(0, agentLoadPath.length() - 1);
+        }
+
+        return new AgentRebalancingTask(
+            properties,
+            new GroupMember(client, agentLoadPath, genieHostInfo.getHostname()),
+            genieHostInfo.getHostname(),
+            agentConnectionTrackingService,
+            agentFileStreamService,
+            genieEventBus,
+            scheduler,
+            registry
+        );
+    }
 }
@@ -17,28 +17,37 @@
  */
 package com.netflix.genie.web.tasks.leader;
 
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.netflix.genie.common.internal.dtos.ArchiveStatus;
-import com.netflix.genie.common.internal.dtos.JobStatus;
-import com.netflix.genie.common.internal.exceptions.unchecked.GenieInvalidStatusException;
 import com.netflix.genie.web.agent.services.AgentRoutingService;
 import com.netflix.genie.web.data.services.DataServices;
 import com.netflix.genie.web.data.services.PersistenceService;
-import com.netflix.genie.web.exceptions.checked.NotFoundException;
 import com.netflix.genie.web.properties.AgentCleanupProperties;
 import com.netflix.genie.web.tasks.GenieTaskScheduleType;
 import com.netflix.genie.web.util.MetricsUtils;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
  * Leader task that cleans up jobs whose agent crashed or disconnected.
+ * <p>
+ * Each run compares the active jobs with a single snapshot of the connected agents and fails the jobs whose agent
+ * has been missing for too long in batches, each batch being updated in a single transaction.
+ * <p>
+ * This task is not sharded: the active jobs, the unclaimed jobs and the connected agents can only be listed for the
+ * whole cluster, so splitting the jobs between nodes would have every node run the same queries. It runs on the
+ * leader only, which makes a single pass over each of them.
  *
  * @author mprimi
  * @since 4.0.0
@@ -49,6 +58,8 @@ public class AgentJobCleanupTask extends LeaderTask {
     private static final String NEVER_CLAIMED_STATUS_MESSAGE = "No agent claimed the job for too long";
     private static final String TERMINATED_COUNTER_METRIC_NAME = "genie.jobs.agentDisconnected.terminated.counter";
     private static final String DISCONNECTED_GAUGE_METRIC_NAME = "genie.jobs.agentDisconnected.gauge";
+    private static final String RUN_TIMER_METRIC_NAME = "genie.tasks.agentCleanup.timer";
+    private static final String BATCH_SIZE_METRIC_NAME = "genie.tasks.agentCleanup.batchSize.distribution";
     private final Map<String, Instant> awolJobsMap;
     private final PersistenceService persistenceService;
     private final AgentCleanupProperties properties;
@@ -88,6 +99,47 @@ public class AgentJobCleanupTask extends LeaderTask {
      */
     @Override
     public void run() {
+        final Set<Tag> tags = Sets.newHashSet();
+        final long start = System.nanoTime();
+        try {
+            this.cleanupAwolJobs();
+            MetricsUtils.addSuccessTags(tags);
+        } catch (Exception e) {
+            MetricsUtils.addFailureTagsWithException(tags, e);
+            log.error("Agent job cleanup task failed with exception: {}", e.getMessage(), e);
+        } finally {
+            this.registry
+                .timer(RUN_TIMER_METRIC_NAME, tags)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cleanup() {
+        // Throw away all deadlines
+        this.awolJobsMap.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GenieTaskScheduleType getScheduleType() {
+        return GenieTaskScheduleType.FIXED_RATE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getFixedRate() {
+        return this.properties.getRefreshInterval().toMillis();
+    }
+
+    private void cleanupAwolJobs() {
         // Get agent jobs that in active status
         final Set<String> activeAgentJobIds = this.persistenceService.getActiveJobs();
 
@@ -95,20 +147,19 @@ public class AgentJobCleanupTask extends LeaderTask {
         final Set<String> acceptedAgentJobIds = this.persistenceService.getUnclaimedJobs();
 
         // Filter out jobs whose agent is connected
-        final Set<String> currentlyAwolJobsIds = activeAgentJobIds
-            .stream()
-            .filter(jobId -> !this.agentRoutingService.isAgentConnected(jobId))
-            .collect(Collectors.toSet());
+        final Set<String> currentlyAwolJobsIds = this.getAwolJobIds(activeAgentJobIds);
 
         // Purge records if corresponding agent is now connected
-        this.awolJobsMap.entrySet().removeIf(awolJobEntry -> !currentlyAwolJobsIds.contains(awolJobEntry.getKey()));
+        this.awolJobsMap.keySet().retainAll(currentlyAwolJobsIds);
 
         final Instant now = Instant.now();
 
         // Add records for any agent that was not previously AWOL
         currentlyAwolJobsIds.forEach(jobId -> this.awolJobsMap.putIfAbsent(jobId, now));
 
-        // Iterate over jobs whose agent is currently AWOL
+        // Collect the jobs whose agent has been AWOL for too long
+        final Set<String> expiredClaimedJobIds = Sets.newHashSet();
+        final Set<String> expiredUnclaimedJobIds = Sets.newHashSet();
         for (final Map.Entry<String, Instant> entry : this.awolJobsMap.entrySet()) {
             final String awolJobId = entry.getKey();
             final Instant awolJobFirstSeen = entry.getValue();
@@ -121,70 +172,60 @@ public class AgentJobCleanupTask extends LeaderTask {
                 log.debug("Job {} agent still pending agent start/claim", awolJobId);
             } else if (jobWasClaimed && now.isBefore(reconnectDeadline)) {
                 log.debug("Job {} agent still disconnected", awolJobId);
+            } else if (jobWasClaimed) {
+                expiredClaimedJobIds.add(awolJobId);
             } else {
-                log.warn("Job {} agent AWOL for too long, marking failed", awolJobId);
-                try {
-                    final JobStatus currentStatus = this.persistenceService.getJobStatus(awolJobId);
-                    final ArchiveStatus archiveStatus = this.persistenceService.getJobArchiveStatus(awolJobId);
-
-                    // Update job archive status
-                    if (archiveStatus == ArchiveStatus.PENDING) {
-                        this.persistenceService.updateJobArchiveStatus(
-                            awolJobId,
-                            jobWasClaimed ? ArchiveStatus.UNKNOWN : ArchiveStatus.FAILED
-                        );
-                    }
-
-                    // Mark the job as failed
-                    this.persistenceService.updateJobStatus(
-                        awolJobId,
-                        currentStatus,
-                        JobStatus.FAILED,
-                        jobWasClaimed ? AWOL_STATUS_MESSAGE : NEVER_CLAIMED_STATUS_MESSAGE
-                    );
-
-                    // If marking as failed succeeded, remove it from the map
-                    this.awolJobsMap.remove(awolJobId);
-
-                    // Increment counter, tag as successful
-                    this.registry.counter(
-                        TERMINATED_COUNTER_METRIC_NAME,
-                        MetricsUtils.newSuccessTagsSet()
-                    ).increment();
-                } catch (NotFoundException | GenieInvalidStatusException e) {
-                    log.warn("Failed to mark AWOL job {} as failed: ", awolJobId, e);
-                    // Increment counter, tag as failure
-                    this.registry.counter(
-                        TERMINATED_COUNTER_METRIC_NAME,
-                        MetricsUtils.newFailureTagsSetForException(e)
-                    ).increment();
-                }
+                expiredUnclaimedJobIds.add(awolJobId);
             }
         }
-    }
 
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public void cleanup() {
-        // Throw away all deadlines
-        this.awolJobsMap.clear();
+        this.failJobs(expiredClaimedJobIds, AWOL_STATUS_MESSAGE, ArchiveStatus.UNKNOWN);
+        this.failJobs(expiredUnclaimedJobIds, NEVER_CLAIMED_STATUS_MESSAGE, ArchiveStatus.FAILED);
     }
 
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public GenieTaskScheduleType getScheduleType() {
-        return GenieTaskScheduleType.FIXED_RATE;
+    private Set<String> getAwolJobIds(final Set<String> activeAgentJobIds) {
+        if (activeAgentJobIds.isEmpty()) {
+            return activeAgentJobIds;
+        }
+        final Optional<Set<String>> connectedAgentJobIds = this.agentRoutingService.getConnectedAgentJobIds();
+        if (connectedAgentJobIds.isPresent()) {
+            return Sets.difference(activeAgentJobIds, connectedAgentJobIds.get());
+        }
+
+        // The connections could not be listed, fall back to looking up each agent
+        return activeAgentJobIds
+            .stream()
+            .filter(jobId -> !this.agentRoutingService.isAgentConnected(jobId))
+            .collect(Collectors.toSet());
     }
 
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public long getFixedRate() {
-        return this.properties.getRefreshInterval().toMillis();
+    private void failJobs(final Set<String> jobIds, final String statusMessage, final ArchiveStatus archiveStatus) {
+        for (final List<String> batch : Iterables.partition(jobIds, this.properties.getBatchSize())) {
+            log.warn("Jobs {} agent AWOL for too long, marking failed", batch);
+            this.registry.summary(BATCH_SIZE_METRIC_NAME).record(batch.size());
+            try {
+                final Set<String> failedJobIds = this.persistenceService.failActiveJobs(
+                    Sets.newHashSet(batch),
+                    statusMessage,
+                    archiveStatus
+                );
+
+                // Jobs which weren't failed are no longer active and won't show up as AWOL again
+                batch.forEach(this.awolJobsMap::remove);
+
+                // Increment counter, tag as successful
+                this.registry.counter(
+                    TERMINATED_COUNTER_METRIC_NAME,
+                    MetricsUtils.newSuccessTagsSet()
+                ).increment(failedJobIds.size());
+            } catch (Exception e) {
+                log.warn("Failed to mark AWOL jobs {} as failed: ", batch, e);
+                // Increment counter, tag as failure
+                this.registry.counter(
+                    TERMINATED_COUNTER_METRIC_NAME,
+                    MetricsUtils.newFailureTagsSetForException(e)
+                ).increment(batch.size());
+            }
+        }
     }
 }
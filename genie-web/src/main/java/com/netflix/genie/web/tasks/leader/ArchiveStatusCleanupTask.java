@@ -35,6 +35,8 @@ import lombok.extern.slf4j.Slf4j;
 import java.time.Instant;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Leader task that find jobs whose archival status was left in 'PENDING' state.
@@ -47,7 +49,7 @@ import java.util.concurrent.TimeUnit;
  * @since 4.0.0
  */
 @Slf4j
-public class ArchiveStatusCleanupTask extends LeaderTask {
+public class ArchiveStatusCleanupTask extends ShardableLeaderTask {
 
     private static final String CLEAR_ARCHIVE_STATUS_COUNTER_NAME = "genie.jobs.archiveStatus.cleanup.counter";
     private static final String CLEAR_ARCHIVE_STATUS_TIMER_NAME = "genie.tasks.archiveStatusCleanup.timer";
@@ -81,7 +83,7 @@ public class ArchiveStatusCleanupTask extends LeaderTask {
      * {@inheritDoc}
      */
     @Override
-    public void run() {
+    public void run(final Predicate<String> jobIdFilter) {
         final Set<Tag> tags = Sets.newHashSet();
         final long start = System.nanoTime();
         try {
@@ -90,7 +92,7 @@ public class ArchiveStatusCleanupTask extends LeaderTask {
                 JobStatus.getFinishedStatuses(),
                 PENDING_STATUS_SET,
                 updatedThreshold
-            );
+            ).stream().filter(jobIdFilter).collect(Collectors.toSet());
             if (!jobIds.isEmpty()) {
                 log.debug("Found {} finished jobs with PENDING archive status", jobIds.size());
                 this.clearJobsArchiveStatus(jobIds);
@@ -18,7 +18,9 @@
 package com.netflix.genie.web.tasks.leader;
 
 import com.google.common.collect.Sets;
+import com.netflix.genie.web.services.TaskShardingService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.integration.leader.event.AbstractLeaderEvent;
 import org.springframework.integration.leader.event.OnGrantedEvent;
@@ -26,6 +28,7 @@ import org.springframework.integration.leader.event.OnRevokedEvent;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.Trigger;
 
+import jakarta.annotation.Nullable;
 import jakarta.annotation.PreDestroy;
 import java.util.Collection;
 import java.util.Set;
@@ -34,6 +37,10 @@ import java.util.concurrent.ScheduledFuture;
 /**
  * Class which handles coordinating leadership related tasks. Listens for leadership grant and revoke events and starts
  * tasks associated with being the cluster leader.
+ * <p>
+ * When a {@link TaskShardingService} is provided, {@link ShardableLeaderTask}s are instead started on every node as
+ * soon as the application context is ready, each run being restricted to the jobs of the shards this node owns at the
+ * time. They keep running regardless of leadership changes, so a leader failover doesn't interrupt them.
  *
  * @author tgianos
  * @since 3.0.0
@@ -42,9 +49,13 @@ import java.util.concurrent.ScheduledFuture;
 public class LeaderTasksCoordinator {
 
     private final Set<LeaderTask> tasks;
+    private final Set<ShardableLeaderTask> shardedTasks;
     private final Set<ScheduledFuture<?>> futures;
+    private final Set<ScheduledFuture<?>> shardedFutures;
     private final TaskScheduler taskScheduler;
+    private final TaskShardingService taskShardingService;
     private boolean isRunning;
+    private boolean isShardedRunning;
 
     /**
      * Constructor.
@@ -53,12 +64,38 @@ public class LeaderTasksCoordinator {
      * @param tasks         The leadership tasks to run
      */
     public LeaderTasksCoordinator(final TaskScheduler taskScheduler, final Collection<LeaderTask> tasks) {
+        this(taskScheduler, tasks, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param taskScheduler       The task executor to use.
+     * @param tasks               The leadership tasks to run
+     * @param taskShardingService The service splitting shardable tasks between nodes or null to run all tasks on the
+     *                            leader only
+     */
+    public LeaderTasksCoordinator(
+        final TaskScheduler taskScheduler,
+        final Collection<LeaderTask> tasks,
+        @Nullable final TaskShardingService taskShardingService
+    ) {
         this.futures = Sets.newHashSet();
+        this.shardedFutures = Sets.newHashSet();
         this.taskScheduler = taskScheduler;
+        this.taskShardingService = taskShardingService;
         this.isRunning = false;
+        this.isShardedRunning = false;
         this.tasks = Sets.newHashSet();
+        this.shardedTasks = Sets.newHashSet();
         if (tasks != null) {
-            this.tasks.addAll(tasks);
+            for (final LeaderTask task : tasks) {
+                if (taskShardingService != null && task instanceof ShardableLeaderTask) {
+                    this.shardedTasks.add((ShardableLeaderTask) task);
+                } else {
+                    this.tasks.add(task);
+                }
+            }
         }
     }
 
@@ -66,8 +103,30 @@ public class LeaderTasksCoordinator {
      * Make sure any threads are taken care of before this object is destroyed.
      */
     @PreDestroy
-    public void preDestroy() {
+    public synchronized void preDestroy() {
         this.cancelTasks();
+        this.cancelShardedTasks();
+    }
+
+    /**
+     * Start the shardable tasks on this node once the application is up and running, if sharding is enabled.
+     *
+     * @param event The application context refreshed event
+     */
+    @EventListener
+    public synchronized void onContextRefreshed(final ContextRefreshedEvent event) {
+        if (this.isShardedRunning || this.shardedTasks.isEmpty()) {
+            return;
+        }
+        log.info("Starting sharded leadership tasks.");
+        this.isShardedRunning = true;
+        this.shardedTasks.forEach(
+            task -> this.schedule(
+                task,
+                () -> task.run(this.taskShardingService.getOwnershipFilter()),
+                this.shardedFutures
+            )
+        );
     }
 
     /**
@@ -87,41 +146,7 @@ public class LeaderTasksCoordinator {
             }
             log.info("Leadership granted.");
             this.isRunning = true;
-            this.tasks.forEach(
-                task -> {
-                    switch (task.getScheduleType()) {
-                        case TRIGGER:
-                            final Trigger trigger = task.getTrigger();
-                            log.info(
-                                "Scheduling leadership task {} to run with trigger {}",
-                                task.getClass().getCanonicalName(),
-                                trigger
-                            );
-                            this.futures.add(this.taskScheduler.schedule(task, trigger));
-                            break;
-                        case FIXED_RATE:
-                            final long rate = task.getFixedRate();
-                            log.info(
-                                "Scheduling leadership task {} to run every {} second(s)",
-                                task.getClass().getCanonicalName(),
-                                rate / 1000.0
-                            );
-                            this.futures.add(this.taskScheduler.scheduleAtFixedRate(task, rate));
-                            break;
-                        case FIXED_DELAY:
-                            final long delay = task.getFixedDelay();
-                            log.info(
-                                "Scheduling leadership task {} to run at a fixed delay of every {} second(s)",
-                                task.getClass().getCanonicalName(),
-                                delay / 1000.0
-                            );
-                            this.futures.add(this.taskScheduler.scheduleWithFixedDelay(task, delay));
-                            break;
-                        default:
-                            log.error("Unknown Genie task type {}", task.getScheduleType());
-                    }
-                }
-            );
+            this.tasks.forEach(task -> this.schedule(task, task, this.futures));
         } else if (leaderEvent instanceof OnRevokedEvent) {
             if (!this.isRunning) {
                 return;
@@ -134,8 +159,53 @@ public class LeaderTasksCoordinator {
         }
     }
 
+    private void schedule(final LeaderTask task, final Runnable runnable, final Set<ScheduledFuture<?>> taskFutures) {
+        switch (task.getScheduleType()) {
+            case TRIGGER:
+                final Trigger trigger = task.getTrigger();
+                log.info(
+                    "Scheduling leadership task {} to run with trigger {}",
+                    task.getClass().getCanonicalName(),
+                    trigger
+                );
+                taskFutures.add(this.taskScheduler.schedule(runnable, trigger));
+                break;
+            case FIXED_RATE:
+                final long rate = task.getFixedRate();
+                log.info(
+                    "Scheduling leadership task {} to run every {} second(s)",
+                    task.getClass().getCanonicalName(),
+                    rate / 1000.0
+                );
+                taskFutures.add(this.taskScheduler.scheduleAtFixedRate(runnable, rate));
+                break;
+            case FIXED_DELAY:
+                final long delay = task.getFixedDelay();
+                log.info(
+                    "Scheduling leadership task {} to run at a fixed delay of every {} second(s)",
+                    task.getClass().getCanonicalName(),
+                    delay / 1000.0
+                );
+                taskFutures.add(this.taskScheduler.scheduleWithFixedDelay(runnable, delay));
+                break;
+            default:
+                log.error("Unknown Genie task type {}", task.getScheduleType());
+        }
+    }
+
     private void cancelTasks() {
-        for (final ScheduledFuture<?> future : this.futures) {
+        cancelFutures(this.futures);
+        this.tasks.forEach(LeaderTask::cleanup);
+    }
+
+    private void cancelShardedTasks() {
+        this.isShardedRunning = false;
+        cancelFutures(this.shardedFutures);
+        this.shardedTasks.forEach(LeaderTask::cleanup);
+    }
+
+    private static void cancelFutures(final Set<ScheduledFuture<?>> taskFutures) {
+        for (final ScheduledFuture<?> future : taskFutures) {
             log.info("Attempting to cancel thread {}", future);
             if (future.cancel(true)) {
                 log.info("Successfully cancelled.");
@@ -145,7 +215,6 @@ public class LeaderTasksCoordinator {
         }
 
         // Clear out the tasks
-        this.futures.clear();
-        this.tasks.forEach(LeaderTask::cleanup);
+        taskFutures.clear();
     }
 }
@@ -0,0 +1,46 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.tasks.leader;
+
+import java.util.function.Predicate;
+
+/**
+ * A leader task whose work is made of independent jobs and can therefore be split between the nodes of the cluster.
+ * <p>
+ * When task sharding is enabled these tasks run on every node rather than only on the leader, and each node is handed
+ * a filter selecting the jobs of the shards it currently owns. Otherwise they run on the leader for all jobs.
+ *
+ * @since 4.4.0
+ */
+public abstract class ShardableLeaderTask extends LeaderTask {
+
+    /**
+     * Run the task for all jobs.
+     */
+    @Override
+    public void run() {
+        this.run(jobId -> true);
+    }
+
+    /**
+     * Run the task only for the jobs selected by the given filter.
+     *
+     * @param jobIdFilter The filter selecting the ids of the jobs this invocation is responsible for
+     */
+    public abstract void run(Predicate<String> jobIdFilter);
+}
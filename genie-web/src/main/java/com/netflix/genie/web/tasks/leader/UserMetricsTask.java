@@ -17,6 +17,8 @@
  */
 package com.netflix.genie.web.tasks.leader;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.AtomicDouble;
@@ -24,35 +26,61 @@ import com.netflix.genie.common.dto.UserResourcesSummary;
 import com.netflix.genie.common.internal.dtos.JobStatus;
 import com.netflix.genie.web.data.services.DataServices;
 import com.netflix.genie.web.data.services.PersistenceService;
+import com.netflix.genie.web.events.JobStateChangeEvent;
 import com.netflix.genie.web.properties.UserMetricsProperties;
 import com.netflix.genie.web.tasks.GenieTaskScheduleType;
 import com.netflix.genie.web.util.MetricsConstants;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationListener;
 
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A task which publishes user metrics.
+ * <p>
+ * The metrics are computed from the database when this node becomes leader and then every reconciliation interval.
+ * In between, they are kept up to date by applying the job status changes observed on this node at every refresh,
+ * which only requires looking up the jobs that changed rather than aggregating all the active ones.
+ * By default the reconciliation interval is the refresh interval, so every refresh aggregates all the active jobs.
+ * <p>
+ * {@link JobStateChangeEvent} is only published on the node which persisted the change, so between reconciliations
+ * only the transitions of jobs handled by the leader are applied. Jobs started or finishing on other nodes are picked
+ * up by the next reconciliation. No event is published when a job is reserved, so a job reserved since the last
+ * reconciliation is added when it leaves the reserved status. To avoid taking away what was never added, a finished
+ * job is only subtracted if it was created before the last reconciliation or its start was applied.
  *
  * @author mprimi
  * @since 4.0.0
  */
 @Slf4j
-public class UserMetricsTask extends LeaderTask {
+public class UserMetricsTask extends LeaderTask implements ApplicationListener<JobStateChangeEvent> {
 
     private static final String USER_ACTIVE_JOBS_METRIC_NAME = "genie.user.active-jobs.gauge";
     private static final String USER_ACTIVE_MEMORY_METRIC_NAME = "genie.user.active-memory.gauge";
     private static final String USER_ACTIVE_USERS_METRIC_NAME = "genie.user.active-users.gauge";
     private static final UserResourcesRecord USER_RECORD_PLACEHOLDER = new UserResourcesRecord("nobody");
+    @VisibleForTesting
+    static final Set<JobStatus> COUNTED_STATUSES = JobStatus.getActiveStatuses();
+    private static final int JOB_IDS_BATCH_SIZE = 500;
     private final MeterRegistry registry;
     private final PersistenceService persistenceService;
     private final UserMetricsProperties userMetricsProperties;
 
     private final Map<String, UserResourcesRecord> userResourcesRecordMap = Maps.newHashMap();
     private final AtomicDouble activeUsersCount;
+    private final Set<String> startedJobIds = ConcurrentHashMap.newKeySet();
+    private final Set<String> finishedJobIds = ConcurrentHashMap.newKeySet();
+    private final Set<String> addedJobIds = Sets.newHashSet();
+    private volatile boolean trackingTransitions;
+    private Instant lastReconciliation = Instant.EPOCH;
+    private long nextReconciliation;
 
     /**
      * Constructor.
@@ -99,11 +127,78 @@ public class UserMetricsTask extends LeaderTask {
     public void run() {
         log.debug("Publishing user metrics");
 
+        final long now = System.currentTimeMillis();
+        // Runs don't fire exactly one refresh interval apart, run a reconciliation due before the middle of the next one
+        final long slack = this.userMetricsProperties.getRefreshInterval() / 2;
+        if (!this.trackingTransitions || now + slack >= this.nextReconciliation) {
+            this.reconcile();
+            this.nextReconciliation = now + this.userMetricsProperties.getReconciliationInterval();
+        } else {
+            this.applyTransitions();
+        }
+
+        log.debug("Done publishing user metrics");
+    }
+
+    /**
+     * Record the job status changes persisted by this node while it is leader, so they can be applied to the user
+     * metrics at the next refresh.
+     *
+     * @param event The job status change event
+     */
+    @Override
+    public void onApplicationEvent(final JobStateChangeEvent event) {
+        if (!this.trackingTransitions) {
+            return;
+        }
+        final JobStatus previousStatus = event.getPreviousStatus();
+        final boolean wasReserved = previousStatus == null || previousStatus == JobStatus.RESERVED;
+        final boolean wasCounted = previousStatus != null && COUNTED_STATUSES.contains(previousStatus);
+        final boolean isCounted = COUNTED_STATUSES.contains(event.getNewStatus());
+        if (wasReserved && isCounted) {
+            this.startedJobIds.add(event.getJobId());
+        } else if (wasCounted && !isCounted) {
+            this.finishedJobIds.add(event.getJobId());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cleanup() {
+
+        log.debug("Cleaning up user metrics publishing");
+
+        // Stop tracking transitions until the next reconciliation
+        this.trackingTransitions = false;
+        this.startedJobIds.clear();
+        this.finishedJobIds.clear();
+        this.addedJobIds.clear();
+
+        // Reset all users
+        this.userResourcesRecordMap.clear();
+
+        // Reset active users count
+        this.activeUsersCount.set(Double.NaN);
+    }
+
+    private void reconcile() {
+        // Transitions from now on are applied on top of the summaries below. The ones persisted while the query runs
+        // may be counted twice until the next reconciliation.
+        this.startedJobIds.clear();
+        this.finishedJobIds.clear();
+        this.addedJobIds.clear();
+        this.trackingTransitions = true;
+
+        // Active jobs created before now are counted in the summaries below
+        this.lastReconciliation = Instant.now();
+
         // For now just report the API jobs as they're using resources on Genie web nodes
         // Get us unblocked for now on agent migration but in future we may want to change this to further dice or
         // combine reports by CLI vs. API
         final Map<String, UserResourcesSummary> summaries = this.persistenceService.getUserResourcesSummaries(
-            JobStatus.getActiveStatuses(),
+            COUNTED_STATUSES,
             true
         );
 
@@ -128,47 +223,97 @@ public class UserMetricsTask extends LeaderTask {
 
             log.debug("User {}: {} jobs running, using {}MB", user, jobs, memory);
 
-            this.userResourcesRecordMap.computeIfAbsent(
-                userResourcesSummary.getUser(),
-                userName -> {
-                    // Register gauges this user user.
-                    // Gauge creation is idempotent so it doesn't matter if the user is new or seen before.
-                    // Registry holds a reference to the gauge so no need to save it.
-                    Gauge.builder(
-                            USER_ACTIVE_JOBS_METRIC_NAME,
-                            () -> this.getUserJobCount(userName)
-                        )
-                        .tags(MetricsConstants.TagKeys.USER, userName)
-                        .register(registry);
-                    Gauge.builder(
-                            USER_ACTIVE_MEMORY_METRIC_NAME,
-                            () -> this.getUserMemoryAmount(userName)
-                        )
-                        .tags(MetricsConstants.TagKeys.USER, userName)
-                        .register(registry);
-
-                    return new UserResourcesRecord(userName);
-                }
-
-            ).update(jobs, memory);
+            this.getUserResourcesRecord(user).update(jobs, memory);
         }
+    }
 
-        log.debug("Done publishing user metrics");
+    private void applyTransitions() {
+        final Set<String> started = drain(this.startedJobIds);
+        final Set<String> finished = drain(this.finishedJobIds);
+        // Don't add jobs already counted by the last reconciliation, and only subtract those which were counted. A job
+        // reserved on another node since the last reconciliation was never added.
+        started.removeAll(this.getJobsCreatedBeforeLastReconciliation(started));
+        this.addedJobIds.addAll(started);
+        final Set<String> neverAdded = Sets.newHashSet(Sets.difference(finished, this.addedJobIds));
+        neverAdded.removeAll(this.getJobsCreatedBeforeLastReconciliation(neverAdded));
+        finished.removeAll(neverAdded);
+        this.addedJobIds.removeAll(finished);
+        log.debug("Applying {} started and {} finished jobs to user metrics", started.size(), finished.size());
+
+        for (final List<String> batch : Iterables.partition(started, JOB_IDS_BATCH_SIZE)) {
+            this.persistenceService
+                .getUserResourcesSummariesForJobs(Sets.newHashSet(batch), true)
+                .values()
+                .forEach(
+                    summary -> this.getUserResourcesRecord(summary.getUser()).add(
+                        summary.getRunningJobsCount(),
+                        summary.getUsedMemory()
+                    )
+                );
+        }
+
+        for (final List<String> batch : Iterables.partition(finished, JOB_IDS_BATCH_SIZE)) {
+            this.persistenceService
+                .getUserResourcesSummariesForJobs(Sets.newHashSet(batch), true)
+                .values()
+                .forEach(
+                    summary -> {
+                        final UserResourcesRecord record = this.userResourcesRecordMap.get(summary.getUser());
+                        if (record != null) {
+                            record.add(-summary.getRunningJobsCount(), -summary.getUsedMemory());
+                        }
+                    }
+                );
+        }
+
+        // Remove users whose jobs all finished. If gauge is polled, it'll return NaN
+        this.userResourcesRecordMap.values().removeIf(record -> record.jobCount.get() <= 0);
+        this.activeUsersCount.set(this.userResourcesRecordMap.size());
     }
 
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public void cleanup() {
+    private Set<String> getJobsCreatedBeforeLastReconciliation(final Set<String> jobIds) {
+        final Set<String> createdBefore = Sets.newHashSet();
+        for (final List<String> batch : Iterables.partition(jobIds, JOB_IDS_BATCH_SIZE)) {
+            createdBefore.addAll(
+                this.persistenceService.getJobsCreatedBefore(Sets.newHashSet(batch), this.lastReconciliation)
+            );
+        }
+        return createdBefore;
+    }
 
-        log.debug("Cleaning up user metrics publishing");
+    private UserResourcesRecord getUserResourcesRecord(final String user) {
+        return this.userResourcesRecordMap.computeIfAbsent(
+            user,
+            userName -> {
+                // Register gauges this user user.
+                // Gauge creation is idempotent so it doesn't matter if the user is new or seen before.
+                // Registry holds a reference to the gauge so no need to save it.
+                Gauge.builder(
+                        USER_ACTIVE_JOBS_METRIC_NAME,
+                        () -> this.getUserJobCount(userName)
+                    )
+                    .tags(MetricsConstants.TagKeys.USER, userName)
+                    .register(registry);
+                Gauge.builder(
+                        USER_ACTIVE_MEMORY_METRIC_NAME,
+                        () -> this.getUserMemoryAmount(userName)
+                    )
+                    .tags(MetricsConstants.TagKeys.USER, userName)
+                    .register(registry);
 
-        // Reset all users
-        this.userResourcesRecordMap.clear();
+                return new UserResourcesRecord(userName);
+            }
+        );
+    }
 
-        // Reset active users count
-        this.activeUsersCount.set(Double.NaN);
+    private static Set<String> drain(final Set<String> jobIds) {
+        final Set<String> drained = Sets.newHashSet();
+        final Iterator<String> iterator = jobIds.iterator();
+        while (iterator.hasNext()) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
     }
 
     private Number getUserJobCount(final String userName) {
@@ -210,5 +355,15 @@ public class UserMetricsTask extends LeaderTask {
             this.jobCount.set(runningJobsCount);
             this.memoryAmount.set(usedMemory);
         }
+
+        void add(final long runningJobsDelta, final long usedMemoryDelta) {
+            // Records of new users start out as NaN
+            final double jobs = Double.isNaN(this.jobCount.get()) ? 0 : this.jobCount.get();
+            final double memory = Double.isNaN(this.memoryAmount.get()) ? 0 : this.memoryAmount.get();
+            this.update(
+                Math.max(0L, (long) jobs + runningJobsDelta),
+                Math.max(0L, (long) memory + usedMemoryDelta)
+            );
+        }
     }
 }
@@ -0,0 +1,214 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.tasks.node;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.netflix.genie.web.agent.services.AgentConnectionTrackingService;
+import com.netflix.genie.web.agent.services.AgentFileStreamService;
+import com.netflix.genie.web.events.AgentReconnectRequestedEvent;
+import com.netflix.genie.web.events.GenieEventBus;
+import com.netflix.genie.web.properties.AgentRebalancingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.curator.framework.recipes.nodes.GroupMember;
+import org.springframework.scheduling.TaskScheduler;
+
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * This task runs on every Genie node and spreads the agents connected to the cluster evenly across its nodes.
+ * <p>
+ * Agents stay connected to the node which accepted their connection, so after a deployment or a scale out some nodes
+ * hold many more agents than others. Every node regularly publishes its load, made of its connected agents and active
+ * file transfers, as the payload of its Zookeeper group membership. A node whose load exceeds the cluster average by
+ * more than the configured tolerance asks some of its agents to reconnect, which they do through the load balancer in
+ * front of the nodes. To avoid churn, the number of agents asked to reconnect is bounded per run and agents which
+ * connected recently, possibly after being moved, aren't asked to reconnect.
+ *
+ * @since 4.4.0
+ */
+@Slf4j
+public class AgentRebalancingTask implements Runnable {
+
+    private static final String RECONNECT_REQUESTED_COUNTER = "genie.agents.rebalancing.reconnectRequested.counter";
+
+    private final AgentRebalancingProperties properties;
+    private final GroupMember groupMember;
+    private final String memberId;
+    private final AgentConnectionTrackingService agentConnectionTrackingService;
+    private final AgentFileStreamService agentFileStreamService;
+    private final GenieEventBus genieEventBus;
+    private final Supplier<Instant> timeSupplier;
+    private final Counter reconnectRequestedCounter;
+    private final ScheduledFuture<?> scheduledFuture;
+
+    /**
+     * Constructor. Starts the group membership of this node and schedules this task to be run by the task scheduler.
+     *
+     * @param properties                     The rebalancing properties
+     * @param groupMember                    The Curator group membership this node publishes its load through, not
+     *                                       started yet
+     * @param memberId                       The id this node joins the group with
+     * @param agentConnectionTrackingService The service tracking the agents connected to this node
+     * @param agentFileStreamService         The service streaming files from the agents connected to this node
+     * @param genieEventBus                  The event bus to request agents to reconnect through
+     * @param scheduler                      The scheduler to run this task with
+     * @param registry                       The metrics registry
+     */
+    public AgentRebalancingTask(
+        final AgentRebalancingProperties properties,
+        final GroupMember groupMember,
+        final String memberId,
+        final AgentConnectionTrackingService agentConnectionTrackingService,
+        final AgentFileStreamService agentFileStreamService,
+        final GenieEventBus genieEventBus,
+        final TaskScheduler scheduler,
+        final MeterRegistry registry
+    ) {
+        this(
+            properties,
+            groupMember,
+            memberId,
+            agentConnectionTrackingService,
+            agentFileStreamService,
+            genieEventBus,
+            scheduler,
+            registry,
+            Instant::now
+        );
+    }
+
+    @VisibleForTesting
+    AgentRebalancingTask(
+        final AgentRebalancingProperties properties,
+        final GroupMember groupMember,
+        final String memberId,
+        final AgentConnectionTrackingService agentConnectionTrackingService,
+        final AgentFileStreamService agentFileStreamService,
+        final GenieEventBus genieEventBus,
+        final TaskScheduler scheduler,
+        final MeterRegistry registry,
+        final Supplier<Instant> timeSupplier
+    ) {
+        this.properties = properties;
+        this.groupMember = groupMember;
+        this.memberId = memberId;
+        this.agentConnectionTrackingService = agentConnectionTrackingService;
+        this.agentFileStreamService = agentFileStreamService;
+        this.genieEventBus = genieEventBus;
+        this.timeSupplier = timeSupplier;
+        this.reconnectRequestedCounter = registry.counter(RECONNECT_REQUESTED_COUNTER);
+
+        this.groupMember.start();
+        this.scheduledFuture = scheduler.scheduleWithFixedDelay(this, properties.getInterval());
+    }
+
+    /**
+     * Stop running this task and leave the group.
+     */
+    @PreDestroy
+    public void shutdown() {
+        this.scheduledFuture.cancel(false);
+        this.groupMember.close();
+    }
+
+    /**
+     * Publish the load of this node and ask agents to reconnect if it is overloaded.
+     */
+    @Override
+    public void run() {
+        try {
+            final Map<String, Instant> connectedAgents = this.agentConnectionTrackingService.getConnectedAgents();
+            final double load = connectedAgents.size()
+                + this.properties.getTransferWeight() * this.agentFileStreamService.getActiveTransfersCount();
+            this.groupMember.setThisData(Double.toString(load).getBytes(StandardCharsets.UTF_8));
+
+            final Map<String, byte[]> members = this.groupMember.getCurrentMembers();
+            if (!members.containsKey(this.memberId)) {
+                log.info("Node {} isn't a member of the group, not rebalancing agents", this.memberId);
+                return;
+            }
+
+            double totalLoad = load;
+            int loadedMembers = 1;
+            for (final Map.Entry<String, byte[]> member : members.entrySet()) {
+                if (!this.memberId.equals(member.getKey())) {
+                    final Double memberLoad = parseLoad(member.getKey(), member.getValue());
+                    if (memberLoad != null) {
+                        totalLoad += memberLoad;
+                        loadedMembers++;
+                    }
+                }
+            }
+            final double averageLoad = totalLoad / loadedMembers;
+            final double excessLoad = load - averageLoad;
+
+            if (loadedMembers < 2
+                || load <= averageLoad * (1 + this.properties.getOverloadTolerance())
+                || excessLoad < this.properties.getMinimumExcessLoad()) {
+                log.debug("Node {} load {} is within bounds of the average load {}", this.memberId, load, averageLoad);
+                return;
+            }
+
+            final Instant cutoff = this.timeSupplier.get().minus(this.properties.getMinimumConnectionAge());
+            final List<String> jobIds = connectedAgents.entrySet()
+                .stream()
+                .filter(agent -> !agent.getValue().isAfter(cutoff))
+                .sorted(Map.Entry.comparingByValue())
+                .limit(Math.min(this.properties.getMaxAgentsPerInterval(), (long) Math.floor(excessLoad)))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+
+            log.info(
+                "Node {} load {} exceeds the average load {} of {} nodes, asking {} agent(s) to reconnect",
+                this.memberId,
+                load,
+                averageLoad,
+                loadedMembers,
+                jobIds.size()
+            );
+
+            for (final String jobId : jobIds) {
+                this.genieEventBus.publishSynchronousEvent(new AgentReconnectRequestedEvent(jobId, this));
+                this.reconnectRequestedCounter.increment();
+            }
+        } catch (final Exception e) {
+            log.error("Unable to rebalance agents", e);
+        }
+    }
+
+    @Nullable
+    private static Double parseLoad(final String memberId, final byte[] payload) {
+        try {
+            return Double.valueOf(new String(payload, StandardCharsets.UTF_8));
+        } catch (final NumberFormatException e) {
+            // Members which haven't published their load yet still carry the default payload
+            log.debug("Ignoring member {} which hasn't published its load", memberId);
+            return null;
+        }
+    }
+}
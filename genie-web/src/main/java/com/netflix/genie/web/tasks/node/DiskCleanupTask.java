@@ -17,8 +17,10 @@
  */
 package com.netflix.genie.web.tasks.node;
 
-import com.netflix.genie.common.dto.Job;
-import com.netflix.genie.common.exceptions.GenieException;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.netflix.genie.common.internal.jobs.JobConstants;
 import com.netflix.genie.web.data.services.DataServices;
 import com.netflix.genie.web.data.services.PersistenceService;
@@ -27,6 +29,7 @@ import com.netflix.genie.web.properties.JobsProperties;
 import com.netflix.genie.web.tasks.TaskUtils;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.exec.CommandLine;
 import org.apache.commons.exec.Executor;
@@ -34,15 +37,28 @@ import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.SystemUtils;
 import org.springframework.core.io.Resource;
 import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.scheduling.support.CronTrigger;
 
 import jakarta.validation.constraints.NotNull;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.Optional;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 //TODO: this is now only relevant for {@link com.netflix.genie.web.agent.launchers.impl.LocalAgentLauncherImpl}.
 // Should refactor as such, rather than having this generic disk cleaner inherited from V3.
@@ -50,6 +66,9 @@ import java.util.concurrent.atomic.AtomicLong;
 /**
  * This task runs on every Genie node and is responsible for cleaning up the local disk so that space can be
  * recaptured.
+ * <p>
+ * The jobs whose directories can be deleted are looked up in batches. Directories are then deleted in parallel or,
+ * when jobs run as their user, by {@code sudo rm} invocations each removing a batch of directories.
  *
  * @author tgianos
  * @since 3.0.0
@@ -67,6 +86,8 @@ public class DiskCleanupTask implements Runnable {
     private final AtomicLong numberOfDirsUnableToDelete;
     private final Counter unableToGetJobCounter;
     private final Counter unableToDeleteJobDirCounter;
+    private final Counter reclaimedBytesCounter;
+    private final Timer runTimer;
 
     /**
      * Constructor. Schedules this task to be run by the task scheduler.
@@ -110,6 +131,8 @@ public class DiskCleanupTask implements Runnable {
         );
         this.unableToGetJobCounter = registry.counter("genie.tasks.diskCleanup.unableToGetJobs.rate");
         this.unableToDeleteJobDirCounter = registry.counter("genie.tasks.diskCleanup.unableToDeleteJobsDir.rate");
+        this.reclaimedBytesCounter = registry.counter("genie.tasks.diskCleanup.reclaimedBytes.rate");
+        this.runTimer = registry.timer("genie.tasks.diskCleanup.timer");
 
         // Only schedule the task if we don't need sudo while on a non-unix system
         if (this.runAsUser && !SystemUtils.IS_OS_UNIX) {
@@ -127,6 +150,15 @@ public class DiskCleanupTask implements Runnable {
     @Override
     public void run() {
         log.info("Running disk cleanup task...");
+        final long start = System.nanoTime();
+        try {
+            this.cleanup();
+        } finally {
+            this.runTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void cleanup() {
         final File[] jobDirs = this.jobsDir.listFiles();
         if (jobDirs == null) {
             log.warn("No job dirs found. Returning.");
@@ -134,53 +166,169 @@ public class DiskCleanupTask implements Runnable {
             this.numberOfDirsUnableToDelete.set(0);
             return;
         }
-        // For each of the directories figure out if we need to delete the files or not
-        long deletedCount = 0;
-        long unableToDeleteCount = 0;
+
+        final Map<String, File> dirsById = Maps.newHashMap();
         for (final File dir : jobDirs) {
             if (!dir.isDirectory()) {
                 log.info("File {} isn't a directory. Skipping.", dir.getName());
                 continue;
             }
+            dirsById.put(dir.getName(), dir);
+        }
 
-            final String id = dir.getName();
+        final AtomicLong deletedCount = new AtomicLong();
+        final AtomicLong unableToDeleteCount = new AtomicLong();
+
+        // Delete anything with a finish time before today @12 AM UTC - retention
+        final Instant midnightUTC = TaskUtils.getMidnightUTC();
+        final Instant retentionThreshold = midnightUTC.minus(this.properties.getRetention(), ChronoUnit.DAYS);
+        final List<File> dirsToDelete = Lists.newArrayList();
+        for (final List<String> ids : Iterables.partition(dirsById.keySet(), this.properties.getQueryBatchSize())) {
             try {
-                final Job job = this.persistenceService.getJob(id);
-                if (job.getStatus().isActive()) {
-                    // Don't want to delete anything still going
-                    continue;
+                this.persistenceService
+                    .getJobsFinishedBefore(Sets.newHashSet(ids), retentionThreshold)
+                    .stream()
+                    .map(dirsById::get)
+                    .filter(Objects::nonNull)
+                    .forEach(dirsToDelete::add);
+            } catch (Exception e) {
+                log.error("Unable to get jobs {}. Continuing.", ids, e);
+                this.unableToGetJobCounter.increment(ids.size());
+                unableToDeleteCount.addAndGet(ids.size());
+            }
+        }
+
+        if (!dirsToDelete.isEmpty()) {
+            if (this.runAsUser) {
+                // The process executor isn't safe to use concurrently, batching the directories is what saves forks
+                for (final List<File> dirs : Iterables.partition(dirsToDelete, this.properties.getDeleteBatchSize())) {
+                    this.deleteDirectoriesWithSudo(dirs, deletedCount, unableToDeleteCount);
                 }
+            } else {
+                this.deleteDirectoriesInParallel(dirsToDelete, deletedCount, unableToDeleteCount);
+            }
+        }
+
+        this.numberOfDeletedJobDirs.set(deletedCount.get());
+        this.numberOfDirsUnableToDelete.set(unableToDeleteCount.get());
+    }
 
-                // Delete anything with a finish time before today @12 AM UTC - retention
-                final Instant midnightUTC = TaskUtils.getMidnightUTC();
-                final Instant retentionThreshold = midnightUTC.minus(this.properties.getRetention(), ChronoUnit.DAYS);
-                final Optional<Instant> finished = job.getFinished();
-                if (finished.isPresent() && finished.get().isBefore(retentionThreshold)) {
-                    log.info("Attempting to delete job directory for job {}", id);
-                    if (this.runAsUser) {
-                        final CommandLine commandLine = new CommandLine("sudo");
-                        commandLine.addArgument("rm");
-                        commandLine.addArgument("-rf");
-                        commandLine.addArgument(dir.getAbsolutePath());
-                        this.processExecutor.execute(commandLine);
-                    } else {
-                        // Save forking a process ourselves if we don't have to
-                        FileUtils.deleteDirectory(dir);
+    private void deleteDirectoriesInParallel(
+        final List<File> dirs,
+        final AtomicLong deletedCount,
+        final AtomicLong unableToDeleteCount
+    ) {
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("genie-disk-cleanup-");
+        threadFactory.setDaemon(true);
+        final ExecutorService deleters = Executors.newFixedThreadPool(
+            Math.min(this.properties.getDeleteParallelism(), dirs.size()),
+            threadFactory
+        );
+        try {
+            final List<Callable<Void>> deletions = dirs
+                .stream()
+                .map(
+                    dir -> (Callable<Void>) () -> {
+                        this.deleteDirectory(dir, deletedCount, unableToDeleteCount);
+                        return null;
                     }
-                    deletedCount++;
-                    log.info("Successfully deleted job directory for job {}", id);
-                }
-            } catch (final GenieException ge) {
-                log.error("Unable to get job {}. Continuing.", id, ge);
-                this.unableToGetJobCounter.increment();
-                unableToDeleteCount++;
-            } catch (final IOException ioe) {
-                log.error("Unable to delete job directory for job with id: {}", id, ioe);
+                )
+                .collect(Collectors.toList());
+            deleters.invokeAll(deletions);
+        } catch (final InterruptedException ie) {
+            log.warn("Interrupted while deleting job directories", ie);
+            Thread.currentThread().interrupt();
+        } finally {
+            deleters.shutdownNow();
+        }
+    }
+
+    private void deleteDirectory(final File dir, final AtomicLong deletedCount, final AtomicLong unableToDeleteCount) {
+        final String id = dir.getName();
+        log.info("Attempting to delete job directory for job {}", id);
+        try {
+            this.reclaimedBytesCounter.increment(deleteRecursively(dir.toPath()));
+            deletedCount.incrementAndGet();
+            log.info("Successfully deleted job directory for job {}", id);
+        } catch (final IOException ioe) {
+            log.error("Unable to delete job directory for job with id: {}", id, ioe);
+            this.unableToDeleteJobDirCounter.increment();
+            unableToDeleteCount.incrementAndGet();
+        }
+    }
+
+    private void deleteDirectoriesWithSudo(
+        final List<File> dirs,
+        final AtomicLong deletedCount,
+        final AtomicLong unableToDeleteCount
+    ) {
+        final CommandLine commandLine = new CommandLine("sudo");
+        commandLine.addArgument("rm");
+        commandLine.addArgument("-rf");
+        final Map<File, Long> sizes = Maps.newHashMap();
+        for (final File dir : dirs) {
+            log.info("Attempting to delete job directory for job {}", dir.getName());
+            sizes.put(dir, getSize(dir));
+            commandLine.addArgument(dir.getAbsolutePath());
+        }
+
+        try {
+            this.processExecutor.execute(commandLine);
+        } catch (final IOException ioe) {
+            // rm keeps going after a failure, check below which directories are left
+            log.error("Unable to delete some of {} job directories", dirs.size(), ioe);
+        }
+
+        for (final File dir : dirs) {
+            if (dir.exists()) {
+                log.error("Unable to delete job directory for job with id: {}", dir.getName());
                 this.unableToDeleteJobDirCounter.increment();
-                unableToDeleteCount++;
+                unableToDeleteCount.incrementAndGet();
+            } else {
+                this.reclaimedBytesCounter.increment(sizes.get(dir));
+                deletedCount.incrementAndGet();
+                log.info("Successfully deleted job directory for job {}", dir.getName());
+            }
+        }
+    }
+
+    /**
+     * Delete the directory, returning the total size of the files which were deleted.
+     */
+    private static long deleteRecursively(final Path dir) throws IOException {
+        final AtomicLong size = new AtomicLong();
+        Files.walkFileTree(
+            dir,
+            new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
+                    Files.delete(file);
+                    size.addAndGet(attrs.size());
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(final Path directory, final IOException e) throws IOException {
+                    if (e != null) {
+                        throw e;
+                    }
+                    Files.delete(directory);
+                    return FileVisitResult.CONTINUE;
+                }
             }
+        );
+        return size.get();
+    }
+
+    /**
+     * Best effort size of a directory whose files may belong to another user.
+     */
+    private static long getSize(final File dir) {
+        try {
+            return FileUtils.sizeOfDirectory(dir);
+        } catch (final RuntimeException e) {
+            log.debug("Unable to compute the size of {}", dir, e);
+            return 0L;
         }
-        this.numberOfDeletedJobDirs.set(deletedCount);
-        this.numberOfDirsUnableToDelete.set(unableToDeleteCount);
     }
 }
@@ -101,6 +101,16 @@ public final class MetricsConstants {
          */
         public static final String SCRIPT_URI = "scriptUri";
 
+        /**
+         * Key to tag the name of an application event listener.
+         */
+        public static final String LISTENER = "listener";
+
+        /**
+         * Key to tag the type of an application event.
+         */
+        public static final String EVENT_TYPE = "eventType";
+
         /**
          * Utility class private constructor.
          */
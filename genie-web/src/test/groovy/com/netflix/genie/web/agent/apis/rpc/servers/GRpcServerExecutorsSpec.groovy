@@ -0,0 +1,88 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.agent.apis.rpc.servers
+
+import com.netflix.genie.proto.FileStreamServiceGrpc
+import com.netflix.genie.proto.PingServiceGrpc
+import com.netflix.genie.web.properties.GRpcServerProperties
+import io.grpc.Metadata
+import io.grpc.ServerCall
+import io.grpc.netty.NettyServerBuilder
+import spock.lang.Specification
+
+import java.util.concurrent.ExecutorService
+
+/**
+ * Specifications for {@link GRpcServerExecutors}.
+ */
+@SuppressWarnings("GroovyAccessibility")
+class GRpcServerExecutorsSpec extends Specification {
+
+    def "Uses the gRPC defaults unless configured"() {
+        def executors = new GRpcServerExecutors(new GRpcServerProperties())
+        def pingCall = Mock(ServerCall) {
+            getMethodDescriptor() >> PingServiceGrpc.getPingMethod()
+        }
+
+        when:
+        executors.configure(NettyServerBuilder.forPort(0))
+
+        then:
+        executors.getExecutor(pingCall, new Metadata()) == null
+        executors.defaultExecutor == null
+        executors.bossEventLoopGroup == null
+        executors.workerEventLoopGroup == null
+
+        cleanup:
+        executors.close()
+    }
+
+    def "Runs calls of services with a dedicated executor on it"() {
+        def fileStreamServiceName = FileStreamServiceGrpc.getServiceDescriptor().getName()
+        def properties = new GRpcServerProperties()
+        properties.getCallExecutor().setThreads(2)
+        properties.getCallExecutor().setServiceThreads([(fileStreamServiceName): 1])
+        properties.getTransport().setEventLoopThreads(1)
+        def executors = new GRpcServerExecutors(properties)
+        def fileStreamCall = Mock(ServerCall) {
+            getMethodDescriptor() >> FileStreamServiceGrpc.getSyncMethod()
+        }
+        def pingCall = Mock(ServerCall) {
+            getMethodDescriptor() >> PingServiceGrpc.getPingMethod()
+        }
+
+        when:
+        executors.configure(NettyServerBuilder.forPort(0))
+
+        then:
+        executors.defaultExecutor != null
+        executors.bossEventLoopGroup != null
+        executors.workerEventLoopGroup != null
+        executors.getExecutor(fileStreamCall, new Metadata()) != null
+        executors.getExecutor(fileStreamCall, new Metadata()) != executors.defaultExecutor
+        executors.getExecutor(pingCall, new Metadata()) == null
+
+        when:
+        executors.close()
+
+        then:
+        executors.defaultExecutor.isShutdown()
+        (executors.getExecutor(fileStreamCall, new Metadata()) as ExecutorService).isShutdown()
+        executors.workerEventLoopGroup.isShuttingDown()
+    }
+}
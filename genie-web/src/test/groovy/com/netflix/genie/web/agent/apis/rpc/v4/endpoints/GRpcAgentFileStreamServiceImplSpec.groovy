@@ -27,7 +27,11 @@ import com.netflix.genie.proto.AgentManifestMessage
 import com.netflix.genie.proto.ServerAckMessage
 import com.netflix.genie.proto.ServerControlMessage
 import com.netflix.genie.proto.ServerFileRequestMessage
+import com.netflix.genie.web.events.AgentReconnectRequestedEvent
 import com.netflix.genie.web.properties.AgentFileStreamProperties
+import com.netflix.genie.web.services.TimerService
+import io.grpc.Status
+import io.grpc.StatusRuntimeException
 import io.grpc.stub.StreamObserver
 import io.micrometer.core.instrument.Counter
 import io.micrometer.core.instrument.DistributionSummary
@@ -52,6 +56,7 @@ class GRpcAgentFileStreamServiceImplSpec extends Specification {
     GRpcAgentFileStreamServiceImpl service
     JobDirectoryManifestProtoConverter converter
     TaskScheduler taskScheduler
+    TimerService timerService
     AgentFileStreamProperties serviceProperties
     MeterRegistry registry
     String jobId
@@ -62,21 +67,22 @@ class GRpcAgentFileStreamServiceImplSpec extends Specification {
     AgentManifestMessage manifestMessage
     StreamObserver<ServerControlMessage> controlStreamResponseObserver
     StreamObserver<ServerAckMessage> transferStreamResponseObserver
-    Runnable stalledTransfersTask
+    List<Runnable> timerTasks
 
     void setup() {
         this.converter = Mock(JobDirectoryManifestProtoConverter)
-        this.taskScheduler = Mock(TaskScheduler) {
-            scheduleAtFixedRate(_ as Runnable, _ as Duration) >> {
+        this.taskScheduler = Mock(TaskScheduler)
+        this.timerTasks = []
+        this.timerService = Mock(TimerService) {
+            schedule(_ as Runnable, _ as Duration) >> {
                 Runnable r, Duration d ->
-                    this.stalledTransfersTask = r
+                    this.timerTasks.add(r)
                     return null
             }
         }
         this.serviceProperties = Mock(AgentFileStreamProperties) {
             getUnclaimedStreamStartTimeout() >> Duration.ofSeconds(3)
             getMaxConcurrentTransfers() >> 10
-            getStalledTransferCheckInterval() >> Duration.ofSeconds(3)
             getWriteRetryDelay() >> Duration.ofMillis(250)
             getStalledTransferTimeout() >> Duration.ofSeconds(5)
             getManifestCacheExpiration() >> Duration.ofSeconds(10)
@@ -94,8 +100,13 @@ class GRpcAgentFileStreamServiceImplSpec extends Specification {
             getLastModifiedTime() >> Instant.now()
             getSize() >> FILE_SIZE
         }
-        this.service = new GRpcAgentFileStreamServiceImpl(converter, taskScheduler, serviceProperties, registry)
-        assert this.stalledTransfersTask != null
+        this.service = new GRpcAgentFileStreamServiceImpl(
+            converter,
+            taskScheduler,
+            timerService,
+            serviceProperties,
+            registry
+        )
     }
 
     def "Get manifest"() {
@@ -254,6 +265,45 @@ class GRpcAgentFileStreamServiceImplSpec extends Specification {
         1 * controlStreamResponseObserver1.onError(_ as IllegalStateException)
     }
 
+    def "Close the control stream of an agent asked to reconnect"() {
+        StreamObserver<AgentManifestMessage> controlStreamRequestObserver
+
+        when: "Control stream established and a file requested"
+        controlStreamRequestObserver = this.service.sync(controlStreamResponseObserver)
+        controlStreamRequestObserver.onNext(manifestMessage)
+        Optional<Resource> resource = service.getResource(jobId, relativePath, uri, null)
+
+        then:
+        1 * converter.toManifest(manifestMessage) >> directoryManifest
+        1 * directoryManifest.getEntry(relativePath.toString()) >> Optional.of(manifestEntry)
+        1 * controlStreamResponseObserver.onNext(_ as ServerControlMessage)
+        resource.isPresent()
+        service.getActiveTransfersCount() == 1
+
+        when: "Another job's agent is asked to reconnect"
+        service.onApplicationEvent(new AgentReconnectRequestedEvent(UUID.randomUUID().toString(), this))
+
+        then:
+        0 * controlStreamResponseObserver._
+
+        when: "The agent is asked to reconnect"
+        service.onApplicationEvent(new AgentReconnectRequestedEvent(jobId, this))
+
+        then: "The control stream is closed but the transfer goes on"
+        1 * controlStreamResponseObserver.onError(
+            { it instanceof StatusRuntimeException && it.getStatus().getCode() == Status.Code.UNAVAILABLE }
+        )
+        service.getActiveTransfersCount() == 1
+
+        when: "Request another file"
+        resource = service.getResource(jobId, relativePath, uri, null)
+
+        then:
+        1 * directoryManifest.getEntry(relativePath.toString()) >> Optional.of(manifestEntry)
+        0 * controlStreamResponseObserver._
+        !resource.isPresent()
+    }
+
     def "Handle control stream error"() {
         StreamObserver<ServerControlMessage> controlStreamResponseObserver1 = Mock(StreamObserver)
         StreamObserver<AgentManifestMessage> controlStreamRequestObserver1
@@ -327,8 +377,8 @@ class GRpcAgentFileStreamServiceImplSpec extends Specification {
 
         then:
         transferStreamRequestObserver != null
-        1 * taskScheduler.schedule(_ as Runnable, _ as Instant) >> {
-            Runnable r, Instant i ->
+        1 * timerService.schedule(_ as Runnable, Duration.ofSeconds(3)) >> {
+            Runnable r, Duration d ->
                 streamTimeoutTask = r
                 return null
         }
@@ -341,7 +391,7 @@ class GRpcAgentFileStreamServiceImplSpec extends Specification {
 
         when: "Both timeout tasks run"
         streamTimeoutTask.run()
-        stalledTransfersTask.run()
+        this.runTimerTasks()
 
         then:
         noExceptionThrown()
@@ -458,7 +508,7 @@ class GRpcAgentFileStreamServiceImplSpec extends Specification {
 
         then:
         transferStreamRequestObserver != null
-        1 * taskScheduler.schedule(_ as Runnable, _ as Instant)
+        1 * timerService.schedule(_ as Runnable, Duration.ofSeconds(3))
         1 * taskScheduler.schedule(_ as Runnable, _ as Date) >> {
             runnable, date ->
                 runnable.run()
@@ -546,7 +596,7 @@ class GRpcAgentFileStreamServiceImplSpec extends Specification {
         1 * directoryManifest.getEntry(relativePath.toString()) >> Optional.of(manifestEntry)
         2 * manifestEntry.getSize() >> fileSize
         0 * controlStreamResponseObserver.onNext(_ as ServerControlMessage)
-        0 * taskScheduler.schedule(_ as Runnable, _ as Instant)
+        0 * timerService.schedule(_, _)
         resource.isPresent()
 
         when: "Read data"
@@ -586,7 +636,7 @@ class GRpcAgentFileStreamServiceImplSpec extends Specification {
         resource.isPresent()
 
         when: "Timeout transfer before transfer stream is established"
-        stalledTransfersTask.run()
+        this.runTimerTasks()
 
         then:
         1 * serviceProperties.getStalledTransferTimeout() >> Duration.ofSeconds(-1)
@@ -609,8 +659,8 @@ class GRpcAgentFileStreamServiceImplSpec extends Specification {
         transferStreamRequestObserver = this.service.transmit(transferStreamResponseObserver)
 
         then:
-        1 * taskScheduler.schedule(_ as Runnable, _ as Instant) >> {
-            Runnable r, Instant i ->
+        1 * timerService.schedule(_ as Runnable, Duration.ofSeconds(3)) >> {
+            Runnable r, Duration d ->
                 streamTimeoutTask = r
                 return null
         }
@@ -619,7 +669,7 @@ class GRpcAgentFileStreamServiceImplSpec extends Specification {
         streamTimeoutTask != null
 
         when: "Timeout transfer before the stream sends its first message"
-        stalledTransfersTask.run()
+        this.runTimerTasks()
 
         then:
         1 * serviceProperties.getStalledTransferTimeout() >> Duration.ofSeconds(-1)
@@ -648,8 +698,8 @@ class GRpcAgentFileStreamServiceImplSpec extends Specification {
 
         then:
         transferStreamRequestObserver != null
-        1 * taskScheduler.schedule(_ as Runnable, _ as Instant) >> {
-            Runnable r, Instant i ->
+        1 * timerService.schedule(_ as Runnable, Duration.ofSeconds(3)) >> {
+            Runnable r, Duration d ->
                 streamTimeoutTask = r
                 return null
         }
@@ -672,8 +722,8 @@ class GRpcAgentFileStreamServiceImplSpec extends Specification {
 
         then:
         transferStreamRequestObserver != null
-        1 * taskScheduler.schedule(_ as Runnable, _ as Instant) >> {
-            Runnable r, Instant i ->
+        1 * timerService.schedule(_ as Runnable, Duration.ofSeconds(3)) >> {
+            Runnable r, Duration d ->
                 streamTimeoutTask = r
                 return null
         }
@@ -790,7 +840,7 @@ class GRpcAgentFileStreamServiceImplSpec extends Specification {
         !resource3.isPresent()
 
         when: "One of the transfers times out"
-        stalledTransfersTask.run()
+        this.runTimerTasks()
 
         then:
         2 * serviceProperties.getStalledTransferTimeout() >> Duration.ofSeconds(-1) >> Duration.ofSeconds(100)
@@ -804,4 +854,10 @@ class GRpcAgentFileStreamServiceImplSpec extends Specification {
         1 * controlStreamResponseObserver.onNext(_ as ServerControlMessage)
         resource3.isPresent()
     }
+
+    private void runTimerTasks() {
+        def tasks = new ArrayList<Runnable>(this.timerTasks)
+        this.timerTasks.clear()
+        tasks.each { it.run() }
+    }
 }
@@ -0,0 +1,279 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.agent.apis.rpc.v4.endpoints
+
+import com.netflix.genie.proto.AgentHeartBeat
+import com.netflix.genie.proto.AgentSessionMessage
+import com.netflix.genie.proto.JobKillRegistrationRequest
+import com.netflix.genie.proto.JobKillRegistrationResponse
+import com.netflix.genie.proto.JobKillServiceGrpc
+import com.netflix.genie.proto.ServerHeartBeat
+import com.netflix.genie.proto.ServerSessionMessage
+import com.netflix.genie.web.agent.services.AgentConnectionTrackingService
+import com.netflix.genie.web.events.AgentReconnectRequestedEvent
+import com.netflix.genie.web.properties.HeartBeatProperties
+import io.grpc.Status
+import io.grpc.StatusRuntimeException
+import io.grpc.stub.StreamObserver
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.scheduling.TaskScheduler
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.ScheduledFuture
+
+/**
+ * Specifications for {@link GRpcAgentSessionServiceImpl}.
+ */
+class GRpcAgentSessionServiceImplSpec extends Specification {
+    AgentConnectionTrackingService agentConnectionTrackingService
+    JobKillServiceGrpc.JobKillServiceImplBase jobKillService
+    GRpcAgentSessionServiceImpl service
+    TaskScheduler taskScheduler
+    ScheduledFuture taskFuture
+    Runnable task
+    SimpleMeterRegistry registry
+
+    void setup() {
+        this.taskFuture = Mock(ScheduledFuture)
+        this.taskScheduler = Mock(TaskScheduler) {
+            scheduleWithFixedDelay(_ as Runnable, _ as Duration) >> {
+                args ->
+                    this.task = args[0] as Runnable
+                    return taskFuture
+            }
+        }
+        this.agentConnectionTrackingService = Mock(AgentConnectionTrackingService)
+        this.jobKillService = Mock(JobKillServiceGrpc.JobKillServiceImplBase)
+        this.registry = new SimpleMeterRegistry()
+        this.service = new GRpcAgentSessionServiceImpl(
+            agentConnectionTrackingService,
+            jobKillService,
+            new HeartBeatProperties(),
+            taskScheduler,
+            registry
+        )
+        assert task != null
+    }
+
+    void cleanup() {
+        if (this.service != null) {
+            this.service.shutdown()
+        }
+    }
+
+    def "Connect, heartbeat twice, receive kill, disconnect"() {
+        setup:
+        String jobId = UUID.randomUUID().toString()
+        StreamObserver<ServerSessionMessage> responseObserver = Mock(StreamObserver)
+        StreamObserver<JobKillRegistrationResponse> killObserver
+        String streamId
+
+        when:
+        StreamObserver<AgentSessionMessage> requestObserver = service.session(responseObserver)
+
+        then:
+        requestObserver != null
+        registry.get("genie.agents.sessions.gauge").gauge().value() == 1
+
+        when:
+        requestObserver.onNext(heartbeat(""))
+
+        then:
+        0 * agentConnectionTrackingService._
+        0 * jobKillService._
+
+        when:
+        requestObserver.onNext(heartbeat(jobId))
+
+        then:
+        1 * jobKillService.registerForKillNotification(
+            JobKillRegistrationRequest.newBuilder().setJobId(jobId).build(),
+            _ as StreamObserver
+        ) >> {
+            args ->
+                killObserver = args[1] as StreamObserver<JobKillRegistrationResponse>
+        }
+        1 * agentConnectionTrackingService.notifyHeartbeat(_ as String, jobId) >> {
+            args ->
+                streamId = args[0] as String
+        }
+        killObserver != null
+        streamId != null
+
+        when:
+        requestObserver.onNext(heartbeat(jobId))
+
+        then:
+        0 * jobKillService._
+        1 * agentConnectionTrackingService.notifyHeartbeat(streamId, jobId)
+
+        when:
+        killObserver.onNext(JobKillRegistrationResponse.newBuilder().build())
+        killObserver.onCompleted()
+
+        then:
+        1 * responseObserver.onNext(
+            ServerSessionMessage.newBuilder().setKill(JobKillRegistrationResponse.newBuilder().build()).build()
+        )
+        0 * responseObserver.onCompleted()
+
+        when:
+        requestObserver.onCompleted()
+
+        then:
+        1 * agentConnectionTrackingService.notifyDisconnected(streamId, jobId)
+        1 * responseObserver.onCompleted()
+        registry.get("genie.agents.sessions.gauge").gauge().value() == 0
+
+        when:
+        requestObserver.onNext(heartbeat(jobId))
+        requestObserver.onCompleted()
+        requestObserver.onError(new RuntimeException())
+
+        then:
+        0 * agentConnectionTrackingService._
+        0 * jobKillService._
+        0 * responseObserver.onCompleted()
+    }
+
+    def "Connect, heartbeat, error"() {
+        setup:
+        String jobId = UUID.randomUUID().toString()
+        StreamObserver<ServerSessionMessage> responseObserver = Mock(StreamObserver)
+        String streamId
+
+        when:
+        StreamObserver<AgentSessionMessage> requestObserver = service.session(responseObserver)
+        requestObserver.onNext(heartbeat(jobId))
+
+        then:
+        1 * jobKillService.registerForKillNotification(_, _)
+        1 * agentConnectionTrackingService.notifyHeartbeat(_ as String, jobId) >> {
+            args ->
+                streamId = args[0] as String
+        }
+
+        when:
+        requestObserver.onError(new RuntimeException())
+
+        then:
+        1 * agentConnectionTrackingService.notifyDisconnected(streamId, jobId)
+        0 * responseObserver.onCompleted()
+    }
+
+    def "Ask agent to reconnect"() {
+        setup:
+        String jobId = UUID.randomUUID().toString()
+        StreamObserver<ServerSessionMessage> responseObserver = Mock(StreamObserver)
+        String streamId
+
+        when:
+        StreamObserver<AgentSessionMessage> requestObserver = service.session(responseObserver)
+        requestObserver.onNext(heartbeat(jobId))
+
+        then:
+        1 * jobKillService.registerForKillNotification(_, _)
+        1 * agentConnectionTrackingService.notifyHeartbeat(_ as String, jobId) >> {
+            args ->
+                streamId = args[0] as String
+        }
+
+        when:
+        service.onApplicationEvent(new AgentReconnectRequestedEvent(UUID.randomUUID().toString(), this))
+
+        then:
+        0 * agentConnectionTrackingService._
+        0 * responseObserver._
+
+        when:
+        service.onApplicationEvent(new AgentReconnectRequestedEvent(jobId, this))
+
+        then:
+        1 * agentConnectionTrackingService.notifyDisconnected(streamId, jobId)
+        1 * responseObserver.onNext(
+            ServerSessionMessage.newBuilder().setHeartbeat(ServerHeartBeat.newBuilder().setReconnect(true)).build()
+        )
+        1 * responseObserver.onCompleted()
+
+        when:
+        requestObserver.onCompleted()
+        task.run()
+
+        then:
+        0 * agentConnectionTrackingService._
+        0 * responseObserver._
+    }
+
+    def "Send server heartbeats, drop broken sessions and close the others on shutdown"() {
+        setup:
+        String jobId1 = UUID.randomUUID().toString()
+        String jobId2 = UUID.randomUUID().toString()
+        StreamObserver<ServerSessionMessage> responseObserver1 = Mock(StreamObserver)
+        StreamObserver<ServerSessionMessage> responseObserver2 = Mock(StreamObserver)
+        StreamObserver<ServerSessionMessage> responseObserver3 = Mock(StreamObserver)
+        String streamId1
+        String streamId2
+
+        when:
+        StreamObserver<AgentSessionMessage> requestObserver1 = service.session(responseObserver1)
+        StreamObserver<AgentSessionMessage> requestObserver2 = service.session(responseObserver2)
+        service.session(responseObserver3)
+        requestObserver1.onNext(heartbeat(jobId1))
+        requestObserver2.onNext(heartbeat(jobId2))
+
+        then:
+        2 * jobKillService.registerForKillNotification(_, _)
+        1 * agentConnectionTrackingService.notifyHeartbeat(_ as String, jobId1) >> {
+            args ->
+                streamId1 = args[0] as String
+        }
+        1 * agentConnectionTrackingService.notifyHeartbeat(_ as String, jobId2) >> {
+            args ->
+                streamId2 = args[0] as String
+        }
+
+        when:
+        task.run()
+
+        then:
+        1 * responseObserver1.onNext(_ as ServerSessionMessage) >> { throw new StatusRuntimeException(Status.CANCELLED) }
+        1 * responseObserver2.onNext({ ServerSessionMessage message -> message.hasHeartbeat() })
+        1 * responseObserver3.onNext(_ as ServerSessionMessage) >> { throw new IllegalStateException() }
+        1 * agentConnectionTrackingService.notifyDisconnected(streamId1, jobId1)
+        0 * agentConnectionTrackingService._
+        registry.get("genie.agents.sessions.gauge").gauge().value() == 1
+
+        when:
+        service.shutdown()
+        service = null
+
+        then:
+        1 * taskFuture.cancel(false)
+        1 * agentConnectionTrackingService.notifyDisconnected(streamId2, jobId2)
+        0 * responseObserver1.onCompleted()
+        1 * responseObserver2.onCompleted()
+        0 * responseObserver3.onCompleted()
+    }
+
+    private static AgentSessionMessage heartbeat(final String jobId) {
+        return AgentSessionMessage.newBuilder()
+            .setHeartbeat(AgentHeartBeat.newBuilder().setClaimedJobId(jobId).build())
+            .build()
+    }
+}
@@ -20,6 +20,7 @@ package com.netflix.genie.web.agent.apis.rpc.v4.endpoints
 import com.netflix.genie.proto.AgentHeartBeat
 import com.netflix.genie.proto.ServerHeartBeat
 import com.netflix.genie.web.agent.services.AgentConnectionTrackingService
+import com.netflix.genie.web.events.AgentReconnectRequestedEvent
 import com.netflix.genie.web.properties.HeartBeatProperties
 import io.grpc.Status
 import io.grpc.StatusRuntimeException
@@ -323,4 +324,43 @@ class GRpcHeartBeatServiceImplSpec extends Specification {
         1 * responseObserver.onCompleted()
     }
 
+    def "Ask agent to reconnect"() {
+        setup:
+        String jobId1 = UUID.randomUUID().toString()
+        String jobId2 = UUID.randomUUID().toString()
+        StreamObserver<ServerHeartBeat> responseObserver1 = Mock(StreamObserver)
+        StreamObserver<ServerHeartBeat> responseObserver2 = Mock(StreamObserver)
+        String streamId1
+
+        when:
+        StreamObserver<AgentHeartBeat> requestObserver1 = service.heartbeat(responseObserver1)
+        StreamObserver<AgentHeartBeat> requestObserver2 = service.heartbeat(responseObserver2)
+        requestObserver1.onNext(AgentHeartBeat.newBuilder().setClaimedJobId(jobId1).build())
+        requestObserver2.onNext(AgentHeartBeat.newBuilder().setClaimedJobId(jobId2).build())
+
+        then:
+        1 * agentConnectionTrackingService.notifyHeartbeat(_ as String, jobId1) >> {
+            args ->
+                streamId1 = args[0] as String
+        }
+        1 * agentConnectionTrackingService.notifyHeartbeat(_ as String, jobId2)
+
+        when:
+        service.onApplicationEvent(new AgentReconnectRequestedEvent(jobId1, this))
+
+        then:
+        1 * agentConnectionTrackingService.notifyDisconnected(streamId1, jobId1)
+        1 * responseObserver1.onNext(ServerHeartBeat.newBuilder().setReconnect(true).build())
+        1 * responseObserver1.onCompleted()
+        0 * responseObserver2._
+
+        when: "The agent completes its end of the stream"
+        requestObserver1.onCompleted()
+        task.run()
+
+        then: "The stream is no longer tracked"
+        0 * agentConnectionTrackingService.notifyDisconnected(_, _)
+        0 * responseObserver1._
+        1 * responseObserver2.onNext(ServerHeartBeat.getDefaultInstance())
+    }
 }
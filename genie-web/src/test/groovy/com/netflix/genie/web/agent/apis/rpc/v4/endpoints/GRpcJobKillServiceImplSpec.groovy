@@ -26,12 +26,18 @@ import com.netflix.genie.proto.JobKillRegistrationResponse
 import com.netflix.genie.web.agent.services.AgentRoutingService
 import com.netflix.genie.web.data.services.DataServices
 import com.netflix.genie.web.data.services.PersistenceService
+import com.netflix.genie.web.events.AgentReconnectRequestedEvent
 import com.netflix.genie.web.exceptions.checked.NotFoundException
 import com.netflix.genie.web.services.RequestForwardingService
+import com.netflix.genie.web.services.TimerService
+import io.grpc.Status
+import io.grpc.StatusRuntimeException
+import io.grpc.stub.ServerCallStreamObserver
 import io.grpc.stub.StreamObserver
 import spock.lang.Specification
 
 import jakarta.servlet.http.HttpServletRequest
+import java.time.Duration
 
 /**
  * Specifications for the {@link GRpcJobKillServiceImpl} class.
@@ -51,6 +57,7 @@ class GRpcJobKillServiceImplSpec extends Specification {
     RequestForwardingService requestForwardingService
     StreamObserver<JobKillRegistrationResponse> responseObserver = Mock()
     HttpServletRequest servletRequest
+    List<Runnable> orphanChecks
 
     void setup() {
         this.persistenceService = Mock(PersistenceService)
@@ -64,7 +71,19 @@ class GRpcJobKillServiceImplSpec extends Specification {
         def dataServices = Mock(DataServices) {
             getPersistenceService() >> this.persistenceService
         }
-        def service = new GRpcJobKillServiceImpl(dataServices, this.agentRoutingService, this.requestForwardingService)
+        this.orphanChecks = []
+        def timerService = Mock(TimerService) {
+            schedule(_ as Runnable, Duration.ofSeconds(30)) >> { Runnable r, Duration d ->
+                this.orphanChecks.add(r)
+                return { -> true } as TimerService.Timeout
+            }
+        }
+        def service = new GRpcJobKillServiceImpl(
+            dataServices,
+            this.agentRoutingService,
+            this.requestForwardingService,
+            timerService
+        )
 
         this.serviceSpy = Spy(service);
         this.servletRequest = Mock(HttpServletRequest)
@@ -90,6 +109,44 @@ class GRpcJobKillServiceImplSpec extends Specification {
         this.serviceSpy.getParkedJobKillResponseObservers().size() == 1
         this.serviceSpy.getParkedJobKillResponseObservers().get(this.jobId) != this.responseObserver
         1 * this.responseObserver.onCompleted()
+
+        when: "The orphan checks run"
+        this.runOrphanChecks()
+
+        then: "Only the current observer is checked, again later"
+        1 * this.agentRoutingService.isAgentConnectionLocal(this.jobId) >> true
+        this.serviceSpy.getParkedJobKillResponseObservers().size() == 1
+        this.orphanChecks.size() == 1
+    }
+
+    def "Fail the parked request of an agent asked to reconnect"() {
+        setup:
+        serviceSpy.isStreamObserverCancelled(_) >> false
+        def otherObserver = Mock(StreamObserver)
+        this.serviceSpy.registerForKillNotification(this.request, this.responseObserver)
+        this.serviceSpy.registerForKillNotification(
+            JobKillRegistrationRequest.newBuilder().setJobId(UUID.randomUUID().toString()).build(),
+            otherObserver
+        )
+
+        when:
+        this.serviceSpy.onApplicationEvent(new AgentReconnectRequestedEvent(this.jobId, this))
+
+        then: "The agent doesn't mistake the failure for a kill notification"
+        1 * this.responseObserver.onError(
+            { it instanceof StatusRuntimeException && it.getStatus().getCode() == Status.Code.UNAVAILABLE }
+        )
+        0 * this.responseObserver.onNext(_)
+        0 * otherObserver._
+        this.serviceSpy.getParkedJobKillResponseObservers().size() == 1
+        this.serviceSpy.getParkedJobKillResponseObservers().get(this.jobId) == null
+
+        when: "There is no longer a request parked for the job"
+        this.serviceSpy.onApplicationEvent(new AgentReconnectRequestedEvent(this.jobId, this))
+
+        then:
+        0 * this.responseObserver._
+        noExceptionThrown()
     }
 
     def "Kill logic works as expected"() {
@@ -237,7 +294,7 @@ class GRpcJobKillServiceImplSpec extends Specification {
         def jobObserver2 = Mock(StreamObserver)
 
         when: "Nothing is registered"
-        this.serviceSpy.cleanupOrphanedObservers()
+        this.runOrphanChecks()
 
         then: "Nothing happens"
         this.serviceSpy.getParkedJobKillResponseObservers().isEmpty()
@@ -254,7 +311,7 @@ class GRpcJobKillServiceImplSpec extends Specification {
         this.serviceSpy.getParkedJobKillResponseObservers().get(jobId2) == jobObserver2
 
         when: "All jobs still attached locally"
-        this.serviceSpy.cleanupOrphanedObservers()
+        this.runOrphanChecks()
 
         then: "Nothing happens"
         1 * this.agentRoutingService.isAgentConnectionLocal(jobId0) >> true
@@ -269,7 +326,7 @@ class GRpcJobKillServiceImplSpec extends Specification {
         0 * jobObserver2.onCompleted()
 
         when: "The jobs switch servers or complete"
-        this.serviceSpy.cleanupOrphanedObservers()
+        this.runOrphanChecks()
 
         then: "It is removed from the map and the observer is completed"
         1 * this.agentRoutingService.isAgentConnectionLocal(jobId0) >> false
@@ -313,7 +370,7 @@ class GRpcJobKillServiceImplSpec extends Specification {
         this.serviceSpy.getParkedJobKillResponseObservers().get(jobId2) == jobObserver2
 
         when: "The jobs switch servers or complete"
-        this.serviceSpy.cleanupOrphanedObservers()
+        this.runOrphanChecks()
 
         then: "It is removed from the map but the observers are cancelled so no onCompleted"
         1 * this.agentRoutingService.isAgentConnectionLocal(jobId0) >> false
@@ -357,7 +414,7 @@ class GRpcJobKillServiceImplSpec extends Specification {
         this.serviceSpy.getParkedJobKillResponseObservers().get(jobId2) == jobObserver2
 
         when: "The jobs switch servers or complete"
-        this.serviceSpy.cleanupOrphanedObservers()
+        this.runOrphanChecks()
 
         then: "It is removed from the map and onComplete throws exception we catch"
         1 * this.agentRoutingService.isAgentConnectionLocal(jobId0) >> false
@@ -401,7 +458,7 @@ class GRpcJobKillServiceImplSpec extends Specification {
         this.serviceSpy.getParkedJobKillResponseObservers().get(jobId2) == jobObserver2
 
         when: "The jobs switch servers or complete"
-        this.serviceSpy.cleanupOrphanedObservers()
+        this.runOrphanChecks()
 
         then: "It is removed from the map and onComplete throws exception we catch"
         1 * this.agentRoutingService.isAgentConnectionLocal(jobId0) >> { throw new RuntimeException("Mock exception") }
@@ -416,4 +473,27 @@ class GRpcJobKillServiceImplSpec extends Specification {
         0 * jobObserver2.onCompleted()
         noExceptionThrown()
     }
+
+    def "Only server call observers can be cancelled"() {
+        def serverCallObserver = Mock(ServerCallStreamObserver)
+
+        when:
+        def cancelled = this.serviceSpy.isStreamObserverCancelled(serverCallObserver)
+
+        then:
+        1 * serverCallObserver.isCancelled() >> true
+        cancelled
+
+        when: "Observers parked by agent sessions aren't cancelled by the client"
+        cancelled = this.serviceSpy.isStreamObserverCancelled(Mock(StreamObserver))
+
+        then:
+        !cancelled
+    }
+
+    private void runOrphanChecks() {
+        def checks = new ArrayList<Runnable>(this.orphanChecks)
+        this.orphanChecks.clear()
+        checks.each { it.run() }
+    }
 }
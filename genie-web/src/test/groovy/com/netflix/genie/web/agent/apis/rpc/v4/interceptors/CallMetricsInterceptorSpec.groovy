@@ -0,0 +1,124 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.agent.apis.rpc.v4.interceptors
+
+import com.netflix.genie.proto.PingServiceGrpc
+import com.netflix.genie.web.util.MetricsConstants
+import io.grpc.Metadata
+import io.grpc.ServerCall
+import io.grpc.ServerCallHandler
+import io.grpc.Status
+import io.micrometer.core.instrument.Tags
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+/**
+ * Specifications for {@link CallMetricsInterceptor}.
+ */
+class CallMetricsInterceptorSpec extends Specification {
+
+    SimpleMeterRegistry registry
+    CallMetricsInterceptor interceptor
+    ServerCall call
+    ServerCallHandler next
+    ServerCall.Listener delegateListener
+    Metadata headers
+    Tags methodTags
+
+    def setup() {
+        def method = PingServiceGrpc.getPingMethod()
+        this.registry = new SimpleMeterRegistry()
+        this.interceptor = new CallMetricsInterceptor(this.registry)
+        this.call = Mock(ServerCall) {
+            getMethodDescriptor() >> method
+        }
+        this.next = Mock(ServerCallHandler)
+        this.delegateListener = Mock(ServerCall.Listener)
+        this.headers = new Metadata()
+        this.methodTags = Tags.of(
+            CallMetricsInterceptor.SERVICE_TAG, method.getServiceName(),
+            CallMetricsInterceptor.METHOD_TAG, method.getBareMethodName()
+        )
+    }
+
+    def "Records closed calls"() {
+        ServerCall interceptedCall = null
+
+        when:
+        def listener = this.interceptor.interceptCall(this.call, this.headers, this.next)
+
+        then:
+        1 * this.next.startCall(_ as ServerCall, this.headers) >> { args ->
+            interceptedCall = args[0] as ServerCall
+            return this.delegateListener
+        }
+        inFlightCalls() == 1
+
+        when:
+        interceptedCall.close(Status.OK, new Metadata())
+
+        then:
+        1 * this.call.close(Status.OK, _ as Metadata)
+        inFlightCalls() == 0
+        callCount(Status.Code.OK) == 1
+
+        when: "The call is cancelled after being closed"
+        listener.onCancel()
+
+        then:
+        1 * this.delegateListener.onCancel()
+        inFlightCalls() == 0
+        callCount(Status.Code.OK) == 1
+        callCount(Status.Code.CANCELLED) == 0
+    }
+
+    def "Records cancelled calls"() {
+        when:
+        def listener = this.interceptor.interceptCall(this.call, this.headers, this.next)
+        listener.onCancel()
+
+        then:
+        1 * this.next.startCall(_ as ServerCall, this.headers) >> this.delegateListener
+        1 * this.delegateListener.onCancel()
+        inFlightCalls() == 0
+        callCount(Status.Code.CANCELLED) == 1
+    }
+
+    def "Records calls failing to start"() {
+        when:
+        this.interceptor.interceptCall(this.call, this.headers, this.next)
+
+        then:
+        1 * this.next.startCall(_ as ServerCall, this.headers) >> { throw new IllegalStateException("test") }
+        thrown(IllegalStateException)
+        inFlightCalls() == 0
+        callCount(Status.Code.UNKNOWN) == 1
+    }
+
+    private double inFlightCalls() {
+        return this.registry.get(CallMetricsInterceptor.IN_FLIGHT_GAUGE_NAME).tags(this.methodTags).gauge().value()
+    }
+
+    private long callCount(final Status.Code code) {
+        def timer = this.registry
+            .find(CallMetricsInterceptor.CALL_TIMER_NAME)
+            .tags(this.methodTags.and(MetricsConstants.TagKeys.STATUS, code.name()))
+            .timer()
+        return timer == null ? 0L : timer.count()
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.agent.launchers.impl
+
+import com.netflix.genie.common.internal.dtos.JobStatus
+import com.netflix.genie.web.data.services.PersistenceService
+import com.netflix.genie.web.data.services.impl.jpa.queries.aggregates.JobInfoAggregate
+import com.netflix.genie.web.exceptions.checked.NotFoundException
+import com.netflix.genie.web.properties.LocalAgentLauncherProperties
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Specifications for {@link HostCapacityLedger}.
+ */
+class HostCapacityLedgerSpec extends Specification {
+
+    PersistenceService persistenceService
+    LocalAgentLauncherProperties properties
+    HostCapacityLedger ledger
+
+    def setup() {
+        this.persistenceService = Mock(PersistenceService)
+        this.properties = new LocalAgentLauncherProperties()
+        this.properties.setMaxTotalJobMemory(10_000L)
+        this.properties.setMaxTotalJobCpu(8)
+        this.properties.setMaxActiveJobs(3)
+        this.ledger = new HostCapacityLedger(this.persistenceService, this.properties)
+    }
+
+    def "Reservations are admitted within each limit"() {
+        expect:
+        !this.ledger.tryReserve("job1", 4_000L, 2).isPresent()
+        !this.ledger.tryReserve("job2", 4_000L, 2).isPresent()
+        this.ledger.tryReserve("job3", 4_000L, 1) == Optional.of(new HostCapacityLedger.Usage(8_000L, 4L, 2L))
+        this.ledger.tryReserve("job3", 1_000L, 5) == Optional.of(new HostCapacityLedger.Usage(8_000L, 4L, 2L))
+        !this.ledger.tryReserve("job3", 1_000L, 4).isPresent()
+        this.ledger.tryReserve("job4", 1L, 0) == Optional.of(new HostCapacityLedger.Usage(9_000L, 8L, 3L))
+
+        when:
+        this.ledger.release("job2")
+        this.ledger.release("job2")
+        this.ledger.release("unknown")
+
+        then:
+        this.ledger.getUsage() == new HostCapacityLedger.Usage(5_000L, 6L, 2L)
+
+        when: "A job is reserved again"
+        def result = this.ledger.tryReserve("job3", 1_000L, 0)
+
+        then: "It isn't counted twice"
+        !result.isPresent()
+        this.ledger.getUsage() == new HostCapacityLedger.Usage(5_000L, 6L, 2L)
+        !this.ledger.tryReserve("job4", 5_000L, 2).isPresent()
+        this.ledger.getUsage() == new HostCapacityLedger.Usage(10_000L, 8L, 3L)
+    }
+
+    def "CPU and job limits can be disabled"() {
+        this.properties.setMaxTotalJobCpu(0)
+        this.properties.setMaxActiveJobs(0)
+
+        expect:
+        (1..100).every { !this.ledger.tryReserve("job" + it, 100L, 16).isPresent() }
+        this.ledger.getUsage() == new HostCapacityLedger.Usage(10_000L, 1_600L, 100L)
+        this.ledger.tryReserve("job101", 1L, 1).isPresent()
+    }
+
+    def "Reconciles with the database"() {
+        this.properties.setMaxTotalJobCpu(0)
+        this.properties.setMaxActiveJobs(0)
+        def hostInfo = Mock(JobInfoAggregate) {
+            getTotalMemoryUsed() >> 6_000L
+            getTotalCpuUsed() >> 5L
+            getNumberOfActiveJobs() >> 2L
+        }
+        // The statuses of each job, as looked up before and after reading the host information
+        def statuses = [
+            claimed          : [JobStatus.RUNNING, JobStatus.INIT],
+            claimedInBetween : [JobStatus.ACCEPTED],
+            finishedInBetween: [JobStatus.CLAIMED, JobStatus.FAILED]
+        ]
+
+        when: "No job was launched from this node"
+        def result = this.ledger.reconcile({ hostInfo })
+
+        then:
+        result == hostInfo
+        0 * this.persistenceService.getJobStatus(_)
+        this.ledger.getUsage() == new HostCapacityLedger.Usage(6_000L, 5L, 2L)
+
+        when: "Jobs were launched since"
+        this.ledger.tryReserve("claimed", 1_000L, 1)
+        this.ledger.tryReserve("claimedInBetween", 1_000L, 1)
+        this.ledger.tryReserve("finishedInBetween", 1_000L, 1)
+        this.ledger.reconcile({ hostInfo })
+
+        then: "Only the jobs claimed both before and after reading the host information are part of it"
+        5 * this.persistenceService.getJobStatus(_) >> { String jobId -> statuses[jobId].remove(0) }
+        this.ledger.getUsage() == new HostCapacityLedger.Usage(7_000L, 6L, 3L)
+
+        when: "Jobs finished"
+        this.ledger.tryReserve("unknown", 1_000L, 1)
+        this.ledger.reconcile({ hostInfo })
+
+        then: "Their reservations are released"
+        3 * this.persistenceService.getJobStatus(_) >> { String jobId ->
+            if (jobId == "unknown") {
+                throw new NotFoundException("No job")
+            }
+            return JobStatus.SUCCEEDED
+        }
+        this.ledger.getUsage() == new HostCapacityLedger.Usage(6_000L, 5L, 2L)
+
+        when: "The host information is unavailable"
+        result = this.ledger.reconcile({ null })
+
+        then: "The ledger is unchanged"
+        0 * this.persistenceService.getJobStatus(_)
+        result == null
+        this.ledger.getUsage() == new HostCapacityLedger.Usage(6_000L, 5L, 2L)
+    }
+
+    def "Concurrent reservations don't exceed the limits"() {
+        this.properties.setMaxTotalJobCpu(0)
+        this.properties.setMaxActiveJobs(0)
+        def executor = Executors.newFixedThreadPool(8)
+        def start = new CountDownLatch(1)
+        def admitted = new AtomicInteger()
+
+        when:
+        (1..1_000).each { i ->
+            executor.execute {
+                start.await()
+                if (!this.ledger.tryReserve("job" + i, 100L, 1).isPresent()) {
+                    admitted.incrementAndGet()
+                }
+            }
+        }
+        start.countDown()
+        executor.shutdown()
+
+        then:
+        executor.awaitTermination(10, TimeUnit.SECONDS)
+        admitted.get() == 100
+        this.ledger.getUsage() == new HostCapacityLedger.Usage(10_000L, 100L, 100L)
+    }
+}
@@ -21,10 +21,12 @@ import brave.Span
 import brave.Tracer
 import brave.propagation.TraceContext
 import com.fasterxml.jackson.databind.JsonNode
+import com.netflix.genie.common.external.util.GenieObjectMapper
 import com.netflix.genie.common.internal.dtos.ComputeResources
 import com.netflix.genie.common.internal.dtos.JobEnvironment
 import com.netflix.genie.common.internal.dtos.JobMetadata
 import com.netflix.genie.common.internal.dtos.JobSpecification
+import com.netflix.genie.common.internal.dtos.JobStatus
 import com.netflix.genie.common.internal.tracing.brave.BraveTagAdapter
 import com.netflix.genie.common.internal.tracing.brave.BraveTracePropagator
 import com.netflix.genie.common.internal.tracing.brave.BraveTracingCleanup
@@ -33,6 +35,8 @@ import com.netflix.genie.web.data.services.DataServices
 import com.netflix.genie.web.data.services.PersistenceService
 import com.netflix.genie.web.data.services.impl.jpa.queries.aggregates.JobInfoAggregate
 import com.netflix.genie.web.dtos.ResolvedJob
+import com.netflix.genie.web.events.JobStateChangeEvent
+import com.netflix.genie.web.exceptions.checked.AgentLaunchException
 import com.netflix.genie.web.introspection.GenieWebHostInfo
 import com.netflix.genie.web.introspection.GenieWebRpcInfo
 import com.netflix.genie.web.properties.LocalAgentLauncherProperties
@@ -44,8 +48,15 @@ import org.apache.commons.exec.Executor
 import org.apache.commons.lang3.SystemUtils
 import org.springframework.boot.actuate.health.Status
 import spock.lang.Specification
+import spock.lang.TempDir
 import spock.lang.Unroll
 
+import java.net.StandardProtocolFamily
+import java.net.UnixDomainSocketAddress
+import java.nio.channels.Channels
+import java.nio.channels.ServerSocketChannel
+import java.nio.charset.StandardCharsets
+import java.nio.file.Path
 import java.time.Duration
 
 /**
@@ -94,6 +105,9 @@ class LocalAgentLauncherImplSpec extends Specification {
     BraveTracePropagator tracePropagator
     BraveTracingComponents tracingComponents
 
+    @TempDir
+    Path temporaryFolder
+
     def setup() {
         this.hostname = UUID.randomUUID().toString()
         this.hostInfo = Mock(GenieWebHostInfo) {
@@ -161,9 +175,11 @@ class LocalAgentLauncherImplSpec extends Specification {
         then:
         1 * this.executorFactory.newInstance(false) >> this.sharedExecutor
         1 * this.persistenceService.getHostJobInformation(this.hostname) >> jobInfo
-        1 * jobInfo.getNumberOfActiveJobs() >> 3L
+        2 * jobInfo.getNumberOfActiveJobs() >> 3L
         1 * jobInfo.getTotalMemoryAllocated() >> 4_000L
-        0 * jobInfo.getTotalMemoryUsed()
+        1 * jobInfo.getTotalMemoryUsed() >> 4_000L
+        1 * jobInfo.getTotalCpuUsed() >> 3L
+        this.launcher.capacityLedger.getUsage() == new HostCapacityLedger.Usage(4_000L, 3L, 3L)
 
         when:
         Optional<JsonNode> launcherExt = this.launcher.launchAgent(this.resolvedJob, this.requestedLauncherExt)
@@ -180,10 +196,11 @@ class LocalAgentLauncherImplSpec extends Specification {
         1 * this.resolvedJob.getJobEnvironment() >> this.jobEnvironment
         1 * this.jobEnvironment.getComputeResources() >> this.computeResources
         1 * this.computeResources.getMemoryMb() >> Optional.of(this.jobMemory)
+        1 * this.computeResources.getCpu() >> Optional.empty()
         1 * this.resolvedJob.getJobSpecification() >> this.jobSpec
         1 * this.jobSpec.getJob() >> this.job
         1 * this.job.getId() >> JOB_ID
-        1 * this.persistenceService.getUsedMemoryOnHost(this.hostname)
+        0 * this.persistenceService._
         1 * this.tracer.currentSpan() >> currentSpan
         1 * this.tracePropagator.injectForAgent(_ as TraceContext) >> new HashMap<>()
         1 * this.executorFactory.newInstance(true) >> this.executor
@@ -196,6 +213,7 @@ class LocalAgentLauncherImplSpec extends Specification {
                 assert env.size() > 1
         }
         launcherExt.isPresent()
+        this.launcher.capacityLedger.getUsage() == new HostCapacityLedger.Usage(4_000L + this.jobMemory, 4L, 4L)
 
         where:
         runAsUser | expectedCommandLine
@@ -203,6 +221,249 @@ class LocalAgentLauncherImplSpec extends Specification {
         true      | ["sudo", "-E", "-u", USERNAME] + expectedCommandLineBase
     }
 
+    @Unroll
+    def "Launch agent in daemon (accepted: #accepted)"(boolean accepted, int expectedProcessLaunches) {
+        def socketPath = this.temporaryFolder.resolve("daemon.sock")
+        def serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX)
+        serverChannel.bind(UnixDomainSocketAddress.of(socketPath))
+        def request = null
+        def daemon = Thread.start {
+            serverChannel.accept().withCloseable { channel ->
+                request = new BufferedReader(
+                    new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8)
+                ).readLine()
+                def outputStream = Channels.newOutputStream(channel)
+                outputStream.write(("{\"accepted\":" + accepted + "}\n").getBytes(StandardCharsets.UTF_8))
+                outputStream.flush()
+            }
+        }
+        this.launchProperties.setDaemonSocketPath(socketPath.toString())
+        this.launchProperties.setAdditionalEnvironment(this.additionalEnvironment)
+        def jobInfo = Mock(JobInfoAggregate)
+        def currentSpan = Mock(Span) {
+            context() >> TraceContext.newBuilder()
+                .traceId(UUID.randomUUID().getLeastSignificantBits())
+                .spanId(UUID.randomUUID().getLeastSignificantBits())
+                .build()
+        }
+
+        when:
+        this.launcher = new LocalAgentLauncherImpl(
+            this.hostInfo,
+            this.rpcInfo,
+            this.dataServices,
+            this.launchProperties,
+            this.executorFactory,
+            this.tracingComponents,
+            this.meterRegistry
+        )
+
+        then:
+        1 * this.executorFactory.newInstance(false) >> this.sharedExecutor
+        1 * this.persistenceService.getHostJobInformation(this.hostname) >> jobInfo
+
+        when:
+        Optional<JsonNode> launcherExt = this.launcher.launchAgent(this.resolvedJob, this.requestedLauncherExt)
+        daemon.join(10_000L)
+
+        then:
+        1 * this.resolvedJob.getJobMetadata() >> this.jobMetadata
+        1 * this.jobMetadata.getUser() >> USERNAME
+        1 * this.resolvedJob.getJobEnvironment() >> this.jobEnvironment
+        1 * this.jobEnvironment.getComputeResources() >> this.computeResources
+        1 * this.computeResources.getMemoryMb() >> Optional.of(this.jobMemory)
+        1 * this.computeResources.getCpu() >> Optional.of(2)
+        1 * this.resolvedJob.getJobSpecification() >> this.jobSpec
+        1 * this.jobSpec.getJob() >> this.job
+        1 * this.job.getId() >> JOB_ID
+        0 * this.persistenceService._
+        1 * this.tracer.currentSpan() >> currentSpan
+        1 * this.tracePropagator.injectForAgent(_ as TraceContext) >> [traceKey: "traceValue"]
+        expectedProcessLaunches * this.executorFactory.newInstance(true) >> this.executor
+        expectedProcessLaunches * this.executor.execute(_ as CommandLine, _ as Map, _ as LocalAgentLauncherImpl.AgentResultHandler)
+        launcherExt.isPresent()
+        GenieObjectMapper.getMapper().readTree(request as String).get("arguments").collect { it.asText() } == [
+            "exec",
+            "--server-host", HOSTNAME,
+            "--server-port", String.valueOf(RPC_PORT),
+            "--api-job",
+            "--job-id", JOB_ID
+        ]
+        GenieObjectMapper.getMapper().readValue(
+            GenieObjectMapper.getMapper().readTree(request as String).get("environment").traverse(),
+            Map
+        ) == [foo: "bar", traceKey: "traceValue"]
+
+        cleanup:
+        serverChannel.close()
+
+        where:
+        accepted | expectedProcessLaunches
+        true     | 0
+        false    | 1
+    }
+
+    def "Launch agent process when daemon is unreachable"() {
+        this.launchProperties.setDaemonSocketPath(this.temporaryFolder.resolve("missing.sock").toString())
+        this.executorFactory.newInstance(false) >> this.sharedExecutor
+        this.persistenceService.getHostJobInformation(this.hostname) >> Mock(JobInfoAggregate)
+        this.resolvedJob.getJobMetadata() >> this.jobMetadata
+        this.jobMetadata.getUser() >> USERNAME
+        this.resolvedJob.getJobEnvironment() >> this.jobEnvironment
+        this.jobEnvironment.getComputeResources() >> this.computeResources
+        this.computeResources.getMemoryMb() >> Optional.of(this.jobMemory)
+        this.computeResources.getCpu() >> Optional.empty()
+        this.resolvedJob.getJobSpecification() >> this.jobSpec
+        this.jobSpec.getJob() >> this.job
+        this.job.getId() >> JOB_ID
+        this.launcher = new LocalAgentLauncherImpl(
+            this.hostInfo,
+            this.rpcInfo,
+            this.dataServices,
+            this.launchProperties,
+            this.executorFactory,
+            this.tracingComponents,
+            this.meterRegistry
+        )
+
+        when:
+        Optional<JsonNode> launcherExt = this.launcher.launchAgent(this.resolvedJob, this.requestedLauncherExt)
+
+        then:
+        1 * this.executorFactory.newInstance(true) >> this.executor
+        1 * this.executor.execute(_ as CommandLine, _ as Map, _ as LocalAgentLauncherImpl.AgentResultHandler)
+        launcherExt.isPresent()
+    }
+
+    def "Fail the launch when daemon doesn't answer in time"() {
+        def socketPath = this.temporaryFolder.resolve("stalled.sock")
+        def serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX)
+        serverChannel.bind(UnixDomainSocketAddress.of(socketPath))
+        this.launchProperties.setDaemonSocketPath(socketPath.toString())
+        this.launchProperties.setDaemonHandoffTimeout(Duration.ofMillis(200L))
+        this.executorFactory.newInstance(false) >> this.sharedExecutor
+        this.persistenceService.getHostJobInformation(this.hostname) >> Mock(JobInfoAggregate)
+        this.resolvedJob.getJobMetadata() >> this.jobMetadata
+        this.jobMetadata.getUser() >> USERNAME
+        this.resolvedJob.getJobEnvironment() >> this.jobEnvironment
+        this.jobEnvironment.getComputeResources() >> this.computeResources
+        this.computeResources.getMemoryMb() >> Optional.of(this.jobMemory)
+        this.computeResources.getCpu() >> Optional.empty()
+        this.resolvedJob.getJobSpecification() >> this.jobSpec
+        this.jobSpec.getJob() >> this.job
+        this.job.getId() >> JOB_ID
+        this.launcher = new LocalAgentLauncherImpl(
+            this.hostInfo,
+            this.rpcInfo,
+            this.dataServices,
+            this.launchProperties,
+            this.executorFactory,
+            this.tracingComponents,
+            this.meterRegistry
+        )
+
+        when: "The daemon never accepts the connection nor answers, it may still run the job"
+        def start = System.nanoTime()
+        this.launcher.launchAgent(this.resolvedJob, this.requestedLauncherExt)
+
+        then:
+        0 * this.executorFactory.newInstance(true)
+        0 * this.executor.execute(_ as CommandLine, _ as Map, _ as LocalAgentLauncherImpl.AgentResultHandler)
+        def e = thrown(AgentLaunchException)
+        e.getMessage().contains(JOB_ID)
+        Duration.ofNanos(System.nanoTime() - start) < Duration.ofSeconds(5L)
+
+        cleanup:
+        serverChannel.close()
+    }
+
+    def "Launches are admitted within the capacity of the host"() {
+        def otherJobId = UUID.randomUUID().toString()
+        def resultHandler = null
+        this.launchProperties.setMaxActiveJobs(1)
+        this.executorFactory.newInstance(false) >> this.sharedExecutor
+        this.executorFactory.newInstance(true) >> this.executor
+        this.persistenceService.getHostJobInformation(this.hostname) >> Mock(JobInfoAggregate)
+        this.resolvedJob.getJobMetadata() >> this.jobMetadata
+        this.jobMetadata.getUser() >> USERNAME
+        this.resolvedJob.getJobEnvironment() >> this.jobEnvironment
+        this.jobEnvironment.getComputeResources() >> this.computeResources
+        this.computeResources.getMemoryMb() >> Optional.of(this.jobMemory)
+        this.computeResources.getCpu() >> Optional.of(4)
+        this.resolvedJob.getJobSpecification() >> this.jobSpec
+        this.jobSpec.getJob() >> this.job
+        this.job.getId() >>> [JOB_ID, otherJobId, otherJobId]
+        this.launcher = new LocalAgentLauncherImpl(
+            this.hostInfo,
+            this.rpcInfo,
+            this.dataServices,
+            this.launchProperties,
+            this.executorFactory,
+            this.tracingComponents,
+            this.meterRegistry
+        )
+
+        when:
+        this.launcher.launchAgent(this.resolvedJob, this.requestedLauncherExt)
+        this.launcher.launchAgent(this.resolvedJob, this.requestedLauncherExt)
+
+        then: "The second job would exceed the number of jobs allowed"
+        1 * this.executor.execute(_ as CommandLine, _ as Map, _ as LocalAgentLauncherImpl.AgentResultHandler)
+        def e = thrown(AgentLaunchException)
+        e.getMessage().contains(otherJobId)
+        this.launcher.capacityLedger.getUsage() == new HostCapacityLedger.Usage(this.jobMemory, 4L, 1L)
+
+        when: "The first job finished"
+        this.launcher.onApplicationEvent(new JobStateChangeEvent(JOB_ID, JobStatus.RUNNING, JobStatus.SUCCEEDED, this))
+        this.launcher.launchAgent(this.resolvedJob, this.requestedLauncherExt)
+
+        then:
+        1 * this.executor.execute(_ as CommandLine, _ as Map, _ as LocalAgentLauncherImpl.AgentResultHandler) >> {
+            args -> resultHandler = args[2]
+        }
+        this.launcher.capacityLedger.getUsage() == new HostCapacityLedger.Usage(this.jobMemory, 4L, 1L)
+
+        when: "The agent process completed"
+        resultHandler.onProcessComplete(0)
+
+        then:
+        this.launcher.capacityLedger.getUsage() == HostCapacityLedger.Usage.NONE
+    }
+
+    def "Capacity is released if the agent process can't be launched"() {
+        this.executorFactory.newInstance(false) >> this.sharedExecutor
+        this.persistenceService.getHostJobInformation(this.hostname) >> Mock(JobInfoAggregate)
+        this.resolvedJob.getJobMetadata() >> this.jobMetadata
+        this.jobMetadata.getUser() >> USERNAME
+        this.resolvedJob.getJobEnvironment() >> this.jobEnvironment
+        this.jobEnvironment.getComputeResources() >> this.computeResources
+        this.computeResources.getMemoryMb() >> Optional.of(this.jobMemory)
+        this.computeResources.getCpu() >> Optional.empty()
+        this.resolvedJob.getJobSpecification() >> this.jobSpec
+        this.jobSpec.getJob() >> this.job
+        this.job.getId() >> JOB_ID
+        this.launcher = new LocalAgentLauncherImpl(
+            this.hostInfo,
+            this.rpcInfo,
+            this.dataServices,
+            this.launchProperties,
+            this.executorFactory,
+            this.tracingComponents,
+            this.meterRegistry
+        )
+
+        when:
+        this.launcher.launchAgent(this.resolvedJob, this.requestedLauncherExt)
+
+        then:
+        1 * this.executorFactory.newInstance(true) >> this.executor
+        1 * this.executor.execute(_ as CommandLine, _ as Map, _ as LocalAgentLauncherImpl.AgentResultHandler) >> {
+            throw new IOException("nope")
+        }
+        thrown(AgentLaunchException)
+        this.launcher.capacityLedger.getUsage() == HostCapacityLedger.Usage.NONE
+    }
+
     def "Host info calculation throwing error causes system to report down"() {
         def properties = Mock(LocalAgentLauncherProperties) {
             // Protect against test running a really long time
@@ -279,8 +540,9 @@ class LocalAgentLauncherImplSpec extends Specification {
         then: "The system reports healthy and the job info is cached"
         1 * this.persistenceService.getHostJobInformation(this.hostname) >> jobInfo
         2 * jobInfo.getTotalMemoryAllocated() >> maxTotalJobMemory - maxJobMemory
-        1 * jobInfo.getTotalMemoryUsed() >> maxTotalJobMemory - 2 * maxJobMemory
-        2 * jobInfo.getNumberOfActiveJobs() >> 335L
+        2 * jobInfo.getTotalMemoryUsed() >> maxTotalJobMemory - 2 * maxJobMemory
+        1 * jobInfo.getTotalCpuUsed() >> 335L
+        3 * jobInfo.getNumberOfActiveJobs() >> 335L
         health.getStatus() == Status.UP
         health.getDetails().get(LocalAgentLauncherImpl.NUMBER_ACTIVE_JOBS_KEY) == 335L
         health.getDetails().get(LocalAgentLauncherImpl.ALLOCATED_MEMORY_KEY) == maxTotalJobMemory - maxJobMemory
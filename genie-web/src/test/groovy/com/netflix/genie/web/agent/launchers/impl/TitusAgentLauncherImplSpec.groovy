@@ -52,6 +52,10 @@ import org.springframework.web.client.RestTemplate
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
 @SuppressWarnings("GroovyAccessibility")
 class TitusAgentLauncherImplSpec extends Specification {
 
@@ -269,6 +273,146 @@ class TitusAgentLauncherImplSpec extends Specification {
         _ | new RuntimeException("...")
     }
 
+    def "Launch with creation pool (failure: #fail)"() {
+        this.launcherProperties.getCreationPool().setEnabled(true)
+        def retryTemplate = new RetryTemplate()
+        retryTemplate.setRetryPolicy(new NeverRetryPolicy())
+        def pooledLauncher = new TitusAgentLauncherImpl(
+            this.restTemplate,
+            retryTemplate,
+            this.adapter,
+            this.cache,
+            this.genieHostInfo,
+            this.launcherProperties,
+            new BraveTracingComponents(
+                this.tracer,
+                this.tracePropagator,
+                Mock(BraveTracingCleanup),
+                Mock(BraveTagAdapter)
+            ),
+            this.environment,
+            this.registry
+        )
+        Optional<JsonNode> launcherExt = null
+        AgentLaunchException launchException = null
+
+        when:
+        try {
+            launcherExt = pooledLauncher.launchAgent(resolvedJob, null)
+        } catch (AgentLaunchException e) {
+            launchException = e
+        } finally {
+            pooledLauncher.shutdown()
+        }
+
+        then:
+        1 * restTemplate.postForObject(TITUS_ENDPOINT, _ as TitusBatchJobRequest, TitusBatchJobResponse.class) >> {
+            if (fail) {
+                throw new RestClientException("...")
+            }
+            return toTitusResponse("{ \"id\" : \"" + TITUS_JOB_ID + "\" }")
+        }
+        1 * cache.put(JOB_ID, fail ? "-" : TITUS_JOB_ID)
+        (launchException != null) == fail
+        (launcherExt != null && launcherExt.isPresent()) == !fail
+        this.registry.find(TitusJobCreationPool.REQUEST_TIMER).timer().count() == 1
+
+        where:
+        fail << [false, true]
+    }
+
+    def "Launch with creation pool waits for a request sent before the timeout"() {
+        this.launcherProperties.getCreationPool().setEnabled(true)
+        this.launcherProperties.getCreationPool().setTimeout(Duration.ofSeconds(1))
+        def retryTemplate = new RetryTemplate()
+        retryTemplate.setRetryPolicy(new NeverRetryPolicy())
+        def pooledLauncher = new TitusAgentLauncherImpl(
+            this.restTemplate,
+            retryTemplate,
+            this.adapter,
+            this.cache,
+            this.genieHostInfo,
+            this.launcherProperties,
+            new BraveTracingComponents(
+                this.tracer,
+                this.tracePropagator,
+                Mock(BraveTracingCleanup),
+                Mock(BraveTagAdapter)
+            ),
+            this.environment,
+            this.registry
+        )
+
+        when:
+        Optional<JsonNode> launcherExt
+        try {
+            launcherExt = pooledLauncher.launchAgent(resolvedJob, null)
+        } finally {
+            pooledLauncher.shutdown()
+        }
+
+        then:
+        1 * restTemplate.postForObject(TITUS_ENDPOINT, _ as TitusBatchJobRequest, TitusBatchJobResponse.class) >> {
+            Thread.sleep(1_500)
+            return toTitusResponse("{ \"id\" : \"" + TITUS_JOB_ID + "\" }")
+        }
+        1 * cache.put(JOB_ID, TITUS_JOB_ID)
+        launcherExt.isPresent()
+        launcherExt.get().get("titusId").asText() == TITUS_JOB_ID
+    }
+
+    def "Launch with creation pool stops waiting for a sent request when interrupted"() {
+        this.launcherProperties.getCreationPool().setEnabled(true)
+        def retryTemplate = new RetryTemplate()
+        retryTemplate.setRetryPolicy(new NeverRetryPolicy())
+        def pooledLauncher = new TitusAgentLauncherImpl(
+            this.restTemplate,
+            retryTemplate,
+            this.adapter,
+            this.cache,
+            this.genieHostInfo,
+            this.launcherProperties,
+            new BraveTracingComponents(
+                this.tracer,
+                this.tracePropagator,
+                Mock(BraveTracingCleanup),
+                Mock(BraveTagAdapter)
+            ),
+            this.environment,
+            this.registry
+        )
+        def sent = new CountDownLatch(1)
+        def answer = new CountDownLatch(1)
+        Throwable launchException = null
+        boolean interrupted = false
+
+        when:
+        def launch = Thread.start {
+            try {
+                pooledLauncher.launchAgent(resolvedJob, null)
+            } catch (AgentLaunchException e) {
+                launchException = e
+            }
+            interrupted = Thread.currentThread().isInterrupted()
+        }
+        sent.await(10, TimeUnit.SECONDS)
+        launch.interrupt()
+        launch.join(10_000L)
+        answer.countDown()
+        pooledLauncher.shutdown()
+
+        then:
+        1 * restTemplate.postForObject(TITUS_ENDPOINT, _ as TitusBatchJobRequest, TitusBatchJobResponse.class) >> {
+            sent.countDown()
+            answer.await(10, TimeUnit.SECONDS)
+            return toTitusResponse("{ \"id\" : \"" + TITUS_JOB_ID + "\" }")
+        }
+        !launch.isAlive()
+        launchException != null
+        launchException.getCause() instanceof InterruptedException
+        interrupted
+    }
+
     private static TitusBatchJobResponse toTitusResponse(String s) {
         return new ObjectMapper().readValue(s, TitusBatchJobResponse.class)
     }
@@ -0,0 +1,167 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.agent.launchers.impl
+
+import com.netflix.genie.web.agent.launchers.dtos.TitusBatchJobRequest
+import com.netflix.genie.web.agent.launchers.dtos.TitusBatchJobResponse
+import com.netflix.genie.web.properties.TitusAgentLauncherProperties
+import com.netflix.genie.web.util.MetricsConstants
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Specifications for {@link TitusJobCreationPool}.
+ */
+class TitusJobCreationPoolSpec extends Specification {
+
+    TitusAgentLauncherProperties.CreationPool properties
+    SimpleMeterRegistry registry
+    TitusJobCreationPool pool
+
+    def setup() {
+        this.properties = new TitusAgentLauncherProperties.CreationPool()
+        this.registry = new SimpleMeterRegistry()
+    }
+
+    def cleanup() {
+        this.pool?.shutdown()
+    }
+
+    def "Concurrent requests are sent with bounded concurrency"() {
+        this.properties.setMaxConcurrentRequests(2)
+        def inFlight = new AtomicInteger()
+        def maxInFlight = new AtomicInteger()
+        this.pool = new TitusJobCreationPool(
+            { TitusBatchJobRequest request ->
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math.&max)
+                Thread.sleep(50)
+                inFlight.decrementAndGet()
+                return Mock(TitusBatchJobResponse)
+            } as TitusJobCreationPool.TitusJobCreator,
+            this.properties,
+            this.registry
+        )
+
+        when:
+        def pending = (1..5).collect { this.pool.submit(Mock(TitusBatchJobRequest)) }
+        def responses = pending.collect { it.getFuture().get(5, TimeUnit.SECONDS) }
+
+        then:
+        responses.every { it != null }
+        maxInFlight.get() <= 2
+        this.registry
+            .find(TitusJobCreationPool.REQUEST_TIMER)
+            .tag(MetricsConstants.TagKeys.STATUS, MetricsConstants.TagValues.SUCCESS)
+            .timer()
+            .count() == 5
+    }
+
+    def "Failures are reported to the caller"() {
+        this.pool = new TitusJobCreationPool(
+            { TitusBatchJobRequest request -> throw new IOException("fail") } as TitusJobCreationPool.TitusJobCreator,
+            this.properties,
+            this.registry
+        )
+
+        when:
+        this.pool.submit(Mock(TitusBatchJobRequest)).getFuture().get(5, TimeUnit.SECONDS)
+
+        then:
+        def e = thrown(ExecutionException)
+        e.getCause() instanceof IOException
+        this.registry
+            .find(TitusJobCreationPool.REQUEST_TIMER)
+            .tag(MetricsConstants.TagKeys.STATUS, MetricsConstants.TagValues.FAILURE)
+            .timer()
+            .count() == 1
+    }
+
+    def "Only requests not sent yet can be cancelled"() {
+        def started = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        def sent = new AtomicInteger()
+        def response = Mock(TitusBatchJobResponse)
+        this.properties.setMaxConcurrentRequests(1)
+        this.pool = new TitusJobCreationPool(
+            { TitusBatchJobRequest request ->
+                sent.incrementAndGet()
+                started.countDown()
+                release.await(5, TimeUnit.SECONDS)
+                return response
+            } as TitusJobCreationPool.TitusJobCreator,
+            this.properties,
+            this.registry
+        )
+
+        when: "One request is in flight and another is waiting for the sender"
+        def inFlight = this.pool.submit(Mock(TitusBatchJobRequest))
+        started.await(5, TimeUnit.SECONDS)
+        def queued = this.pool.submit(Mock(TitusBatchJobRequest))
+
+        then: "The queued request is withdrawn but the one in flight isn't"
+        queued.cancelIfNotSent()
+        queued.getFuture().isCancelled()
+        !inFlight.cancelIfNotSent()
+        !inFlight.getFuture().isDone()
+
+        when:
+        release.countDown()
+
+        then: "The response of the request in flight is delivered and the withdrawn request is never sent"
+        inFlight.getFuture().get(5, TimeUnit.SECONDS).is(response)
+        sent.get() == 1
+    }
+
+    def "Requests not sent at shutdown fail"() {
+        def started = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        this.properties.setMaxConcurrentRequests(1)
+        this.pool = new TitusJobCreationPool(
+            { TitusBatchJobRequest request ->
+                started.countDown()
+                release.await(5, TimeUnit.SECONDS)
+                return Mock(TitusBatchJobResponse)
+            } as TitusJobCreationPool.TitusJobCreator,
+            this.properties,
+            this.registry
+        )
+        def inFlight = this.pool.submit(Mock(TitusBatchJobRequest))
+        started.await(5, TimeUnit.SECONDS)
+        def queued = this.pool.submit(Mock(TitusBatchJobRequest))
+
+        when:
+        this.pool.shutdown()
+        def rejected = this.pool.submit(Mock(TitusBatchJobRequest))
+
+        then:
+        rejected.getFuture().isCompletedExceptionally()
+        queued.getFuture().isCompletedExceptionally()
+        !queued.cancelIfNotSent()
+
+        when:
+        release.countDown()
+
+        then: "The request in flight completes"
+        inFlight.getFuture().get(5, TimeUnit.SECONDS) != null
+    }
+}
@@ -19,159 +19,154 @@ package com.netflix.genie.web.agent.services.impl
 
 import com.netflix.genie.web.agent.services.AgentRoutingService
 import com.netflix.genie.web.properties.AgentConnectionTrackingServiceProperties
+import com.netflix.genie.web.services.TimerService
 import org.springframework.boot.actuate.info.Info
-import org.springframework.scheduling.TaskScheduler
 import spock.lang.Specification
 
 import java.time.Duration
 import java.time.Instant
-import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
 import java.util.function.Supplier
 
 class AgentConnectionTrackingServiceImplSpec extends Specification {
 
     AgentConnectionTrackingServiceImpl service
     AgentRoutingService agentRoutingService
-    TaskScheduler taskScheduler
+    TimerService timerService
     Supplier<Instant> timeSupplier
     AgentConnectionTrackingServiceProperties serviceProperties
 
     void setup() {
         this.serviceProperties = new AgentConnectionTrackingServiceProperties()
         this.agentRoutingService = Mock(AgentRoutingService)
-        this.taskScheduler = Mock(TaskScheduler)
+        this.timerService = Mock(TimerService)
         this.timeSupplier = Mock(Supplier)
     }
 
-    def "Cleanup with no connected agents"() {
-        setup:
-        Runnable cleanupTask
-
+    def "No timers with no connected agents"() {
         when:
-        this.service = new AgentConnectionTrackingServiceImpl(agentRoutingService, taskScheduler, serviceProperties)
-
-        then:
-        1 * taskScheduler.scheduleAtFixedRate(_ as Runnable, _ as Duration) >> {
-            args ->
-                cleanupTask = args[0] as Runnable
-                return Mock(ScheduledFuture)
-        }
-        cleanupTask != null
-
-        when:
-        cleanupTask.run()
+        this.service = new AgentConnectionTrackingServiceImpl(agentRoutingService, timerService, serviceProperties)
 
         then:
+        0 * timerService._
         0 * agentRoutingService._
+        service.getConnectedAgentsCount() == 0
     }
 
     def "2 agents"() {
         setup:
-        Runnable cleanupTask
         String agent1streamId = "Agent-1-stream-X"
         String agent2streamId = "Agent-2-stream-Y"
         String agent1jobId = "Agent-1-job"
         String agent2jobId = "Agent-2-job"
         Instant currentTime
+        Instant connectionTime
+        List<Runnable> expirationTasks = []
+        TimerService.Timeout agent1Timeout = Mock(TimerService.Timeout)
 
         when:
-        this.service = new AgentConnectionTrackingServiceImpl(agentRoutingService, taskScheduler, serviceProperties, timeSupplier)
+        this.service = new AgentConnectionTrackingServiceImpl(agentRoutingService, timerService, serviceProperties, timeSupplier)
 
         then:
-        1 * taskScheduler.scheduleAtFixedRate(_ as Runnable, _ as Duration) >> {
-            args ->
-                cleanupTask = args[0] as Runnable
-                return Mock(ScheduledFuture)
-        }
-        cleanupTask != null
+        0 * timerService._
 
         when: "Receive first heartbeat from 2 different agents"
         currentTime = Instant.now()
         service.notifyHeartbeat(agent1streamId, agent1jobId)
         service.notifyHeartbeat(agent2streamId, agent2jobId)
 
-        then: "Routing service notified: 2 new agents"
+        then: "Routing service notified: 2 new agents, expiration timers set"
         2 * timeSupplier.get() >> { return currentTime }
         1 * agentRoutingService.handleClientConnected(agent1jobId)
         1 * agentRoutingService.handleClientConnected(agent2jobId)
+        2 * timerService.schedule(_ as Runnable, Duration.ofSeconds(10)) >> {
+            Runnable r, Duration d ->
+                expirationTasks.add(r)
+                return { -> true } as TimerService.Timeout
+        }
 
         expect:
         service.getConnectedAgentsCount() == 2
-
-        when: "Cleanup runs"
-        currentTime = currentTime.plusMillis(100)
-        cleanupTask.run()
-
-        then: "Both agents are still alive"
-        1 * timeSupplier.get() >> { return currentTime }
-        0 * agentRoutingService._
-
-        expect:
-        service.getConnectedAgentsCount() == 2
+        service.getConnectedAgents() == [(agent1jobId): currentTime, (agent2jobId): currentTime]
 
         when: "First agent renews heartbeat"
+        connectionTime = currentTime
         currentTime = currentTime.plusMillis(3_000)
         service.notifyHeartbeat(agent1streamId, agent1jobId)
 
-        then: "Record is updated"
+        then: "Record is updated, timer is left alone"
         1 * timeSupplier.get() >> { return currentTime }
+        0 * timerService._
+        0 * agentRoutingService._
 
-        when: "Cleanup runs"
-        currentTime = currentTime.plusMillis(10_000)
-        cleanupTask.run()
+        when: "Expiration timers fire"
+        currentTime = connectionTime.plusMillis(10_000)
+        expirationTasks.each { it.run() }
 
-        then: "Routing service notified: agent 2 is gone"
-        1 * timeSupplier.get() >> { return currentTime }
+        then: "Routing service notified: agent 2 is gone, agent 1 timer set for its last heartbeat"
+        2 * timeSupplier.get() >> { return currentTime }
         1 * agentRoutingService.handleClientDisconnected(agent2jobId)
+        1 * timerService.schedule(_ as Runnable, Duration.ofSeconds(3)) >> {
+            Runnable r, Duration d ->
+                expirationTasks = [r]
+                return agent1Timeout
+        }
 
-        expect:
+        expect: "Agent 1 is still considered connected since its first heartbeat"
         service.getConnectedAgentsCount() == 1
+        service.getConnectedAgents() == [(agent1jobId): connectionTime]
 
         when: "First agent disconnects"
         service.notifyDisconnected(agent1streamId, agent1jobId)
 
-        then: "Routing service notified: agent 1 is gone"
+        then: "Routing service notified: agent 1 is gone, its timer cancelled"
         1 * agentRoutingService.handleClientDisconnected(agent1jobId)
+        1 * agent1Timeout.cancel() >> true
         0 * timeSupplier._
 
         expect:
         service.getConnectedAgentsCount() == 0
 
-        when: "Cleanup runs"
-        currentTime = currentTime.plusMillis(1000)
-        cleanupTask.run()
+        when: "The timer fires anyway"
+        currentTime = currentTime.plusMillis(3_000)
+        expirationTasks.each { it.run() }
 
         then:
         1 * timeSupplier.get() >> { return currentTime }
         0 * agentRoutingService._
+        0 * timerService._
     }
 
     def "1 agent, multiple streams"() {
         setup:
-        Runnable cleanupTask
         String jobId = UUID.randomUUID().toString()
         String stream1 = UUID.randomUUID().toString()
         String stream2 = UUID.randomUUID().toString()
-        Instant currentTime = Instant.now()
+        Instant currentTime
+        Instant connectionTime
+        Runnable expirationTask
+        TimerService.Timeout timeout = Mock(TimerService.Timeout)
 
         when:
-        this.service = new AgentConnectionTrackingServiceImpl(agentRoutingService, taskScheduler, serviceProperties, timeSupplier)
+        this.service = new AgentConnectionTrackingServiceImpl(agentRoutingService, timerService, serviceProperties, timeSupplier)
 
         then:
-        1 * taskScheduler.scheduleAtFixedRate(_ as Runnable, _ as Duration) >> {
-            args ->
-                cleanupTask = args[0] as Runnable
-                return Mock(ScheduledFuture)
-        }
-        cleanupTask != null
+        0 * timerService._
 
         when: "Agent connects"
         currentTime = Instant.now()
+        connectionTime = currentTime
         service.notifyHeartbeat(stream1, jobId)
 
         then: "Routing service notified"
         1 * timeSupplier.get() >> { return currentTime }
         1 * agentRoutingService.handleClientConnected(jobId)
+        1 * timerService.schedule(_ as Runnable, Duration.ofSeconds(10)) >> {
+            Runnable r, Duration d ->
+                expirationTask = r
+                return { -> true } as TimerService.Timeout
+        }
 
         when: "Agent starts a second connection"
         currentTime = currentTime.plusMillis(1000)
@@ -180,6 +175,7 @@ class AgentConnectionTrackingServiceImplSpec extends Specification {
         then: "Routing service not notified"
         1 * timeSupplier.get() >> { return currentTime }
         0 * agentRoutingService._
+        0 * timerService._
 
         when: "Agent renews second connection"
         currentTime = currentTime.plusMillis(100)
@@ -189,26 +185,76 @@ class AgentConnectionTrackingServiceImplSpec extends Specification {
         1 * timeSupplier.get() >> { return currentTime }
         0 * agentRoutingService._
 
-        when: "Cleanup runs after stream 1 is expired"
-        currentTime = currentTime.plusMillis(10_000)
-        cleanupTask.run()
+        when: "Timer fires after stream 1 is expired"
+        currentTime = connectionTime.plusMillis(10_000)
+        expirationTask.run()
 
-        then: "Agent not removed from routing"
+        then: "Agent not removed from routing, timer set for the second stream"
         1 * timeSupplier.get() >> { return currentTime }
         0 * agentRoutingService._
+        1 * timerService.schedule(_ as Runnable, Duration.ofMillis(1100)) >> timeout
 
         when: "First connection disappears"
         service.notifyDisconnected(stream1, jobId)
 
         then:
         0 * agentRoutingService._
+        0 * timeout.cancel()
 
         when: "Second connection disconnected"
-        currentTime = currentTime.plusMillis(1000)
         service.notifyDisconnected(stream2, jobId)
 
         then:
         1 * agentRoutingService.handleClientDisconnected(jobId)
+        1 * timeout.cancel() >> true
+    }
+
+    def "Concurrent heartbeats of many agents"() {
+        setup:
+        Instant currentTime = Instant.now()
+        def executor = Executors.newFixedThreadPool(8)
+        Set<String> jobIds = (1..200).collect { "job-" + it } as Set
+        Set<String> connected = Collections.synchronizedSet(new HashSet<String>())
+        Set<String> disconnected = Collections.synchronizedSet(new HashSet<String>())
+        List<Runnable> expirationTasks = Collections.synchronizedList(new ArrayList<Runnable>())
+
+        when:
+        this.service = new AgentConnectionTrackingServiceImpl(
+            agentRoutingService,
+            timerService,
+            serviceProperties,
+            { currentTime } as Supplier<Instant>
+        )
+        jobIds.each { jobId ->
+            2.times { stream ->
+                3.times {
+                    executor.submit({ service.notifyHeartbeat(jobId + "-stream-" + stream, jobId) } as Runnable)
+                }
+            }
+        }
+        executor.shutdown()
+        executor.awaitTermination(30, TimeUnit.SECONDS)
+
+        then: "Each agent is reported connected once, with a single expiration timer"
+        200 * agentRoutingService.handleClientConnected(_ as String) >> { String jobId -> connected.add(jobId) }
+        200 * timerService.schedule(_ as Runnable, Duration.ofSeconds(10)) >> {
+            Runnable r, Duration d ->
+                expirationTasks.add(r)
+                return { -> true } as TimerService.Timeout
+        }
+        0 * agentRoutingService.handleClientDisconnected(_)
+        connected == jobIds
+        service.getConnectedAgentsCount() == 200
+
+        when: "All streams expire"
+        currentTime = currentTime.plusMillis(12_000)
+        new ArrayList<Runnable>(expirationTasks).each { it.run() }
+
+        then:
+        200 * agentRoutingService.handleClientDisconnected(_ as String) >> { String jobId -> disconnected.add(jobId) }
+        0 * timerService._
+        disconnected == jobIds
+        service.getConnectedAgentsCount() == 0
     }
 
     def "Contribute info detail"() {
@@ -221,12 +267,7 @@ class AgentConnectionTrackingServiceImplSpec extends Specification {
         Info.Builder infoBuilder = Mock(Info.Builder)
 
         when:
-        this.service = new AgentConnectionTrackingServiceImpl(agentRoutingService, taskScheduler, serviceProperties)
-
-        then:
-        1 * taskScheduler.scheduleAtFixedRate(_ as Runnable, _ as Duration) >> Mock(ScheduledFuture)
-
-        when:
+        this.service = new AgentConnectionTrackingServiceImpl(agentRoutingService, timerService, serviceProperties)
         connectedAgents = null
         service.contribute(infoBuilder)
 
@@ -244,6 +285,7 @@ class AgentConnectionTrackingServiceImplSpec extends Specification {
         service.notifyHeartbeat(agent2streamId, agent2jobId)
 
         then:
+        2 * timerService.schedule(_ as Runnable, _ as Duration)
         noExceptionThrown()
 
         when:
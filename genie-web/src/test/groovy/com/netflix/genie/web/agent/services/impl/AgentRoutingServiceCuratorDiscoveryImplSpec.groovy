@@ -26,15 +26,26 @@ import io.micrometer.core.instrument.Counter
 import io.micrometer.core.instrument.MeterRegistry
 import io.micrometer.core.instrument.Timer
 import org.apache.curator.framework.CuratorFramework
+import org.apache.curator.framework.api.transaction.CuratorMultiTransaction
+import org.apache.curator.framework.api.transaction.CuratorOp
+import org.apache.curator.framework.api.transaction.TransactionOp
+import org.apache.curator.framework.api.transaction.TransactionSetDataBuilder
 import org.apache.curator.framework.listen.Listenable
+import org.apache.curator.framework.recipes.cache.ChildData
+import org.apache.curator.framework.recipes.cache.CuratorCache
+import org.apache.curator.framework.recipes.cache.CuratorCacheListener
 import org.apache.curator.framework.state.ConnectionState
 import org.apache.curator.framework.state.ConnectionStateListener
 import org.apache.curator.x.discovery.ServiceDiscovery
 import org.apache.curator.x.discovery.ServiceInstance
+import org.apache.curator.x.discovery.ServiceType
+import org.apache.curator.x.discovery.details.JsonInstanceSerializer
 import org.apache.zookeeper.KeeperException
+import org.apache.zookeeper.data.Stat
 import org.springframework.scheduling.TaskScheduler
 import spock.lang.Specification
 
+import java.time.Duration
 import java.time.Instant
 import java.util.concurrent.PriorityBlockingQueue
 import java.util.concurrent.ScheduledFuture
@@ -225,6 +236,179 @@ class AgentRoutingServiceCuratorDiscoveryImplSpec extends Specification {
         !hostname.isPresent()
     }
 
+    def "List connected agents"() {
+        setup:
+        ServiceInstance<AgentRoutingServiceCuratorDiscoveryImpl.Agent> serviceInstance = Mock(ServiceInstance)
+        Optional<Set<String>> jobIds
+
+        when:
+        AgentRoutingService agentRoutingService = new AgentRoutingServiceCuratorDiscoveryImpl(
+            genieHostInfo,
+            serviceDiscovery,
+            taskScheduler,
+            listenableConnectionState,
+            meterRegistry,
+            serviceProperties,
+            threadFactory
+        )
+        agentRoutingService.handleClientConnected("local-job")
+
+        then:
+        1 * genieHostInfo.getHostname() >> this.localHostname
+        1 * listenableConnectionState.addListener(_ as ConnectionStateListener)
+        1 * threadFactory.newThread(_ as Runnable) >> registrationThread
+        1 * meterRegistry.counter(AgentRoutingServiceCuratorDiscoveryImpl.AGENT_CONNECTED_COUNTER_NAME) >> counter
+
+        when:
+        jobIds = agentRoutingService.getConnectedAgentJobIds()
+
+        then:
+        1 * serviceDiscovery.queryForInstances(_) >> [serviceInstance]
+        1 * serviceInstance.getId() >> "remote-job"
+        1 * meterRegistry.timer(AgentRoutingServiceCuratorDiscoveryImpl.AGENT_LIST_TIMER_NAME, _) >> timer
+        jobIds.orElse(null) == ["local-job", "remote-job"] as Set
+
+        when:
+        jobIds = agentRoutingService.getConnectedAgentJobIds()
+
+        then:
+        1 * serviceDiscovery.queryForInstances(_) >> { throw new KeeperException.SessionMovedException() }
+        1 * meterRegistry.timer(AgentRoutingServiceCuratorDiscoveryImpl.AGENT_LIST_TIMER_NAME, _) >> timer
+        !jobIds.isPresent()
+    }
+
+    def "Lookups and listing from the route cache"() {
+        setup:
+        CuratorCache routeCache = Mock(CuratorCache)
+        Listenable<CuratorCacheListener> routeCacheListenable = Mock(Listenable)
+        CuratorCacheListener cacheListener
+        ConnectionStateListener connectionStateListener
+        Optional<String> hostname
+        Optional<Set<String>> jobIds
+        String servicePath = "/genie/agents/" + AgentRoutingServiceCuratorDiscoveryImpl.SERVICE_NAME
+        serviceProperties.getRouteCache().setMaxStaleness(Duration.ZERO)
+
+        when:
+        AgentRoutingService agentRoutingService = new AgentRoutingServiceCuratorDiscoveryImpl(
+            genieHostInfo,
+            serviceDiscovery,
+            taskScheduler,
+            listenableConnectionState,
+            meterRegistry,
+            serviceProperties,
+            threadFactory,
+            null,
+            null,
+            routeCache
+        )
+
+        then:
+        1 * genieHostInfo.getHostname() >> this.localHostname
+        1 * listenableConnectionState.addListener(_ as ConnectionStateListener) >> {
+            ConnectionStateListener l -> connectionStateListener = l
+        }
+        1 * threadFactory.newThread(_ as Runnable) >> registrationThread
+        1 * meterRegistry.gaugeMapSize(AgentRoutingServiceCuratorDiscoveryImpl.ROUTE_CACHE_SIZE_GAUGE_NAME, _, _)
+        1 * routeCache.listenable() >> routeCacheListenable
+        1 * routeCacheListenable.addListener(_ as CuratorCacheListener) >> {
+            CuratorCacheListener l -> cacheListener = l
+        }
+        1 * routeCache.start()
+
+        when: "The cache is not initialized yet"
+        hostname = agentRoutingService.getHostnameForAgentConnection("job1")
+
+        then:
+        1 * meterRegistry.counter(AgentRoutingServiceCuratorDiscoveryImpl.ROUTE_CACHE_LOOKUP_COUNTER_NAME, "result", "bypassed") >> counter
+        1 * serviceDiscovery.queryForInstance(_, "job1") >> null
+        1 * meterRegistry.timer(AgentRoutingServiceCuratorDiscoveryImpl.AGENT_LOOKUP_TIMER_NAME, _) >> timer
+        !hostname.isPresent()
+
+        when:
+        cacheListener.event(CuratorCacheListener.Type.NODE_CREATED, null, new ChildData(servicePath, new Stat(), null))
+        cacheListener.event(CuratorCacheListener.Type.NODE_CREATED, null, this.registration(servicePath, "job1", "host1"))
+        cacheListener.event(CuratorCacheListener.Type.NODE_CREATED, null, this.registration(servicePath, "job2", "host2"))
+        cacheListener.initialized()
+        hostname = agentRoutingService.getHostnameForAgentConnection("job1")
+
+        then:
+        1 * meterRegistry.counter(AgentRoutingServiceCuratorDiscoveryImpl.ROUTE_CACHE_LOOKUP_COUNTER_NAME, "result", "hit") >> counter
+        0 * serviceDiscovery._
+        hostname.orElse(null) == "host1"
+
+        when:
+        cacheListener.event(
+            CuratorCacheListener.Type.NODE_CHANGED,
+            new ChildData(servicePath + "/job1", new Stat(), null),
+            this.registration(servicePath, "job1", "host1")
+        )
+        cacheListener.event(
+            CuratorCacheListener.Type.NODE_DELETED,
+            new ChildData(servicePath + "/job2", new Stat(), null),
+            null
+        )
+        hostname = agentRoutingService.getHostnameForAgentConnection("job2")
+
+        then:
+        1 * meterRegistry.counter(AgentRoutingServiceCuratorDiscoveryImpl.ROUTE_CACHE_LOOKUP_COUNTER_NAME, "result", "miss") >> counter
+        0 * serviceDiscovery._
+        !hostname.isPresent()
+
+        when:
+        agentRoutingService.handleClientConnected("local-job")
+        jobIds = agentRoutingService.getConnectedAgentJobIds()
+
+        then:
+        1 * meterRegistry.counter(AgentRoutingServiceCuratorDiscoveryImpl.AGENT_CONNECTED_COUNTER_NAME) >> counter
+        0 * serviceDiscovery._
+        jobIds.orElse(null) == ["local-job", "job1"] as Set
+
+        when: "The connection is suspended for longer than the maximum staleness"
+        connectionStateListener.stateChanged(curatorClient, ConnectionState.SUSPENDED)
+        hostname = agentRoutingService.getHostnameForAgentConnection("job1")
+
+        then:
+        1 * meterRegistry.counter(AgentRoutingServiceCuratorDiscoveryImpl.ZOOKEEPER_SESSION_STATE_COUNTER_NAME, _) >> counter
+        1 * registrationThread.interrupt()
+        1 * meterRegistry.counter(AgentRoutingServiceCuratorDiscoveryImpl.ROUTE_CACHE_LOOKUP_COUNTER_NAME, "result", "bypassed") >> counter
+        1 * serviceDiscovery.queryForInstance(_, "job1") >> { throw new KeeperException.ConnectionLossException() }
+        1 * meterRegistry.timer(AgentRoutingServiceCuratorDiscoveryImpl.AGENT_LOOKUP_TIMER_NAME, _) >> timer
+        !hostname.isPresent()
+
+        when:
+        connectionStateListener.stateChanged(curatorClient, ConnectionState.RECONNECTED)
+        hostname = agentRoutingService.getHostnameForAgentConnection("job1")
+
+        then:
+        1 * meterRegistry.counter(AgentRoutingServiceCuratorDiscoveryImpl.ZOOKEEPER_SESSION_STATE_COUNTER_NAME, _) >> counter
+        1 * threadFactory.newThread(_ as Runnable) >> registrationThread
+        1 * meterRegistry.counter(AgentRoutingServiceCuratorDiscoveryImpl.ROUTE_CACHE_LOOKUP_COUNTER_NAME, "result", "hit") >> counter
+        0 * serviceDiscovery._
+        hostname.orElse(null) == "host1"
+
+        when: "The registration is overwritten by the node the agent reconnected to"
+        cacheListener.event(
+            CuratorCacheListener.Type.NODE_CHANGED,
+            this.registration(servicePath, "job1", "host1"),
+            this.registration(servicePath, "job1", "host3")
+        )
+        hostname = agentRoutingService.getHostnameForAgentConnection("job1")
+
+        then:
+        1 * meterRegistry.counter(AgentRoutingServiceCuratorDiscoveryImpl.ROUTE_CACHE_LOOKUP_COUNTER_NAME, "result", "hit") >> counter
+        0 * serviceDiscovery._
+        hostname.orElse(null) == "host3"
+
+        when: "A replayed creation doesn't revert the route"
+        cacheListener.event(CuratorCacheListener.Type.NODE_CREATED, null, this.registration(servicePath, "job1", "host1"))
+        hostname = agentRoutingService.getHostnameForAgentConnection("job1")
+
+        then:
+        1 * meterRegistry.counter(AgentRoutingServiceCuratorDiscoveryImpl.ROUTE_CACHE_LOOKUP_COUNTER_NAME, "result", "hit") >> counter
+        0 * serviceDiscovery._
+        hostname.orElse(null) == "host3"
+    }
+
     def "Expected connection lifecycle without errors"() {
         setup:
         String jobId = UUID.randomUUID().toString()
@@ -259,7 +443,7 @@ class AgentRoutingServiceCuratorDiscoveryImplSpec extends Specification {
         1 * meterRegistry.counter(AgentRoutingServiceCuratorDiscoveryImpl.AGENT_CONNECTED_COUNTER_NAME) >> counter
 
         when:
-        agentRoutingService.processNextRegistrationMutation()
+        agentRoutingService.processNextRegistrationMutation(0)
 
         then:
         1 * taskScheduler.schedule(_ as Runnable, _ as Instant) >> {
@@ -284,7 +468,7 @@ class AgentRoutingServiceCuratorDiscoveryImplSpec extends Specification {
         noExceptionThrown()
 
         when:
-        agentRoutingService.processNextRegistrationMutation()
+        agentRoutingService.processNextRegistrationMutation(0)
 
         then:
         1 * taskScheduler.schedule(_ as Runnable, _ as Instant)
@@ -298,7 +482,7 @@ class AgentRoutingServiceCuratorDiscoveryImplSpec extends Specification {
         1 * meterRegistry.counter(AgentRoutingServiceCuratorDiscoveryImpl.AGENT_DISCONNECTED_COUNTER_NAME) >> counter
 
         when:
-        agentRoutingService.processNextRegistrationMutation()
+        agentRoutingService.processNextRegistrationMutation(0)
 
         then:
         1 * serviceDiscovery.unregisterService(serviceInstance)
@@ -334,7 +518,7 @@ class AgentRoutingServiceCuratorDiscoveryImplSpec extends Specification {
         1 * meterRegistry.counter(AgentRoutingServiceCuratorDiscoveryImpl.AGENT_CONNECTED_COUNTER_NAME) >> counter
 
         when:
-        agentRoutingService.processNextRegistrationMutation()
+        agentRoutingService.processNextRegistrationMutation(0)
 
         then: "Registration is attempted, but thread is interrupted, mutation is back in the queue"
         1 * serviceDiscovery.registerService(_ as ServiceInstance) >> { throw new InterruptedException() }
@@ -342,7 +526,7 @@ class AgentRoutingServiceCuratorDiscoveryImplSpec extends Specification {
         thrown(InterruptedException)
 
         when:
-        agentRoutingService.processNextRegistrationMutation()
+        agentRoutingService.processNextRegistrationMutation(0)
 
         then: "Registration is attempted again, error is encountered. Registration is scheduled for refresh"
         1 * serviceDiscovery.registerService(_ as ServiceInstance) >> { throw new RuntimeException() }
@@ -355,7 +539,7 @@ class AgentRoutingServiceCuratorDiscoveryImplSpec extends Specification {
 
         when:
         refreshTask.run()
-        agentRoutingService.processNextRegistrationMutation()
+        agentRoutingService.processNextRegistrationMutation(0)
 
         then: "Registration refresh is attempted, but service was never registered"
         1 * serviceDiscovery.registerService(_ as ServiceInstance)
@@ -368,7 +552,7 @@ class AgentRoutingServiceCuratorDiscoveryImplSpec extends Specification {
 
         when:
         refreshTask.run()
-        agentRoutingService.processNextRegistrationMutation()
+        agentRoutingService.processNextRegistrationMutation(0)
 
         then: "Registration refresh is attempted, but node does not exist"
         1 * serviceDiscovery.updateService(_ as ServiceInstance) >> { throw new KeeperException.NoNodeException() }
@@ -383,7 +567,7 @@ class AgentRoutingServiceCuratorDiscoveryImplSpec extends Specification {
 
         when:
         refreshTask.run()
-        agentRoutingService.processNextRegistrationMutation()
+        agentRoutingService.processNextRegistrationMutation(0)
 
         then: "Registration refresh is attempted, but thread is interrupted, mutation goes back in queue"
         1 * serviceDiscovery.updateService(_ as ServiceInstance) >> { throw new InterruptedException() }
@@ -392,7 +576,7 @@ class AgentRoutingServiceCuratorDiscoveryImplSpec extends Specification {
 
         when:
         refreshTask.run()
-        agentRoutingService.processNextRegistrationMutation()
+        agentRoutingService.processNextRegistrationMutation(0)
 
         then: "Registration refresh is attempted, but node does not exist"
         1 * serviceDiscovery.updateService(_ as ServiceInstance) >> { throw new RuntimeException() }
@@ -411,7 +595,7 @@ class AgentRoutingServiceCuratorDiscoveryImplSpec extends Specification {
         1 * meterRegistry.counter(AgentRoutingServiceCuratorDiscoveryImpl.AGENT_DISCONNECTED_COUNTER_NAME) >> counter
 
         when:
-        agentRoutingService.processNextRegistrationMutation()
+        agentRoutingService.processNextRegistrationMutation(0)
 
         then: "Unregistration is attempted, but thread is interrupted"
         1 * serviceDiscovery.unregisterService(_ as ServiceInstance) >> { throw new InterruptedException() }
@@ -419,25 +603,100 @@ class AgentRoutingServiceCuratorDiscoveryImplSpec extends Specification {
         thrown(InterruptedException)
 
         when:
-        agentRoutingService.processNextRegistrationMutation()
+        agentRoutingService.processNextRegistrationMutation(0)
 
         then: "Unregistration is attempted, but an error is encountered"
         1 * serviceDiscovery.unregisterService(_ as ServiceInstance) >> { throw new RuntimeException() }
         1 * meterRegistry.timer(AgentRoutingServiceCuratorDiscoveryImpl.AGENT_UNREGISTERED_TIMER_NAME, _) >> timer
 
         when:
-        agentRoutingService.processNextRegistrationMutation()
+        agentRoutingService.processNextRegistrationMutation(0)
 
         then: "Unregistration is attempted, but an error is encountered"
         1 * serviceDiscovery.unregisterService(_ as ServiceInstance)
         1 * meterRegistry.timer(AgentRoutingServiceCuratorDiscoveryImpl.AGENT_UNREGISTERED_TIMER_NAME, _) >> timer
 
+        then: "The refresh queued twice earlier was coalesced, nothing is left"
+        agentRoutingService.registrationQueues.get(0).isEmpty()
+    }
+
+    def "Refreshes are coalesced and batched"() {
+        setup:
+        String servicePath = "/genie/agents/" + AgentRoutingServiceCuratorDiscoveryImpl.SERVICE_NAME
+        TransactionOp transactionOp = Mock(TransactionOp)
+        TransactionSetDataBuilder<CuratorOp> setDataBuilder = Mock(TransactionSetDataBuilder)
+        CuratorMultiTransaction transaction = Mock(CuratorMultiTransaction)
+        CuratorOp op1 = Mock(CuratorOp)
+        CuratorOp op2 = Mock(CuratorOp)
+        List<Runnable> refreshTasks = []
+
         when:
-        agentRoutingService.processNextRegistrationMutation()
+        AgentRoutingService agentRoutingService = new AgentRoutingServiceCuratorDiscoveryImpl(
+            genieHostInfo,
+            serviceDiscovery,
+            taskScheduler,
+            listenableConnectionState,
+            meterRegistry,
+            serviceProperties,
+            threadFactory,
+            curatorClient,
+            servicePath,
+            null
+        )
+        agentRoutingService.handleClientConnected("j1")
+        agentRoutingService.handleClientConnected("j2")
+        agentRoutingService.processNextRegistrationMutation(0)
+        agentRoutingService.processNextRegistrationMutation(0)
 
-        then: "Previous refresh does nothing"
+        then:
+        1 * genieHostInfo.getHostname() >> this.localHostname
+        1 * threadFactory.newThread(_ as Runnable) >> registrationThread
+        2 * meterRegistry.counter(AgentRoutingServiceCuratorDiscoveryImpl.AGENT_CONNECTED_COUNTER_NAME) >> counter
+        2 * serviceDiscovery.registerService(_ as ServiceInstance)
+        2 * meterRegistry.timer(AgentRoutingServiceCuratorDiscoveryImpl.AGENT_REGISTERED_TIMER_NAME, _) >> timer
+        2 * taskScheduler.schedule(_ as Runnable, _ as Instant) >> {
+            Runnable r, Instant i ->
+                refreshTasks.add(r)
+                return null
+        }
+
+        when: "Both refreshes are due, one of them twice"
+        refreshTasks.each { it.run() }
+        refreshTasks[0].run()
+        refreshTasks.clear()
+        agentRoutingService.processNextRegistrationMutation(0)
+
+        then: "They are applied in a single transaction"
+        2 * curatorClient.transactionOp() >> transactionOp
+        2 * transactionOp.setData() >> setDataBuilder
+        1 * setDataBuilder.forPath(servicePath + "/j1", _ as byte[]) >> op1
+        1 * setDataBuilder.forPath(servicePath + "/j2", _ as byte[]) >> op2
+        1 * curatorClient.transaction() >> transaction
+        1 * transaction.forOperations({ it as Set == [op1, op2] as Set }) >> []
+        1 * meterRegistry.timer(AgentRoutingServiceCuratorDiscoveryImpl.AGENT_REFRESH_BATCH_TIMER_NAME, _) >> timer
+        2 * taskScheduler.schedule(_ as Runnable, _ as Instant) >> {
+            Runnable r, Instant i ->
+                refreshTasks.add(r)
+                return null
+        }
         0 * serviceDiscovery._
-        0 * taskScheduler.schedule(_, _)
+        agentRoutingService.registrationQueues.get(0).isEmpty()
+
+        when:
+        refreshTasks.each { it.run() }
+        agentRoutingService.processNextRegistrationMutation(0)
+
+        then: "If the transaction fails they are applied one by one"
+        2 * curatorClient.transactionOp() >> transactionOp
+        2 * transactionOp.setData() >> setDataBuilder
+        2 * setDataBuilder.forPath(_ as String, _ as byte[]) >> op1
+        1 * curatorClient.transaction() >> transaction
+        1 * transaction.forOperations(_) >> { throw new KeeperException.NoNodeException() }
+        1 * meterRegistry.timer(AgentRoutingServiceCuratorDiscoveryImpl.AGENT_REFRESH_BATCH_TIMER_NAME, _) >> timer
+        2 * serviceDiscovery.updateService(_ as ServiceInstance)
+        2 * meterRegistry.timer(AgentRoutingServiceCuratorDiscoveryImpl.AGENT_REFRESH_TIMER_NAME, _) >> timer
+        2 * taskScheduler.schedule(_ as Runnable, _ as Instant)
+        agentRoutingService.registrationQueues.get(0).isEmpty()
     }
 
     def "???"() {
@@ -530,4 +789,20 @@ class AgentRoutingServiceCuratorDiscoveryImplSpec extends Specification {
         then:
         agent == agent2
     }
+
+    private ChildData registration(final String servicePath, final String jobId, final String address) {
+        ServiceInstance<AgentRoutingServiceCuratorDiscoveryImpl.Agent> instance = new ServiceInstance<>(
+            AgentRoutingServiceCuratorDiscoveryImpl.SERVICE_NAME,
+            jobId,
+            address,
+            null,
+            null,
+            new AgentRoutingServiceCuratorDiscoveryImpl.Agent(jobId),
+            Instant.now().getEpochSecond(),
+            ServiceType.DYNAMIC,
+            null
+        )
+        byte[] bytes = new JsonInstanceSerializer<>(AgentRoutingServiceCuratorDiscoveryImpl.Agent).serialize(instance)
+        return new ChildData(servicePath + "/" + jobId, new Stat(), bytes)
+    }
 }
@@ -39,6 +39,7 @@ class AgentRoutingServiceSingleNodeImplSpec extends Specification {
         !service.isAgentConnected(job1Id)
         !service.getHostnameForAgentConnection(job1Id).isPresent()
         !service.isAgentConnectionLocal(job1Id)
+        service.getConnectedAgentJobIds().get().isEmpty()
 
         when:
         service.handleClientConnected(job1Id)
@@ -62,5 +63,6 @@ class AgentRoutingServiceSingleNodeImplSpec extends Specification {
         service.isAgentConnected(job2Id)
         service.getHostnameForAgentConnection(job2Id).isPresent()
         service.isAgentConnectionLocal(job2Id)
+        service.getConnectedAgentJobIds().get() == [job2Id] as Set
     }
 }
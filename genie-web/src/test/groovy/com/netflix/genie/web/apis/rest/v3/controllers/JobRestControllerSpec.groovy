@@ -17,9 +17,12 @@
  */
 package com.netflix.genie.web.apis.rest.v3.controllers
 
+import com.netflix.genie.common.dto.ClusterCriteria
 import com.netflix.genie.common.dto.JobRequest
+import com.netflix.genie.common.exceptions.GenieBadRequestException
 import com.netflix.genie.common.exceptions.GenieServerUnavailableException
 import com.netflix.genie.common.exceptions.GenieUserLimitExceededException
+import com.netflix.genie.common.external.util.GenieObjectMapper
 import com.netflix.genie.common.internal.util.GenieHostInfo
 import com.netflix.genie.web.agent.services.AgentRoutingService
 import com.netflix.genie.web.apis.rest.v3.hateoas.assemblers.EntityModelAssemblers
@@ -34,10 +37,14 @@ import com.netflix.genie.web.services.JobKillService
 import com.netflix.genie.web.services.JobLaunchService
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import org.springframework.core.env.Environment
+import org.springframework.mock.web.MockHttpServletRequest
 import org.springframework.web.client.RestTemplate
 import spock.lang.Specification
 
 import jakarta.servlet.http.HttpServletRequest
+import jakarta.validation.ConstraintViolationException
+import jakarta.validation.Validation
+import java.nio.charset.StandardCharsets
 
 class JobRestControllerSpec extends Specification {
     JobRestController controller
@@ -45,12 +52,14 @@ class JobRestControllerSpec extends Specification {
     Environment environment
     PersistenceService persistenceService
     JobLaunchService jobLaunchService
+    AttachmentService attachmentService
 
     void setup() {
         this.jobsProperties = JobsProperties.getJobsPropertiesDefaults()
         this.environment = Mock(Environment)
         this.persistenceService = Mock(PersistenceService)
         this.jobLaunchService = Mock(JobLaunchService)
+        this.attachmentService = Mock(AttachmentService)
 
         this.controller = new JobRestController(
             jobLaunchService,
@@ -63,8 +72,9 @@ class JobRestControllerSpec extends Specification {
             new SimpleMeterRegistry(),
             Mock(AgentRoutingService),
             environment,
-            Mock(AttachmentService),
+            attachmentService,
             Mock(JobKillService),
+            Validation.buildDefaultValidatorFactory().getValidator()
         )
     }
 
@@ -129,4 +139,135 @@ class JobRestControllerSpec extends Specification {
         jobSubmission.getJobRequestMetadata().getApiClientMetadata().isPresent()
         jobSubmission.getJobRequestMetadata().getRequestHeaders() == [GENIE_FOO: "GENIE_BAR"]
     }
+
+    def "Streamed attachments are saved as they are read"() {
+        JobSubmission jobSubmission = null
+        def attachmentUri = URI.create("s3://bucket/prefix/query.sql")
+        def request = multipartRequest(
+            [
+                part("request", null, "application/json", GenieObjectMapper.getMapper().writeValueAsString(jobRequest())),
+                part("attachment", "query.sql", "application/octet-stream", "select 1;")
+            ]
+        )
+
+        when:
+        controller.submitJobStreaming(null, "test-client", request)
+
+        then:
+        1 * environment.getProperty("genie.jobs.submission.enabled", _, _) >> true
+        1 * attachmentService.saveAttachment(null, "query.sql", _ as InputStream, 0L) >> {
+            String jobId, String filename, InputStream content, long bytesAlreadySaved ->
+                assert content.getText(StandardCharsets.UTF_8.name()) == "select 1;"
+                return attachmentUri
+        }
+        1 * jobLaunchService.launchJob(_ as JobSubmission) >> {
+            JobSubmission js ->
+                jobSubmission = js
+                throw new RuntimeException("End test")
+        }
+        thrown(RuntimeException)
+
+        expect:
+        jobSubmission.getAttachments() == [attachmentUri] as Set
+        jobSubmission.getJobRequestMetadata().getNumAttachments() == 1
+        jobSubmission.getJobRequestMetadata().getTotalSizeOfAttachments() == 9
+    }
+
+    def "Streamed submission requires the job request before attachments"() {
+        def request = multipartRequest(
+            [
+                part("attachment", "query.sql", "application/octet-stream", "select 1;"),
+                part("request", null, "application/json", GenieObjectMapper.getMapper().writeValueAsString(jobRequest()))
+            ]
+        )
+
+        when:
+        controller.submitJobStreaming(null, "test-client", request)
+
+        then:
+        0 * attachmentService.saveAttachment(_, _, _, _)
+        0 * jobLaunchService.launchJob(_)
+        thrown(GenieBadRequestException)
+    }
+
+    def "Streamed submission requires a job request"() {
+        def request = multipartRequest([part("other", null, "text/plain", "foo")])
+
+        when:
+        controller.submitJobStreaming(null, "test-client", request)
+
+        then:
+        0 * jobLaunchService.launchJob(_)
+        thrown(GenieBadRequestException)
+    }
+
+    def "Streamed submission rejects an invalid job request before any attachment"() {
+        def jobRequest = new JobRequest.Builder(
+            "name",
+            "user",
+            "version",
+            [] as List,
+            ["type:foo"] as Set
+        ).build()
+        def request = multipartRequest(
+            [
+                part("request", null, "application/json", GenieObjectMapper.getMapper().writeValueAsString(jobRequest)),
+                part("attachment", "query.sql", "application/octet-stream", "select 1;")
+            ]
+        )
+
+        when:
+        controller.submitJobStreaming(null, "test-client", request)
+
+        then:
+        0 * attachmentService.saveAttachment(_, _, _, _)
+        0 * jobLaunchService.launchJob(_)
+        thrown(ConstraintViolationException)
+    }
+
+    def "Streamed submission limits the number of parts"() {
+        def parts = [
+            part("request", null, "application/json", GenieObjectMapper.getMapper().writeValueAsString(jobRequest()))
+        ]
+        (1..100).each { parts.add(part("attachment", "file" + it + ".txt", "text/plain", "foo")) }
+        def request = multipartRequest(parts)
+
+        when:
+        controller.submitJobStreaming(null, "test-client", request)
+
+        then:
+        1 * environment.getProperty("genie.jobs.submission.enabled", _, _) >> true
+        99 * attachmentService.saveAttachment(null, _ as String, _ as InputStream, _ as Long) >> {
+            URI.create("s3://bucket/prefix/file.txt")
+        }
+        0 * jobLaunchService.launchJob(_)
+        thrown(GenieBadRequestException)
+    }
+
+    private static JobRequest jobRequest() {
+        return new JobRequest.Builder(
+            "name",
+            "user",
+            "version",
+            [new ClusterCriteria(["type:bar"] as Set)] as List,
+            ["type:foo"] as Set
+        ).build()
+    }
+
+    private static String part(String name, String filename, String contentType, String content) {
+        def disposition = "Content-Disposition: form-data; name=\"" + name + "\""
+        if (filename != null) {
+            disposition += "; filename=\"" + filename + "\""
+        }
+        return disposition + "\r\nContent-Type: " + contentType + "\r\n\r\n" + content + "\r\n"
+    }
+
+    private static MockHttpServletRequest multipartRequest(List<String> parts) {
+        def boundary = "genie-boundary"
+        def body = parts.collect { "--" + boundary + "\r\n" + it }.join("") + "--" + boundary + "--\r\n"
+        def request = new MockHttpServletRequest("POST", JobRestController.STREAMING_SUBMISSION_PATH)
+        request.setContentType("multipart/form-data; boundary=" + boundary)
+        request.setContent(body.getBytes(StandardCharsets.UTF_8))
+        return request
+    }
 }
@@ -0,0 +1,112 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.apis.rest.v3.controllers
+
+import com.netflix.genie.common.dto.Application
+import com.netflix.genie.common.dto.ApplicationStatus
+import com.netflix.genie.web.exceptions.checked.NotFoundException
+import com.netflix.genie.web.properties.ResourceCacheProperties
+import spock.lang.Specification
+
+/**
+ * Specifications for {@link ResourceCache}.
+ */
+class ResourceCacheSpec extends Specification {
+
+    ResourceCacheProperties properties
+    ResourceCache.ResourceLoader<Application> loader
+
+    def setup() {
+        this.properties = new ResourceCacheProperties()
+        this.loader = Mock(ResourceCache.ResourceLoader)
+    }
+
+    def "Resources are loaded on every request when disabled"() {
+        def cache = new ResourceCache<Application>(this.properties)
+        def application = createApplication("1.0")
+
+        when:
+        def first = cache.get("app", this.loader)
+        def second = cache.get("app", this.loader)
+
+        then:
+        2 * this.loader.load() >> application
+        first.getResource() == application
+        first.getEntityTag() != null
+        first.getEntityTag().startsWith("\"")
+        first.getEntityTag() == second.getEntityTag()
+    }
+
+    def "Resources are cached until evicted and their tag follows their content"() {
+        this.properties.setEnabled(true)
+        def cache = new ResourceCache<Application>(this.properties)
+        def application = createApplication("1.0")
+        def updatedApplication = createApplication("2.0")
+
+        when:
+        def first = cache.get("app", this.loader)
+        def second = cache.get("app", this.loader)
+
+        then:
+        1 * this.loader.load() >> application
+        second.is(first)
+
+        when:
+        cache.evict("app")
+        def third = cache.get("app", this.loader)
+
+        then:
+        1 * this.loader.load() >> updatedApplication
+        third.getResource() == updatedApplication
+        third.getEntityTag() != first.getEntityTag()
+
+        when:
+        cache.evictAll()
+        cache.get("app", this.loader)
+
+        then:
+        1 * this.loader.load() >> updatedApplication
+    }
+
+    def "Missing resources are reported and not cached"() {
+        this.properties.setEnabled(true)
+        def cache = new ResourceCache<Application>(this.properties)
+        def exception = new NotFoundException("No application")
+
+        when:
+        cache.get("app", this.loader)
+
+        then:
+        1 * this.loader.load() >> { throw exception }
+        def e = thrown(NotFoundException)
+        e == exception
+
+        when:
+        def found = cache.get("app", this.loader)
+
+        then:
+        1 * this.loader.load() >> createApplication("1.0")
+        found.getResource() != null
+    }
+
+    private static Application createApplication(final String version) {
+        return new Application.Builder("app", "genie", version, ApplicationStatus.ACTIVE)
+            .withId("app")
+            .build()
+    }
+}
@@ -154,4 +154,15 @@ class GenieEventBusImplSpec extends Specification {
         1 * this.syncMulticaster.setBeanClassLoader(classLoader)
         1 * this.asyncMulticaster.setBeanClassLoader(classLoader)
     }
+
+    def "Can destroy disposable multicasters"() {
+        def disposableMulticaster = Mock(ListenerDispatchingEventMulticaster)
+        def bus = new GenieEventBusImpl(this.syncMulticaster, disposableMulticaster)
+
+        when:
+        bus.destroy()
+
+        then:
+        1 * disposableMulticaster.destroy()
+    }
 }
@@ -0,0 +1,216 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.events
+
+import com.netflix.genie.web.properties.EventListenerDispatchProperties
+import com.netflix.genie.web.util.MetricsConstants
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.context.ApplicationEvent
+import org.springframework.context.ApplicationListener
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+/**
+ * Specifications for {@link ListenerDispatchingEventMulticaster}.
+ */
+class ListenerDispatchingEventMulticasterSpec extends Specification {
+
+    EventListenerDispatchProperties properties
+    SimpleMeterRegistry registry
+    ListenerDispatchingEventMulticaster multicaster
+    PollingConditions conditions
+
+    def setup() {
+        this.properties = new EventListenerDispatchProperties()
+        this.properties.setQueueCapacity(1)
+        this.registry = new SimpleMeterRegistry()
+        this.conditions = new PollingConditions(timeout: 5)
+    }
+
+    def cleanup() {
+        this.multicaster.destroy()
+    }
+
+    def "Slow listener does not delay other listeners and drops newest events when full"() {
+        this.properties.setOverflowPolicy(EventListenerDispatchProperties.OverflowPolicy.DROP_NEWEST)
+        this.multicaster = new ListenerDispatchingEventMulticaster(this.properties, this.registry)
+        def blockingListener = new BlockingListener()
+        def recordingListener = new RecordingListener()
+        this.multicaster.addApplicationListener(blockingListener)
+        this.multicaster.addApplicationListener(recordingListener)
+        def events = (1..3).collect { new TestEvent(it) }
+
+        when:
+        events.each { this.multicaster.multicastEvent(it) }
+
+        then:
+        recordingListener.latch.await(5, TimeUnit.SECONDS)
+        recordingListener.received.toList() == events
+        this.multicaster.getQueueDepth(blockingListener) == 1
+        droppedCount("BlockingListener") == 1.0d
+        droppedCount("RecordingListener") == 0.0d
+
+        when:
+        blockingListener.release.countDown()
+
+        then:
+        this.conditions.eventually {
+            assert blockingListener.received.toList() == events.subList(0, 2)
+            assert this.registry
+                .find(ListenerDispatchingEventMulticaster.INVOCATION_TIMER_NAME)
+                .tag(MetricsConstants.TagKeys.LISTENER, "BlockingListener")
+                .tag(MetricsConstants.TagKeys.STATUS, MetricsConstants.TagValues.SUCCESS)
+                .timer()
+                .count() == 2
+        }
+        this.registry
+            .find(ListenerDispatchingEventMulticaster.QUEUE_DEPTH_GAUGE_NAME)
+            .tag(MetricsConstants.TagKeys.LISTENER, "RecordingListener")
+            .gauge() != null
+    }
+
+    def "Oldest queued event is dropped when configured"() {
+        this.properties.setOverflowPolicy(EventListenerDispatchProperties.OverflowPolicy.DROP_OLDEST)
+        this.multicaster = new ListenerDispatchingEventMulticaster(this.properties, this.registry)
+        def blockingListener = new BlockingListener()
+        this.multicaster.addApplicationListener(blockingListener)
+        def events = (1..3).collect { new TestEvent(it) }
+
+        when:
+        events.each { this.multicaster.multicastEvent(it) }
+        blockingListener.release.countDown()
+
+        then:
+        this.conditions.eventually {
+            assert blockingListener.received.toList() == [events[0], events[2]]
+        }
+        droppedCount("BlockingListener") == 1.0d
+    }
+
+    def "Every event is either delivered or dropped when publishers contend for a full queue"() {
+        this.properties.setOverflowPolicy(EventListenerDispatchProperties.OverflowPolicy.DROP_OLDEST)
+        this.multicaster = new ListenerDispatchingEventMulticaster(this.properties, this.registry)
+        def blockingListener = new BlockingListener()
+        this.multicaster.addApplicationListener(blockingListener)
+        def publishers = (1..4).collect { publisher ->
+            Thread.start {
+                (1..100).each { this.multicaster.multicastEvent(new TestEvent(publisher * 1_000 + it)) }
+            }
+        }
+
+        when:
+        publishers.each { it.join(5_000) }
+        blockingListener.release.countDown()
+
+        then:
+        this.conditions.eventually {
+            assert this.multicaster.getQueueDepth(blockingListener) == 0
+            assert blockingListener.received.size() + droppedCount("BlockingListener") == 400.0d
+        }
+    }
+
+    def "Listener failures are recorded and do not propagate"() {
+        this.multicaster = new ListenerDispatchingEventMulticaster(this.properties, this.registry)
+        this.multicaster.addApplicationListener(new FailingListener())
+
+        when:
+        this.multicaster.multicastEvent(new TestEvent(1))
+
+        then:
+        noExceptionThrown()
+        this.conditions.eventually {
+            assert this.registry
+                .find(ListenerDispatchingEventMulticaster.INVOCATION_TIMER_NAME)
+                .tag(MetricsConstants.TagKeys.LISTENER, "FailingListener")
+                .tag(MetricsConstants.TagKeys.STATUS, MetricsConstants.TagValues.FAILURE)
+                .tag(MetricsConstants.TagKeys.EXCEPTION_CLASS, IllegalStateException.class.getCanonicalName())
+                .timer()
+                .count() == 1
+        }
+    }
+
+    def "Removed listeners no longer receive events"() {
+        this.multicaster = new ListenerDispatchingEventMulticaster(this.properties, this.registry)
+        def recordingListener = new RecordingListener()
+        this.multicaster.addApplicationListener(recordingListener)
+
+        when:
+        this.multicaster.multicastEvent(new TestEvent(1))
+
+        then:
+        this.conditions.eventually {
+            assert recordingListener.received.size() == 1
+        }
+
+        when:
+        this.multicaster.removeApplicationListener(recordingListener)
+        this.multicaster.multicastEvent(new TestEvent(2))
+
+        then:
+        recordingListener.received.size() == 1
+        this.multicaster.getQueueDepth(recordingListener) == 0
+    }
+
+    private double droppedCount(final String listenerName) {
+        def counter = this.registry
+            .find(ListenerDispatchingEventMulticaster.DROPPED_EVENTS_COUNTER_NAME)
+            .tag(MetricsConstants.TagKeys.LISTENER, listenerName)
+            .tag(MetricsConstants.TagKeys.EVENT_TYPE, TestEvent.class.getSimpleName())
+            .counter()
+        return counter == null ? 0.0d : counter.count()
+    }
+
+    static class TestEvent extends ApplicationEvent {
+        TestEvent(final Object source) {
+            super(source)
+        }
+    }
+
+    static class RecordingListener implements ApplicationListener<TestEvent> {
+        final ConcurrentLinkedQueue<TestEvent> received = new ConcurrentLinkedQueue<>()
+        final CountDownLatch latch = new CountDownLatch(3)
+
+        @Override
+        void onApplicationEvent(final TestEvent event) {
+            this.received.add(event)
+            this.latch.countDown()
+        }
+    }
+
+    static class BlockingListener implements ApplicationListener<TestEvent> {
+        final ConcurrentLinkedQueue<TestEvent> received = new ConcurrentLinkedQueue<>()
+        final CountDownLatch release = new CountDownLatch(1)
+
+        @Override
+        void onApplicationEvent(final TestEvent event) {
+            this.release.await(10, TimeUnit.SECONDS)
+            this.received.add(event)
+        }
+    }
+
+    static class FailingListener implements ApplicationListener<TestEvent> {
+        @Override
+        void onApplicationEvent(final TestEvent event) {
+            throw new IllegalStateException("Failure")
+        }
+    }
+}
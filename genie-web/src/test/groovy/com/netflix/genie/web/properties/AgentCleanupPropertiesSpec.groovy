@@ -31,18 +31,21 @@ class AgentCleanupPropertiesSpec extends Specification {
         properties.getRefreshInterval() == Duration.of(10, ChronoUnit.SECONDS)
         properties.getReconnectTimeLimit() == Duration.of(2, ChronoUnit.MINUTES)
         properties.getLaunchTimeLimit() == Duration.of(4, ChronoUnit.MINUTES)
+        properties.getBatchSize() == 100
         properties.isEnabled()
 
         when:
         properties.setRefreshInterval(Duration.of(1, ChronoUnit.MINUTES))
         properties.setReconnectTimeLimit(Duration.of(2, ChronoUnit.MINUTES))
         properties.setLaunchTimeLimit(Duration.of(3, ChronoUnit.MINUTES))
+        properties.setBatchSize(10)
         properties.setEnabled(false)
 
         then:
         properties.getRefreshInterval() == Duration.of(1, ChronoUnit.MINUTES)
         properties.getReconnectTimeLimit() == Duration.of(2, ChronoUnit.MINUTES)
         properties.getLaunchTimeLimit() == Duration.of(3, ChronoUnit.MINUTES)
+        properties.getBatchSize() == 10
         !properties.isEnabled()
     }
 }
@@ -30,15 +30,18 @@ class AttachmentServicePropertiesSpec extends Specification {
         props.getLocationPrefix().toString() ==~ /file:\/\/\/.+\/genie\/attachments/
         props.getMaxSize() == DataSize.ofMegabytes(100)
         props.getMaxTotalSize() == DataSize.ofMegabytes(150)
+        !props.isContentAddressed()
 
         when:
         props.setLocationPrefix(URI.create("s3://genie-attachments/prod"))
         props.setMaxSize(DataSize.ofMegabytes(50))
         props.setMaxTotalSize(DataSize.ofMegabytes(75))
+        props.setContentAddressed(true)
 
         then:
         props.getLocationPrefix() == URI.create("s3://genie-attachments/prod")
         props.getMaxSize() == DataSize.ofMegabytes(50)
         props.getMaxTotalSize() == DataSize.ofMegabytes(75)
+        props.isContentAddressed()
     }
 }
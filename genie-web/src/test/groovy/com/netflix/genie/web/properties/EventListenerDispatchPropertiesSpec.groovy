@@ -0,0 +1,52 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties
+
+import spock.lang.Specification
+
+/**
+ * Specifications for the {@link EventListenerDispatchProperties} class.
+ */
+class EventListenerDispatchPropertiesSpec extends Specification {
+
+    def "Defaults, getters, setters"() {
+        when:
+        def properties = new EventListenerDispatchProperties()
+
+        then:
+        !properties.isEnabled()
+        properties.getQueueCapacity() == 1_000
+        properties.getThreadsPerListener() == 1
+        properties.getOverflowPolicy() == EventListenerDispatchProperties.OverflowPolicy.DROP_NEWEST
+        properties.getThreadNamePrefix() == "genie-event-listener-"
+
+        when:
+        properties.setEnabled(true)
+        properties.setQueueCapacity(50)
+        properties.setThreadsPerListener(3)
+        properties.setOverflowPolicy(EventListenerDispatchProperties.OverflowPolicy.CALLER_RUNS)
+        properties.setThreadNamePrefix("foo-")
+
+        then:
+        properties.isEnabled()
+        properties.getQueueCapacity() == 50
+        properties.getThreadsPerListener() == 3
+        properties.getOverflowPolicy() == EventListenerDispatchProperties.OverflowPolicy.CALLER_RUNS
+        properties.getThreadNamePrefix() == "foo-"
+    }
+}
@@ -17,8 +17,11 @@
  */
 package com.netflix.genie.web.properties
 
+import org.springframework.util.unit.DataSize
 import spock.lang.Specification
 
+import java.time.Duration
+
 /**
  * Specifications for {@link GRpcServerProperties}.
  *
@@ -32,11 +35,53 @@ class GRpcServerPropertiesSpec extends Specification {
 
         then:
         !properties.isEnabled()
+        !properties.getTransport().isEpollEnabled()
+        properties.getTransport().getEventLoopThreads() == 0
+        properties.getTransport().getFlowControlWindow() == null
+        properties.getTransport().getMaxInboundMessageSize() == DataSize.ofMegabytes(4)
+        properties.getTransport().getMaxConcurrentCallsPerConnection() == 0
+        properties.getTransport().getKeepAliveTime() == null
+        properties.getTransport().getKeepAliveTimeout() == null
+        properties.getTransport().getPermitKeepAliveTime() == Duration.ofMinutes(5)
+        !properties.getTransport().isPermitKeepAliveWithoutCalls()
+        properties.getTransport().getMaxConnectionIdle() == null
+        properties.getTransport().getMaxConnectionAge() == null
+        properties.getTransport().getMaxConnectionAgeGrace() == null
+        properties.getCallExecutor().getThreads() == 0
+        properties.getCallExecutor().getServiceThreads().isEmpty()
 
         when:
         properties.setEnabled(true)
+        properties.getTransport().setEpollEnabled(true)
+        properties.getTransport().setEventLoopThreads(8)
+        properties.getTransport().setFlowControlWindow(DataSize.ofMegabytes(8))
+        properties.getTransport().setMaxInboundMessageSize(DataSize.ofMegabytes(16))
+        properties.getTransport().setMaxConcurrentCallsPerConnection(100)
+        properties.getTransport().setKeepAliveTime(Duration.ofMinutes(1))
+        properties.getTransport().setKeepAliveTimeout(Duration.ofSeconds(20))
+        properties.getTransport().setPermitKeepAliveTime(Duration.ofSeconds(30))
+        properties.getTransport().setPermitKeepAliveWithoutCalls(true)
+        properties.getTransport().setMaxConnectionIdle(Duration.ofMinutes(10))
+        properties.getTransport().setMaxConnectionAge(Duration.ofHours(1))
+        properties.getTransport().setMaxConnectionAgeGrace(Duration.ofMinutes(2))
+        properties.getCallExecutor().setThreads(64)
+        properties.getCallExecutor().setServiceThreads(["com.netflix.genie.proto.FileStreamService": 16])
 
         then:
         properties.isEnabled()
+        properties.getTransport().isEpollEnabled()
+        properties.getTransport().getEventLoopThreads() == 8
+        properties.getTransport().getFlowControlWindow() == DataSize.ofMegabytes(8)
+        properties.getTransport().getMaxInboundMessageSize() == DataSize.ofMegabytes(16)
+        properties.getTransport().getMaxConcurrentCallsPerConnection() == 100
+        properties.getTransport().getKeepAliveTime() == Duration.ofMinutes(1)
+        properties.getTransport().getKeepAliveTimeout() == Duration.ofSeconds(20)
+        properties.getTransport().getPermitKeepAliveTime() == Duration.ofSeconds(30)
+        properties.getTransport().isPermitKeepAliveWithoutCalls()
+        properties.getTransport().getMaxConnectionIdle() == Duration.ofMinutes(10)
+        properties.getTransport().getMaxConnectionAge() == Duration.ofHours(1)
+        properties.getTransport().getMaxConnectionAgeGrace() == Duration.ofMinutes(2)
+        properties.getCallExecutor().getThreads() == 64
+        properties.getCallExecutor().getServiceThreads() == ["com.netflix.genie.proto.FileStreamService": 16]
     }
 }
@@ -0,0 +1,52 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties
+
+import spock.lang.Specification
+
+/**
+ * Specifications for the {@link JobLaunchProperties} class.
+ */
+class JobLaunchPropertiesSpec extends Specification {
+
+    def "Defaults, getters, setters"() {
+        when:
+        def properties = new JobLaunchProperties()
+
+        then:
+        !properties.isAsync()
+        properties.getResolutionThreads() == 4
+        properties.getLaunchThreads() == 8
+        properties.getQueueCapacity() == 500
+        properties.getThreadNamePrefix() == "genie-job-launch-"
+
+        when:
+        properties.setAsync(true)
+        properties.setResolutionThreads(2)
+        properties.setLaunchThreads(16)
+        properties.setQueueCapacity(10)
+        properties.setThreadNamePrefix("foo-")
+
+        then:
+        properties.isAsync()
+        properties.getResolutionThreads() == 2
+        properties.getLaunchThreads() == 16
+        properties.getQueueCapacity() == 10
+        properties.getThreadNamePrefix() == "foo-"
+    }
+}
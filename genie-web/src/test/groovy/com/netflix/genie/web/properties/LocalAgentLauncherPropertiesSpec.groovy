@@ -45,12 +45,17 @@ class LocalAgentLauncherPropertiesSpec extends Specification {
         properties.getAgentJarPath() == "/tmp/genie-agent.jar"
         properties.getMaxJobMemory() == 10_240L
         properties.getMaxTotalJobMemory() == 30_720L
+        properties.getMaxTotalJobCpu() == 0
+        properties.getMaxActiveJobs() == 0
         !properties.isRunAsUserEnabled()
         properties.additionalEnvironment.isEmpty()
         !properties.isProcessOutputCaptureEnabled()
         properties.getHostInfoExpireAfter() == Duration.ofMinutes(1L)
         properties.getHostInfoRefreshAfter() == Duration.ofSeconds(30L)
         properties.getServerHostname() == "127.0.0.1"
+        properties.getDaemonSocketPath() == null
+        properties.getDaemonHandoffTimeout() == Duration.ofSeconds(5L)
+        properties.getDaemonArgumentsTemplate() == ["exec", "--server-host", LocalAgentLauncherProperties.SERVER_HOST_PLACEHOLDER, "--server-port", LocalAgentLauncherProperties.SERVER_PORT_PLACEHOLDER, "--api-job", "--job-id", LocalAgentLauncherProperties.JOB_ID_PLACEHOLDER]
     }
 
     def "Setters and getters work properly"() {
@@ -62,6 +67,7 @@ class LocalAgentLauncherPropertiesSpec extends Specification {
         def environment = ImmutableMap.of("FOO", "Bar")
         def expireAfter = Duration.ofHours(1L)
         def refreshAfter = Duration.ofMillis(12L)
+        def daemonArguments = Lists.newArrayList("exec", "--full-cleanup")
 
         when:
         properties.setEnabled(false)
@@ -69,12 +75,17 @@ class LocalAgentLauncherPropertiesSpec extends Specification {
         properties.setAgentJarPath(newJar)
         properties.setMaxJobMemory(newMaxJobMemory)
         properties.setMaxTotalJobMemory(newMaxTotalJobMemory)
+        properties.setMaxTotalJobCpu(64)
+        properties.setMaxActiveJobs(20)
         properties.setRunAsUserEnabled(true)
         properties.setAdditionalEnvironment(environment)
         properties.setProcessOutputCaptureEnabled(true)
         properties.setHostInfoExpireAfter(expireAfter)
         properties.setHostInfoRefreshAfter(refreshAfter)
         properties.setServerHostname("genie.netflix.net")
+        properties.setDaemonSocketPath("/tmp/daemon.sock")
+        properties.setDaemonArgumentsTemplate(daemonArguments)
+        properties.setDaemonHandoffTimeout(Duration.ofMillis(500L))
 
         then:
         !properties.isEnabled()
@@ -82,11 +93,16 @@ class LocalAgentLauncherPropertiesSpec extends Specification {
         properties.getAgentJarPath() == newJar
         properties.getMaxJobMemory() == newMaxJobMemory
         properties.getMaxTotalJobMemory() == newMaxTotalJobMemory
+        properties.getMaxTotalJobCpu() == 64
+        properties.getMaxActiveJobs() == 20
         properties.isRunAsUserEnabled()
         properties.getAdditionalEnvironment() == environment
         properties.isProcessOutputCaptureEnabled()
         properties.getHostInfoExpireAfter() == expireAfter
         properties.getHostInfoRefreshAfter() == refreshAfter
         properties.getServerHostname() == "genie.netflix.net"
+        properties.getDaemonSocketPath() == "/tmp/daemon.sock"
+        properties.getDaemonArgumentsTemplate() == daemonArguments
+        properties.getDaemonHandoffTimeout() == Duration.ofMillis(500L)
     }
 }
@@ -0,0 +1,48 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties
+
+import spock.lang.Specification
+
+import java.time.Duration
+
+/**
+ * Specifications for the {@link ResourceCacheProperties} class.
+ */
+class ResourceCachePropertiesSpec extends Specification {
+
+    def "Defaults, getters, setters"() {
+        when:
+        def properties = new ResourceCacheProperties()
+
+        then:
+        !properties.isEnabled()
+        properties.getMaxSize() == 10_000L
+        properties.getTimeToLive() == Duration.ofSeconds(10)
+
+        when:
+        properties.setEnabled(true)
+        properties.setMaxSize(100L)
+        properties.setTimeToLive(Duration.ofMinutes(1))
+
+        then:
+        properties.isEnabled()
+        properties.getMaxSize() == 100L
+        properties.getTimeToLive() == Duration.ofMinutes(1)
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties
+
+import spock.lang.Specification
+
+import java.time.Duration
+
+/**
+ * Specifications for the {@link TasksTimerProperties} class.
+ */
+class TasksTimerPropertiesSpec extends Specification {
+
+    def "Defaults, getters, setters"() {
+        when:
+        def properties = new TasksTimerProperties()
+
+        then:
+        properties.getTickDuration() == Duration.ofMillis(100)
+        properties.getTicksPerWheel() == 512
+        properties.getThreadName() == "genie-timer"
+        properties.getExecutorThreads() == 4
+
+        when:
+        properties.setTickDuration(Duration.ofMillis(10))
+        properties.setTicksPerWheel(64)
+        properties.setThreadName("timer")
+        properties.setExecutorThreads(8)
+
+        then:
+        properties.getTickDuration() == Duration.ofMillis(10)
+        properties.getTicksPerWheel() == 64
+        properties.getThreadName() == "timer"
+        properties.getExecutorThreads() == 8
+    }
+}
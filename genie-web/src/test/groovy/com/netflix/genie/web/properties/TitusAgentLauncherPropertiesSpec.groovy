@@ -71,6 +71,9 @@ class TitusAgentLauncherPropertiesSpec extends Specification {
             "--server-port", TitusAgentLauncherProperties.SERVER_PORT_PLACEHOLDER
         ]
         p.getAgentImageKey() == "genieAgent"
+        !p.getCreationPool().isEnabled()
+        p.getCreationPool().getMaxConcurrentRequests() == 8
+        p.getCreationPool().getTimeout() == Duration.ofMinutes(1)
 
         when:
         p.setEnabled(true)
@@ -121,6 +124,11 @@ class TitusAgentLauncherPropertiesSpec extends Specification {
             ]
         )
         p.setAgentImageKey("genie-agent")
+        def creationPool = new TitusAgentLauncherProperties.CreationPool()
+        creationPool.setEnabled(true)
+        creationPool.setMaxConcurrentRequests(2)
+        creationPool.setTimeout(Duration.ofSeconds(30))
+        p.setCreationPool(creationPool)
 
         then:
         p.isEnabled()
@@ -168,5 +176,8 @@ class TitusAgentLauncherPropertiesSpec extends Specification {
             "--launchInJobDirectory"
         ]
         p.getAgentImageKey() == "genie-agent"
+        p.getCreationPool().isEnabled()
+        p.getCreationPool().getMaxConcurrentRequests() == 2
+        p.getCreationPool().getTimeout() == Duration.ofSeconds(30)
     }
 }
@@ -31,6 +31,7 @@ class UserMetricsPropertiesSpec extends Specification {
         then:
         properties.isEnabled()
         properties.getRefreshInterval() == 30_000L
+        properties.getReconciliationInterval() == 30_000L
     }
 
     def "Can set new values"() {
@@ -40,9 +41,11 @@ class UserMetricsPropertiesSpec extends Specification {
         when:
         properties.setEnabled(false)
         properties.setRefreshInterval(5_000L)
+        properties.setReconciliationInterval(60_000L)
 
         then:
         !properties.isEnabled()
         properties.getRefreshInterval() == 5_000L
+        properties.getReconciliationInterval() == 60_000L
     }
 }
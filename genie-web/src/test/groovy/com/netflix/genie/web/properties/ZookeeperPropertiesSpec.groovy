@@ -28,13 +28,16 @@ class ZookeeperPropertiesSpec extends Specification {
         then:
         zkProperties.getLeaderPath() == "/genie/leader/"
         zkProperties.getDiscoveryPath() == "/genie/agents/"
+        zkProperties.getShardingPath() == "/genie/sharding/"
 
         when:
         zkProperties.setLeaderPath("/genie/my-cluster/leader/")
         zkProperties.setDiscoveryPath("/genie/my-cluster/agents/")
+        zkProperties.setShardingPath("/genie/my-cluster/sharding/")
 
         then:
         zkProperties.getLeaderPath() == "/genie/my-cluster/leader/"
         zkProperties.getDiscoveryPath() == "/genie/my-cluster/agents/"
+        zkProperties.getShardingPath() == "/genie/my-cluster/sharding/"
     }
 }
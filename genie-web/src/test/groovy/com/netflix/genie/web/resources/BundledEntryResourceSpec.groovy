@@ -0,0 +1,90 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.resources
+
+import org.springframework.core.io.ByteArrayResource
+import org.springframework.core.io.Resource
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * Specifications for {@link BundledEntryResource}.
+ */
+class BundledEntryResourceSpec extends Specification {
+
+    def "Presents the region of the bundle holding the file"() {
+        def bundle = new ByteArrayResource("aaaabbbbbbcc".getBytes(StandardCharsets.UTF_8))
+        def resource = new BundledEntryResource(bundle, "b.txt", 4, 6)
+
+        expect:
+        resource.exists()
+        resource.contentLength() == 6
+        resource.getFilename() == "b.txt"
+        resource.getInputStream().getText(StandardCharsets.UTF_8.name()) == "bbbbbb"
+    }
+
+    def "Empty files don't read the bundle"() {
+        def bundle = Mock(Resource)
+        def resource = new BundledEntryResource(bundle, "empty", 4, 0)
+
+        when:
+        def data = resource.getInputStream()
+
+        then:
+        0 * bundle.getInputStream()
+        data.read() == -1
+    }
+
+    def "Failure to skip to the file closes the bundle stream"() {
+        def closed = new AtomicBoolean()
+        def bundleStream = new InputStream() {
+            @Override
+            int read() throws IOException {
+                throw new IOException("broken")
+            }
+
+            @Override
+            int read(final byte[] b, final int off, final int len) throws IOException {
+                throw new IOException("broken")
+            }
+
+            @Override
+            long skip(final long n) throws IOException {
+                throw new IOException("broken")
+            }
+
+            @Override
+            void close() {
+                closed.set(true)
+            }
+        }
+        def bundle = Mock(Resource) {
+            getInputStream() >> bundleStream
+        }
+        def resource = new BundledEntryResource(bundle, "b.txt", 4, 6)
+
+        when:
+        resource.getInputStream()
+
+        then:
+        thrown(IOException)
+        closed.get()
+    }
+}
@@ -48,6 +48,32 @@ class ManagedScriptBasePropertiesSpec extends Specification {
         this.testProperties.getPropertiesRefreshInterval() == Duration.ofSeconds(10)
     }
 
+    def "Circuit breaker and decision cache properties"() {
+        expect:
+        !this.testProperties.getCircuitBreaker().isEnabled()
+        this.testProperties.getCircuitBreaker().getFailureThreshold() == 5
+        this.testProperties.getCircuitBreaker().getOpenDuration() == Duration.ofSeconds(30)
+        !this.testProperties.getDecisionCache().isEnabled()
+        this.testProperties.getDecisionCache().getTimeToLive() == Duration.ofSeconds(10)
+        this.testProperties.getDecisionCache().getMaxSize() == 1_000L
+
+        when:
+        this.testProperties.getCircuitBreaker().setEnabled(true)
+        this.testProperties.getCircuitBreaker().setFailureThreshold(2)
+        this.testProperties.getCircuitBreaker().setOpenDuration(Duration.ofMinutes(1))
+        this.testProperties.getDecisionCache().setEnabled(true)
+        this.testProperties.getDecisionCache().setTimeToLive(Duration.ofSeconds(1))
+        this.testProperties.getDecisionCache().setMaxSize(10L)
+
+        then:
+        this.testProperties.getCircuitBreaker().isEnabled()
+        this.testProperties.getCircuitBreaker().getFailureThreshold() == 2
+        this.testProperties.getCircuitBreaker().getOpenDuration() == Duration.ofMinutes(1)
+        this.testProperties.getDecisionCache().isEnabled()
+        this.testProperties.getDecisionCache().getTimeToLive() == Duration.ofSeconds(1)
+        this.testProperties.getDecisionCache().getMaxSize() == 10L
+    }
+
     private static class TestProperties extends ManagedScriptBaseProperties {
     }
 }
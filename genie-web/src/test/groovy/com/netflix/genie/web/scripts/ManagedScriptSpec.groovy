@@ -18,11 +18,15 @@
 package com.netflix.genie.web.scripts
 
 import com.google.common.collect.ImmutableMap
+import com.netflix.genie.web.exceptions.checked.ScriptExecutionException
 import com.netflix.genie.web.exceptions.checked.ScriptNotConfiguredException
+import com.netflix.genie.web.util.MetricsConstants
+import io.micrometer.core.instrument.Counter
 import io.micrometer.core.instrument.MeterRegistry
 import spock.lang.Specification
 
 import javax.script.Bindings
+import java.util.function.Supplier
 
 class ManagedScriptSpec extends Specification {
     ScriptManager scriptManager
@@ -88,6 +92,78 @@ class ManagedScriptSpec extends Specification {
         returned == result
     }
 
+    def "Evaluate Script with typed script evaluator"() {
+        def parameters = ImmutableMap.of("x", new Object())
+        def evaluator = Mock(ScriptManager.TypedScriptEvaluator)
+        def result = new Object()
+        def uri = new URI("file:///foo.groovy")
+
+        when: "Attempt execution without script configured"
+        this.script.evaluateScript({ parameters } as Supplier, evaluator)
+
+        then:
+        thrown(ScriptNotConfiguredException)
+
+        when: "Execute script without issues"
+        this.properties.setSource(uri)
+        def returned = this.script.evaluateScript({ parameters } as Supplier, evaluator)
+
+        then:
+        1 * this.scriptManager.evaluateScript(uri, _ as Supplier<Bindings>, evaluator, this.properties.getTimeout()) >> {
+            URI u, Supplier<Bindings> bindingsSupplier, ScriptManager.TypedScriptEvaluator e, long t ->
+                assert bindingsSupplier.get().get("x") == parameters.get("x")
+                return result
+        }
+        returned == result
+    }
+
+    def "Evaluations are rejected while the circuit is open"() {
+        def uri = new URI("file:///foo.js")
+        this.properties.setSource(uri)
+        this.properties.getCircuitBreaker().setEnabled(true)
+        this.properties.getCircuitBreaker().setFailureThreshold(2)
+        def guardedScript = new TestScript(this.scriptManager, this.properties, this.registry)
+        def counter = Mock(Counter)
+
+        when:
+        guardedScript.evaluateScript(ImmutableMap.of())
+
+        then: "Scripts not loaded yet don't count as failures"
+        1 * this.scriptManager.evaluateScript(uri, _ as Bindings, _) >> {
+            throw new ScriptNotConfiguredException("not loaded")
+        }
+        thrown(ScriptNotConfiguredException)
+        guardedScript.getCircuitBreaker().getState() == ScriptCircuitBreaker.State.CLOSED
+
+        when:
+        2.times {
+            try {
+                guardedScript.evaluateScript(ImmutableMap.of())
+            } catch (final ScriptExecutionException ignored) {
+                // expected
+            }
+        }
+
+        then:
+        2 * this.scriptManager.evaluateScript(uri, _ as Bindings, _) >> {
+            throw new ScriptExecutionException("timeout")
+        }
+        guardedScript.getCircuitBreaker().getState() == ScriptCircuitBreaker.State.OPEN
+
+        when:
+        guardedScript.evaluateScript(ImmutableMap.of())
+
+        then:
+        0 * this.scriptManager.evaluateScript(_, _, _)
+        1 * this.registry.counter(
+            ManagedScript.CIRCUIT_OPEN_COUNTER_NAME,
+            MetricsConstants.TagKeys.SCRIPT_URI,
+            uri.toString()
+        ) >> counter
+        1 * counter.increment()
+        thrown(ScriptExecutionException)
+    }
+
     private class TestScript extends ManagedScript {
         TestScript(
             final ScriptManager scriptManager,
@@ -19,15 +19,18 @@ package com.netflix.genie.web.scripts
 
 import com.google.common.collect.Maps
 import com.google.common.collect.Sets
+import com.netflix.genie.common.internal.dtos.JobMetadata
 import com.netflix.genie.common.internal.dtos.JobRequest
 import com.netflix.genie.common.internal.util.PropertiesMapCache
 import com.netflix.genie.web.exceptions.checked.ResourceSelectionException
+import com.netflix.genie.web.exceptions.checked.ScriptExecutionException
 import com.netflix.genie.web.selectors.ResourceSelectionContext
 import io.micrometer.core.instrument.MeterRegistry
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import spock.lang.Specification
 
 import javax.script.Bindings
+import java.util.function.Supplier
 
 class ResourceSelectorScriptSpec extends Specification {
 
@@ -79,10 +82,10 @@ class ResourceSelectorScriptSpec extends Specification {
 
         then:
         1 * cache.get() >> cachedProperties
-        1 * scriptManager.evaluateScript(_ as URI, _ as Bindings, _) >> {
-            URI u, Bindings b, long t ->
-                assert b.get(ResourceSelectorScript.PROPERTIES_MAP_BINDING) == cachedProperties
-                assert b.get(ResourceSelectorScript.CONTEXT_BINDING) == context
+        1 * scriptManager.evaluateScript(_ as URI, _ as Supplier<Bindings>, _, _) >> {
+            URI u, Supplier<Bindings> b, ScriptManager.TypedScriptEvaluator e, long t ->
+                assert b.get().get(ResourceSelectorScript.PROPERTIES_MAP_BINDING) == cachedProperties
+                assert b.get().get(ResourceSelectorScript.CONTEXT_BINDING) == context
                 return selectResource1Result
         }
         1 * context.getResources() >> testResources
@@ -101,7 +104,7 @@ class ResourceSelectorScriptSpec extends Specification {
 
         then:
         1 * cache.get() >> cachedProperties
-        1 * scriptManager.evaluateScript(_, _, _) >> emptySelection
+        1 * scriptManager.evaluateScript(_, _, _, _) >> emptySelection
         selected != null
         !selected.getResource().isPresent()
     }
@@ -123,7 +126,7 @@ class ResourceSelectorScriptSpec extends Specification {
 
         then:
         1 * cache.get() >> cachedProperties
-        1 * scriptManager.evaluateScript(_, _, _) >> new Object()
+        1 * scriptManager.evaluateScript(_, _, _, _) >> new Object()
         thrown(ResourceSelectionException)
 
         when:
@@ -131,7 +134,7 @@ class ResourceSelectorScriptSpec extends Specification {
 
         then:
         1 * cache.get() >> cachedProperties
-        1 * scriptManager.evaluateScript(_, _, _) >> selectResource1Result
+        1 * scriptManager.evaluateScript(_, _, _, _) >> selectResource1Result
         1 * context.getResources() >> Sets.newHashSet()
         thrown(ResourceSelectionException)
 
@@ -141,7 +144,7 @@ class ResourceSelectorScriptSpec extends Specification {
 
         then:
         1 * cache.get() >> cachedProperties
-        1 * scriptManager.evaluateScript(_, _, _) >> selectOtherResourceResult
+        1 * scriptManager.evaluateScript(_, _, _, _) >> selectOtherResourceResult
         1 * context.getResources() >> testResources
         thrown(ResourceSelectionException)
 
@@ -154,6 +157,105 @@ class ResourceSelectorScriptSpec extends Specification {
         thrown(ResourceSelectionException)
     }
 
+    def "Select resource with typed script"() {
+        this.scriptProperties.setSource(scriptUri)
+        cachedProperties.put("foo", "bar")
+        def typedScript = Mock(TypedResourceSelectorScript)
+        ResourceSelectorScriptResult<TestResource> selected
+
+        when:
+        selected = resourceSelectorScript.selectResource(context)
+
+        then:
+        1 * cache.get() >> cachedProperties
+        1 * scriptManager.evaluateScript(scriptUri, _ as Supplier<Bindings>, _, _) >> {
+            URI u, Supplier<Bindings> b, ScriptManager.TypedScriptEvaluator e, long t ->
+                return e.evaluate(typedScript)
+        }
+        1 * typedScript.selectResource(context, cachedProperties) >> selectResource1Result
+        1 * context.getResources() >> testResources
+        selected.getResource().get() == testResource1
+
+        when: "The script class is not a selector"
+        resourceSelectorScript.selectResource(context)
+
+        then:
+        1 * cache.get() >> cachedProperties
+        1 * scriptManager.evaluateScript(scriptUri, _ as Supplier<Bindings>, _, _) >> {
+            URI u, Supplier<Bindings> b, ScriptManager.TypedScriptEvaluator e, long t ->
+                return e.evaluate(new Object())
+        }
+        def exception = thrown(ResourceSelectionException)
+        exception.getCause() instanceof IllegalArgumentException
+    }
+
+    def "Decisions are reused for the same candidates and job"() {
+        this.scriptProperties.setSource(scriptUri)
+        this.scriptProperties.getDecisionCache().setEnabled(true)
+        def cachingScript = new TestResourceSelectorScript(scriptManager, scriptProperties, registry, cache)
+        def jobMetadata = Mock(JobMetadata) {
+            getUser() >> "someone"
+        }
+        def jobRequest = Mock(JobRequest) {
+            getMetadata() >> jobMetadata
+            getCommandArgs() >> ["--foo"]
+        }
+        def otherJobRequest = Mock(JobRequest) {
+            getMetadata() >> jobMetadata
+            getCommandArgs() >> ["--bar"]
+        }
+        context.getJobRequest() >> jobRequest
+        context.getJobId() >> "job"
+
+        when:
+        def first = cachingScript.selectResource(context)
+        def second = cachingScript.selectResource(context)
+
+        then:
+        2 * cache.get() >> cachedProperties
+        _ * context.getResources() >> testResources
+        1 * scriptManager.evaluateScript(_, _, _, _) >> selectResource1Result
+        first.is(selectResource1Result)
+        second.is(selectResource1Result)
+
+        when: "The candidates changed"
+        def third = cachingScript.selectResource(context)
+
+        then:
+        1 * cache.get() >> cachedProperties
+        _ * context.getResources() >> Sets.newHashSet(testResource1)
+        1 * scriptManager.evaluateScript(_, _, _, _) >> selectResource1Result
+        third.is(selectResource1Result)
+
+        when: "The job request differs beyond the criteria"
+        def fourth = cachingScript.selectResource(context)
+
+        then:
+        1 * cache.get() >> cachedProperties
+        _ * context.getResources() >> Sets.newHashSet(testResource1)
+        _ * context.getJobRequest() >> otherJobRequest
+        1 * scriptManager.evaluateScript(_, _, _, _) >> selectResource1Result
+        fourth.is(selectResource1Result)
+
+        when: "Failures are not cached"
+        cachingScript.selectResource(context)
+
+        then:
+        1 * cache.get() >> cachedProperties
+        _ * context.getResources() >> Sets.newHashSet(testResource2)
+        1 * scriptManager.evaluateScript(_, _, _, _) >> { throw new ScriptExecutionException("timeout") }
+        thrown(ResourceSelectionException)
+
+        when:
+        cachingScript.selectResource(context)
+
+        then:
+        1 * cache.get() >> cachedProperties
+        _ * context.getResources() >> Sets.newHashSet(testResource2)
+        1 * scriptManager.evaluateScript(_, _, _, _) >> selectResource1Result
+        thrown(ResourceSelectionException)
+    }
+
     class TestResourceSelectorScript extends ResourceSelectorScript<TestResource, TestSelectionContext> {
         protected TestResourceSelectorScript(
             final ScriptManager scriptManager,
@@ -0,0 +1,132 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.scripts
+
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.function.LongSupplier
+
+/**
+ * Specifications for {@link ScriptCircuitBreaker}.
+ */
+class ScriptCircuitBreakerSpec extends Specification {
+
+    long now
+    ScriptCircuitBreaker circuitBreaker
+
+    def setup() {
+        def properties = new ManagedScriptBaseProperties.CircuitBreaker()
+        properties.setFailureThreshold(3)
+        properties.setOpenDuration(Duration.ofSeconds(10))
+        this.now = 0L
+        this.circuitBreaker = new ScriptCircuitBreaker("test", properties, { this.now } as LongSupplier)
+    }
+
+    def "Opens after consecutive failures only"() {
+        when:
+        2.times {
+            assert this.circuitBreaker.tryAcquire()
+            this.circuitBreaker.recordFailure()
+        }
+        this.circuitBreaker.tryAcquire()
+        this.circuitBreaker.recordSuccess()
+        2.times {
+            assert this.circuitBreaker.tryAcquire()
+            this.circuitBreaker.recordFailure()
+        }
+
+        then: "A success in between reset the count"
+        this.circuitBreaker.getState() == ScriptCircuitBreaker.State.CLOSED
+
+        when:
+        this.circuitBreaker.tryAcquire()
+        this.circuitBreaker.recordFailure()
+
+        then:
+        this.circuitBreaker.getState() == ScriptCircuitBreaker.State.OPEN
+        !this.circuitBreaker.tryAcquire()
+    }
+
+    def "Lets a single probe through once the open duration elapsed"() {
+        this.openCircuit()
+
+        when:
+        this.now = Duration.ofSeconds(9).toNanos()
+
+        then:
+        !this.circuitBreaker.tryAcquire()
+
+        when:
+        this.now = Duration.ofSeconds(10).toNanos()
+
+        then:
+        this.circuitBreaker.tryAcquire()
+        this.circuitBreaker.getState() == ScriptCircuitBreaker.State.HALF_OPEN
+        !this.circuitBreaker.tryAcquire()
+
+        when: "The probe succeeds"
+        this.circuitBreaker.recordSuccess()
+
+        then:
+        this.circuitBreaker.getState() == ScriptCircuitBreaker.State.CLOSED
+        this.circuitBreaker.tryAcquire()
+        this.circuitBreaker.tryAcquire()
+    }
+
+    def "A failed probe opens the circuit again"() {
+        this.openCircuit()
+        this.now = Duration.ofSeconds(10).toNanos()
+
+        when:
+        this.circuitBreaker.tryAcquire()
+        this.circuitBreaker.recordFailure()
+
+        then:
+        this.circuitBreaker.getState() == ScriptCircuitBreaker.State.OPEN
+        !this.circuitBreaker.tryAcquire()
+
+        when:
+        this.now = Duration.ofSeconds(20).toNanos()
+
+        then:
+        this.circuitBreaker.tryAcquire()
+    }
+
+    def "A released probe lets the next evaluation probe"() {
+        this.openCircuit()
+        this.now = Duration.ofSeconds(10).toNanos()
+
+        when:
+        this.circuitBreaker.tryAcquire()
+        this.circuitBreaker.release()
+
+        then:
+        this.circuitBreaker.getState() == ScriptCircuitBreaker.State.HALF_OPEN
+        this.circuitBreaker.tryAcquire()
+        !this.circuitBreaker.tryAcquire()
+    }
+
+    private void openCircuit() {
+        3.times {
+            this.circuitBreaker.tryAcquire()
+            this.circuitBreaker.recordFailure()
+        }
+        assert this.circuitBreaker.getState() == ScriptCircuitBreaker.State.OPEN
+    }
+}
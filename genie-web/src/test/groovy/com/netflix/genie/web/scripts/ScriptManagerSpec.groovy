@@ -26,6 +26,8 @@ import com.netflix.genie.web.util.MetricsUtils
 import io.micrometer.core.instrument.MeterRegistry
 import io.micrometer.core.instrument.Tag
 import io.micrometer.core.instrument.Timer
+import org.codehaus.groovy.jsr223.GroovyCompiledScript
+import org.codehaus.groovy.jsr223.GroovyScriptEngineImpl
 import org.springframework.core.io.Resource
 import org.springframework.core.io.ResourceLoader
 import org.springframework.scheduling.TaskScheduler
@@ -37,14 +39,19 @@ import javax.script.CompiledScript
 import javax.script.ScriptEngine
 import javax.script.ScriptEngineManager
 import javax.script.ScriptException
+import javax.script.SimpleScriptContext
+import java.nio.charset.StandardCharsets
 import java.time.Duration
 import java.time.Instant
+import java.util.concurrent.Callable
+import java.util.concurrent.CompletableFuture
 import java.util.concurrent.ExecutorService
 import java.util.concurrent.Future
 import java.util.concurrent.ScheduledFuture
 import java.util.concurrent.TimeUnit
 import java.util.concurrent.TimeoutException
 import java.util.concurrent.atomic.AtomicReference
+import java.util.function.Supplier
 
 class ScriptManagerSpec extends Specification {
     ScriptManagerProperties scriptManagerProperties
@@ -365,6 +372,173 @@ class ScriptManagerSpec extends Specification {
         result == evaluationResult
     }
 
+    def "LoadScriptTask -- typed scripts"() {
+        URI scriptUri = new URI("file:///myscript.groovy")
+        this.scriptManagerProperties.setTypedScriptsEnabled(true)
+
+        AtomicReference compiledScriptReference
+        ScriptManager.LoadScriptTask loadScriptTask
+
+        Timer timer = Mock(Timer)
+        Set<Tag> loadingErrorTags = MetricsUtils.newFailureTagsSetForException(new ScriptLoadingException())
+        Set<Tag> loadingSuccessTags = MetricsUtils.newSuccessTagsSet()
+
+        Tag uriTag = Tag.of(MetricsConstants.TagKeys.SCRIPT_URI, scriptUri.toString())
+        loadingErrorTags.add(uriTag)
+        loadingSuccessTags.add(uriTag)
+
+        Resource scriptResource = Mock(Resource)
+        GroovyScriptEngineImpl engine = Spy(GroovyScriptEngineImpl)
+        ScriptEngine otherEngine = Mock(CompilableScriptEngine)
+        CompiledScript compiledScript = Mock(CompiledScript)
+        String plainScript = "return 1"
+        String classScript = "class TypedTestScript {}"
+
+        when: "Register script..."
+        this.scriptManager.manageScript(scriptUri)
+        compiledScriptReference = this.scriptManager.scriptsMap.get(scriptUri)
+
+        then: "...capture loading task"
+        1 * this.taskScheduler.scheduleAtFixedRate(_ as Runnable, _ as Instant, _ as Duration) >> {
+            args ->
+                loadScriptTask = args[0] as ScriptManager.LoadScriptTask
+                return Mock(ScheduledFuture)
+        }
+        loadScriptTask != null
+
+        when: "A plain script is still evaluated through its engine, without being compiled again"
+        loadScriptTask.run()
+
+        then:
+        1 * resourceLoader.getResource(scriptUri.toString()) >> scriptResource
+        1 * scriptResource.exists() >> true
+        1 * scriptEngineManager.getEngineByExtension("groovy") >> engine
+        1 * scriptResource.getInputStream() >> new ByteArrayInputStream(plainScript.getBytes(StandardCharsets.UTF_8))
+        0 * engine.compile(_)
+        1 * meterRegistry.timer(
+            ScriptManager.SCRIPT_LOAD_TIMER_NAME,
+            { Set<Tag> tags -> tags.containsAll(loadingSuccessTags) }
+        ) >> timer
+        1 * timer.record({ it > 0 }, TimeUnit.NANOSECONDS)
+        compiledScriptReference.get() instanceof GroovyCompiledScript
+        (compiledScriptReference.get() as CompiledScript).eval(new SimpleScriptContext()) == 1
+
+        when: "A script for another Groovy engine is compiled by that engine"
+        loadScriptTask.run()
+
+        then:
+        1 * resourceLoader.getResource(scriptUri.toString()) >> scriptResource
+        1 * scriptResource.exists() >> true
+        1 * scriptEngineManager.getEngineByExtension("groovy") >> otherEngine
+        1 * scriptResource.getInputStream() >> new ByteArrayInputStream(classScript.getBytes(StandardCharsets.UTF_8))
+        1 * otherEngine.compile(_ as Reader) >> compiledScript
+        1 * meterRegistry.timer(
+            ScriptManager.SCRIPT_LOAD_TIMER_NAME,
+            { Set<Tag> tags -> tags.containsAll(loadingSuccessTags) }
+        ) >> timer
+        1 * timer.record({ it > 0 }, TimeUnit.NANOSECONDS)
+        compiledScript == compiledScriptReference.get()
+
+        when: "A script declaring a class is loaded as an instance of that class"
+        loadScriptTask.run()
+
+        then:
+        1 * resourceLoader.getResource(scriptUri.toString()) >> scriptResource
+        1 * scriptResource.exists() >> true
+        1 * scriptEngineManager.getEngineByExtension("groovy") >> engine
+        1 * scriptResource.getInputStream() >> new ByteArrayInputStream(classScript.getBytes(StandardCharsets.UTF_8))
+        0 * engine.compile(_)
+        1 * meterRegistry.timer(
+            ScriptManager.SCRIPT_LOAD_TIMER_NAME,
+            { Set<Tag> tags -> tags.containsAll(loadingSuccessTags) }
+        ) >> timer
+        1 * timer.record({ it > 0 }, TimeUnit.NANOSECONDS)
+        compiledScriptReference.get().getClass().getName() == "TypedTestScript"
+        !(compiledScriptReference.get() instanceof CompiledScript)
+
+        when: "A script which doesn't compile keeps the previous version"
+        def previous = compiledScriptReference.get()
+        loadScriptTask.run()
+
+        then:
+        1 * resourceLoader.getResource(scriptUri.toString()) >> scriptResource
+        1 * scriptResource.exists() >> true
+        1 * scriptEngineManager.getEngineByExtension("groovy") >> engine
+        1 * scriptResource.getInputStream() >> new ByteArrayInputStream("class {".getBytes(StandardCharsets.UTF_8))
+        1 * meterRegistry.timer(
+            ScriptManager.SCRIPT_LOAD_TIMER_NAME,
+            { Set<Tag> tags -> tags.containsAll(loadingErrorTags) }
+        ) >> timer
+        1 * timer.record({ it > 0 }, TimeUnit.NANOSECONDS)
+        compiledScriptReference.get().is(previous)
+    }
+
+    def "evaluateScript -- typed scripts"() {
+        URI scriptUri = new URI("s3://genie/scripts/myscript.groovy")
+        Object typedScript = new Object()
+        Object evaluationResult = new Object()
+        Supplier<Bindings> bindingsSupplier = Mock(Supplier)
+
+        Timer timer = Mock(Timer)
+        Set<Tag> evalErrorTags = MetricsUtils.newFailureTagsSetForException(new TimeoutException())
+        Set<Tag> evalSuccessTags = MetricsUtils.newSuccessTagsSet()
+
+        Tag uriTag = Tag.of(MetricsConstants.TagKeys.SCRIPT_URI, scriptUri.toString())
+        evalErrorTags.add(uriTag)
+        evalSuccessTags.add(uriTag)
+
+        this.scriptManager.scriptsMap.put(scriptUri, new AtomicReference<>(typedScript))
+
+        Future<Object> evalTaskFuture = Mock(Future)
+
+        when: "Evaluated on the executor without bindings"
+        def result = this.scriptManager.evaluateScript(
+            scriptUri,
+            bindingsSupplier,
+            { it.is(typedScript) ? evaluationResult : null } as ScriptManager.TypedScriptEvaluator,
+            5_000L
+        )
+
+        then:
+        0 * bindingsSupplier.get()
+        1 * executorService.submit(_ as Callable) >> { Callable task -> CompletableFuture.completedFuture(task.call()) }
+        1 * meterRegistry.timer(
+            ScriptManager.SCRIPT_EVALUATE_TIMER_NAME,
+            { Set<Tag> tags -> tags.containsAll(evalSuccessTags) }
+        ) >> timer
+        1 * timer.record({ it > 0 }, TimeUnit.NANOSECONDS)
+        result.is(evaluationResult)
+
+        when: "The evaluation times out"
+        this.scriptManager.evaluateScript(
+            scriptUri,
+            bindingsSupplier,
+            { evaluationResult } as ScriptManager.TypedScriptEvaluator,
+            1L
+        )
+
+        then:
+        1 * executorService.submit(_ as Callable) >> evalTaskFuture
+        1 * evalTaskFuture.get(1L, TimeUnit.MILLISECONDS) >> { throw new TimeoutException("...") }
+        1 * evalTaskFuture.cancel(true)
+        1 * meterRegistry.timer(
+            ScriptManager.SCRIPT_EVALUATE_TIMER_NAME,
+            { Set<Tag> tags -> tags.containsAll(evalErrorTags) }
+        ) >> timer
+        1 * timer.record({ it > 0 }, TimeUnit.NANOSECONDS)
+        def timeoutException = thrown(ScriptExecutionException)
+        timeoutException.getCause() instanceof TimeoutException
+
+        when: "No evaluator for the typed script"
+        this.scriptManager.evaluateScript(scriptUri, Mock(Bindings), 5_000L)
+
+        then:
+        1 * meterRegistry.timer(ScriptManager.SCRIPT_EVALUATE_TIMER_NAME, _ as Set<Tag>) >> timer
+        1 * timer.record({ it > 0 }, TimeUnit.NANOSECONDS)
+        def noEvaluatorException = thrown(ScriptExecutionException)
+        noEvaluatorException.getCause() instanceof IllegalStateException
+    }
+
     abstract class CompilableScriptEngine implements ScriptEngine, Compilable {
     }
 
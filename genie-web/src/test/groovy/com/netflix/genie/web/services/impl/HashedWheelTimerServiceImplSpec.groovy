@@ -0,0 +1,143 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services.impl
+
+import com.netflix.genie.web.properties.TasksTimerProperties
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+
+/**
+ * Specifications for {@link HashedWheelTimerServiceImpl}.
+ */
+class HashedWheelTimerServiceImplSpec extends Specification {
+
+    HashedWheelTimerServiceImpl timerService
+
+    void setup() {
+        def properties = new TasksTimerProperties()
+        properties.setTickDuration(Duration.ofMillis(10))
+        properties.setTicksPerWheel(64)
+        this.timerService = new HashedWheelTimerServiceImpl(properties, { Runnable r -> r.run() } as Executor)
+    }
+
+    void cleanup() {
+        this.timerService.close()
+    }
+
+    def "Runs due tasks, including after a failed one"() {
+        def latch = new CountDownLatch(2)
+
+        when:
+        this.timerService.schedule({ throw new RuntimeException("test") } as Runnable, Duration.ZERO)
+        this.timerService.schedule({ latch.countDown() } as Runnable, Duration.ofMillis(50))
+        this.timerService.schedule({ latch.countDown() } as Runnable, Duration.ofMillis(-50))
+
+        then:
+        latch.await(10, TimeUnit.SECONDS)
+    }
+
+    def "Cancelled tasks don't run"() {
+        def latch = new CountDownLatch(1)
+        boolean cancelledTaskRan = false
+
+        when:
+        def timeout = this.timerService.schedule({ cancelledTaskRan = true } as Runnable, Duration.ofMillis(100))
+
+        then:
+        this.timerService.getPendingTimersCount() == 1
+
+        when:
+        def cancelled = timeout.cancel()
+        def cancelledAgain = timeout.cancel()
+        this.timerService.schedule({ latch.countDown() } as Runnable, Duration.ofMillis(200))
+
+        then:
+        cancelled
+        !cancelledAgain
+        latch.await(10, TimeUnit.SECONDS)
+        !cancelledTaskRan
+    }
+
+    def "Tasks rejected by the executor are dropped"() {
+        def properties = new TasksTimerProperties()
+        properties.setTickDuration(Duration.ofMillis(10))
+        def rejectingTimerService = new HashedWheelTimerServiceImpl(
+            properties,
+            { Runnable r -> throw new RejectedExecutionException("test") } as Executor
+        )
+        def latch = new CountDownLatch(1)
+
+        when:
+        rejectingTimerService.schedule({ throw new IllegalStateException("Should not run") } as Runnable, Duration.ZERO)
+        rejectingTimerService.schedule({ latch.countDown() } as Runnable, Duration.ZERO)
+
+        then:
+        !latch.await(200, TimeUnit.MILLISECONDS)
+        rejectingTimerService.getPendingTimersCount() == 0
+
+        cleanup:
+        rejectingTimerService.close()
+    }
+
+    def "Runs due tasks on its own pool and publishes the size of its queue"() {
+        def properties = new TasksTimerProperties()
+        properties.setTickDuration(Duration.ofMillis(10))
+        properties.setThreadName("test-timer")
+        properties.setExecutorThreads(1)
+        def registry = new SimpleMeterRegistry()
+        def pooledTimerService = new HashedWheelTimerServiceImpl(properties, registry)
+        def blocker = new CountDownLatch(1)
+        def latch = new CountDownLatch(1)
+        String threadName = null
+
+        when:
+        pooledTimerService.schedule({ blocker.await(10, TimeUnit.SECONDS) } as Runnable, Duration.ZERO)
+        pooledTimerService.schedule(
+            {
+                threadName = Thread.currentThread().getName()
+                latch.countDown()
+            } as Runnable,
+            Duration.ZERO
+        )
+        def gauge = registry.get(HashedWheelTimerServiceImpl.EXECUTOR_QUEUE_SIZE_GAUGE).gauge()
+        def deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10)
+        while (gauge.value() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10)
+        }
+
+        then: "The second task waits for the only thread"
+        gauge.value() == 1
+
+        when:
+        blocker.countDown()
+
+        then:
+        latch.await(10, TimeUnit.SECONDS)
+        threadName.startsWith("test-timer-")
+        gauge.value() == 0
+
+        cleanup:
+        pooledTimerService.close()
+    }
+}
@@ -22,6 +22,8 @@ import com.netflix.genie.common.exceptions.GeniePreconditionException
 import com.netflix.genie.common.exceptions.GenieServerUnavailableException
 import com.netflix.genie.common.internal.dtos.ArchiveStatus
 import com.netflix.genie.common.internal.dtos.DirectoryManifest
+import com.netflix.genie.common.internal.dtos.ExecutionEnvironment
+import com.netflix.genie.common.internal.dtos.JobSpecification
 import com.netflix.genie.common.internal.services.JobDirectoryManifestCreatorService
 import com.netflix.genie.web.agent.resources.AgentFileProtocolResolver
 import com.netflix.genie.web.agent.services.AgentFileStreamService
@@ -33,6 +35,7 @@ import com.netflix.genie.web.exceptions.checked.JobDirectoryManifestNotFoundExce
 import com.netflix.genie.web.exceptions.checked.JobNotArchivedException
 import com.netflix.genie.web.exceptions.checked.JobNotFoundException
 import com.netflix.genie.web.exceptions.checked.NotFoundException
+import com.netflix.genie.web.resources.BundledEntryResource
 import com.netflix.genie.web.services.ArchivedJobService
 import io.micrometer.core.instrument.MeterRegistry
 import io.micrometer.core.instrument.Tag
@@ -214,6 +217,169 @@ class JobDirectoryServerServiceImplSpec extends Specification {
         "bytes=-20"   | _
     }
 
+    @Unroll
+    def "ServeResource -- Serve bundled file from archive with range #rangeHeader"() {
+        setup:
+        ArchivedJobMetadata archivedJobMetadata = Mock(ArchivedJobMetadata)
+        def bundleLocation = new DirectoryManifest.BundleLocation("genie/bundles/bundle-0", 100)
+        def bundleResource = Mock(Resource)
+        Resource servedResource = null
+
+        when:
+        this.service.serveResource(JOB_ID, BASE_URL, REL_PATH, request, response)
+
+        then:
+        1 * this.persistenceService.getJobArchiveStatus(JOB_ID) >> ArchiveStatus.ARCHIVED
+        1 * this.archivedJobService.getArchivedJobMetadata(JOB_ID) >> archivedJobMetadata
+        1 * this.request.getHeader(HttpHeaders.RANGE) >> rangeHeader
+        1 * archivedJobMetadata.getManifest() >> manifest
+        1 * archivedJobMetadata.getArchiveBaseUri() >> ARCHIVE_BASE_URI
+        1 * this.manifest.getEntry(REL_PATH) >> Optional.of(this.manifestEntry)
+        1 * this.manifestEntry.isDirectory() >> false
+        1 * this.manifestEntry.getBundleLocation() >> Optional.of(bundleLocation)
+        _ * this.manifestEntry.getSize() >> 50L
+        _ * this.manifestEntry.getName() >> "foo.txt"
+        _ * this.manifestEntry.getPath() >> REL_PATH
+        1 * this.resourceLoader.getResource(
+            ARCHIVE_BASE_URI.toString() + "genie/bundles/bundle-0#" + expectedBundleRange
+        ) >> bundleResource
+        1 * this.manifestEntry.getMimeType() >> Optional.of(MediaType.TEXT_PLAIN_VALUE)
+        1 * this.handlerFactory.get(MediaType.TEXT_PLAIN_VALUE, _ as Resource) >> { String type, Resource r ->
+            servedResource = r
+            return this.handler
+        }
+        1 * this.handler.handleRequest(this.request, this.response)
+        1 * this.timer.record(_ as Long, TimeUnit.NANOSECONDS)
+        servedResource instanceof BundledEntryResource
+        servedResource.contentLength() == 50L
+
+        where:
+        rangeHeader   | expectedBundleRange
+        null          | "bytes=100-149"
+        "bytes=10-20" | "bytes=110-120"
+        "bytes=10-"   | "bytes=110-149"
+        "bytes=-20"   | "bytes=130-149"
+        "bytes=10-99" | "bytes=110-149"
+    }
+
+    @Unroll
+    def "ServeResource -- Serve dependency archived as reference with range #rangeHeader"() {
+        setup:
+        ArchivedJobMetadata archivedJobMetadata = Mock(ArchivedJobMetadata)
+        String sourceUri = "s3://dependencies/app/lib.jar"
+        String expectedResourceLocation = sourceUri + (rangeHeader != null ? ("#" + rangeHeader) : "")
+
+        when:
+        this.service.serveResource(JOB_ID, BASE_URL, REL_PATH, request, response)
+
+        then:
+        1 * this.persistenceService.getJobArchiveStatus(JOB_ID) >> ArchiveStatus.ARCHIVED
+        1 * this.archivedJobService.getArchivedJobMetadata(JOB_ID) >> archivedJobMetadata
+        1 * this.request.getHeader(HttpHeaders.RANGE) >> rangeHeader
+        1 * archivedJobMetadata.getManifest() >> manifest
+        1 * archivedJobMetadata.getArchiveBaseUri() >> ARCHIVE_BASE_URI
+        1 * this.manifest.getEntry(REL_PATH) >> Optional.of(this.manifestEntry)
+        1 * this.manifestEntry.isDirectory() >> false
+        1 * this.manifestEntry.getSourceUri() >> Optional.of(sourceUri)
+        1 * this.persistenceService.getJobSpecification(JOB_ID) >> Optional.of(jobSpecification())
+        0 * this.manifestEntry.getPath()
+        1 * this.resourceLoader.getResource(expectedResourceLocation) >> this.resource
+        1 * this.manifestEntry.getMimeType() >> Optional.of(MediaType.TEXT_PLAIN_VALUE)
+        1 * this.handlerFactory.get(MediaType.TEXT_PLAIN_VALUE, resource) >> this.handler
+        1 * this.handler.handleRequest(this.request, this.response)
+        1 * this.timer.record(_ as Long, TimeUnit.NANOSECONDS)
+
+        where:
+        rangeHeader   | _
+        null          | _
+        "bytes=10-20" | _
+    }
+
+    def "ServeResource -- Dependency locations are looked up once per job"() {
+        setup:
+        ArchivedJobMetadata archivedJobMetadata = Mock(ArchivedJobMetadata)
+        String sourceUri = "s3://dependencies/app/lib.jar"
+
+        when:
+        this.service.serveResource(JOB_ID, BASE_URL, REL_PATH, request, response)
+        this.service.serveResource(JOB_ID, BASE_URL, REL_PATH, request, response)
+
+        then:
+        2 * this.persistenceService.getJobArchiveStatus(JOB_ID) >> ArchiveStatus.ARCHIVED
+        2 * this.archivedJobService.getArchivedJobMetadata(JOB_ID) >> archivedJobMetadata
+        _ * archivedJobMetadata.getManifest() >> manifest
+        _ * archivedJobMetadata.getArchiveBaseUri() >> ARCHIVE_BASE_URI
+        _ * this.manifest.getEntry(REL_PATH) >> Optional.of(this.manifestEntry)
+        _ * this.manifestEntry.getSourceUri() >> Optional.of(sourceUri)
+        1 * this.persistenceService.getJobSpecification(JOB_ID) >> Optional.of(jobSpecification())
+        2 * this.resourceLoader.getResource(sourceUri) >> this.resource
+        _ * this.handlerFactory.get(_, resource) >> this.handler
+        2 * this.handler.handleRequest(this.request, this.response)
+    }
+
+    def "ServeResource -- Serve reference to a file under the archive location of the job"() {
+        setup:
+        ArchivedJobMetadata archivedJobMetadata = Mock(ArchivedJobMetadata)
+        String sourceUri = ARCHIVE_BASE_URI.toString() + "genie/lib/lib.jar"
+
+        when:
+        this.service.serveResource(JOB_ID, BASE_URL, REL_PATH, request, response)
+
+        then:
+        1 * this.persistenceService.getJobArchiveStatus(JOB_ID) >> ArchiveStatus.ARCHIVED
+        1 * this.archivedJobService.getArchivedJobMetadata(JOB_ID) >> archivedJobMetadata
+        1 * this.request.getHeader(HttpHeaders.RANGE) >> null
+        1 * archivedJobMetadata.getManifest() >> manifest
+        1 * archivedJobMetadata.getArchiveBaseUri() >> ARCHIVE_BASE_URI
+        1 * this.manifest.getEntry(REL_PATH) >> Optional.of(this.manifestEntry)
+        1 * this.manifestEntry.isDirectory() >> false
+        1 * this.manifestEntry.getSourceUri() >> Optional.of(sourceUri)
+        0 * this.persistenceService.getJobSpecification(_)
+        1 * this.resourceLoader.getResource(sourceUri) >> this.resource
+        1 * this.manifestEntry.getMimeType() >> Optional.of(MediaType.TEXT_PLAIN_VALUE)
+        1 * this.handlerFactory.get(MediaType.TEXT_PLAIN_VALUE, resource) >> this.handler
+        1 * this.handler.handleRequest(this.request, this.response)
+        1 * this.timer.record(_ as Long, TimeUnit.NANOSECONDS)
+    }
+
+    @Unroll
+    def "ServeResource -- Untrusted reference #sourceUri is served from the archive instead"() {
+        setup:
+        ArchivedJobMetadata archivedJobMetadata = Mock(ArchivedJobMetadata)
+
+        when:
+        this.service.serveResource(JOB_ID, BASE_URL, REL_PATH, request, response)
+
+        then:
+        1 * this.persistenceService.getJobArchiveStatus(JOB_ID) >> ArchiveStatus.ARCHIVED
+        1 * this.archivedJobService.getArchivedJobMetadata(JOB_ID) >> archivedJobMetadata
+        1 * this.request.getHeader(HttpHeaders.RANGE) >> null
+        1 * archivedJobMetadata.getManifest() >> manifest
+        1 * archivedJobMetadata.getArchiveBaseUri() >> ARCHIVE_BASE_URI
+        1 * this.manifest.getEntry(REL_PATH) >> Optional.of(this.manifestEntry)
+        1 * this.manifestEntry.isDirectory() >> false
+        1 * this.manifestEntry.getSourceUri() >> Optional.of(sourceUri)
+        _ * this.persistenceService.getJobSpecification(JOB_ID) >> Optional.of(jobSpecification())
+        _ * this.manifestEntry.getPath() >> REL_PATH
+        0 * this.resourceLoader.getResource(sourceUri)
+        1 * this.resourceLoader.getResource(EXPECTED_ARCHIVE_FILE_LOCATION) >> this.resource
+        1 * this.manifestEntry.getMimeType() >> Optional.of(MediaType.TEXT_PLAIN_VALUE)
+        1 * this.handlerFactory.get(MediaType.TEXT_PLAIN_VALUE, resource) >> this.handler
+        1 * this.handler.handleRequest(this.request, this.response)
+        1 * this.timer.record(_ as Long, TimeUnit.NANOSECONDS)
+
+        where:
+        sourceUri                                                   | _
+        "file:///etc/genie/genie.properties"                        | _
+        "classpath:application.yml"                                 | _
+        "s3://other-bucket/secrets/credentials"                     | _
+        "s3://user-bucket/job.jar"                                  | _
+        "s3://dependencies/app/../../other-bucket/credentials"      | _
+        "s3://genie-bucket/genie-archived/" + JOB_ID + "/../654321" | _
+        "s3://genie-bucket/genie-archived/" + JOB_ID + "0/file"     | _
+        "not a uri"                                                 | _
+    }
+
     @Unroll
     def "ServeResource -- Serve from archive errors"() {
         when:
@@ -282,4 +448,34 @@ class JobDirectoryServerServiceImplSpec extends Specification {
         1 * this.timer.record(_ as Long, TimeUnit.NANOSECONDS)
         thrown(GenieServerUnavailableException)
     }
+
+    private static JobSpecification jobSpecification() {
+        return new JobSpecification(
+            null,
+            null,
+            new JobSpecification.ExecutionResource(
+                JOB_ID,
+                new ExecutionEnvironment(null, ["s3://user-bucket/job.jar"] as Set, null)
+            ),
+            new JobSpecification.ExecutionResource(
+                "cluster",
+                new ExecutionEnvironment(["s3://dependencies/cluster/site.xml"] as Set, null, null)
+            ),
+            new JobSpecification.ExecutionResource(
+                "command",
+                new ExecutionEnvironment(null, null, "s3://dependencies/command/setup.sh")
+            ),
+            [
+                new JobSpecification.ExecutionResource(
+                    "app",
+                    new ExecutionEnvironment(null, ["s3://dependencies/app/lib.jar"] as Set, null)
+                )
+            ],
+            null,
+            false,
+            new File("/tmp/genie/jobs/" + JOB_ID),
+            null,
+            null
+        )
+    }
 }
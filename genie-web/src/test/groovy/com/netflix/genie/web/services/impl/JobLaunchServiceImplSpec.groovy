@@ -41,6 +41,7 @@ import com.netflix.genie.web.exceptions.checked.AgentLaunchException
 import com.netflix.genie.web.exceptions.checked.IdAlreadyExistsException
 import com.netflix.genie.web.exceptions.checked.NotFoundException
 import com.netflix.genie.web.exceptions.checked.ResourceSelectionException
+import com.netflix.genie.web.properties.JobLaunchProperties
 import com.netflix.genie.web.selectors.AgentLauncherSelectionContext
 import com.netflix.genie.web.selectors.AgentLauncherSelector
 import com.netflix.genie.web.services.JobResolverService
@@ -48,6 +49,9 @@ import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
 /**
  * Specifications for {@link JobLaunchServiceImpl}.
  *
@@ -62,6 +66,7 @@ class JobLaunchServiceImplSpec extends Specification {
     Tracer tracer
     SpanCustomizer span
     JobLaunchServiceImpl service
+    DataServices dataServices
 
     def setup() {
         this.persistenceService = Mock(PersistenceService)
@@ -69,11 +74,11 @@ class JobLaunchServiceImplSpec extends Specification {
         this.agentLauncherSelector = Mock(AgentLauncherSelector)
         this.tracer = Mock(Tracer)
         this.span = Mock(SpanCustomizer)
-        def dataServices = Mock(DataServices) {
+        this.dataServices = Mock(DataServices) {
             getPersistenceService() >> this.persistenceService
         }
         this.service = new JobLaunchServiceImpl(
-            dataServices,
+            this.dataServices,
             this.jobResolverService,
             this.agentLauncherSelector,
             new BraveTracingComponents(
@@ -363,6 +368,157 @@ class JobLaunchServiceImplSpec extends Specification {
         noExceptionThrown()
     }
 
+    def "Asynchronous launch acknowledges the job once it is saved"() {
+        def asyncService = this.createAsyncService(1)
+        def agentLauncher = Mock(AgentLauncher)
+        def jobId = UUID.randomUUID().toString()
+        def resolvedJob = Mock(ResolvedJob)
+        def jobSubmission = Mock(JobSubmission) {
+            getJobRequest() >> Mock(JobRequest)
+            getJobRequestMetadata() >> Mock(JobRequestMetadata)
+        }
+        def selectionResult = Mock(ResourceSelectionResult) {
+            getSelectedResource() >> Optional.of(agentLauncher)
+        }
+        def launcherExt = Mock(JsonNode)
+        def resolutionStarted = new CountDownLatch(1)
+        def releaseResolution = new CountDownLatch(1)
+        def launcherExtSaved = new CountDownLatch(1)
+        this.tracer.currentSpanCustomizer() >> this.span
+        this.persistenceService.saveJobSubmission(jobSubmission) >> jobId
+        this.jobResolverService.resolveJob(jobId) >> {
+            resolutionStarted.countDown()
+            releaseResolution.await(5, TimeUnit.SECONDS)
+            return resolvedJob
+        }
+        this.persistenceService.updateJobStatus(jobId, JobStatus.RESOLVED, JobStatus.ACCEPTED, _ as String) >>
+            JobStatus.ACCEPTED
+        this.agentLauncherSelector.getAgentLaunchers() >> [agentLauncher]
+        this.agentLauncherSelector.select(_ as AgentLauncherSelectionContext) >> selectionResult
+
+        when:
+        def savedJobId = asyncService.launchJob(jobSubmission)
+
+        then:
+        savedJobId == jobId
+        resolutionStarted.await(5, TimeUnit.SECONDS)
+        0 * agentLauncher.launchAgent(_, _)
+
+        when:
+        releaseResolution.countDown()
+        launcherExtSaved.await(5, TimeUnit.SECONDS)
+
+        then:
+        1 * agentLauncher.launchAgent(resolvedJob, _) >> Optional.of(launcherExt)
+        1 * this.persistenceService.updateLauncherExt(jobId, launcherExt) >> { launcherExtSaved.countDown() }
+
+        cleanup:
+        asyncService.shutdown()
+    }
+
+    def "Asynchronous launch failures are reflected in the job status"() {
+        def asyncService = this.createAsyncService(1)
+        def jobId = UUID.randomUUID().toString()
+        def jobSubmission = Mock(JobSubmission)
+        def failed = new CountDownLatch(1)
+        this.tracer.currentSpanCustomizer() >> this.span
+        this.persistenceService.saveJobSubmission(jobSubmission) >> jobId
+        this.jobResolverService.resolveJob(jobId) >> { throw new GenieJobResolutionException("fail") }
+
+        when:
+        def savedJobId = asyncService.launchJob(jobSubmission)
+        failed.await(5, TimeUnit.SECONDS)
+
+        then:
+        noExceptionThrown()
+        savedJobId == jobId
+        1 * this.persistenceService.updateJobStatus(
+            jobId,
+            JobStatus.RESERVED,
+            JobStatus.FAILED,
+            JobStatusMessages.FAILED_TO_RESOLVE_JOB
+        ) >> {
+            failed.countDown()
+            return JobStatus.FAILED
+        }
+        0 * this.agentLauncherSelector.select(_)
+
+        cleanup:
+        asyncService.shutdown()
+    }
+
+    def "Jobs still queued when the pipeline shuts down are marked failed"() {
+        def asyncService = this.createAsyncService(1)
+        def blockedJobId = UUID.randomUUID().toString()
+        def queuedJobId = UUID.randomUUID().toString()
+        def blockedSubmission = Mock(JobSubmission)
+        def queuedSubmission = Mock(JobSubmission)
+        def resolutionStarted = new CountDownLatch(1)
+        this.tracer.currentSpanCustomizer() >> this.span
+        this.persistenceService.saveJobSubmission(blockedSubmission) >> blockedJobId
+        this.persistenceService.saveJobSubmission(queuedSubmission) >> queuedJobId
+        this.jobResolverService.resolveJob(blockedJobId) >> {
+            resolutionStarted.countDown()
+            Thread.sleep(10_000)
+            throw new IllegalStateException("Not interrupted")
+        }
+        this.persistenceService.updateJobStatus(blockedJobId, _, _, _) >> JobStatus.FAILED
+
+        when:
+        asyncService.launchJob(blockedSubmission)
+        resolutionStarted.await(5, TimeUnit.SECONDS)
+        asyncService.launchJob(queuedSubmission)
+        asyncService.shutdown()
+
+        then:
+        0 * this.jobResolverService.resolveJob(queuedJobId)
+        1 * this.persistenceService.updateJobArchiveStatus(queuedJobId, ArchiveStatus.NO_FILES)
+        1 * this.persistenceService.updateJobStatus(
+            queuedJobId,
+            JobStatus.RESERVED,
+            JobStatus.FAILED,
+            JobLaunchServiceImpl.SHUTDOWN_MESSAGE
+        ) >> JobStatus.FAILED
+    }
+
+    def "Jobs interrupted when the pipeline shuts down are marked failed"() {
+        def asyncService = this.createAsyncService(1)
+        def jobId = UUID.randomUUID().toString()
+        def jobSubmission = Mock(JobSubmission)
+        def resolvedJob = Mock(ResolvedJob)
+        def resolutionStarted = new CountDownLatch(1)
+        this.tracer.currentSpanCustomizer() >> this.span
+        this.persistenceService.saveJobSubmission(jobSubmission) >> jobId
+        this.jobResolverService.resolveJob(jobId) >> {
+            resolutionStarted.countDown()
+            try {
+                Thread.sleep(10_000)
+            } catch (final InterruptedException ignored) {
+                // Resolution completes anyway
+            }
+            return resolvedJob
+        }
+        this.persistenceService.updateJobStatus(jobId, JobStatus.RESOLVED, JobStatus.ACCEPTED, _ as String) >> {
+            throw new IllegalStateException("Interrupted")
+        }
+        this.persistenceService.getJobStatus(jobId) >> JobStatus.RESOLVED
+
+        when:
+        asyncService.launchJob(jobSubmission)
+        resolutionStarted.await(5, TimeUnit.SECONDS)
+        asyncService.shutdown()
+
+        then:
+        2 * this.persistenceService.updateJobArchiveStatus(jobId, ArchiveStatus.NO_FILES)
+        1 * this.persistenceService.updateJobStatus(
+            jobId,
+            JobStatus.RESOLVED,
+            JobStatus.FAILED,
+            JobLaunchServiceImpl.SHUTDOWN_MESSAGE
+        ) >> JobStatus.FAILED
+        0 * this.agentLauncherSelector.select(_)
+    }
+
     def "update job status works as expected"() {
         def jobId = UUID.randomUUID().toString()
         def expectedStatus = JobStatus.RESOLVED
@@ -419,4 +575,24 @@ class JobLaunchServiceImplSpec extends Specification {
         noExceptionThrown()
         jobStatus == JobStatus.RUNNING
     }
+
+    private JobLaunchServiceImpl createAsyncService(final int threads) {
+        def properties = new JobLaunchProperties()
+        properties.setAsync(true)
+        properties.setResolutionThreads(threads)
+        properties.setLaunchThreads(threads)
+        return new JobLaunchServiceImpl(
+            this.dataServices,
+            this.jobResolverService,
+            this.agentLauncherSelector,
+            new BraveTracingComponents(
+                this.tracer,
+                Mock(BraveTracePropagator),
+                Mock(BraveTracingCleanup),
+                Mock(BraveTagAdapter)
+            ),
+            new SimpleMeterRegistry(),
+            properties
+        )
+    }
 }
@@ -93,6 +93,36 @@ class LocalFileSystemAttachmentServiceImplSpec extends Specification {
         jobIdPresent << [true, false]
     }
 
+    def "saveAttachments reuses content addressed attachments"() {
+        this.serviceProperties.setContentAddressed(true)
+        def content = RandomStringUtils.randomAscii(50)
+        def inputDirectory1 = Files.createDirectory(this.temporaryFolder.resolve("input1"))
+        def inputDirectory2 = Files.createDirectory(this.temporaryFolder.resolve("input2"))
+        File input1 = Files.createFile(inputDirectory1.resolve("script.sql")).toFile()
+        File input2 = Files.createFile(inputDirectory2.resolve("script.sql")).toFile()
+        File input3 = Files.createFile(inputDirectory2.resolve("other.sql")).toFile()
+        input1.write(content)
+        input2.write(content)
+        input3.write(RandomStringUtils.randomAscii(60))
+
+        when:
+        Set<URI> firstUris = service.saveAttachments(null, Sets.newHashSet(new FileSystemResource(input1)))
+        Set<URI> secondUris = service.saveAttachments(
+            UUID.randomUUID().toString(),
+            Sets.newHashSet(new FileSystemResource(input2), new FileSystemResource(input3))
+        )
+
+        then:
+        firstUris.size() == 1
+        secondUris.size() == 2
+        secondUris.contains(firstUris.first())
+        Path savedPath = Paths.get(firstUris.first())
+        savedPath.getFileName().toString() == "script.sql"
+        savedPath.getParent().getFileName().toString() ==~ /[0-9a-f]{64}/
+        FileUtils.contentEquals(savedPath.toFile(), input1)
+        Files.list(this.temporaryFolder).noneMatch({ it.getFileName().toString().endsWith(".tmp") })
+    }
+
     @Unroll
     def "reject attachments with sizes: #firstFileSize and #secondFileSize"() {
         File input1 = Files.createFile(this.temporaryFolder.resolve("file1.txt")).toFile()
@@ -221,4 +251,48 @@ class LocalFileSystemAttachmentServiceImplSpec extends Specification {
         then:
         thrown(IllegalAttachmentFileNameException)
     }
+
+    @Unroll
+    def "saveAttachment streams content (content addressed: #contentAddressed)"() {
+        this.serviceProperties.setContentAddressed(contentAddressed)
+        def content = RandomStringUtils.randomAscii(50)
+
+        when:
+        URI first = service.saveAttachment(null, "script.sql", new ByteArrayInputStream(content.getBytes()), 0L)
+        URI second = service.saveAttachment("jobId", "script.sql", new ByteArrayInputStream(content.getBytes()), 50L)
+
+        then:
+        Paths.get(first).toFile().text == content
+        Paths.get(second).toFile().text == content
+        (first == second) == contentAddressed
+        Files.list(this.temporaryFolder).noneMatch({ it.getFileName().toString().endsWith(".tmp") })
+
+        where:
+        contentAddressed << [true, false]
+    }
+
+    @Unroll
+    def "saveAttachment rejects content of size #size after #alreadySaved bytes"() {
+        def stream = new ByteArrayInputStream(RandomStringUtils.randomAscii(size).getBytes())
+
+        when:
+        service.saveAttachment(null, "file.txt", stream, alreadySaved)
+
+        then:
+        thrown(AttachmentTooLargeException)
+        Files.walk(this.temporaryFolder).noneMatch({ Files.isRegularFile(it) })
+
+        where:
+        size | alreadySaved
+        110  | 0
+        60   | 100
+    }
+
+    def "saveAttachment rejects illegal filename"() {
+        when:
+        service.saveAttachment(null, "../breakout.file", new ByteArrayInputStream(new byte[1]), 0L)
+
+        then:
+        thrown(IllegalAttachmentFileNameException)
+    }
 }
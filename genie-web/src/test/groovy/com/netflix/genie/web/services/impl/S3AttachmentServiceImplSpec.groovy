@@ -18,10 +18,12 @@
 package com.netflix.genie.web.services.impl
 
 import com.google.common.collect.Sets;
+import com.google.common.hash.Hashing;
 import com.netflix.genie.common.internal.aws.s3.S3ClientFactory;
 import com.netflix.genie.web.exceptions.checked.AttachmentTooLargeException;
 import com.netflix.genie.web.exceptions.checked.SaveAttachmentException;
 import com.netflix.genie.web.properties.AttachmentServiceProperties;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
@@ -31,10 +33,22 @@ import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.S3Uri;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
 import spock.lang.Specification;
 import spock.lang.Unroll;
 
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.TimeUnit;
 
 class S3AttachmentServiceImplSpec extends Specification {
@@ -256,4 +270,207 @@ class S3AttachmentServiceImplSpec extends Specification {
         where:
         attachmentFilename << [null, "", " "]
     }
+
+    def "Content addressed attachments are only uploaded when missing"() {
+        setup:
+        this.serviceProperties.setContentAddressed(true)
+        byte[] content = "select 1;".getBytes(StandardCharsets.UTF_8)
+        String hash = Hashing.sha256().hashBytes(content).toString()
+        Counter counter = Mock(Counter)
+        Resource existingAttachment = Mock(Resource) {
+            getFilename() >> "script1.sql"
+            contentLength() >> content.length
+            getInputStream() >> { new ByteArrayInputStream(content) }
+        }
+        Resource newAttachment = Mock(Resource) {
+            getFilename() >> "script2.sql"
+            contentLength() >> content.length
+            getInputStream() >> { new ByteArrayInputStream(content) }
+        }
+        registry.summary(_ as String) >> distributionSummary
+        registry.timer(S3AttachmentServiceImpl.SAVE_TIMER, _) >> timer
+        s3ClientFactory.getClient(s3Uri) >> s3Client
+
+        when:
+        Set<URI> attachmentUris = this.service.saveAttachments(null, Sets.newHashSet(existingAttachment, newAttachment))
+
+        then:
+        1 * s3Client.headObject({ HeadObjectRequest request ->
+            request.bucket() == BUCKET_NAME && request.key() == S3_PREFIX + "/" + hash + "/script1.sql"
+        }) >> HeadObjectResponse.builder().build()
+        1 * s3Client.headObject({ HeadObjectRequest request ->
+            request.bucket() == BUCKET_NAME && request.key() == S3_PREFIX + "/" + hash + "/script2.sql"
+        }) >> { throw NoSuchKeyException.builder().message("...").build() }
+        1 * s3Client.putObject(
+            { PutObjectRequest request -> request.key() == S3_PREFIX + "/" + hash + "/script2.sql" },
+            _ as RequestBody
+        )
+        1 * registry.counter(S3AttachmentServiceImpl.REUSED_COUNTER) >> counter
+        1 * registry.counter(S3AttachmentServiceImpl.UPLOADED_COUNTER) >> counter
+        2 * counter.increment()
+        attachmentUris == Sets.newHashSet(
+            URI.create("s3://" + BUCKET_NAME + "/" + S3_PREFIX + "/" + hash + "/script1.sql"),
+            URI.create("s3://" + BUCKET_NAME + "/" + S3_PREFIX + "/" + hash + "/script2.sql")
+        )
+    }
+
+    @Unroll
+    def "Content addressed attachment is uploaded when its existence check returns #statusCode"() {
+        setup:
+        this.serviceProperties.setContentAddressed(true)
+        byte[] content = "select 1;".getBytes(StandardCharsets.UTF_8)
+        String hash = Hashing.sha256().hashBytes(content).toString()
+        Counter counter = Mock(Counter)
+        Resource attachment = Mock(Resource) {
+            getFilename() >> "script.sql"
+            contentLength() >> content.length
+            getInputStream() >> { new ByteArrayInputStream(content) }
+        }
+        registry.summary(_ as String) >> distributionSummary
+        registry.timer(S3AttachmentServiceImpl.SAVE_TIMER, _) >> timer
+        s3ClientFactory.getClient(s3Uri) >> s3Client
+
+        when:
+        Set<URI> attachmentUris = this.service.saveAttachments(null, Sets.newHashSet(attachment))
+
+        then:
+        1 * s3Client.headObject(_ as HeadObjectRequest) >> {
+            throw S3Exception.builder().statusCode(statusCode).message("...").build()
+        }
+        1 * s3Client.putObject(
+            { PutObjectRequest request -> request.key() == S3_PREFIX + "/" + hash + "/script.sql" },
+            _ as RequestBody
+        )
+        1 * registry.counter(S3AttachmentServiceImpl.UPLOADED_COUNTER) >> counter
+        0 * registry.counter(S3AttachmentServiceImpl.REUSED_COUNTER)
+        attachmentUris == Sets.newHashSet(
+            URI.create("s3://" + BUCKET_NAME + "/" + S3_PREFIX + "/" + hash + "/script.sql")
+        )
+
+        where:
+        statusCode << [403, 404]
+    }
+
+    def "Streamed attachment fitting in a single part is uploaded with a single request"() {
+        setup:
+        byte[] content = "select 1;".getBytes(StandardCharsets.UTF_8)
+        registry.summary(S3AttachmentServiceImpl.STREAM_SIZE_DISTRIBUTION) >> distributionSummary
+        registry.timer(S3AttachmentServiceImpl.STREAM_UPLOAD_TIMER, _) >> timer
+        s3ClientFactory.getClient(s3Uri) >> s3Client
+        String objectKey
+
+        when:
+        URI attachmentUri = this.service.saveAttachment("jobId", "script.sql", new ByteArrayInputStream(content), 10L)
+
+        then:
+        1 * s3Client.putObject(
+            { PutObjectRequest request ->
+                request.bucket() == BUCKET_NAME && request.contentLength() == content.length
+            },
+            _ as RequestBody
+        ) >> { args ->
+            objectKey = (args[0] as PutObjectRequest).key()
+            return PutObjectResponse.builder().build()
+        }
+        0 * s3Client.createMultipartUpload(_ as CreateMultipartUploadRequest)
+        1 * distributionSummary.record(content.length)
+        1 * timer.record(_, TimeUnit.NANOSECONDS)
+        objectKey.startsWith(S3_PREFIX + "/")
+        objectKey.endsWith("/script.sql")
+        attachmentUri == URI.create("s3://" + BUCKET_NAME + "/" + objectKey)
+    }
+
+    def "Streamed attachment larger than a part is uploaded in parts"() {
+        setup:
+        int partSize = S3AttachmentServiceImpl.STREAMING_PART_SIZE
+        byte[] content = new byte[partSize + 10]
+        registry.summary(S3AttachmentServiceImpl.STREAM_SIZE_DISTRIBUTION) >> distributionSummary
+        registry.timer(S3AttachmentServiceImpl.STREAM_UPLOAD_TIMER, _) >> timer
+        s3ClientFactory.getClient(s3Uri) >> s3Client
+
+        when:
+        URI attachmentUri = this.service.saveAttachment(null, "data.bin", new ByteArrayInputStream(content), 0L)
+
+        then:
+        1 * s3Client.createMultipartUpload(
+            { CreateMultipartUploadRequest request -> request.key().endsWith("/data.bin") }
+        ) >> CreateMultipartUploadResponse.builder().uploadId("upload").build()
+        1 * s3Client.uploadPart(
+            { UploadPartRequest request -> request.partNumber() == 1 && request.contentLength() == partSize },
+            _ as RequestBody
+        ) >> UploadPartResponse.builder().eTag("etag1").build()
+        1 * s3Client.uploadPart(
+            { UploadPartRequest request -> request.partNumber() == 2 && request.contentLength() == 10 },
+            _ as RequestBody
+        ) >> UploadPartResponse.builder().eTag("etag2").build()
+        1 * s3Client.completeMultipartUpload(
+            { CompleteMultipartUploadRequest request ->
+                request.uploadId() == "upload" &&
+                    request.multipartUpload().parts()*.eTag() == ["etag1", "etag2"]
+            }
+        )
+        0 * s3Client.putObject(_, _)
+        0 * s3Client.abortMultipartUpload(_ as AbortMultipartUploadRequest)
+        1 * distributionSummary.record(content.length)
+        attachmentUri.getScheme() == "s3"
+        attachmentUri.getPath().endsWith("/data.bin")
+    }
+
+    @Unroll
+    def "Streamed multipart upload is aborted when the #limit limit is exceeded"() {
+        setup:
+        int partSize = S3AttachmentServiceImpl.STREAMING_PART_SIZE
+        this.serviceProperties.setMaxSize(DataSize.ofBytes(partSize + 5))
+        this.serviceProperties.setMaxTotalSize(DataSize.ofBytes(partSize + 5 + alreadySaved))
+        registry.timer(S3AttachmentServiceImpl.STREAM_UPLOAD_TIMER, _) >> timer
+        s3ClientFactory.getClient(s3Uri) >> s3Client
+
+        when:
+        this.service.saveAttachment(null, "data.bin", new ByteArrayInputStream(new byte[contentSize]), 5L)
+
+        then:
+        1 * s3Client.createMultipartUpload(_ as CreateMultipartUploadRequest) >>
+            CreateMultipartUploadResponse.builder().uploadId("upload").build()
+        1 * s3Client.uploadPart(_ as UploadPartRequest, _ as RequestBody) >>
+            UploadPartResponse.builder().eTag("etag1").build()
+        1 * s3Client.abortMultipartUpload({ AbortMultipartUploadRequest request -> request.uploadId() == "upload" })
+        0 * s3Client.completeMultipartUpload(_ as CompleteMultipartUploadRequest)
+        thrown(AttachmentTooLargeException)
+
+        where:
+        limit    | alreadySaved | contentSize
+        "single" | 100          | S3AttachmentServiceImpl.STREAMING_PART_SIZE + 6
+        "total"  | 0            | S3AttachmentServiceImpl.STREAMING_PART_SIZE + 1
+    }
+
+    @Unroll
+    def "Streamed multipart upload is aborted when #failingCall fails in S3"() {
+        setup:
+        int partSize = S3AttachmentServiceImpl.STREAMING_PART_SIZE
+        S3Exception s3Exception = S3Exception.builder().statusCode(500).message("test").build() as S3Exception
+        registry.timer(S3AttachmentServiceImpl.STREAM_UPLOAD_TIMER, _) >> timer
+        s3ClientFactory.getClient(s3Uri) >> s3Client
+
+        when:
+        this.service.saveAttachment(null, "data.bin", new ByteArrayInputStream(new byte[partSize + 10]), 0L)
+
+        then:
+        1 * s3Client.createMultipartUpload(_ as CreateMultipartUploadRequest) >>
+            CreateMultipartUploadResponse.builder().uploadId("upload").build()
+        (1..2) * s3Client.uploadPart(_ as UploadPartRequest, _ as RequestBody) >> {
+            if (failingCall == "uploadPart") {
+                throw s3Exception
+            }
+            return UploadPartResponse.builder().eTag("etag").build()
+        }
+        (failingCall == "uploadPart" ? 0 : 1) * s3Client.completeMultipartUpload(_ as CompleteMultipartUploadRequest) >> {
+            throw s3Exception
+        }
+        1 * s3Client.abortMultipartUpload({ AbortMultipartUploadRequest request -> request.uploadId() == "upload" })
+        def e = thrown(SaveAttachmentException)
+        e.getCause() == s3Exception
+
+        where:
+        failingCall << ["uploadPart", "completeMultipartUpload"]
+    }
 }
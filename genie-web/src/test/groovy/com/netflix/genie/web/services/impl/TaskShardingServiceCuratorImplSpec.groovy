@@ -0,0 +1,108 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services.impl
+
+import org.apache.curator.framework.recipes.nodes.GroupMember
+import spock.lang.Specification
+
+/**
+ * Specifications for {@link TaskShardingServiceCuratorImpl}.
+ */
+class TaskShardingServiceCuratorImplSpec extends Specification {
+
+    static final int SHARD_COUNT = 64
+
+    def "Every shard is owned by exactly one member"() {
+        def members = ["node1", "node2", "node3"]
+
+        when:
+        def ownedShards = members.collect {
+            TaskShardingServiceCuratorImpl.getOwnedShards(it, members, SHARD_COUNT)
+        }
+
+        then:
+        ownedShards.every { !it.isEmpty() }
+        ownedShards.sum { it.size() } == SHARD_COUNT
+        ownedShards.flatten().toSet() == (0..<SHARD_COUNT).toSet()
+    }
+
+    def "Only the shards of a leaving member move"() {
+        def before = ["node1", "node2", "node3"]
+        def after = ["node1", "node2"]
+
+        when:
+        def leaving = TaskShardingServiceCuratorImpl.getOwnedShards("node3", before, SHARD_COUNT)
+        def node1Before = TaskShardingServiceCuratorImpl.getOwnedShards("node1", before, SHARD_COUNT)
+        def node1After = TaskShardingServiceCuratorImpl.getOwnedShards("node1", after, SHARD_COUNT)
+        def node2Before = TaskShardingServiceCuratorImpl.getOwnedShards("node2", before, SHARD_COUNT)
+        def node2After = TaskShardingServiceCuratorImpl.getOwnedShards("node2", after, SHARD_COUNT)
+
+        then:
+        node1After.containsAll(node1Before)
+        node2After.containsAll(node2Before)
+        (node1After - node1Before) + (node2After - node2Before) == leaving
+    }
+
+    def "A node which isn't a member owns nothing"() {
+        expect:
+        TaskShardingServiceCuratorImpl.getOwnedShards("node4", ["node1", "node2"], SHARD_COUNT).isEmpty()
+        TaskShardingServiceCuratorImpl.getOwnedShards("node1", [], SHARD_COUNT).isEmpty()
+    }
+
+    def "Ownership filter selects the jobs of the owned shards"() {
+        def groupMember = Mock(GroupMember)
+        def service = new TaskShardingServiceCuratorImpl(groupMember, "node1", SHARD_COUNT)
+        def jobIds = (1..100).collect { UUID.randomUUID().toString() }
+
+        when: "This node is alone"
+        def filter = service.getOwnershipFilter()
+
+        then:
+        1 * groupMember.getCurrentMembers() >> ["node1": new byte[0]]
+        jobIds.every { filter.test(it) }
+
+        when: "Another node joined"
+        filter = service.getOwnershipFilter()
+
+        then:
+        1 * groupMember.getCurrentMembers() >> ["node1": new byte[0], "node2": new byte[0]]
+        def ownedShards = TaskShardingServiceCuratorImpl.getOwnedShards("node1", ["node1", "node2"], SHARD_COUNT)
+        jobIds.every {
+            filter.test(it) == ownedShards.contains(TaskShardingServiceCuratorImpl.getShard(it, SHARD_COUNT))
+        }
+
+        when: "This node lost its membership"
+        filter = service.getOwnershipFilter()
+
+        then:
+        1 * groupMember.getCurrentMembers() >> ["node2": new byte[0]]
+        jobIds.every { !filter.test(it) }
+    }
+
+    def "Jobs always hash into the same shard"() {
+        def jobId = UUID.randomUUID().toString()
+
+        when:
+        def shard = TaskShardingServiceCuratorImpl.getShard(jobId, SHARD_COUNT)
+
+        then:
+        shard >= 0
+        shard < SHARD_COUNT
+        TaskShardingServiceCuratorImpl.getShard(jobId, SHARD_COUNT) == shard
+    }
+}
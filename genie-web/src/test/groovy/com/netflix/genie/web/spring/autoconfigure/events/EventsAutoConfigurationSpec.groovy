@@ -17,6 +17,8 @@
  */
 package com.netflix.genie.web.spring.autoconfigure.events
 
+import com.netflix.genie.web.properties.EventListenerDispatchProperties
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import org.springframework.core.task.AsyncTaskExecutor
 import org.springframework.core.task.SyncTaskExecutor
 import spock.lang.Specification
@@ -33,10 +35,23 @@ class EventsAutoConfigurationSpec extends Specification {
         def syncExecutor = Mock(SyncTaskExecutor)
         def asyncExecutor = Mock(AsyncTaskExecutor)
 
+        def dispatchProperties = new EventListenerDispatchProperties()
+        def registry = new SimpleMeterRegistry()
+
         when:
-        def eventBus = config.applicationEventMulticaster(syncExecutor, asyncExecutor)
+        def eventBus = config.applicationEventMulticaster(syncExecutor, asyncExecutor, dispatchProperties, registry)
 
         then:
         eventBus != null
+
+        when:
+        dispatchProperties.setEnabled(true)
+        eventBus = config.applicationEventMulticaster(syncExecutor, asyncExecutor, dispatchProperties, registry)
+
+        then:
+        eventBus != null
+
+        cleanup:
+        eventBus.destroy()
     }
 }
@@ -19,17 +19,16 @@ package com.netflix.genie.web.tasks.leader
 
 import com.google.common.collect.Sets
 import com.netflix.genie.common.internal.dtos.ArchiveStatus
-import com.netflix.genie.common.internal.dtos.JobStatus
-import com.netflix.genie.common.internal.exceptions.unchecked.GenieInvalidStatusException
 import com.netflix.genie.web.agent.services.AgentRoutingService
 import com.netflix.genie.web.data.services.DataServices
 import com.netflix.genie.web.data.services.PersistenceService
-import com.netflix.genie.web.exceptions.checked.NotFoundException
 import com.netflix.genie.web.properties.AgentCleanupProperties
 import com.netflix.genie.web.tasks.GenieTaskScheduleType
 import com.netflix.genie.web.util.MetricsUtils
 import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.DistributionSummary
 import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Timer
 import spock.lang.Specification
 
 import java.time.Duration
@@ -42,6 +41,8 @@ class AgentJobCleanupTaskSpec extends Specification {
     AgentCleanupProperties taskProperties
     MeterRegistry registry
     Counter counter
+    Timer timer
+    DistributionSummary batchSizeSummary
     AgentRoutingService agentRoutingService
     Duration inTheFuture = Duration.ofHours(1)
     Duration inThePast = Duration.ofHours(-1)
@@ -51,9 +52,16 @@ class AgentJobCleanupTaskSpec extends Specification {
         def dataServices = Mock(DataServices) {
             getPersistenceService() >> this.persistenceService
         }
-        this.taskProperties = Mock(AgentCleanupProperties)
-        this.registry = Mock(MeterRegistry)
+        this.taskProperties = Mock(AgentCleanupProperties) {
+            getBatchSize() >> 100
+        }
         this.counter = Mock(Counter)
+        this.timer = Mock(Timer)
+        this.batchSizeSummary = Mock(DistributionSummary)
+        this.registry = Mock(MeterRegistry) {
+            timer(AgentJobCleanupTask.RUN_TIMER_METRIC_NAME, _) >> this.timer
+            summary(AgentJobCleanupTask.BATCH_SIZE_METRIC_NAME) >> this.batchSizeSummary
+        }
         this.agentRoutingService = Mock(AgentRoutingService)
         this.task = new AgentJobCleanupTask(
             dataServices,
@@ -76,7 +84,7 @@ class AgentJobCleanupTaskSpec extends Specification {
 
     def "Run"() {
         setup:
-        Exception e = new GenieInvalidStatusException("...")
+        Exception e = new IllegalStateException("...")
 
         when:
         task.run()
@@ -91,17 +99,14 @@ class AgentJobCleanupTaskSpec extends Specification {
             "j6" // Accepted status, disconnected (reconnects next iteration)
         )
         1 * persistenceService.getUnclaimedJobs() >> Sets.newHashSet("j2", "j4", "j6")
-        1 * agentRoutingService.isAgentConnected("j1") >> true
-        1 * agentRoutingService.isAgentConnected("j2") >> true
-        1 * agentRoutingService.isAgentConnected("j3") >> false
-        1 * agentRoutingService.isAgentConnected("j4") >> false
-        1 * agentRoutingService.isAgentConnected("j5") >> false
-        1 * agentRoutingService.isAgentConnected("j6") >> false
+        1 * agentRoutingService.getConnectedAgentJobIds() >> Optional.of(Sets.newHashSet("j1", "j2", "j7"))
+        0 * agentRoutingService.isAgentConnected(_)
         4 * taskProperties.getLaunchTimeLimit() >> inTheFuture
         4 * taskProperties.getReconnectTimeLimit() >> inTheFuture
-        0 * persistenceService.getJobStatus(_)
-        0 * persistenceService.getJobArchiveStatus(_)
+        0 * persistenceService.failActiveJobs(_, _, _)
         0 * registry.counter(_, _)
+        1 * timer.record(_, _)
+        task.awolJobsMap.keySet() == ["j3", "j4", "j5", "j6"] as Set
 
         when:
         task.run()
@@ -116,17 +121,12 @@ class AgentJobCleanupTaskSpec extends Specification {
             "j6" // Accepted status, just reconnected
         )
         1 * persistenceService.getUnclaimedJobs() >> Sets.newHashSet("j2", "j4", "j6")
-        1 * agentRoutingService.isAgentConnected("j1") >> true
-        1 * agentRoutingService.isAgentConnected("j2") >> true
-        1 * agentRoutingService.isAgentConnected("j3") >> false
-        1 * agentRoutingService.isAgentConnected("j4") >> false
-        1 * agentRoutingService.isAgentConnected("j5") >> true
-        1 * agentRoutingService.isAgentConnected("j6") >> true
+        1 * agentRoutingService.getConnectedAgentJobIds() >> Optional.of(Sets.newHashSet("j1", "j2", "j5", "j6"))
         2 * taskProperties.getLaunchTimeLimit() >> inTheFuture
         2 * taskProperties.getReconnectTimeLimit() >> inTheFuture
-        0 * persistenceService.getJobStatus(_)
-        0 * persistenceService.getJobArchiveStatus(_)
+        0 * persistenceService.failActiveJobs(_, _, _)
         0 * registry.counter(_, _)
+        task.awolJobsMap.keySet() == ["j3", "j4"] as Set
 
         when:
         task.run()
@@ -137,16 +137,19 @@ class AgentJobCleanupTaskSpec extends Specification {
             "j4", // Accepted status, disconnected
         )
         1 * persistenceService.getUnclaimedJobs() >> Sets.newHashSet("j4", "j6")
-        1 * agentRoutingService.isAgentConnected("j3") >> false
-        1 * agentRoutingService.isAgentConnected("j4") >> false
+        1 * agentRoutingService.getConnectedAgentJobIds() >> Optional.of(Sets.newHashSet())
         2 * taskProperties.getLaunchTimeLimit() >> inTheFuture
         2 * taskProperties.getReconnectTimeLimit() >> inThePast
-        1 * persistenceService.getJobStatus("j3") >> JobStatus.INIT
-        1 * persistenceService.getJobArchiveStatus("j3") >> ArchiveStatus.PENDING
-        1 * persistenceService.updateJobStatus("j3", JobStatus.INIT, JobStatus.FAILED, AgentJobCleanupTask.AWOL_STATUS_MESSAGE)
-        1 * persistenceService.updateJobArchiveStatus("j3", ArchiveStatus.UNKNOWN)
+        1 * batchSizeSummary.record(1)
+        1 * persistenceService.failActiveJobs(
+            ["j3"] as Set,
+            AgentJobCleanupTask.AWOL_STATUS_MESSAGE,
+            ArchiveStatus.UNKNOWN
+        ) >> Sets.newHashSet("j3")
+        0 * persistenceService.failActiveJobs(_, AgentJobCleanupTask.NEVER_CLAIMED_STATUS_MESSAGE, _)
         1 * registry.counter(AgentJobCleanupTask.TERMINATED_COUNTER_METRIC_NAME, MetricsUtils.newSuccessTagsSet()) >> counter
-        1 * counter.increment()
+        1 * counter.increment(1)
+        task.awolJobsMap.keySet() == ["j4"] as Set
 
         when:
         task.run()
@@ -156,25 +159,22 @@ class AgentJobCleanupTaskSpec extends Specification {
             "j4", // Accepted status, disconnected
         )
         1 * persistenceService.getUnclaimedJobs() >> Sets.newHashSet("j4")
-        1 * agentRoutingService.isAgentConnected("j4") >> false
+        1 * agentRoutingService.getConnectedAgentJobIds() >> Optional.of(Sets.newHashSet())
         1 * taskProperties.getLaunchTimeLimit() >> inThePast
         1 * taskProperties.getReconnectTimeLimit() >> inTheFuture
-        1 * persistenceService.getJobStatus("j4") >> JobStatus.ACCEPTED
-        1 * persistenceService.getJobArchiveStatus("j4") >> ArchiveStatus.PENDING
-        1 * persistenceService.updateJobArchiveStatus("j4", ArchiveStatus.FAILED)
-        1 * persistenceService.updateJobStatus("j4", JobStatus.ACCEPTED, JobStatus.FAILED, AgentJobCleanupTask.NEVER_CLAIMED_STATUS_MESSAGE) >> {
+        1 * batchSizeSummary.record(1)
+        1 * persistenceService.failActiveJobs(
+            ["j4"] as Set,
+            AgentJobCleanupTask.NEVER_CLAIMED_STATUS_MESSAGE,
+            ArchiveStatus.FAILED
+        ) >> {
             throw e
         }
         1 * registry.counter(AgentJobCleanupTask.TERMINATED_COUNTER_METRIC_NAME, MetricsUtils.newFailureTagsSetForException(e)) >> counter
-        1 * counter.increment()
+        1 * counter.increment(1)
+        task.awolJobsMap.keySet() == ["j4"] as Set
 
-        when:
-        task.cleanup()
-
-        then:
-        noExceptionThrown()
-
-        when:
+        when: "The job is retried on the next run"
         task.run()
 
         then:
@@ -182,42 +182,69 @@ class AgentJobCleanupTaskSpec extends Specification {
             "j4", // Accepted status, disconnected
         )
         1 * persistenceService.getUnclaimedJobs() >> Sets.newHashSet("j4")
-        1 * agentRoutingService.isAgentConnected("j4") >> false
+        1 * agentRoutingService.getConnectedAgentJobIds() >> Optional.of(Sets.newHashSet())
         1 * taskProperties.getLaunchTimeLimit() >> inThePast
         1 * taskProperties.getReconnectTimeLimit() >> inTheFuture
-        1 * persistenceService.getJobStatus("j4") >> {
-            throw new NotFoundException("...")
-        }
-        1 * registry.counter(AgentJobCleanupTask.TERMINATED_COUNTER_METRIC_NAME, _) >> counter
-        1 * counter.increment()
+        1 * persistenceService.failActiveJobs(["j4"] as Set, _, _) >> Sets.newHashSet()
+        1 * registry.counter(AgentJobCleanupTask.TERMINATED_COUNTER_METRIC_NAME, MetricsUtils.newSuccessTagsSet()) >> counter
+        1 * counter.increment(0)
+        task.awolJobsMap.isEmpty()
 
         when:
         task.cleanup()
 
         then:
         noExceptionThrown()
+    }
+
+    def "Run fails jobs in batches"() {
+        def jobIds = (1..5).collect { "j" + it } as Set
+
         when:
         task.run()
 
         then:
-        1 * persistenceService.getActiveJobs() >> Sets.newHashSet(
-            "j4", // Accepted status, disconnected
-        )
-        1 * persistenceService.getUnclaimedJobs() >> Sets.newHashSet("j4")
-        1 * agentRoutingService.isAgentConnected("j4") >> false
-        1 * taskProperties.getLaunchTimeLimit() >> inThePast
+        1 * persistenceService.getActiveJobs() >> jobIds
+        1 * persistenceService.getUnclaimedJobs() >> Sets.newHashSet()
+        1 * agentRoutingService.getConnectedAgentJobIds() >> Optional.of(Sets.newHashSet())
+        _ * taskProperties.getLaunchTimeLimit() >> inThePast
+        _ * taskProperties.getReconnectTimeLimit() >> inThePast
+        _ * taskProperties.getBatchSize() >> 2
+        2 * batchSizeSummary.record(2)
+        1 * batchSizeSummary.record(1)
+        3 * persistenceService.failActiveJobs(_ as Set, AgentJobCleanupTask.AWOL_STATUS_MESSAGE, ArchiveStatus.UNKNOWN) >> {
+            Set<String> batch, String message, ArchiveStatus archiveStatus -> batch
+        }
+        3 * registry.counter(AgentJobCleanupTask.TERMINATED_COUNTER_METRIC_NAME, MetricsUtils.newSuccessTagsSet()) >> counter
+        task.awolJobsMap.isEmpty()
+    }
+
+    def "Run looks up each agent if connections can't be listed"() {
+        when:
+        task.run()
+
+        then:
+        1 * persistenceService.getActiveJobs() >> Sets.newHashSet("j1", "j2")
+        1 * persistenceService.getUnclaimedJobs() >> Sets.newHashSet()
+        1 * agentRoutingService.getConnectedAgentJobIds() >> Optional.empty()
+        1 * agentRoutingService.isAgentConnected("j1") >> true
+        1 * agentRoutingService.isAgentConnected("j2") >> false
+        1 * taskProperties.getLaunchTimeLimit() >> inTheFuture
         1 * taskProperties.getReconnectTimeLimit() >> inTheFuture
-        1 * persistenceService.getJobStatus("j4") >> JobStatus.ACCEPTED
-        1 * persistenceService.getJobArchiveStatus("j4") >> ArchiveStatus.PENDING
-        1 * persistenceService.updateJobArchiveStatus("j4", ArchiveStatus.FAILED)
-        1 * persistenceService.updateJobStatus("j4", JobStatus.ACCEPTED, JobStatus.FAILED, AgentJobCleanupTask.NEVER_CLAIMED_STATUS_MESSAGE)
-        1 * registry.counter(AgentJobCleanupTask.TERMINATED_COUNTER_METRIC_NAME, _) >> counter
-        1 * counter.increment()
+        task.awolJobsMap.keySet() == ["j2"] as Set
+    }
+
+    def "Run records failures"() {
+        setup:
+        Exception e = new IllegalStateException("...")
 
         when:
-        task.cleanup()
+        task.run()
 
         then:
+        1 * persistenceService.getActiveJobs() >> { throw e }
+        1 * registry.timer(AgentJobCleanupTask.RUN_TIMER_METRIC_NAME, MetricsUtils.newFailureTagsSetForException(e)) >> timer
+        1 * timer.record(_, _)
         noExceptionThrown()
     }
 }
@@ -31,6 +31,7 @@ import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import spock.lang.Specification
 
 import java.time.Instant
+import java.util.function.Predicate
 
 class ArchiveStatusCleanupTaskSpec extends Specification {
 
@@ -98,6 +99,20 @@ class ArchiveStatusCleanupTaskSpec extends Specification {
         noExceptionThrown()
     }
 
+    def "Run only clears the jobs selected by the filter"() {
+        when:
+        task.run({ it == "j1" } as Predicate<String>)
+
+        then:
+        1 * persistenceServiceMock.getJobsWithStatusAndArchiveStatusUpdatedBefore(_, _, _) >> Sets.newHashSet("j1", "j2")
+
+        then:
+        1 * agentRoutingService.isAgentConnected("j1") >> false
+        1 * persistenceServiceMock.updateJobArchiveStatus("j1", ArchiveStatus.UNKNOWN)
+        0 * agentRoutingService.isAgentConnected("j2")
+        0 * persistenceServiceMock.updateJobArchiveStatus("j2", _)
+    }
+
     def "GetScheduleType and getFixedRate"() {
         expect:
         task.getScheduleType() == GenieTaskScheduleType.FIXED_RATE
@@ -21,6 +21,7 @@ import com.netflix.genie.common.dto.UserResourcesSummary
 import com.netflix.genie.common.internal.dtos.JobStatus
 import com.netflix.genie.web.data.services.DataServices
 import com.netflix.genie.web.data.services.PersistenceService
+import com.netflix.genie.web.events.JobStateChangeEvent
 import com.netflix.genie.web.properties.UserMetricsProperties
 import com.netflix.genie.web.tasks.GenieTaskScheduleType
 import com.netflix.genie.web.util.MetricsConstants
@@ -30,6 +31,7 @@ import io.micrometer.core.instrument.MeterRegistry
 import org.apache.curator.shaded.com.google.common.collect.Maps
 import spock.lang.Specification
 
+import java.time.Instant
 import java.util.function.ToDoubleFunction
 
 @SuppressWarnings("GroovyAccessibility")
@@ -88,7 +90,7 @@ class UserMetricsTaskSpec extends Specification {
         this.task.run()
 
         then:
-        1 * persistenceService.getUserResourcesSummaries(JobStatus.activeStatuses, true) >> fooBarSummariesMap
+        1 * persistenceService.getUserResourcesSummaries(UserMetricsTask.COUNTED_STATUSES, true) >> fooBarSummariesMap
         4 * registry.gauge(_ as Meter.Id, _, _ as ToDoubleFunction) >> {
             args -> return captureGauge(args[0] as Meter.Id, args[1] as Object, args[2] as ToDoubleFunction<Object>)
         }
@@ -103,7 +105,7 @@ class UserMetricsTaskSpec extends Specification {
         this.task.run()
 
         then:
-        1 * persistenceService.getUserResourcesSummaries(JobStatus.activeStatuses, true) >> fooBooSummariesMap
+        1 * persistenceService.getUserResourcesSummaries(UserMetricsTask.COUNTED_STATUSES, true) >> fooBooSummariesMap
         2 * registry.gauge(_ as Meter.Id, _, _ as ToDoubleFunction) >> {
             args -> return captureGauge(args[0] as Meter.Id, args[1] as Object, args[2] as ToDoubleFunction<Object>)
         }
@@ -120,7 +122,7 @@ class UserMetricsTaskSpec extends Specification {
         this.task.run()
 
         then:
-        1 * persistenceService.getUserResourcesSummaries(JobStatus.activeStatuses, true) >> emptySummariesMap
+        1 * persistenceService.getUserResourcesSummaries(UserMetricsTask.COUNTED_STATUSES, true) >> emptySummariesMap
         measureActiveUsers() == 0
         measureJobs("foo") == Double.NaN
         measureMemory("foo") == Double.NaN
@@ -145,7 +147,7 @@ class UserMetricsTaskSpec extends Specification {
         this.task.run()
 
         then:
-        1 * persistenceService.getUserResourcesSummaries(JobStatus.activeStatuses, true) >> fooBarSummariesMap
+        1 * persistenceService.getUserResourcesSummaries(UserMetricsTask.COUNTED_STATUSES, true) >> fooBarSummariesMap
 
         4 * registry.gauge(_ as Meter.Id, _, _ as ToDoubleFunction) >> {
             args -> return captureGauge(args[0] as Meter.Id, args[1] as Object, args[2] as ToDoubleFunction<Object>)
@@ -172,6 +174,111 @@ class UserMetricsTaskSpec extends Specification {
         measureMemory("boo") == Double.NaN
     }
 
+    def "Run applies job status changes between reconciliations"() {
+        setup:
+        this.registry.gauge(_ as Meter.Id, _, _ as ToDoubleFunction) >> {
+            args -> return captureGauge(args[0] as Meter.Id, args[1] as Object, args[2] as ToDoubleFunction<Object>)
+        }
+        this.userMetricProperties.getRefreshInterval() >> 30_000L
+        this.userMetricProperties.getReconciliationInterval() >> 3_600_000L
+        this.task = new UserMetricsTask(this.registry, this.dataServices, this.userMetricProperties)
+
+        when: "Changes are received before the first reconciliation"
+        this.task.onApplicationEvent(newEvent("job0", JobStatus.RESERVED, JobStatus.RESOLVED))
+        this.task.run()
+
+        then:
+        1 * persistenceService.getUserResourcesSummaries(UserMetricsTask.COUNTED_STATUSES, true) >> [
+            "foo": new UserResourcesSummary("foo", 2, 2048)
+        ]
+        0 * persistenceService.getJobsCreatedBefore(_, _)
+        0 * persistenceService.getUserResourcesSummariesForJobs(_, _)
+        measureActiveUsers() == 1
+        measureJobs("foo") == 2
+        measureMemory("foo") == 2048
+
+        when:
+        // Reserved since the reconciliation
+        this.task.onApplicationEvent(newEvent("job1", JobStatus.RESERVED, JobStatus.RESOLVED))
+        this.task.onApplicationEvent(newEvent("job2", JobStatus.RUNNING, JobStatus.SUCCEEDED))
+        this.task.onApplicationEvent(newEvent("job3", JobStatus.RESOLVED, JobStatus.CLAIMED))
+        // Reserved since the reconciliation and failed to resolve, so it was never counted
+        this.task.onApplicationEvent(newEvent("job4", JobStatus.RESERVED, JobStatus.FAILED))
+        // Already counted by the reconciliation, which ran while the job was reserved
+        this.task.onApplicationEvent(newEvent("jobA", JobStatus.RESERVED, JobStatus.RESOLVED))
+        // Reserved and started on another node since the reconciliation, so it was never counted
+        this.task.onApplicationEvent(newEvent("job7", JobStatus.RUNNING, JobStatus.FAILED))
+        this.task.run()
+
+        then:
+        0 * persistenceService.getUserResourcesSummaries(_, _)
+        1 * persistenceService.getJobsCreatedBefore(["job1", "jobA"] as Set, _ as Instant) >> (["jobA"] as Set)
+        1 * persistenceService.getJobsCreatedBefore(["job2", "job4", "job7"] as Set, _ as Instant) >> (["job2"] as Set)
+        1 * persistenceService.getUserResourcesSummariesForJobs(["job1"] as Set, true) >> [
+            "bar": new UserResourcesSummary("bar", 1, 512)
+        ]
+        1 * persistenceService.getUserResourcesSummariesForJobs(["job2"] as Set, true) >> [
+            "foo": new UserResourcesSummary("foo", 1, 1024)
+        ]
+        0 * persistenceService.getUserResourcesSummariesForJobs(_, _)
+        measureActiveUsers() == 2
+        measureJobs("foo") == 1
+        measureMemory("foo") == 1024
+        measureJobs("bar") == 1
+        measureMemory("bar") == 512
+
+        when:
+        this.task.onApplicationEvent(newEvent("jobA", JobStatus.INIT, JobStatus.KILLED))
+        this.task.onApplicationEvent(newEvent("job8", JobStatus.INIT, JobStatus.KILLED))
+        this.task.run()
+
+        then:
+        1 * persistenceService.getJobsCreatedBefore(["jobA", "job8"] as Set, _ as Instant) >> (["jobA"] as Set)
+        1 * persistenceService.getUserResourcesSummariesForJobs(["jobA"] as Set, true) >> [
+            "foo": new UserResourcesSummary("foo", 1, 1024)
+        ]
+        0 * persistenceService.getUserResourcesSummariesForJobs(_, _)
+        measureActiveUsers() == 1
+        measureJobs("foo") == Double.NaN
+        measureMemory("foo") == Double.NaN
+        measureJobs("bar") == 1
+
+        when: "A job added since the reconciliation finishes"
+        this.task.onApplicationEvent(newEvent("job1", JobStatus.RUNNING, JobStatus.SUCCEEDED))
+        this.task.run()
+
+        then:
+        0 * persistenceService.getJobsCreatedBefore(_, _)
+        1 * persistenceService.getUserResourcesSummariesForJobs(["job1"] as Set, true) >> [
+            "bar": new UserResourcesSummary("bar", 1, 512)
+        ]
+        measureActiveUsers() == 0
+        measureJobs("bar") == Double.NaN
+
+        when: "Nothing changed"
+        this.task.run()
+
+        then:
+        0 * persistenceService._
+        measureActiveUsers() == 0
+
+        when: "Leadership is lost"
+        this.task.cleanup()
+        this.task.onApplicationEvent(newEvent("job6", JobStatus.RESERVED, JobStatus.RESOLVED))
+        this.task.run()
+
+        then:
+        1 * persistenceService.getUserResourcesSummaries(UserMetricsTask.COUNTED_STATUSES, true) >> [:]
+        0 * persistenceService.getJobsCreatedBefore(_, _)
+        0 * persistenceService.getUserResourcesSummariesForJobs(_, _)
+        measureActiveUsers() == 0
+        measureJobs("bar") == Double.NaN
+    }
+
+    JobStateChangeEvent newEvent(final String jobId, final JobStatus previousStatus, final JobStatus newStatus) {
+        return new JobStateChangeEvent(jobId, previousStatus, newStatus, this)
+    }
+
     Gauge captureGauge(final Meter.Id id, final Object obj, final ToDoubleFunction<Object> f) {
         String userTagValue = id.getTag(MetricsConstants.TagKeys.USER)
         String gaugeKey = id.getName() + (userTagValue == null ? "" : ("-" + userTagValue))
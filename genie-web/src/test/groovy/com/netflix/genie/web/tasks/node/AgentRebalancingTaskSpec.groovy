@@ -0,0 +1,189 @@
+/*
+ *
+ *  Copyright 2026 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.tasks.node
+
+import com.netflix.genie.web.agent.services.AgentConnectionTrackingService
+import com.netflix.genie.web.agent.services.AgentFileStreamService
+import com.netflix.genie.web.events.AgentReconnectRequestedEvent
+import com.netflix.genie.web.events.GenieEventBus
+import com.netflix.genie.web.properties.AgentRebalancingProperties
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.apache.curator.framework.recipes.nodes.GroupMember
+import org.springframework.scheduling.TaskScheduler
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.time.Duration
+import java.time.Instant
+import java.util.concurrent.ScheduledFuture
+
+/**
+ * Specifications for {@link AgentRebalancingTask}.
+ */
+class AgentRebalancingTaskSpec extends Specification {
+
+    static final String MEMBER_ID = "node-1"
+
+    AgentRebalancingProperties properties
+    GroupMember groupMember
+    AgentConnectionTrackingService agentConnectionTrackingService
+    AgentFileStreamService agentFileStreamService
+    GenieEventBus genieEventBus
+    TaskScheduler taskScheduler
+    ScheduledFuture scheduledFuture
+    SimpleMeterRegistry registry
+    Instant now
+    AgentRebalancingTask task
+
+    def setup() {
+        this.properties = new AgentRebalancingProperties()
+        this.properties.setMinimumExcessLoad(2)
+        this.properties.setMaxAgentsPerInterval(3)
+        this.properties.setMinimumConnectionAge(Duration.ofMinutes(5))
+        this.groupMember = Mock(GroupMember)
+        this.agentConnectionTrackingService = Mock(AgentConnectionTrackingService)
+        this.agentFileStreamService = Mock(AgentFileStreamService)
+        this.genieEventBus = Mock(GenieEventBus)
+        this.scheduledFuture = Mock(ScheduledFuture)
+        this.taskScheduler = Mock(TaskScheduler)
+        this.registry = new SimpleMeterRegistry()
+        this.now = Instant.now()
+    }
+
+    def "Join the group and schedule on creation, leave on shutdown"() {
+        when:
+        this.createTask()
+
+        then:
+        1 * this.groupMember.start()
+        1 * this.taskScheduler.scheduleWithFixedDelay(_ as AgentRebalancingTask, this.properties.getInterval()) >> {
+            this.scheduledFuture
+        }
+
+        when:
+        this.task.shutdown()
+
+        then:
+        1 * this.scheduledFuture.cancel(false)
+        1 * this.groupMember.close()
+    }
+
+    def "Ask the longest connected agents to reconnect when overloaded"() {
+        this.createTask()
+        def agents = [
+            "job-recent": this.now.minus(Duration.ofMinutes(1)),
+            "job-1"     : this.now.minus(Duration.ofMinutes(30)),
+            "job-2"     : this.now.minus(Duration.ofMinutes(20)),
+            "job-3"     : this.now.minus(Duration.ofMinutes(10)),
+            "job-4"     : this.now.minus(Duration.ofMinutes(6)),
+        ]
+        def events = []
+
+        when: "Load is 5 agents and 3 transfers, the average is 4"
+        this.task.run()
+
+        then:
+        1 * this.agentConnectionTrackingService.getConnectedAgents() >> agents
+        1 * this.agentFileStreamService.getActiveTransfersCount() >> 3
+        1 * this.groupMember.setThisData(load(8))
+        1 * this.groupMember.getCurrentMembers() >> [
+            (MEMBER_ID): load(7),
+            "node-2"   : load(2),
+            "node-3"   : load(2),
+            "node-4"   : "10.0.0.1".getBytes(StandardCharsets.UTF_8),
+        ]
+        3 * this.genieEventBus.publishSynchronousEvent(_ as AgentReconnectRequestedEvent) >> {
+            args -> events.add((args[0] as AgentReconnectRequestedEvent).getJobId())
+        }
+        events == ["job-1", "job-2", "job-3"]
+        this.registry.counter("genie.agents.rebalancing.reconnectRequested.counter").count() == 3
+    }
+
+    def "Only agents connected long enough are asked to reconnect"() {
+        this.createTask()
+
+        when:
+        this.task.run()
+
+        then:
+        1 * this.agentConnectionTrackingService.getConnectedAgents() >> [
+            "job-1": this.now.minus(Duration.ofMinutes(10)),
+            "job-2": this.now.minus(Duration.ofMinutes(1)),
+            "job-3": this.now.minus(Duration.ofMinutes(4)),
+            "job-4": this.now,
+        ]
+        1 * this.agentFileStreamService.getActiveTransfersCount() >> 0
+        1 * this.groupMember.getCurrentMembers() >> [(MEMBER_ID): load(4), "node-2": load(0)]
+        1 * this.genieEventBus.publishSynchronousEvent({ it.getJobId() == "job-1" })
+        0 * this.genieEventBus._
+    }
+
+    def "Don't rebalance when #description"() {
+        this.createTask()
+
+        when:
+        this.task.run()
+
+        then:
+        1 * this.agentConnectionTrackingService.getConnectedAgents() >> (1..localAgents).collectEntries {
+            ["job-" + it, this.now.minus(Duration.ofHours(1))]
+        }
+        1 * this.agentFileStreamService.getActiveTransfersCount() >> 0
+        1 * this.groupMember.getCurrentMembers() >> members
+        0 * this.genieEventBus._
+
+        where:
+        description                      | localAgents | members
+        "not a member"                   | 10          | ["node-2": load(0)]
+        "alone"                          | 10          | [(MEMBER_ID): load(10)]
+        "no other member published"      | 10          | [(MEMBER_ID): load(10), "node-2": new byte[0]]
+        "within tolerance"               | 11          | [(MEMBER_ID): load(11), "node-2": load(9)]
+        "excess below the minimum"       | 3           | [(MEMBER_ID): load(3), "node-2": load(0)]
+    }
+
+    def "Errors don't propagate"() {
+        this.createTask()
+
+        when:
+        this.task.run()
+
+        then:
+        1 * this.agentConnectionTrackingService.getConnectedAgents() >> [:]
+        1 * this.groupMember.setThisData(_) >> { throw new RuntimeException("Not connected") }
+        0 * this.genieEventBus._
+        noExceptionThrown()
+    }
+
+    private void createTask() {
+        this.task = new AgentRebalancingTask(
+            this.properties,
+            this.groupMember,
+            MEMBER_ID,
+            this.agentConnectionTrackingService,
+            this.agentFileStreamService,
+            this.genieEventBus,
+            this.taskScheduler,
+            this.registry,
+            { this.now }
+        )
+    }
+
+    private static byte[] load(final double load) {
+        return Double.toString(load).getBytes(StandardCharsets.UTF_8)
+    }
+}
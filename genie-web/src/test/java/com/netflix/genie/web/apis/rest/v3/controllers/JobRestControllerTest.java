@@ -73,6 +73,7 @@ import org.springframework.web.client.RestTemplate;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Validator;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -153,7 +154,8 @@ class JobRestControllerTest {
             this.agentRoutingService,
             this.environment,
             Mockito.mock(AttachmentService.class),
-            this.jobKillService
+            this.jobKillService,
+            Mockito.mock(Validator.class)
         );
     }
 
@@ -491,7 +493,8 @@ class JobRestControllerTest {
             this.agentRoutingService,
             this.environment,
             Mockito.mock(AttachmentService.class),
-            this.jobKillService
+            this.jobKillService,
+            Mockito.mock(Validator.class)
         );
         jobController.getJobOutput(jobId, null, request, response);
 
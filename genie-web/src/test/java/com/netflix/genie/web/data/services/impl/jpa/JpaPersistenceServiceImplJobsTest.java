@@ -363,6 +363,46 @@ class JpaPersistenceServiceImplJobsTest {
         Mockito.verify(jobEntity, Mockito.times(1)).setFinished(Mockito.any(Instant.class));
     }
 
+    @Test
+    void canFailActiveJobs() {
+        Assertions
+            .assertThat(this.persistenceService.failActiveJobs(Sets.newHashSet(), "AWOL", ArchiveStatus.UNKNOWN))
+            .isEmpty();
+        Mockito.verify(this.jobRepository, Mockito.never()).findByUniqueIdIn(Mockito.anySet());
+
+        final JobEntity runningJob = Mockito.mock(JobEntity.class);
+        Mockito.when(runningJob.getUniqueId()).thenReturn("running");
+        Mockito.when(runningJob.getStatus()).thenReturn(JobStatus.RUNNING.name());
+        Mockito.when(runningJob.getArchiveStatus()).thenReturn(Optional.of(ArchiveStatus.PENDING.name()));
+        Mockito.when(runningJob.getStarted()).thenReturn(Optional.of(Instant.now()));
+        final JobEntity acceptedJob = Mockito.mock(JobEntity.class);
+        Mockito.when(acceptedJob.getUniqueId()).thenReturn("accepted");
+        Mockito.when(acceptedJob.getStatus()).thenReturn(JobStatus.ACCEPTED.name());
+        Mockito.when(acceptedJob.getArchiveStatus()).thenReturn(Optional.of(ArchiveStatus.ARCHIVED.name()));
+        Mockito.when(acceptedJob.getStarted()).thenReturn(Optional.empty());
+        final JobEntity finishedJob = Mockito.mock(JobEntity.class);
+        Mockito.when(finishedJob.getUniqueId()).thenReturn("finished");
+        Mockito.when(finishedJob.getStatus()).thenReturn(JobStatus.SUCCEEDED.name());
+
+        final Set<String> ids = Sets.newHashSet("running", "accepted", "finished", "missing");
+        Mockito
+            .when(this.jobRepository.findByUniqueIdIn(ids))
+            .thenReturn(Sets.newHashSet(runningJob, acceptedJob, finishedJob));
+
+        Assertions
+            .assertThat(this.persistenceService.failActiveJobs(ids, "AWOL", ArchiveStatus.UNKNOWN))
+            .containsExactlyInAnyOrder("running", "accepted");
+
+        Mockito.verify(runningJob, Mockito.times(1)).setStatus(JobStatus.FAILED.name());
+        Mockito.verify(runningJob, Mockito.times(1)).setStatusMsg("AWOL");
+        Mockito.verify(runningJob, Mockito.times(1)).setArchiveStatus(ArchiveStatus.UNKNOWN.name());
+        Mockito.verify(runningJob, Mockito.times(1)).setFinished(Mockito.any(Instant.class));
+        Mockito.verify(acceptedJob, Mockito.times(1)).setStatus(JobStatus.FAILED.name());
+        Mockito.verify(acceptedJob, Mockito.never()).setArchiveStatus(Mockito.anyString());
+        Mockito.verify(acceptedJob, Mockito.never()).setFinished(Mockito.any(Instant.class));
+        Mockito.verify(finishedJob, Mockito.never()).setStatus(Mockito.anyString());
+    }
+
     @Test
     void testGetJobStatus() throws GenieCheckedException {
         final String id = UUID.randomUUID().toString();
@@ -550,6 +590,53 @@ class JpaPersistenceServiceImplJobsTest {
             .isEqualTo(expectedMap);
     }
 
+    @Test
+    void canGetUserResourceSummariesForJobs() {
+        Assertions
+            .assertThat(this.persistenceService.getUserResourcesSummariesForJobs(Sets.newHashSet(), true))
+            .isEmpty();
+        Mockito.verify(this.jobRepository, Mockito.never()).getUserJobResourcesAggregatesForJobs(Mockito.anySet(), Mockito.anyBoolean());
+
+        final UserJobResourcesAggregate p1 = Mockito.mock(UserJobResourcesAggregate.class);
+        Mockito.when(p1.getUser()).thenReturn("foo");
+        Mockito.when(p1.getRunningJobsCount()).thenReturn(2L);
+        Mockito.when(p1.getUsedMemory()).thenReturn(1536L);
+
+        final Set<String> jobIds = Sets.newHashSet(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+        Mockito
+            .when(this.jobRepository.getUserJobResourcesAggregatesForJobs(jobIds, true))
+            .thenReturn(Sets.newHashSet(p1));
+
+        Assertions
+            .assertThat(this.persistenceService.getUserResourcesSummariesForJobs(jobIds, true))
+            .containsOnlyKeys("foo")
+            .containsEntry("foo", new UserResourcesSummary("foo", 2, 1536));
+    }
+
+    @Test
+    void canGetJobsFinishedBefore() {
+        final Instant threshold = Instant.now();
+        Assertions.assertThat(this.persistenceService.getJobsFinishedBefore(Sets.newHashSet(), threshold)).isEmpty();
+        Mockito
+            .verify(this.jobRepository, Mockito.never())
+            .getJobIdsWithStatusInAndFinishedBefore(Mockito.anySet(), Mockito.anySet(), Mockito.any(Instant.class));
+
+        final String finishedJobId = UUID.randomUUID().toString();
+        final Set<String> jobIds = Sets.newHashSet(finishedJobId, UUID.randomUUID().toString());
+        Mockito
+            .when(
+                this.jobRepository.getJobIdsWithStatusInAndFinishedBefore(
+                    jobIds,
+                    JpaPersistenceServiceImpl.FINISHED_STATUS_SET,
+                    threshold
+                )
+            )
+            .thenReturn(Sets.newHashSet(finishedJobId));
+        Assertions
+            .assertThat(this.persistenceService.getJobsFinishedBefore(jobIds, threshold))
+            .containsExactly(finishedJobId);
+    }
+
     @Test
     void canGetUsedMemoryOnHost() {
         final String hostname = UUID.randomUUID().toString();
@@ -613,6 +700,24 @@ class JpaPersistenceServiceImplJobsTest {
             .isEqualTo(Sets.newHashSet());
     }
 
+    @Test
+    void canGetJobsCreatedBefore() {
+        final Instant threshold = Instant.now();
+        Assertions.assertThat(this.persistenceService.getJobsCreatedBefore(Sets.newHashSet(), threshold)).isEmpty();
+        Mockito
+            .verify(this.jobRepository, Mockito.never())
+            .getJobIdsCreatedBefore(Mockito.anySet(), Mockito.any(Instant.class));
+
+        final String oldJobId = UUID.randomUUID().toString();
+        final Set<String> jobIds = Sets.newHashSet(oldJobId, UUID.randomUUID().toString());
+        Mockito
+            .when(this.jobRepository.getJobIdsCreatedBefore(jobIds, threshold))
+            .thenReturn(Sets.newHashSet(oldJobId));
+        Assertions
+            .assertThat(this.persistenceService.getJobsCreatedBefore(jobIds, threshold))
+            .containsExactly(oldJobId);
+    }
+
     @Test
     void testUpdateJobStatusWithTooLongMessage() throws GenieCheckedException {
         final String id = UUID.randomUUID().toString();
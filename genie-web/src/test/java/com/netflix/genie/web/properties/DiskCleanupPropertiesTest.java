@@ -49,6 +49,9 @@ class DiskCleanupPropertiesTest {
         Assertions.assertThat(this.properties.isEnabled()).isFalse();
         Assertions.assertThat(this.properties.getExpression()).isEqualTo("0 0 0 * * *");
         Assertions.assertThat(this.properties.getRetention()).isEqualTo(3);
+        Assertions.assertThat(this.properties.getQueryBatchSize()).isEqualTo(500);
+        Assertions.assertThat(this.properties.getDeleteParallelism()).isEqualTo(4);
+        Assertions.assertThat(this.properties.getDeleteBatchSize()).isEqualTo(100);
     }
 
     /**
@@ -79,4 +82,17 @@ class DiskCleanupPropertiesTest {
         this.properties.setRetention(retention);
         Assertions.assertThat(this.properties.getRetention()).isEqualTo(retention);
     }
+
+    /**
+     * Make sure can set the batch sizes and parallelism.
+     */
+    @Test
+    void canSetBatching() {
+        this.properties.setQueryBatchSize(50);
+        this.properties.setDeleteParallelism(8);
+        this.properties.setDeleteBatchSize(20);
+        Assertions.assertThat(this.properties.getQueryBatchSize()).isEqualTo(50);
+        Assertions.assertThat(this.properties.getDeleteParallelism()).isEqualTo(8);
+        Assertions.assertThat(this.properties.getDeleteBatchSize()).isEqualTo(20);
+    }
 }
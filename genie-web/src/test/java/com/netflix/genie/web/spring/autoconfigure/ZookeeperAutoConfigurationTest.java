@@ -20,6 +20,8 @@ package com.netflix.genie.web.spring.autoconfigure;
 import com.netflix.genie.web.properties.ZookeeperProperties;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.listen.Listenable;
+import org.apache.curator.framework.recipes.cache.CuratorCache;
+import org.apache.curator.framework.recipes.nodes.GroupMember;
 import org.apache.curator.x.discovery.ServiceDiscovery;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -74,6 +76,24 @@ class ZookeeperAutoConfigurationTest {
                     Assertions.assertThat(context).hasSingleBean(LeaderInitiatorFactoryBean.class);
                     Assertions.assertThat(context).hasSingleBean(ServiceDiscovery.class);
                     Assertions.assertThat(context).hasSingleBean(Listenable.class);
+                    Assertions.assertThat(context).doesNotHaveBean(GroupMember.class);
+                    Assertions.assertThat(context).doesNotHaveBean(CuratorCache.class);
+                }
+            );
+    }
+
+    /**
+     * Test the agent routes cache is created when enabled.
+     */
+    @Test
+    void expectedBeansWithAgentRouteCacheEnabled() {
+        this.contextRunner
+            .withUserConfiguration(ZookeeperMockConfig.class)
+            .withPropertyValues("genie.agent.routing.route-cache.enabled=true")
+            .run(
+                context -> {
+                    Assertions.assertThat(context).hasSingleBean(ServiceDiscovery.class);
+                    Assertions.assertThat(context).hasSingleBean(CuratorCache.class);
                 }
             );
     }
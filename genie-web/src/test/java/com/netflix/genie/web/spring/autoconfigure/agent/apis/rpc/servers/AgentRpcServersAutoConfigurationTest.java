@@ -18,6 +18,7 @@
 package com.netflix.genie.web.spring.autoconfigure.agent.apis.rpc.servers;
 
 import brave.Tracing;
+import com.netflix.genie.web.agent.apis.rpc.servers.GRpcServerExecutors;
 import com.netflix.genie.web.agent.apis.rpc.servers.GRpcServerManager;
 import com.netflix.genie.web.properties.GRpcServerProperties;
 import io.grpc.Server;
@@ -54,12 +55,38 @@ class AgentRpcServersAutoConfigurationTest {
             .run(
                 context -> {
                     Assertions.assertThat(context).hasSingleBean(GRpcServerProperties.class);
+                    Assertions.assertThat(context).hasSingleBean(GRpcServerExecutors.class);
                     Assertions.assertThat(context).hasSingleBean(Server.class);
                     Assertions.assertThat(context).hasSingleBean(GRpcServerManager.class);
                 }
             );
     }
 
+    /**
+     * The server is built from the transport and executor properties.
+     */
+    @Test
+    void serverStartsWithTransportProperties() {
+        this.contextRunner
+            .withPropertyValues(
+                "genie.grpc.server.transport.event-loop-threads=2",
+                "genie.grpc.server.transport.flow-control-window=4MB",
+                "genie.grpc.server.transport.max-concurrent-calls-per-connection=100",
+                "genie.grpc.server.transport.keep-alive-time=1m",
+                "genie.grpc.server.transport.max-connection-age=1h",
+                "genie.grpc.server.transport.max-connection-age-grace=5m",
+                "genie.grpc.server.call-executor.threads=4",
+                "genie.grpc.server.call-executor.service-threads[com.netflix.genie.proto.FileStreamService]=2"
+            )
+            .run(
+                context -> {
+                    Assertions.assertThat(context).hasNotFailed();
+                    Assertions.assertThat(context).hasSingleBean(GRpcServerExecutors.class);
+                    Assertions.assertThat(context.getBean(GRpcServerManager.class).getServerPort()).isPositive();
+                }
+            );
+    }
+
     /**
      * User beans override default beans.
      */
@@ -19,12 +19,14 @@ package com.netflix.genie.web.spring.autoconfigure.agent.apis.rpc.v4.endpoints;
 
 import com.netflix.genie.common.internal.configs.ProtoConvertersAutoConfiguration;
 import com.netflix.genie.common.internal.util.GenieHostInfo;
+import com.netflix.genie.proto.AgentSessionServiceGrpc;
 import com.netflix.genie.proto.FileStreamServiceGrpc;
 import com.netflix.genie.proto.HeartBeatServiceGrpc;
 import com.netflix.genie.proto.JobKillServiceGrpc;
 import com.netflix.genie.proto.JobServiceGrpc;
 import com.netflix.genie.proto.PingServiceGrpc;
 import com.netflix.genie.web.agent.apis.rpc.v4.endpoints.GRpcAgentFileStreamServiceImpl;
+import com.netflix.genie.web.agent.apis.rpc.v4.endpoints.GRpcAgentSessionServiceImpl;
 import com.netflix.genie.web.agent.apis.rpc.v4.endpoints.GRpcHeartBeatServiceImpl;
 import com.netflix.genie.web.agent.apis.rpc.v4.endpoints.GRpcJobServiceImpl;
 import com.netflix.genie.web.agent.apis.rpc.v4.endpoints.GRpcPingServiceImpl;
@@ -37,6 +39,7 @@ import com.netflix.genie.web.data.services.PersistenceService;
 import com.netflix.genie.web.properties.AgentFileStreamProperties;
 import com.netflix.genie.web.properties.HeartBeatProperties;
 import com.netflix.genie.web.services.RequestForwardingService;
+import com.netflix.genie.web.services.TimerService;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -98,6 +101,12 @@ class AgentRpcEndpointsAutoConfigurationTest {
                     Assertions
                         .assertThat(context)
                         .hasSingleBean(GRpcJobServiceImpl.class);
+                    Assertions
+                        .assertThat(context)
+                        .hasSingleBean(AgentSessionServiceGrpc.AgentSessionServiceImplBase.class);
+                    Assertions
+                        .assertThat(context)
+                        .hasSingleBean(GRpcAgentSessionServiceImpl.class);
                     Assertions
                         .assertThat(context)
                         .hasSingleBean(JobServiceGrpc.JobServiceImplBase.class);
@@ -149,6 +158,12 @@ class AgentRpcEndpointsAutoConfigurationTest {
                     Assertions
                         .assertThat(context)
                         .doesNotHaveBean(GRpcJobServiceImpl.class);
+                    Assertions
+                        .assertThat(context)
+                        .hasSingleBean(AgentSessionServiceGrpc.AgentSessionServiceImplBase.class);
+                    Assertions
+                        .assertThat(context)
+                        .doesNotHaveBean(GRpcAgentSessionServiceImpl.class);
                     Assertions
                         .assertThat(context)
                         .hasSingleBean(JobServiceGrpc.JobServiceImplBase.class);
@@ -217,6 +232,11 @@ class AgentRpcEndpointsAutoConfigurationTest {
         RequestForwardingService requestForwardingService() {
             return Mockito.mock(RequestForwardingService.class);
         }
+
+        @Bean
+        TimerService timerService() {
+            return Mockito.mock(TimerService.class);
+        }
     }
 
     /**
@@ -249,6 +269,11 @@ class AgentRpcEndpointsAutoConfigurationTest {
             return Mockito.mock(JobKillServiceGrpc.JobKillServiceImplBase.class);
         }
 
+        @Bean
+        AgentSessionServiceGrpc.AgentSessionServiceImplBase userGRpcAgentSessionService() {
+            return Mockito.mock(AgentSessionServiceGrpc.AgentSessionServiceImplBase.class);
+        }
+
         @Bean
         JobServiceGrpc.JobServiceImplBase userGRpcJobService() {
             return Mockito.mock(JobServiceGrpc.JobServiceImplBase.class);
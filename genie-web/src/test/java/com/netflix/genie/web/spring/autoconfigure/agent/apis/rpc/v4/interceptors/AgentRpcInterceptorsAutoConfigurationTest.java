@@ -17,7 +17,10 @@
  */
 package com.netflix.genie.web.spring.autoconfigure.agent.apis.rpc.v4.interceptors;
 
+import com.netflix.genie.web.agent.apis.rpc.v4.interceptors.CallMetricsInterceptor;
 import com.netflix.genie.web.agent.apis.rpc.v4.interceptors.SimpleLoggingInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -40,7 +43,8 @@ class AgentRpcInterceptorsAutoConfigurationTest {
                 AutoConfigurations.of(
                     AgentRpcInterceptorsAutoConfiguration.class
                 )
-            );
+            )
+            .withUserConfiguration(ExternalBeans.class);
 
     /**
      * Default beans created.
@@ -48,7 +52,12 @@ class AgentRpcInterceptorsAutoConfigurationTest {
     @Test
     void expectedBeansExistIfGrpcEnabledAndNoUserBeans() {
         this.contextRunner
-            .run(context -> Assertions.assertThat(context).hasSingleBean(SimpleLoggingInterceptor.class));
+            .run(
+                context -> {
+                    Assertions.assertThat(context).hasSingleBean(SimpleLoggingInterceptor.class);
+                    Assertions.assertThat(context).hasSingleBean(CallMetricsInterceptor.class);
+                }
+            );
     }
 
     /**
@@ -62,6 +71,8 @@ class AgentRpcInterceptorsAutoConfigurationTest {
                 context -> {
                     Assertions.assertThat(context).hasSingleBean(SimpleLoggingInterceptor.class);
                     Assertions.assertThat(context.containsBean("userSimpleLoggingInterceptor")).isTrue();
+                    Assertions.assertThat(context).hasSingleBean(CallMetricsInterceptor.class);
+                    Assertions.assertThat(context.containsBean("userCallMetricsInterceptor")).isTrue();
                 }
             );
     }
@@ -76,5 +87,22 @@ class AgentRpcInterceptorsAutoConfigurationTest {
         SimpleLoggingInterceptor userSimpleLoggingInterceptor() {
             return Mockito.mock(SimpleLoggingInterceptor.class);
         }
+
+        @Bean
+        CallMetricsInterceptor userCallMetricsInterceptor() {
+            return Mockito.mock(CallMetricsInterceptor.class);
+        }
+    }
+
+    /**
+     * Beans the auto configuration depends on.
+     */
+    @Configuration
+    static class ExternalBeans {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
     }
 }
@@ -31,9 +31,12 @@ import com.netflix.genie.web.data.services.PersistenceService;
 import com.netflix.genie.web.properties.AgentConfigurationProperties;
 import com.netflix.genie.web.properties.AgentConnectionTrackingServiceProperties;
 import com.netflix.genie.web.properties.AgentRoutingServiceProperties;
+import com.netflix.genie.web.properties.ZookeeperProperties;
 import com.netflix.genie.web.services.JobResolverService;
+import com.netflix.genie.web.services.TimerService;
 import com.netflix.genie.web.spring.autoconfigure.agent.apis.rpc.v4.endpoints.AgentRpcEndpointsAutoConfiguration;
 import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.listen.Listenable;
 import org.apache.curator.framework.state.ConnectionStateListener;
 import org.apache.curator.x.discovery.ServiceDiscovery;
@@ -146,6 +149,11 @@ class AgentServicesAutoConfigurationTest {
         PropertiesMapCache.Factory propertiesMapCacheFactory() {
             return Mockito.mock(PropertiesMapCache.Factory.class);
         }
+
+        @Bean
+        TimerService timerService() {
+            return Mockito.mock(TimerService.class);
+        }
     }
 
     /**
@@ -165,5 +173,15 @@ class AgentServicesAutoConfigurationTest {
         Listenable<ConnectionStateListener> listenableCuratorConnectionState() {
             return Mockito.mock(Listenable.class);
         }
+
+        @Bean
+        CuratorFramework curatorFramework() {
+            return Mockito.mock(CuratorFramework.class);
+        }
+
+        @Bean
+        ZookeeperProperties zookeeperProperties() {
+            return new ZookeeperProperties();
+        }
     }
 }
@@ -17,12 +17,14 @@
  */
 package com.netflix.genie.web.spring.autoconfigure.apis;
 
+import com.netflix.genie.web.apis.rest.v3.controllers.StreamingSubmissionMultipartResolver;
 import com.netflix.genie.web.properties.HttpProperties;
 import com.netflix.genie.web.properties.JobsProperties;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
@@ -69,6 +71,16 @@ class ApisAutoConfigurationTest {
             .isNotNull();
     }
 
+    /**
+     * Make sure the multipart resolver which supports streaming job submission is used.
+     */
+    @Test
+    void canGetMultipartResolver() {
+        Assertions
+            .assertThat(this.apisAutoConfiguration.multipartResolver(new MultipartProperties()))
+            .isInstanceOf(StreamingSubmissionMultipartResolver.class);
+    }
+
     /**
      * Make sure the default implementation of a directory writer is used in this default configuration.
      */
@@ -25,7 +25,11 @@ import com.netflix.genie.web.scripts.AgentLauncherSelectorManagedScript;
 import com.netflix.genie.web.scripts.ClusterSelectorManagedScript;
 import com.netflix.genie.web.scripts.CommandSelectorManagedScript;
 import com.netflix.genie.web.scripts.ScriptManager;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -67,6 +71,31 @@ class ScriptsAutoConfigurationTest {
                     Assertions.assertThat(context).doesNotHaveBean(CommandSelectorManagedScript.class);
                     Assertions.assertThat(context).doesNotHaveBean(AgentLauncherSelectorManagedScript.class);
                     Assertions.assertThat(context).hasSingleBean(ScriptsAutoConfiguration.ManagedScriptPreLoader.class);
+                    Assertions.assertThat(context).hasSingleBean(MeterFilter.class);
+                }
+            );
+    }
+
+    @Test
+    void scriptEvaluationTimerPublishesPercentiles() {
+        this.contextRunner
+            .run(
+                context -> {
+                    final MeterFilter filter = context.getBean(MeterFilter.class);
+                    final DistributionStatisticConfig evaluateConfig = filter.configure(
+                        new Meter.Id(ScriptManager.SCRIPT_EVALUATE_TIMER_NAME, Tags.empty(), null, null, Meter.Type.TIMER),
+                        DistributionStatisticConfig.DEFAULT
+                    );
+                    Assertions.assertThat(evaluateConfig).isNotNull();
+                    Assertions.assertThat(evaluateConfig.getPercentiles()).containsExactly(0.5, 0.95, 0.99);
+                    Assertions
+                        .assertThat(
+                            filter.configure(
+                                new Meter.Id("some.other.timer", Tags.empty(), null, null, Meter.Type.TIMER),
+                                DistributionStatisticConfig.DEFAULT
+                            )
+                        )
+                        .isSameAs(DistributionStatisticConfig.DEFAULT);
                 }
             );
     }
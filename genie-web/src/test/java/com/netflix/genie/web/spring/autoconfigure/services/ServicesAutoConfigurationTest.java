@@ -28,6 +28,7 @@ import com.netflix.genie.web.agent.services.AgentFileStreamService;
 import com.netflix.genie.web.agent.services.AgentRoutingService;
 import com.netflix.genie.web.data.services.DataServices;
 import com.netflix.genie.web.properties.AttachmentServiceProperties;
+import com.netflix.genie.web.properties.JobLaunchProperties;
 import com.netflix.genie.web.properties.JobResolutionProperties;
 import com.netflix.genie.web.properties.JobsActiveLimitProperties;
 import com.netflix.genie.web.properties.JobsForwardingProperties;
@@ -85,6 +86,7 @@ class ServicesAutoConfigurationTest {
                 .hasSingleBean(JobsUsersProperties.class)
                 .hasSingleBean(JobsActiveLimitProperties.class)
                 .hasSingleBean(AttachmentServiceProperties.class)
+                .hasSingleBean(JobLaunchProperties.class)
                 .hasSingleBean(JobsProperties.class)
                 .hasSingleBean(AttachmentService.class)
                 .hasSingleBean(JobResolverService.class)
@@ -19,11 +19,16 @@ package com.netflix.genie.web.spring.autoconfigure.tasks;
 
 import com.netflix.genie.web.properties.TasksExecutorPoolProperties;
 import com.netflix.genie.web.properties.TasksSchedulerPoolProperties;
+import com.netflix.genie.web.properties.TasksTimerProperties;
+import com.netflix.genie.web.services.TimerService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.commons.exec.Executor;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
 
 /**
  * Unit tests for {@link TasksAutoConfiguration} class.
@@ -39,7 +44,8 @@ class TasksAutoConfigurationTest {
                 AutoConfigurations.of(
                     TasksAutoConfiguration.class
                 )
-            );
+            )
+            .withUserConfiguration(RequiredBeans.class);
 
     /**
      * All the expected beans exist.
@@ -50,13 +56,22 @@ class TasksAutoConfigurationTest {
             context -> {
                 Assertions.assertThat(context).hasSingleBean(TasksExecutorPoolProperties.class);
                 Assertions.assertThat(context).hasSingleBean(TasksSchedulerPoolProperties.class);
+                Assertions.assertThat(context).hasSingleBean(TasksTimerProperties.class);
 
                 Assertions.assertThat(context).hasSingleBean(Executor.class);
 
                 Assertions.assertThat(context).hasBean("genieTaskScheduler");
                 Assertions.assertThat(context).hasBean("genieAsyncTaskExecutor");
                 Assertions.assertThat(context).hasBean("genieSyncTaskExecutor");
+                Assertions.assertThat(context).hasSingleBean(TimerService.class);
             }
         );
     }
+
+    static class RequiredBeans {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return Mockito.mock(MeterRegistry.class);
+        }
+    }
 }
@@ -27,8 +27,10 @@ import com.netflix.genie.web.properties.ArchiveStatusCleanupProperties;
 import com.netflix.genie.web.properties.DatabaseCleanupProperties;
 import com.netflix.genie.web.properties.JobsProperties;
 import com.netflix.genie.web.properties.LeadershipProperties;
+import com.netflix.genie.web.properties.TaskShardingProperties;
 import com.netflix.genie.web.properties.UserMetricsProperties;
 import com.netflix.genie.web.services.ClusterLeaderService;
+import com.netflix.genie.web.services.TaskShardingService;
 import com.netflix.genie.web.spring.actuators.LeaderElectionActuator;
 import com.netflix.genie.web.spring.autoconfigure.tasks.TasksAutoConfiguration;
 import com.netflix.genie.web.tasks.leader.AgentJobCleanupTask;
@@ -38,6 +40,7 @@ import com.netflix.genie.web.tasks.leader.LeaderTasksCoordinator;
 import com.netflix.genie.web.tasks.leader.LocalLeader;
 import com.netflix.genie.web.tasks.leader.UserMetricsTask;
 import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.curator.framework.recipes.nodes.GroupMember;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -79,11 +82,13 @@ class LeaderAutoConfigurationTest {
                 Assertions.assertThat(context).hasSingleBean(DatabaseCleanupProperties.class);
                 Assertions.assertThat(context).hasSingleBean(LeadershipProperties.class);
                 Assertions.assertThat(context).hasSingleBean(UserMetricsProperties.class);
+                Assertions.assertThat(context).hasSingleBean(TaskShardingProperties.class);
 
                 Assertions.assertThat(context).hasSingleBean(LeaderTasksCoordinator.class);
                 Assertions.assertThat(context).hasSingleBean(LocalLeader.class);
                 Assertions.assertThat(context).hasSingleBean(ClusterLeaderService.class);
                 Assertions.assertThat(context).hasSingleBean(LeaderElectionActuator.class);
+                Assertions.assertThat(context).doesNotHaveBean(TaskShardingService.class);
 
                 // Optional beans
                 Assertions.assertThat(context).doesNotHaveBean(DatabaseCleanupTask.class);
@@ -157,6 +162,23 @@ class LeaderAutoConfigurationTest {
             );
     }
 
+    /**
+     * The task sharding service is created when the group membership of this node exists.
+     */
+    @Test
+    void taskShardingServiceCreatedWithGroupMembership() {
+        this.contextRunner
+            .withUserConfiguration(ZookeeperMockConfig.class, GroupMemberMockConfig.class)
+            .withPropertyValues("genie.tasks.sharding.shard-count=16")
+            .run(
+                context -> {
+                    Assertions.assertThat(context).hasSingleBean(TaskShardingProperties.class);
+                    Assertions.assertThat(context).hasSingleBean(TaskShardingService.class);
+                    Assertions.assertThat(context).hasSingleBean(LeaderTasksCoordinator.class);
+                }
+            );
+    }
+
     static class MockBeanConfig {
 
         @Bean
@@ -216,4 +238,16 @@ class LeaderAutoConfigurationTest {
             return Mockito.mock(LeaderInitiator.class);
         }
     }
+
+    /**
+     * Mock configuration for pretending this node joined the task sharding group.
+     */
+    @Configuration
+    static class GroupMemberMockConfig {
+
+        @Bean
+        GroupMember groupMember() {
+            return Mockito.mock(GroupMember.class);
+        }
+    }
 }
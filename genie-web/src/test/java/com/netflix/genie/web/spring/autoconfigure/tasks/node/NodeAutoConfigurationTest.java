@@ -19,9 +19,11 @@ package com.netflix.genie.web.spring.autoconfigure.tasks.node;
 
 import com.netflix.genie.web.data.services.DataServices;
 import com.netflix.genie.web.data.services.PersistenceService;
+import com.netflix.genie.web.properties.AgentRebalancingProperties;
 import com.netflix.genie.web.properties.DiskCleanupProperties;
 import com.netflix.genie.web.properties.JobsProperties;
 import com.netflix.genie.web.spring.autoconfigure.tasks.TasksAutoConfiguration;
+import com.netflix.genie.web.tasks.node.AgentRebalancingTask;
 import com.netflix.genie.web.tasks.node.DiskCleanupTask;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.commons.exec.Executor;
@@ -59,13 +61,29 @@ class NodeAutoConfigurationTest {
         this.contextRunner.run(
             context -> {
                 Assertions.assertThat(context).hasSingleBean(DiskCleanupProperties.class);
+                Assertions.assertThat(context).hasSingleBean(AgentRebalancingProperties.class);
 
                 // Optional beans
                 Assertions.assertThat(context).doesNotHaveBean(DiskCleanupTask.class);
+                Assertions.assertThat(context).doesNotHaveBean(AgentRebalancingTask.class);
             }
         );
     }
 
+    /**
+     * Agent rebalancing requires Zookeeper.
+     */
+    @Test
+    void agentRebalancingTaskNotCreatedWithoutZookeeper() {
+        this.contextRunner
+            .withPropertyValues(
+                "genie.agent.rebalancing.enabled=true"
+            )
+            .run(
+                context -> Assertions.assertThat(context).doesNotHaveBean(AgentRebalancingTask.class)
+            );
+    }
+
     /**
      * All the expected beans exist.
      */
@@ -18,10 +18,13 @@
 package com.netflix.genie.web.tasks.leader;
 
 import com.google.common.collect.Sets;
+import com.netflix.genie.web.services.TaskShardingService;
 import com.netflix.genie.web.tasks.GenieTaskScheduleType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.integration.leader.Context;
 import org.springframework.integration.leader.event.AbstractLeaderEvent;
 import org.springframework.integration.leader.event.OnGrantedEvent;
@@ -31,6 +34,7 @@ import org.springframework.scheduling.Trigger;
 
 import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
+import java.util.function.Predicate;
 
 /**
  * Unit tests for LeadershipTasksCoordinator.
@@ -156,6 +160,81 @@ class LeaderTasksCoordinatorTest {
         Mockito.verify(future3, Mockito.times(1)).cancel(true);
     }
 
+    /**
+     * Make sure shardable tasks run on every node with the ownership filter while the others wait for leadership.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void canRunShardedTasks() {
+        final TaskShardingService taskShardingService = Mockito.mock(TaskShardingService.class);
+        final ShardableLeaderTask shardableTask = Mockito.mock(ShardableLeaderTask.class);
+        final long shardableTaskPeriod = 10_000;
+        Mockito.when(shardableTask.getScheduleType()).thenReturn(GenieTaskScheduleType.FIXED_RATE);
+        Mockito.when(shardableTask.getFixedRate()).thenReturn(shardableTaskPeriod);
+        final long task1Period = 13238;
+        Mockito.when(this.task1.getScheduleType()).thenReturn(GenieTaskScheduleType.FIXED_RATE);
+        Mockito.when(this.task1.getFixedRate()).thenReturn(task1Period);
+
+        final ScheduledFuture shardedFuture = Mockito.mock(ScheduledFuture.class);
+        Mockito
+            .when(this.scheduler.scheduleAtFixedRate(Mockito.any(Runnable.class), Mockito.eq(shardableTaskPeriod)))
+            .thenReturn(shardedFuture);
+        final ScheduledFuture future1 = Mockito.mock(ScheduledFuture.class);
+        Mockito.when(this.scheduler.scheduleAtFixedRate(this.task1, task1Period)).thenReturn(future1);
+
+        final Set<LeaderTask> tasks = Sets.newHashSet(this.task1, shardableTask);
+        this.coordinator = new LeaderTasksCoordinator(this.scheduler, tasks, taskShardingService);
+
+        this.coordinator.onContextRefreshed(Mockito.mock(ContextRefreshedEvent.class));
+        // Started only once
+        this.coordinator.onContextRefreshed(Mockito.mock(ContextRefreshedEvent.class));
+
+        final ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+        Mockito
+            .verify(this.scheduler, Mockito.times(1))
+            .scheduleAtFixedRate(runnableCaptor.capture(), Mockito.eq(shardableTaskPeriod));
+        Mockito.verify(this.scheduler, Mockito.never()).scheduleAtFixedRate(this.task1, task1Period);
+
+        final Predicate<String> ownershipFilter = jobId -> jobId.startsWith("owned");
+        Mockito.when(taskShardingService.getOwnershipFilter()).thenReturn(ownershipFilter);
+        runnableCaptor.getValue().run();
+        Mockito.verify(shardableTask, Mockito.times(1)).run(ownershipFilter);
+
+        // Leadership only affects the tasks which aren't sharded
+        this.coordinator.onLeaderEvent(new OnGrantedEvent(this, null, "blah"));
+        Mockito.verify(this.scheduler, Mockito.times(1)).scheduleAtFixedRate(this.task1, task1Period);
+        this.coordinator.onLeaderEvent(new OnRevokedEvent(this, null, "blah"));
+        Mockito.verify(future1, Mockito.times(1)).cancel(true);
+        Mockito.verify(this.task1, Mockito.times(1)).cleanup();
+        Mockito.verify(shardedFuture, Mockito.never()).cancel(true);
+        Mockito.verify(shardableTask, Mockito.never()).cleanup();
+
+        this.coordinator.preDestroy();
+        Mockito.verify(shardedFuture, Mockito.times(1)).cancel(true);
+        Mockito.verify(shardableTask, Mockito.times(1)).cleanup();
+    }
+
+    /**
+     * Make sure shardable tasks wait for leadership when sharding isn't enabled.
+     */
+    @Test
+    void shardableTasksRunOnLeaderWithoutSharding() {
+        final ShardableLeaderTask shardableTask = Mockito.mock(ShardableLeaderTask.class);
+        final long shardableTaskPeriod = 10_000;
+        Mockito.when(shardableTask.getScheduleType()).thenReturn(GenieTaskScheduleType.FIXED_RATE);
+        Mockito.when(shardableTask.getFixedRate()).thenReturn(shardableTaskPeriod);
+        final Set<LeaderTask> tasks = Sets.newHashSet(shardableTask);
+        this.coordinator = new LeaderTasksCoordinator(this.scheduler, tasks);
+
+        this.coordinator.onContextRefreshed(Mockito.mock(ContextRefreshedEvent.class));
+        Mockito
+            .verify(this.scheduler, Mockito.never())
+            .scheduleAtFixedRate(Mockito.any(Runnable.class), Mockito.anyLong());
+
+        this.coordinator.onLeaderEvent(new OnGrantedEvent(this, null, "blah"));
+        Mockito.verify(this.scheduler, Mockito.times(1)).scheduleAtFixedRate(shardableTask, shardableTaskPeriod);
+    }
+
     /**
      * Make sure unhandled commands are ignored.
      */
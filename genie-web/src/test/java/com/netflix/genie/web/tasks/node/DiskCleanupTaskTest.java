@@ -17,23 +17,25 @@
  */
 package com.netflix.genie.web.tasks.node;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
-import com.netflix.genie.common.dto.Job;
-import com.netflix.genie.common.dto.JobStatus;
-import com.netflix.genie.common.exceptions.GenieException;
-import com.netflix.genie.common.exceptions.GenieServerException;
+import com.google.common.collect.Sets;
 import com.netflix.genie.web.data.services.DataServices;
 import com.netflix.genie.web.data.services.PersistenceService;
 import com.netflix.genie.web.properties.DiskCleanupProperties;
 import com.netflix.genie.web.properties.JobsProperties;
 import com.netflix.genie.web.tasks.TaskUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.exec.CommandLine;
 import org.apache.commons.exec.Executor;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.SystemUtils;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.core.io.Resource;
 import org.springframework.scheduling.TaskScheduler;
@@ -45,8 +47,11 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.Optional;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Unit tests for the disk cleanup task.
@@ -148,7 +153,7 @@ class DiskCleanupTaskTest {
     }
 
     @Test
-    void canRunWithoutSudo(@TempDir final Path tempDir) throws IOException, GenieException {
+    void canRunWithoutSudo(@TempDir final Path tempDir) throws IOException {
         final JobsProperties jobsProperties = JobsProperties.getJobsPropertiesDefaults();
         jobsProperties.getUsers().setRunAsUserEnabled(false);
 
@@ -164,22 +169,13 @@ class DiskCleanupTaskTest {
         final String job4Id = UUID.randomUUID().toString();
         final String job5Id = UUID.randomUUID().toString();
 
-        final Job job1 = Mockito.mock(Job.class);
-        Mockito.when(job1.getStatus()).thenReturn(JobStatus.INIT);
-        final Job job2 = Mockito.mock(Job.class);
-        Mockito.when(job2.getStatus()).thenReturn(JobStatus.RUNNING);
-        final Job job3 = Mockito.mock(Job.class);
-        Mockito.when(job3.getStatus()).thenReturn(JobStatus.SUCCEEDED);
-        Mockito.when(job3.getFinished()).thenReturn(Optional.of(threshold.minus(1, ChronoUnit.MILLIS)));
-        final Job job4 = Mockito.mock(Job.class);
-        Mockito.when(job4.getStatus()).thenReturn(JobStatus.FAILED);
-        Mockito.when(job4.getFinished()).thenReturn(Optional.of(threshold));
-
         this.createJobDir(job1Id, tempDir);
         this.createJobDir(job2Id, tempDir);
         this.createJobDir(job3Id, tempDir);
         this.createJobDir(job4Id, tempDir);
         this.createJobDir(job5Id, tempDir);
+        Files.write(tempDir.resolve(job3Id).resolve("stdout"), new byte[128]);
+        Files.write(tempDir.resolve(job4Id).resolve("stdout"), new byte[256]);
 
         final TaskScheduler scheduler = Mockito.mock(TaskScheduler.class);
         final Resource jobDir = Mockito.mock(Resource.class);
@@ -187,23 +183,36 @@ class DiskCleanupTaskTest {
         Mockito.when(jobDir.getFile()).thenReturn(tempDir.toFile());
         final PersistenceService persistenceService = Mockito.mock(PersistenceService.class);
 
-        Mockito.when(persistenceService.getJob(job1Id)).thenReturn(job1);
-        Mockito.when(persistenceService.getJob(job2Id)).thenReturn(job2);
-        Mockito.when(persistenceService.getJob(job3Id)).thenReturn(job3);
-        Mockito.when(persistenceService.getJob(job4Id)).thenReturn(job4);
-        Mockito.when(persistenceService.getJob(job5Id)).thenThrow(new GenieServerException("blah"));
+        // Jobs 1 and 2 are still active, job 3 finished just before the threshold, job 4 exactly at the threshold and
+        // job 5 is unknown
+        final Map<String, Instant> finishedTimes = ImmutableMap.of(
+            job3Id, threshold.minus(1, ChronoUnit.MILLIS),
+            job4Id, threshold
+        );
+        Mockito
+            .when(persistenceService.getJobsFinishedBefore(Mockito.anySet(), Mockito.any(Instant.class)))
+            .thenAnswer(
+                invocation -> invocation
+                    .<Set<String>>getArgument(0)
+                    .stream()
+                    .filter(finishedTimes::containsKey)
+                    .filter(id -> finishedTimes.get(id).isBefore(invocation.getArgument(1)))
+                    .collect(Collectors.toSet())
+            );
 
         final DataServices dataServices = Mockito.mock(DataServices.class);
         Mockito.when(dataServices.getPersistenceService()).thenReturn(persistenceService);
 
+        final Executor processExecutor = Mockito.mock(Executor.class);
+        final MeterRegistry registry = new SimpleMeterRegistry();
         final DiskCleanupTask task = new DiskCleanupTask(
             properties,
             scheduler,
             jobDir,
             dataServices,
             jobsProperties,
-            Mockito.mock(Executor.class),
-            new SimpleMeterRegistry()
+            processExecutor,
+            registry
         );
         task.run();
         Assertions.assertThat(new File(jobDir.getFile(), job1Id).exists()).isTrue();
@@ -211,6 +220,179 @@ class DiskCleanupTaskTest {
         Assertions.assertThat(new File(jobDir.getFile(), job3Id).exists()).isFalse();
         Assertions.assertThat(new File(jobDir.getFile(), job4Id).exists()).isTrue();
         Assertions.assertThat(new File(jobDir.getFile(), job5Id).exists()).isTrue();
+        Assertions.assertThat(testFile).exists();
+
+        Mockito
+            .verify(persistenceService, Mockito.times(1))
+            .getJobsFinishedBefore(Sets.newHashSet(job1Id, job2Id, job3Id, job4Id, job5Id), threshold);
+        Mockito.verifyNoInteractions(processExecutor);
+
+        Assertions.assertThat(registry.get("genie.tasks.diskCleanup.numberDeletedJobDirs.gauge").gauge().value()).isEqualTo(1.0);
+        Assertions.assertThat(registry.counter("genie.tasks.diskCleanup.reclaimedBytes.rate").count()).isEqualTo(128.0);
+        Assertions.assertThat(registry.timer("genie.tasks.diskCleanup.timer").count()).isEqualTo(1L);
+    }
+
+    @Test
+    void canLookUpJobsInBatches(@TempDir final Path tempDir) throws IOException {
+        final JobsProperties jobsProperties = JobsProperties.getJobsPropertiesDefaults();
+        jobsProperties.getUsers().setRunAsUserEnabled(false);
+        final DiskCleanupProperties properties = new DiskCleanupProperties();
+        properties.setQueryBatchSize(2);
+        final Instant threshold = TaskUtils.getMidnightUTC().minus(properties.getRetention(), ChronoUnit.DAYS);
+
+        final Set<String> jobIds = Sets.newHashSet();
+        for (int i = 0; i < 5; i++) {
+            final String jobId = UUID.randomUUID().toString();
+            this.createJobDir(jobId, tempDir);
+            jobIds.add(jobId);
+        }
+        final Set<String> finishedJobIds = jobIds.stream().limit(3).collect(Collectors.toSet());
+
+        final Resource jobDir = Mockito.mock(Resource.class);
+        Mockito.when(jobDir.exists()).thenReturn(true);
+        Mockito.when(jobDir.getFile()).thenReturn(tempDir.toFile());
+        final PersistenceService persistenceService = Mockito.mock(PersistenceService.class);
+        Mockito
+            .when(persistenceService.getJobsFinishedBefore(Mockito.anySet(), Mockito.eq(threshold)))
+            .thenAnswer(invocation -> Sets.intersection(invocation.<Set<String>>getArgument(0), finishedJobIds));
+        final DataServices dataServices = Mockito.mock(DataServices.class);
+        Mockito.when(dataServices.getPersistenceService()).thenReturn(persistenceService);
+
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        new DiskCleanupTask(
+            properties,
+            Mockito.mock(TaskScheduler.class),
+            jobDir,
+            dataServices,
+            jobsProperties,
+            Mockito.mock(Executor.class),
+            registry
+        ).run();
+
+        // All the directories were looked up, at most two at a time
+        @SuppressWarnings("unchecked") final ArgumentCaptor<Set<String>> idsCaptor = ArgumentCaptor.forClass(Set.class);
+        Mockito
+            .verify(persistenceService, Mockito.times(3))
+            .getJobsFinishedBefore(idsCaptor.capture(), Mockito.eq(threshold));
+        Assertions.assertThat(idsCaptor.getAllValues()).allSatisfy(ids -> Assertions.assertThat(ids).hasSizeBetween(1, 2));
+        Assertions
+            .assertThat(idsCaptor.getAllValues().stream().flatMap(Set::stream).collect(Collectors.toSet()))
+            .isEqualTo(jobIds);
+
+        for (final String jobId : jobIds) {
+            Assertions.assertThat(new File(tempDir.toFile(), jobId).exists()).isEqualTo(!finishedJobIds.contains(jobId));
+        }
+        Assertions.assertThat(registry.get("genie.tasks.diskCleanup.numberDeletedJobDirs.gauge").gauge().value()).isEqualTo(3.0);
+    }
+
+    @Test
+    void canRunWithSudo(@TempDir final Path tempDir) throws IOException {
+        Assumptions.assumeTrue(SystemUtils.IS_OS_UNIX);
+        final DiskCleanupProperties properties = new DiskCleanupProperties();
+        properties.setDeleteBatchSize(2);
+
+        final String job1Id = UUID.randomUUID().toString();
+        final String job2Id = UUID.randomUUID().toString();
+        final String job3Id = UUID.randomUUID().toString();
+        final String job4Id = UUID.randomUUID().toString();
+        this.createJobDir(job1Id, tempDir);
+        this.createJobDir(job2Id, tempDir);
+        this.createJobDir(job3Id, tempDir);
+        this.createJobDir(job4Id, tempDir);
+
+        final Resource jobDir = Mockito.mock(Resource.class);
+        Mockito.when(jobDir.exists()).thenReturn(true);
+        Mockito.when(jobDir.getFile()).thenReturn(tempDir.toFile());
+        final PersistenceService persistenceService = Mockito.mock(PersistenceService.class);
+        Mockito
+            .when(persistenceService.getJobsFinishedBefore(Mockito.anySet(), Mockito.any(Instant.class)))
+            .thenReturn(Sets.newHashSet(job1Id, job2Id, job3Id));
+        final DataServices dataServices = Mockito.mock(DataServices.class);
+        Mockito.when(dataServices.getPersistenceService()).thenReturn(persistenceService);
+
+        // Pretend sudo rm deleted all the directories it was given but the last one
+        final String undeletable = tempDir.resolve(job3Id).toString();
+        final Executor processExecutor = Mockito.mock(Executor.class);
+        Mockito.when(processExecutor.execute(Mockito.any(CommandLine.class))).thenAnswer(
+            invocation -> {
+                final String[] arguments = invocation.<CommandLine>getArgument(0).getArguments();
+                for (int i = 2; i < arguments.length; i++) {
+                    if (!arguments[i].equals(undeletable)) {
+                        FileUtils.deleteDirectory(new File(arguments[i]));
+                    }
+                }
+                return 0;
+            }
+        );
+
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        new DiskCleanupTask(
+            properties,
+            Mockito.mock(TaskScheduler.class),
+            jobDir,
+            dataServices,
+            JobsProperties.getJobsPropertiesDefaults(),
+            processExecutor,
+            registry
+        ).run();
+
+        final ArgumentCaptor<CommandLine> commandLineCaptor = ArgumentCaptor.forClass(CommandLine.class);
+        Mockito.verify(processExecutor, Mockito.times(2)).execute(commandLineCaptor.capture());
+        for (final CommandLine commandLine : commandLineCaptor.getAllValues()) {
+            Assertions.assertThat(commandLine.getExecutable()).isEqualTo("sudo");
+            Assertions.assertThat(commandLine.getArguments()).startsWith("rm", "-rf");
+        }
+        Assertions
+            .assertThat(
+                commandLineCaptor
+                    .getAllValues()
+                    .stream()
+                    .flatMap(commandLine -> Arrays.stream(commandLine.getArguments()).skip(2))
+                    .collect(Collectors.toList())
+            )
+            .containsExactlyInAnyOrder(
+                tempDir.resolve(job1Id).toString(),
+                tempDir.resolve(job2Id).toString(),
+                undeletable
+            );
+
+        Assertions.assertThat(new File(tempDir.toFile(), job1Id).exists()).isFalse();
+        Assertions.assertThat(new File(tempDir.toFile(), job2Id).exists()).isFalse();
+        Assertions.assertThat(new File(tempDir.toFile(), job3Id).exists()).isTrue();
+        Assertions.assertThat(new File(tempDir.toFile(), job4Id).exists()).isTrue();
+        Assertions.assertThat(registry.counter("genie.tasks.diskCleanup.unableToDeleteJobsDir.rate").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void canRunIfJobsCantBeLookedUp(@TempDir final Path tempDir) throws IOException {
+        final JobsProperties jobsProperties = JobsProperties.getJobsPropertiesDefaults();
+        jobsProperties.getUsers().setRunAsUserEnabled(false);
+        final String jobId = UUID.randomUUID().toString();
+        this.createJobDir(jobId, tempDir);
+
+        final Resource jobDir = Mockito.mock(Resource.class);
+        Mockito.when(jobDir.exists()).thenReturn(true);
+        Mockito.when(jobDir.getFile()).thenReturn(tempDir.toFile());
+        final PersistenceService persistenceService = Mockito.mock(PersistenceService.class);
+        Mockito
+            .when(persistenceService.getJobsFinishedBefore(Mockito.anySet(), Mockito.any(Instant.class)))
+            .thenThrow(new RuntimeException("blah"));
+        final DataServices dataServices = Mockito.mock(DataServices.class);
+        Mockito.when(dataServices.getPersistenceService()).thenReturn(persistenceService);
+
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        new DiskCleanupTask(
+            new DiskCleanupProperties(),
+            Mockito.mock(TaskScheduler.class),
+            jobDir,
+            dataServices,
+            jobsProperties,
+            Mockito.mock(Executor.class),
+            registry
+        ).run();
+
+        Assertions.assertThat(new File(tempDir.toFile(), jobId).exists()).isTrue();
+        Assertions.assertThat(registry.counter("genie.tasks.diskCleanup.unableToGetJobs.rate").count()).isEqualTo(1.0);
     }
 
     private void createJobDir(final String id, final Path tmpDir) throws IOException {